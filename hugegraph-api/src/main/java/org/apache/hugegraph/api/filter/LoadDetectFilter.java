@@ -29,6 +29,7 @@ import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.PathSegment;
 import jakarta.ws.rs.ext.Provider;
 
+import org.apache.hugegraph.config.ConfigOption;
 import org.apache.hugegraph.config.HugeConfig;
 import org.apache.hugegraph.config.ServerOptions;
 import org.apache.hugegraph.define.WorkLoad;
@@ -66,14 +67,22 @@ public class LoadDetectFilter implements ContainerRequestFilter {
 
         HugeConfig config = this.configProvider.get();
 
-        int maxWorkerThreads = config.get(ServerOptions.MAX_WORKER_THREADS);
+        /*
+         * The requests are limited by the worker threads, or by the max
+         * concurrent requests if each request runs on a virtual thread
+         */
+        ConfigOption<Integer> limit = ServerOptions.MAX_WORKER_THREADS;
+        if (config.get(ServerOptions.VIRTUAL_THREADS)) {
+            limit = ServerOptions.MAX_CONCURRENT_REQUESTS;
+        }
+        int maxRequests = config.get(limit);
         WorkLoad load = this.loadProvider.get();
         // There will be a thread doesn't work, dedicated to statistics
-        if (load.incrementAndGet() >= maxWorkerThreads) {
+        if (load.incrementAndGet() >= maxRequests) {
             throw new ServiceUnavailableException(String.format(
                       "The server is too busy to process the request, " +
                       "you can config %s to adjust it or try again later",
-                      ServerOptions.MAX_WORKER_THREADS.name()));
+                      limit.name()));
         }
 
         long minFreeMemory = config.get(ServerOptions.MIN_FREE_MEMORY);
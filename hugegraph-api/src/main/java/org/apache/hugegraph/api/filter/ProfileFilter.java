@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.api.filter;
+
+import jakarta.inject.Singleton;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.ext.Provider;
+
+import org.apache.hugegraph.metrics.ProfileMetrics;
+import org.apache.hugegraph.util.JsonUtil;
+import org.apache.hugegraph.util.QueryProfiler;
+
+/**
+ * Profile the sampled requests and the requests with "profile=true", the
+ * time of each stage is recorded to the metrics, and returned as the
+ * "profile" section of a json object response if the request asks for it,
+ * or else as the header "X-HugeGraph-Profile".
+ *
+ * Only the stages run in the thread of the request are recorded, so the
+ * profile of the gremlin api just covers the rest layer, the scripts are
+ * executed by the gremlin server in its own threads.
+ */
+@Provider
+@Singleton
+public class ProfileFilter implements ContainerRequestFilter,
+                                      ContainerResponseFilter {
+
+    public static final String PARAM_PROFILE = "profile";
+    public static final String HEADER_PROFILE = "X-HugeGraph-Profile";
+
+    private static final String PROPERTY_PROFILE = "profile.requested";
+
+    @Override
+    public void filter(ContainerRequestContext context) {
+        if (LoadDetectFilter.isWhiteAPI(context)) {
+            return;
+        }
+        String profile = context.getUriInfo().getQueryParameters()
+                                .getFirst(PARAM_PROFILE);
+        boolean requested = Boolean.parseBoolean(profile);
+        if (QueryProfiler.begin(requested) && requested) {
+            context.setProperty(PROPERTY_PROFILE, true);
+        }
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext,
+                       ContainerResponseContext responseContext) {
+        QueryProfiler.Trace trace = QueryProfiler.end();
+        if (trace == null) {
+            return;
+        }
+        ProfileMetrics.update(trace);
+
+        if (requestContext.getProperty(PROPERTY_PROFILE) == null) {
+            return;
+        }
+        String profile = JsonUtil.toJson(trace.asMap());
+        Object entity = responseContext.getEntity();
+        if (entity instanceof String) {
+            String json = appendProfile((String) entity, profile);
+            if (json != null) {
+                responseContext.setEntity(json);
+                return;
+            }
+        }
+        responseContext.getHeaders().putSingle(HEADER_PROFILE, profile);
+    }
+
+    private static String appendProfile(String json, String profile) {
+        int end = json.lastIndexOf('}');
+        if (!json.startsWith("{") || end < 0) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder(json.length() + profile.length() +
+                                             16);
+        sb.append(json, 0, end);
+        if (json.substring(1, end).trim().length() > 0) {
+            sb.append(',');
+        }
+        sb.append('"').append(PARAM_PROFILE).append("\":").append(profile);
+        sb.append(json, end, json.length());
+        return sb.toString();
+    }
+}
@@ -21,6 +21,7 @@ import static org.apache.hugegraph.traversal.algorithm.HugeTraverser.DEFAULT_CAP
 import static org.apache.hugegraph.traversal.algorithm.HugeTraverser.DEFAULT_MAX_DEGREE;
 import static org.apache.hugegraph.traversal.algorithm.HugeTraverser.DEFAULT_LIMIT;
 
+import java.util.List;
 import java.util.Map;
 
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -51,6 +52,7 @@ import org.apache.hugegraph.util.JsonUtil;
 import org.apache.hugegraph.util.Log;
 import com.codahale.metrics.annotation.Timed;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 
 @Path("graphs/{graph}/traversers/jaccardsimilarity")
@@ -80,12 +82,18 @@ public class JaccardSimilarityAPI extends TraverserAPI {
         Directions dir = Directions.convert(EdgeAPI.parseDirection(direction));
 
         HugeGraph g = graph(manager, graph);
-        double similarity;
-        try (JaccardSimilarTraverser traverser =
-                                     new JaccardSimilarTraverser(g)) {
-            similarity = traverser.jaccardSimilarity(sourceId, targetId, dir,
-                                                     edgeLabel, maxDegree);
-        }
+        List<Object> key = ImmutableList.of(cacheKey(sourceId),
+                                            cacheKey(targetId), dir,
+                                            String.valueOf(edgeLabel),
+                                            maxDegree);
+        double similarity = cachedResult(g, "jaccardsimilarity", key,
+                                         labels(edgeLabel), () -> {
+            try (JaccardSimilarTraverser traverser =
+                                         new JaccardSimilarTraverser(g)) {
+                return traverser.jaccardSimilarity(sourceId, targetId, dir,
+                                                   edgeLabel, maxDegree);
+            }
+        }, result -> 1L);
         return JsonUtil.toJson(ImmutableMap.of("jaccard_similarity",
                                                similarity));
     }
@@ -115,12 +123,18 @@ public class JaccardSimilarityAPI extends TraverserAPI {
 
         EdgeStep step = step(g, request.step);
 
-        Map<Id, Double> results;
-        try (JaccardSimilarTraverser traverser =
-                                     new JaccardSimilarTraverser(g)) {
-            results = traverser.jaccardSimilars(sourceId, step, request.top,
-                                                request.capacity);
-        }
+        List<Object> key = ImmutableList.of(cacheKey(sourceId),
+                                            cacheKey(request.step),
+                                            request.top, request.capacity);
+        Map<Id, Double> results = cachedResult(g, "jaccardsimilarity-post",
+                                               key, request.step.labels,
+                                               () -> {
+            try (JaccardSimilarTraverser traverser =
+                                         new JaccardSimilarTraverser(g)) {
+                return traverser.jaccardSimilars(sourceId, step, request.top,
+                                                 request.capacity);
+            }
+        }, Map::size);
         return manager.serializer(g).writeMap(results);
     }
 
@@ -90,11 +90,16 @@ public class KneighborAPI extends TraverserAPI {
 
         HugeGraph g = graph(manager, graph);
 
-        Set<Id> ids;
-        try (KneighborTraverser traverser = new KneighborTraverser(g)) {
-            ids = traverser.kneighbor(source, dir, edgeLabel,
-                                      depth, maxDegree, limit);
-        }
+        List<Object> key = ImmutableList.of(cacheKey(source), dir,
+                                            String.valueOf(edgeLabel), depth,
+                                            maxDegree, limit);
+        Set<Id> ids = cachedResult(g, "kneighbor", key, labels(edgeLabel),
+                                   () -> {
+            try (KneighborTraverser traverser = new KneighborTraverser(g)) {
+                return traverser.kneighbor(source, dir, edgeLabel,
+                                           depth, maxDegree, limit);
+            }
+        }, Set::size);
         return manager.serializer(g).writeList("vertices", ids);
     }
 
@@ -126,24 +131,37 @@ public class KneighborAPI extends TraverserAPI {
 
         EdgeStep step = step(g, request.step);
 
-        KneighborRecords results;
-        try (KneighborTraverser traverser = new KneighborTraverser(g)) {
-            results = traverser.customizedKneighbor(sourceId, step,
-                                                    request.maxDepth,
-                                                    request.limit);
-        }
+        List<Object> key = ImmutableList.of(cacheKey(sourceId),
+                                            cacheKey(request.step),
+                                            request.maxDepth, request.limit,
+                                            request.countOnly,
+                                            request.withPath);
+        NodesWithPath result = cachedResult(g, "kneighbor-post", key,
+                                            request.step.labels, () -> {
+            KneighborRecords results;
+            try (KneighborTraverser traverser = new KneighborTraverser(g)) {
+                results = traverser.customizedKneighbor(sourceId, step,
+                                                        request.maxDepth,
+                                                        request.limit);
+            }
 
-        long size = results.size();
-        if (request.limit != Query.NO_LIMIT && size > request.limit) {
-            size = request.limit;
-        }
-        List<Id> neighbors = request.countOnly ?
-                             ImmutableList.of() : results.ids(request.limit);
+            long size = results.size();
+            if (request.limit != Query.NO_LIMIT && size > request.limit) {
+                size = request.limit;
+            }
+            List<Id> neighbors = request.countOnly ?
+                                 ImmutableList.of() :
+                                 results.ids(request.limit);
 
-        HugeTraverser.PathSet paths = new HugeTraverser.PathSet();
-        if (request.withPath) {
-            paths.addAll(results.paths(request.limit));
-        }
+            HugeTraverser.PathSet paths = new HugeTraverser.PathSet();
+            if (request.withPath) {
+                paths.addAll(results.paths(request.limit));
+            }
+            return new NodesWithPath(size, neighbors, paths);
+        }, NodesWithPath::elements);
+        long size = result.size;
+        List<Id> neighbors = result.neighbors;
+        HugeTraverser.PathSet paths = result.paths;
         Iterator<Vertex> iter = QueryResults.emptyIterator();
         if (request.withVertex && !request.countOnly) {
             Set<Id> ids = new HashSet<>(neighbors);
@@ -95,11 +95,16 @@ public class KoutAPI extends TraverserAPI {
 
         HugeGraph g = graph(manager, graph);
 
-        Set<Id> ids;
-        try (KoutTraverser traverser = new KoutTraverser(g)) {
-            ids = traverser.kout(sourceId, dir, edgeLabel, depth,
-                                 nearest, maxDegree, capacity, limit);
-        }
+        List<Object> key = ImmutableList.of(cacheKey(sourceId), dir,
+                                            String.valueOf(edgeLabel), depth,
+                                            nearest, maxDegree, capacity,
+                                            limit);
+        Set<Id> ids = cachedResult(g, "kout", key, labels(edgeLabel), () -> {
+            try (KoutTraverser traverser = new KoutTraverser(g)) {
+                return traverser.kout(sourceId, dir, edgeLabel, depth,
+                                      nearest, maxDegree, capacity, limit);
+            }
+        }, Set::size);
         return manager.serializer(g).writeList("vertices", ids);
     }
 
@@ -133,26 +138,40 @@ public class KoutAPI extends TraverserAPI {
 
         EdgeStep step = step(g, request.step);
 
-        KoutRecords results;
-        try (KoutTraverser traverser = new KoutTraverser(g)) {
-            results = traverser.customizedKout(sourceId, step,
-                                               request.maxDepth,
-                                               request.nearest,
-                                               request.capacity,
-                                               request.limit);
-        }
+        List<Object> key = ImmutableList.of(cacheKey(sourceId),
+                                            cacheKey(request.step),
+                                            request.maxDepth, request.nearest,
+                                            request.countOnly,
+                                            request.capacity, request.limit,
+                                            request.withPath);
+        NodesWithPath result = cachedResult(g, "kout-post", key,
+                                            request.step.labels, () -> {
+            KoutRecords results;
+            try (KoutTraverser traverser = new KoutTraverser(g)) {
+                results = traverser.customizedKout(sourceId, step,
+                                                   request.maxDepth,
+                                                   request.nearest,
+                                                   request.capacity,
+                                                   request.limit);
+            }
 
-        long size = results.size();
-        if (request.limit != Query.NO_LIMIT && size > request.limit) {
-            size = request.limit;
-        }
-        List<Id> neighbors = request.countOnly ?
-                             ImmutableList.of() : results.ids(request.limit);
+            long size = results.size();
+            if (request.limit != Query.NO_LIMIT && size > request.limit) {
+                size = request.limit;
+            }
+            List<Id> neighbors = request.countOnly ?
+                                 ImmutableList.of() :
+                                 results.ids(request.limit);
 
-        HugeTraverser.PathSet paths = new HugeTraverser.PathSet();
-        if (request.withPath) {
-            paths.addAll(results.paths(request.limit));
-        }
+            HugeTraverser.PathSet paths = new HugeTraverser.PathSet();
+            if (request.withPath) {
+                paths.addAll(results.paths(request.limit));
+            }
+            return new NodesWithPath(size, neighbors, paths);
+        }, NodesWithPath::elements);
+        long size = result.size;
+        List<Id> neighbors = result.neighbors;
+        HugeTraverser.PathSet paths = result.paths;
 
         Iterator<Vertex> iter = QueryResults.emptyIterator();
         if (request.withVertex && !request.countOnly) {
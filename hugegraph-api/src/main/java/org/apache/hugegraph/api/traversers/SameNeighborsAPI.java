@@ -20,6 +20,7 @@ package org.apache.hugegraph.api.traversers;
 import static org.apache.hugegraph.traversal.algorithm.HugeTraverser.DEFAULT_ELEMENTS_LIMIT;
 import static org.apache.hugegraph.traversal.algorithm.HugeTraverser.DEFAULT_MAX_DEGREE;
 
+import java.util.List;
 import java.util.Set;
 
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -35,7 +36,6 @@ import jakarta.ws.rs.core.Context;
 import org.slf4j.Logger;
 
 import org.apache.hugegraph.HugeGraph;
-import org.apache.hugegraph.api.API;
 import org.apache.hugegraph.api.graph.EdgeAPI;
 import org.apache.hugegraph.api.graph.VertexAPI;
 import org.apache.hugegraph.backend.id.Id;
@@ -44,11 +44,12 @@ import org.apache.hugegraph.traversal.algorithm.SameNeighborTraverser;
 import org.apache.hugegraph.type.define.Directions;
 import org.apache.hugegraph.util.Log;
 import com.codahale.metrics.annotation.Timed;
+import com.google.common.collect.ImmutableList;
 
 @Path("graphs/{graph}/traversers/sameneighbors")
 @Singleton
 @Tag(name = "SameNeighborsAPI")
-public class SameNeighborsAPI extends API {
+public class SameNeighborsAPI extends TraverserAPI {
 
     private static final Logger LOG = Log.logger(SameNeighborsAPI.class);
 
@@ -74,9 +75,16 @@ public class SameNeighborsAPI extends API {
         Directions dir = Directions.convert(EdgeAPI.parseDirection(direction));
 
         HugeGraph g = graph(manager, graph);
-        SameNeighborTraverser traverser = new SameNeighborTraverser(g);
-        Set<Id> neighbors = traverser.sameNeighbors(sourceId, targetId, dir,
-                                                    edgeLabel, maxDegree, limit);
+        List<Object> key = ImmutableList.of(cacheKey(sourceId),
+                                            cacheKey(targetId), dir,
+                                            String.valueOf(edgeLabel),
+                                            maxDegree, limit);
+        Set<Id> neighbors = cachedResult(g, "sameneighbors", key,
+                                         labels(edgeLabel), () -> {
+            SameNeighborTraverser traverser = new SameNeighborTraverser(g);
+            return traverser.sameNeighbors(sourceId, targetId, dir,
+                                           edgeLabel, maxDegree, limit);
+        }, Set::size);
         return manager.serializer(g).writeList("same_neighbors", neighbors);
     }
 }
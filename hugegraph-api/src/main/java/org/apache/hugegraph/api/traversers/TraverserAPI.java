@@ -19,23 +19,149 @@ package org.apache.hugegraph.api.traversers;
 
 import static org.apache.hugegraph.traversal.algorithm.HugeTraverser.DEFAULT_MAX_DEGREE;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 
 import org.apache.hugegraph.HugeGraph;
 import org.apache.hugegraph.api.API;
+import org.apache.hugegraph.auth.HugeAuthenticator.User;
+import org.apache.hugegraph.auth.HugeGraphAuthProxy;
+import org.apache.hugegraph.backend.cache.Cache;
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.id.IdUtil;
+import org.apache.hugegraph.metrics.MetricsUtil;
+import org.apache.hugegraph.traversal.algorithm.HugeTraverser.PathSet;
+import org.apache.hugegraph.traversal.algorithm.TraverserResultCache;
 import org.apache.hugegraph.traversal.algorithm.steps.EdgeStep;
 import org.apache.hugegraph.type.define.Directions;
+import org.apache.hugegraph.util.E;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.fasterxml.jackson.annotation.JsonAlias;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 public class TraverserAPI extends API {
 
+    private static final Set<String> CACHE_METRICS =
+                         ConcurrentHashMap.newKeySet();
+
     protected static EdgeStep step(HugeGraph graph, Step step) {
         return new EdgeStep(graph, step.direction, step.labels, step.properties,
                             step.maxDegree, step.skipDegree);
     }
 
+    /**
+     * Get the result from the traverser cache of the graph if enabled, or
+     * compute it by the traverser
+     * @param api the name of traverser API
+     * @param request the parameters of the request which decide the result
+     * @param labels the edge labels to traverse, null or empty means all
+     */
+    protected static <V> V cachedResult(HugeGraph graph, String api,
+                                        List<Object> request,
+                                        Collection<String> labels,
+                                        Supplier<V> computer,
+                                        ToLongFunction<V> sizer) {
+        TraverserResultCache cache = TraverserResultCache.of(graph);
+        if (cache == null) {
+            return computer.get();
+        }
+        registerCacheMetrics(graph.name(), api);
+        List<Id> labelIds = new ArrayList<>();
+        if (labels != null) {
+            for (String label : labels) {
+                labelIds.add(graph.edgeLabel(label).id());
+            }
+        }
+        return cache.getOrCompute(api, cacheUser(graph), request, labelIds,
+                                  computer, sizer);
+    }
+
+    private static String cacheUser(HugeGraph graph) {
+        if (!(graph instanceof HugeGraphAuthProxy)) {
+            // Authentication is not enabled, the result is shared
+            return null;
+        }
+        /*
+         * The result is filtered by the permissions of the user, so it's
+         * only shared by the requests of the same user with the same role
+         */
+        User user = HugeGraphAuthProxy.contextUser();
+        E.checkState(user != null, "Missing the user of traverser request");
+        return user.username() + user.role().toJson();
+    }
+
+    protected static List<String> labels(String label) {
+        return label == null ? ImmutableList.of() : ImmutableList.of(label);
+    }
+
+    protected static String cacheKey(Id id) {
+        // Keep the id type, like number 1 and string "1"
+        return IdUtil.writeString(id);
+    }
+
+    protected static List<Object> cacheKey(Step step) {
+        List<String> labels = new ArrayList<>();
+        if (step.labels != null) {
+            labels.addAll(step.labels);
+            labels.sort(null);
+        }
+        Map<String, Object> properties = step.properties == null ?
+                                         ImmutableMap.of() :
+                                         new TreeMap<>(step.properties);
+        return ImmutableList.<Object>of(step.direction == null ?
+                                        "" : step.direction,
+                                        labels, properties, step.maxDegree,
+                                        step.skipDegree);
+    }
+
+    private static void registerCacheMetrics(String graph, String api) {
+        String prefix = String.format("traverser-%s.%s", graph, api);
+        if (!CACHE_METRICS.add(prefix)) {
+            return;
+        }
+        MetricsUtil.registerGauge(Cache.class, prefix + ".hits", () -> {
+            TraverserResultCache cache = TraverserResultCache.of(graph);
+            return cache == null ? 0L : cache.hits(api);
+        });
+        MetricsUtil.registerGauge(Cache.class, prefix + ".miss", () -> {
+            TraverserResultCache cache = TraverserResultCache.of(graph);
+            return cache == null ? 0L : cache.miss(api);
+        });
+        MetricsUtil.registerGauge(Cache.class, prefix + ".hit-rate", () -> {
+            TraverserResultCache cache = TraverserResultCache.of(graph);
+            return cache == null ? 0D : cache.hitRate(api);
+        });
+    }
+
+    /**
+     * The nodes and paths of customized k-out or k-neighbor to be cached,
+     * instead of the records used during traversing
+     */
+    protected static class NodesWithPath {
+
+        public final long size;
+        public final List<Id> neighbors;
+        public final PathSet paths;
+
+        public NodesWithPath(long size, List<Id> neighbors, PathSet paths) {
+            this.size = size;
+            this.neighbors = neighbors;
+            this.paths = paths;
+        }
+
+        public long elements() {
+            return this.neighbors.size() + this.paths.size();
+        }
+    }
+
     protected static class Step {
 
         @JsonProperty("direction")
@@ -66,6 +66,7 @@ public class WeightedShortestPathAPI extends API {
                       @QueryParam("direction") String direction,
                       @QueryParam("label") String edgeLabel,
                       @QueryParam("weight") String weight,
+                      @QueryParam("heuristic") String heuristic,
                       @QueryParam("max_degree")
                       @DefaultValue(DEFAULT_MAX_DEGREE) long maxDegree,
                       @QueryParam("skip_degree")
@@ -75,10 +76,10 @@ public class WeightedShortestPathAPI extends API {
                       @QueryParam("with_vertex") boolean withVertex) {
         LOG.debug("Graph [{}] get weighted shortest path between '{}' and " +
                   "'{}' with direction {}, edge label {}, weight property {}, " +
-                  "max degree '{}', skip degree '{}', capacity '{}', " +
-                  "and with vertex '{}'",
+                  "heuristic property {}, max degree '{}', skip degree '{}', " +
+                  "capacity '{}', and with vertex '{}'",
                   graph, source, target, direction, edgeLabel, weight,
-                  maxDegree, skipDegree, capacity, withVertex);
+                  heuristic, maxDegree, skipDegree, capacity, withVertex);
 
         Id sourceId = VertexAPI.checkAndParseVertexId(source);
         Id targetId = VertexAPI.checkAndParseVertexId(target);
@@ -91,7 +92,7 @@ public class WeightedShortestPathAPI extends API {
 
         NodeWithWeight path = traverser.weightedShortestPath(
                               sourceId, targetId, dir, edgeLabel, weight,
-                              maxDegree, skipDegree, capacity);
+                              heuristic, maxDegree, skipDegree, capacity);
         Iterator<Vertex> iterator = QueryResults.emptyIterator();
         if (path != null && withVertex) {
             assert !path.node().path().isEmpty();
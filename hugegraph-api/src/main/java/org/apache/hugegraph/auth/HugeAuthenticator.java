@@ -17,6 +17,7 @@
 
 package org.apache.hugegraph.auth;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -370,6 +371,36 @@ public interface HugeAuthenticator extends Authenticator {
             return rolePerm.matchResource(required, resourceObject);
         }
 
+        /**
+         * Get the granted resources of a role to access a graph with the
+         * action, which are used to compile the permission plan
+         */
+        public static List<HugeResource> resources(Object role, String graph,
+                                                   HugePermission action) {
+            if (role == ROLE_ADMIN) {
+                return HugeResource.ALL_RES;
+            }
+            if (role == ROLE_NONE) {
+                return Collections.emptyList();
+            }
+            RolePerm rolePerm = RolePerm.fromJson(role);
+            Map<HugePermission, Object> permissions = rolePerm.roles.get(graph);
+            if (permissions == null) {
+                return Collections.emptyList();
+            }
+            Object permission = matchedAction(action, permissions);
+            if (permission == null) {
+                // Deny all if no specified permission
+                return Collections.emptyList();
+            }
+            if (permission instanceof List) {
+                @SuppressWarnings("unchecked")
+                List<HugeResource> list = (List<HugeResource>) permission;
+                return list;
+            }
+            return HugeResource.parseResources(permission.toString());
+        }
+
         public static boolean match(Object role, RolePermission grant,
                                     ResourceObject<?> resourceObject) {
             if (role == ROLE_ADMIN) {
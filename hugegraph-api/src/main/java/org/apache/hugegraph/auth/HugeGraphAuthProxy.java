@@ -26,6 +26,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
@@ -33,6 +34,7 @@ import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 import javax.security.sasl.AuthenticationException;
 
@@ -46,6 +48,7 @@ import org.apache.hugegraph.backend.cache.CacheManager;
 import org.apache.hugegraph.backend.id.Id;
 import org.apache.hugegraph.backend.id.IdGenerator;
 import org.apache.hugegraph.backend.query.Query;
+import org.apache.hugegraph.backend.query.QueryResults;
 import org.apache.hugegraph.backend.store.BackendFeatures;
 import org.apache.hugegraph.backend.store.BackendStoreInfo;
 import org.apache.hugegraph.backend.store.raft.RaftGroupManager;
@@ -56,6 +59,7 @@ import org.apache.hugegraph.exception.NotSupportException;
 import org.apache.hugegraph.iterator.FilterIterator;
 import org.apache.hugegraph.iterator.MapperIterator;
 import org.apache.hugegraph.masterelection.RoleElectionStateMachine;
+import org.apache.hugegraph.metrics.ProfileMetrics;
 import org.apache.hugegraph.rpc.RpcServiceConfig4Client;
 import org.apache.hugegraph.rpc.RpcServiceConfig4Server;
 import org.apache.hugegraph.schema.EdgeLabel;
@@ -81,6 +85,8 @@ import org.apache.hugegraph.type.define.GraphReadMode;
 import org.apache.hugegraph.type.define.NodeRole;
 import org.apache.hugegraph.util.E;
 import org.apache.hugegraph.util.Log;
+import org.apache.hugegraph.util.QueryProfiler;
+import org.apache.hugegraph.util.QueryProfiler.Stage;
 import org.apache.hugegraph.util.RateLimiter;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
 import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
@@ -115,6 +121,7 @@ public final class HugeGraphAuthProxy implements HugeGraph {
     private static final Logger LOG = Log.logger(HugeGraphAuthProxy.class);
     private final Cache<Id, UserWithRole> usersRoleCache;
     private final Cache<Id, RateLimiter> auditLimiters;
+    private final Cache<Id, ElementPermissionPlan> permissionPlans;
     private final double auditLogMaxRate;
 
     private final HugeGraph hugegraph;
@@ -132,6 +139,7 @@ public final class HugeGraphAuthProxy implements HugeGraph {
         this.authManager = new AuthManagerProxy(hugegraph.authManager());
         this.auditLimiters = this.cache("audit-log-limiter", capacity, -1L);
         this.usersRoleCache = this.cache("users-role", capacity, expired);
+        this.permissionPlans = this.cache("permission-plan", capacity, expired);
         this.hugegraph.proxy(this);
 
         // TODO: Consider better way to get, use auth client's config now
@@ -476,6 +484,10 @@ public final class HugeGraphAuthProxy implements HugeGraph {
 
     @Override
     public Iterator<Vertex> vertices(Query query) {
+        query = this.restrictQuery(HugePermission.READ, query);
+        if (query == null) {
+            return QueryResults.emptyIterator();
+        }
         return verifyElemPermission(HugePermission.READ,
                                     this.hugegraph.vertices(query));
     }
@@ -513,10 +525,27 @@ public final class HugeGraphAuthProxy implements HugeGraph {
 
     @Override
     public Iterator<Edge> edges(Query query) {
+        query = this.restrictQuery(HugePermission.READ, query);
+        if (query == null) {
+            return QueryResults.emptyIterator();
+        }
         return verifyElemPermission(HugePermission.READ,
                                     this.hugegraph.edges(query));
     }
 
+    @Override
+    public CompletableFuture<Iterator<Edge>> edgesAsync(Query query) {
+        query = this.restrictQuery(HugePermission.READ, query);
+        if (query == null) {
+            return CompletableFuture.completedFuture(
+                   QueryResults.emptyIterator());
+        }
+        // Prepare with the context of current thread, not the I/O thread
+        UnaryOperator<Iterator<Edge>> verifier = this.elemPermissionVerifier(
+                                                 HugePermission.READ);
+        return this.hugegraph.edgesAsync(query).thenApply(verifier);
+    }
+
     @Override
     public Iterator<Edge> edges(Object... objects) {
         return verifyElemPermission(HugePermission.READ,
@@ -602,6 +631,11 @@ public final class HugeGraphAuthProxy implements HugeGraph {
         return this.hugegraph.sameAs(graph);
     }
 
+    @Override
+    public void closeTx() {
+        this.hugegraph.closeTx();
+    }
+
     @Override
     public long now() {
         // It's ok anyone call this method, so not verifyStatusPermission()
@@ -877,9 +911,76 @@ public final class HugeGraphAuthProxy implements HugeGraph {
     private <V extends Element> Iterator<V> verifyElemPermission(
                                             HugePermission actionPerm,
                                             Iterator<V> elems) {
-        return new FilterIterator<>(elems, elem -> {
-            V r = verifyElemPermission(actionPerm, false, () -> elem);
-            return r != null;
+        return this.<V>elemPermissionVerifier(actionPerm).apply(elems);
+    }
+
+    private <V extends Element> UnaryOperator<Iterator<V>>
+                                elemPermissionVerifier(
+                                HugePermission actionPerm) {
+        Context context = getContext();
+        E.checkState(context != null,
+                     "Missing authentication context " +
+                     "when verifying resource permission");
+        String username = context.user().username();
+        String action = actionPerm.string();
+        String graph = this.hugegraph.name();
+        /*
+         * Check the elements with the compiled permission plan, and fetch
+         * the audit limiter once instead of verifyResPermission() for each
+         */
+        ElementPermissionPlan plan = this.permissionPlan(context, actionPerm);
+        RateLimiter auditLimiter = this.auditLimiter(context.user().userId());
+        return elems -> new FilterIterator<>(elems, elem -> {
+            HugeElement element = (HugeElement) elem;
+            boolean allowed;
+            Stage previous = QueryProfiler.enter(Stage.PERMISSION);
+            try {
+                allowed = plan.test(element);
+            } finally {
+                QueryProfiler.exit(previous);
+            }
+            if (auditLimiter.tryAcquire()) {
+                String status = allowed ? "allowed" : "denied";
+                LOG.info("User '{}' is {} to {} {}", username, status, action,
+                         ResourceObject.of(graph, element));
+            }
+            return allowed;
+        });
+    }
+
+    private Query restrictQuery(HugePermission actionPerm, Query query) {
+        Context context = getContext();
+        E.checkState(context != null,
+                     "Missing authentication context " +
+                     "when verifying resource permission");
+        Stage previous = QueryProfiler.enter(Stage.PERMISSION);
+        try {
+            return this.permissionPlan(context, actionPerm).restrict(query);
+        } finally {
+            QueryProfiler.exit(previous);
+        }
+    }
+
+    private ElementPermissionPlan permissionPlan(Context context,
+                                                 HugePermission actionPerm) {
+        Object role = context.user().role();
+        Id key = IdGenerator.of(context.user().username() + "/" +
+                                actionPerm.string());
+        ElementPermissionPlan plan = this.permissionPlans.get(key);
+        // Compile again if the role of the user is updated
+        if (plan == null || plan.role() != role) {
+            String graph = this.hugegraph.name();
+            List<HugeResource> resources = RolePerm.resources(role, graph,
+                                                              actionPerm);
+            plan = new ElementPermissionPlan(this.hugegraph, role, resources);
+            this.permissionPlans.update(key, plan);
+        }
+        return plan;
+    }
+
+    private RateLimiter auditLimiter(Id userId) {
+        return this.auditLimiters.getOrFetch(userId, id -> {
+            return RateLimiter.create(this.auditLogMaxRate);
         });
     }
 
@@ -994,10 +1095,7 @@ public final class HugeGraphAuthProxy implements HugeGraph {
         }
 
         // Log user action, limit rate for each user
-        Id usrId = context.user().userId();
-        RateLimiter auditLimiter = this.auditLimiters.getOrFetch(usrId, id -> {
-            return RateLimiter.create(this.auditLogMaxRate);
-        });
+        RateLimiter auditLimiter = this.auditLimiter(context.user().userId());
 
         if (!(actionPerm == HugePermission.READ && ro.type().isSchema()) &&
             auditLimiter.tryAcquire()) {
@@ -1589,6 +1687,7 @@ public final class HugeGraphAuthProxy implements HugeGraph {
 
         private void invalidRoleCache() {
             HugeGraphAuthProxy.this.usersRoleCache.clear();
+            HugeGraphAuthProxy.this.permissionPlans.clear();
         }
     }
 
@@ -1746,7 +1845,12 @@ public final class HugeGraphAuthProxy implements HugeGraph {
                                      ResourceType.GREMLIN, script);
             }
 
-            this.origin.apply(traversal);
+            Stage previous = QueryProfiler.enter(Stage.STRATEGY);
+            try {
+                this.origin.apply(traversal);
+            } finally {
+                QueryProfiler.exit(previous);
+            }
         }
 
         @Override
@@ -1813,6 +1917,14 @@ public final class HugeGraphAuthProxy implements HugeGraph {
         return CONTEXTS.get();
     }
 
+    /**
+     * @return the user of current request or task, null if not set
+     */
+    public static User contextUser() {
+        Context context = getContext();
+        return context == null ? null : context.user();
+    }
+
     protected static String getContextString() {
         Context context = getContext();
         if (context == null) {
@@ -1859,9 +1971,15 @@ public final class HugeGraphAuthProxy implements HugeGraph {
         @Override
         public void run() {
             setContext(this.context);
+            // Sample the gremlin requests executed by the gremlin server
+            boolean traced = !QueryProfiler.tracing() &&
+                             QueryProfiler.begin(false);
             try {
                 this.runner.run();
             } finally {
+                if (traced) {
+                    ProfileMetrics.update(QueryProfiler.end());
+                }
                 resetContext();
             }
         }
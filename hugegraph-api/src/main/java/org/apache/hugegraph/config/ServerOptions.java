@@ -21,6 +21,7 @@ import static org.apache.hugegraph.config.OptionChecker.allowValues;
 import static org.apache.hugegraph.config.OptionChecker.disallowEmpty;
 import static org.apache.hugegraph.config.OptionChecker.nonNegativeInt;
 import static org.apache.hugegraph.config.OptionChecker.positiveInt;
+import static org.apache.hugegraph.config.OptionChecker.rangeDouble;
 import static org.apache.hugegraph.config.OptionChecker.rangeInt;
 
 public class ServerOptions extends OptionHolder {
@@ -72,6 +73,25 @@ public class ServerOptions extends OptionHolder {
                     2 * CoreOptions.CPUS
             );
 
+    public static final ConfigOption<Boolean> VIRTUAL_THREADS =
+            new ConfigOption<>(
+                    "restserver.virtual_threads",
+                    "Whether to handle each request on a virtual thread " +
+                    "instead of the worker threads, which requires JDK 21+.",
+                    disallowEmpty(),
+                    false
+            );
+
+    public static final ConfigOption<Integer> MAX_CONCURRENT_REQUESTS =
+            new ConfigOption<>(
+                    "restserver.max_concurrent_requests",
+                    "The maximum concurrent requests of rest server when " +
+                    "handling requests on virtual threads, it's used " +
+                    "instead of max_worker_threads to reject requests.",
+                    rangeInt(2, Integer.MAX_VALUE),
+                    1024
+            );
+
     public static final ConfigOption<Integer> MIN_FREE_MEMORY =
             new ConfigOption<>(
                     "restserver.min_free_memory",
@@ -109,6 +129,21 @@ public class ServerOptions extends OptionHolder {
                     256
             );
 
+    public static final ConfigOption<Double> PROFILE_SAMPLE_RATE =
+            new ConfigOption<>(
+                    "restserver.profile_sample_rate",
+                    "The rate of requests sampled to record the time spent " +
+                    "in each stage like index lookup and backend scan, " +
+                    "which is exposed as histograms of metrics, " +
+                    "0 means disable sampling. Note that only the stages " +
+                    "run in the rest server threads are recorded, so the " +
+                    "gremlin api including 'profile=true' only covers the " +
+                    "rest layer but not the scripts executed by the " +
+                    "gremlin server.",
+                    rangeDouble(0.0, 1.0),
+                    0.01
+            );
+
     public static final ConfigOption<String> GREMLIN_SERVER_URL =
             new ConfigOption<>(
                     "gremlinserver.url",
@@ -250,6 +250,23 @@ public final class GraphManager {
         closeTx(graphSourceNamesToCloseTxOn, Transaction.Status.COMMIT);
     }
 
+    /**
+     * Close the transactions of all graphs opened by current thread, and
+     * release the backend sessions held by them
+     */
+    public void releaseTx() {
+        for (Graph graph : this.graphs.values()) {
+            if (!(graph instanceof HugeGraph)) {
+                continue;
+            }
+            try {
+                ((HugeGraph) graph).closeTx();
+            } catch (Throwable e) {
+                LOG.warn("Failed to close tx of graph '{}'", graph, e);
+            }
+        }
+    }
+
     public boolean requireAuthentication() {
         if (this.authenticator == null) {
             return false;
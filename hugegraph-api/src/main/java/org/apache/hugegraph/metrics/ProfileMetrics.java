@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.apache.hugegraph.util.QueryProfiler;
+import org.apache.hugegraph.util.QueryProfiler.Stage;
+import org.apache.hugegraph.util.QueryProfiler.Trace;
+
+import com.codahale.metrics.Histogram;
+
+/**
+ * The histograms of the time in microseconds spent in each stage of the
+ * requests sampled by QueryProfiler
+ */
+public final class ProfileMetrics {
+
+    private static final Map<Stage, Histogram> STAGES;
+    private static final Histogram TOTAL;
+
+    static {
+        STAGES = new EnumMap<>(Stage.class);
+        for (Stage stage : Stage.values()) {
+            STAGES.put(stage, MetricsUtil.registerHistogram(
+                              QueryProfiler.class, "stage-" + stage.string()));
+        }
+        TOTAL = MetricsUtil.registerHistogram(QueryProfiler.class, "total");
+    }
+
+    public static void update(Trace trace) {
+        if (trace == null) {
+            return;
+        }
+        for (Map.Entry<Stage, Histogram> e : STAGES.entrySet()) {
+            e.getValue().update(trace.time(e.getKey()) / 1000L);
+        }
+        TOTAL.update(trace.totalTime() / 1000L);
+    }
+}
@@ -47,6 +47,8 @@ import org.apache.hugegraph.traversal.algorithm.SingleSourceShortestPathTraverse
 import org.apache.hugegraph.traversal.algorithm.SingleSourceShortestPathTraverser.WeightedPaths;
 import org.apache.hugegraph.traversal.optimize.TraversalUtil;
 import org.apache.hugegraph.util.JsonUtil;
+import org.apache.hugegraph.util.QueryProfiler;
+import org.apache.hugegraph.util.QueryProfiler.Stage;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 
@@ -63,16 +65,26 @@ public class JsonSerializer implements Serializer {
         return INSTANCE;
     }
 
+    private static String toJson(Object object) {
+        // Only the writing of responses is profiled as the serialize stage
+        Stage previous = QueryProfiler.enter(Stage.SERIALIZE);
+        try {
+            return JsonUtil.toJson(object);
+        } finally {
+            QueryProfiler.exit(previous);
+        }
+    }
+
     @Override
     public String writeMap(Map<?, ?> map) {
-        return JsonUtil.toJson(map);
+        return toJson(map);
     }
 
     @Override
     public String writeList(String label, Collection<?> list) {
         try (ByteArrayOutputStream out = new ByteArrayOutputStream(LBUF_SIZE)) {
             out.write(String.format("{\"%s\": ", label).getBytes(API.CHARSET));
-            out.write(JsonUtil.toJson(list).getBytes(API.CHARSET));
+            out.write(toJson(list).getBytes(API.CHARSET));
             out.write("}".getBytes(API.CHARSET));
             return out.toString(API.CHARSET);
         } catch (Exception e) {
@@ -99,7 +111,7 @@ public class JsonSerializer implements Serializer {
                 } else {
                     first = false;
                 }
-                out.write(JsonUtil.toJson(iter.next()).getBytes(API.CHARSET));
+                out.write(toJson(iter.next()).getBytes(API.CHARSET));
             }
             out.write("]".getBytes(API.CHARSET));
 
@@ -139,7 +151,7 @@ public class JsonSerializer implements Serializer {
 
     @Override
     public String writePropertyKey(PropertyKey propertyKey) {
-        return JsonUtil.toJson(propertyKey);
+        return toJson(propertyKey);
     }
 
     @Override
@@ -175,7 +187,7 @@ public class JsonSerializer implements Serializer {
 
     @Override
     public String writeVertexLabel(VertexLabel vertexLabel) {
-        return JsonUtil.toJson(vertexLabel);
+        return toJson(vertexLabel);
     }
 
     @Override
@@ -185,7 +197,7 @@ public class JsonSerializer implements Serializer {
 
     @Override
     public String writeEdgeLabel(EdgeLabel edgeLabel) {
-        return JsonUtil.toJson(edgeLabel);
+        return toJson(edgeLabel);
     }
 
     @Override
@@ -195,7 +207,7 @@ public class JsonSerializer implements Serializer {
 
     @Override
     public String writeIndexlabel(IndexLabel indexLabel) {
-        return JsonUtil.toJson(indexLabel);
+        return toJson(indexLabel);
     }
 
     @Override
@@ -205,7 +217,7 @@ public class JsonSerializer implements Serializer {
 
     @Override
     public String writeVertex(Vertex vertex) {
-        return JsonUtil.toJson(vertex);
+        return toJson(vertex);
     }
 
     @Override
@@ -215,7 +227,7 @@ public class JsonSerializer implements Serializer {
 
     @Override
     public String writeEdge(Edge edge) {
-        return JsonUtil.toJson(edge);
+        return toJson(edge);
     }
 
     @Override
@@ -225,7 +237,7 @@ public class JsonSerializer implements Serializer {
 
     @Override
     public String writeIds(List<Id> ids) {
-        return JsonUtil.toJson(ids);
+        return toJson(ids);
     }
 
     @Override
@@ -258,7 +270,7 @@ public class JsonSerializer implements Serializer {
         } else {
             results = ImmutableMap.of(name, pathList, "vertices", vertices);
         }
-        return JsonUtil.toJson(results);
+        return toJson(results);
     }
 
     @Override
@@ -278,14 +290,14 @@ public class JsonSerializer implements Serializer {
         results = ImmutableMap.of("crosspoints", paths.crosspoints(),
                                   "paths", pathList,
                                   "vertices", iterator);
-        return JsonUtil.toJson(results);
+        return toJson(results);
     }
 
     @Override
     public String writeSimilars(SimilarsMap similars,
                                 Iterator<Vertex> vertices) {
-        return JsonUtil.toJson(ImmutableMap.of("similars", similars.toMap(),
-                                               "vertices", vertices));
+        return toJson(ImmutableMap.of("similars", similars.toMap(),
+                                      "vertices", vertices));
     }
 
     @Override
@@ -293,8 +305,8 @@ public class JsonSerializer implements Serializer {
                                     Iterator<Vertex> vertices) {
         Map<String, Object> pathMap = path == null ?
                                       ImmutableMap.of() : path.toMap();
-        return JsonUtil.toJson(ImmutableMap.of("path", pathMap,
-                                               "vertices", vertices));
+        return toJson(ImmutableMap.of("path", pathMap,
+                                      "vertices", vertices));
     }
 
     @Override
@@ -303,8 +315,8 @@ public class JsonSerializer implements Serializer {
         Map<Id, Map<String, Object>> pathMap = paths == null ?
                                                ImmutableMap.of() :
                                                paths.toMap();
-        return JsonUtil.toJson(ImmutableMap.of("paths", pathMap,
-                                               "vertices", vertices));
+        return toJson(ImmutableMap.of("paths", pathMap,
+                                      "vertices", vertices));
     }
 
     @Override
@@ -319,6 +331,6 @@ public class JsonSerializer implements Serializer {
         Map<String, Object> results;
         results = ImmutableMap.of(name, nodes, "size", size,
                                   "paths", pathList, "vertices", vertices);
-        return JsonUtil.toJson(results);
+        return toJson(results);
     }
 }
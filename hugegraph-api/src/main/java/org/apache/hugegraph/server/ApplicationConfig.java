@@ -20,10 +20,12 @@ package org.apache.hugegraph.server;
 import org.apache.hugegraph.HugeException;
 import org.apache.hugegraph.api.filter.RedirectFilterDynamicFeature;
 import org.apache.hugegraph.config.HugeConfig;
+import org.apache.hugegraph.config.ServerOptions;
 import org.apache.hugegraph.core.GraphManager;
 import org.apache.hugegraph.define.WorkLoad;
 import org.apache.hugegraph.event.EventHub;
 import org.apache.hugegraph.util.E;
+import org.apache.hugegraph.util.VirtualThreads;
 import org.apache.hugegraph.version.CoreVersion;
 import org.apache.tinkerpop.gremlin.server.util.MetricManager;
 import org.glassfish.hk2.api.Factory;
@@ -120,6 +122,8 @@ public class ApplicationConfig extends ResourceConfig {
                               ApplicationEvent.Type.INITIALIZATION_FINISHED;
                 private final ApplicationEvent.Type eventDestroyed =
                               ApplicationEvent.Type.DESTROY_FINISHED;
+                private final RequestEvent.Type requestFinished =
+                              RequestEvent.Type.FINISHED;
 
                 @Override
                 public void onEvent(ApplicationEvent event) {
@@ -141,7 +145,20 @@ public class ApplicationConfig extends ResourceConfig {
 
                 @Override
                 public RequestEventListener onRequest(RequestEvent event) {
-                    return null;
+                    if (!conf.get(ServerOptions.VIRTUAL_THREADS)) {
+                        return null;
+                    }
+                    /*
+                     * The virtual thread of a request won't be reused, so
+                     * release the thread-local transactions when finished
+                     */
+                    return requestEvent -> {
+                        GraphManager manager = GraphManagerFactory.this.manager;
+                        if (requestEvent.getType() == this.requestFinished &&
+                            manager != null && VirtualThreads.current()) {
+                            manager.releaseTx();
+                        }
+                    };
                 }
             });
         }
@@ -41,12 +41,17 @@ import org.apache.hugegraph.config.ServerOptions;
 import org.apache.hugegraph.event.EventHub;
 import org.apache.hugegraph.util.E;
 import org.apache.hugegraph.util.Log;
+import org.apache.hugegraph.util.QueryProfiler;
+import org.apache.hugegraph.util.VirtualThreads;
 import org.apache.hugegraph.version.ApiVersion;
 
 public class RestServer {
 
     private static final Logger LOG = Log.logger(RestServer.class);
 
+    private static final String VIRTUAL_WORKER_PREFIX =
+                                "grizzly-http-server-virtual-";
+
     private final HugeConfig conf;
     private final EventHub eventHub;
     private HttpServer httpServer = null;
@@ -60,8 +65,13 @@ public class RestServer {
         String url = this.conf.get(ServerOptions.REST_SERVER_URL);
         URI uri = UriBuilder.fromUri(url).build();
 
+        this.checkVirtualThreads();
         ResourceConfig rc = new ApplicationConfig(this.conf, this.eventHub);
 
+        // Option profile_sample_rate
+        double sampleRate = this.conf.get(ServerOptions.PROFILE_SAMPLE_RATE);
+        QueryProfiler.sampleRate(sampleRate);
+
         this.httpServer = this.configHttpServer(uri, rc);
         try {
             // Register HttpHandler for swagger-ui
@@ -102,12 +112,20 @@ public class RestServer {
                      "Http Server should have some listeners, but now is none");
         NetworkListener listener = listeners.iterator().next();
 
-        // Option max_worker_threads
-        int maxWorkerThreads = this.conf.get(ServerOptions.MAX_WORKER_THREADS);
-        listener.getTransport()
-                .getWorkerThreadPoolConfig()
-                .setCorePoolSize(maxWorkerThreads)
-                .setMaxPoolSize(maxWorkerThreads);
+        if (this.conf.get(ServerOptions.VIRTUAL_THREADS)) {
+            // Option virtual_threads, keep the name prefix of rest workers
+            listener.getTransport().setWorkerThreadPool(
+                     VirtualThreads.newThreadPerTaskExecutor(
+                     VIRTUAL_WORKER_PREFIX));
+        } else {
+            // Option max_worker_threads
+            int maxWorkerThreads = this.conf.get(
+                                   ServerOptions.MAX_WORKER_THREADS);
+            listener.getTransport()
+                    .getWorkerThreadPoolConfig()
+                    .setCorePoolSize(maxWorkerThreads)
+                    .setMaxPoolSize(maxWorkerThreads);
+        }
 
         // Option keep_alive
         int idleTimeout = this.conf.get(ServerOptions.CONN_IDLE_TIMEOUT);
@@ -181,6 +199,17 @@ public class RestServer {
         return server;
     }
 
+    private void checkVirtualThreads() {
+        if (!this.conf.get(ServerOptions.VIRTUAL_THREADS) ||
+            VirtualThreads.supported()) {
+            return;
+        }
+        LOG.warn("Virtual threads require JDK 21+, but got JDK {}, " +
+                 "fall back to the worker threads of rest server",
+                 System.getProperty("java.version"));
+        this.conf.setProperty(ServerOptions.VIRTUAL_THREADS.name(), "false");
+    }
+
     private void calcMaxWriteThreads() {
         int maxWriteThreads = this.conf.get(ServerOptions.MAX_WRITE_THREADS);
         if (maxWriteThreads > 0) {
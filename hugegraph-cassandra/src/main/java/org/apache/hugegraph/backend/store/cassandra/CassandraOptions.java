@@ -115,6 +115,35 @@ public class CassandraOptions extends OptionHolder {
                     "none"
             );
 
+    public static final ConfigOption<String> CASSANDRA_BATCH_MODE =
+            new ConfigOption<>(
+                    "cassandra.batch_mode",
+                    "The batch mode to commit mutations: logged/unlogged, " +
+                    "unlogged means grouping mutations by partition into " +
+                    "unlogged batches executed asynchronously, which is " +
+                    "faster but not atomic across partitions.",
+                    allowValues("logged", "unlogged"),
+                    "logged"
+            );
+
+    public static final ConfigOption<Integer> CASSANDRA_BATCH_SIZE =
+            new ConfigOption<>(
+                    "cassandra.batch_size",
+                    "The max number of statements in an unlogged batch " +
+                    "of a partition.",
+                    rangeInt(1, 65535),
+                    100
+            );
+
+    public static final ConfigOption<Integer> CASSANDRA_MAX_INFLIGHT =
+            new ConfigOption<>(
+                    "cassandra.batch_max_inflight",
+                    "The max number of unlogged batches executing " +
+                    "asynchronously at a time when committing.",
+                    rangeInt(1, 1024),
+                    32
+            );
+
     public static final ConfigOption<Integer> CASSANDRA_JMX_PORT =
             new ConfigOption<>(
                     "cassandra.jmx_port",
@@ -17,9 +17,15 @@
 
 package org.apache.hugegraph.backend.store.cassandra;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.hugegraph.backend.BackendException;
 import org.apache.hugegraph.backend.store.BackendSession.AbstractBackendSession;
@@ -29,12 +35,15 @@ import org.apache.hugegraph.util.E;
 import com.datastax.driver.core.BatchStatement;
 import com.datastax.driver.core.Cluster;
 import com.datastax.driver.core.Cluster.Builder;
+import com.datastax.driver.core.CodecRegistry;
 import com.datastax.driver.core.Metadata;
 import com.datastax.driver.core.ProtocolOptions.Compression;
+import com.datastax.driver.core.ProtocolVersion;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.SocketOptions;
 import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.exceptions.DriverException;
 import com.datastax.driver.core.exceptions.InvalidQueryException;
 
 public class CassandraSessionPool extends BackendSessionPool {
@@ -143,29 +152,109 @@ public class CassandraSessionPool extends BackendSessionPool {
 
         private com.datastax.driver.core.Session session;
         private BatchStatement batch;
+        private final boolean unlogged;
+        private final Map<Object, Partition> partitions;
 
         public Session() {
             this.session = null;
             this.batch = new BatchStatement(); // LOGGED
+            HugeConfig conf = CassandraSessionPool.this.config();
+            String mode = conf.get(CassandraOptions.CASSANDRA_BATCH_MODE);
+            this.unlogged = "unlogged".equals(mode);
+            this.partitions = new LinkedHashMap<>();
         }
 
         public BatchStatement add(Statement statement) {
-            return this.batch.add(statement);
+            this.add(statement, null, null);
+            return this.batch;
+        }
+
+        /**
+         * Add a statement to the batch, the statements of the same partition
+         * are grouped into unlogged batches in unlogged batch mode
+         * @param statement the statement to add
+         * @param table the table which the statement mutates
+         * @param routingKey the serialized partition key of the statement,
+         *                   the statement is executed alone if it's null
+         */
+        public void add(Statement statement, String table,
+                        ByteBuffer routingKey) {
+            this.batch.add(statement);
+            if (!this.unlogged) {
+                return;
+            }
+            Object key = routingKey == null ? new Object() :
+                         Arrays.asList(table, routingKey);
+            this.partitions.computeIfAbsent(key, k -> new Partition(routingKey))
+                           .add(statement);
+        }
+
+        public boolean unloggedBatch() {
+            return this.unlogged;
         }
 
         @Override
         public void rollback() {
-            this.batch.clear();
+            this.clearBatch();
         }
 
         @Override
         public ResultSet commit() {
+            if (this.unlogged) {
+                return this.commitUnlogged();
+            }
             ResultSet rs = this.session.execute(this.batch);
             // Clear batch if execute() successfully (retained if failed)
-            this.batch.clear();
+            this.clearBatch();
             return rs;
         }
 
+        private ResultSet commitUnlogged() {
+            HugeConfig conf = CassandraSessionPool.this.config();
+            int batchSize = conf.get(CassandraOptions.CASSANDRA_BATCH_SIZE);
+            int maxInflight = conf.get(CassandraOptions.CASSANDRA_MAX_INFLIGHT);
+
+            /*
+             * The client timestamp of a statement is generated when it's
+             * executed, so the later statements of a partition still win
+             * even though the batches are executed concurrently
+             */
+            ResultSet rs = null;
+            Deque<ResultSetFuture> inflight = new ArrayDeque<>(maxInflight);
+            try {
+                for (Partition partition : this.partitions.values()) {
+                    for (Statement batch : partition.batches(batchSize)) {
+                        if (inflight.size() >= maxInflight) {
+                            rs = inflight.poll().getUninterruptibly();
+                        }
+                        inflight.add(this.session.executeAsync(batch));
+                    }
+                }
+                while (!inflight.isEmpty()) {
+                    rs = inflight.poll().getUninterruptibly();
+                }
+            } catch (DriverException e) {
+                // Wait for the executing batches before rollback or retry
+                for (ResultSetFuture future : inflight) {
+                    try {
+                        future.getUninterruptibly();
+                    } catch (DriverException ignored) {
+                        // Ignore the following failures
+                    }
+                }
+                throw e;
+            }
+
+            // Clear batch if execute() successfully (retained if failed)
+            this.clearBatch();
+            return rs;
+        }
+
+        private void clearBatch() {
+            this.batch.clear();
+            this.partitions.clear();
+        }
+
         public void commitAsync() {
             Collection<Statement> statements = this.batch.getStatements();
 
@@ -187,7 +276,7 @@ public class CassandraSessionPool extends BackendSessionPool {
             }
 
             // Clear batch if execute() successfully (retained if failed)
-            this.batch.clear();
+            this.clearBatch();
         }
 
         public ResultSet query(Statement statement) {
@@ -266,9 +355,68 @@ public class CassandraSessionPool extends BackendSessionPool {
             return CassandraSessionPool.this.cluster.getMetadata();
         }
 
+        public ProtocolVersion protocolVersion() {
+            return CassandraSessionPool.this.cluster.getConfiguration()
+                                                    .getProtocolOptions()
+                                                    .getProtocolVersion();
+        }
+
         public int aggregateTimeout() {
             HugeConfig conf = CassandraSessionPool.this.config();
             return conf.get(CassandraOptions.AGGR_TIMEOUT);
         }
     }
+
+    /**
+     * The statements of a partition, which are executed by unlogged batches
+     * routed to the replicas of the partition
+     */
+    private static final class Partition {
+
+        private final ByteBuffer routingKey;
+        private final List<Statement> statements;
+
+        public Partition(ByteBuffer routingKey) {
+            this.routingKey = routingKey;
+            this.statements = new ArrayList<>();
+        }
+
+        public void add(Statement statement) {
+            this.statements.add(statement);
+        }
+
+        public List<Statement> batches(int batchSize) {
+            if (this.routingKey == null) {
+                assert this.statements.size() == 1;
+                return this.statements;
+            }
+            List<Statement> batches = new ArrayList<>();
+            PartitionBatch batch = null;
+            for (Statement statement : this.statements) {
+                if (batch == null || batch.size() >= batchSize) {
+                    batch = new PartitionBatch(this.routingKey);
+                    batches.add(batch);
+                }
+                batch.add(statement);
+            }
+            return batches;
+        }
+    }
+
+    private static final class PartitionBatch extends BatchStatement {
+
+        private final ByteBuffer routingKey;
+
+        public PartitionBatch(ByteBuffer routingKey) {
+            super(Type.UNLOGGED);
+            this.routingKey = routingKey;
+        }
+
+        @Override
+        public ByteBuffer getRoutingKey(ProtocolVersion protocolVersion,
+                                        CodecRegistry codecRegistry) {
+            // Route the batch to the replicas of the partition
+            return this.routingKey;
+        }
+    }
 }
@@ -17,6 +17,7 @@
 
 package org.apache.hugegraph.backend.store.cassandra;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
@@ -51,13 +52,20 @@ import org.apache.hugegraph.type.define.HugeKeys;
 import org.apache.hugegraph.util.CopyUtil;
 import org.apache.hugegraph.util.E;
 import org.apache.hugegraph.util.Log;
+import com.datastax.driver.core.CodecRegistry;
 import com.datastax.driver.core.ColumnDefinitions.Definition;
+import com.datastax.driver.core.ColumnMetadata;
 import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.KeyspaceMetadata;
 import com.datastax.driver.core.PagingState;
+import com.datastax.driver.core.ProtocolVersion;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.TableMetadata;
+import com.datastax.driver.core.exceptions.CodecNotFoundException;
 import com.datastax.driver.core.exceptions.DriverException;
+import com.datastax.driver.core.exceptions.InvalidTypeException;
 import com.datastax.driver.core.exceptions.PagingStateException;
 import com.datastax.driver.core.querybuilder.Clause;
 import com.datastax.driver.core.querybuilder.Clauses;
@@ -79,8 +87,11 @@ public abstract class CassandraTable
     private static final Logger LOG = Log.logger(CassandraTable.class);
     private static final int MAX_ELEMENTS_IN_CLAUSE = 65535;
 
+    private volatile List<ColumnMetadata> partitionKeys;
+
     public CassandraTable(String table) {
         super(table);
+        this.partitionKeys = null;
     }
 
     @Override
@@ -479,7 +490,7 @@ public abstract class CassandraTable
     @Override
     public void insert(CassandraSessionPool.Session session,
                        CassandraBackendEntry.Row entry) {
-        session.add(this.buildInsert(entry));
+        this.add(session, this.buildInsert(entry), entry);
     }
 
     /**
@@ -488,7 +499,7 @@ public abstract class CassandraTable
     @Override
     public void append(CassandraSessionPool.Session session,
                        CassandraBackendEntry.Row entry) {
-        session.add(this.buildAppend(entry));
+        this.add(session, this.buildAppend(entry), entry);
     }
 
     /**
@@ -497,7 +508,7 @@ public abstract class CassandraTable
     @Override
     public void eliminate(CassandraSessionPool.Session session,
                           CassandraBackendEntry.Row entry) {
-        session.add(this.buildEliminate(entry));
+        this.add(session, this.buildEliminate(entry), entry);
     }
 
     /**
@@ -506,7 +517,79 @@ public abstract class CassandraTable
     @Override
     public void delete(CassandraSessionPool.Session session,
                        CassandraBackendEntry.Row entry) {
-        session.add(this.buildDelete(entry));
+        this.add(session, this.buildDelete(entry), entry);
+    }
+
+    /**
+     * Add a mutation of the entry, which is grouped by the partition of the
+     * entry in unlogged batch mode
+     */
+    protected void add(CassandraSessionPool.Session session,
+                       Statement statement,
+                       CassandraBackendEntry.Row entry) {
+        if (!session.unloggedBatch()) {
+            session.add(statement);
+            return;
+        }
+        session.add(statement, this.table(), this.routingKey(session, entry));
+    }
+
+    private ByteBuffer routingKey(CassandraSessionPool.Session session,
+                                  CassandraBackendEntry.Row entry) {
+        List<ColumnMetadata> keys = this.partitionKeys(session);
+        if (keys == null) {
+            return null;
+        }
+
+        ProtocolVersion version = session.protocolVersion();
+        ByteBuffer[] components = new ByteBuffer[keys.size()];
+        for (int i = 0; i < components.length; i++) {
+            ColumnMetadata key = keys.get(i);
+            Object value = entry.column(parseKey(key.getName()));
+            if (value == null) {
+                return null;
+            }
+            try {
+                components[i] = CodecRegistry.DEFAULT_INSTANCE
+                                             .codecFor(key.getType(), value)
+                                             .serialize(value, version);
+            } catch (CodecNotFoundException | InvalidTypeException e) {
+                LOG.debug("Can't serialize partition key {} of table {}",
+                          key.getName(), this.table(), e);
+                return null;
+            }
+        }
+        return components.length == 1 ? components[0] : compose(components);
+    }
+
+    private List<ColumnMetadata> partitionKeys(
+                                 CassandraSessionPool.Session session) {
+        if (this.partitionKeys == null) {
+            KeyspaceMetadata keyspace = session.metadata()
+                                               .getKeyspace(session.keyspace());
+            TableMetadata table = keyspace == null ? null :
+                                  keyspace.getTable(this.table());
+            if (table != null) {
+                this.partitionKeys = table.getPartitionKey();
+            }
+        }
+        return this.partitionKeys;
+    }
+
+    private static ByteBuffer compose(ByteBuffer[] components) {
+        // The same format as composite partition key of cassandra
+        int size = 0;
+        for (ByteBuffer component : components) {
+            size += 2 + component.remaining() + 1;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        for (ByteBuffer component : components) {
+            buffer.putShort((short) component.remaining());
+            buffer.put(component.duplicate());
+            buffer.put((byte) 0);
+        }
+        buffer.flip();
+        return buffer;
     }
 
     protected Insert buildInsert(CassandraBackendEntry.Row entry) {
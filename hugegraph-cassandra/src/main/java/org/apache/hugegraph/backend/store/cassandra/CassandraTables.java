@@ -316,14 +316,14 @@ public class CassandraTables {
         public void insert(CassandraSessionPool.Session session,
                            CassandraBackendEntry.Row entry) {
             Insert insert = this.buildInsert(entry);
-            session.add(setTtl(insert, entry));
+            this.add(session, setTtl(insert, entry), entry);
         }
 
         @Override
         public void append(CassandraSessionPool.Session session,
                            CassandraBackendEntry.Row entry) {
             Update append = this.buildAppend(entry);
-            session.add(setTtl(append, entry));
+            this.add(session, setTtl(append, entry), entry);
         }
     }
 
@@ -383,14 +383,14 @@ public class CassandraTables {
         public void insert(CassandraSessionPool.Session session,
                            CassandraBackendEntry.Row entry) {
             Insert insert = this.buildInsert(entry);
-            session.add(setTtl(insert, entry));
+            this.add(session, setTtl(insert, entry), entry);
         }
 
         @Override
         public void append(CassandraSessionPool.Session session,
                            CassandraBackendEntry.Row entry) {
             Update update = this.buildAppend(entry);
-            session.add(setTtl(update, entry));
+            this.add(session, setTtl(update, entry), entry);
         }
 
         @Override
@@ -666,7 +666,7 @@ public class CassandraTables {
                            CassandraBackendEntry.Row entry) {
             assert entry.columns().size() == 3 || entry.columns().size() == 4;
             Insert insert = this.buildInsert(entry);
-            session.add(setTtl(insert, entry));
+            this.add(session, setTtl(insert, entry), entry);
         }
 
         @Override
@@ -779,7 +779,7 @@ public class CassandraTables {
                            CassandraBackendEntry.Row entry) {
             assert entry.columns().size() == 3 || entry.columns().size() == 4;
             Insert insert = this.buildInsert(entry);
-            session.add(setTtl(insert, entry));
+            this.add(session, setTtl(insert, entry), entry);
         }
 
         @Override
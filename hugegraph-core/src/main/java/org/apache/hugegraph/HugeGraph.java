@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.hugegraph.auth.AuthManager;
 import org.apache.hugegraph.backend.id.Id;
@@ -177,6 +178,8 @@ public interface HugeGraph extends Graph {
 
     Iterator<Edge> edges(Query query);
 
+    CompletableFuture<Iterator<Edge>> edgesAsync(Query query);
+
     Iterator<Vertex> adjacentVertices(Iterator<Edge> edges);
 
     Iterator<Edge> adjacentEdges(Id vertexId);
@@ -246,6 +249,8 @@ public interface HugeGraph extends Graph {
 
     long now();
 
+    void closeTx();
+
     <K, V> V option(TypedOption<K, V> option);
 
     void registerRpcServices(RpcServiceConfig4Server serverConfig,
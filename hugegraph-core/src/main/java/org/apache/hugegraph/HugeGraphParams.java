@@ -17,10 +17,14 @@
 
 package org.apache.hugegraph;
 
+import java.util.concurrent.ExecutorService;
+
 import org.apache.hugegraph.backend.LocalCounter;
 import org.apache.hugegraph.backend.store.BackendFeatures;
 import org.apache.hugegraph.backend.store.BackendStore;
+import org.apache.hugegraph.backend.store.ram.OlapColumns;
 import org.apache.hugegraph.backend.store.ram.RamTable;
+import org.apache.hugegraph.backend.store.ram.SuperNodeIndex;
 import org.apache.hugegraph.backend.tx.GraphTransaction;
 import org.apache.hugegraph.backend.tx.SchemaTransaction;
 import org.apache.hugegraph.task.ServerInfoManager;
@@ -90,4 +94,14 @@ public interface HugeGraphParams {
     RateLimiter readRateLimiter();
 
     RamTable ramtable();
+
+    OlapColumns olapColumns();
+
+    SuperNodeIndex superNodeIndex();
+
+    /**
+     * The pool to build index entries of large batch commits, it's created
+     * on demand with `index.update_threads` workers of this graph
+     */
+    ExecutorService indexExecutor();
 }
@@ -21,6 +21,8 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -50,7 +52,9 @@ import org.apache.hugegraph.backend.store.BackendStoreInfo;
 import org.apache.hugegraph.backend.store.BackendStoreProvider;
 import org.apache.hugegraph.backend.store.raft.RaftBackendStoreProvider;
 import org.apache.hugegraph.backend.store.raft.RaftGroupManager;
+import org.apache.hugegraph.backend.store.ram.OlapColumns;
 import org.apache.hugegraph.backend.store.ram.RamTable;
+import org.apache.hugegraph.backend.store.ram.SuperNodeIndex;
 import org.apache.hugegraph.backend.tx.GraphTransaction;
 import org.apache.hugegraph.backend.tx.SchemaTransaction;
 import org.apache.hugegraph.config.CoreOptions;
@@ -60,6 +64,7 @@ import org.apache.hugegraph.event.EventHub;
 import org.apache.hugegraph.event.EventListener;
 import org.apache.hugegraph.exception.NotAllowException;
 import org.apache.hugegraph.io.HugeGraphIoRegistry;
+import org.apache.hugegraph.job.algorithm.EdgeChangeFeed;
 import org.apache.hugegraph.masterelection.ClusterRoleStore;
 import org.apache.hugegraph.masterelection.Config;
 import org.apache.hugegraph.masterelection.RoleElectionConfig;
@@ -77,6 +82,7 @@ import org.apache.hugegraph.schema.SchemaElement;
 import org.apache.hugegraph.schema.SchemaLabel;
 import org.apache.hugegraph.schema.SchemaManager;
 import org.apache.hugegraph.schema.VertexLabel;
+import org.apache.hugegraph.statistics.GraphStatistics;
 import org.apache.hugegraph.structure.HugeEdge;
 import org.apache.hugegraph.structure.HugeEdgeProperty;
 import org.apache.hugegraph.structure.HugeFeatures;
@@ -85,6 +91,7 @@ import org.apache.hugegraph.structure.HugeVertexProperty;
 import org.apache.hugegraph.task.ServerInfoManager;
 import org.apache.hugegraph.task.TaskManager;
 import org.apache.hugegraph.task.TaskScheduler;
+import org.apache.hugegraph.traversal.algorithm.TraverserResultCache;
 import org.apache.hugegraph.type.HugeType;
 import org.apache.hugegraph.type.define.GraphMode;
 import org.apache.hugegraph.type.define.GraphReadMode;
@@ -93,6 +100,7 @@ import org.apache.hugegraph.util.ConfigUtil;
 import org.apache.hugegraph.util.DateUtil;
 import org.apache.hugegraph.util.E;
 import org.apache.hugegraph.util.Events;
+import org.apache.hugegraph.util.ExecutorUtil;
 import org.apache.hugegraph.util.LockUtil;
 import org.apache.hugegraph.util.Log;
 import org.apache.hugegraph.variables.HugeVariables;
@@ -133,7 +141,15 @@ public class StandardHugeGraph implements HugeGraph {
            CoreOptions.TASK_INPUT_SIZE_LIMIT,
            CoreOptions.TASK_RESULT_SIZE_LIMIT,
            CoreOptions.OLTP_CONCURRENT_THREADS,
+           CoreOptions.OLTP_VIRTUAL_THREADS,
+           CoreOptions.OLTP_VIRTUAL_MAX_QUERIES,
+           CoreOptions.OLTP_VIRTUAL_MAX_PENDING,
+           CoreOptions.OLTP_CONCURRENT_ENGINE,
+           CoreOptions.OLTP_STEALING_BATCH,
            CoreOptions.OLTP_CONCURRENT_DEPTH,
+           CoreOptions.OLTP_ASYNC_LOOKUPS,
+           CoreOptions.OLTP_SHORTEST_PATH_ENGINE,
+           CoreOptions.OLTP_WEIGHTED_PATH_ENGINE,
            CoreOptions.OLTP_COLLECTION_TYPE,
            CoreOptions.VERTEX_DEFAULT_LABEL,
            CoreOptions.VERTEX_ENCODE_PK_NUMBER,
@@ -173,6 +189,9 @@ public class StandardHugeGraph implements HugeGraph {
     private final TinkerPopTransaction tx;
 
     private final RamTable ramtable;
+    private final OlapColumns olapColumns;
+    private final SuperNodeIndex superNodeIndex;
+    private volatile ExecutorService indexExecutor;
 
     public StandardHugeGraph(HugeConfig config) {
         this.params = new StandardHugeGraphParams();
@@ -200,6 +219,23 @@ public class StandardHugeGraph implements HugeGraph {
             this.ramtable = null;
         }
 
+        if (config.get(CoreOptions.QUERY_OLAP_COLUMN_ENABLE)) {
+            int chunkSize = config.get(CoreOptions.QUERY_OLAP_COLUMN_CHUNK_SIZE);
+            this.olapColumns = new OlapColumns(this, chunkSize);
+        } else {
+            this.olapColumns = null;
+        }
+
+        if (config.get(CoreOptions.QUERY_SUPER_NODE_ENABLE)) {
+            int threshold = config.get(CoreOptions.QUERY_SUPER_NODE_THRESHOLD);
+            int blockSize = config.get(CoreOptions.QUERY_SUPER_NODE_BLOCK_SIZE);
+            int capacity = config.get(CoreOptions.QUERY_SUPER_NODE_CAPACITY);
+            this.superNodeIndex = new SuperNodeIndex(this, threshold,
+                                                     blockSize, capacity);
+        } else {
+            this.superNodeIndex = null;
+        }
+
         this.taskManager = TaskManager.instance();
 
         this.name = config.get(CoreOptions.STORE);
@@ -229,6 +265,9 @@ public class StandardHugeGraph implements HugeGraph {
             this.taskManager.addScheduler(this.params);
             this.authManager = new StandardAuthManager(this.params);
             this.variables = null;
+
+            this.openTraverserCache(config);
+            EdgeChangeFeed.open(this.name, this.graphEventHub);
         } catch (Exception e) {
             this.storeProvider.close();
             LockUtil.destroy(this.name);
@@ -379,6 +418,7 @@ public class StandardHugeGraph implements HugeGraph {
         LockUtil.lock(this.name, LockUtil.GRAPH_LOCK);
         try {
             this.storeProvider.clear();
+            GraphStatistics.remove(this.name);
         } finally {
             LockUtil.unlock(this.name, LockUtil.GRAPH_LOCK);
             this.loadGraphStore().close();
@@ -396,6 +436,7 @@ public class StandardHugeGraph implements HugeGraph {
         LockUtil.lock(this.name, LockUtil.GRAPH_LOCK);
         try {
             this.storeProvider.truncate();
+            GraphStatistics.remove(this.name);
             // TODO: remove this after serverinfo saved in etcd
             this.serverStarted(this.serverInfoManager().selfServerId(),
                                this.serverInfoManager().selfServerRole());
@@ -440,6 +481,17 @@ public class StandardHugeGraph implements HugeGraph {
         LOG.info("Graph '{}' has resumed from snapshot", this.name);
     }
 
+    private void openTraverserCache(HugeConfig config) {
+        long capacity = config.get(CoreOptions.OLTP_RESULT_CACHE_CAPACITY);
+        if (capacity <= 0L) {
+            return;
+        }
+        int expire = config.get(CoreOptions.OLTP_RESULT_CACHE_EXPIRE);
+        long maxSize = config.get(CoreOptions.OLTP_RESULT_CACHE_MAX_SIZE);
+        TraverserResultCache.open(this.name, this.graphEventHub, capacity,
+                                  expire, maxSize);
+    }
+
     private void clearVertexCache() {
         Future<?> future = this.graphEventHub.notify(Events.CACHE, "clear",
                                                      HugeType.VERTEX);
@@ -567,6 +619,20 @@ public class StandardHugeGraph implements HugeGraph {
         }
     }
 
+    protected void reloadOlapColumns() {
+        this.reloadOlapColumns(false);
+    }
+
+    protected void reloadOlapColumns(boolean loadFromFile) {
+        // Expect triggered manually after olap properties written, like ramtable
+        if (this.olapColumns != null) {
+            this.olapColumns.reload(loadFromFile, this.name + "-olap");
+        } else {
+            LOG.warn("The olap column feature is not enabled for graph {}",
+                     this);
+        }
+    }
+
     @Override
     public <C extends GraphComputer> C compute(Class<C> clazz)
                                                throws IllegalArgumentException {
@@ -711,6 +777,11 @@ public class StandardHugeGraph implements HugeGraph {
         return this.graphTransaction().queryEdges(query);
     }
 
+    @Override
+    public CompletableFuture<Iterator<Edge>> edgesAsync(Query query) {
+        return this.graphTransaction().queryEdgesAsync(query);
+    }
+
     @Override
     public Iterator<Vertex> adjacentVertices(Iterator<Edge> edges) {
         return this.graphTransaction().queryAdjacentVertices(edges);
@@ -957,11 +1028,21 @@ public class StandardHugeGraph implements HugeGraph {
         if (StandardAuthManager.isLocal(this.authManager)) {
             this.authManager.close();
         }
+        // Let the long-lived algorithm tasks exit before closing scheduler
+        EdgeChangeFeed.close(this.name);
         this.taskManager.closeScheduler(this.params);
         try {
             this.closeTx();
         } finally {
             this.closed = true;
+            TraverserResultCache.close(this.name);
+            GraphStatistics.remove(this.name);
+            if (this.superNodeIndex != null) {
+                this.superNodeIndex.close();
+            }
+            if (this.indexExecutor != null) {
+                this.indexExecutor.shutdown();
+            }
             this.storeProvider.close();
             LockUtil.destroy(this.name);
         }
@@ -1141,7 +1222,8 @@ public class StandardHugeGraph implements HugeGraph {
                                                    this.schemaEventHub, proxy));
     }
 
-    private void closeTx() {
+    @Override
+    public void closeTx() {
         try {
             if (this.tx.isOpen()) {
                 this.tx.close();
@@ -1304,6 +1386,37 @@ public class StandardHugeGraph implements HugeGraph {
         public RamTable ramtable() {
             return StandardHugeGraph.this.ramtable;
         }
+
+        @Override
+        public OlapColumns olapColumns() {
+            return StandardHugeGraph.this.olapColumns;
+        }
+
+        @Override
+        public SuperNodeIndex superNodeIndex() {
+            return StandardHugeGraph.this.superNodeIndex;
+        }
+
+        @Override
+        public ExecutorService indexExecutor() {
+            if (StandardHugeGraph.this.indexExecutor != null) {
+                return StandardHugeGraph.this.indexExecutor;
+            }
+            synchronized (this) {
+                if (StandardHugeGraph.this.indexExecutor == null) {
+                    E.checkState(!StandardHugeGraph.this.closed(),
+                                 "Graph '%s' has been closed",
+                                 StandardHugeGraph.this.name);
+                    int threads = StandardHugeGraph.this.configuration.get(
+                                  CoreOptions.INDEX_UPDATE_THREADS);
+                    String name = "index-update-" +
+                                  StandardHugeGraph.this.name + "-%d";
+                    StandardHugeGraph.this.indexExecutor =
+                            ExecutorUtil.newFixedThreadPool(threads, name);
+                }
+                return StandardHugeGraph.this.indexExecutor;
+            }
+        }
     }
 
     private class TinkerPopTransaction extends AbstractThreadLocalTransaction {
@@ -0,0 +1,293 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.auth;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.structure.Property;
+
+import org.apache.hugegraph.HugeException;
+import org.apache.hugegraph.HugeGraph;
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.query.Condition;
+import org.apache.hugegraph.backend.query.Condition.Relation;
+import org.apache.hugegraph.backend.query.ConditionQuery;
+import org.apache.hugegraph.backend.query.Query;
+import org.apache.hugegraph.schema.PropertyKey;
+import org.apache.hugegraph.schema.SchemaLabel;
+import org.apache.hugegraph.structure.HugeElement;
+import org.apache.hugegraph.structure.HugeProperty;
+import org.apache.hugegraph.traversal.optimize.TraversalUtil;
+import org.apache.hugegraph.type.HugeType;
+import org.apache.hugegraph.type.define.HugeKeys;
+import org.apache.hugegraph.util.E;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * The compiled permission of a role to access the vertices and edges of a
+ * graph with an action. The granted resources are resolved to a rule for
+ * each label once, so the label restrictions can be applied to the queries,
+ * and only the property restrictions are checked for each element.
+ */
+public class ElementPermissionPlan {
+
+    private final HugeGraph graph;
+    private final Object role;
+    private final List<HugeResource> vertexResources;
+    private final List<HugeResource> edgeResources;
+    // Mapping of: label id -> the rule of the label
+    private final Map<Id, LabelRule> vertexRules;
+    private final Map<Id, LabelRule> edgeRules;
+
+    public ElementPermissionPlan(HugeGraph graph, Object role,
+                                 List<HugeResource> resources) {
+        E.checkNotNull(graph, "graph");
+        E.checkNotNull(resources, "resources");
+        this.graph = graph;
+        this.role = role;
+        this.vertexResources = matchedResources(resources,
+                                                ResourceType.VERTEX);
+        this.edgeResources = matchedResources(resources, ResourceType.EDGE);
+        this.vertexRules = new ConcurrentHashMap<>();
+        this.edgeRules = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * @return the role which the plan is compiled from
+     */
+    public Object role() {
+        return this.role;
+    }
+
+    /**
+     * Test whether the element is allowed to access
+     */
+    public boolean test(HugeElement element) {
+        LabelRule rule = this.rule(element.type(), element.schemaLabel());
+        return rule.test(element);
+    }
+
+    /**
+     * Apply the label restrictions to the query, the labels not allowed to
+     * access are removed from the label condition of the query.
+     * @return the query or a restricted copy of it, or null if none of the
+     *         queried labels is allowed to access
+     */
+    public Query restrict(Query query) {
+        if (!(query instanceof ConditionQuery)) {
+            return query;
+        }
+        ConditionQuery cq = (ConditionQuery) query;
+        Relation labelRelation = null;
+        for (Condition c : cq.conditions()) {
+            if (!c.isRelation() || ((Relation) c).key() != HugeKeys.LABEL) {
+                continue;
+            }
+            if (labelRelation != null) {
+                // Not restrict the query with multiple label conditions
+                return query;
+            }
+            labelRelation = (Relation) c;
+        }
+        if (labelRelation == null) {
+            return query;
+        }
+
+        List<?> labels;
+        switch (labelRelation.relation()) {
+            case EQ:
+                labels = ImmutableList.of(labelRelation.value());
+                break;
+            case IN:
+                labels = (List<?>) labelRelation.value();
+                break;
+            default:
+                return query;
+        }
+        List<Id> allowed = new ArrayList<>(labels.size());
+        for (Object label : labels) {
+            if (!(label instanceof Id)) {
+                return query;
+            }
+            SchemaLabel schemaLabel = this.schemaLabel(cq.resultType(),
+                                                       (Id) label);
+            if (schemaLabel == null ||
+                !this.rule(cq.resultType(), schemaLabel).denied()) {
+                allowed.add((Id) label);
+            }
+        }
+        if (allowed.isEmpty()) {
+            return null;
+        }
+        if (allowed.size() == labels.size()) {
+            return query;
+        }
+        assert labelRelation.relation() == Condition.RelationType.IN;
+        ConditionQuery restricted = cq.copy();
+        restricted.unsetCondition(HugeKeys.LABEL);
+        if (allowed.size() == 1) {
+            restricted.eq(HugeKeys.LABEL, allowed.get(0));
+        } else {
+            restricted.query(Condition.in(HugeKeys.LABEL, allowed));
+        }
+        return restricted;
+    }
+
+    private SchemaLabel schemaLabel(HugeType type, Id label) {
+        if (type.isVertex()) {
+            return this.graph.vertexLabelOrNone(label);
+        } else if (type.isEdge()) {
+            return this.graph.edgeLabelOrNone(label);
+        }
+        return null;
+    }
+
+    private LabelRule rule(HugeType type, SchemaLabel label) {
+        Map<Id, LabelRule> rules;
+        List<HugeResource> resources;
+        if (type.isVertex()) {
+            rules = this.vertexRules;
+            resources = this.vertexResources;
+        } else {
+            assert type.isEdge() : type;
+            rules = this.edgeRules;
+            resources = this.edgeResources;
+        }
+        // The labels can't be renamed, and the id of a dropped one is unused
+        return rules.computeIfAbsent(label.id(), id -> {
+            return LabelRule.compile(label.name(), resources);
+        });
+    }
+
+    private static List<HugeResource> matchedResources(
+                                      List<HugeResource> resources,
+                                      ResourceType type) {
+        List<HugeResource> matched = new ArrayList<>();
+        for (HugeResource resource : resources) {
+            if (resource.type() != null && resource.type().match(type)) {
+                matched.add(resource);
+            }
+        }
+        return matched;
+    }
+
+    private static final class LabelRule {
+
+        private static final LabelRule DENY = new LabelRule(ImmutableList.of());
+        private static final LabelRule ALLOW = new LabelRule(null);
+
+        // Allowed if any of the conditions matched, null means allow all
+        private final List<List<PropertyRule>> conditions;
+
+        private LabelRule(List<List<PropertyRule>> conditions) {
+            this.conditions = conditions;
+        }
+
+        public boolean denied() {
+            return this.conditions != null && this.conditions.isEmpty();
+        }
+
+        public boolean test(HugeElement element) {
+            if (this.conditions == null) {
+                return true;
+            }
+            for (List<PropertyRule> condition : this.conditions) {
+                boolean matched = true;
+                for (PropertyRule rule : condition) {
+                    if (!rule.test(element)) {
+                        matched = false;
+                        break;
+                    }
+                }
+                if (matched) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        public static LabelRule compile(String label,
+                                        List<HugeResource> resources) {
+            List<List<PropertyRule>> conditions = new ArrayList<>();
+            for (HugeResource resource : resources) {
+                if (!resource.matchLabel(label)) {
+                    continue;
+                }
+                Map<String, Object> properties = resource.properties();
+                if (properties == null) {
+                    return ALLOW;
+                }
+                List<PropertyRule> condition = new ArrayList<>();
+                for (Map.Entry<String, Object> e : properties.entrySet()) {
+                    String name = e.getKey();
+                    Object expected = e.getValue();
+                    if (name.equals(HugeResource.ANY) &&
+                        expected.equals(HugeResource.ANY)) {
+                        // The remaining properties are not checked
+                        break;
+                    }
+                    condition.add(new PropertyRule(name, expected));
+                }
+                if (condition.isEmpty()) {
+                    return ALLOW;
+                }
+                conditions.add(condition);
+            }
+            return conditions.isEmpty() ? DENY : new LabelRule(conditions);
+        }
+    }
+
+    private static final class PropertyRule {
+
+        private final String name;
+        private final Object expected;
+        // The predicate is parsed with the property key at the first test
+        private volatile P<Object> predicate;
+
+        public PropertyRule(String name, Object expected) {
+            this.name = name;
+            this.expected = expected;
+            this.predicate = null;
+        }
+
+        public boolean test(HugeElement element) {
+            Property<Object> prop = element.property(this.name);
+            if (!prop.isPresent()) {
+                return false;
+            }
+            try {
+                P<Object> predicate = this.predicate;
+                if (predicate == null) {
+                    PropertyKey pkey = ((HugeProperty<?>) prop).propertyKey();
+                    predicate = TraversalUtil.parsePredicate(this.expected,
+                                                             pkey);
+                    this.predicate = predicate;
+                }
+                return predicate.test(prop.value());
+            } catch (IllegalArgumentException e) {
+                throw new HugeException("Invalid resource '%s' for '%s': %s",
+                                        this.expected, this.name,
+                                        e.getMessage());
+            }
+        }
+    }
+}
@@ -87,6 +87,18 @@ public class HugeResource {
         this.checkFormat();
     }
 
+    public ResourceType type() {
+        return this.type;
+    }
+
+    public String label() {
+        return this.label;
+    }
+
+    public Map<String, Object> properties() {
+        return this.properties;
+    }
+
     public void checkFormat() {
         if (this.properties == null) {
             return;
@@ -180,7 +192,7 @@ public class HugeResource {
         return true;
     }
 
-    private boolean matchLabel(String other) {
+    protected boolean matchLabel(String other) {
         // Label value may be vertex/edge label or schema name
         if (this.label == null || other == null) {
             return false;
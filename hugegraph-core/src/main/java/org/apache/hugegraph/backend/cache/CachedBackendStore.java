@@ -29,6 +29,7 @@ import org.apache.hugegraph.backend.store.BackendStoreProvider;
 import org.apache.hugegraph.backend.store.SystemSchemaStore;
 import org.apache.hugegraph.config.HugeConfig;
 import org.apache.hugegraph.type.HugeType;
+import org.apache.hugegraph.type.define.Directions;
 import org.apache.hugegraph.util.StringEncoding;
 
 /**
@@ -146,6 +147,11 @@ public class CachedBackendStore implements BackendStore {
         return this.store.getCounter(type);
     }
 
+    @Override
+    public long getDegree(Id vertex, Directions direction, Id label) {
+        return this.store.getDegree(vertex, direction, label);
+    }
+
     @Override
     public boolean isSchemaStore() {
         return this.store.isSchemaStore();
@@ -24,14 +24,19 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.hugegraph.backend.cache.CachedBackendStore.QueryId;
+import org.apache.hugegraph.backend.query.DeferredIterator;
 import org.apache.hugegraph.backend.query.Query;
 import org.apache.hugegraph.backend.store.BackendMutation;
 import org.apache.hugegraph.backend.store.BackendStore;
+import org.apache.hugegraph.backend.store.ram.OlapColumns;
 import org.apache.hugegraph.backend.store.ram.RamTable;
+import org.apache.hugegraph.backend.store.ram.SuperNodeIndex;
 import org.apache.hugegraph.HugeGraphParams;
 import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.query.ConditionQuery;
 import org.apache.hugegraph.backend.query.IdQuery;
 import org.apache.hugegraph.backend.query.QueryResults;
 import org.apache.hugegraph.backend.tx.GraphTransaction;
@@ -40,12 +45,14 @@ import org.apache.hugegraph.config.HugeConfig;
 import org.apache.hugegraph.event.EventHub;
 import org.apache.hugegraph.event.EventListener;
 import org.apache.hugegraph.exception.NotSupportException;
+import org.apache.hugegraph.iterator.BatchMapperIterator;
 import org.apache.hugegraph.iterator.ExtendableIterator;
 import org.apache.hugegraph.iterator.ListIterator;
 import org.apache.hugegraph.perf.PerfUtil.Watched;
 import org.apache.hugegraph.schema.IndexLabel;
 import org.apache.hugegraph.structure.HugeEdge;
 import org.apache.hugegraph.structure.HugeVertex;
+import org.apache.hugegraph.traversal.algorithm.TraverserResultCache;
 import org.apache.hugegraph.type.HugeType;
 import org.apache.hugegraph.util.E;
 import org.apache.hugegraph.util.Events;
@@ -58,6 +65,7 @@ public final class CachedGraphTransaction extends GraphTransaction {
     private static final float DEFAULT_LEVEL_RATIO = 0.001f;
     private static final long AVG_VERTEX_ENTRY_SIZE = 40L;
     private static final long AVG_EDGE_ENTRY_SIZE = 100L;
+    private static final int OLAP_COLUMN_BATCH = 500;
 
     private final Cache<Id, Object> verticesCache;
     private final Cache<Id, Object> edgesCache;
@@ -128,6 +136,10 @@ public final class CachedGraphTransaction extends GraphTransaction {
                 LOG.debug("Graph {} clear graph cache on event '{}'",
                           this.graph(), event.name());
                 this.clearCache(null, true);
+                SuperNodeIndex superNodes = this.params().superNodeIndex();
+                if (superNodes != null) {
+                    superNodes.clear();
+                }
                 return true;
             }
             return false;
@@ -234,6 +246,12 @@ public final class CachedGraphTransaction extends GraphTransaction {
     @Override
     @Watched(prefix = "graphcache")
     protected Iterator<HugeVertex> queryVerticesFromBackend(Query query) {
+        OlapColumns olapColumns = this.params().olapColumns();
+        if (olapColumns != null && olapColumns.matched(query)) {
+            return this.queryVerticesByOlapColumn(olapColumns,
+                                                  (ConditionQuery) query);
+        }
+
         if (this.enableCacheVertex() &&
             query.idsSize() > 0 && query.conditionsSize() == 0) {
             return this.queryVerticesByIds((IdQuery) query);
@@ -242,6 +260,21 @@ public final class CachedGraphTransaction extends GraphTransaction {
         }
     }
 
+    @Watched(prefix = "graphcache")
+    private Iterator<HugeVertex> queryVerticesByOlapColumn(
+                                 OlapColumns olapColumns,
+                                 ConditionQuery query) {
+        // Filter by the olap column, then fetch the matched vertices by ids
+        Iterator<Id> ids = olapColumns.query(query);
+        return new BatchMapperIterator<>(OLAP_COLUMN_BATCH, ids, batch -> {
+            IdQuery idQuery = new IdQuery(HugeType.VERTEX, query);
+            for (Id id : batch) {
+                idQuery.query(id);
+            }
+            return this.queryVerticesFromBackend(idQuery);
+        });
+    }
+
     @Watched(prefix = "graphcache")
     private Iterator<HugeVertex> queryVerticesByIds(IdQuery query) {
         if (query.idsSize() == 1) {
@@ -311,6 +344,17 @@ public final class CachedGraphTransaction extends GraphTransaction {
             return ramtable.query(query);
         }
 
+        SuperNodeIndex superNodes = this.superNodeIndex();
+        if (superNodes != null) {
+            if (superNodes.matched(query)) {
+                return superNodes.query(query, super::queryEdgesFromBackend);
+            }
+            return superNodes.watch(query, this.queryEdgesByCache(query));
+        }
+        return this.queryEdgesByCache(query);
+    }
+
+    private Iterator<HugeEdge> queryEdgesByCache(Query query) {
         if (!this.enableCacheEdge() || query.empty() ||
             query.paging() || query.bigCapacity()) {
             // Query all edges or query edges in paging, don't cache it
@@ -318,33 +362,23 @@ public final class CachedGraphTransaction extends GraphTransaction {
         }
 
         Id cacheKey = new QueryId(query);
-        Object value = this.edgesCache.get(cacheKey);
-        @SuppressWarnings("unchecked")
-        Collection<HugeEdge> edges = (Collection<HugeEdge>) value;
-        if (value != null) {
-            for (HugeEdge edge : edges) {
-                if (edge.expired()) {
-                    this.edgesCache.invalidate(cacheKey);
-                    value = null;
-                    break;
-                }
-            }
-        }
-
-        if (value != null) {
-            // Not cached or the cache expired
+        Collection<HugeEdge> edges = this.cachedEdges(cacheKey);
+        if (edges != null) {
             return edges.iterator();
         }
 
         Iterator<HugeEdge> rs = super.queryEdgesFromBackend(query);
+        return this.cacheEdges(cacheKey, rs);
+    }
 
+    private Iterator<HugeEdge> cacheEdges(Id cacheKey, Iterator<HugeEdge> rs) {
         /*
          * Iterator can't be cached, caching list instead
          * there may be super node and too many edges in a query,
          * try fetch a few of the head results and determine whether to cache.
          */
         final int tryMax = 1 + MAX_CACHE_EDGES_PER_QUERY;
-        edges = new ArrayList<>(tryMax);
+        List<HugeEdge> edges = new ArrayList<>(tryMax);
         for (int i = 0; rs.hasNext() && i < tryMax; i++) {
             edges.add(rs.next());
         }
@@ -358,6 +392,71 @@ public final class CachedGraphTransaction extends GraphTransaction {
         return new ExtendableIterator<>(edges.iterator(), rs);
     }
 
+    @Override
+    protected CompletableFuture<Iterator<HugeEdge>> queryEdgesFromBackendAsync(
+                                                    Query query) {
+        RamTable ramtable = this.params().ramtable();
+        if (ramtable != null && ramtable.matched(query)) {
+            return CompletableFuture.completedFuture(ramtable.query(query));
+        }
+
+        SuperNodeIndex superNodes = this.superNodeIndex();
+        if (superNodes != null && superNodes.matched(query)) {
+            return CompletableFuture.completedFuture(superNodes.query(
+                   query, super::queryEdgesFromBackend));
+        }
+
+        CompletableFuture<Iterator<HugeEdge>> future;
+        if (this.enableCacheEdge() && !query.empty() &&
+            !query.paging() && !query.bigCapacity()) {
+            Id cacheKey = new QueryId(query);
+            Collection<HugeEdge> edges = this.cachedEdges(cacheKey);
+            if (edges != null) {
+                return CompletableFuture.completedFuture(edges.iterator());
+            }
+            // Cache the edges when they are consumed by the caller thread
+            future = super.queryEdgesFromBackendAsync(query).thenApply(rs -> {
+                return new DeferredIterator<>(() -> {
+                    return this.cacheEdges(cacheKey, rs);
+                });
+            });
+        } else {
+            future = super.queryEdgesFromBackendAsync(query);
+        }
+        if (superNodes != null) {
+            future = future.thenApply(edges -> superNodes.watch(query, edges));
+        }
+        return future;
+    }
+
+    private SuperNodeIndex superNodeIndex() {
+        SuperNodeIndex superNodes = this.params().superNodeIndex();
+        if (superNodes == null ||
+            !this.store().features().supportsQueryByPage()) {
+            // The blocks of super nodes are recorded by paging
+            return null;
+        }
+        return superNodes;
+    }
+
+    private Collection<HugeEdge> cachedEdges(Id cacheKey) {
+        Object value = this.edgesCache.get(cacheKey);
+        if (value == null) {
+            // Not cached
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        Collection<HugeEdge> edges = (Collection<HugeEdge>) value;
+        for (HugeEdge edge : edges) {
+            if (edge.expired()) {
+                // The cache expired
+                this.edgesCache.invalidate(cacheKey);
+                return null;
+            }
+        }
+        return edges;
+    }
+
     @Override
     @Watched(prefix = "graphcache")
     protected void commitMutation2Backend(BackendMutation... mutations) {
@@ -368,9 +467,29 @@ public final class CachedGraphTransaction extends GraphTransaction {
         int vertexOffset = 0;
 
         int edgesInTxSize = this.edgesInTxSize();
+        TraverserResultCache traverserCache = TraverserResultCache.of(
+                                              this.graph());
+        Set<Id> edgeLabels = traverserCache == null ? ImmutableSet.of() :
+                             this.edgeLabelsInTx();
+        SuperNodeIndex superNodes = this.superNodeIndex();
+        Collection<HugeEdge> edges = superNodes == null ? ImmutableSet.of() :
+                                     this.edgesInTxChanged();
 
         try {
             super.commitMutation2Backend(mutations);
+            // Update olap columns with the committed olap vertices
+            OlapColumns olapColumns = this.params().olapColumns();
+            if (olapColumns != null) {
+                for (HugeVertex vertex : updates) {
+                    if (vertex.olap()) {
+                        olapColumns.update(vertex);
+                    }
+                }
+            }
+            // Invalidate the adjacent edges of super nodes
+            if (superNodes != null && !edges.isEmpty()) {
+                superNodes.changed(edges);
+            }
             // Update vertex cache
             if (this.enableCacheVertex()) {
                 for (HugeVertex vertex : updates) {
@@ -408,6 +527,27 @@ public final class CachedGraphTransaction extends GraphTransaction {
                 this.edgesCache.clear();
                 this.notifyChanges(Cache.ACTION_CLEARED, HugeType.EDGE);
             }
+
+            if (traverserCache != null) {
+                this.invalidTraverserCache(traverserCache, edgeLabels,
+                                           !deletions.isEmpty());
+            }
+        }
+    }
+
+    private void invalidTraverserCache(TraverserResultCache cache,
+                                       Set<Id> edgeLabels,
+                                       boolean vertexRemoved) {
+        if (vertexRemoved) {
+            // The edges of removed vertices may be of any label
+            cache.clear();
+            this.notifyChanges(Cache.ACTION_CLEARED, HugeType.EDGE_LABEL);
+        } else if (!edgeLabels.isEmpty()) {
+            for (Id label : edgeLabels) {
+                cache.invalidate(label);
+            }
+            this.notifyChanges(Cache.ACTION_INVALIDED, HugeType.EDGE_LABEL,
+                               edgeLabels.toArray(new Id[0]));
         }
     }
 
@@ -15,6 +15,7 @@ package org.apache.hugegraph.backend.id;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 
@@ -36,7 +37,9 @@ public class SnowflakeIdGenerator extends IdGenerator {
                          new ConcurrentHashMap<>();
 
     private final boolean forceString;
+    private final int blockSize;
     private final IdWorker idWorker;
+    private final ThreadLocal<IdBlock> idBlocks;
 
     public static SnowflakeIdGenerator init(HugeGraphParams graph) {
         String graphName = graph.name();
@@ -64,20 +67,31 @@ public class SnowflakeIdGenerator extends IdGenerator {
     }
 
     private SnowflakeIdGenerator(HugeConfig config) {
-        long workerId = config.get(CoreOptions.SNOWFLAKE_WORKER_ID);
-        long datacenterId = config.get(CoreOptions.SNOWFLAKE_DATACENTER_ID);
-        this.forceString = config.get(CoreOptions.SNOWFLAKE_FORCE_STRING);
+        this(config.get(CoreOptions.SNOWFLAKE_WORKER_ID),
+             config.get(CoreOptions.SNOWFLAKE_DATACENTER_ID),
+             config.get(CoreOptions.SNOWFLAKE_FORCE_STRING),
+             config.get(CoreOptions.SNOWFLAKE_ID_BLOCK_SIZE));
+    }
+
+    public SnowflakeIdGenerator(long workerId, long datacenterId,
+                                boolean forceString, int blockSize) {
+        E.checkArgument(blockSize > 0 && blockSize <= IdWorker.MAX_BLOCK_SIZE,
+                        "The id block size must be in range [1, %s], " +
+                        "but got %s", IdWorker.MAX_BLOCK_SIZE, blockSize);
+        this.forceString = forceString;
+        this.blockSize = blockSize;
         this.idWorker = new IdWorker(workerId, datacenterId);
+        this.idBlocks = ThreadLocal.withInitial(IdBlock::new);
         LOG.debug("SnowflakeId Worker started: datacenter id {}, " +
-                  "worker id {}, forced string id {}",
-                  datacenterId, workerId, this.forceString);
+                  "worker id {}, forced string id {}, id block size {}",
+                  datacenterId, workerId, this.forceString, this.blockSize);
     }
 
     public Id generate() {
         if (this.idWorker == null) {
             throw new HugeException("Please initialize before using");
         }
-        Id id = of(this.idWorker.nextId());
+        Id id = of(this.nextId());
         if (!this.forceString) {
             return id;
         } else {
@@ -85,17 +99,40 @@ public class SnowflakeIdGenerator extends IdGenerator {
         }
     }
 
+    private long nextId() {
+        if (this.blockSize == 1) {
+            return this.idWorker.nextId();
+        }
+        // Take the id from the block reserved by current thread
+        IdBlock block = this.idBlocks.get();
+        if (block.remaining == 0) {
+            block.next = this.idWorker.nextIds(this.blockSize);
+            block.remaining = this.blockSize;
+        }
+        block.remaining--;
+        return block.next++;
+    }
+
     @Override
     public Id generate(HugeVertex vertex) {
         return this.generate();
     }
 
-    private static class IdWorker {
+    private static class IdBlock {
+
+        private long next = 0L;
+        private int remaining = 0;
+    }
+
+    public static class IdWorker {
 
         private final long workerId;
         private final long datacenterId;
-        private long sequence = 0L; // AtomicLong
-        private long lastTimestamp = -1L;
+        /*
+         * The last timestamp and the last sequence used in it, packed as
+         * (timestamp << SEQUENCE_BIT | sequence) to update them by CAS
+         */
+        private final AtomicLong lastState;
 
         private static final long WORKER_BIT = 5L;
         private static final long MAX_WORKER_ID = -1L ^ (-1L << WORKER_BIT);
@@ -110,6 +147,8 @@ public class SnowflakeIdGenerator extends IdGenerator {
         private static final long DC_SHIFT = WORKER_SHIFT + WORKER_BIT;
         private static final long TIMESTAMP_SHIFT = DC_SHIFT + DC_BIT;
 
+        public static final int MAX_BLOCK_SIZE = (int) SEQUENCE_MASK + 1;
+
         public IdWorker(long workerId, long datacenterId) {
             // Sanity check for workerId
             if (workerId > MAX_WORKER_ID || workerId < 0) {
@@ -124,37 +163,61 @@ public class SnowflakeIdGenerator extends IdGenerator {
             }
             this.workerId = workerId;
             this.datacenterId = datacenterId;
+            this.lastState = new AtomicLong(-1L << SEQUENCE_BIT);
             LOG.debug("Id Worker starting. timestamp left shift {}," +
                       "datacenter id bits {}, worker id bits {}," +
                       "sequence bits {}",
                       TIMESTAMP_SHIFT, DC_BIT, WORKER_BIT, SEQUENCE_BIT);
         }
 
-        public synchronized long nextId() {
-            long timestamp = TimeUtil.timeGen();
+        public long nextId() {
+            return this.nextIds(1);
+        }
 
-            if (timestamp > this.lastTimestamp) {
-                this.sequence = 0L;
-            } else if (timestamp == this.lastTimestamp) {
-                this.sequence = (this.sequence + 1) & SEQUENCE_MASK;
-                if (this.sequence == 0) {
-                    timestamp = TimeUtil.tillNextMillis(this.lastTimestamp);
+        /**
+         * Reserve a block of contiguous ids in the same millisecond
+         * @param count the number of ids to reserve, at most MAX_BLOCK_SIZE
+         * @return the first id of the block, the others are the following
+         *         (count - 1) numbers of it
+         */
+        public long nextIds(int count) {
+            E.checkArgument(count > 0 && count <= MAX_BLOCK_SIZE,
+                            "The count of ids must be in range [1, %s], " +
+                            "but got %s", MAX_BLOCK_SIZE, count);
+            while (true) {
+                // Read the state before the time, or it may seem moved back
+                long state = this.lastState.get();
+                long lastTimestamp = state >> SEQUENCE_BIT;
+                long timestamp = TimeUtil.timeGen();
+
+                long sequence;
+                if (timestamp > lastTimestamp) {
+                    sequence = 0L;
+                } else if (timestamp == lastTimestamp) {
+                    sequence = (state & SEQUENCE_MASK) + 1L;
+                    if (sequence + count > MAX_BLOCK_SIZE) {
+                        timestamp = TimeUtil.tillNextMillis(lastTimestamp);
+                        sequence = 0L;
+                    }
+                } else {
+                    LOG.error("Clock is moving backwards, " +
+                              "rejecting requests until {}.",
+                              lastTimestamp);
+                    throw new HugeException("Clock moved backwards. " +
+                                            "Refusing to generate id for " +
+                                            "%d milliseconds",
+                                            lastTimestamp - timestamp);
                 }
-            } else {
-                LOG.error("Clock is moving backwards, " +
-                          "rejecting requests until {}.",
-                          this.lastTimestamp);
-                throw new HugeException("Clock moved backwards. Refusing to " +
-                                        "generate id for %d milliseconds",
-                                        this.lastTimestamp - timestamp);
-            }
 
-            this.lastTimestamp = timestamp;
-
-            return (timestamp << TIMESTAMP_SHIFT) |
-                   (this.datacenterId << DC_SHIFT) |
-                   (this.workerId << WORKER_SHIFT) |
-                   (this.sequence);
+                long last = sequence + count - 1L;
+                if (this.lastState.compareAndSet(
+                        state, (timestamp << SEQUENCE_BIT) | last)) {
+                    return (timestamp << TIMESTAMP_SHIFT) |
+                           (this.datacenterId << DC_SHIFT) |
+                           (this.workerId << WORKER_SHIFT) |
+                           sequence;
+                }
+            }
         }
     }
 }
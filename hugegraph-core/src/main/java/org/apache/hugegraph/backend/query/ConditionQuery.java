@@ -77,6 +77,9 @@ public class ConditionQuery extends IdQuery {
     private OptimizedType optimizedType = OptimizedType.NONE;
     private ResultsFilter resultsFilter = null;
     private Element2IndexValueMap element2IndexValueMap = null;
+    // The user property to order by, used to push down top-k queries
+    private Id orderKey = null;
+    private Order orderKeyOrder = Order.ASC;
 
     public ConditionQuery(HugeType resultType) {
         super(resultType);
@@ -622,6 +625,20 @@ public class ConditionQuery extends IdQuery {
         return this.optimizedType;
     }
 
+    public void orderByUserprop(Id key, Order order) {
+        E.checkArgumentNotNull(order, "The order can't be null");
+        this.orderKey = key;
+        this.orderKeyOrder = order;
+    }
+
+    public Id userpropOrderKey() {
+        return this.orderKey;
+    }
+
+    public Order userpropOrder() {
+        return this.orderKeyOrder;
+    }
+
     public void registerResultsFilter(ResultsFilter filter) {
         assert this.resultsFilter == null;
         this.resultsFilter = filter;
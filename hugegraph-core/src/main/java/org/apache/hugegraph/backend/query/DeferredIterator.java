@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.backend.query;
+
+import java.util.Iterator;
+import java.util.function.Supplier;
+
+import org.apache.hugegraph.iterator.WrappedIterator;
+import org.apache.hugegraph.util.E;
+
+/**
+ * An iterator which creates the origin iterator at the first access, so
+ * that the work of creating it is done by the thread which consumes the
+ * results, like the caller of an asynchronous query rather than the I/O
+ * thread completing it.
+ */
+public class DeferredIterator<T> extends WrappedIterator<T> {
+
+    private Supplier<Iterator<T>> supplier;
+    private Iterator<T> originIterator;
+
+    public DeferredIterator(Supplier<Iterator<T>> supplier) {
+        E.checkArgumentNotNull(supplier, "The supplier of DeferredIterator " +
+                               "can't be null");
+        this.supplier = supplier;
+        this.originIterator = null;
+    }
+
+    @Override
+    protected Iterator<T> originIterator() {
+        return this.originIterator;
+    }
+
+    @Override
+    protected boolean fetch() {
+        if (this.originIterator == null) {
+            this.originIterator = this.supplier.get();
+            this.supplier = null;
+        }
+        if (!this.originIterator.hasNext()) {
+            return false;
+        }
+        assert this.current == none();
+        this.current = this.originIterator.next();
+        return true;
+    }
+}
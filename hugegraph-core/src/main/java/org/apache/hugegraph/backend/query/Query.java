@@ -68,6 +68,8 @@ public class Query implements Cloneable {
     private boolean showDeleting;
     private boolean showExpired;
     private boolean olap;
+    private boolean sampling;
+    private boolean bulkScan;
     private Set<Id> olapPks;
 
     private Aggregate aggregate;
@@ -98,6 +100,8 @@ public class Query implements Cloneable {
         this.aggregate = null;
         this.showExpired = false;
         this.olap = false;
+        this.sampling = false;
+        this.bulkScan = false;
         this.olapPks = EMPTY_OLAP_PKS;
     }
 
@@ -112,6 +116,8 @@ public class Query implements Cloneable {
         this.aggregate = query.aggregate();
         this.showExpired = query.showExpired();
         this.olap = query.olap();
+        this.sampling = query.sampling();
+        this.bulkScan = query.bulkScan();
         if (query.orders != null) {
             this.orders(query.orders);
         }
@@ -448,6 +454,35 @@ public class Query implements Cloneable {
         this.showExpired = showExpired;
     }
 
+    public boolean sampling() {
+        return this.sampling;
+    }
+
+    /**
+     * Set whether the limited results can be sampled uniformly from all the
+     * matched records instead of the first ones, it's just a hint which is
+     * only respected by the adjacent edges query of super nodes
+     * @param sampling true to allow sampling the results
+     */
+    public void sampling(boolean sampling) {
+        this.sampling = sampling;
+    }
+
+    public boolean bulkScan() {
+        return this.bulkScan;
+    }
+
+    /**
+     * Set whether the query scans lots of records once, like the full
+     * scans of the algorithm jobs, it's just a hint for the store to read
+     * ahead and not to pollute the block cache, which shouldn't be set by
+     * the oltp queries
+     * @param bulkScan true if the query is a bulk scan
+     */
+    public void bulkScan(boolean bulkScan) {
+        this.bulkScan = bulkScan;
+    }
+
     public Collection<Id> ids() {
         return ImmutableList.of();
     }
@@ -31,6 +31,14 @@ public interface BackendFeatures {
         return false;
     }
 
+    /**
+     * Whether range index can be scanned in ascending or descending order of
+     * the field values, which is used to push down `order by + limit`
+     */
+    default boolean supportsScanRangeIndexInOrder() {
+        return false;
+    }
+
     boolean supportsScanToken();
 
     boolean supportsScanKeyPrefix();
@@ -71,5 +79,23 @@ public interface BackendFeatures {
 
     boolean supportsTtl();
 
+    /**
+     * Whether the expired elements and indexes are deleted by the backend
+     * itself in background, the expired ones are still filtered when read,
+     * but there is no need to delete them through the ephemeral jobs
+     */
+    default boolean supportsExpireInBackground() {
+        return false;
+    }
+
     boolean supportsOlapProperties();
+
+    /**
+     * Whether the count of adjacent edges of each vertex is maintained by
+     * the backend store with the edges, per direction and edge label, then
+     * the degree can be got by BackendStore.getDegree() instead of scanning
+     */
+    default boolean supportsDegreeCounter() {
+        return false;
+    }
 }
@@ -19,12 +19,14 @@ package org.apache.hugegraph.backend.store;
 
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.hugegraph.backend.id.Id;
 import org.apache.hugegraph.backend.id.IdGenerator;
 import org.apache.hugegraph.backend.query.Query;
 import org.apache.hugegraph.config.HugeConfig;
 import org.apache.hugegraph.type.HugeType;
+import org.apache.hugegraph.type.define.Directions;
 import org.apache.hugegraph.util.E;
 
 public interface BackendStore {
@@ -70,6 +72,21 @@ public interface BackendStore {
     // Query data
     Iterator<BackendEntry> query(Query query);
 
+    /*
+     * Query data asynchronously, the caller thread won't be blocked by the
+     * backend I/O if the store supports it, otherwise query synchronously
+     */
+    default CompletableFuture<Iterator<BackendEntry>> queryAsync(Query query) {
+        CompletableFuture<Iterator<BackendEntry>> future =
+                                                  new CompletableFuture<>();
+        try {
+            future.complete(this.query(query));
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
     Number queryNumber(Query query);
 
     // Transaction
@@ -150,6 +167,11 @@ public interface BackendStore {
     // Get current counter for a specific type
     long getCounter(HugeType type);
 
+    // Get the count of adjacent edges of a vertex, label null means all
+    default long getDegree(Id vertex, Directions direction, Id label) {
+        throw new UnsupportedOperationException("BackendStore.getDegree()");
+    }
+
     default void createOlapTable(Id pkId) {
         throw new UnsupportedOperationException("BackendStore.createOlapTable()");
     }
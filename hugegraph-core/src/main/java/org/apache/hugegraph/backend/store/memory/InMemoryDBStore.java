@@ -25,10 +25,13 @@ import java.util.Map;
 import org.apache.hugegraph.backend.BackendException;
 import org.apache.hugegraph.backend.LocalCounter;
 import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.id.IdGenerator;
+import org.apache.hugegraph.backend.id.IdUtil;
 import org.apache.hugegraph.backend.query.Query;
 import org.apache.hugegraph.backend.serializer.TextBackendEntry;
 import org.apache.hugegraph.type.HugeType;
 import org.apache.hugegraph.type.define.Action;
+import org.apache.hugegraph.type.define.Directions;
 import org.slf4j.Logger;
 
 import org.apache.hugegraph.backend.store.AbstractBackendStore;
@@ -356,6 +359,26 @@ public abstract class InMemoryDBStore
             throw new UnsupportedOperationException(
                       "InMemoryGraphStore.getCounter()");
         }
+
+        @Override
+        public long getDegree(Id vertex, Directions direction, Id label) {
+            Id owner = IdGenerator.of(IdUtil.writeString(vertex));
+            String labelName = label == null ? null : label.asString();
+            long degree = 0L;
+            if (direction != Directions.IN) {
+                degree += this.edgeTable(HugeType.EDGE_OUT)
+                              .degree(owner, labelName);
+            }
+            if (direction != Directions.OUT) {
+                degree += this.edgeTable(HugeType.EDGE_IN)
+                              .degree(owner, labelName);
+            }
+            return degree;
+        }
+
+        private InMemoryDBTables.Edge edgeTable(HugeType type) {
+            return (InMemoryDBTables.Edge) this.table(type);
+        }
     }
 
     public static class InMemorySystemStore extends InMemoryGraphStore {
@@ -428,6 +451,11 @@ public abstract class InMemoryDBStore
             return false;
         }
 
+        @Override
+        public boolean supportsScanRangeIndexInOrder() {
+            return true;
+        }
+
         @Override
         public boolean supportsQueryWithContains() {
             // NOTE: hasValue tests will skip
@@ -494,5 +522,10 @@ public abstract class InMemoryDBStore
         public boolean supportsOlapProperties() {
             return false;
         }
+
+        @Override
+        public boolean supportsDegreeCounter() {
+            return true;
+        }
     };
 }
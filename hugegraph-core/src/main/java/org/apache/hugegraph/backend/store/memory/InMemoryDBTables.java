@@ -27,6 +27,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.NavigableMap;
 import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 
 import org.apache.hugegraph.backend.id.EdgeId;
@@ -62,8 +63,18 @@ public class InMemoryDBTables {
 
     public static class Edge extends InMemoryDBTable {
 
+        // The count of edges of each vertex, keyed by edge label
+        private final Map<Id, Map<String, Long>> degrees;
+
         public Edge(HugeType type) {
             super(type);
+            this.degrees = new ConcurrentHashMap<>();
+        }
+
+        @Override
+        public void clear(BackendSession session) {
+            super.clear(session);
+            this.degrees.clear();
         }
 
         @Override
@@ -72,11 +83,13 @@ public class InMemoryDBTables {
 
             if (!this.store().containsKey(id)) {
                 BackendEntry vertex = new TextBackendEntry(HugeType.VERTEX, id);
+                this.updateDegrees(id, null, entry, 1L);
                 vertex.merge(entry);
                 this.store().put(id, vertex);
             } else {
                 // Merge columns if the entry exists
                 BackendEntry vertex = this.store().get(id);
+                this.updateDegrees(id, (TextBackendEntry) vertex, entry, 1L);
                 vertex.merge(entry);
             }
         }
@@ -87,10 +100,42 @@ public class InMemoryDBTables {
 
             BackendEntry vertex = this.store().get(id);
             if (vertex != null) {
+                this.updateDegrees(id, (TextBackendEntry) vertex, entry, -1L);
                 ((TextBackendEntry) vertex).eliminate(entry);
             }
         }
 
+        public long degree(Id vertex, String label) {
+            Map<String, Long> labels = this.degrees.get(vertex);
+            if (labels == null) {
+                return 0L;
+            }
+            if (label != null) {
+                return labels.getOrDefault(label, 0L);
+            }
+            long degree = 0L;
+            for (Long count : labels.values()) {
+                degree += count;
+            }
+            return degree;
+        }
+
+        private void updateDegrees(Id id, TextBackendEntry vertex,
+                                   TextBackendEntry entry, long delta) {
+            for (String column : entry.columnNames()) {
+                // Only count the edge added or removed actually
+                boolean exists = vertex != null && vertex.contains(column);
+                if (exists == (delta > 0L)) {
+                    continue;
+                }
+                // The column is: type + edge-label + sort-values + other
+                String label = EdgeId.split(column)[1];
+                Map<String, Long> labels = this.degrees.computeIfAbsent(
+                                           id, k -> new ConcurrentHashMap<>());
+                labels.merge(label, delta, Long::sum);
+            }
+        }
+
         @Override
         public void append(BackendSession session, TextBackendEntry entry) {
             throw new UnsupportedOperationException("Edge append");
@@ -470,9 +515,12 @@ public class InMemoryDBTables {
                 return super.query(session, q);
             }
             // keyMin <(=) field value <(=) keyMax
+            boolean reverse = query.orders().get(HugeKeys.FIELD_VALUES) ==
+                              Query.Order.DESC;
             return this.betweenQuery(indexLabelId, range.keyMax(),
                                      range.keyMaxEq(), range.keyMin(),
-                                     range.keyMinEq(), query.resultType());
+                                     range.keyMinEq(), query.resultType(),
+                                     reverse);
         }
 
         private Iterator<BackendEntry> betweenQuery(Id indexLabelId,
@@ -480,7 +528,8 @@ public class InMemoryDBTables {
                                                     boolean keyMaxEq,
                                                     Object keyMin,
                                                     boolean keyMinEq,
-                                                    HugeType type) {
+                                                    HugeType type,
+                                                    boolean reverse) {
             NavigableMap<Id, BackendEntry> rs = this.store();
 
             E.checkArgument(keyMin != null || keyMax != null,
@@ -505,6 +554,20 @@ public class InMemoryDBTables {
             }
 
             Map<Id, BackendEntry> results = InsertionOrderUtil.newMap();
+            if (reverse) {
+                // Iterate from keyMax to keyMin in descending order
+                Map.Entry<Id, BackendEntry> entry = rs.floorEntry(max);
+                while (entry != null) {
+                    int cmp = entry.getKey().compareTo(min);
+                    if (cmp < 0 || (cmp == 0 && !keyMinEq)) {
+                        break;
+                    }
+                    results.put(entry.getKey(), entry.getValue());
+                    entry = rs.lowerEntry(entry.getKey());
+                }
+                return results.values().iterator();
+            }
+
             Map.Entry<Id, BackendEntry> entry = keyMinEq ?
                                                 rs.ceilingEntry(min) :
                                                 rs.higherEntry(min);
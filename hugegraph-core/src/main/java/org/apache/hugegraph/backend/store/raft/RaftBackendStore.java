@@ -20,6 +20,7 @@ package org.apache.hugegraph.backend.store.raft;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 
 import org.slf4j.Logger;
@@ -28,6 +29,7 @@ import com.alipay.sofa.jraft.Status;
 import com.alipay.sofa.jraft.closure.ReadIndexClosure;
 import com.alipay.sofa.jraft.util.BytesUtil;
 import org.apache.hugegraph.backend.BackendException;
+import org.apache.hugegraph.backend.id.Id;
 import org.apache.hugegraph.backend.query.Query;
 import org.apache.hugegraph.backend.store.BackendEntry;
 import org.apache.hugegraph.backend.store.BackendFeatures;
@@ -39,6 +41,7 @@ import org.apache.hugegraph.backend.store.raft.rpc.RaftRequests.StoreAction;
 import org.apache.hugegraph.backend.store.raft.rpc.RaftRequests.StoreType;
 import org.apache.hugegraph.config.HugeConfig;
 import org.apache.hugegraph.type.HugeType;
+import org.apache.hugegraph.type.define.Directions;
 import org.apache.hugegraph.util.E;
 import org.apache.hugegraph.util.Log;
 
@@ -152,6 +155,15 @@ public class RaftBackendStore implements BackendStore {
                this.queryByRaft(query, o -> this.store.query(query));
     }
 
+    @Override
+    public CompletableFuture<Iterator<BackendEntry>> queryAsync(Query query) {
+        if (this.isSafeRead) {
+            // Wait for the read-index synchronously
+            return BackendStore.super.queryAsync(query);
+        }
+        return this.store.queryAsync(query);
+    }
+
     @Override
     public Number queryNumber(Query query) {
         return (Number)
@@ -203,6 +215,15 @@ public class RaftBackendStore implements BackendStore {
         return (Long) counter;
     }
 
+    @Override
+    public long getDegree(Id vertex, Directions direction, Id label) {
+        Object degree = this.queryByRaft(vertex, o -> {
+            return this.store.getDegree(vertex, direction, label);
+        });
+        assert degree instanceof Long;
+        return (Long) degree;
+    }
+
     private Object submitAndWait(StoreAction action, byte[] data) {
         StoreType type = this.context.storeType(this.store());
         return this.submitAndWait(new StoreCommand(type, action, data));
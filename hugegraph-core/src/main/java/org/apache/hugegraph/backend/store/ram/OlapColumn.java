@@ -0,0 +1,755 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.backend.store.ram;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.apache.commons.io.FileUtils;
+
+import org.apache.hugegraph.HugeException;
+import org.apache.hugegraph.type.define.DataType;
+import org.apache.hugegraph.util.E;
+
+/**
+ * The columnar storage of an olap property, the values are saved in the
+ * type-specialised arrays of chunks ordered by the number vertex id, and each
+ * chunk keeps the min/max statistics of its values, so that a range scan can
+ * skip the unmatched chunks and filter the others in a tight loop.
+ * NOTE: the statistics are not shrunk when a value is overwritten, they are
+ * still the bounds of the values and are recomputed when exported.
+ */
+public final class OlapColumn {
+
+    private static final int MAGIC = 0x4f4c4350;
+    private static final String META_FILE = "meta";
+    private static final String CHUNK_FILE = "chunk-%s";
+
+    private final Type type;
+    private final int chunkSize;
+    private final ConcurrentNavigableMap<Long, Chunk> chunks;
+
+    public OlapColumn(Type type, int chunkSize) {
+        E.checkArgumentNotNull(type, "The type of olap column can't be null");
+        E.checkArgument(chunkSize > 0 && chunkSize % Long.SIZE == 0,
+                        "The chunk size of olap column must be a positive " +
+                        "multiple of 64, but got %s", chunkSize);
+        this.type = type;
+        this.chunkSize = chunkSize;
+        this.chunks = new ConcurrentSkipListMap<>();
+    }
+
+    public Type type() {
+        return this.type;
+    }
+
+    public int chunkSize() {
+        return this.chunkSize;
+    }
+
+    public int chunks() {
+        return this.chunks.size();
+    }
+
+    public long size() {
+        long size = 0L;
+        for (Chunk chunk : this.chunks.values()) {
+            size += chunk.count;
+        }
+        return size;
+    }
+
+    public void set(long vertex, Object value) {
+        Number number = this.type.convert(value);
+        long index = Math.floorDiv(vertex, this.chunkSize);
+        int offset = (int) Math.floorMod(vertex, (long) this.chunkSize);
+        if (number == null) {
+            Chunk chunk = this.chunks.get(index);
+            if (chunk != null) {
+                chunk.remove(offset);
+            }
+            return;
+        }
+        Chunk chunk = this.chunks.computeIfAbsent(index, i -> {
+            return this.type.newChunk(i, this.chunkSize);
+        });
+        chunk.set(offset, number);
+    }
+
+    public Number get(long vertex) {
+        long index = Math.floorDiv(vertex, this.chunkSize);
+        Chunk chunk = this.chunks.get(index);
+        if (chunk == null) {
+            return null;
+        }
+        return chunk.get((int) Math.floorMod(vertex, (long) this.chunkSize));
+    }
+
+    /**
+     * Scan the vertices with the value in the range in the order of vertex id
+     * @param min the lower bound, or unbounded if null
+     * @param minInclusive whether the lower bound is inclusive
+     * @param max the upper bound, or unbounded if null
+     * @param maxInclusive whether the upper bound is inclusive
+     * @return the iterator of the matched vertices
+     */
+    public PrimitiveIterator.OfLong scan(Object min, boolean minInclusive,
+                                         Object max, boolean maxInclusive) {
+        Range range = this.type.range(min, minInclusive, max, maxInclusive);
+        if (range.empty()) {
+            return new ScanIterator(range, Collections.emptyIterator());
+        }
+        return new ScanIterator(range, this.chunks.values().iterator());
+    }
+
+    public void exportToFile(File dir) throws IOException {
+        // The chunks may be loaded lazily from the files to be overwritten
+        for (Chunk chunk : this.chunks.values()) {
+            chunk.ensureLoaded();
+        }
+        FileUtils.forceMkdir(dir);
+        FileUtils.cleanDirectory(dir);
+        for (Chunk chunk : this.chunks.values()) {
+            File file = new File(dir, String.format(CHUNK_FILE, chunk.index));
+            try (DataOutputStream output = output(file)) {
+                chunk.writeTo(output);
+            }
+        }
+        // Write the meta file at last, which contains stats of all chunks
+        try (DataOutputStream output = output(new File(dir, META_FILE))) {
+            output.writeInt(MAGIC);
+            output.writeByte(this.type.ordinal());
+            output.writeInt(this.chunkSize);
+            output.writeInt(this.chunks.size());
+            for (Chunk chunk : this.chunks.values()) {
+                output.writeLong(chunk.index);
+                output.writeInt(chunk.count);
+                chunk.writeStats(output);
+            }
+        }
+    }
+
+    /**
+     * Load the column from the exported files, the meta with statistics is
+     * read at once, but a chunk is read from file when accessed first time
+     */
+    public static OlapColumn loadFromFile(File dir) throws IOException {
+        File meta = new File(dir, META_FILE);
+        if (!meta.isFile() || !meta.canRead()) {
+            throw new HugeException("The olap column file '%s' does not " +
+                                    "exist or is not readable", meta);
+        }
+        try (DataInputStream input = input(meta)) {
+            E.checkState(input.readInt() == MAGIC,
+                         "Invalid olap column file '%s'", meta);
+            Type type = Type.values()[input.readByte()];
+            OlapColumn column = new OlapColumn(type, input.readInt());
+            int chunks = input.readInt();
+            for (int i = 0; i < chunks; i++) {
+                long index = input.readLong();
+                Chunk chunk = type.newChunk(index, column.chunkSize);
+                chunk.count = input.readInt();
+                chunk.readStats(input);
+                chunk.file = new File(dir, String.format(CHUNK_FILE, index));
+                column.chunks.put(index, chunk);
+            }
+            return column;
+        }
+    }
+
+    private static DataOutputStream output(File file) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(
+                                    new FileOutputStream(file)));
+    }
+
+    private static DataInputStream input(File file) throws IOException {
+        return new DataInputStream(new BufferedInputStream(
+                                   new FileInputStream(file)));
+    }
+
+    public enum Type {
+
+        INT {
+            @Override
+            Chunk newChunk(long index, int size) {
+                return new IntChunk(index, size);
+            }
+        },
+
+        LONG {
+            @Override
+            Chunk newChunk(long index, int size) {
+                return new LongChunk(index, size);
+            }
+        },
+
+        DOUBLE {
+            @Override
+            Chunk newChunk(long index, int size) {
+                return new DoubleChunk(index, size);
+            }
+
+            @Override
+            Range range(Object min, boolean minInclusive,
+                        Object max, boolean maxInclusive) {
+                Number lower = this.convert(min);
+                Number upper = this.convert(max);
+                double low = lower == null ? Double.NEGATIVE_INFINITY :
+                             lower.doubleValue();
+                double high = upper == null ? Double.POSITIVE_INFINITY :
+                              upper.doubleValue();
+                if (lower != null && !minInclusive) {
+                    low = Math.nextUp(low);
+                }
+                if (upper != null && !maxInclusive) {
+                    high = Math.nextDown(high);
+                }
+                return new Range(low, high);
+            }
+
+            @Override
+            Number convert(Object value) {
+                Number number = super.convert(value);
+                return number == null ? null : number.doubleValue();
+            }
+        };
+
+        abstract Chunk newChunk(long index, int size);
+
+        Range range(Object min, boolean minInclusive,
+                    Object max, boolean maxInclusive) {
+            Number lower = this.convert(min);
+            Number upper = this.convert(max);
+            long low = Long.MIN_VALUE;
+            long high = Long.MAX_VALUE;
+            if (lower != null) {
+                double bound = lower.doubleValue();
+                if (isIntegral(lower)) {
+                    low = lower.longValue();
+                    if (!minInclusive) {
+                        if (low == Long.MAX_VALUE) {
+                            return Range.EMPTY;
+                        }
+                        low++;
+                    }
+                } else {
+                    low = (long) (minInclusive ? Math.ceil(bound) :
+                                  Math.floor(bound) + 1);
+                }
+            }
+            if (upper != null) {
+                double bound = upper.doubleValue();
+                if (isIntegral(upper)) {
+                    high = upper.longValue();
+                    if (!maxInclusive) {
+                        if (high == Long.MIN_VALUE) {
+                            return Range.EMPTY;
+                        }
+                        high--;
+                    }
+                } else {
+                    high = (long) (maxInclusive ? Math.floor(bound) :
+                                   Math.ceil(bound) - 1);
+                }
+            }
+            return new Range(low, high);
+        }
+
+        Number convert(Object value) {
+            if (value == null) {
+                return null;
+            }
+            if (value instanceof Date) {
+                return ((Date) value).getTime();
+            }
+            E.checkArgument(value instanceof Number,
+                            "Expect number value for olap column, " +
+                            "but got '%s'(%s)", value, value.getClass());
+            return (Number) value;
+        }
+
+        public static Type of(DataType dataType) {
+            switch (dataType) {
+                case BYTE:
+                case INT:
+                    return INT;
+                case LONG:
+                case DATE:
+                    return LONG;
+                case FLOAT:
+                case DOUBLE:
+                    return DOUBLE;
+                default:
+                    return null;
+            }
+        }
+
+        private static boolean isIntegral(Number number) {
+            return number instanceof Long || number instanceof Integer ||
+                   number instanceof Short || number instanceof Byte;
+        }
+    }
+
+    private final class ScanIterator implements PrimitiveIterator.OfLong {
+
+        private final Range range;
+        private final Iterator<Chunk> chunks;
+        private final int[] selected;
+        private long base;
+        private int size;
+        private int position;
+
+        public ScanIterator(Range range, Iterator<Chunk> chunks) {
+            this.range = range;
+            this.chunks = chunks;
+            this.selected = new int[OlapColumn.this.chunkSize];
+            this.base = 0L;
+            this.size = 0;
+            this.position = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (this.position >= this.size && this.chunks.hasNext()) {
+                Chunk chunk = this.chunks.next();
+                if (chunk.count == 0 || !chunk.overlaps(this.range)) {
+                    // Skip the chunk by statistics even without loading it
+                    continue;
+                }
+                this.base = chunk.index * OlapColumn.this.chunkSize;
+                this.size = chunk.filter(this.range, this.selected);
+                this.position = 0;
+            }
+            return this.position < this.size;
+        }
+
+        @Override
+        public long nextLong() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return this.base + this.selected[this.position++];
+        }
+    }
+
+    private static final class Range {
+
+        private static final Range EMPTY = new Range(0L, -1L);
+
+        private final long low;
+        private final long high;
+        private final double lowDouble;
+        private final double highDouble;
+        private final boolean empty;
+
+        public Range(long low, long high) {
+            this.low = low;
+            this.high = high;
+            this.lowDouble = 0D;
+            this.highDouble = 0D;
+            this.empty = low > high;
+        }
+
+        public Range(double low, double high) {
+            this.low = 0L;
+            this.high = 0L;
+            this.lowDouble = low;
+            this.highDouble = high;
+            // Also empty if any bound is NaN
+            this.empty = !(low <= high);
+        }
+
+        public boolean empty() {
+            return this.empty;
+        }
+    }
+
+    private abstract static class Chunk {
+
+        protected final long index;
+        protected final long[] present;
+        protected int count;
+        protected volatile File file;
+
+        public Chunk(long index, int size) {
+            this.index = index;
+            this.present = new long[size / Long.SIZE];
+            this.count = 0;
+            this.file = null;
+        }
+
+        public synchronized void set(int offset, Number value) {
+            this.ensureLoaded();
+            if (!this.present(offset)) {
+                this.present[offset >>> 6] |= 1L << offset;
+                this.count++;
+            }
+            this.setValue(offset, value);
+        }
+
+        public synchronized void remove(int offset) {
+            this.ensureLoaded();
+            if (this.present(offset)) {
+                this.present[offset >>> 6] &= ~(1L << offset);
+                this.count--;
+            }
+        }
+
+        public Number get(int offset) {
+            this.ensureLoaded();
+            return this.present(offset) ? this.value(offset) : null;
+        }
+
+        public int filter(Range range, int[] selected) {
+            this.ensureLoaded();
+            return this.filterValues(range, selected);
+        }
+
+        protected final boolean present(int offset) {
+            return (this.present[offset >>> 6] & (1L << offset)) != 0L;
+        }
+
+        protected final void ensureLoaded() {
+            if (this.file == null) {
+                return;
+            }
+            synchronized (this) {
+                File file = this.file;
+                if (file == null) {
+                    return;
+                }
+                try (DataInputStream input = input(file)) {
+                    for (int i = 0; i < this.present.length; i++) {
+                        this.present[i] = input.readLong();
+                    }
+                    this.readValues(input);
+                } catch (IOException e) {
+                    throw new HugeException("Failed to load olap column " +
+                                            "chunk from '%s'", e, file);
+                }
+                this.file = null;
+            }
+        }
+
+        public synchronized void writeTo(DataOutputStream output)
+                                         throws IOException {
+            this.ensureLoaded();
+            this.resetStats();
+            for (long bits : this.present) {
+                output.writeLong(bits);
+            }
+            this.writeValues(output);
+        }
+
+        public abstract boolean overlaps(Range range);
+
+        protected abstract void setValue(int offset, Number value);
+
+        protected abstract Number value(int offset);
+
+        protected abstract int filterValues(Range range, int[] selected);
+
+        protected abstract void resetStats();
+
+        public abstract void writeStats(DataOutputStream output)
+                                        throws IOException;
+
+        public abstract void readStats(DataInputStream input)
+                                       throws IOException;
+
+        protected abstract void writeValues(DataOutputStream output)
+                                            throws IOException;
+
+        protected abstract void readValues(DataInputStream input)
+                                           throws IOException;
+    }
+
+    private static final class IntChunk extends Chunk {
+
+        private final int[] values;
+        private int min;
+        private int max;
+
+        public IntChunk(long index, int size) {
+            super(index, size);
+            this.values = new int[size];
+            this.min = Integer.MAX_VALUE;
+            this.max = Integer.MIN_VALUE;
+        }
+
+        @Override
+        public boolean overlaps(Range range) {
+            return this.max >= range.low && this.min <= range.high;
+        }
+
+        @Override
+        protected void setValue(int offset, Number value) {
+            int v = value.intValue();
+            this.values[offset] = v;
+            this.min = Math.min(this.min, v);
+            this.max = Math.max(this.max, v);
+        }
+
+        @Override
+        protected Number value(int offset) {
+            return this.values[offset];
+        }
+
+        @Override
+        protected int filterValues(Range range, int[] selected) {
+            long low = range.low;
+            long high = range.high;
+            int[] values = this.values;
+            long[] present = this.present;
+            int size = 0;
+            for (int i = 0; i < values.length; i++) {
+                int v = values[i];
+                selected[size] = i;
+                size += (present[i >>> 6] >>> i & 1L) != 0L &&
+                        v >= low && v <= high ? 1 : 0;
+            }
+            return size;
+        }
+
+        @Override
+        protected void resetStats() {
+            this.min = Integer.MAX_VALUE;
+            this.max = Integer.MIN_VALUE;
+            for (int i = 0; i < this.values.length; i++) {
+                if (this.present(i)) {
+                    this.min = Math.min(this.min, this.values[i]);
+                    this.max = Math.max(this.max, this.values[i]);
+                }
+            }
+        }
+
+        @Override
+        public void writeStats(DataOutputStream output) throws IOException {
+            output.writeLong(this.min);
+            output.writeLong(this.max);
+        }
+
+        @Override
+        public void readStats(DataInputStream input) throws IOException {
+            this.min = (int) input.readLong();
+            this.max = (int) input.readLong();
+        }
+
+        @Override
+        protected void writeValues(DataOutputStream output)
+                                   throws IOException {
+            for (int value : this.values) {
+                output.writeInt(value);
+            }
+        }
+
+        @Override
+        protected void readValues(DataInputStream input) throws IOException {
+            for (int i = 0; i < this.values.length; i++) {
+                this.values[i] = input.readInt();
+            }
+        }
+    }
+
+    private static final class LongChunk extends Chunk {
+
+        private final long[] values;
+        private long min;
+        private long max;
+
+        public LongChunk(long index, int size) {
+            super(index, size);
+            this.values = new long[size];
+            this.min = Long.MAX_VALUE;
+            this.max = Long.MIN_VALUE;
+        }
+
+        @Override
+        public boolean overlaps(Range range) {
+            return this.max >= range.low && this.min <= range.high;
+        }
+
+        @Override
+        protected void setValue(int offset, Number value) {
+            long v = value.longValue();
+            this.values[offset] = v;
+            this.min = Math.min(this.min, v);
+            this.max = Math.max(this.max, v);
+        }
+
+        @Override
+        protected Number value(int offset) {
+            return this.values[offset];
+        }
+
+        @Override
+        protected int filterValues(Range range, int[] selected) {
+            long low = range.low;
+            long high = range.high;
+            long[] values = this.values;
+            long[] present = this.present;
+            int size = 0;
+            for (int i = 0; i < values.length; i++) {
+                long v = values[i];
+                selected[size] = i;
+                size += (present[i >>> 6] >>> i & 1L) != 0L &&
+                        v >= low && v <= high ? 1 : 0;
+            }
+            return size;
+        }
+
+        @Override
+        protected void resetStats() {
+            this.min = Long.MAX_VALUE;
+            this.max = Long.MIN_VALUE;
+            for (int i = 0; i < this.values.length; i++) {
+                if (this.present(i)) {
+                    this.min = Math.min(this.min, this.values[i]);
+                    this.max = Math.max(this.max, this.values[i]);
+                }
+            }
+        }
+
+        @Override
+        public void writeStats(DataOutputStream output) throws IOException {
+            output.writeLong(this.min);
+            output.writeLong(this.max);
+        }
+
+        @Override
+        public void readStats(DataInputStream input) throws IOException {
+            this.min = input.readLong();
+            this.max = input.readLong();
+        }
+
+        @Override
+        protected void writeValues(DataOutputStream output)
+                                   throws IOException {
+            for (long value : this.values) {
+                output.writeLong(value);
+            }
+        }
+
+        @Override
+        protected void readValues(DataInputStream input) throws IOException {
+            for (int i = 0; i < this.values.length; i++) {
+                this.values[i] = input.readLong();
+            }
+        }
+    }
+
+    private static final class DoubleChunk extends Chunk {
+
+        private final double[] values;
+        private double min;
+        private double max;
+
+        public DoubleChunk(long index, int size) {
+            super(index, size);
+            this.values = new double[size];
+            this.min = Double.POSITIVE_INFINITY;
+            this.max = Double.NEGATIVE_INFINITY;
+        }
+
+        @Override
+        public boolean overlaps(Range range) {
+            return this.max >= range.lowDouble && this.min <= range.highDouble;
+        }
+
+        @Override
+        protected void setValue(int offset, Number value) {
+            double v = value.doubleValue();
+            this.values[offset] = v;
+            this.min = Math.min(this.min, v);
+            this.max = Math.max(this.max, v);
+        }
+
+        @Override
+        protected Number value(int offset) {
+            return this.values[offset];
+        }
+
+        @Override
+        protected int filterValues(Range range, int[] selected) {
+            double low = range.lowDouble;
+            double high = range.highDouble;
+            double[] values = this.values;
+            long[] present = this.present;
+            int size = 0;
+            for (int i = 0; i < values.length; i++) {
+                double v = values[i];
+                selected[size] = i;
+                size += (present[i >>> 6] >>> i & 1L) != 0L &&
+                        v >= low && v <= high ? 1 : 0;
+            }
+            return size;
+        }
+
+        @Override
+        protected void resetStats() {
+            this.min = Double.POSITIVE_INFINITY;
+            this.max = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < this.values.length; i++) {
+                if (this.present(i)) {
+                    this.min = Math.min(this.min, this.values[i]);
+                    this.max = Math.max(this.max, this.values[i]);
+                }
+            }
+        }
+
+        @Override
+        public void writeStats(DataOutputStream output) throws IOException {
+            output.writeDouble(this.min);
+            output.writeDouble(this.max);
+        }
+
+        @Override
+        public void readStats(DataInputStream input) throws IOException {
+            this.min = input.readDouble();
+            this.max = input.readDouble();
+        }
+
+        @Override
+        protected void writeValues(DataOutputStream output)
+                                   throws IOException {
+            for (double value : this.values) {
+                output.writeDouble(value);
+            }
+        }
+
+        @Override
+        protected void readValues(DataInputStream input) throws IOException {
+            for (int i = 0; i < this.values.length; i++) {
+                this.values[i] = input.readDouble();
+            }
+        }
+    }
+}
@@ -0,0 +1,324 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.backend.store.ram;
+
+import java.io.File;
+import java.nio.file.Paths;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.hugegraph.HugeException;
+import org.apache.hugegraph.HugeGraph;
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.id.IdGenerator;
+import org.apache.hugegraph.backend.query.Condition;
+import org.apache.hugegraph.backend.query.ConditionQuery;
+import org.apache.hugegraph.backend.query.Query;
+import org.apache.hugegraph.schema.PropertyKey;
+import org.apache.hugegraph.structure.HugeProperty;
+import org.apache.hugegraph.structure.HugeVertex;
+import org.apache.hugegraph.type.HugeType;
+import org.apache.hugegraph.type.define.Cardinality;
+import org.apache.hugegraph.util.E;
+import org.apache.hugegraph.util.Log;
+import org.apache.hugegraph.util.NumericUtil;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+import org.slf4j.Logger;
+
+/**
+ * The columns of the olap properties with number values of a graph, which
+ * are loaded from the backend or the exported files manually like ramtable,
+ * then kept updated by the committed olap vertices, and used to answer the
+ * vertex queries just filtered by an olap property.
+ * NOTE: only number vertex id is supported, like ramtable.
+ */
+public final class OlapColumns {
+
+    private static final Logger LOG = Log.logger(OlapColumns.class);
+
+    private final HugeGraph graph;
+    private final int chunkSize;
+    private final Map<Id, OlapColumn> columns;
+
+    private volatile boolean loading = false;
+
+    public OlapColumns(HugeGraph graph, int chunkSize) {
+        this.graph = graph;
+        this.chunkSize = chunkSize;
+        this.columns = new ConcurrentHashMap<>();
+    }
+
+    public OlapColumn column(Id pkey) {
+        return this.columns.get(pkey);
+    }
+
+    public void reload(boolean loadFromFile, String dir) {
+        if (this.loading) {
+            throw new HugeException("There is one loading task, " +
+                                    "please wait for it to complete");
+        }
+
+        this.loading = true;
+        try {
+            this.columns.clear();
+            for (PropertyKey pkey : this.graph.propertyKeys()) {
+                if (!supported(pkey)) {
+                    continue;
+                }
+                File file = Paths.get(RamTable.EXPORT_PATH, dir,
+                                      pkey.id().asString()).toFile();
+                OlapColumn column;
+                if (loadFromFile) {
+                    column = OlapColumn.loadFromFile(file);
+                } else {
+                    column = this.loadFromDB(pkey);
+                    if (column == null) {
+                        continue;
+                    }
+                    LOG.info("Export olap column '{}' to '{}'",
+                             pkey.name(), file);
+                    column.exportToFile(file);
+                }
+                this.columns.put(pkey.id(), column);
+                LOG.info("Loaded {} values of olap column '{}'",
+                         column.size(), pkey.name());
+            }
+        } catch (Throwable e) {
+            this.columns.clear();
+            throw new HugeException("Failed to load olap columns", e);
+        } finally {
+            this.loading = false;
+        }
+    }
+
+    private OlapColumn loadFromDB(PropertyKey pkey) throws Exception {
+        OlapColumn column = new OlapColumn(OlapColumn.Type.of(pkey.dataType()),
+                                           this.chunkSize);
+        Query query = new Query(HugeType.VERTEX);
+        query.olapPk(pkey.id());
+        query.capacity(Query.NO_CAPACITY);
+        query.limit(Query.NO_LIMIT);
+        Iterator<Vertex> vertices = this.graph.vertices(query);
+        try {
+            while (vertices.hasNext()) {
+                HugeVertex vertex = (HugeVertex) vertices.next();
+                HugeProperty<?> property = vertex.getProperty(pkey.id());
+                if (property == null) {
+                    continue;
+                }
+                if (!vertex.id().number()) {
+                    LOG.warn("Skip olap column '{}' since only number id " +
+                             "is supported, but got {} id '{}'", pkey.name(),
+                             vertex.id().type().name().toLowerCase(),
+                             vertex.id());
+                    return null;
+                }
+                column.set(vertex.id().asLong(), property.value());
+            }
+        } finally {
+            CloseableIterator.closeIterator(vertices);
+        }
+        return column;
+    }
+
+    public void remove(Id pkey) {
+        this.columns.remove(pkey);
+    }
+
+    /**
+     * Update the column with a committed olap vertex, the column will be
+     * dropped if the vertex id is not a number
+     */
+    public void update(HugeVertex vertex) {
+        assert vertex.olap();
+        for (HugeProperty<?> property : vertex.getProperties()) {
+            Id pkey = property.propertyKey().id();
+            OlapColumn column = this.columns.get(pkey);
+            if (column == null) {
+                continue;
+            }
+            if (!vertex.id().number()) {
+                LOG.warn("Drop olap column '{}' since only number id is " +
+                         "supported, but got {} id '{}'",
+                         property.propertyKey().name(),
+                         vertex.id().type().name().toLowerCase(), vertex.id());
+                this.columns.remove(pkey);
+                continue;
+            }
+            column.set(vertex.id().asLong(), property.value());
+        }
+    }
+
+    /**
+     * Whether the query is just filtered by the range or equal relations of
+     * an olap property which has a column
+     */
+    public boolean matched(Query query) {
+        if (this.columns.isEmpty() || !query.resultType().isVertex() ||
+            !(query instanceof ConditionQuery) || query.paging() ||
+            !this.graph.readMode().showOlap()) {
+            return false;
+        }
+        ConditionQuery cq = (ConditionQuery) query;
+        if (cq.idsSize() > 0 || cq.conditionsSize() == 0) {
+            return false;
+        }
+        Id pkey = null;
+        for (Condition condition : cq.conditions()) {
+            if (!condition.isRelation()) {
+                return false;
+            }
+            Condition.Relation relation = (Condition.Relation) condition;
+            if (relation.isSysprop() || !isRangeOrEq(relation) ||
+                relation.value() == null) {
+                return false;
+            }
+            Id key = (Id) relation.key();
+            if (pkey != null && !pkey.equals(key)) {
+                return false;
+            }
+            pkey = key;
+        }
+        OlapColumn column = this.columns.get(pkey);
+        if (column == null) {
+            return false;
+        }
+        // The value of relations must be able to compare with the column
+        for (Condition.Relation relation : cq.relations()) {
+            Object value = relation.value();
+            if (!(value instanceof Number) &&
+                !(value instanceof Date)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Query the ids of the vertices matched the relations of the olap
+     * property, in the order of vertex id
+     */
+    public Iterator<Id> query(ConditionQuery query) {
+        assert this.matched(query);
+        Id pkey = null;
+        Object min = null;
+        Object max = null;
+        boolean minInclusive = true;
+        boolean maxInclusive = true;
+        for (Condition.Relation relation : query.relations()) {
+            pkey = (Id) relation.key();
+            Object value = number(relation.value());
+            switch (relation.relation()) {
+                case EQ:
+                    if (greater(value, true, min, minInclusive)) {
+                        min = value;
+                        minInclusive = true;
+                    }
+                    if (less(value, true, max, maxInclusive)) {
+                        max = value;
+                        maxInclusive = true;
+                    }
+                    break;
+                case GT:
+                case GTE:
+                    boolean inclusive = relation.relation() ==
+                                        Condition.RelationType.GTE;
+                    if (greater(value, inclusive, min, minInclusive)) {
+                        min = value;
+                        minInclusive = inclusive;
+                    }
+                    break;
+                case LT:
+                case LTE:
+                    inclusive = relation.relation() ==
+                                Condition.RelationType.LTE;
+                    if (less(value, inclusive, max, maxInclusive)) {
+                        max = value;
+                        maxInclusive = inclusive;
+                    }
+                    break;
+                default:
+                    throw new AssertionError("Unsupported relation: " +
+                                             relation);
+            }
+        }
+        OlapColumn column = this.columns.get(pkey);
+        E.checkState(column != null, "The olap column of '%s' is dropped",
+                     pkey);
+        PrimitiveIterator.OfLong vertices = column.scan(min, minInclusive,
+                                                        max, maxInclusive);
+        return new Iterator<Id>() {
+            @Override
+            public boolean hasNext() {
+                return vertices.hasNext();
+            }
+
+            @Override
+            public Id next() {
+                return IdGenerator.of(vertices.nextLong());
+            }
+        };
+    }
+
+    public static boolean supported(PropertyKey pkey) {
+        return pkey.olap() && pkey.cardinality() == Cardinality.SINGLE &&
+               OlapColumn.Type.of(pkey.dataType()) != null;
+    }
+
+    private static boolean isRangeOrEq(Condition.Relation relation) {
+        switch (relation.relation()) {
+            case EQ:
+            case GT:
+            case GTE:
+            case LT:
+            case LTE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static Object number(Object value) {
+        if (value instanceof Date) {
+            return ((Date) value).getTime();
+        }
+        return value;
+    }
+
+    private static boolean greater(Object value, boolean inclusive,
+                                   Object bound, boolean boundInclusive) {
+        if (bound == null) {
+            return true;
+        }
+        int cmp = NumericUtil.compareNumber(value, (Number) bound);
+        return cmp > 0 || cmp == 0 && !inclusive && boundInclusive;
+    }
+
+    private static boolean less(Object value, boolean inclusive,
+                                Object bound, boolean boundInclusive) {
+        if (bound == null) {
+            return true;
+        }
+        int cmp = NumericUtil.compareNumber(value, (Number) bound);
+        return cmp < 0 || cmp == 0 && !inclusive && boundInclusive;
+    }
+}
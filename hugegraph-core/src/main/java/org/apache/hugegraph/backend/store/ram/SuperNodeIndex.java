@@ -0,0 +1,690 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.backend.store.ram;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+
+import org.apache.hugegraph.HugeGraph;
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.page.PageInfo;
+import org.apache.hugegraph.backend.query.Condition;
+import org.apache.hugegraph.backend.query.ConditionQuery;
+import org.apache.hugegraph.backend.query.Query;
+import org.apache.hugegraph.backend.tx.GraphTransaction;
+import org.apache.hugegraph.iterator.FlatMapperIterator;
+import org.apache.hugegraph.iterator.ListIterator;
+import org.apache.hugegraph.iterator.WrappedIterator;
+import org.apache.hugegraph.structure.HugeEdge;
+import org.apache.hugegraph.type.define.Directions;
+import org.apache.hugegraph.type.define.HugeKeys;
+import org.apache.hugegraph.util.E;
+import org.apache.hugegraph.util.ExecutorUtil;
+import org.apache.hugegraph.util.Log;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+import org.slf4j.Logger;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * The sparse skip-index of the adjacent edges of super nodes, which records
+ * the page of each block of edges in an adjacency range (owner vertex +
+ * direction + optional edge label), then the queries with a large offset
+ * seek to the nearest block instead of scanning from the start of the range,
+ * and the limited queries with sampling hint read random blocks.
+ * The blocks are recorded while scanning a range by pages, either by an
+ * offset query, or by a background task triggered by a sampling query which
+ * reached its limit. A range is kept only if it has at least the threshold
+ * count of edges, and it's invalidated by the committed edge changes.
+ * NOTE: the changes committed by other graph servers are not observed.
+ */
+public final class SuperNodeIndex {
+
+    private static final Logger LOG = Log.logger(SuperNodeIndex.class);
+
+    private static final String BUILDER = "super-node-index-%d";
+
+    private static final Condition BOTH_COND = Condition.or(
+                         Condition.eq(HugeKeys.DIRECTION, Directions.OUT),
+                         Condition.eq(HugeKeys.DIRECTION, Directions.IN));
+
+    private final HugeGraph graph;
+    private final int threshold;
+    private final int blockSize;
+    private final int capacity;
+
+    private final Map<Range, Blocks> ranges;
+    // The ranges scanned to the end with fewer edges than threshold
+    private final Set<Range> smallRanges;
+    private final Set<Range> buildingRanges;
+    private final ExecutorService builder;
+
+    public SuperNodeIndex(HugeGraph graph, int threshold,
+                          int blockSize, int capacity) {
+        E.checkArgument(threshold >= blockSize,
+                        "The super node threshold %s must be >= " +
+                        "block size %s", threshold, blockSize);
+        this.graph = graph;
+        this.threshold = threshold;
+        this.blockSize = blockSize;
+        this.capacity = capacity;
+        this.ranges = new ConcurrentHashMap<>();
+        this.smallRanges = ConcurrentHashMap.newKeySet();
+        this.buildingRanges = ConcurrentHashMap.newKeySet();
+        this.builder = graph == null ? null :
+                       ExecutorUtil.newFixedThreadPool(1, BUILDER);
+    }
+
+    public int size() {
+        return this.ranges.size();
+    }
+
+    public long degree(Id owner, Directions direction, Id label) {
+        Blocks blocks = this.ranges.get(new Range(owner, direction, label));
+        if (blocks == null || !blocks.complete()) {
+            return -1L;
+        }
+        return blocks.total();
+    }
+
+    public void clear() {
+        this.ranges.clear();
+        this.smallRanges.clear();
+    }
+
+    public void close() {
+        if (this.builder != null) {
+            this.builder.shutdownNow();
+        }
+        this.clear();
+    }
+
+    public boolean matched(Query query) {
+        if (query.paging()) {
+            return false;
+        }
+        List<Range> ranges = ranges(query);
+        if (ranges == null) {
+            return false;
+        }
+        if (query.offset() > 0L) {
+            // Seek to the block of offset if the range may be large
+            return ranges.size() == 1 && query.offset() >= this.blockSize &&
+                   !this.smallRanges.contains(ranges.get(0));
+        }
+        if (!query.sampling() || query.noLimit()) {
+            return false;
+        }
+        long total = 0L;
+        for (Range range : ranges) {
+            Blocks blocks = this.ranges.get(range);
+            if (blocks == null || !blocks.complete()) {
+                return false;
+            }
+            total += blocks.total();
+        }
+        // Read the whole range if most of the edges are sampled
+        return total > 2L * query.limit();
+    }
+
+    public Iterator<HugeEdge> query(Query query,
+                                    Function<Query, Iterator<HugeEdge>> fetcher) {
+        assert this.matched(query);
+        List<Range> ranges = ranges(query);
+        if (query.offset() > 0L) {
+            return this.seek(ranges.get(0), query, fetcher);
+        }
+        return this.sample(ranges, query.limit(), fetcher);
+    }
+
+    /**
+     * Watch the results of a query with sampling hint, the ranges are built
+     * in background if the results reach the limit
+     */
+    public Iterator<HugeEdge> watch(Query query, Iterator<HugeEdge> edges) {
+        if (!query.sampling() || query.noLimit() || query.paging() ||
+            query.offset() > 0L || this.builder == null) {
+            return edges;
+        }
+        List<Range> ranges = ranges(query);
+        if (ranges == null) {
+            return edges;
+        }
+        List<Range> unknown = new ArrayList<>(ranges.size());
+        for (Range range : ranges) {
+            if (!this.ranges.containsKey(range) &&
+                !this.smallRanges.contains(range)) {
+                unknown.add(range);
+            }
+        }
+        if (unknown.isEmpty()) {
+            return edges;
+        }
+        long limit = query.limit();
+        return new CountingIterator(edges, count -> {
+            if (count == limit) {
+                this.build(unknown);
+            }
+        });
+    }
+
+    /**
+     * Invalidate the ranges of the committed edges, the pages of blocks are
+     * still usable to sample until too many edges changed, but the offsets
+     * of blocks are not exact anymore
+     */
+    public void changed(Collection<HugeEdge> edges) {
+        if (this.ranges.isEmpty() && this.smallRanges.isEmpty()) {
+            return;
+        }
+        for (HugeEdge edge : edges) {
+            Id label = edge.schemaLabel().id();
+            Id source = edge.id().ownerVertexId();
+            Id target = edge.id().otherVertexId();
+            if (edge.id().direction() == Directions.IN) {
+                source = edge.id().otherVertexId();
+                target = edge.id().ownerVertexId();
+            }
+            this.changed(new Range(source, Directions.OUT, label));
+            this.changed(new Range(source, Directions.OUT, null));
+            this.changed(new Range(target, Directions.IN, label));
+            this.changed(new Range(target, Directions.IN, null));
+        }
+    }
+
+    private void changed(Range range) {
+        this.smallRanges.remove(range);
+        Blocks blocks = this.ranges.get(range);
+        if (blocks != null && blocks.change() > this.blockSize) {
+            this.ranges.remove(range, blocks);
+        }
+    }
+
+    private Iterator<HugeEdge> seek(Range range, Query query,
+                                    Function<Query, Iterator<HugeEdge>> fetcher) {
+        Blocks blocks = this.ranges.get(range);
+        if (blocks != null && blocks.changes() > 0L) {
+            // The offsets of blocks are not exact, scan from the start again
+            this.ranges.remove(range, blocks);
+            blocks = null;
+        }
+        if (blocks == null) {
+            blocks = this.newBlocks(range);
+        }
+        Fence fence = blocks.floor(query.offset());
+        // The rest of offset will be skipped by the transaction
+        query.goOffset(fence.start);
+        return new BlocksIterator(range, blocks, fence, fetcher);
+    }
+
+    private Iterator<HugeEdge> sample(List<Range> ranges, long limit,
+                                      Function<Query, Iterator<HugeEdge>> fetcher) {
+        List<Blocks> blocksList = new ArrayList<>(ranges.size());
+        long total = 0L;
+        for (Range range : ranges) {
+            Blocks blocks = this.ranges.get(range);
+            if (blocks == null) {
+                // Invalidated after matched
+                blocks = new Blocks();
+                blocks.total(0L);
+            }
+            blocksList.add(blocks);
+            total += blocks.total();
+        }
+
+        // Group the random positions by the block they belong to
+        List<Sampled> groups = new ArrayList<>();
+        Sampled group = null;
+        int index = 0;
+        long rangeStart = 0L;
+        for (long position : randomPositions(total, limit)) {
+            while (position >= rangeStart + blocksList.get(index).total()) {
+                rangeStart += blocksList.get(index).total();
+                index++;
+            }
+            Fence fence = blocksList.get(index).floor(position - rangeStart);
+            if (group == null || group.fence != fence) {
+                group = new Sampled(ranges.get(index), fence);
+                groups.add(group);
+            }
+            group.offsets.add(position - rangeStart - fence.start);
+        }
+
+        return new FlatMapperIterator<>(groups.iterator(), sampled -> {
+            return this.readSampled(sampled, fetcher);
+        });
+    }
+
+    private Iterator<HugeEdge> readSampled(Sampled sampled,
+                                           Function<Query, Iterator<HugeEdge>> fetcher) {
+        List<Long> offsets = sampled.offsets;
+        long last = offsets.get(offsets.size() - 1);
+        Query query = sampled.range.query(sampled.fence.page, last + 1L);
+        List<HugeEdge> edges = new ArrayList<>(offsets.size());
+        Iterator<HugeEdge> iter = fetcher.apply(query);
+        try {
+            int i = 0;
+            for (long offset = 0L; iter.hasNext() && i < offsets.size();
+                 offset++) {
+                HugeEdge edge = iter.next();
+                if (offset == offsets.get(i)) {
+                    edges.add(edge);
+                    i++;
+                }
+            }
+        } finally {
+            CloseableIterator.closeIterator(iter);
+        }
+        return new ListIterator<>(edges);
+    }
+
+    private void build(List<Range> ranges) {
+        for (Range range : ranges) {
+            if (!this.buildingRanges.add(range)) {
+                continue;
+            }
+            try {
+                this.builder.submit(() -> {
+                    try {
+                        this.build(range, query -> {
+                            @SuppressWarnings("unchecked")
+                            Iterator<HugeEdge> edges = (Iterator<HugeEdge>)
+                                                       (Iterator<?>)
+                                                       this.graph.edges(query);
+                            return edges;
+                        });
+                    } catch (Throwable e) {
+                        LOG.warn("Failed to build super node index of {}",
+                                 range, e);
+                    } finally {
+                        this.buildingRanges.remove(range);
+                        this.graph.closeTx();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // The graph is closing
+                this.buildingRanges.remove(range);
+            }
+        }
+    }
+
+    /**
+     * Scan the whole range by pages to record the blocks of it
+     * @return the count of edges in the range
+     */
+    public long build(Range range, Function<Query, Iterator<HugeEdge>> fetcher) {
+        Blocks blocks = this.newBlocks(range);
+        Iterator<HugeEdge> iter = new BlocksIterator(range, blocks,
+                                                     blocks.floor(0L),
+                                                     fetcher);
+        long count = 0L;
+        while (iter.hasNext()) {
+            iter.next();
+            count++;
+        }
+        return count;
+    }
+
+    private Blocks newBlocks(Range range) {
+        Blocks blocks = new Blocks();
+        if (this.ranges.size() >= this.capacity) {
+            // Evict the ranges which are not scanned to the threshold
+            this.ranges.values().removeIf(b -> !b.published());
+        }
+        if (this.ranges.size() < this.capacity) {
+            // Register it before scanning to receive the changes
+            Blocks old = this.ranges.putIfAbsent(range, blocks);
+            if (old != null && old.changes() == 0L) {
+                return old;
+            }
+        } else {
+            LOG.debug("Skip indexing super node {} due to capacity {}",
+                      range, this.capacity);
+        }
+        return blocks;
+    }
+
+    private void scanned(Range range, Blocks blocks, long count,
+                         boolean end) {
+        if (count < this.threshold && end) {
+            // Not a super node
+            this.ranges.remove(range, blocks);
+            if (this.smallRanges.size() >= this.capacity) {
+                this.smallRanges.clear();
+            }
+            this.smallRanges.add(range);
+        } else if (count >= this.threshold) {
+            blocks.publish();
+        }
+    }
+
+    private static Iterable<Long> randomPositions(long total, long count) {
+        assert count <= total;
+        // Floyd's algorithm to choose distinct positions in [0, total)
+        TreeSet<Long> positions = new TreeSet<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (long j = total - count; j < total; j++) {
+            long position = random.nextLong(j + 1L);
+            if (!positions.add(position)) {
+                positions.add(j);
+            }
+        }
+        return positions;
+    }
+
+    private static List<Range> ranges(Query query) {
+        if (!query.resultType().isEdge() ||
+            !(query instanceof ConditionQuery)) {
+            return null;
+        }
+        ConditionQuery cq = (ConditionQuery) query;
+        int conditions = 0;
+        Object owner = cq.condition(HugeKeys.OWNER_VERTEX);
+        if (!(owner instanceof Id)) {
+            return null;
+        }
+        conditions++;
+
+        List<Directions> directions;
+        Object direction = cq.condition(HugeKeys.DIRECTION);
+        if (direction instanceof Directions) {
+            directions = ImmutableList.of((Directions) direction);
+            conditions++;
+        } else if (direction == null && cq.conditions().contains(BOTH_COND)) {
+            directions = ImmutableList.of(Directions.OUT, Directions.IN);
+            conditions++;
+        } else {
+            return null;
+        }
+
+        Object label = cq.condition(HugeKeys.LABEL);
+        if (label instanceof Id) {
+            conditions++;
+        } else if (label != null) {
+            return null;
+        }
+        if (conditions != cq.conditionsSize()) {
+            return null;
+        }
+
+        List<Range> ranges = new ArrayList<>(directions.size());
+        for (Directions dir : directions) {
+            ranges.add(new Range((Id) owner, dir, (Id) label));
+        }
+        return ranges;
+    }
+
+    public static final class Range {
+
+        private final Id owner;
+        private final Directions direction;
+        private final Id label;
+
+        public Range(Id owner, Directions direction, Id label) {
+            assert direction == Directions.OUT || direction == Directions.IN;
+            this.owner = owner;
+            this.direction = direction;
+            this.label = label;
+        }
+
+        private Query query(String page, long limit) {
+            Id[] labels = this.label == null ? new Id[0] :
+                                               new Id[]{this.label};
+            Query query = GraphTransaction.constructEdgesQuery(this.owner,
+                                                               this.direction,
+                                                               labels);
+            query.page(page);
+            query.limit(limit);
+            query.capacity(Query.NO_CAPACITY);
+            return query;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (!(object instanceof Range)) {
+                return false;
+            }
+            Range other = (Range) object;
+            return this.owner.equals(other.owner) &&
+                   this.direction == other.direction &&
+                   Objects.equals(this.label, other.label);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.owner.hashCode() ^ this.direction.hashCode() ^
+                   Objects.hashCode(this.label);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s-%s-%s", this.owner, this.direction,
+                                 this.label);
+        }
+    }
+
+    private static final class Fence {
+
+        // The page to seek to the first edge of the block
+        private final String page;
+        // The offset of the first edge of the block in the range
+        private final long start;
+
+        public Fence(String page, long start) {
+            this.page = page;
+            this.start = start;
+        }
+    }
+
+    private static final class Blocks {
+
+        private final List<Fence> fences;
+        private volatile long total;
+        private volatile long changes;
+        private volatile boolean published;
+
+        public Blocks() {
+            this.fences = new ArrayList<>();
+            this.fences.add(new Fence(PageInfo.PAGE_NONE, 0L));
+            this.total = -1L;
+            this.changes = 0L;
+            this.published = false;
+        }
+
+        public boolean complete() {
+            return this.published && this.total >= 0L;
+        }
+
+        public void total(long total) {
+            this.total = total;
+        }
+
+        public long total() {
+            return this.total;
+        }
+
+        public boolean published() {
+            return this.published;
+        }
+
+        public void publish() {
+            this.published = true;
+        }
+
+        public long changes() {
+            return this.changes;
+        }
+
+        public synchronized long change() {
+            return ++this.changes;
+        }
+
+        public synchronized Fence floor(long offset) {
+            // Binary search the last fence whose start <= offset
+            int low = 0;
+            int high = this.fences.size() - 1;
+            while (low < high) {
+                int mid = (low + high + 1) >>> 1;
+                if (this.fences.get(mid).start <= offset) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return this.fences.get(low);
+        }
+
+        public synchronized void add(String page, long start) {
+            Fence last = this.fences.get(this.fences.size() - 1);
+            if (start > last.start) {
+                this.fences.add(new Fence(page, start));
+            }
+        }
+    }
+
+    private static final class Sampled {
+
+        private final Range range;
+        private final Fence fence;
+        // The offsets of sampled edges in the block, in ascending order
+        private final List<Long> offsets;
+
+        public Sampled(Range range, Fence fence) {
+            this.range = range;
+            this.fence = fence;
+            this.offsets = new ArrayList<>();
+        }
+    }
+
+    /**
+     * Iterate the edges of a range from a fence by pages of block size, and
+     * record the page of each block
+     */
+    private final class BlocksIterator extends WrappedIterator<HugeEdge> {
+
+        private final Range range;
+        private final Blocks blocks;
+        private final Function<Query, Iterator<HugeEdge>> fetcher;
+
+        private String page;
+        private long start;
+        private int count;
+        private Iterator<HugeEdge> edges;
+
+        public BlocksIterator(Range range, Blocks blocks, Fence fence,
+                              Function<Query, Iterator<HugeEdge>> fetcher) {
+            this.range = range;
+            this.blocks = blocks;
+            this.fetcher = fetcher;
+            this.page = fence.page;
+            this.start = fence.start;
+            this.count = 0;
+            this.edges = null;
+        }
+
+        @Override
+        protected Iterator<?> originIterator() {
+            return this.edges;
+        }
+
+        @Override
+        protected boolean fetch() {
+            while (this.page != null) {
+                if (this.edges == null) {
+                    Query query = this.range.query(this.page,
+                                                   SuperNodeIndex.this.blockSize);
+                    this.edges = this.fetcher.apply(query);
+                }
+                if (this.edges.hasNext()) {
+                    this.current = this.edges.next();
+                    this.count++;
+                    return true;
+                }
+                this.nextBlock();
+            }
+            return false;
+        }
+
+        private void nextBlock() {
+            String next = this.count < SuperNodeIndex.this.blockSize ?
+                          null : PageInfo.pageInfo(this.edges);
+            CloseableIterator.closeIterator(this.edges);
+            this.edges = null;
+            this.start += this.count;
+            this.count = 0;
+
+            boolean end = next == null || next.isEmpty();
+            if (end) {
+                this.blocks.total(this.start);
+                this.page = null;
+            } else {
+                this.blocks.add(next, this.start);
+                this.page = next;
+            }
+            SuperNodeIndex.this.scanned(this.range, this.blocks,
+                                        this.start, end);
+        }
+
+        @Override
+        public void close() throws Exception {
+            CloseableIterator.closeIterator(this.edges);
+        }
+    }
+
+    private static final class CountingIterator
+                         extends WrappedIterator<HugeEdge> {
+
+        private final Iterator<HugeEdge> edges;
+        private final LongConsumer callback;
+        private long count;
+
+        public CountingIterator(Iterator<HugeEdge> edges,
+                                LongConsumer callback) {
+            this.edges = edges;
+            this.callback = callback;
+            this.count = 0L;
+        }
+
+        @Override
+        protected Iterator<?> originIterator() {
+            return this.edges;
+        }
+
+        @Override
+        protected boolean fetch() {
+            if (!this.edges.hasNext()) {
+                return false;
+            }
+            this.current = this.edges.next();
+            this.callback.accept(++this.count);
+            return true;
+        }
+    }
+}
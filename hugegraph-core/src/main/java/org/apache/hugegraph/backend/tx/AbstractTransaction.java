@@ -17,7 +17,9 @@
 
 package org.apache.hugegraph.backend.tx;
 
+import java.util.Iterator;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.hugegraph.backend.query.IdQuery;
@@ -46,6 +48,8 @@ import org.apache.hugegraph.type.define.CollectionType;
 import org.apache.hugegraph.type.define.GraphMode;
 import org.apache.hugegraph.util.E;
 import org.apache.hugegraph.util.Log;
+import org.apache.hugegraph.util.QueryProfiler;
+import org.apache.hugegraph.util.QueryProfiler.Stage;
 import org.apache.hugegraph.util.collection.IdSet;
 import com.google.common.util.concurrent.RateLimiter;
 
@@ -135,6 +139,46 @@ public abstract class AbstractTransaction implements Transaction {
     @Watched(prefix = "tx")
     public QueryResults<BackendEntry> query(Query query) {
         LOG.debug("Transaction query: {}", query);
+        Query squery = this.prepareQuery(query);
+
+        // Reading index tables is profiled as a part of index lookup
+        Stage stage = query.resultType().isIndex() ? Stage.INDEX : Stage.SCAN;
+        Stage previous = QueryProfiler.enter(stage);
+        this.beforeRead();
+        try {
+            this.injectOlapPkIfNeeded(squery);
+            Iterator<BackendEntry> entries = this.store.query(squery);
+            entries = QueryProfiler.wrap(stage, entries);
+            return new QueryResults<>(entries, query);
+        } finally {
+            this.afterRead(); // TODO: not complete the iteration currently
+            QueryProfiler.exit(previous);
+        }
+    }
+
+    /**
+     * Query asynchronously, the future is completed by the I/O thread of
+     * the store if it supports asynchronous query, so the results should
+     * be consumed by the caller thread rather than in the callbacks.
+     */
+    @Watched(prefix = "tx")
+    public CompletableFuture<QueryResults<BackendEntry>> queryAsync(
+                                                         Query query) {
+        LOG.debug("Transaction query async: {}", query);
+        Query squery = this.prepareQuery(query);
+
+        this.beforeRead();
+        try {
+            this.injectOlapPkIfNeeded(squery);
+            return this.store.queryAsync(squery).thenApply(entries -> {
+                return new QueryResults<>(entries, query);
+            });
+        } finally {
+            this.afterRead();
+        }
+    }
+
+    private Query prepareQuery(Query query) {
         /*
          * NOTE: it's dangerous if an IdQuery/ConditionQuery is empty
          * check if the query is empty and its class is not the Query itself
@@ -154,14 +198,7 @@ public abstract class AbstractTransaction implements Transaction {
             }
             BackendEntryIterator.checkInterrupted();
         }
-
-        this.beforeRead();
-        try {
-            this.injectOlapPkIfNeeded(squery);
-            return new QueryResults<>(this.store.query(squery), query);
-        } finally {
-            this.afterRead(); // TODO: not complete the iteration currently
-        }
+        return squery;
     }
 
     private void injectOlapPkIfNeeded(Query query) {
@@ -21,6 +21,7 @@ import java.nio.CharBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -28,6 +29,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -35,6 +40,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.hugegraph.backend.page.PageIds;
 import org.apache.hugegraph.backend.page.PageState;
 import org.apache.hugegraph.backend.store.BackendEntry;
+import org.apache.hugegraph.backend.store.BackendFeatures;
 import org.apache.hugegraph.backend.store.BackendStore;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
@@ -75,6 +81,7 @@ import org.apache.hugegraph.perf.PerfUtil.Watched;
 import org.apache.hugegraph.schema.IndexLabel;
 import org.apache.hugegraph.schema.PropertyKey;
 import org.apache.hugegraph.schema.SchemaLabel;
+import org.apache.hugegraph.statistics.GraphStatistics;
 import org.apache.hugegraph.structure.HugeEdge;
 import org.apache.hugegraph.structure.HugeElement;
 import org.apache.hugegraph.structure.HugeIndex;
@@ -92,6 +99,8 @@ import org.apache.hugegraph.util.InsertionOrderUtil;
 import org.apache.hugegraph.util.LockUtil;
 import org.apache.hugegraph.util.LongEncoding;
 import org.apache.hugegraph.util.NumericUtil;
+import org.apache.hugegraph.util.QueryProfiler;
+import org.apache.hugegraph.util.QueryProfiler.Stage;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 
@@ -101,8 +110,14 @@ public class GraphIndexTransaction extends AbstractTransaction {
     public static final String END_SYMBOL = ")";
     public static final String WORD_DELIMITER = "|";
 
+    // Skip probing the joint index whose estimate exceeds the threshold much
+    private static final int HUGE_INDEX_FACTOR = 10;
+
     private final Analyzer textAnalyzer;
     private final int indexIntersectThresh;
+    private final int indexUpdateThreads;
+    private final int indexUpdateBatchThreshold;
+    private final long statisticsInterval;
 
     public GraphIndexTransaction(HugeGraphParams graph, BackendStore store) {
         super(graph, store);
@@ -113,6 +128,41 @@ public class GraphIndexTransaction extends AbstractTransaction {
         final HugeConfig conf = graph.configuration();
         this.indexIntersectThresh =
              conf.get(CoreOptions.QUERY_INDEX_INTERSECT_THRESHOLD);
+        this.indexUpdateThreads = conf.get(CoreOptions.INDEX_UPDATE_THREADS);
+        this.indexUpdateBatchThreshold =
+             conf.get(CoreOptions.INDEX_UPDATE_BATCH_THRESHOLD);
+        this.statisticsInterval =
+             conf.get(CoreOptions.QUERY_STATISTICS_INTERVAL);
+    }
+
+    private GraphStatistics statistics() {
+        if (this.statisticsInterval <= 0L) {
+            return null;
+        }
+        GraphStatistics stats = GraphStatistics.of(this.graph());
+        return stats.collected() ? stats : null;
+    }
+
+    /**
+     * Sort the joint index queries by the estimated count ascending, so
+     * that the most selective index is queried first, keep the original
+     * order if there are no statistics
+     */
+    private static Collection<Map.Entry<IndexLabel, ConditionQuery>>
+                   sortByEstimate(IndexQueries queries, GraphStatistics stats) {
+        if (stats == null || queries.size() <= 1) {
+            return queries.entrySet();
+        }
+        Map<IndexLabel, Long> estimates = new HashMap<>();
+        for (Map.Entry<IndexLabel, ConditionQuery> e : queries.entrySet()) {
+            long estimate = stats.estimate(e.getKey(), e.getValue());
+            estimates.put(e.getKey(),
+                          estimate < 0L ? Long.MAX_VALUE : estimate);
+        }
+        List<Map.Entry<IndexLabel, ConditionQuery>> entries =
+                new ArrayList<>(queries.entrySet());
+        entries.sort(Comparator.comparing(e -> estimates.get(e.getKey())));
+        return entries;
     }
 
     protected Id asyncRemoveIndexLeft(ConditionQuery query,
@@ -174,6 +224,38 @@ public class GraphIndexTransaction extends AbstractTransaction {
         }
     }
 
+    /**
+     * Update index of a batch of vertices, the index entries would be built
+     * concurrently if the batch is large enough, and the unique index
+     * constraints of the whole batch would be checked at once
+     * @param vertices  the vertices to update index
+     * @param removed   remove or add index
+     */
+    @Watched(prefix = "index")
+    public void updateVertexIndexes(Collection<HugeVertex> vertices,
+                                    boolean removed) {
+        List<HugeElement> elements = new ArrayList<>(vertices.size());
+        for (HugeVertex vertex : vertices) {
+            if (vertex.olap()) {
+                this.updateVertexOlapIndex(vertex, removed);
+            } else {
+                elements.add(vertex);
+            }
+        }
+        this.updateIndexes(elements, removed);
+    }
+
+    /**
+     * Update index of a batch of edges, see {@link #updateVertexIndexes}
+     * @param edges     the edges to update index
+     * @param removed   remove or add index
+     */
+    @Watched(prefix = "index")
+    public void updateEdgeIndexes(Collection<HugeEdge> edges,
+                                  boolean removed) {
+        this.updateIndexes(new ArrayList<>(edges), removed);
+    }
+
     private void updateVertexOlapIndex(HugeVertex vertex, boolean removed) {
         Set<Id> propKeys = vertex.getPropertyKeys();
         E.checkArgument(propKeys.size() == 1,
@@ -196,11 +278,179 @@ public class GraphIndexTransaction extends AbstractTransaction {
      * @param removed   remove or add index
      */
     protected void updateIndex(Id ilId, HugeElement element, boolean removed) {
+        IndexLabel indexLabel = this.indexLabel(ilId);
+        this.checkIndexFields(indexLabel, element);
+        boolean unique = indexLabel.indexType().isUnique();
+        for (HugeIndex index : this.buildIndexes(indexLabel, element)) {
+            // TODO: add lock for updating unique index
+            if (unique && !removed &&
+                this.existUniqueValue(indexLabel, index.fieldValues(),
+                                      element.id())) {
+                throw uniqueConflictException(indexLabel, element);
+            }
+            this.updateIndex(index, removed);
+        }
+    }
+
+    private void updateIndexes(List<HugeElement> elements, boolean removed) {
+        if (elements.isEmpty()) {
+            // All the vertices of the batch are olap vertices
+            return;
+        }
+        /*
+         * Resolve index labels and check index fields in current thread
+         * since schema transaction is bound to the thread, then build
+         * indexes concurrently if the batch is large enough
+         */
+        Map<Id, List<IndexLabel>> labelIndexes = new HashMap<>();
+        for (HugeElement element : elements) {
+            SchemaLabel label = element.schemaLabel();
+            List<IndexLabel> indexLabels = labelIndexes.get(label.id());
+            if (indexLabels == null) {
+                indexLabels = new ArrayList<>();
+                for (Id id : label.indexLabels()) {
+                    indexLabels.add(this.indexLabel(id));
+                }
+                labelIndexes.put(label.id(), indexLabels);
+            }
+            for (IndexLabel indexLabel : indexLabels) {
+                this.checkIndexFields(indexLabel, element);
+            }
+        }
+
+        List<PendingIndex> pendings;
+        if (this.needParallelUpdate(elements.size())) {
+            pendings = this.buildIndexesInParallel(elements, labelIndexes);
+        } else {
+            pendings = this.buildIndexes(elements, labelIndexes);
+        }
+        // The same unique check of the batch whether built in parallel
+        if (!removed) {
+            this.checkUniqueIndexes(pendings);
+        }
+
+        /*
+         * Serialize and apply to mutation in the order of elements, it's
+         * done in current thread since serializer may access schema
+         */
+        for (PendingIndex pending : pendings) {
+            BackendEntry entry = this.serializer.writeIndex(pending.index);
+            if (removed) {
+                this.doEliminate(entry);
+            } else {
+                this.doAppend(entry);
+            }
+        }
+    }
+
+    private List<PendingIndex> buildIndexesInParallel(
+                               List<HugeElement> elements,
+                               Map<Id, List<IndexLabel>> labelIndexes) {
+        ExecutorService executor = this.params().indexExecutor();
+        int parts = Math.min(elements.size(), this.indexUpdateThreads);
+        int partSize = (elements.size() + parts - 1) / parts;
+
+        List<Callable<List<PendingIndex>>> tasks = new ArrayList<>(parts);
+        for (int i = 0; i < elements.size(); i += partSize) {
+            List<HugeElement> part = elements.subList(
+                                     i, Math.min(i + partSize,
+                                                 elements.size()));
+            tasks.add(() -> this.buildIndexes(part, labelIndexes));
+        }
+
+        List<PendingIndex> pendings = new ArrayList<>();
+        try {
+            for (Future<List<PendingIndex>> future : executor.invokeAll(tasks)) {
+                pendings.addAll(future.get());
+            }
+        } catch (InterruptedException e) {
+            throw new HugeException("Interrupted while building index", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new HugeException("Failed to build index", cause);
+        }
+        return pendings;
+    }
+
+    private List<PendingIndex> buildIndexes(
+                               List<HugeElement> elements,
+                               Map<Id, List<IndexLabel>> labelIndexes) {
+        List<PendingIndex> pendings = new ArrayList<>();
+        for (HugeElement element : elements) {
+            Id label = element.schemaLabel().id();
+            for (IndexLabel il : labelIndexes.get(label)) {
+                for (HugeIndex index : this.buildIndexes(il, element)) {
+                    pendings.add(new PendingIndex(element, index));
+                }
+            }
+        }
+        return pendings;
+    }
+
+    private void checkUniqueIndexes(List<PendingIndex> pendings) {
+        // Check conflicts inside the batch without accessing the store
+        Map<HugeIndex, PendingIndex> uniques = InsertionOrderUtil.newMap();
+        for (PendingIndex pending : pendings) {
+            IndexLabel indexLabel = pending.index.indexLabel();
+            if (!indexLabel.indexType().isUnique()) {
+                continue;
+            }
+            PendingIndex exist = uniques.putIfAbsent(pending.index, pending);
+            if (exist != null && !exist.element.id().equals(
+                                  pending.element.id())) {
+                throw uniqueConflictException(indexLabel, pending.element);
+            }
+        }
+
+        // Check conflicts with the store, once for each distinct value
+        for (PendingIndex pending : uniques.values()) {
+            IndexLabel indexLabel = pending.index.indexLabel();
+            if (this.existUniqueValue(indexLabel, pending.index.fieldValues(),
+                                      pending.element.id())) {
+                throw uniqueConflictException(indexLabel, pending.element);
+            }
+        }
+    }
+
+    private boolean needParallelUpdate(int size) {
+        return this.indexUpdateThreads > 1 &&
+               size >= this.indexUpdateBatchThreshold;
+    }
+
+    private IndexLabel indexLabel(Id ilId) {
         SchemaTransaction schema = this.params().schemaTransaction();
         IndexLabel indexLabel = schema.getIndexLabel(ilId);
         E.checkArgument(indexLabel != null,
                         "Not exist index label with id '%s'", ilId);
+        return indexLabel;
+    }
+
+    private void checkIndexFields(IndexLabel indexLabel, HugeElement element) {
+        for (Id fieldId : indexLabel.indexFields()) {
+            if (element.getProperty(fieldId) == null) {
+                E.checkState(hasNullableProp(element, fieldId),
+                             "Non-null property '%s' is null for '%s'",
+                             this.graph().propertyKey(fieldId), element);
+            }
+        }
+    }
 
+    /**
+     * Build index records of an element for the specified index label,
+     * the index fields must have been checked by {@link #checkIndexFields}.
+     * NOTE: it's called by the index-update workers concurrently, it only
+     * reads the element, the index label and the text analyzer (shared by
+     * all the transactions of the graph), and doesn't access the schema
+     * transaction or the store which are bound to the committing thread
+     * @param indexLabel    the index label
+     * @param element       the properties owner
+     * @return              the index records to update
+     */
+    private List<HugeIndex> buildIndexes(IndexLabel indexLabel,
+                                         HugeElement element) {
         // Collect property values of index fields
         List<Object> allPropValues = new ArrayList<>();
         int fieldsNum = indexLabel.indexFields().size();
@@ -208,9 +458,6 @@ public class GraphIndexTransaction extends AbstractTransaction {
         for (Id fieldId : indexLabel.indexFields()) {
             HugeProperty<Object> property = element.getProperty(fieldId);
             if (property == null) {
-                E.checkState(hasNullableProp(element, fieldId),
-                             "Non-null property '%s' is null for '%s'",
-                             this.graph().propertyKey(fieldId), element);
                 if (firstNullField == fieldsNum) {
                     firstNullField = allPropValues.size();
                 }
@@ -220,17 +467,19 @@ public class GraphIndexTransaction extends AbstractTransaction {
             }
         }
 
+        List<HugeIndex> indexes = new ArrayList<>();
         if (firstNullField == 0 && !indexLabel.indexType().isUnique()) {
             // The property value of first index field is null
-            return;
+            return indexes;
         }
         // Not build index for record with nullable field (except unique index)
         List<Object> nnPropValues = allPropValues.subList(0, firstNullField);
 
         // Expired time
         long expiredTime = element.expiredTime();
+        Id id = element.id();
 
-        // Update index for each index type
+        // Build index for each index type
         switch (indexLabel.indexType()) {
             case RANGE_INT:
             case RANGE_FLOAT:
@@ -239,8 +488,7 @@ public class GraphIndexTransaction extends AbstractTransaction {
                 E.checkState(nnPropValues.size() == 1,
                              "Expect only one property in range index");
                 Object value = NumericUtil.convertToNumber(nnPropValues.get(0));
-                this.updateIndex(indexLabel, value, element.id(),
-                                 expiredTime, removed);
+                indexes.add(this.newIndex(indexLabel, value, id, expiredTime));
                 break;
             case SEARCH:
                 E.checkState(nnPropValues.size() == 1,
@@ -249,8 +497,8 @@ public class GraphIndexTransaction extends AbstractTransaction {
                 Set<String> words =
                             this.segmentWords(propertyValueToString(value));
                 for (String word : words) {
-                    this.updateIndex(indexLabel, word, element.id(),
-                                     expiredTime, removed);
+                    indexes.add(this.newIndex(indexLabel, word,
+                                              id, expiredTime));
                 }
                 break;
             case SECONDARY:
@@ -262,49 +510,44 @@ public class GraphIndexTransaction extends AbstractTransaction {
                      */
                     for (Object propValue : (Collection<?>) nnPropValues.get(0)) {
                         value = ConditionQuery.concatValues(propValue);
-                        this.updateIndex(indexLabel, value, element.id(),
-                                         expiredTime, removed);
+                        indexes.add(this.newIndex(indexLabel, value,
+                                                  id, expiredTime));
                     }
                 } else {
                     for (int i = 0, n = nnPropValues.size(); i < n; i++) {
                         List<Object> prefixValues =
                                      nnPropValues.subList(0, i + 1);
                         value = ConditionQuery.concatValues(prefixValues);
-                        this.updateIndex(indexLabel, value, element.id(),
-                                         expiredTime, removed);
+                        indexes.add(this.newIndex(indexLabel, value,
+                                                  id, expiredTime));
                     }
                 }
                 break;
             case SHARD:
                 value = ConditionQuery.concatValues(nnPropValues);
-                this.updateIndex(indexLabel, value, element.id(),
-                                 expiredTime, removed);
+                indexes.add(this.newIndex(indexLabel, value, id, expiredTime));
                 break;
             case UNIQUE:
                 value = ConditionQuery.concatValues(allPropValues);
                 assert !"".equals(value);
-                Id id = element.id();
-                // TODO: add lock for updating unique index
-                if (!removed && this.existUniqueValue(indexLabel, value, id)) {
-                    throw new IllegalArgumentException(String.format(
-                              "Unique constraint %s conflict is found for %s",
-                              indexLabel, element));
-                }
-                this.updateIndex(indexLabel, value, element.id(),
-                                 expiredTime, removed);
+                indexes.add(this.newIndex(indexLabel, value, id, expiredTime));
                 break;
             default:
                 throw new AssertionError(String.format(
                           "Unknown index type '%s'", indexLabel.indexType()));
         }
+        return indexes;
     }
 
-    private void updateIndex(IndexLabel indexLabel, Object propValue,
-                             Id elementId, long expiredTime, boolean removed) {
+    private HugeIndex newIndex(IndexLabel indexLabel, Object propValue,
+                               Id elementId, long expiredTime) {
         HugeIndex index = new HugeIndex(this.graph(), indexLabel);
         index.fieldValues(propValue);
         index.elementIds(elementId, expiredTime);
+        return index;
+    }
 
+    private void updateIndex(HugeIndex index, boolean removed) {
         if (removed) {
             this.doEliminate(this.serializer.writeIndex(index));
         } else {
@@ -384,13 +627,18 @@ public class GraphIndexTransaction extends AbstractTransaction {
 
         // Query by index
         query.optimized(OptimizedType.INDEX);
-        if (query.allSysprop() && conds.size() == 1 &&
-            query.containsCondition(HugeKeys.LABEL)) {
-            // Query only by label
-            return this.queryByLabel(query);
-        } else {
-            // Query by userprops (or userprops + label)
-            return this.queryByUserprop(query);
+        Stage previous = QueryProfiler.enter(Stage.INDEX);
+        try {
+            if (query.allSysprop() && conds.size() == 1 &&
+                query.containsCondition(HugeKeys.LABEL)) {
+                // Query only by label
+                return this.queryByLabel(query);
+            } else {
+                // Query by userprops (or userprops + label)
+                return this.queryByUserprop(query);
+            }
+        } finally {
+            QueryProfiler.exit(previous);
         }
     }
 
@@ -464,6 +712,8 @@ public class GraphIndexTransaction extends AbstractTransaction {
                 }
             }
         }
+        GraphStatistics.collectIfNeeded(this.graph(),
+                                        this.statisticsInterval);
         Set<MatchedIndex> indexes = this.collectMatchedIndexes(query);
         if (indexes.isEmpty()) {
             Id label = query.condition(HugeKeys.LABEL);
@@ -509,6 +759,116 @@ public class GraphIndexTransaction extends AbstractTransaction {
         return holders;
     }
 
+    /**
+     * Query the element ids in the order of a user property by walking the
+     * range index of the property forward or reverse, the scan is stopped
+     * once `offset + limit` elements are fetched, so that a top-k query
+     * doesn't need to load and sort all the matched elements.
+     * Only support the query with a label condition and optional range
+     * conditions of the order key.
+     * @param query the flattened query with limit and order key
+     * @return      the ids in order, or null if can't be queried in order
+     */
+    @Watched(prefix = "index")
+    public IdHolderList queryIndexByOrder(ConditionQuery query) {
+        Id orderKey = query.userpropOrderKey();
+        Id label = query.condition(HugeKeys.LABEL);
+        if (orderKey == null || label == null || query.noLimit() ||
+            query.paging() || this.hasUpdate() ||
+            !this.store().features().supportsScanRangeIndexInOrder()) {
+            return null;
+        }
+
+        // Only label and the range conditions of order key are allowed
+        Set<Id> queryKeys = query.userpropKeys();
+        if (query.syspropConditions().size() != 1 ||
+            query.userpropConditions().size() > 2) {
+            return null;
+        }
+        if (!queryKeys.isEmpty() &&
+            !queryKeys.equals(ImmutableSet.of(orderKey))) {
+            return null;
+        }
+        for (Condition condition : query.userpropConditions()) {
+            if (!(condition instanceof Relation) ||
+                !((Relation) condition).relation().isRangeType()) {
+                return null;
+            }
+        }
+
+        IndexLabel indexLabel = this.matchRangeIndex(query.resultType(),
+                                                     label, orderKey);
+        if (indexLabel == null) {
+            return null;
+        }
+
+        IndexType indexType = indexLabel.indexType();
+        ConditionQuery indexQuery = new ConditionQuery(indexType.type(), query);
+        indexQuery.eq(HugeKeys.INDEX_LABEL_ID, indexLabel.id());
+        for (Condition condition : query.userpropConditions()) {
+            Relation r = (Relation) condition;
+            Number value = NumericUtil.convertToNumber(r.value());
+            indexQuery.query(new Condition.SyspropRelation(
+                             HugeKeys.FIELD_VALUES, r.relation(), value));
+        }
+        if (queryKeys.isEmpty()) {
+            // Scan all the field values of the index
+            indexQuery.gte(HugeKeys.FIELD_VALUES,
+                           NumericUtil.minValueOf(rangeValueClass(indexType)));
+        }
+        indexQuery.order(HugeKeys.FIELD_VALUES, query.userpropOrder());
+        indexQuery.limit(query.total());
+        indexQuery.capacity(query.capacity());
+        indexQuery.olap(indexLabel.olap());
+
+        LOG.debug("Query {} in order by range index '{}'", query, indexLabel);
+        query.optimized(OptimizedType.INDEX);
+        IdHolderList holders = new IdHolderList(false);
+        holders.add(this.doIndexQuery(indexLabel, indexQuery));
+        return holders;
+    }
+
+    private IndexLabel matchRangeIndex(HugeType type, Id label, Id key) {
+        SchemaTransaction schema = this.params().schemaTransaction();
+        SchemaLabel schemaLabel;
+        if (type.isVertex()) {
+            schemaLabel = schema.getVertexLabel(label);
+        } else if (type.isEdge()) {
+            schemaLabel = schema.getEdgeLabel(label);
+        } else {
+            return null;
+        }
+        if (schemaLabel == null) {
+            return null;
+        }
+        for (Id id : schemaLabel.indexLabels()) {
+            IndexLabel indexLabel = schema.getIndexLabel(id);
+            if (indexLabel != null && indexLabel.indexType().isRange() &&
+                indexLabel.status().ok() &&
+                indexLabel.indexFields().size() == 1 &&
+                indexLabel.indexField().equals(key)) {
+                return indexLabel;
+            }
+        }
+        return null;
+    }
+
+    private static Class<?> rangeValueClass(IndexType indexType) {
+        switch (indexType) {
+            case RANGE_INT:
+                return Integer.class;
+            case RANGE_FLOAT:
+                return Float.class;
+            case RANGE_LONG:
+                return Long.class;
+            case RANGE_DOUBLE:
+                return Double.class;
+            default:
+                throw new AssertionError(String.format(
+                          "Unsupported range index type '%s'", indexType));
+        }
+    }
+
     @Watched(prefix = "index")
     private IdHolderList doSearchIndex(ConditionQuery query,
                                        MatchedIndex index) {
@@ -559,7 +919,9 @@ public class GraphIndexTransaction extends AbstractTransaction {
         Set<Id> intersectIds = null;
         boolean filtering = false;
         IdHolder resultHolder = null;
-        for (Map.Entry<IndexLabel, ConditionQuery> e : queries.entrySet()) {
+        GraphStatistics stats = this.statistics();
+        for (Map.Entry<IndexLabel, ConditionQuery> e :
+             sortByEstimate(queries, stats)) {
             IndexLabel indexLabel = e.getKey();
             ConditionQuery query = e.getValue();
             assert !query.paging();
@@ -567,6 +929,14 @@ public class GraphIndexTransaction extends AbstractTransaction {
                 // Unset limit for intersection operation
                 query.limit(Query.NO_LIMIT);
             }
+            if (resultHolder != null && stats != null &&
+                stats.estimate(indexLabel, query) >=
+                HUGE_INDEX_FACTOR * this.indexIntersectThresh) {
+                // Don't probe the index which is known to be far too large
+                filtering = true;
+                query.optimized(OptimizedType.INDEX_FILTER);
+                continue;
+            }
             /*
              * Try to query by joint indexes:
              * 1 If there is any index exceeded the threshold, transform into
@@ -810,7 +1180,8 @@ public class GraphIndexTransaction extends AbstractTransaction {
             return null;
         }
         // Try to match single or composite index
-        Set<IndexLabel> matchedILs = matchSingleOrCompositeIndex(query, ils);
+        Set<IndexLabel> matchedILs = matchSingleOrCompositeIndex(
+                                     query, ils, this.statistics());
         if (matchedILs.isEmpty()) {
             // Try to match joint indexes
             matchedILs = matchJointIndexes(query, ils);
@@ -909,10 +1280,16 @@ public class GraphIndexTransaction extends AbstractTransaction {
 
     private void removeExpiredIndexIfNeeded(HugeIndex index,
                                             boolean showExpired) {
-        if (this.store().features().supportsTtl() || showExpired) {
+        BackendFeatures features = this.store().features();
+        if (features.supportsTtl() || showExpired) {
+            return;
+        }
+        // NOTE: the expired element ids are removed from the index
+        Set<IdWithExpiredTime> expiredIds = index.expiredElementIds();
+        if (features.supportsExpireInBackground()) {
             return;
         }
-        for (IdWithExpiredTime id : index.expiredElementIds()) {
+        for (IdWithExpiredTime id : expiredIds) {
             HugeIndex removeIndex = index.clone();
             removeIndex.resetElementIds();
             removeIndex.elementIds(id.id(), id.expiredTime());
@@ -923,10 +1300,13 @@ public class GraphIndexTransaction extends AbstractTransaction {
 
     private static Set<IndexLabel> matchSingleOrCompositeIndex(
                                    ConditionQuery query,
-                                   Set<IndexLabel> indexLabels) {
+                                   Set<IndexLabel> indexLabels,
+                                   GraphStatistics stats) {
         if (query.hasNeqCondition()) {
             return ImmutableSet.of();
         }
+        IndexLabel cheapest = null;
+        long minEstimate = Long.MAX_VALUE;
         boolean requireRange = query.hasRangeCondition();
         boolean requireSearch = query.hasSearchCondition();
         Set<Id> queryPropKeys = query.userpropKeys();
@@ -953,9 +1333,19 @@ public class GraphIndexTransaction extends AbstractTransaction {
             if (requireRange && !indexType.isNumeric()) {
                 continue;
             }
-            return ImmutableSet.of(indexLabel);
+            if (stats == null) {
+                // Pick the first matched index if there are no statistics
+                return ImmutableSet.of(indexLabel);
+            }
+            long estimate = stats.estimate(indexLabel, query);
+            if (cheapest == null ||
+                (estimate >= 0L && estimate < minEstimate)) {
+                cheapest = indexLabel;
+                minEstimate = estimate < 0L ? Long.MAX_VALUE : estimate;
+            }
         }
-        return ImmutableSet.of();
+        return cheapest == null ? ImmutableSet.of() :
+                                  ImmutableSet.of(cheapest);
     }
 
     /**
@@ -1530,6 +1920,14 @@ public class GraphIndexTransaction extends AbstractTransaction {
         return element.schemaLabel().nullableKeys().contains(key);
     }
 
+    private static IllegalArgumentException uniqueConflictException(
+                                            IndexLabel indexLabel,
+                                            HugeElement element) {
+        return new IllegalArgumentException(String.format(
+                   "Unique constraint %s conflict is found for %s",
+                   indexLabel, element));
+    }
+
     private static Set<IndexLabel> relatedIndexLabels(HugeElement element) {
         Set<IndexLabel> indexLabels = InsertionOrderUtil.newSet();
         Set<Id> indexLabelIds = element.schemaLabel().indexLabels();
@@ -1717,6 +2115,17 @@ public class GraphIndexTransaction extends AbstractTransaction {
         }
     }
 
+    private static class PendingIndex {
+
+        private final HugeElement element;
+        private final HugeIndex index;
+
+        public PendingIndex(HugeElement element, HugeIndex index) {
+            this.element = element;
+            this.index = index;
+        }
+    }
+
     public static class RemoveLeftIndexJob extends EphemeralJob<Object> {
 
         private static final String REMOVE_LEFT_INDEX = "remove_left_index";
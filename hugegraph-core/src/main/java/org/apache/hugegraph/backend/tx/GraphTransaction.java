@@ -26,6 +26,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -47,14 +48,18 @@ import org.apache.hugegraph.backend.query.Condition;
 import org.apache.hugegraph.backend.query.ConditionQuery;
 import org.apache.hugegraph.backend.query.ConditionQuery.OptimizedType;
 import org.apache.hugegraph.backend.query.ConditionQueryFlatten;
+import org.apache.hugegraph.backend.query.DeferredIterator;
 import org.apache.hugegraph.backend.query.IdQuery;
 import org.apache.hugegraph.backend.query.Query;
 import org.apache.hugegraph.backend.query.QueryResults;
 import org.apache.hugegraph.backend.store.BackendEntry;
 import org.apache.hugegraph.backend.store.BackendMutation;
 import org.apache.hugegraph.backend.store.BackendStore;
+import org.apache.hugegraph.backend.store.Shard;
+import org.apache.hugegraph.backend.store.ram.OlapColumns;
 import org.apache.hugegraph.config.CoreOptions;
 import org.apache.hugegraph.config.HugeConfig;
+import org.apache.hugegraph.event.EventHub;
 import org.apache.hugegraph.exception.LimitExceedException;
 import org.apache.hugegraph.exception.NotFoundException;
 import org.apache.hugegraph.iterator.BatchMapperIterator;
@@ -71,6 +76,7 @@ import org.apache.hugegraph.schema.IndexLabel;
 import org.apache.hugegraph.schema.PropertyKey;
 import org.apache.hugegraph.schema.SchemaLabel;
 import org.apache.hugegraph.schema.VertexLabel;
+import org.apache.hugegraph.statistics.GraphStatistics;
 import org.apache.hugegraph.structure.HugeEdge;
 import org.apache.hugegraph.structure.HugeEdgeProperty;
 import org.apache.hugegraph.structure.HugeElement;
@@ -85,8 +91,11 @@ import org.apache.hugegraph.type.define.Directions;
 import org.apache.hugegraph.type.define.HugeKeys;
 import org.apache.hugegraph.type.define.IdStrategy;
 import org.apache.hugegraph.util.E;
+import org.apache.hugegraph.util.Events;
 import org.apache.hugegraph.util.InsertionOrderUtil;
 import org.apache.hugegraph.util.LockUtil;
+import org.apache.hugegraph.util.QueryProfiler;
+import org.apache.hugegraph.util.QueryProfiler.Stage;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
@@ -133,6 +142,7 @@ public class GraphTransaction extends IndexableTransaction {
 
     private final int verticesCapacity;
     private final int edgesCapacity;
+    private final long statisticsInterval;
 
     public GraphTransaction(HugeGraphParams graph, BackendStore store) {
         super(graph, store);
@@ -162,6 +172,8 @@ public class GraphTransaction extends IndexableTransaction {
 
         this.verticesCapacity = conf.get(CoreOptions.VERTEX_TX_CAPACITY);
         this.edgesCapacity = conf.get(CoreOptions.EDGE_TX_CAPACITY);
+        this.statisticsInterval =
+             conf.get(CoreOptions.QUERY_STATISTICS_INTERVAL);
 
         E.checkArgument(this.commitPartOfAdjacentEdges < this.edgesCapacity,
                         "Option value of %s(%s) must be < %s(%s)",
@@ -275,6 +287,20 @@ public class GraphTransaction extends IndexableTransaction {
                this.updatedEdges.size();
     }
 
+    protected final Set<Id> edgeLabelsInTx() {
+        Set<Id> labels = InsertionOrderUtil.newSet();
+        for (HugeEdge edge : this.addedEdges.values()) {
+            labels.add(edge.schemaLabel().id());
+        }
+        for (HugeEdge edge : this.removedEdges.values()) {
+            labels.add(edge.schemaLabel().id());
+        }
+        for (HugeEdge edge : this.updatedEdges.values()) {
+            labels.add(edge.schemaLabel().id());
+        }
+        return labels;
+    }
+
     protected final Collection<HugeVertex> verticesInTxUpdated() {
         int size = this.addedVertices.size() + this.updatedVertices.size();
         List<HugeVertex> vertices = new ArrayList<>(size);
@@ -287,6 +313,14 @@ public class GraphTransaction extends IndexableTransaction {
         return new ArrayList<>(this.removedVertices.values());
     }
 
+    protected final Collection<HugeEdge> edgesInTxChanged() {
+        int size = this.addedEdges.size() + this.removedEdges.size();
+        List<HugeEdge> edges = new ArrayList<>(size);
+        edges.addAll(this.addedEdges.values());
+        edges.addAll(this.removedEdges.values());
+        return edges;
+    }
+
     protected final boolean removingEdgeOwner(HugeEdge edge) {
         for (HugeVertex vertex : this.removedVertices.values()) {
             if (edge.belongToVertex(vertex)) {
@@ -338,12 +372,13 @@ public class GraphTransaction extends IndexableTransaction {
 
             // Add vertex entry
             this.doInsert(this.serializer.writeVertex(v));
-            // Update index of vertex(only include props)
-            this.indexTx.updateVertexIndex(v, false);
             this.indexTx.updateLabelIndex(v, false);
         }
+        // Update index of vertices(only include props) as a batch
+        this.indexTx.updateVertexIndexes(addedVertices.values(), false);
 
         // Do edge update
+        List<HugeEdge> edges = new ArrayList<>(addedEdges.size());
         for (HugeEdge e : addedEdges.values()) {
             assert !e.removed();
             e.committed();
@@ -355,10 +390,11 @@ public class GraphTransaction extends IndexableTransaction {
             // Add edge entry of OUT and IN
             this.doInsert(this.serializer.writeEdge(e));
             this.doInsert(this.serializer.writeEdge(e.switchOwner()));
-            // Update index of edge
-            this.indexTx.updateEdgeIndex(e, false);
             this.indexTx.updateLabelIndex(e, false);
+            edges.add(e);
         }
+        // Update index of edges as a batch
+        this.indexTx.updateEdgeIndexes(edges, false);
     }
 
     protected void prepareDeletions(Map<Id, HugeVertex> removedVertices,
@@ -492,6 +528,9 @@ public class GraphTransaction extends IndexableTransaction {
 
         try {
             this.commitMutation2Backend(mutation, idxMutation);
+            this.updateStatistics(ImmutableList.of(), ImmutableList.of(),
+                                  ImmutableList.of(), removedEdges.values(),
+                                  ImmutableList.of(), 0);
         } catch (Throwable e) {
             this.rollbackBackend();
         } finally {
@@ -502,6 +541,104 @@ public class GraphTransaction extends IndexableTransaction {
         removedEdges.clear();
     }
 
+    @Override
+    protected void commitMutation2Backend(BackendMutation... mutations) {
+        // Collect the changed edges for the listeners before commit
+        EventHub graphEventHub = this.params().graphEventHub();
+        HugeEdge[] addedEdges = null;
+        HugeEdge[] removedEdges = null;
+        if (graphEventHub.containsListener(Events.EDGE_ADD) &&
+            this.addedEdges.size() > 0) {
+            addedEdges = this.addedEdges.values().toArray(new HugeEdge[0]);
+        }
+        if (graphEventHub.containsListener(Events.EDGE_REMOVE) &&
+            this.removedEdges.size() > 0) {
+            removedEdges = this.removedEdges.values().toArray(new HugeEdge[0]);
+        }
+
+        super.commitMutation2Backend(mutations);
+
+        if (addedEdges != null) {
+            graphEventHub.notify(Events.EDGE_ADD, (Object) addedEdges);
+        }
+        if (removedEdges != null) {
+            graphEventHub.notify(Events.EDGE_REMOVE, (Object) removedEdges);
+        }
+    }
+
+    @Override
+    protected void commit2Backend() {
+        // Query before committing since the added elements may be upserts
+        List<HugeElement> overwritten = this.queryOverwrittenElements();
+        super.commit2Backend();
+        this.updateStatistics(this.addedVertices.values(),
+                              this.removedVertices.values(),
+                              this.addedEdges.values(),
+                              this.removedEdges.values(),
+                              overwritten,
+                              this.updatedVertices.size() +
+                              this.updatedEdges.size());
+    }
+
+    private void updateStatistics(Collection<HugeVertex> addedVertices,
+                                  Collection<HugeVertex> removedVertices,
+                                  Collection<HugeEdge> addedEdges,
+                                  Collection<HugeEdge> removedEdges,
+                                  Collection<HugeElement> overwritten,
+                                  int updated) {
+        if (this.statisticsInterval <= 0L) {
+            return;
+        }
+        GraphStatistics.of(this.graph()).update(addedVertices,
+                                                removedVertices,
+                                                addedEdges, removedEdges,
+                                                overwritten, updated);
+    }
+
+    /**
+     * Query the existing elements overwritten by the added ones, only if
+     * the statistics are collected and need to be updated incrementally
+     */
+    private List<HugeElement> queryOverwrittenElements() {
+        if (this.statisticsInterval <= 0L ||
+            !GraphStatistics.of(this.graph()).collected()) {
+            return ImmutableList.of();
+        }
+        List<HugeElement> elements = new ArrayList<>();
+        Set<Id> ids = new HashSet<>();
+        for (HugeVertex vertex : this.addedVertices.values()) {
+            // The automatic ids are generated, never overwrite a vertex
+            if (!vertex.schemaLabel().idStrategy().isAutomatic()) {
+                ids.add(vertex.id());
+            }
+        }
+        if (!ids.isEmpty()) {
+            IdQuery query = new IdQuery(HugeType.VERTEX, ids);
+            Iterator<HugeVertex> vertices = this.queryVerticesFromBackend(query);
+            try {
+                while (vertices.hasNext()) {
+                    elements.add(vertices.next());
+                }
+            } finally {
+                CloseableIterator.closeIterator(vertices);
+            }
+        }
+
+        ids = this.addedEdges.keySet();
+        if (!ids.isEmpty()) {
+            IdQuery query = new IdQuery(HugeType.EDGE, ids);
+            Iterator<HugeEdge> edges = this.queryEdgesFromBackend(query);
+            try {
+                while (edges.hasNext()) {
+                    elements.add(edges.next());
+                }
+            } finally {
+                CloseableIterator.closeIterator(edges);
+            }
+        }
+        return elements;
+    }
+
     @Override
     public void commit() throws BackendException {
         try {
@@ -546,7 +683,8 @@ public class GraphTransaction extends IndexableTransaction {
 
         // TODO: we can concat index-query results and tx uncommitted records.
         if (hasUpdate) {
-            E.checkArgument(!isConditionQuery,
+            // The adjacent edges query can be merged with uncommitted records
+            E.checkArgument(!isConditionQuery || isAdjacentEdgesQuery(query),
                             "It's not allowed to query by index when " +
                             "there are uncommitted records.");
         }
@@ -564,7 +702,10 @@ public class GraphTransaction extends IndexableTransaction {
             } else if (!isIndexQuery || !isConditionQuery) {
                 // It's a sysprop-query, let parent tx do it
                 assert !fallback;
-                result = super.queryNumber(q);
+                result = this.queryNumberByDegree(q, aggregate);
+                if (result == null) {
+                    result = super.queryNumber(q);
+                }
             } else {
                 E.checkArgument(aggregate.func() == AggregateFunc.COUNT,
                                 "The %s operator on index is not supported now",
@@ -797,6 +938,7 @@ public class GraphTransaction extends IndexableTransaction {
 
     public Iterator<Vertex> queryVertices(Query query) {
         if (this.hasUpdate()) {
+            unsetOrderedLimit(query);
             E.checkArgument(query.noLimitAndOffset(),
                             "It's not allowed to query with offser/limit " +
                             "when there are uncommitted records.");
@@ -961,6 +1103,7 @@ public class GraphTransaction extends IndexableTransaction {
     @Watched
     public Iterator<Edge> queryEdges(Query query) {
         if (this.hasUpdate()) {
+            unsetOrderedLimit(query);
             E.checkArgument(query.noLimitAndOffset(),
                             "It's not allowed to query with offser/limit " +
                             "when there are uncommitted records.");
@@ -1006,12 +1149,109 @@ public class GraphTransaction extends IndexableTransaction {
         return this.skipOffsetOrStopLimit(r, query);
     }
 
+    /**
+     * Query edges without blocking current thread by the backend I/O, if
+     * the query needs no index and there are no uncommitted records, then
+     * it's sent to the store asynchronously, otherwise query synchronously.
+     * The edges are deserialized lazily by the thread iterating them.
+     */
+    @Watched(prefix = "graph")
+    public CompletableFuture<Iterator<Edge>> queryEdgesAsync(Query query) {
+        List<Query> queries = this.asyncQueries(query);
+        if (queries == null) {
+            CompletableFuture<Iterator<Edge>> future = new CompletableFuture<>();
+            try {
+                future.complete(this.queryEdges(query));
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+            return future;
+        }
+
+        query.resetActualOffset();
+
+        @SuppressWarnings("unchecked")
+        CompletableFuture<Iterator<HugeEdge>>[] futures =
+                new CompletableFuture[queries.size()];
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = this.queryEdgesFromBackendAsync(queries.get(i));
+        }
+        return CompletableFuture.allOf(futures).thenApply(ignored -> {
+            /*
+             * The callback may run in the I/O thread of the store, so defer
+             * filtering the edges to the first access from the caller thread
+             */
+            return new DeferredIterator<>(() -> {
+                ExtendableIterator<HugeEdge> edges = new ExtendableIterator<>();
+                for (CompletableFuture<Iterator<HugeEdge>> future : futures) {
+                    edges.extend(future.join());
+                }
+                Iterator<HugeEdge> results = this.filterUnmatchedRecords(
+                                             edges, query);
+                @SuppressWarnings("unchecked")
+                Iterator<Edge> r = (Iterator<Edge>) (Iterator<?>) results;
+                return this.skipOffsetOrStopLimit(r, query);
+            });
+        });
+    }
+
+    /**
+     * @return the sysprop-queries which can be sent to the store directly,
+     *         or null if the query should be executed synchronously
+     */
+    private List<Query> asyncQueries(Query query) {
+        if (this.hasUpdate() || !(query instanceof ConditionQuery) ||
+            !query.resultType().isEdge() || query.paging() ||
+            query.offset() > 0L) {
+            return null;
+        }
+        ConditionQuery cq = (ConditionQuery) query;
+        if (cq.userpropOrderKey() != null) {
+            return null;
+        }
+        boolean supportIn = this.storeFeatures().supportsQueryWithInCondition();
+        List<ConditionQuery> flatten = ConditionQueryFlatten.flatten(cq,
+                                                                     supportIn);
+        List<Query> queries = new ArrayList<>(flatten.size());
+        for (ConditionQuery q : flatten) {
+            Query optimized = this.optimizeQuery(q);
+            if (optimized == null) {
+                // Need to query by index
+                return null;
+            }
+            if (!optimized.empty()) {
+                queries.add(optimized);
+            }
+        }
+        return queries;
+    }
+
+    protected CompletableFuture<Iterator<HugeEdge>> queryEdgesFromBackendAsync(
+                                                    Query query) {
+        assert query.resultType().isEdge();
+        return this.queryAsync(query).thenApply(results -> {
+            // Parse the entries in the caller thread rather than I/O thread
+            return new DeferredIterator<>(() -> {
+                return this.parseEdges(query, results.iterator());
+            });
+        });
+    }
+
     protected Iterator<HugeEdge> queryEdgesFromBackend(Query query) {
         assert query.resultType().isEdge();
 
         QueryResults<BackendEntry> results = this.query(query);
-        Iterator<BackendEntry> entries = results.iterator();
+        Iterator<HugeEdge> edges = this.parseEdges(query, results.iterator());
 
+        if (!this.store().features().supportsQuerySortByInputIds()) {
+            // There is no id in BackendEntry, so sort after deserialization
+            edges = results.keepInputOrderIfNeeded(edges);
+        }
+        return edges;
+    }
+
+    private Iterator<HugeEdge> parseEdges(Query query,
+                                          Iterator<BackendEntry> entries) {
         Iterator<HugeEdge> edges = new FlatMapperIterator<>(entries, entry -> {
             // Edges are in a vertex
             HugeVertex vertex = this.parseEntry(entry);
@@ -1028,13 +1268,7 @@ public class GraphTransaction extends IndexableTransaction {
             return new ListIterator<>(ImmutableList.copyOf(vertex.getEdges()));
         });
 
-        edges = this.filterExpiredResultFromBackend(query, edges);
-
-        if (!this.store().features().supportsQuerySortByInputIds()) {
-            // There is no id in BackendEntry, so sort after deserialization
-            edges = results.keepInputOrderIfNeeded(edges);
-        }
-        return edges;
+        return this.filterExpiredResultFromBackend(query, edges);
     }
 
     @Watched(prefix = "graph")
@@ -1237,6 +1471,35 @@ public class GraphTransaction extends IndexableTransaction {
         return query;
     }
 
+    /**
+     * Whether the count of adjacent edges with the specified labels (all
+     * labels if not specified) can be got by the degree counters of store,
+     * the expired edges are still counted before deleted, so labels with
+     * ttl are not countable
+     * @param graph the graph to query
+     * @param edgeLabels the labels of the edges to count
+     * @return true if countable by degree counters
+     */
+    public static boolean degreeCountable(HugeGraph graph, Id... edgeLabels) {
+        if (!graph.backendStoreFeatures().supportsDegreeCounter()) {
+            return false;
+        }
+        if (edgeLabels.length == 0) {
+            for (EdgeLabel edgeLabel : graph.edgeLabels()) {
+                if (edgeLabel.ttl() > 0L) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        for (Id label : edgeLabels) {
+            if (graph.edgeLabel(label).ttl() > 0L) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public static boolean matchFullEdgeSortKeys(ConditionQuery query,
                                                 HugeGraph graph) {
         // All queryKeys in sortKeys
@@ -1279,6 +1542,15 @@ public class GraphTransaction extends IndexableTransaction {
         return false;
     }
 
+    private static boolean isAdjacentEdgesQuery(Query query) {
+        if (!(query instanceof ConditionQuery) ||
+            !query.resultType().isEdge()) {
+            return false;
+        }
+        ConditionQuery cq = (ConditionQuery) query;
+        return cq.containsCondition(HugeKeys.OWNER_VERTEX) && cq.allSysprop();
+    }
+
     private static void verifyVerticesConditionQuery(ConditionQuery query) {
         assert query.resultType().isVertex();
 
@@ -1353,6 +1625,75 @@ public class GraphTransaction extends IndexableTransaction {
         }
     }
 
+    private static void unsetOrderedLimit(Query query) {
+        /*
+         * The limit of the query ordered by user property is pushed down
+         * from the traverser, which is just a hint and will be limited by
+         * the upper layer, so unset it to merge the uncommitted records.
+         */
+        if (query instanceof ConditionQuery &&
+            ((ConditionQuery) query).userpropOrderKey() != null) {
+            query.limit(Query.NO_LIMIT);
+        }
+    }
+
+    private Number queryNumberByDegree(Query query, Aggregate aggregate) {
+        // Count the adjacent edges of a vertex by the degree counters
+        if (aggregate.func() != AggregateFunc.COUNT ||
+            !(query instanceof ConditionQuery) ||
+            !query.resultType().isEdge() || query.idsSize() > 0 ||
+            query.offset() != 0L || query.limit() != Query.NO_LIMIT ||
+            query.paging()) {
+            return null;
+        }
+
+        Id vertex = null;
+        Directions direction = null;
+        List<Id> labels = ImmutableList.of();
+        for (Condition condition : ((ConditionQuery) query).conditions()) {
+            if (!condition.isRelation() || !condition.isSysprop()) {
+                return null;
+            }
+            Condition.Relation relation = (Condition.Relation) condition;
+            Object key = relation.key();
+            Object value = relation.value();
+            if (relation.relation() == Condition.RelationType.IN &&
+                key == HugeKeys.LABEL) {
+                @SuppressWarnings("unchecked")
+                List<Id> values = (List<Id>) value;
+                labels = values;
+                continue;
+            }
+            if (relation.relation() != Condition.RelationType.EQ) {
+                return null;
+            }
+            if (key == HugeKeys.OWNER_VERTEX && value instanceof Id) {
+                vertex = (Id) value;
+            } else if (key == HugeKeys.DIRECTION &&
+                       value instanceof Directions) {
+                direction = (Directions) value;
+            } else if (key == HugeKeys.LABEL && value instanceof Id) {
+                labels = ImmutableList.of((Id) value);
+            } else {
+                return null;
+            }
+        }
+
+        Id[] edgeLabels = labels.toArray(new Id[0]);
+        if (vertex == null || direction == null ||
+            !degreeCountable(this.graph(), edgeLabels)) {
+            return null;
+        }
+        if (edgeLabels.length == 0) {
+            return this.store().getDegree(vertex, direction, null);
+        }
+        long degree = 0L;
+        for (Id label : edgeLabels) {
+            degree += this.store().getDegree(vertex, direction, label);
+        }
+        return degree;
+    }
+
     private <R> QueryList<R> optimizeQueries(Query query,
                                              QueryResults.Fetcher<R> fetcher) {
         QueryList<R> queries = new QueryList<>(query, fetcher);
@@ -1363,8 +1704,26 @@ public class GraphTransaction extends IndexableTransaction {
         }
 
         boolean supportIn = this.storeFeatures().supportsQueryWithInCondition();
-        for (ConditionQuery cq: ConditionQueryFlatten.flatten(
-                                (ConditionQuery) query, supportIn)) {
+        List<ConditionQuery> flatten = ConditionQueryFlatten.flatten(
+                                       (ConditionQuery) query, supportIn);
+        if (((ConditionQuery) query).userpropOrderKey() != null) {
+            // Try to walk the range index in order, like top-k query
+            IdHolderList holders = flatten.size() != 1 ? null :
+                                   this.indexQueryByOrder(flatten.get(0));
+            if (holders != null) {
+                queries.add(holders, this.batchSize);
+                return queries;
+            }
+            /*
+             * Can't query in order, unset the limit to fetch all the results,
+             * which will be sorted and limited by the upper layer
+             */
+            query.limit(Query.NO_LIMIT);
+            for (ConditionQuery cq : flatten) {
+                cq.limit(Query.NO_LIMIT);
+            }
+        }
+        for (ConditionQuery cq : flatten) {
             // Optimize by sysprop
             Query q = this.optimizeQuery(cq);
             /*
@@ -1464,6 +1823,15 @@ public class GraphTransaction extends IndexableTransaction {
         return null;
     }
 
+    private IdHolderList indexQueryByOrder(ConditionQuery query) {
+        this.beforeRead();
+        try {
+            return this.indexTx.queryIndexByOrder(query);
+        } finally {
+            this.afterRead();
+        }
+    }
+
     private IdHolderList indexQuery(ConditionQuery query) {
         /*
          * Optimize by index-query
@@ -1758,9 +2126,14 @@ public class GraphTransaction extends IndexableTransaction {
             return results;
         }
         // Filter expired vertices/edges with TTL
+        boolean expireInBackground = this.store().features()
+                                         .supportsExpireInBackground();
         return new FilterIterator<>(results, elem -> {
             if (elem.expired()) {
-                DeleteExpiredJob.asyncDeleteExpiredObject(this.graph(), elem);
+                if (!expireInBackground) {
+                    DeleteExpiredJob.asyncDeleteExpiredObject(this.graph(),
+                                                              elem);
+                }
                 return false;
             }
             return true;
@@ -1924,6 +2297,7 @@ public class GraphTransaction extends IndexableTransaction {
     }
 
     private HugeVertex parseEntry(BackendEntry entry) {
+        Stage previous = QueryProfiler.enter(Stage.DESERIALIZE);
         try {
             HugeVertex vertex = this.serializer.readVertex(graph(), entry);
             assert vertex != null;
@@ -1940,6 +2314,8 @@ public class GraphTransaction extends IndexableTransaction {
                 return null;
             }
             throw e;
+        } finally {
+            QueryProfiler.exit(previous);
         }
     }
 
@@ -2108,6 +2484,71 @@ public class GraphTransaction extends IndexableTransaction {
         }
     }
 
+    /**
+     * Traverse the vertices of a label in a shard, it's not committed
+     * inside, and the consumer is expected to commit by batch if needed
+     */
+    public void traverseVerticesByShard(VertexLabel label, Shard shard,
+                                        Consumer<Vertex> consumer) {
+        this.traverseByShard(label, HugeType.VERTEX, shard,
+                             this::queryVertices, consumer);
+    }
+
+    /**
+     * Traverse the edges of a label in a shard of the out-edges table
+     */
+    public void traverseEdgesByShard(EdgeLabel label, Shard shard,
+                                     Consumer<Edge> consumer) {
+        this.traverseByShard(label, HugeType.EDGE_OUT, shard,
+                             this::queryEdges, consumer);
+    }
+
+    private <T> void traverseByShard(SchemaLabel label, HugeType type,
+                                     Shard shard,
+                                     Function<Query, Iterator<T>> fetcher,
+                                     Consumer<T> consumer) {
+        /*
+         * Scan the shard without paging since the changes of consumer may
+         * be not committed, the shard itself bounds the size of a scan
+         */
+        ConditionQuery query = new ConditionQuery(type);
+        query.scan(shard.start(), shard.end());
+        query.capacity(Query.NO_CAPACITY);
+        query.limit(Query.NO_LIMIT);
+        if (label.hidden()) {
+            query.showHidden(true);
+        }
+
+        Iterator<T> iter = fetcher.apply(query);
+        try {
+            while (iter.hasNext()) {
+                T e = iter.next();
+                // The shard is scanned without label, filter by label
+                if (label.equals(((HugeElement) e).schemaLabel())) {
+                    consumer.accept(e);
+                }
+            }
+        } finally {
+            CloseableIterator.closeIterator(iter);
+        }
+    }
+
+    public int indexMutationSize() {
+        return this.indexTx.mutationSize();
+    }
+
+    /**
+     * Take the index updates of the transaction without committing them,
+     * like writing them into external files and ingesting to the backend
+     */
+    public BackendMutation takeIndexMutation() {
+        E.checkState(this.mutationSize() == 0,
+                     "Can't take index mutation with graph changes");
+        BackendMutation mutation = this.indexTx.prepareCommit();
+        this.indexTx.reset();
+        return mutation;
+    }
+
     public void createOlapPk(Id pkId) {
         this.store().createOlapTable(pkId);
     }
@@ -2118,9 +2559,18 @@ public class GraphTransaction extends IndexableTransaction {
 
     public void clearOlapPk(Id pkId) {
         this.store().clearOlapTable(pkId);
+        this.removeOlapColumn(pkId);
     }
 
     public void removeOlapPk(Id pkId) {
         this.store().removeOlapTable(pkId);
+        this.removeOlapColumn(pkId);
+    }
+
+    private void removeOlapColumn(Id pkId) {
+        OlapColumns olapColumns = this.params().olapColumns();
+        if (olapColumns != null) {
+            olapColumns.remove(pkId);
+        }
     }
 }
@@ -339,6 +339,37 @@ public class CoreOptions extends OptionHolder {
                     false
             );
 
+    public static final ConfigOption<Integer> TASK_REBUILD_INDEX_THREADS =
+            new ConfigOption<>(
+                    "task.rebuild_index_threads",
+                    "The number of threads to rebuild the index of a label, " +
+                    "the label is split into shards and each thread builds " +
+                    "the index of a shard, 1 means rebuilding by a single " +
+                    "thread without splitting.",
+                    rangeInt(1, 256),
+                    1
+            );
+
+    public static final ConfigOption<Long> TASK_REBUILD_INDEX_SPLIT_SIZE =
+            new ConfigOption<>(
+                    "task.rebuild_index_split_size",
+                    "The size in bytes of each shard split from the label " +
+                    "when rebuilding index by multiple threads.",
+                    rangeInt(Bytes.MB, Long.MAX_VALUE),
+                    64 * Bytes.MB
+            );
+
+    public static final ConfigOption<Boolean> TASK_REBUILD_INDEX_SST =
+            new ConfigOption<>(
+                    "task.rebuild_index_sst",
+                    "Whether to write the rebuilt index into sst files and " +
+                    "ingest them when rebuilding index by multiple threads, " +
+                    "instead of committing by batch, only for the rocksdb " +
+                    "backend.",
+                    disallowEmpty(),
+                    false
+            );
+
     public static final ConfigOption<Long> STORE_CONN_DETECT_INTERVAL =
             new ConfigOption<>(
                     "store.connection_detect_interval",
@@ -469,6 +500,47 @@ public class CoreOptions extends OptionHolder {
                     1000
             );
 
+    public static final ConfigOption<Long> QUERY_STATISTICS_INTERVAL =
+            new ConfigOption<>(
+                    "query.statistics_interval",
+                    "The min interval in seconds to collect the label and " +
+                    "property statistics used to pick the cheapest index " +
+                    "of a query, which are maintained by the committed " +
+                    "transactions and only collected again when 20% of " +
+                    "the elements are changed, 0 means disable the " +
+                    "collection.",
+                    rangeInt(0L, Long.MAX_VALUE),
+                    0L
+            );
+
+    public static final ConfigOption<Integer> QUERY_STATISTICS_SAMPLE_SIZE =
+            new ConfigOption<>(
+                    "query.statistics_sample_size",
+                    "The number of values sampled for each property to " +
+                    "build the histogram when collecting statistics.",
+                    rangeInt(16, 65536),
+                    1024
+            );
+
+    public static final ConfigOption<Integer> INDEX_UPDATE_THREADS =
+            new ConfigOption<>(
+                    "index.update_threads",
+                    "Thread number to concurrently build index entries of " +
+                    "a batch of vertices/edges when committing, " +
+                    "0 or 1 means building them in the committing thread.",
+                    rangeInt(0, 65535),
+                    1
+            );
+
+    public static final ConfigOption<Integer> INDEX_UPDATE_BATCH_THRESHOLD =
+            new ConfigOption<>(
+                    "index.update_batch_threshold",
+                    "The min number of vertices/edges in a commit to " +
+                    "enable building their index entries concurrently.",
+                    rangeInt(1, Integer.MAX_VALUE),
+                    100
+            );
+
     public static final ConfigOption<Boolean> QUERY_RAMTABLE_ENABLE =
             new ConfigOption<>(
                     "query.ramtable_enable",
@@ -495,6 +567,65 @@ public class CoreOptions extends OptionHolder {
                     20000000
             );
 
+    public static final ConfigOption<Boolean> QUERY_OLAP_COLUMN_ENABLE =
+            new ConfigOption<>(
+                    "query.olap_column_enable",
+                    "Whether to enable the columns of olap properties with " +
+                    "number values for the query filtered by them, " +
+                    "which are loaded manually like ramtable.",
+                    disallowEmpty(),
+                    false
+            );
+
+    public static final ConfigOption<Integer> QUERY_OLAP_COLUMN_CHUNK_SIZE =
+            new ConfigOption<>(
+                    "query.olap_column_chunk_size",
+                    "The number of vertices of a chunk of olap column, " +
+                    "must be a multiple of 64.",
+                    rangeInt(64, 1 << 20),
+                    4096
+            );
+
+    public static final ConfigOption<Boolean> QUERY_SUPER_NODE_ENABLE =
+            new ConfigOption<>(
+                    "query.super_node_enable",
+                    "Whether to enable the skip-index of the adjacent edges " +
+                    "of super nodes, the queries with large offset seek to " +
+                    "the nearest block, and the degree-bounded traversal " +
+                    "steps sample the edges of super nodes randomly instead " +
+                    "of the first ones, require the backend supports paging.",
+                    disallowEmpty(),
+                    false
+            );
+
+    public static final ConfigOption<Integer> QUERY_SUPER_NODE_THRESHOLD =
+            new ConfigOption<>(
+                    "query.super_node_threshold",
+                    "The min count of the adjacent edges of a vertex with " +
+                    "a direction and an optional edge label to be indexed " +
+                    "as super node, must be >= super_node_block_size.",
+                    rangeInt(1, Integer.MAX_VALUE),
+                    100000
+            );
+
+    public static final ConfigOption<Integer> QUERY_SUPER_NODE_BLOCK_SIZE =
+            new ConfigOption<>(
+                    "query.super_node_block_size",
+                    "The number of the adjacent edges of a block of super " +
+                    "node skip-index.",
+                    rangeInt(1, 1000000),
+                    1000
+            );
+
+    public static final ConfigOption<Integer> QUERY_SUPER_NODE_CAPACITY =
+            new ConfigOption<>(
+                    "query.super_node_capacity",
+                    "The max number of the adjacent edge ranges of super " +
+                    "nodes to be indexed in memory.",
+                    rangeInt(1, Integer.MAX_VALUE),
+                    10000
+            );
+
     /**
      * The schema name rule:
      * 1、Not allowed end with spaces
@@ -588,6 +719,16 @@ public class CoreOptions extends OptionHolder {
                     false
             );
 
+    public static final ConfigOption<Integer> SNOWFLAKE_ID_BLOCK_SIZE =
+            new ConfigOption<>(
+                    "snowflake.id_block_size",
+                    "The number of contiguous snowflake ids reserved by " +
+                    "each thread at a time, the ids of different threads " +
+                    "are not ordered by time if it's greater than 1.",
+                    rangeInt(1, 4096),
+                    1
+            );
+
     public static final ConfigOption<String> TEXT_ANALYZER =
             new ConfigOption<>(
                     "search.text_analyzer",
@@ -633,6 +774,61 @@ public class CoreOptions extends OptionHolder {
                     10
             );
 
+    public static final ConfigOption<Boolean> OLTP_VIRTUAL_THREADS =
+            new ConfigOption<>(
+                    "oltp.virtual_threads",
+                    "Whether to execute oltp algorithm concurrently on " +
+                    "virtual threads, then oltp.concurrent_threads is the " +
+                    "number of virtual workers of each traversal, which " +
+                    "requires JDK 21+.",
+                    disallowEmpty(),
+                    false
+            );
+
+    public static final ConfigOption<Integer> OLTP_VIRTUAL_MAX_QUERIES =
+            new ConfigOption<>(
+                    "oltp.virtual_max_concurrent_queries",
+                    "The maximum number of backend queries executed " +
+                    "concurrently by the virtual workers of all oltp " +
+                    "traversals, the traversals nested in a worker share " +
+                    "the permit of the worker.",
+                    rangeInt(1, 65535),
+                    256
+            );
+
+    public static final ConfigOption<Integer> OLTP_VIRTUAL_MAX_PENDING =
+            new ConfigOption<>(
+                    "oltp.virtual_max_pending_items",
+                    "The maximum number of items buffered for the virtual " +
+                    "workers of all oltp traversals, which bounds the " +
+                    "memory of the queues, the traversals wait for the " +
+                    "workers when it's exceeded.",
+                    rangeInt(1, Integer.MAX_VALUE),
+                    65536
+            );
+
+    public static final ConfigOption<String> OLTP_CONCURRENT_ENGINE =
+            new ConfigOption<>(
+                    "oltp.concurrent_engine",
+                    "The engine to execute oltp algorithm concurrently, " +
+                    "'queue' means to hand off the vertices to workers one " +
+                    "by one through a blocking queue, 'work_stealing' means " +
+                    "to hand off them in batches to a fork-join pool, " +
+                    "it's ignored when oltp.virtual_threads is enabled.",
+                    allowValues("queue", "work_stealing"),
+                    "queue"
+            );
+
+    public static final ConfigOption<Integer> OLTP_STEALING_BATCH =
+            new ConfigOption<>(
+                    "oltp.work_stealing_batch_size",
+                    "The number of vertices handed off to the work-stealing " +
+                    "pool at a time, a batch will be split further if there " +
+                    "are idle workers.",
+                    rangeInt(1, 65535),
+                    64
+            );
+
     public static final ConfigOption<Integer> OLTP_CONCURRENT_DEPTH =
             new ConfigOption<>(
                     "oltp.concurrent_depth",
@@ -641,6 +837,77 @@ public class CoreOptions extends OptionHolder {
                     10
             );
 
+    public static final ConfigOption<Integer> OLTP_ASYNC_LOOKUPS =
+            new ConfigOption<>(
+                    "oltp.async_adjacency_lookups",
+                    "The max number of adjacency lookups sent to backend " +
+                    "asynchronously at the same time by a traversal thread, " +
+                    "1 means to look up the adjacent edges one by one.",
+                    rangeInt(1, 65535),
+                    8
+            );
+
+    public static final ConfigOption<String> OLTP_SHORTEST_PATH_ENGINE =
+            new ConfigOption<>(
+                    "oltp.shortest_path_engine",
+                    "The engine to search shortest paths, 'layered' means " +
+                    "to expand the source side and target side in turn, " +
+                    "'degree_aware' means to always expand the side with " +
+                    "less estimated edges in its frontier.",
+                    allowValues("layered", "degree_aware"),
+                    "layered"
+            );
+
+    public static final ConfigOption<String> OLTP_WEIGHTED_PATH_ENGINE =
+            new ConfigOption<>(
+                    "oltp.weighted_path_engine",
+                    "The engine to search weighted shortest paths, 'layered' " +
+                    "means to settle the vertices with the minimum weight " +
+                    "layer by layer, 'dijkstra' means to settle vertices " +
+                    "one by one through an indexed heap and to search by A* " +
+                    "if a heuristic property is given, " +
+                    "'bidirectional_dijkstra' is the same as 'dijkstra' " +
+                    "except that the point-to-point query without " +
+                    "heuristic searches from both the source and target.",
+                    allowValues("layered", "dijkstra",
+                                "bidirectional_dijkstra"),
+                    "layered"
+            );
+
+    public static final ConfigOption<Long> OLTP_RESULT_CACHE_CAPACITY =
+            new ConfigOption<>(
+                    "oltp.result_cache_capacity",
+                    "The max cache size(items) of traverser results, " +
+                    "like the results of k-out, k-neighbor, same neighbors " +
+                    "and jaccard similarity, 0 means disabled. Note that " +
+                    "the writes bypassing the transaction don't invalidate " +
+                    "the cached results: the sst files ingested by bulk " +
+                    "load take effect after reopening the graph which " +
+                    "clears the cache, and the elements expired by TTL " +
+                    "may be kept in the results until they're expired " +
+                    "by oltp.result_cache_expire.",
+                    rangeInt(0L, Long.MAX_VALUE),
+                    0L
+            );
+
+    public static final ConfigOption<Integer> OLTP_RESULT_CACHE_EXPIRE =
+            new ConfigOption<>(
+                    "oltp.result_cache_expire",
+                    "The expiration time in seconds of traverser results.",
+                    rangeInt(0, Integer.MAX_VALUE),
+                    60
+            );
+
+    public static final ConfigOption<Long> OLTP_RESULT_CACHE_MAX_SIZE =
+            new ConfigOption<>(
+                    "oltp.result_cache_max_result_size",
+                    "The max number of elements of a traverser result to " +
+                    "cache, the larger ones are not cached to bound the " +
+                    "memory used by the cache.",
+                    rangeInt(0L, Long.MAX_VALUE),
+                    10000L
+            );
+
     public static final ConfigConvOption<String, CollectionType> OLTP_COLLECTION_TYPE =
             new ConfigConvOption<>(
                     "oltp.collection_type",
@@ -97,6 +97,8 @@ public abstract class AbstractAlgorithm implements Algorithm {
     public static final String KEY_EACH_LIMIT = "each_limit";
     public static final String KEY_ALPHA = "alpha";
     public static final String KEY_WORKERS = "workers";
+    public static final String KEY_MAX_DELAY = "max_delay";
+    public static final String KEY_REBUILD_INTERVAL = "rebuild_interval";
 
     public static final long DEFAULT_CAPACITY = 10000000L;
     public static final long DEFAULT_LIMIT = 100L;
@@ -107,6 +109,8 @@ public abstract class AbstractAlgorithm implements Algorithm {
     public static final long DEFAULT_STABLE_TIMES= 3L;
     public static final double DEFAULT_PRECISION = 1.0 / 1000;
     public static final double DEFAULT_ALPHA = 0.5D;
+    public static final long DEFAULT_MAX_DELAY = 1000L;
+    public static final long DEFAULT_REBUILD_INTERVAL = 3600L;
 
     public static final String C_LABEL = "c_label";
     public static final String R_RANK = "r_rank";
@@ -258,6 +262,27 @@ public abstract class AbstractAlgorithm implements Algorithm {
         return workers;
     }
 
+    protected static long maxDelay(Map<String, Object> parameters) {
+        if (!parameters.containsKey(KEY_MAX_DELAY)) {
+            return DEFAULT_MAX_DELAY;
+        }
+        long delay = ParameterUtil.parameterLong(parameters, KEY_MAX_DELAY);
+        E.checkArgument(delay > 0L,
+                        "The value of %s must be > 0, but got %s",
+                        KEY_MAX_DELAY, delay);
+        return delay;
+    }
+
+    protected static long rebuildInterval(Map<String, Object> parameters) {
+        if (!parameters.containsKey(KEY_REBUILD_INTERVAL)) {
+            return DEFAULT_REBUILD_INTERVAL;
+        }
+        long interval = ParameterUtil.parameterLong(parameters,
+                                                    KEY_REBUILD_INTERVAL);
+        HugeTraverser.checkPositiveOrNoLimit(interval, KEY_REBUILD_INTERVAL);
+        return interval;
+    }
+
     protected static Directions parseDirection(Object direction) {
         if (direction.equals(Directions.BOTH.toString())) {
             return Directions.BOTH;
@@ -355,6 +380,7 @@ public abstract class AbstractAlgorithm implements Algorithm {
             Query query = new Query(HugeType.VERTEX);
             query.capacity(Query.NO_CAPACITY);
             query.limit(limit);
+            query.bulkScan(true);
             return this.graph().vertices(query);
         }
 
@@ -425,6 +451,7 @@ public abstract class AbstractAlgorithm implements Algorithm {
             Query query = new Query(type);
             query.capacity(Query.NO_CAPACITY);
             query.limit(Query.NO_LIMIT);
+            query.bulkScan(true);
             return this.graph().edges(query);
         }
 
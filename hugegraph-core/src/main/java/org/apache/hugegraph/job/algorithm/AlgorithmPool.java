@@ -21,6 +21,7 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.hugegraph.job.algorithm.path.RingsDetectAlgorithm;
+import org.apache.hugegraph.job.algorithm.rank.IncrementalPageRankAlgorithm;
 import org.apache.hugegraph.job.algorithm.rank.PageRankAlgorithm;
 import org.apache.hugegraph.job.algorithm.similarity.FusiformSimilarityAlgorithm;
 import org.apache.hugegraph.job.algorithm.cent.BetweennessCentralityAlgorithm;
@@ -32,6 +33,7 @@ import org.apache.hugegraph.job.algorithm.cent.EigenvectorCentralityAlgorithm;
 import org.apache.hugegraph.job.algorithm.cent.StressCentralityAlgorithm;
 import org.apache.hugegraph.job.algorithm.cent.StressCentralityAlgorithmV2;
 import org.apache.hugegraph.job.algorithm.comm.ClusterCoefficientAlgorithm;
+import org.apache.hugegraph.job.algorithm.comm.IncrementalWeakConnectedComponent;
 import org.apache.hugegraph.job.algorithm.comm.KCoreAlgorithm;
 import org.apache.hugegraph.job.algorithm.comm.LouvainAlgorithm;
 import org.apache.hugegraph.job.algorithm.comm.LpaAlgorithm;
@@ -58,12 +60,14 @@ public class AlgorithmPool {
         INSTANCE.register(new LpaAlgorithm());
         INSTANCE.register(new LouvainAlgorithm());
         INSTANCE.register(new WeakConnectedComponent());
+        INSTANCE.register(new IncrementalWeakConnectedComponent());
 
         INSTANCE.register(new FusiformSimilarityAlgorithm());
         INSTANCE.register(new RingsDetectAlgorithm());
         INSTANCE.register(new KCoreAlgorithm());
 
         INSTANCE.register(new PageRankAlgorithm());
+        INSTANCE.register(new IncrementalPageRankAlgorithm());
 
         INSTANCE.register(new SubgraphStatAlgorithm());
 
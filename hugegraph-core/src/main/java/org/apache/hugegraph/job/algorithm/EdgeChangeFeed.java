@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.job.algorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hugegraph.HugeGraph;
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.event.EventHub;
+import org.apache.hugegraph.event.EventListener;
+import org.apache.hugegraph.structure.HugeEdge;
+import org.apache.hugegraph.util.E;
+import org.apache.hugegraph.util.Events;
+import org.apache.hugegraph.util.Log;
+import org.slf4j.Logger;
+
+/**
+ * The feed of the edges added or removed by the committed transactions of
+ * a graph, which is used by the long-lived incremental algorithms.
+ * The changes are buffered up to the capacity, and the feed is marked as
+ * overflowed if any change is dropped, then the consumer should recompute
+ * from the whole graph.
+ */
+public class EdgeChangeFeed implements AutoCloseable {
+
+    private static final Logger LOG = Log.logger(EdgeChangeFeed.class);
+
+    private static final Map<String, EventHub> HUBS =
+                         new ConcurrentHashMap<>();
+    private static final Map<String, Set<EdgeChangeFeed>> FEEDS =
+                         new ConcurrentHashMap<>();
+
+    private final String graph;
+    private final EventHub hub;
+    private final EventListener addListener;
+    private final EventListener removeListener;
+    private final BlockingQueue<Change> changes;
+
+    private volatile boolean overflowed;
+    private volatile boolean closed;
+
+    public EdgeChangeFeed(HugeGraph graph, int capacity) {
+        E.checkArgument(capacity > 0,
+                        "The capacity of edge change feed must be > 0");
+        this.graph = graph.name();
+        this.hub = HUBS.get(this.graph);
+        E.checkState(this.hub != null,
+                     "The graph '%s' is not opened", this.graph);
+        this.changes = new LinkedBlockingQueue<>(capacity);
+        this.overflowed = false;
+        this.closed = false;
+
+        this.addListener = event -> {
+            event.checkArgs(HugeEdge[].class);
+            this.offer(true, (HugeEdge[]) event.args()[0]);
+            return true;
+        };
+        this.removeListener = event -> {
+            event.checkArgs(HugeEdge[].class);
+            this.offer(false, (HugeEdge[]) event.args()[0]);
+            return true;
+        };
+        FEEDS.computeIfAbsent(this.graph, g -> ConcurrentHashMap.newKeySet())
+             .add(this);
+        this.hub.listen(Events.EDGE_ADD, this.addListener);
+        this.hub.listen(Events.EDGE_REMOVE, this.removeListener);
+    }
+
+    public static void open(String graph, EventHub hub) {
+        HUBS.put(graph, hub);
+    }
+
+    /**
+     * Close all the feeds of the graph, the consumers are expected to exit
+     * once they find the feed closed
+     */
+    public static void close(String graph) {
+        HUBS.remove(graph);
+        Set<EdgeChangeFeed> feeds = FEEDS.remove(graph);
+        if (feeds != null) {
+            for (EdgeChangeFeed feed : feeds) {
+                feed.close();
+            }
+        }
+    }
+
+    /**
+     * Wait for the changes up to the timeout, or until the max count of
+     * changes are received
+     * @param max the max count of changes to return
+     * @param timeout the max time to wait in milliseconds
+     * @return the changes in the order of commit, maybe empty
+     */
+    public List<Change> poll(int max, long timeout)
+                             throws InterruptedException {
+        List<Change> changes = new ArrayList<>();
+        long deadline = System.currentTimeMillis() + timeout;
+        while (changes.size() < max && !this.closed) {
+            long wait = deadline - System.currentTimeMillis();
+            if (wait <= 0L) {
+                break;
+            }
+            Change change = this.changes.poll(wait, TimeUnit.MILLISECONDS);
+            if (change == null) {
+                break;
+            }
+            changes.add(change);
+            this.changes.drainTo(changes, max - changes.size());
+        }
+        return changes;
+    }
+
+    /**
+     * Check whether any change is dropped since the last check, the buffered
+     * changes are cleared if so
+     */
+    public boolean checkOverflowed() {
+        if (!this.overflowed) {
+            return false;
+        }
+        this.overflowed = false;
+        this.changes.clear();
+        return true;
+    }
+
+    public int pending() {
+        return this.changes.size();
+    }
+
+    public boolean closed() {
+        return this.closed;
+    }
+
+    @Override
+    public void close() {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        this.hub.unlisten(Events.EDGE_ADD, this.addListener);
+        this.hub.unlisten(Events.EDGE_REMOVE, this.removeListener);
+        Set<EdgeChangeFeed> feeds = FEEDS.get(this.graph);
+        if (feeds != null) {
+            feeds.remove(this);
+        }
+        this.changes.clear();
+    }
+
+    private void offer(boolean added, HugeEdge[] edges) {
+        if (this.closed || this.overflowed) {
+            return;
+        }
+        for (HugeEdge edge : edges) {
+            Change change = new Change(added, edge.sourceVertex().id(),
+                                       edge.targetVertex().id());
+            if (!this.changes.offer(change)) {
+                LOG.warn("The edge change feed of graph '{}' is overflowed " +
+                         "with {} changes", this.graph, this.changes.size());
+                this.overflowed = true;
+                return;
+            }
+        }
+    }
+
+    public static final class Change {
+
+        private final boolean added;
+        private final Id source;
+        private final Id target;
+
+        public Change(boolean added, Id source, Id target) {
+            this.added = added;
+            this.source = source;
+            this.target = target;
+        }
+
+        public boolean added() {
+            return this.added;
+        }
+
+        public Id source() {
+            return this.source;
+        }
+
+        public Id target() {
+            return this.target;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s%s->%s", this.added ? "+" : "-",
+                                 this.source, this.target);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.job.algorithm;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.job.UserJob;
+import org.apache.hugegraph.job.algorithm.AbstractAlgorithm.AlgoTraverser;
+import org.apache.hugegraph.task.HugeTask;
+import org.apache.hugegraph.traversal.algorithm.HugeTraverser;
+import org.apache.hugegraph.util.E;
+import org.apache.hugegraph.util.InsertionOrderUtil;
+import org.apache.hugegraph.util.Log;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+import org.slf4j.Logger;
+
+/**
+ * The traverser of a long-lived algorithm task, which computes the result
+ * from the whole graph once, then keeps it fresh by applying the changed
+ * edges in batches until the task is cancelled or the graph is closed.
+ * The result is recomputed from the whole graph if any change is dropped,
+ * or if it drifts (marked stale) and the rebuild interval is passed.
+ * NOTE: the task occupies a task worker until it's cancelled, and the
+ * workers are shared by the tasks of all the graphs, so at most
+ * MAX_RUNNING_TASKS incremental tasks can run at the same time, and the
+ * tasks beyond it fail instead of starving the other tasks.
+ */
+public abstract class IncrementalAlgoTraverser extends AlgoTraverser {
+
+    private static final Logger LOG = Log.logger(IncrementalAlgoTraverser.class);
+
+    public static final int MAX_PENDING_CHANGES = 1000000;
+    public static final int MAX_BATCH_CHANGES = 10000;
+    // Leave half of the 4 task workers of TaskManager to the other tasks
+    public static final int MAX_RUNNING_TASKS = 2;
+
+    private static final Semaphore RUNNING = new Semaphore(MAX_RUNNING_TASKS);
+
+    private final UserJob<Object> job;
+    private final long maxDelay;
+    private final long rebuildInterval;
+
+    private boolean stale;
+    private long lastRebuildTime;
+    private long rebuildTimes;
+    private long appliedBatches;
+    private long appliedChanges;
+
+    public IncrementalAlgoTraverser(UserJob<Object> job, long maxDelay,
+                                    long rebuildInterval) {
+        super(job);
+        this.job = job;
+        this.maxDelay = maxDelay;
+        this.rebuildInterval = rebuildInterval;
+        this.stale = false;
+        this.lastRebuildTime = 0L;
+        this.rebuildTimes = 0L;
+        this.appliedBatches = 0L;
+        this.appliedChanges = 0L;
+    }
+
+    public Object run() {
+        E.checkState(RUNNING.tryAcquire(),
+                     "At most %s incremental algorithm tasks can run at " +
+                     "the same time, since each of them occupies a task " +
+                     "worker until cancelled", MAX_RUNNING_TASKS);
+        try {
+            return this.runIncrementally();
+        } finally {
+            RUNNING.release();
+        }
+    }
+
+    private Object runIncrementally() {
+        // Listen the changes before computing to not miss any of them
+        try (EdgeChangeFeed feed = new EdgeChangeFeed(this.graph(),
+                                                      MAX_PENDING_CHANGES)) {
+            this.rebuild();
+            while (!feed.closed() && !this.cancelled()) {
+                List<EdgeChangeFeed.Change> changes;
+                try {
+                    changes = feed.poll(MAX_BATCH_CHANGES, this.maxDelay);
+                } catch (InterruptedException e) {
+                    LOG.info("The incremental task {} is interrupted",
+                             this.jobId());
+                    break;
+                }
+                if (feed.checkOverflowed()) {
+                    this.rebuild();
+                    continue;
+                }
+                if (!changes.isEmpty()) {
+                    this.apply(changes);
+                    this.appliedBatches++;
+                    this.appliedChanges += changes.size();
+                    this.updateProgress(this.appliedChanges);
+                }
+                if (this.stale && this.rebuildDue()) {
+                    this.rebuild();
+                }
+            }
+        } catch (Throwable e) {
+            this.graph().tx().rollback();
+            throw e;
+        }
+
+        Map<String, Object> result = InsertionOrderUtil.newMap();
+        result.put("rebuild_times", this.rebuildTimes);
+        result.put("applied_batches", this.appliedBatches);
+        result.put("applied_changes", this.appliedChanges);
+        result.putAll(this.result());
+        return result;
+    }
+
+    /**
+     * @return the number of the incremental tasks running now
+     */
+    public static int runningTasks() {
+        return MAX_RUNNING_TASKS - RUNNING.availablePermits();
+    }
+
+    /**
+     * Compute the result from the whole graph and write it back
+     */
+    protected abstract void recompute();
+
+    /**
+     * Apply a batch of changed edges and write back the changed result
+     */
+    protected abstract void apply(List<EdgeChangeFeed.Change> changes);
+
+    protected abstract Map<String, Object> result();
+
+    /**
+     * Mark the result drifted from the graph, it will be recomputed after
+     * the rebuild interval
+     */
+    protected void markStale() {
+        this.stale = true;
+    }
+
+    /**
+     * Write the result of all the vertices by scanning, the vertices got by
+     * id may be cached with the vertex label before the result property is
+     * appended
+     */
+    protected void writeBackAll(String key, Function<Id, Object> values) {
+        Iterator<Vertex> vertices = this.vertices();
+        try {
+            while (vertices.hasNext()) {
+                Vertex vertex = vertices.next();
+                Object value = values.apply((Id) vertex.id());
+                if (value != null) {
+                    vertex.property(key, value);
+                    this.commitIfNeeded();
+                }
+            }
+        } finally {
+            CloseableIterator.closeIterator(vertices);
+        }
+        this.graph().tx().commit();
+    }
+
+    protected boolean writeBack(Id id, String key, Object value) {
+        Vertex vertex = this.vertex(id);
+        if (vertex == null) {
+            // The vertex has been removed
+            return false;
+        }
+        vertex.property(key, value);
+        this.commitIfNeeded();
+        return true;
+    }
+
+    private boolean cancelled() {
+        HugeTask<Object> task = this.job.task();
+        return task.cancelling() || task.cancelled() ||
+               Thread.currentThread().isInterrupted();
+    }
+
+    private void rebuild() {
+        long start = System.currentTimeMillis();
+        this.stale = false;
+        this.lastRebuildTime = start;
+        this.recompute();
+        this.rebuildTimes++;
+        LOG.info("The incremental task {} is rebuilt in {} ms",
+                 this.jobId(), System.currentTimeMillis() - start);
+    }
+
+    private boolean rebuildDue() {
+        if (this.rebuildInterval == HugeTraverser.NO_LIMIT) {
+            return false;
+        }
+        long elapsed = System.currentTimeMillis() - this.lastRebuildTime;
+        return elapsed >= this.rebuildInterval * 1000L;
+    }
+}
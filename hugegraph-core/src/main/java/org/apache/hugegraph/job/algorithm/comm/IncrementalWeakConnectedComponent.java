@@ -0,0 +1,215 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.job.algorithm.comm;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.job.UserJob;
+import org.apache.hugegraph.job.algorithm.EdgeChangeFeed;
+import org.apache.hugegraph.job.algorithm.IncrementalAlgoTraverser;
+import org.apache.hugegraph.schema.SchemaManager;
+import org.apache.hugegraph.schema.VertexLabel;
+import org.apache.hugegraph.structure.HugeEdge;
+import org.apache.hugegraph.structure.HugeVertex;
+import org.apache.hugegraph.type.define.Directions;
+import org.apache.hugegraph.util.InsertionOrderUtil;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * The weak connected component kept fresh by a long-lived task, the added
+ * edges are merged into the components by union-find, and the vertices of
+ * the smaller component are relabeled with the root of the larger one.
+ * NOTE: the union-find can't split a component, so the removed edges mark
+ * the components stale until they are recomputed after rebuild interval.
+ */
+public class IncrementalWeakConnectedComponent extends AbstractCommAlgorithm {
+
+    @Override
+    public String name() {
+        return "incremental_weak_connected_component";
+    }
+
+    @Override
+    public void checkParameters(Map<String, Object> parameters) {
+        maxDelay(parameters);
+        rebuildInterval(parameters);
+    }
+
+    @Override
+    public Object call(UserJob<Object> job, Map<String, Object> parameters) {
+        try (Traverser traverser = new Traverser(job, maxDelay(parameters),
+                                                 rebuildInterval(parameters))) {
+            return traverser.run();
+        }
+    }
+
+    private static class Traverser extends IncrementalAlgoTraverser {
+
+        // The parent of each vertex, the root is the parent of itself
+        private final Map<Id, Id> parents;
+        // The vertices of each component, keyed by root
+        private final Map<Id, List<Id>> components;
+        private long removedEdges;
+
+        public Traverser(UserJob<Object> job, long maxDelay,
+                         long rebuildInterval) {
+            super(job, maxDelay, rebuildInterval);
+            this.parents = new HashMap<>();
+            this.components = new HashMap<>();
+            this.removedEdges = 0L;
+        }
+
+        @Override
+        protected void recompute() {
+            this.initSchema();
+            this.parents.clear();
+            this.components.clear();
+
+            Iterator<Vertex> vertices = this.vertices();
+            try {
+                while (vertices.hasNext()) {
+                    this.add(((HugeVertex) vertices.next()).id());
+                }
+            } finally {
+                CloseableIterator.closeIterator(vertices);
+            }
+
+            Iterator<Edge> edges = this.edges(Directions.OUT);
+            try {
+                while (edges.hasNext()) {
+                    HugeEdge edge = (HugeEdge) edges.next();
+                    this.union(edge.ownerVertex().id(),
+                               edge.otherVertex().id(), null);
+                }
+            } finally {
+                CloseableIterator.closeIterator(edges);
+            }
+
+            this.writeBackAll(C_LABEL, vertex -> {
+                if (!this.parents.containsKey(vertex)) {
+                    // The vertex added after scanning, it's labeled by apply
+                    return null;
+                }
+                return this.find(vertex).asString();
+            });
+        }
+
+        @Override
+        protected void apply(List<EdgeChangeFeed.Change> changes) {
+            Set<Id> relabeled = InsertionOrderUtil.newSet();
+            for (EdgeChangeFeed.Change change : changes) {
+                if (!change.added()) {
+                    this.removedEdges++;
+                    this.markStale();
+                    continue;
+                }
+                for (Id vertex : new Id[]{change.source(), change.target()}) {
+                    if (!this.parents.containsKey(vertex)) {
+                        this.add(vertex);
+                        relabeled.add(vertex);
+                    }
+                }
+                this.union(change.source(), change.target(), relabeled);
+            }
+
+            for (Id vertex : relabeled) {
+                this.writeBack(vertex, C_LABEL,
+                               this.find(vertex).asString());
+            }
+            this.graph().tx().commit();
+        }
+
+        @Override
+        protected Map<String, Object> result() {
+            return ImmutableMap.of("components", this.components.size(),
+                                   "vertices", this.parents.size(),
+                                   "removed_edges", this.removedEdges);
+        }
+
+        private void initSchema() {
+            String cl = C_LABEL;
+            SchemaManager schema = this.graph().schema();
+            schema.propertyKey(cl).asText().ifNotExist().create();
+            for (VertexLabel vl : schema.getVertexLabels()) {
+                schema.vertexLabel(vl.name()).properties(cl)
+                      .nullableKeys(cl).append();
+            }
+        }
+
+        private void add(Id vertex) {
+            this.parents.put(vertex, vertex);
+            List<Id> component = new ArrayList<>();
+            component.add(vertex);
+            this.components.put(vertex, component);
+        }
+
+        private Id find(Id vertex) {
+            Id root = vertex;
+            Id parent;
+            while (!(parent = this.parents.get(root)).equals(root)) {
+                root = parent;
+            }
+            // Compress the path to the root
+            while (!vertex.equals(root)) {
+                parent = this.parents.put(vertex, root);
+                vertex = parent;
+            }
+            return root;
+        }
+
+        private void union(Id source, Id target, Set<Id> relabeled) {
+            if (!this.parents.containsKey(source) ||
+                !this.parents.containsKey(target)) {
+                // The edge of a vertex not exists
+                return;
+            }
+            Id root1 = this.find(source);
+            Id root2 = this.find(target);
+            if (root1.equals(root2)) {
+                return;
+            }
+            // Merge the smaller component into the larger one
+            List<Id> component1 = this.components.get(root1);
+            List<Id> component2 = this.components.get(root2);
+            if (component1.size() < component2.size()) {
+                Id root = root1;
+                root1 = root2;
+                root2 = root;
+                List<Id> component = component1;
+                component1 = component2;
+                component2 = component;
+            }
+            this.parents.put(root2, root1);
+            this.components.remove(root2);
+            component1.addAll(component2);
+            if (relabeled != null) {
+                relabeled.addAll(component2);
+            }
+        }
+    }
+}
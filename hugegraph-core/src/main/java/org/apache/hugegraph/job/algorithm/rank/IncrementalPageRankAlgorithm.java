@@ -0,0 +1,353 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.job.algorithm.rank;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.job.UserJob;
+import org.apache.hugegraph.job.algorithm.EdgeChangeFeed;
+import org.apache.hugegraph.job.algorithm.IncrementalAlgoTraverser;
+import org.apache.hugegraph.job.algorithm.comm.AbstractCommAlgorithm;
+import org.apache.hugegraph.schema.SchemaManager;
+import org.apache.hugegraph.schema.VertexLabel;
+import org.apache.hugegraph.structure.HugeEdge;
+import org.apache.hugegraph.structure.HugeVertex;
+import org.apache.hugegraph.type.define.Directions;
+import org.apache.hugegraph.util.InsertionOrderUtil;
+import org.apache.hugegraph.util.Log;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+import org.slf4j.Logger;
+
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * The page rank kept fresh by a long-lived task, which maintains the rank
+ * and the residual of each vertex, and pushes the residuals only around the
+ * vertices whose adjacent edges changed:
+ *   rank = alpha / N + (1 - alpha) * sum(rank(u) / degree(u))
+ * holds for each vertex once all the residuals are pushed.
+ * NOTE: unlike the page_rank algorithm, the ranks of the dangling vertices
+ * are not redistributed, and the new vertices are added with the vertices
+ * count of the last computation, which is fixed after rebuild interval.
+ */
+public class IncrementalPageRankAlgorithm extends AbstractCommAlgorithm {
+
+    private static final Logger LOG = Log.logger(
+                                      IncrementalPageRankAlgorithm.class);
+
+    @Override
+    public String name() {
+        return "incremental_page_rank";
+    }
+
+    @Override
+    public String category() {
+        return CATEGORY_RANK;
+    }
+
+    @Override
+    public void checkParameters(Map<String, Object> parameters) {
+        alpha(parameters);
+        times(parameters);
+        precision(parameters);
+        degree(parameters);
+        directionOutIn(parameters);
+        maxDelay(parameters);
+        rebuildInterval(parameters);
+    }
+
+    @Override
+    public Object call(UserJob<Object> job, Map<String, Object> parameters) {
+        try (Traverser traverser = new Traverser(job, parameters)) {
+            return traverser.run();
+        }
+    }
+
+    private static class Traverser extends IncrementalAlgoTraverser {
+
+        private static final int RANK = 0;
+        private static final int RESIDUAL = 1;
+        private static final int PUSHING = 2;
+
+        private final double alpha;
+        private final int maxTimes;
+        private final double precision;
+        private final long degree;
+        private final Directions direction;
+
+        // The rank, residual and the residual to push of each vertex
+        private final Map<Id, double[]> ranks;
+        private long numOfVertices;
+        private double threshold;
+        private long pushes;
+
+        public Traverser(UserJob<Object> job, Map<String, Object> parameters) {
+            super(job, maxDelay(parameters), rebuildInterval(parameters));
+            this.alpha = alpha(parameters);
+            this.maxTimes = times(parameters);
+            this.precision = precision(parameters);
+            this.degree = degree(parameters);
+            this.direction = directionOutIn(parameters);
+            this.ranks = new HashMap<>();
+            this.pushes = 0L;
+        }
+
+        @Override
+        protected void recompute() {
+            this.initSchema();
+            this.ranks.clear();
+
+            Iterator<Vertex> vertices = this.vertices();
+            try {
+                while (vertices.hasNext()) {
+                    Id vertex = ((HugeVertex) vertices.next()).id();
+                    this.ranks.put(vertex, new double[3]);
+                }
+            } finally {
+                CloseableIterator.closeIterator(vertices);
+            }
+            this.numOfVertices = this.ranks.size();
+            if (this.numOfVertices == 0L) {
+                return;
+            }
+            this.threshold = this.precision / this.numOfVertices;
+            double initValue = this.alpha / this.numOfVertices;
+            for (double[] rank : this.ranks.values()) {
+                rank[RESIDUAL] = initValue;
+            }
+
+            // Push the residuals of all the vertices synchronously
+            int times;
+            double residuals = 1.0;
+            for (times = 0; times < this.maxTimes; times++) {
+                for (double[] rank : this.ranks.values()) {
+                    rank[RANK] += rank[RESIDUAL];
+                    rank[PUSHING] = rank[RESIDUAL];
+                    rank[RESIDUAL] = 0.0;
+                }
+                this.pushAdjacentVertices();
+                residuals = 0.0;
+                for (double[] rank : this.ranks.values()) {
+                    residuals += Math.abs(rank[RESIDUAL]);
+                }
+                if (residuals < this.precision) {
+                    break;
+                }
+            }
+            LOG.debug("Incremental page rank computed with times: {}, " +
+                      "residuals: {}", times, residuals);
+
+            this.writeBackAll(R_RANK, vertex -> {
+                double[] rank = this.ranks.get(vertex);
+                return rank == null ? null : rank[RANK];
+            });
+        }
+
+        @Override
+        protected void apply(List<EdgeChangeFeed.Change> changes) {
+            // Group the changed adjacent vertices by the vertex pushing
+            Map<Id, List<Id>> added = InsertionOrderUtil.newMap();
+            Map<Id, List<Id>> removed = InsertionOrderUtil.newMap();
+            for (EdgeChangeFeed.Change change : changes) {
+                Id from = change.source();
+                Id to = change.target();
+                if (this.direction == Directions.IN) {
+                    from = change.target();
+                    to = change.source();
+                }
+                Map<Id, List<Id>> group = change.added() ? added : removed;
+                group.computeIfAbsent(from, k -> new ArrayList<>()).add(to);
+                // Make sure the vertex in both groups to compute the degree
+                (change.added() ? removed : added).computeIfAbsent(
+                        from, k -> new ArrayList<>());
+            }
+
+            Queue<Id> pushing = new ArrayDeque<>();
+            Set<Id> queued = new HashSet<>();
+            for (Map.Entry<Id, List<Id>> e : added.entrySet()) {
+                Id vertex = e.getKey();
+                double rank = this.rank(vertex)[RANK];
+                List<Id> adjacent = this.adjacentVertices(vertex);
+                // The adjacent vertices before the changes
+                List<Id> origin = new ArrayList<>(adjacent);
+                for (Id target : e.getValue()) {
+                    origin.remove(target);
+                }
+                origin.addAll(removed.get(vertex));
+
+                // Move the contribution from origin to current adjacent
+                double contribution = (1.0 - this.alpha) * rank;
+                if (!origin.isEmpty()) {
+                    double value = -contribution / origin.size();
+                    this.addResiduals(origin, value, pushing, queued);
+                }
+                if (!adjacent.isEmpty()) {
+                    double value = contribution / adjacent.size();
+                    this.addResiduals(adjacent, value, pushing, queued);
+                }
+            }
+
+            Set<Id> changed = InsertionOrderUtil.newSet();
+            while (!pushing.isEmpty()) {
+                Id vertex = pushing.poll();
+                queued.remove(vertex);
+                double[] rank = this.rank(vertex);
+                double residual = rank[RESIDUAL];
+                if (Math.abs(residual) <= this.threshold) {
+                    continue;
+                }
+                rank[RANK] += residual;
+                rank[RESIDUAL] = 0.0;
+                changed.add(vertex);
+                this.pushes++;
+
+                List<Id> adjacent = this.adjacentVertices(vertex);
+                if (!adjacent.isEmpty()) {
+                    double value = (1.0 - this.alpha) * residual /
+                                   adjacent.size();
+                    this.addResiduals(adjacent, value, pushing, queued);
+                }
+            }
+
+            for (Id vertex : changed) {
+                this.writeBack(vertex, R_RANK, this.rank(vertex)[RANK]);
+            }
+            this.graph().tx().commit();
+        }
+
+        @Override
+        protected Map<String, Object> result() {
+            return ImmutableMap.of("alpha", this.alpha,
+                                   "vertices", this.ranks.size(),
+                                   "pushes", this.pushes);
+        }
+
+        private void pushAdjacentVertices() {
+            Id currentSourceVertexId = null;
+            // The edges are ordered by ownerVertex
+            Iterator<Edge> edges = this.edges(this.direction);
+            List<Id> adjacentVertices = new ArrayList<>();
+            try {
+                while (edges.hasNext()) {
+                    HugeEdge edge = (HugeEdge) edges.next();
+                    Id sourceVertexId = edge.ownerVertex().id();
+                    Id targetVertexId = edge.otherVertex().id();
+
+                    if (currentSourceVertexId == null) {
+                        currentSourceVertexId = sourceVertexId;
+                        adjacentVertices.add(targetVertexId);
+                    } else if (currentSourceVertexId.equals(sourceVertexId)) {
+                        if (adjacentVertices.size() < this.degree) {
+                            adjacentVertices.add(targetVertexId);
+                        }
+                    } else {
+                        this.pushAdjacentVertices(currentSourceVertexId,
+                                                  adjacentVertices);
+                        adjacentVertices = new ArrayList<>();
+                        currentSourceVertexId = sourceVertexId;
+                        adjacentVertices.add(targetVertexId);
+                    }
+                }
+            } finally {
+                CloseableIterator.closeIterator(edges);
+            }
+            // Deal with the last vertex
+            this.pushAdjacentVertices(currentSourceVertexId, adjacentVertices);
+        }
+
+        private void pushAdjacentVertices(Id source, List<Id> adjacent) {
+            if (adjacent.isEmpty()) {
+                return;
+            }
+            double[] rank = this.ranks.get(source);
+            if (rank == null) {
+                return;
+            }
+            double value = (1.0 - this.alpha) * rank[PUSHING] /
+                           adjacent.size();
+            for (Id target : adjacent) {
+                double[] targetRank = this.ranks.get(target);
+                if (targetRank != null) {
+                    targetRank[RESIDUAL] += value;
+                }
+            }
+        }
+
+        private void addResiduals(List<Id> vertices, double value,
+                                  Queue<Id> pushing, Set<Id> queued) {
+            for (Id vertex : vertices) {
+                double[] rank = this.rank(vertex);
+                rank[RESIDUAL] += value;
+                if (Math.abs(rank[RESIDUAL]) > this.threshold &&
+                    queued.add(vertex)) {
+                    pushing.add(vertex);
+                }
+            }
+        }
+
+        private double[] rank(Id vertex) {
+            double[] rank = this.ranks.get(vertex);
+            if (rank == null) {
+                // The new vertex, the initial value drifts without rebuild
+                rank = new double[3];
+                if (this.numOfVertices == 0L) {
+                    this.numOfVertices = 1L;
+                    this.threshold = this.precision;
+                }
+                rank[RESIDUAL] = this.alpha / this.numOfVertices;
+                this.ranks.put(vertex, rank);
+                this.markStale();
+            }
+            return rank;
+        }
+
+        private List<Id> adjacentVertices(Id vertex) {
+            List<Id> adjacent = new ArrayList<>();
+            Iterator<Id> iter = this.adjacentVertices(vertex, this.direction,
+                                                      null, this.degree);
+            try {
+                while (iter.hasNext()) {
+                    adjacent.add(iter.next());
+                }
+            } finally {
+                CloseableIterator.closeIterator(iter);
+            }
+            return adjacent;
+        }
+
+        private void initSchema() {
+            SchemaManager schema = this.graph().schema();
+            schema.propertyKey(R_RANK).asDouble().ifNotExist().create();
+            for (VertexLabel vl : schema.getVertexLabels()) {
+                schema.vertexLabel(vl.name()).properties(R_RANK)
+                      .nullableKeys(R_RANK).append();
+            }
+        }
+    }
+}
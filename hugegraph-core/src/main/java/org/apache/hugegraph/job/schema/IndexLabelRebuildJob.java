@@ -18,15 +18,29 @@
 package org.apache.hugegraph.job.schema;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import org.apache.hugegraph.HugeException;
 import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.store.Shard;
 import org.apache.hugegraph.backend.tx.GraphTransaction;
 import org.apache.hugegraph.backend.tx.SchemaTransaction;
+import org.apache.hugegraph.config.CoreOptions;
+import org.apache.hugegraph.config.HugeConfig;
+import org.apache.hugegraph.exception.NotSupportException;
 import org.apache.hugegraph.type.HugeType;
 import org.apache.hugegraph.type.define.SchemaStatus;
+import org.apache.hugegraph.util.E;
+import org.apache.hugegraph.util.ExecutorUtil;
+import org.apache.hugegraph.util.InsertionOrderUtil;
 import org.apache.hugegraph.util.LockUtil;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
@@ -37,10 +51,13 @@ import org.apache.hugegraph.schema.SchemaElement;
 import org.apache.hugegraph.schema.SchemaLabel;
 import org.apache.hugegraph.schema.VertexLabel;
 import org.apache.hugegraph.structure.HugeElement;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 
 public class IndexLabelRebuildJob extends SchemaJob {
 
+    private static final String REBUILD_WORKER = "index-rebuild-worker-%d";
+
     @Override
     public String type() {
         return REBUILD_INDEX;
@@ -51,12 +68,12 @@ public class IndexLabelRebuildJob extends SchemaJob {
         SchemaElement schema = this.schemaElement();
         // If the schema does not exist, ignore it
         if (schema != null) {
-            this.rebuildIndex(schema);
+            return this.rebuildIndex(schema);
         }
         return null;
     }
 
-    private void rebuildIndex(SchemaElement schema) {
+    private Object rebuildIndex(SchemaElement schema) {
         switch (schema.type()) {
             case INDEX_LABEL:
                 IndexLabel indexLabel = (IndexLabel) schema;
@@ -68,13 +85,12 @@ public class IndexLabelRebuildJob extends SchemaJob {
                     label = this.graph().edgeLabel(indexLabel.baseValue());
                 }
                 assert label != null;
-                this.rebuildIndex(label, ImmutableSet.of(indexLabel.id()));
-                break;
+                return this.rebuildIndex(label,
+                                         ImmutableSet.of(indexLabel.id()));
             case VERTEX_LABEL:
             case EDGE_LABEL:
                 label = (SchemaLabel) schema;
-                this.rebuildIndex(label, label.indexLabels());
-                break;
+                return this.rebuildIndex(label, label.indexLabels());
             default:
                 assert schema.type() == HugeType.PROPERTY_KEY;
                 throw new AssertionError(String.format(
@@ -82,7 +98,8 @@ public class IndexLabelRebuildJob extends SchemaJob {
         }
     }
 
-    private void rebuildIndex(SchemaLabel label, Collection<Id> indexLabelIds) {
+    private Object rebuildIndex(SchemaLabel label,
+                                Collection<Id> indexLabelIds) {
         SchemaTransaction schemaTx = this.params().schemaTransaction();
         GraphTransaction graphTx = this.params().graphTransaction();
 
@@ -118,20 +135,13 @@ public class IndexLabelRebuildJob extends SchemaJob {
              */
             graphTx.commit();
 
+            Object result;
             try {
-                if (label.type() == HugeType.VERTEX_LABEL) {
-                    @SuppressWarnings("unchecked")
-                    Consumer<Vertex> consumer = (Consumer<Vertex>) indexUpdater;
-                    graphTx.traverseVerticesByLabel((VertexLabel) label,
-                                                    consumer, false);
-                } else {
-                    assert label.type() == HugeType.EDGE_LABEL;
-                    @SuppressWarnings("unchecked")
-                    Consumer<Edge> consumer = (Consumer<Edge>) indexUpdater;
-                    graphTx.traverseEdgesByLabel((EdgeLabel) label,
-                                                 consumer, false);
+                result = this.rebuildIndexByShards(label, indexLabelIds);
+                if (result == null) {
+                    traverseByLabel(graphTx, label, indexUpdater);
+                    graphTx.commit();
                 }
-                graphTx.commit();
             } catch (Throwable e) {
                 for (IndexLabel il : ils) {
                     schemaTx.updateSchemaStatus(il, SchemaStatus.INVALID);
@@ -142,11 +152,159 @@ public class IndexLabelRebuildJob extends SchemaJob {
             for (IndexLabel il : ils) {
                 schemaTx.updateSchemaStatus(il, SchemaStatus.CREATED);
             }
+            return result;
         } finally {
             locks.unlock();
         }
     }
 
+    private static void traverseByLabel(GraphTransaction graphTx,
+                                        SchemaLabel label,
+                                        Consumer<?> indexUpdater) {
+        if (label.type() == HugeType.VERTEX_LABEL) {
+            @SuppressWarnings("unchecked")
+            Consumer<Vertex> consumer = (Consumer<Vertex>) indexUpdater;
+            graphTx.traverseVerticesByLabel((VertexLabel) label,
+                                            consumer, false);
+        } else {
+            assert label.type() == HugeType.EDGE_LABEL;
+            @SuppressWarnings("unchecked")
+            Consumer<Edge> consumer = (Consumer<Edge>) indexUpdater;
+            graphTx.traverseEdgesByLabel((EdgeLabel) label,
+                                         consumer, false);
+        }
+    }
+
+    /**
+     * Split the label into shards, and rebuild the index of each shard by
+     * a worker thread with its own transaction, committed by batch, or
+     * written into sst files and ingested at last for the rocksdb backend
+     * @return the statistics of rebuilding, or null if rebuilding by single
+     *         thread or the backend can't split shards
+     */
+    private Map<String, Object> rebuildIndexByShards(
+                                SchemaLabel label,
+                                Collection<Id> indexLabelIds) {
+        HugeConfig config = this.params().configuration();
+        int threads = config.get(CoreOptions.TASK_REBUILD_INDEX_THREADS);
+        if (threads <= 1) {
+            return null;
+        }
+        HugeType type = label.type() == HugeType.VERTEX_LABEL ?
+                        HugeType.VERTEX : HugeType.EDGE_OUT;
+        long splitSize = config.get(CoreOptions.TASK_REBUILD_INDEX_SPLIT_SIZE);
+        List<Shard> shards;
+        try {
+            shards = this.graph().metadata(type, "splits", splitSize);
+        } catch (NotSupportException e) {
+            LOG.info("Rebuild index of {} by single thread since the " +
+                     "backend can't split shards", label);
+            return null;
+        }
+
+        String sst = null;
+        if (config.get(CoreOptions.TASK_REBUILD_INDEX_SST)) {
+            E.checkArgument("rocksdb".equals(this.graph().backend()) &&
+                            !config.get(CoreOptions.RAFT_MODE),
+                            "Can't rebuild index into sst files with " +
+                            "backend '%s' or raft mode", this.graph().backend());
+            sst = "rebuild-index-" + this.task().id().asString();
+        }
+
+        long start = System.currentTimeMillis();
+        long elements = 0L;
+        List<String> files = ImmutableList.of();
+        int workers = Math.max(1, Math.min(threads, shards.size()));
+        ExecutorService pool = ExecutorUtil.newFixedThreadPool(workers,
+                                                               REBUILD_WORKER);
+        try {
+            CompletionService<Long> completion =
+                    new ExecutorCompletionService<>(pool);
+            for (Shard shard : shards) {
+                String sstName = sst;
+                completion.submit(() -> {
+                    return this.rebuildIndex(label, indexLabelIds,
+                                             shard, sstName);
+                });
+            }
+            for (int i = 0; i < shards.size(); i++) {
+                // Take the shards in the order they are rebuilt
+                elements += completion.take().get();
+                // The progress is the percentage of the rebuilt shards
+                this.updateProgress((int) ((i + 1) * 100L / shards.size()));
+            }
+            if (sst != null) {
+                files = this.graph().metadata(null, "sst_ingest", sst);
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            if (sst != null) {
+                this.graph().metadata(null, "sst_discard", sst);
+            }
+            throw new HugeException("Failed to rebuild index of %s",
+                                    e, label);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        long cost = System.currentTimeMillis() - start;
+        Map<String, Object> result = InsertionOrderUtil.newMap();
+        result.put("shards", shards.size());
+        result.put("threads", workers);
+        result.put("elements", elements);
+        if (sst != null) {
+            result.put("sst_files", files.size());
+        }
+        result.put("cost", cost);
+        result.put("throughput", cost == 0L ? elements :
+                                 elements * 1000L / cost);
+        LOG.info("Rebuild index of {} by shards: {}", label, result);
+        return result;
+    }
+
+    private long rebuildIndex(SchemaLabel label, Collection<Id> indexLabelIds,
+                              Shard shard, String sst) {
+        // Each worker thread has its own graph transaction
+        GraphTransaction graphTx = this.params().graphTransaction();
+        long[] count = new long[1];
+        Consumer<?> indexUpdater = (elem) -> {
+            for (Id id : indexLabelIds) {
+                graphTx.updateIndex(id, (HugeElement) elem, false);
+            }
+            count[0]++;
+            this.flushIndex(graphTx, sst, GraphTransaction.COMMIT_BATCH);
+        };
+        try {
+            if (label.type() == HugeType.VERTEX_LABEL) {
+                @SuppressWarnings("unchecked")
+                Consumer<Vertex> consumer = (Consumer<Vertex>) indexUpdater;
+                graphTx.traverseVerticesByShard((VertexLabel) label, shard,
+                                                consumer);
+            } else {
+                assert label.type() == HugeType.EDGE_LABEL;
+                @SuppressWarnings("unchecked")
+                Consumer<Edge> consumer = (Consumer<Edge>) indexUpdater;
+                graphTx.traverseEdgesByShard((EdgeLabel) label, shard,
+                                             consumer);
+            }
+            this.flushIndex(graphTx, sst, 1);
+        } catch (Throwable e) {
+            graphTx.rollback();
+            throw e;
+        } finally {
+            this.params().closeTx();
+        }
+        return count[0];
+    }
+
+    private void flushIndex(GraphTransaction graphTx, String sst, int batch) {
+        if (sst == null) {
+            graphTx.commitIfGtSize(batch);
+        } else if (graphTx.indexMutationSize() >= batch) {
+            this.graph().metadata(null, "sst_write", sst,
+                                  graphTx.takeIndexMutation());
+        }
+    }
+
     private void removeIndex(Collection<Id> indexLabelIds) {
         SchemaTransaction schemaTx = this.params().schemaTransaction();
         GraphTransaction graphTx = this.params().graphTransaction();
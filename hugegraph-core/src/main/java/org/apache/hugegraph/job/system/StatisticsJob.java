@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.job.system;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+import org.slf4j.Logger;
+
+import org.apache.hugegraph.HugeGraph;
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.query.Query;
+import org.apache.hugegraph.config.CoreOptions;
+import org.apache.hugegraph.job.EphemeralJob;
+import org.apache.hugegraph.statistics.GraphStatistics;
+import org.apache.hugegraph.statistics.LabelStatistics;
+import org.apache.hugegraph.structure.HugeElement;
+import org.apache.hugegraph.type.HugeType;
+import org.apache.hugegraph.util.Log;
+
+/**
+ * Scan all the vertices and edges of a graph to collect the statistics of
+ * each label, the result is published to GraphStatistics of the graph.
+ */
+public class StatisticsJob<V> extends EphemeralJob<V> {
+
+    private static final Logger LOG = Log.logger(StatisticsJob.class);
+
+    private static final String JOB_TYPE = "collect_statistics";
+
+    @Override
+    public String type() {
+        return JOB_TYPE;
+    }
+
+    @Override
+    public V execute() throws Exception {
+        HugeGraph graph = this.graph();
+        GraphStatistics statistics = GraphStatistics.of(graph);
+        int sampleSize = this.params().configuration().get(
+                         CoreOptions.QUERY_STATISTICS_SAMPLE_SIZE);
+        try {
+            Map<Id, LabelStatistics> vertexLabels = new HashMap<>();
+            Query query = new Query(HugeType.VERTEX);
+            query.capacity(Query.NO_CAPACITY);
+            query.limit(Query.NO_LIMIT);
+            query.bulkScan(true);
+            Iterator<Vertex> vertices = graph.vertices(query);
+            try {
+                collect(vertices, vertexLabels, sampleSize);
+            } finally {
+                CloseableIterator.closeIterator(vertices);
+            }
+
+            Map<Id, LabelStatistics> edgeLabels = new HashMap<>();
+            query = new Query(HugeType.EDGE);
+            query.capacity(Query.NO_CAPACITY);
+            query.limit(Query.NO_LIMIT);
+            query.bulkScan(true);
+            Iterator<Edge> edges = graph.edges(query);
+            try {
+                collect(edges, edgeLabels, sampleSize);
+            } finally {
+                CloseableIterator.closeIterator(edges);
+            }
+
+            statistics.update(vertexLabels, edgeLabels);
+            LOG.info("Collected statistics of graph '{}': {} vertex labels " +
+                     "and {} edge labels", graph, vertexLabels.size(),
+                     edgeLabels.size());
+        } catch (Throwable e) {
+            statistics.abortCollecting();
+            throw e;
+        }
+        return null;
+    }
+
+    private static void collect(Iterator<?> elements,
+                                Map<Id, LabelStatistics> labels,
+                                int sampleSize) {
+        while (elements.hasNext()) {
+            HugeElement element = (HugeElement) elements.next();
+            Id label = element.schemaLabel().id();
+            labels.computeIfAbsent(label, l -> {
+                return new LabelStatistics(l, sampleSize);
+            }).add(element);
+        }
+        for (LabelStatistics stats : labels.values()) {
+            stats.finish();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.statistics;
+
+import java.util.Arrays;
+
+import org.apache.hugegraph.util.E;
+
+/**
+ * Equi-depth histogram of numeric values, each bucket holds the same number
+ * of values, so the boundaries are dense where the values are dense. It is
+ * built from a sample of the values and used to estimate the selectivity of
+ * range conditions.
+ */
+public class EquiDepthHistogram {
+
+    public static final int DEFAULT_BUCKETS = 32;
+
+    // The boundaries of buckets, bucket i is [bounds[i], bounds[i + 1]]
+    private final double[] bounds;
+
+    private EquiDepthHistogram(double[] bounds) {
+        this.bounds = bounds;
+    }
+
+    public static EquiDepthHistogram build(double[] samples, int buckets) {
+        E.checkArgument(samples.length > 0,
+                        "Can't build histogram with empty samples");
+        E.checkArgument(buckets > 0,
+                        "The buckets of histogram must be > 0, but got %s",
+                        buckets);
+        double[] sorted = Arrays.copyOf(samples, samples.length);
+        Arrays.sort(sorted);
+        buckets = Math.min(buckets, sorted.length);
+        double[] bounds = new double[buckets + 1];
+        for (int i = 0; i < buckets; i++) {
+            bounds[i] = sorted[(int) ((long) i * sorted.length / buckets)];
+        }
+        bounds[buckets] = sorted[sorted.length - 1];
+        return new EquiDepthHistogram(bounds);
+    }
+
+    public int buckets() {
+        return this.bounds.length - 1;
+    }
+
+    public double min() {
+        return this.bounds[0];
+    }
+
+    public double max() {
+        return this.bounds[this.bounds.length - 1];
+    }
+
+    /**
+     * Estimate the fraction of values in range [low, high]
+     * @param low the lower bound, null means unbounded
+     * @param high the upper bound, null means unbounded
+     * @return the selectivity in [0, 1]
+     */
+    public double selectivity(Double low, Double high) {
+        double from = low == null ? 0D : this.fractionBelow(low);
+        double to = high == null ? 1D : this.fractionNotAbove(high);
+        return Math.max(to - from, 0D);
+    }
+
+    /**
+     * The fraction of values less than x
+     */
+    private double fractionBelow(double x) {
+        int buckets = this.buckets();
+        if (x <= this.min()) {
+            return 0D;
+        }
+        if (x > this.max()) {
+            return 1D;
+        }
+        // The first bucket whose upper bound >= x
+        int i = 0;
+        while (i < buckets && this.bounds[i + 1] < x) {
+            i++;
+        }
+        return (i + this.position(i, x, false)) / buckets;
+    }
+
+    /**
+     * The fraction of values less than or equal to x
+     */
+    private double fractionNotAbove(double x) {
+        int buckets = this.buckets();
+        if (x < this.min()) {
+            return 0D;
+        }
+        if (x >= this.max()) {
+            return 1D;
+        }
+        // The last bucket whose lower bound <= x
+        int i = buckets - 1;
+        while (i > 0 && this.bounds[i] > x) {
+            i--;
+        }
+        return (i + this.position(i, x, true)) / buckets;
+    }
+
+    private double position(int bucket, double x, boolean inclusive) {
+        double lower = this.bounds[bucket];
+        double upper = this.bounds[bucket + 1];
+        if (upper <= lower) {
+            // All the values of the bucket are the same
+            return x > lower || (inclusive && x == lower) ? 1D : 0D;
+        }
+        double position = (x - lower) / (upper - lower);
+        return Math.min(Math.max(position, 0D), 1D);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("EquiDepthHistogram{buckets=%s, bounds=%s}",
+                             this.buckets(), Arrays.toString(this.bounds));
+    }
+}
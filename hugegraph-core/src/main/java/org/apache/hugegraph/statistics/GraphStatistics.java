@@ -0,0 +1,341 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.statistics;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+
+import org.apache.hugegraph.HugeGraph;
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.query.Condition.Relation;
+import org.apache.hugegraph.backend.query.ConditionQuery;
+import org.apache.hugegraph.job.EphemeralJobBuilder;
+import org.apache.hugegraph.job.system.StatisticsJob;
+import org.apache.hugegraph.schema.IndexLabel;
+import org.apache.hugegraph.structure.HugeEdge;
+import org.apache.hugegraph.structure.HugeElement;
+import org.apache.hugegraph.structure.HugeVertex;
+import org.apache.hugegraph.type.HugeType;
+import org.apache.hugegraph.type.define.Directions;
+import org.apache.hugegraph.type.define.IndexType;
+import org.apache.hugegraph.util.Log;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * The statistics of a graph collected by StatisticsJob in background, which
+ * are used to estimate the result size of index queries, so that the query
+ * planner can pick the cheapest index or index combination.
+ *
+ * After collected, the counts and the distinct values are maintained
+ * incrementally by the committed transactions, and StatisticsJob only
+ * collects again when the changed elements exceed REFRESH_RATIO of the
+ * collected elements, since the value distribution and the removed
+ * distinct values can't be maintained incrementally.
+ */
+public class GraphStatistics {
+
+    private static final Logger LOG = Log.logger(GraphStatistics.class);
+
+    // The selectivity if can't be estimated by statistics
+    private static final double DEFAULT_SELECTIVITY = 0.1D;
+    // Collect again if the changed elements exceed the ratio of collected
+    private static final double REFRESH_RATIO = 0.2D;
+    private static final long REFRESH_MIN_CHANGES = 1000L;
+
+    private static final Map<String, GraphStatistics> GRAPHS =
+                         new ConcurrentHashMap<>();
+
+    private volatile Map<Id, LabelStatistics> vertexLabels;
+    private volatile Map<Id, LabelStatistics> edgeLabels;
+    private volatile long updateTime;
+    private volatile long collected;
+    private final AtomicLong changes;
+    private final AtomicBoolean collecting;
+
+    public GraphStatistics() {
+        this.vertexLabels = ImmutableMap.of();
+        this.edgeLabels = ImmutableMap.of();
+        this.updateTime = 0L;
+        this.collected = 0L;
+        this.changes = new AtomicLong(0L);
+        this.collecting = new AtomicBoolean(false);
+    }
+
+    public static GraphStatistics of(HugeGraph graph) {
+        return GRAPHS.computeIfAbsent(graph.name(),
+                                      name -> new GraphStatistics());
+    }
+
+    /**
+     * Remove the statistics of a graph when it's cleared, truncated or
+     * closed, then they will be collected again when needed
+     */
+    public static void remove(String graph) {
+        GRAPHS.remove(graph);
+    }
+
+    /**
+     * Schedule a StatisticsJob if the statistics are not collected, or if
+     * they are older than `interval` and too many elements are changed
+     * @param graph the graph to collect statistics
+     * @param interval the min interval in seconds, 0 means never collect
+     */
+    public static void collectIfNeeded(HugeGraph graph, long interval) {
+        if (interval <= 0L) {
+            return;
+        }
+        GraphStatistics stats = of(graph);
+        if (stats.collected() && !stats.needRefresh(interval)) {
+            return;
+        }
+        if (!stats.collecting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            EphemeralJobBuilder.of(graph)
+                               .name("collect_statistics")
+                               .job(new StatisticsJob<>())
+                               .schedule();
+        } catch (Throwable e) {
+            stats.collecting.set(false);
+            LOG.warn("Failed to schedule statistics job of graph '{}'",
+                     graph, e);
+        }
+    }
+
+    public synchronized void update(Map<Id, LabelStatistics> vertexLabels,
+                                    Map<Id, LabelStatistics> edgeLabels) {
+        this.vertexLabels = new ConcurrentHashMap<>(vertexLabels);
+        this.edgeLabels = new ConcurrentHashMap<>(edgeLabels);
+        long collected = 0L;
+        for (LabelStatistics stats : vertexLabels.values()) {
+            collected += stats.count();
+        }
+        for (LabelStatistics stats : edgeLabels.values()) {
+            collected += stats.count();
+        }
+        this.collected = collected;
+        this.changes.set(0L);
+        this.updateTime = System.currentTimeMillis();
+        this.collecting.set(false);
+    }
+
+    /**
+     * Update the statistics with the elements of a committed transaction,
+     * the updated elements are only counted as changes
+     * @param overwritten the existing elements overwritten by the added
+     *                    ones, which are replaced so that an upsert doesn't
+     *                    increase the count of its label
+     */
+    public synchronized void update(Collection<HugeVertex> addedVertices,
+                                    Collection<HugeVertex> removedVertices,
+                                    Collection<HugeEdge> addedEdges,
+                                    Collection<HugeEdge> removedEdges,
+                                    Collection<HugeElement> overwritten,
+                                    int updated) {
+        if (!this.collected()) {
+            return;
+        }
+        for (HugeElement element : overwritten) {
+            Map<Id, LabelStatistics> labels = element.type().isVertex() ?
+                                              this.vertexLabels :
+                                              this.edgeLabels;
+            this.labelStatistics(labels, element).decrease(element);
+        }
+        for (HugeVertex vertex : addedVertices) {
+            this.labelStatistics(this.vertexLabels, vertex).increase(vertex);
+        }
+        for (HugeVertex vertex : removedVertices) {
+            this.labelStatistics(this.vertexLabels, vertex).decrease(vertex);
+        }
+        for (HugeEdge edge : addedEdges) {
+            this.labelStatistics(this.edgeLabels, edge).increase(edge);
+        }
+        for (HugeEdge edge : removedEdges) {
+            this.labelStatistics(this.edgeLabels, edge).decrease(edge);
+        }
+        this.changes.addAndGet((long) addedVertices.size() +
+                               removedVertices.size() + addedEdges.size() +
+                               removedEdges.size() + updated);
+    }
+
+    private boolean needRefresh(long interval) {
+        long now = System.currentTimeMillis();
+        if (now - this.updateTime < interval * 1000L) {
+            return false;
+        }
+        long threshold = Math.max((long) (this.collected * REFRESH_RATIO),
+                                  REFRESH_MIN_CHANGES);
+        return this.changes.get() >= threshold;
+    }
+
+    private LabelStatistics labelStatistics(Map<Id, LabelStatistics> labels,
+                                            HugeElement element) {
+        // The value distribution of new labels is unknown until collected
+        return labels.computeIfAbsent(element.schemaLabel().id(),
+                                      label -> new LabelStatistics(label, 0));
+    }
+
+    public void abortCollecting() {
+        this.collecting.set(false);
+    }
+
+    public boolean collected() {
+        return this.updateTime > 0L;
+    }
+
+    public long updateTime() {
+        return this.updateTime;
+    }
+
+    public long changes() {
+        return this.changes.get();
+    }
+
+    public LabelStatistics vertexLabel(Id label) {
+        return this.vertexLabels.get(label);
+    }
+
+    public LabelStatistics edgeLabel(Id label) {
+        return this.edgeLabels.get(label);
+    }
+
+    /**
+     * @return the count of vertices or edges of a label, or -1 if unknown
+     */
+    public long count(HugeType type, Id label) {
+        LabelStatistics stats = this.labelStatistics(type, label);
+        return stats == null ? -1L : stats.count();
+    }
+
+    /**
+     * @return the average degree of vertices linked by an edge label in a
+     *         direction, or -1 if unknown
+     */
+    public double averageDegree(Id edgeLabel, Directions direction) {
+        LabelStatistics stats = this.edgeLabels.get(edgeLabel);
+        return stats == null ? -1D : stats.averageDegree(direction);
+    }
+
+    /**
+     * Estimate the number of elements matched by querying an index label
+     * @return the estimated count, or -1 if can't be estimated
+     */
+    public long estimate(IndexLabel indexLabel, ConditionQuery query) {
+        HugeType baseType = indexLabel.baseType();
+        if (baseType != HugeType.VERTEX_LABEL &&
+            baseType != HugeType.EDGE_LABEL) {
+            return -1L;
+        }
+        HugeType type = baseType == HugeType.VERTEX_LABEL ?
+                        HugeType.VERTEX : HugeType.EDGE;
+        LabelStatistics stats = this.labelStatistics(type,
+                                                     indexLabel.baseValue());
+        if (stats == null) {
+            return -1L;
+        }
+
+        List<Id> fields = indexLabel.indexFields();
+        double estimate = stats.propertyCount(fields.get(0));
+        for (Id field : fields) {
+            if (!query.userpropKeys().contains(field)) {
+                // Only the prefix fields of composite index are matched
+                break;
+            }
+            estimate *= selectivity(stats, indexLabel.indexType(),
+                                    field, query);
+        }
+        return Math.max(Math.round(estimate), 1L);
+    }
+
+    private LabelStatistics labelStatistics(HugeType type, Id label) {
+        if (type.isVertex()) {
+            return this.vertexLabels.get(label);
+        } else {
+            assert type.isEdge();
+            return this.edgeLabels.get(label);
+        }
+    }
+
+    private static double selectivity(LabelStatistics stats,
+                                      IndexType indexType,
+                                      Id field, ConditionQuery query) {
+        Double low = null;
+        Double high = null;
+        boolean range = false;
+        for (Relation r : query.userpropRelations()) {
+            if (!field.equals(r.key())) {
+                continue;
+            }
+            switch (r.relation()) {
+                case EQ:
+                case CONTAINS:
+                    long distinct = stats.distinctValues(field);
+                    return distinct > 0L ? 1D / distinct : DEFAULT_SELECTIVITY;
+                case GT:
+                case GTE:
+                    range = true;
+                    low = maxOf(low, toDouble(r.value()));
+                    break;
+                case LT:
+                case LTE:
+                    range = true;
+                    high = minOf(high, toDouble(r.value()));
+                    break;
+                default:
+                    // Like search index, can't estimate now
+                    return DEFAULT_SELECTIVITY;
+            }
+        }
+        EquiDepthHistogram histogram = stats.histogram(field);
+        if (!range || !indexType.isRange() || histogram == null) {
+            return DEFAULT_SELECTIVITY;
+        }
+        return histogram.selectivity(low, high);
+    }
+
+    private static Double toDouble(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        } else if (value instanceof Date) {
+            return (double) ((Date) value).getTime();
+        }
+        return null;
+    }
+
+    private static Double maxOf(Double v1, Double v2) {
+        if (v1 == null || v2 == null) {
+            return v1 == null ? v2 : v1;
+        }
+        return Math.max(v1, v2);
+    }
+
+    private static Double minOf(Double v1, Double v2) {
+        if (v1 == null || v2 == null) {
+            return v1 == null ? v2 : v1;
+        }
+        return Math.min(v1, v2);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.statistics;
+
+import java.nio.charset.StandardCharsets;
+
+import org.apache.hugegraph.util.E;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+/**
+ * HyperLogLog sketch to estimate the number of distinct values, the
+ * standard error is about 1.04 / sqrt(2 ^ precision), it's 1.6% with the
+ * default precision 12 which takes 4KB memory.
+ */
+public class HyperLogLog {
+
+    public static final int DEFAULT_PRECISION = 12;
+
+    private static final HashFunction HASH = Hashing.murmur3_128();
+
+    private final int precision;
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    public HyperLogLog(int precision) {
+        E.checkArgument(precision >= 4 && precision <= 16,
+                        "The precision of HyperLogLog must be in [4, 16], " +
+                        "but got %s", precision);
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    public void add(Object value) {
+        byte[] bytes = value instanceof byte[] ? (byte[]) value :
+                       String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+        this.addHash(HASH.hashBytes(bytes).asLong());
+    }
+
+    public void addHash(long hash) {
+        int index = (int) (hash >>> (Long.SIZE - this.precision));
+        // The position of the leftmost 1 of the remaining bits
+        long remaining = (hash << this.precision) | (1L << (this.precision - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(remaining) + 1);
+        if (rank > this.registers[index]) {
+            this.registers[index] = rank;
+        }
+    }
+
+    public void merge(HyperLogLog other) {
+        E.checkArgument(this.precision == other.precision,
+                        "Can't merge HyperLogLog with different precision " +
+                        "%s and %s", this.precision, other.precision);
+        for (int i = 0; i < this.registers.length; i++) {
+            if (other.registers[i] > this.registers[i]) {
+                this.registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    public long cardinality() {
+        int m = this.registers.length;
+        double sum = 0D;
+        int zeros = 0;
+        for (byte register : this.registers) {
+            sum += 1D / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = alpha(m) * m * m / sum;
+        if (estimate <= 2.5D * m && zeros > 0) {
+            // Small range correction by linear counting
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    private static double alpha(int m) {
+        switch (m) {
+            case 16:
+                return 0.673D;
+            case 32:
+                return 0.697D;
+            case 64:
+                return 0.709D;
+            default:
+                return 0.7213D / (1D + 1.079D / m);
+        }
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.statistics;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.structure.HugeEdge;
+import org.apache.hugegraph.structure.HugeElement;
+import org.apache.hugegraph.structure.HugeProperty;
+import org.apache.hugegraph.type.define.Directions;
+
+/**
+ * The statistics of a vertex label or an edge label, including the count
+ * of elements, the distinct values and the value distribution of each
+ * property, and the average degree of the vertices linked by an edge label.
+ */
+public class LabelStatistics {
+
+    private final Id label;
+    private final int sampleSize;
+    private final Random random;
+
+    // Updated by committed transactions while being read by queries
+    private volatile long count;
+    private final Map<Id, PropertyStatistics> properties;
+    // The distinct source/target vertices of an edge label
+    private final HyperLogLog sources;
+    private final HyperLogLog targets;
+
+    public LabelStatistics(Id label, int sampleSize) {
+        this.label = label;
+        this.sampleSize = sampleSize;
+        this.random = new Random();
+
+        this.count = 0L;
+        this.properties = new ConcurrentHashMap<>();
+        this.sources = new HyperLogLog();
+        this.targets = new HyperLogLog();
+    }
+
+    public Id label() {
+        return this.label;
+    }
+
+    public void add(HugeElement element) {
+        this.count++;
+        for (HugeProperty<?> property : element.getProperties()) {
+            Id key = property.propertyKey().id();
+            this.propertyStatistics(key).add(property.value(), true);
+        }
+        this.addEdgeVertices(element);
+    }
+
+    /**
+     * Update the statistics with an element committed after collecting,
+     * the value distribution isn't updated until collecting again
+     */
+    public void increase(HugeElement element) {
+        this.count++;
+        for (HugeProperty<?> property : element.getProperties()) {
+            Id key = property.propertyKey().id();
+            this.propertyStatistics(key).add(property.value(), false);
+        }
+        this.addEdgeVertices(element);
+    }
+
+    /**
+     * Update the statistics with an element removed after collecting,
+     * the distinct values can't be decreased and are left as they are
+     */
+    public void decrease(HugeElement element) {
+        this.count = Math.max(this.count - 1L, 0L);
+        for (HugeProperty<?> property : element.getProperties()) {
+            PropertyStatistics stats = this.properties.get(
+                                       property.propertyKey().id());
+            if (stats != null) {
+                stats.count = Math.max(stats.count - 1L, 0L);
+            }
+        }
+    }
+
+    private PropertyStatistics propertyStatistics(Id key) {
+        return this.properties.computeIfAbsent(key,
+                                               k -> new PropertyStatistics());
+    }
+
+    private void addEdgeVertices(HugeElement element) {
+        if (element instanceof HugeEdge) {
+            HugeEdge edge = (HugeEdge) element;
+            this.sources.add(edge.sourceVertex().id().asBytes());
+            this.targets.add(edge.targetVertex().id().asBytes());
+        }
+    }
+
+    /**
+     * Build the histograms after all the elements are added
+     */
+    public void finish() {
+        for (PropertyStatistics stats : this.properties.values()) {
+            stats.finish();
+        }
+    }
+
+    public long count() {
+        return this.count;
+    }
+
+    /**
+     * @return the estimated number of distinct values of the property,
+     *         or -1 if the property doesn't exist
+     */
+    public long distinctValues(Id key) {
+        PropertyStatistics stats = this.properties.get(key);
+        if (stats == null) {
+            return -1L;
+        }
+        return Math.max(stats.distinct.cardinality(), 1L);
+    }
+
+    /**
+     * @return the count of elements which have the property
+     */
+    public long propertyCount(Id key) {
+        PropertyStatistics stats = this.properties.get(key);
+        return stats == null ? 0L : stats.count;
+    }
+
+    /**
+     * @return the histogram of a numeric property, or null if the property
+     *         doesn't exist or is not numeric
+     */
+    public EquiDepthHistogram histogram(Id key) {
+        PropertyStatistics stats = this.properties.get(key);
+        return stats == null ? null : stats.histogram;
+    }
+
+    /**
+     * @return the average degree of the source (OUT) or target (IN)
+     *         vertices of an edge label
+     */
+    public double averageDegree(Directions direction) {
+        if (this.count == 0L) {
+            return 0D;
+        }
+        long vertices;
+        if (direction == Directions.OUT) {
+            vertices = this.sources.cardinality();
+        } else if (direction == Directions.IN) {
+            vertices = this.targets.cardinality();
+        } else {
+            vertices = this.sources.cardinality() +
+                       this.targets.cardinality();
+            return vertices == 0L ? 0D : 2D * this.count / vertices;
+        }
+        return vertices == 0L ? 0D : (double) this.count / vertices;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LabelStatistics{label=%s, count=%s}",
+                             this.label, this.count);
+    }
+
+    private class PropertyStatistics {
+
+        private final HyperLogLog distinct;
+        // The count of elements which have the property
+        private volatile long count;
+        // Reservoir samples of numeric values
+        private double[] samples;
+        private int sampled;
+        private long values;
+        private boolean numeric;
+        private EquiDepthHistogram histogram;
+
+        public PropertyStatistics() {
+            this.distinct = new HyperLogLog();
+            this.count = 0L;
+            this.samples = null;
+            this.sampled = 0;
+            this.values = 0L;
+            this.numeric = true;
+            this.histogram = null;
+        }
+
+        /**
+         * Add the value of an element, the element is counted once even if
+         * it's a set/list value with multiple items
+         */
+        public void add(Object value, boolean sample) {
+            this.count++;
+            if (value instanceof Collection) {
+                for (Object v : (Collection<?>) value) {
+                    this.addValue(v, sample);
+                }
+            } else {
+                this.addValue(value, sample);
+            }
+        }
+
+        private void addValue(Object value, boolean sample) {
+            this.distinct.add(value);
+            if (!sample || !this.numeric) {
+                return;
+            }
+            double number;
+            if (value instanceof Number) {
+                number = ((Number) value).doubleValue();
+            } else if (value instanceof Date) {
+                number = ((Date) value).getTime();
+            } else {
+                // Not numeric, discard the samples
+                this.numeric = false;
+                this.samples = null;
+                return;
+            }
+            if (this.samples == null) {
+                this.samples = new double[sampleSize];
+            }
+            this.values++;
+            if (this.sampled < sampleSize) {
+                this.samples[this.sampled++] = number;
+            } else {
+                // Replace a sample with the probability sampleSize/values
+                long index = (long) (random.nextDouble() * this.values);
+                if (index < sampleSize) {
+                    this.samples[(int) index] = number;
+                }
+            }
+        }
+
+        public void finish() {
+            if (this.numeric && this.sampled > 0) {
+                double[] values = this.sampled < this.samples.length ?
+                                  Arrays.copyOf(this.samples, this.sampled) :
+                                  this.samples;
+                this.histogram = EquiDepthHistogram.build(
+                                 values, EquiDepthHistogram.DEFAULT_BUCKETS);
+            }
+            this.samples = null;
+        }
+    }
+}
@@ -382,11 +382,18 @@ public final class TaskManager {
 
         @Override
         public V call() throws Exception {
+            // Restore the previous context of the thread which may be a
+            // fork-join worker executing a nested task
+            String previous = getContext();
             setContext(this.context);
             try {
                 return this.callable.call();
             } finally {
-                resetContext();
+                if (previous == null) {
+                    resetContext();
+                } else {
+                    setContext(previous);
+                }
             }
         }
     }
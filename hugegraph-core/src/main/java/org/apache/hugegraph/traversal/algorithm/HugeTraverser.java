@@ -17,19 +17,26 @@
 
 package org.apache.hugegraph.traversal.algorithm;
 
+import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import jakarta.ws.rs.core.MultivaluedHashMap;
 import jakarta.ws.rs.core.MultivaluedMap;
 
 import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.hugegraph.HugeException;
 import org.apache.hugegraph.HugeGraph;
 import org.apache.hugegraph.backend.id.Id;
@@ -47,6 +54,7 @@ import org.apache.hugegraph.type.define.Directions;
 import org.apache.hugegraph.type.define.HugeKeys;
 import org.apache.hugegraph.util.collection.CollectionFactory;
 import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.slf4j.Logger;
 
 import org.apache.hugegraph.exception.NotFoundException;
@@ -118,9 +126,11 @@ public class HugeTraverser {
         }
 
         Set<Id> neighbors = newIdSet();
-        for (Id source : vertices) {
-            Iterator<Edge> edges = this.edgesOfVertex(source, dir,
-                                                      label, degree);
+        Iterator<Pair<Id, Iterator<Edge>>> adjacencies;
+        adjacencies = this.edgesOfVertices(vertices.iterator(), dir,
+                                           label, degree);
+        while (adjacencies.hasNext()) {
+            Iterator<Edge> edges = adjacencies.next().getRight();
             while (edges.hasNext()) {
                 HugeEdge e = (HugeEdge) edges.next();
                 Id target = e.id().otherVertexId();
@@ -160,6 +170,34 @@ public class HugeTraverser {
     @Watched
     protected Iterator<Edge> edgesOfVertex(Id source, Directions dir,
                                            Id label, long limit) {
+        return this.graph.edges(edgesQuery(source, dir, label, limit));
+    }
+
+    /**
+     * Look up the edges of the vertices from current thread, several
+     * lookups are sent to backend asynchronously at the same time instead
+     * of waiting for each one in turn. The edges are returned in the order
+     * of the vertices.
+     */
+    protected Iterator<Pair<Id, Iterator<Edge>>> edgesOfVertices(
+                                                 Iterator<Id> sources,
+                                                 Directions dir, Id label,
+                                                 long limit) {
+        int lookups = this.graph.option(CoreOptions.OLTP_ASYNC_LOOKUPS);
+        if (lookups <= 1) {
+            return new MapperIterator<>(sources, source -> {
+                return Pair.of(source, this.edgesOfVertex(source, dir,
+                                                          label, limit));
+            });
+        }
+        return new AsyncEdgesIterator(sources, lookups, source -> {
+            return this.graph.edgesAsync(edgesQuery(source, dir,
+                                                    label, limit));
+        });
+    }
+
+    private static Query edgesQuery(Id source, Directions dir,
+                                    Id label, long limit) {
         Id[] labels = {};
         if (label != null) {
             labels = new Id[]{label};
@@ -168,8 +206,10 @@ public class HugeTraverser {
         Query query = GraphTransaction.constructEdgesQuery(source, dir, labels);
         if (limit != NO_LIMIT) {
             query.limit(limit);
+            // Allow to sample the edges of super node instead of the first
+            query.sampling(true);
         }
-        return this.graph.edges(query);
+        return query;
     }
 
     @Watched
@@ -194,13 +234,33 @@ public class HugeTraverser {
         });
     }
 
+    /**
+     * Get the edges of the vertex, or none of them if it's a super node with
+     * edges not less than skip degree, which is checked by the degree
+     * counters without scanning the edges if available
+     */
+    protected Iterator<Edge> edgesOfVertex(Id source, Directions dir,
+                                           Map<Id, String> labels,
+                                           long degree, long skipDegree) {
+        long count = skipDegree > 0L ?
+                     this.degreeOfVertex(source, dir, labels) : NO_LIMIT;
+        if (count == NO_LIMIT) {
+            long limit = skipDegree > 0L ? skipDegree : degree;
+            Iterator<Edge> edges = this.edgesOfVertex(source, dir,
+                                                      labels, limit);
+            return skipSuperNodeIfNeeded(edges, degree, skipDegree);
+        }
+        if (count >= skipDegree) {
+            return QueryResults.emptyIterator();
+        }
+        return this.edgesOfVertex(source, dir, labels, degree);
+    }
+
     protected Iterator<Edge> edgesOfVertex(Id source, EdgeStep edgeStep) {
         if (edgeStep.properties() == null || edgeStep.properties().isEmpty()) {
-            Iterator<Edge> edges = this.edgesOfVertex(source,
-                                                      edgeStep.direction(),
-                                                      edgeStep.labels(),
-                                                      edgeStep.limit());
-            return edgeStep.skipSuperNodeIfNeeded(edges);
+            return this.edgesOfVertex(source, edgeStep.direction(),
+                                      edgeStep.labels(), edgeStep.degree(),
+                                      edgeStep.skipDegree());
         }
         return this.edgesOfVertex(source, edgeStep, false);
     }
@@ -289,6 +349,39 @@ public class HugeTraverser {
         }
     }
 
+    /**
+     * @return the count of edges of the vertex got by the degree counters,
+     *         or NO_LIMIT if the degree counters are not available
+     */
+    protected long degreeOfVertex(Id source, Directions dir,
+                                  Map<Id, String> labels) {
+        Id[] edgeLabels = labels == null ? new Id[0] :
+                          labels.keySet().toArray(new Id[0]);
+        if (!GraphTransaction.degreeCountable(this.graph, edgeLabels)) {
+            return NO_LIMIT;
+        }
+        Query query = GraphTransaction.constructEdgesQuery(source, dir,
+                                                           edgeLabels);
+        query.aggregate(Aggregate.AggregateFunc.COUNT, null);
+        query.capacity(Query.NO_CAPACITY);
+        query.limit(Query.NO_LIMIT);
+        return this.graph.queryNumber(query).longValue();
+    }
+
+    protected boolean superNode(Id vertex, Directions dir,
+                                Map<Id, String> labels, long skipDegree) {
+        if (skipDegree <= 0L) {
+            return false;
+        }
+        long count = this.degreeOfVertex(vertex, dir, labels);
+        if (count == NO_LIMIT) {
+            Iterator<Edge> edges = this.edgesOfVertex(vertex, dir, labels,
+                                                      skipDegree);
+            count = IteratorUtils.count(edges);
+        }
+        return count >= skipDegree;
+    }
+
     protected Object getVertexLabelId(Object label) {
         if (label == null) {
             return null;
@@ -484,6 +577,63 @@ public class HugeTraverser {
         return path;
     }
 
+    private static class AsyncEdgesIterator
+                   implements Iterator<Pair<Id, Iterator<Edge>>> {
+
+        private final Iterator<Id> sources;
+        private final int maxPending;
+        private final Function<Id, CompletableFuture<Iterator<Edge>>> lookup;
+        private final Deque<Pair<Id, CompletableFuture<Iterator<Edge>>>>
+                      pending;
+
+        public AsyncEdgesIterator(Iterator<Id> sources, int maxPending,
+                                  Function<Id, CompletableFuture<
+                                               Iterator<Edge>>> lookup) {
+            this.sources = sources;
+            this.maxPending = maxPending;
+            this.lookup = lookup;
+            this.pending = new ArrayDeque<>(maxPending);
+        }
+
+        @Override
+        public boolean hasNext() {
+            this.fill();
+            return !this.pending.isEmpty();
+        }
+
+        @Override
+        public Pair<Id, Iterator<Edge>> next() {
+            this.fill();
+            Pair<Id, CompletableFuture<Iterator<Edge>>> head;
+            head = this.pending.poll();
+            if (head == null) {
+                throw new NoSuchElementException();
+            }
+            Iterator<Edge> edges;
+            try {
+                edges = head.getRight().join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new HugeException("Failed to query edges of '%s'",
+                                        cause, head.getLeft());
+            }
+            // Send the next lookup before the edges are consumed
+            this.fill();
+            return Pair.of(head.getLeft(), edges);
+        }
+
+        private void fill() {
+            while (this.pending.size() < this.maxPending &&
+                   this.sources.hasNext()) {
+                Id source = this.sources.next();
+                this.pending.add(Pair.of(source, this.lookup.apply(source)));
+            }
+        }
+    }
+
     public static class Node {
 
         private final Id id;
@@ -21,6 +21,9 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 import com.google.common.base.Objects;
@@ -29,6 +32,8 @@ import org.apache.hugegraph.HugeGraph;
 import org.apache.hugegraph.backend.id.Id;
 import org.apache.hugegraph.config.CoreOptions;
 import org.apache.hugegraph.util.Consumers;
+import org.apache.hugegraph.util.ForkJoinConsumers;
+import org.apache.hugegraph.util.VirtualThreads;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
@@ -40,25 +45,74 @@ public abstract class OltpTraverser extends HugeTraverser
                                     implements AutoCloseable {
 
     private static final String EXECUTOR_NAME = "oltp";
-    private static Consumers.ExecutorPool executors;
+    private static volatile Consumers.ExecutorPool executors;
+    /*
+     * The workers of each traversal, the permits of backend queries and
+     * the permits of items buffered for the workers, which are shared by
+     * all the traversals to bound the backend sessions and the memory
+     */
+    private static volatile int virtualWorkers = 0;
+    private static volatile Semaphore queryPermits = null;
+    private static volatile Semaphore pendingPermits = null;
+    private static volatile int pendingLimit = 0;
+    // Whether the current worker runs under a query permit
+    private static final ThreadLocal<Boolean> PERMITTED = new ThreadLocal<>();
+    // The pool and batch size of the work-stealing engine
+    private static volatile ForkJoinPool stealingPool = null;
+    private static volatile int stealingBatch = 0;
 
     protected OltpTraverser(HugeGraph graph) {
         super(graph);
-        if (executors != null) {
+        if (executors != null || stealingPool != null) {
             return;
         }
         synchronized (OltpTraverser.class) {
-            if (executors != null) {
+            if (executors != null || stealingPool != null) {
                 return;
             }
             int workers = this.graph()
                               .option(CoreOptions.OLTP_CONCURRENT_THREADS);
             if (workers > 0) {
-                executors = new Consumers.ExecutorPool(EXECUTOR_NAME, workers);
+                boolean virtual = this.initVirtualWorkers(workers);
+                if (!virtual && this.initWorkStealing(workers)) {
+                    return;
+                }
+                executors = new Consumers.ExecutorPool(EXECUTOR_NAME, workers,
+                                                       virtual);
             }
         }
     }
 
+    private boolean initVirtualWorkers(int workers) {
+        if (!this.graph().option(CoreOptions.OLTP_VIRTUAL_THREADS)) {
+            return false;
+        }
+        if (!VirtualThreads.supported()) {
+            LOG.warn("Virtual threads require JDK 21+, fall back to {} " +
+                     "platform threads for oltp algorithm", workers);
+            return false;
+        }
+        int permits = this.graph()
+                          .option(CoreOptions.OLTP_VIRTUAL_MAX_QUERIES);
+        pendingLimit = this.graph()
+                           .option(CoreOptions.OLTP_VIRTUAL_MAX_PENDING);
+        pendingPermits = new Semaphore(pendingLimit);
+        queryPermits = new Semaphore(permits);
+        virtualWorkers = workers;
+        return true;
+    }
+
+    private boolean initWorkStealing(int workers) {
+        String engine = this.graph()
+                            .option(CoreOptions.OLTP_CONCURRENT_ENGINE);
+        if (!"work_stealing".equals(engine)) {
+            return false;
+        }
+        stealingBatch = this.graph().option(CoreOptions.OLTP_STEALING_BATCH);
+        stealingPool = ForkJoinConsumers.newPool(EXECUTOR_NAME, workers);
+        return true;
+    }
+
     @Override
     public void close() {
         // pass
@@ -70,6 +124,15 @@ public abstract class OltpTraverser extends HugeTraverser
                 executors.destroy();
                 executors = null;
             }
+            if (stealingPool != null) {
+                stealingPool.shutdown();
+                stealingPool = null;
+            }
+            stealingBatch = 0;
+            virtualWorkers = 0;
+            queryPermits = null;
+            pendingPermits = null;
+            pendingLimit = 0;
         }
     }
 
@@ -101,6 +164,15 @@ public abstract class OltpTraverser extends HugeTraverser
         if (!iterator.hasNext()) {
             return 0L;
         }
+        if (stealingPool != null) {
+            return this.traverseByWorkStealing(iterator, consumer);
+        }
+
+        int workers = virtualWorkers;
+        if (workers > 0) {
+            return this.traverseByVirtualWorkers(iterator, consumer, name,
+                                                 workers);
+        }
 
         Consumers<K> consumers = new Consumers<>(executors.getExecutor(),
                                                  consumer, null);
@@ -129,6 +201,92 @@ public abstract class OltpTraverser extends HugeTraverser
         return total;
     }
 
+    private <K> long traverseByVirtualWorkers(Iterator<K> iterator,
+                                              Consumer<K> consumer,
+                                              String name, int workers) {
+        /*
+         * Each virtual worker is a new thread, which should close the
+         * thread-local transactions when done. The concurrent backend
+         * queries are limited by the query permits instead of threads,
+         * and the items buffered in the queues by the pending permits,
+         * which are released once taken by the workers. A traversal nested
+         * in a worker runs under the query permit held by the worker, so
+         * it won't wait for the permits held by its callers.
+         */
+        Semaphore queries = queryPermits;
+        Semaphore pending = pendingPermits;
+        boolean nested = PERMITTED.get() != null;
+        AtomicInteger buffered = new AtomicInteger();
+        Consumer<K> limited = k -> {
+            buffered.decrementAndGet();
+            pending.release();
+            if (!nested) {
+                queries.acquireUninterruptibly();
+            }
+            PERMITTED.set(Boolean.TRUE);
+            try {
+                consumer.accept(k);
+            } finally {
+                PERMITTED.remove();
+                if (!nested) {
+                    queries.release();
+                }
+            }
+        };
+        int queueSize = Math.min(Consumers.QUEUE_WORKER_SIZE * workers,
+                                 pendingLimit);
+        Consumers<K> consumers = new Consumers<>(executors.getExecutor(),
+                                                 limited,
+                                                 this.graph()::closeTx,
+                                                 workers, queueSize);
+        consumers.start(name);
+        long total = 0L;
+        try {
+            while (iterator.hasNext()) {
+                total++;
+                K v = iterator.next();
+                pending.acquireUninterruptibly();
+                buffered.incrementAndGet();
+                consumers.provide(v);
+            }
+        } catch (Consumers.StopExecution e) {
+            // pass
+        } catch (Throwable e) {
+            throw Consumers.wrapException(e);
+        } finally {
+            try {
+                consumers.await();
+            } catch (Throwable e) {
+                throw Consumers.wrapException(e);
+            } finally {
+                // Release the permits of the items not taken by workers
+                pending.release(buffered.getAndSet(0));
+                executors.returnExecutor(consumers.executor());
+                CloseableIterator.closeIterator(iterator);
+            }
+        }
+        return total;
+    }
+
+    private <K> long traverseByWorkStealing(Iterator<K> iterator,
+                                            Consumer<K> consumer) {
+        /*
+         * The workers of the pool may terminate when idle, they close the
+         * thread-local transactions of the graphs they have accessed then
+         */
+        HugeGraph graph = this.graph();
+        ForkJoinConsumers<K> consumers = new ForkJoinConsumers<>(
+                                         stealingPool, consumer,
+                                         stealingBatch, graph, graph::closeTx);
+        try {
+            return consumers.consume(iterator);
+        } catch (Throwable e) {
+            throw Consumers.wrapException(e);
+        } finally {
+            CloseableIterator.closeIterator(iterator);
+        }
+    }
+
     protected Iterator<Vertex> filter(Iterator<Vertex> vertices,
                                       String key, Object value) {
         return new FilterIterator<>(vertices, vertex -> {
@@ -17,17 +17,23 @@
 
 package org.apache.hugegraph.traversal.algorithm;
 
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
 import org.apache.hugegraph.HugeGraph;
 import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.tx.GraphTransaction;
+import org.apache.hugegraph.config.CoreOptions;
+import org.apache.hugegraph.schema.EdgeLabel;
+import org.apache.hugegraph.statistics.GraphStatistics;
+import org.apache.hugegraph.traversal.algorithm.records.BidirectionalPathRecords;
 import org.apache.hugegraph.traversal.algorithm.records.ShortestPathRecords;
 import org.apache.hugegraph.traversal.algorithm.steps.EdgeStep;
 import org.apache.hugegraph.type.define.Directions;
 import org.apache.tinkerpop.gremlin.structure.Edge;
-import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
 
 import org.apache.hugegraph.perf.PerfUtil.Watched;
 import org.apache.hugegraph.structure.HugeEdge;
@@ -62,9 +68,15 @@ public class ShortestPathTraverser extends HugeTraverser {
         for (String label : labels) {
             labelMap.put(this.getEdgeLabelId(label), label);
         }
+        PathSet paths;
+        if (this.degreeAware()) {
+            paths = new DegreeAwareTraverser(sourceV, targetV, dir, labelMap,
+                                             degree, skipDegree, capacity)
+                    .search(depth, false);
+            return paths.isEmpty() ? Path.EMPTY : paths.iterator().next();
+        }
         Traverser traverser = new Traverser(sourceV, targetV, dir, labelMap,
                                             degree, skipDegree, capacity);
-        PathSet paths;
         while (true) {
             // Found, reach max depth or reach capacity, stop searching
             if (!(paths = traverser.forward(false)).isEmpty() ||
@@ -115,6 +127,11 @@ public class ShortestPathTraverser extends HugeTraverser {
         for (String label : labels) {
             labelMap.put(this.getEdgeLabelId(label), label);
         }
+        if (this.degreeAware()) {
+            return new DegreeAwareTraverser(sourceV, targetV, dir, labelMap,
+                                            degree, skipDegree, capacity)
+                   .search(depth, true);
+        }
         Traverser traverser = new Traverser(sourceV, targetV, dir, labelMap,
                                             degree, skipDegree, capacity);
         while (true) {
@@ -129,6 +146,12 @@ public class ShortestPathTraverser extends HugeTraverser {
         return paths;
     }
 
+    private boolean degreeAware() {
+        String engine = this.graph()
+                            .option(CoreOptions.OLTP_SHORTEST_PATH_ENGINE);
+        return "degree_aware".equals(engine);
+    }
+
     private class Traverser {
 
         private final ShortestPathRecords record;
@@ -160,16 +183,14 @@ public class ShortestPathTraverser extends HugeTraverser {
         @Watched
         public PathSet forward(boolean all) {
             PathSet results = new PathSet();
-            long degree = this.skipDegree > 0L ? this.skipDegree : this.degree;
 
             this.record.startOneLayer(true);
             while (this.record.hasNextKey()) {
                 Id source = this.record.nextKey();
 
                 Iterator<Edge> edges = edgesOfVertex(source, this.direction,
-                                                     this.labels, degree);
-                edges = skipSuperNodeIfNeeded(edges, this.degree,
-                                              this.skipDegree);
+                                                     this.labels, this.degree,
+                                                     this.skipDegree);
                 while (edges.hasNext()) {
                     HugeEdge edge = (HugeEdge) edges.next();
                     Id target = edge.id().otherVertexId();
@@ -199,7 +220,6 @@ public class ShortestPathTraverser extends HugeTraverser {
         @Watched
         public PathSet backward(boolean all) {
             PathSet results = new PathSet();
-            long degree = this.skipDegree > 0L ? this.skipDegree : this.degree;
             Directions opposite = this.direction.opposite();
 
             this.record.startOneLayer(false);
@@ -207,9 +227,8 @@ public class ShortestPathTraverser extends HugeTraverser {
                 Id source = this.record.nextKey();
 
                 Iterator<Edge> edges = edgesOfVertex(source, opposite,
-                                                     this.labels, degree);
-                edges = skipSuperNodeIfNeeded(edges, this.degree,
-                                              this.skipDegree);
+                                                     this.labels, this.degree,
+                                                     this.skipDegree);
                 while (edges.hasNext()) {
                     HugeEdge edge = (HugeEdge) edges.next();
                     Id target = edge.id().otherVertexId();
@@ -235,16 +254,152 @@ public class ShortestPathTraverser extends HugeTraverser {
         }
 
         private boolean superNode(Id vertex, Directions direction) {
+            return ShortestPathTraverser.this.superNode(vertex, direction,
+                                                        this.labels,
+                                                        this.skipDegree);
+        }
+
+        private long accessed() {
+            return this.record.accessed();
+        }
+    }
+
+    /**
+     * Search from the side with less estimated edges in its frontier, the
+     * average degree of a side is estimated by the statistics of the edge
+     * labels until some vertices of the side are expanded, and the edges of
+     * a small frontier are counted exactly by the degree counters if any
+     */
+    private class DegreeAwareTraverser {
+
+        private static final int MAX_COUNTED_FRONTIER = 1000;
+
+        private final BidirectionalPathRecords record;
+        private final Directions direction;
+        private final Map<Id, String> labels;
+        private final long degree;
+        private final long skipDegree;
+        private final long capacity;
+        private final double sourceDegree;
+        private final double targetDegree;
+        private final boolean countable;
+
+        public DegreeAwareTraverser(Id sourceV, Id targetV, Directions dir,
+                                    Map<Id, String> labels, long degree,
+                                    long skipDegree, long capacity) {
+            this.record = new BidirectionalPathRecords(sourceV, targetV);
+            this.direction = dir;
+            this.labels = labels;
+            this.degree = degree;
+            this.skipDegree = skipDegree;
+            this.capacity = capacity;
+            this.sourceDegree = this.averageDegree(dir);
+            this.targetDegree = this.averageDegree(dir.opposite());
+            this.countable = GraphTransaction.degreeCountable(
+                             graph(), labels.keySet().toArray(new Id[0]));
+        }
+
+        public PathSet search(int depth, boolean all) {
+            PathSet paths = new PathSet();
+            while (depth-- > 0) {
+                boolean forward = this.cost(true, this.sourceDegree) <=
+                                  this.cost(false, this.targetDegree);
+                paths = this.expand(forward, all);
+                // Found, reach max depth or no more vertices, stop searching
+                if (!paths.isEmpty() || depth <= 0 ||
+                    this.record.frontier(forward).isEmpty()) {
+                    break;
+                }
+                checkCapacity(this.capacity, this.record.accessed(),
+                              "shortest path");
+            }
+            return paths;
+        }
+
+        @Watched
+        private PathSet expand(boolean forward, boolean all) {
+            Directions dir = forward ? this.direction :
+                                       this.direction.opposite();
+
+            IntArrayList frontier = this.record.frontier(forward);
+            for (int i = 0; i < frontier.size(); i++) {
+                int parent = frontier.get(i);
+                Iterator<Edge> edges = edgesOfVertex(this.record.id(parent),
+                                                     dir, this.labels,
+                                                     this.degree,
+                                                     this.skipDegree);
+                long count = 0L;
+                while (edges.hasNext()) {
+                    count++;
+                    HugeEdge edge = (HugeEdge) edges.next();
+                    int node = this.record.code(edge.id().otherVertexId());
+                    if (this.record.accessedBy(!forward, node)) {
+                        if (this.superNode(node, dir)) {
+                            continue;
+                        }
+                        this.record.addMeet(forward, parent, node);
+                        if (!all) {
+                            // Exit on the first meet
+                            return this.record.paths(false);
+                        }
+                    } else if (!this.record.meetFound()) {
+                        this.record.addNode(forward, parent, node, all);
+                    }
+                }
+                this.record.expanded(forward, count);
+            }
+            this.record.finishOneLayer(forward);
+            return this.record.paths(all);
+        }
+
+        private boolean superNode(int node, Directions dir) {
             if (this.skipDegree <= 0L) {
                 return false;
             }
-            Iterator<Edge> edges = edgesOfVertex(vertex, direction,
-                                                 this.labels, this.skipDegree);
-            return IteratorUtils.count(edges) >= this.skipDegree;
+            return this.record.superNode(node, code -> {
+                return ShortestPathTraverser.this.superNode(
+                       this.record.id(code), dir, this.labels,
+                       this.skipDegree);
+            });
         }
 
-        private long accessed() {
-            return this.record.accessed();
+        private double cost(boolean forward, double defaultDegree) {
+            IntArrayList frontier = this.record.frontier(forward);
+            if (!this.countable || frontier.size() > MAX_COUNTED_FRONTIER) {
+                return this.record.cost(forward, defaultDegree);
+            }
+            Directions dir = forward ? this.direction :
+                                       this.direction.opposite();
+            double cost = 0D;
+            for (int i = 0; i < frontier.size(); i++) {
+                cost += degreeOfVertex(this.record.id(frontier.get(i)), dir,
+                                       this.labels);
+            }
+            return cost;
+        }
+
+        private double averageDegree(Directions dir) {
+            GraphStatistics stats = GraphStatistics.of(graph());
+            if (!stats.collected()) {
+                return 1D;
+            }
+            Collection<Id> labels = this.labels.keySet();
+            if (labels.isEmpty()) {
+                labels = newList();
+                for (EdgeLabel label : graph().edgeLabels()) {
+                    labels.add(label.id());
+                }
+            }
+            double sum = 0D;
+            for (Id label : labels) {
+                double degree = stats.averageDegree(label, dir);
+                if (degree < 0D) {
+                    // Unknown, compare the frontier sizes only
+                    return 1D;
+                }
+                sum += degree;
+            }
+            return sum;
         }
     }
 }
@@ -25,11 +25,17 @@ import java.util.Set;
 
 import org.apache.hugegraph.HugeGraph;
 import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.query.Query;
 import org.apache.hugegraph.backend.query.QueryResults;
+import org.apache.hugegraph.config.CoreOptions;
+import org.apache.hugegraph.traversal.algorithm.records.WeightedPathRecords;
 import org.apache.hugegraph.type.define.Directions;
 import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 
 import org.apache.hugegraph.structure.HugeEdge;
+import org.apache.hugegraph.structure.HugeVertex;
 import org.apache.hugegraph.util.CollectionUtil;
 import org.apache.hugegraph.util.E;
 import org.apache.hugegraph.util.InsertionOrderUtil;
@@ -39,6 +45,9 @@ import com.google.common.collect.ImmutableSet;
 
 public class SingleSourceShortestPathTraverser extends HugeTraverser {
 
+    private static final String ENGINE_LAYERED = "layered";
+    private static final String ENGINE_BIDIRECTIONAL = "bidirectional_dijkstra";
+
     public SingleSourceShortestPathTraverser(HugeGraph graph) {
         super(graph);
     }
@@ -56,6 +65,11 @@ public class SingleSourceShortestPathTraverser extends HugeTraverser {
         checkLimit(limit);
 
         Id labelId = this.getEdgeLabelId(label);
+        if (!ENGINE_LAYERED.equals(this.engine())) {
+            return new DijkstraTraverser(sourceV, dir, labelId, weight, null,
+                                         degree, skipDegree, capacity)
+                   .shortestPaths(limit);
+        }
         Traverser traverser = new Traverser(sourceV, dir, labelId, weight,
                                             degree, skipDegree, capacity,
                                             limit);
@@ -73,6 +87,23 @@ public class SingleSourceShortestPathTraverser extends HugeTraverser {
                                                Directions dir, String label,
                                                String weight, long degree,
                                                long skipDegree, long capacity) {
+        return this.weightedShortestPath(sourceV, targetV, dir, label, weight,
+                                         null, degree, skipDegree, capacity);
+    }
+
+    /**
+     * Search the weighted shortest path, the heuristic is the name of a
+     * numeric vertex property used by A* if not null, the distance to the
+     * target is estimated as the difference of the property values of the
+     * vertex and the target. It's only used by the heap based engines, and
+     * the result is exact only if the difference is never larger than the
+     * weight of any edge between the two vertices.
+     */
+    public NodeWithWeight weightedShortestPath(Id sourceV, Id targetV,
+                                               Directions dir, String label,
+                                               String weight, String heuristic,
+                                               long degree, long skipDegree,
+                                               long capacity) {
         E.checkNotNull(sourceV, "source vertex id");
         E.checkNotNull(targetV, "target vertex id");
         this.checkVertexExist(sourceV, "source vertex");
@@ -84,6 +115,18 @@ public class SingleSourceShortestPathTraverser extends HugeTraverser {
         checkSkipDegree(skipDegree, degree, capacity);
 
         Id labelId = this.getEdgeLabelId(label);
+        String engine = this.engine();
+        if (ENGINE_BIDIRECTIONAL.equals(engine) && heuristic == null &&
+            !sourceV.equals(targetV)) {
+            return new BidirectionalDijkstra(sourceV, targetV, dir, labelId,
+                                             weight, degree, skipDegree,
+                                             capacity).shortestPath();
+        }
+        if (!ENGINE_LAYERED.equals(engine)) {
+            return new DijkstraTraverser(sourceV, dir, labelId, weight,
+                                         heuristic, degree, skipDegree,
+                                         capacity).shortestPath(targetV);
+        }
         Traverser traverser = new Traverser(sourceV, dir, labelId, weight,
                                             degree, skipDegree, capacity,
                                             NO_LIMIT);
@@ -233,6 +276,281 @@ public class SingleSourceShortestPathTraverser extends HugeTraverser {
         }
     }
 
+    private String engine() {
+        return this.graph().option(CoreOptions.OLTP_WEIGHTED_PATH_ENGINE);
+    }
+
+    private Id propertyKeyId(String name) {
+        if (name == null) {
+            return null;
+        }
+        E.checkArgument(this.graph().existsPropertyKey(name),
+                        "The property key '%s' doesn't exist", name);
+        return this.graph().propertyKey(name).id();
+    }
+
+    /**
+     * Expand the edges of the settled vertex with the records and weights,
+     * the edge weight is only decoded if the target vertex is not settled
+     */
+    private abstract class WeightedExpander {
+
+        private final Id label;
+        private final Id weight;
+        private final long degree;
+        private final long skipDegree;
+        protected final long capacity;
+
+        public WeightedExpander(Id label, String weight, long degree,
+                                long skipDegree, long capacity) {
+            this.label = label;
+            this.weight = propertyKeyId(weight);
+            this.degree = degree;
+            this.skipDegree = skipDegree;
+            this.capacity = capacity;
+        }
+
+        protected void expand(WeightedPathRecords records, int node,
+                              Directions dir) {
+            long degree = this.skipDegree > 0L ? this.skipDegree : this.degree;
+            Iterator<Edge> edges = edgesOfVertex(records.id(node), dir,
+                                                 this.label, degree);
+            edges = skipSuperNodeIfNeeded(edges, this.degree,
+                                          this.skipDegree);
+            // Collect the edges to unsettled vertices to estimate in batch
+            List<HugeEdge> reached = newList();
+            while (edges.hasNext()) {
+                HugeEdge edge = (HugeEdge) edges.next();
+                if (!records.settled(records.code(edge.id()
+                                                      .otherVertexId()))) {
+                    reached.add(edge);
+                }
+            }
+            this.prepareEstimates(records, reached);
+
+            double distance = records.distance(node);
+            for (HugeEdge edge : reached) {
+                Id target = edge.id().otherVertexId();
+                int code = records.code(target);
+                double weight = distance + this.edgeWeight(edge);
+                if (records.relax(node, code, weight,
+                                  weight + this.estimate(records, code))) {
+                    this.reached(target, weight);
+                }
+            }
+            checkCapacity(this.capacity, records.accessed(), "shortest path");
+        }
+
+        protected void prepareEstimates(WeightedPathRecords records,
+                                        List<HugeEdge> edges) {
+            // pass
+        }
+
+        protected double estimate(WeightedPathRecords records, int node) {
+            return 0D;
+        }
+
+        protected void reached(Id vertex, double distance) {
+            // pass
+        }
+
+        private double edgeWeight(HugeEdge edge) {
+            if (this.weight == null) {
+                return 1.0;
+            }
+            edge.forceLoad();
+            Object value = edge.getPropertyValue(this.weight);
+            if (value == null) {
+                return 1.0;
+            }
+            double weight = NumericUtil.convertToNumber(value).doubleValue();
+            E.checkArgument(weight >= 0D,
+                            "The weight of edge '%s' can't be negative, " +
+                            "but got %s", edge.id(), weight);
+            return weight;
+        }
+    }
+
+    private class DijkstraTraverser extends WeightedExpander {
+
+        private final WeightedPathRecords records;
+        private final Directions direction;
+        private final Id heuristic;
+        private double targetValue;
+
+        public DijkstraTraverser(Id sourceV, Directions dir, Id label,
+                                 String weight, String heuristic, long degree,
+                                 long skipDegree, long capacity) {
+            super(label, weight, degree, skipDegree, capacity);
+            this.records = new WeightedPathRecords(sourceV);
+            this.direction = dir;
+            this.heuristic = propertyKeyId(heuristic);
+            this.targetValue = Double.NaN;
+        }
+
+        public WeightedPaths shortestPaths(long limit) {
+            WeightedPaths paths = new WeightedPaths();
+            // The source vertex itself is not a result
+            this.expand(this.records, this.records.next(), this.direction);
+            while (this.records.hasNext()) {
+                int node = this.records.next();
+                paths.put(this.records.id(node), new NodeWithWeight(
+                          this.records.distance(node),
+                          this.records.node(node)));
+                if (limit != NO_LIMIT && paths.size() >= limit) {
+                    break;
+                }
+                this.expand(this.records, node, this.direction);
+            }
+            return paths;
+        }
+
+        public NodeWithWeight shortestPath(Id targetV) {
+            if (this.heuristic != null) {
+                this.targetValue = this.propertyValue(targetV);
+            }
+            int target = this.records.code(targetV);
+            // The source vertex itself is not a result like layered engine
+            this.expand(this.records, this.records.next(), this.direction);
+            while (this.records.hasNext()) {
+                int node = this.records.next();
+                if (node == target) {
+                    return new NodeWithWeight(this.records.distance(node),
+                                              this.records.node(node));
+                }
+                this.expand(this.records, node, this.direction);
+            }
+            return null;
+        }
+
+        @Override
+        protected void prepareEstimates(WeightedPathRecords records,
+                                        List<HugeEdge> edges) {
+            if (Double.isNaN(this.targetValue)) {
+                return;
+            }
+            // Read the heuristic values of the new reached vertices in batch
+            Set<Id> vertices = newIdSet();
+            for (HugeEdge edge : edges) {
+                Id vertex = edge.id().otherVertexId();
+                if (!records.estimated(records.code(vertex))) {
+                    vertices.add(vertex);
+                }
+            }
+            Iterator<Id> ids = vertices.iterator();
+            while (ids.hasNext()) {
+                List<Id> batch = newList();
+                while (ids.hasNext() && batch.size() < Query.QUERY_BATCH) {
+                    batch.add(ids.next());
+                }
+                Map<Id, Double> values = newMap(batch.size());
+                Iterator<Vertex> iter = graph().vertices(batch.toArray());
+                try {
+                    while (iter.hasNext()) {
+                        HugeVertex vertex = (HugeVertex) iter.next();
+                        values.put(vertex.id(), this.propertyValue(vertex));
+                    }
+                } finally {
+                    CloseableIterator.closeIterator(iter);
+                }
+                for (Id vertex : batch) {
+                    // The vertex without the property is estimated as 0
+                    Double value = values.get(vertex);
+                    double estimate = value == null || value.isNaN() ? 0D :
+                                      Math.abs(value - this.targetValue);
+                    records.estimate(records.code(vertex), code -> estimate);
+                }
+            }
+        }
+
+        @Override
+        protected double estimate(WeightedPathRecords records, int node) {
+            if (Double.isNaN(this.targetValue)) {
+                return 0D;
+            }
+            return records.estimate(node, code -> {
+                double value = this.propertyValue(records.id(code));
+                return Double.isNaN(value) ? 0D :
+                       Math.abs(value - this.targetValue);
+            });
+        }
+
+        private double propertyValue(Id vertexId) {
+            Iterator<Vertex> vertices = graph().vertices(vertexId);
+            return this.propertyValue((HugeVertex) QueryResults.one(vertices));
+        }
+
+        private double propertyValue(HugeVertex vertex) {
+            Object value = vertex == null ? null :
+                           vertex.getPropertyValue(this.heuristic);
+            if (value == null) {
+                return Double.NaN;
+            }
+            return NumericUtil.convertToNumber(value).doubleValue();
+        }
+    }
+
+    /**
+     * Search from both the source and target by Dijkstra, always settle a
+     * vertex of the side with the smaller next distance, and stop once the
+     * sum of next distances of both sides is no less than the shortest path
+     * found through a vertex reached by both sides
+     */
+    private class BidirectionalDijkstra extends WeightedExpander {
+
+        private final WeightedPathRecords sources;
+        private final WeightedPathRecords targets;
+        private final Directions direction;
+        private WeightedPathRecords other;
+        private double shortest;
+        private Id meet;
+
+        public BidirectionalDijkstra(Id sourceV, Id targetV, Directions dir,
+                                     Id label, String weight, long degree,
+                                     long skipDegree, long capacity) {
+            super(label, weight, degree, skipDegree, capacity);
+            this.sources = new WeightedPathRecords(sourceV);
+            this.targets = new WeightedPathRecords(targetV);
+            this.direction = dir;
+            this.shortest = Double.POSITIVE_INFINITY;
+            this.meet = null;
+        }
+
+        public NodeWithWeight shortestPath() {
+            while (this.sources.nextPriority() + this.targets.nextPriority() <
+                   this.shortest) {
+                boolean forward = this.sources.nextPriority() <=
+                                  this.targets.nextPriority();
+                WeightedPathRecords current = forward ? this.sources :
+                                                        this.targets;
+                this.other = forward ? this.targets : this.sources;
+                this.expand(current, current.next(),
+                            forward ? this.direction :
+                                      this.direction.opposite());
+            }
+            if (this.meet == null) {
+                return null;
+            }
+
+            // Join the path from source to meet and the one from target
+            Node node = this.sources.node(this.sources.code(this.meet));
+            Node back = this.targets.node(this.targets.code(this.meet));
+            for (back = back.parent(); back != null; back = back.parent()) {
+                node = new Node(back.id(), node);
+            }
+            return new NodeWithWeight(this.shortest, node);
+        }
+
+        @Override
+        protected void reached(Id vertex, double distance) {
+            double weight = distance + this.other.distance(vertex);
+            if (weight < this.shortest) {
+                this.shortest = weight;
+                this.meet = vertex;
+            }
+        }
+    }
+
     public static class NodeWithWeight implements Comparable<NodeWithWeight> {
 
         private final double weight;
@@ -0,0 +1,310 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.traversal.algorithm;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import org.slf4j.Logger;
+
+import org.apache.hugegraph.HugeGraph;
+import org.apache.hugegraph.backend.cache.Cache;
+import org.apache.hugegraph.backend.cache.CacheManager;
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.id.IdGenerator;
+import org.apache.hugegraph.event.EventHub;
+import org.apache.hugegraph.event.EventListener;
+import org.apache.hugegraph.type.HugeType;
+import org.apache.hugegraph.util.E;
+import org.apache.hugegraph.util.Events;
+import org.apache.hugegraph.util.Log;
+
+/**
+ * The cache of traverser results of a graph, keyed by the normalized
+ * request of a traverser API. Each result records the versions of the edge
+ * labels it depends on when it's computed, the version of a label is
+ * increased when the edges of the label are written (notified through the
+ * graph cache event), and a result is stale once any version changed.
+ *
+ * The results of different users are cached separately, since the elements
+ * a user can access are filtered by the permissions of the user.
+ *
+ * NOTE: the writes which don't go through the graph transaction are not
+ * notified to the cache: the sst files of bulk load are ingested when the
+ * graph is reopened, and the cache is cleared when it's opened again; the
+ * sst files of index rebuild only change the indexes; and the elements
+ * expired by TTL are filtered when read but not notified to the cache, so
+ * a cached result may keep them until it's expired.
+ */
+public class TraverserResultCache {
+
+    private static final Logger LOG = Log.logger(TraverserResultCache.class);
+
+    private static final Map<String, TraverserResultCache> GRAPHS =
+                         new ConcurrentHashMap<>();
+
+    private final String graph;
+    private final Cache<Id, Object> cache;
+    private final long maxResultSize;
+    private final EventHub hub;
+    private final EventListener listener;
+
+    // Increased if all the results are invalid
+    private final AtomicLong version;
+    // Increased if any edge label is written
+    private final AtomicLong anyLabelVersion;
+    private final Map<Id, AtomicLong> labelVersions;
+    private final Map<String, Stats> stats;
+
+    public TraverserResultCache(String graph, EventHub hub, long capacity,
+                                long expire, long maxResultSize) {
+        E.checkArgument(capacity > 0L,
+                        "The capacity of traverser cache must be > 0");
+        this.graph = graph;
+        this.cache = CacheManager.instance().cache("traverser-" + graph,
+                                                   capacity);
+        // Convert the unit from seconds to milliseconds
+        this.cache.expire(expire * 1000L);
+        this.cache.enableMetrics(true);
+        this.maxResultSize = maxResultSize;
+        this.version = new AtomicLong();
+        this.anyLabelVersion = new AtomicLong();
+        this.labelVersions = new ConcurrentHashMap<>();
+        this.stats = new ConcurrentHashMap<>();
+
+        this.hub = hub;
+        this.listener = event -> {
+            Object[] args = event.args();
+            if (args.length < 2 || !(args[0] instanceof String) ||
+                args[1] != null && args[1] != HugeType.EDGE_LABEL) {
+                return false;
+            }
+            /*
+             * The local writes invalidate the cache directly, just handle
+             * the actions from other nodes, and the graph clear or truncate
+             */
+            String action = (String) args[0];
+            if (Cache.ACTION_INVALID.equals(action) && args.length > 2) {
+                this.invalidate(args[2]);
+                return true;
+            } else if (Cache.ACTION_CLEAR.equals(action) ||
+                       (Cache.ACTION_CLEARED.equals(action) &&
+                        args[1] == null)) {
+                this.clear();
+                return true;
+            }
+            return false;
+        };
+        this.hub.listen(Events.CACHE, this.listener);
+        // Results of another graph instance with the same name are stale
+        this.cache.clear();
+    }
+
+    public static TraverserResultCache open(String graph, EventHub hub,
+                                            long capacity, long expire,
+                                            long maxResultSize) {
+        TraverserResultCache cache = new TraverserResultCache(graph, hub,
+                                                              capacity, expire,
+                                                              maxResultSize);
+        TraverserResultCache old = GRAPHS.put(graph, cache);
+        if (old != null) {
+            old.close();
+        }
+        return cache;
+    }
+
+    /**
+     * @return the traverser cache of the graph, or null if not enabled
+     */
+    public static TraverserResultCache of(HugeGraph graph) {
+        return of(graph.name());
+    }
+
+    public static TraverserResultCache of(String graph) {
+        return GRAPHS.get(graph);
+    }
+
+    public static void close(String graph) {
+        TraverserResultCache cache = GRAPHS.remove(graph);
+        if (cache != null) {
+            cache.close();
+        }
+    }
+
+    /**
+     * Get the cached result of the request, or compute and cache it
+     * @param api the name of the traverser API
+     * @param user the identity of the user who can access the result, null
+     *             if the result is accessible to all users
+     * @param request the normalized request, two requests are the same if
+     *                their string forms are equal
+     * @param labels the edge labels the result depends on, all the edge
+     *               labels if empty
+     * @param computer to compute the result if not cached or stale
+     * @param sizer the number of elements of the result, it's not cached
+     *              if larger than the max result size
+     */
+    public <V> V getOrCompute(String api, String user, List<?> request,
+                              Collection<Id> labels, Supplier<V> computer,
+                              ToLongFunction<V> sizer) {
+        Stats stats = this.stats.computeIfAbsent(api, k -> new Stats());
+        // Prefix the user with its length to separate it from the request
+        Id key = IdGenerator.of(user == null ? api + request :
+                                api + user.length() + ":" + user + request);
+        Entry entry = (Entry) this.cache.get(key);
+        if (entry != null && this.valid(entry)) {
+            stats.hits.increment();
+            @SuppressWarnings("unchecked")
+            V result = (V) entry.result;
+            return result;
+        }
+        stats.miss.increment();
+
+        // Record the versions before computing, any write later makes it stale
+        Entry created = this.newEntry(labels);
+        V result = computer.get();
+        if (sizer.applyAsLong(result) <= this.maxResultSize) {
+            created.result = result;
+            this.cache.update(key, created);
+        } else if (entry != null) {
+            this.cache.invalidate(key);
+        }
+        return result;
+    }
+
+    public void invalidate(Id label) {
+        this.labelVersions.computeIfAbsent(label, k -> new AtomicLong())
+                          .incrementAndGet();
+        this.anyLabelVersion.incrementAndGet();
+    }
+
+    public void clear() {
+        this.version.incrementAndGet();
+        this.cache.clear();
+    }
+
+    public long size() {
+        return this.cache.size();
+    }
+
+    public Collection<String> apis() {
+        return Collections.unmodifiableSet(this.stats.keySet());
+    }
+
+    public long hits(String api) {
+        Stats stats = this.stats.get(api);
+        return stats == null ? 0L : stats.hits.sum();
+    }
+
+    public long miss(String api) {
+        Stats stats = this.stats.get(api);
+        return stats == null ? 0L : stats.miss.sum();
+    }
+
+    public double hitRate(String api) {
+        long hits = this.hits(api);
+        long total = hits + this.miss(api);
+        return total == 0L ? 0D : (double) hits / total;
+    }
+
+    private void close() {
+        this.hub.unlisten(Events.CACHE, this.listener);
+        this.cache.clear();
+    }
+
+    private void invalidate(Object labels) {
+        if (labels instanceof Id) {
+            this.invalidate((Id) labels);
+        } else if (labels != null && labels.getClass().isArray()) {
+            int size = Array.getLength(labels);
+            for (int i = 0; i < size; i++) {
+                Object label = Array.get(labels, i);
+                E.checkArgument(label instanceof Id,
+                                "Expect instance of Id in array, " +
+                                "but got '%s'", label);
+                this.invalidate((Id) label);
+            }
+        } else {
+            LOG.warn("Graph {} clear traverser cache on unexpected " +
+                     "edge labels: {}", this.graph, labels);
+            this.clear();
+        }
+    }
+
+    private Entry newEntry(Collection<Id> labels) {
+        if (labels == null || labels.isEmpty()) {
+            return new Entry(this.version.get(), null,
+                             new long[]{this.anyLabelVersion.get()});
+        }
+        Id[] ids = labels.toArray(new Id[0]);
+        long[] versions = new long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            versions[i] = this.labelVersion(ids[i]);
+        }
+        return new Entry(this.version.get(), ids, versions);
+    }
+
+    private boolean valid(Entry entry) {
+        if (entry.version != this.version.get()) {
+            return false;
+        }
+        if (entry.labels == null) {
+            return entry.labelVersions[0] == this.anyLabelVersion.get();
+        }
+        for (int i = 0; i < entry.labels.length; i++) {
+            if (entry.labelVersions[i] != this.labelVersion(entry.labels[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long labelVersion(Id label) {
+        AtomicLong version = this.labelVersions.get(label);
+        return version == null ? 0L : version.get();
+    }
+
+    private static class Entry {
+
+        private final long version;
+        private final Id[] labels;
+        private final long[] labelVersions;
+        private Object result;
+
+        public Entry(long version, Id[] labels, long[] labelVersions) {
+            this.version = version;
+            this.labels = labels;
+            this.labelVersions = labelVersions;
+            this.result = null;
+        }
+    }
+
+    private static class Stats {
+
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder miss = new LongAdder();
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.traversal.algorithm.records;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectIntHashMap;
+
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.traversal.algorithm.HugeTraverser.Path;
+import org.apache.hugegraph.traversal.algorithm.HugeTraverser.PathSet;
+import org.apache.hugegraph.util.E;
+
+/**
+ * The records of a bidirectional shortest path search, each accessed vertex
+ * is mapped to a dense index, and its side, depth and parents are kept in
+ * primitive arrays by the index. A vertex may have more than one parent in
+ * the same layer when searching all the shortest paths.
+ *
+ * The search may expand either side at each step, the side is chosen by
+ * the estimated edges of its frontier, which is the frontier size times
+ * the average degree observed on the side so far.
+ */
+public class BidirectionalPathRecords {
+
+    private static final int NONE = -1;
+    private static final int INIT_CAPACITY = 16;
+
+    private static final byte SOURCE = 0x01;
+    private static final byte TARGET = 0x02;
+    private static final byte SUPER_CHECKED = 0x04;
+    private static final byte SUPER_NODE = 0x08;
+
+    private final ObjectIntHashMap<Id> indexes;
+    private final List<Id> ids;
+    private byte[] flags;
+    private int[] depths;
+    // The head of the parent links of each vertex, NONE for a root
+    private int[] parentHeads;
+    private final IntArrayList parentNodes;
+    private final IntArrayList parentNexts;
+
+    private final Side source;
+    private final Side target;
+    // The (source side vertex, target side vertex) pairs where paths meet
+    private final IntArrayList meets;
+
+    public BidirectionalPathRecords(Id sourceV, Id targetV) {
+        E.checkArgument(!sourceV.equals(targetV),
+                        "The source and target vertex can't be the same");
+        this.indexes = new ObjectIntHashMap<>();
+        this.ids = new ArrayList<>();
+        this.flags = new byte[INIT_CAPACITY];
+        this.depths = new int[INIT_CAPACITY];
+        this.parentHeads = new int[INIT_CAPACITY];
+        this.parentNodes = new IntArrayList();
+        this.parentNexts = new IntArrayList();
+        this.meets = new IntArrayList();
+
+        this.source = new Side(SOURCE, this.code(sourceV));
+        this.target = new Side(TARGET, this.code(targetV));
+    }
+
+    public int code(Id vertex) {
+        int index = this.indexes.getIfAbsent(vertex, NONE);
+        if (index != NONE) {
+            return index;
+        }
+        index = this.ids.size();
+        this.ids.add(vertex);
+        this.indexes.put(vertex, index);
+        if (index == this.flags.length) {
+            int capacity = index << 1;
+            this.flags = Arrays.copyOf(this.flags, capacity);
+            this.depths = Arrays.copyOf(this.depths, capacity);
+            this.parentHeads = Arrays.copyOf(this.parentHeads, capacity);
+        }
+        this.parentHeads[index] = NONE;
+        return index;
+    }
+
+    public Id id(int code) {
+        return this.ids.get(code);
+    }
+
+    public long accessed() {
+        return this.ids.size();
+    }
+
+    public IntArrayList frontier(boolean forward) {
+        return this.side(forward).frontier;
+    }
+
+    /**
+     * @return the estimated edges to access by expanding the frontier
+     * @param defaultDegree the average degree to use before any vertex of
+     *                      the side is expanded, like the one of statistics
+     */
+    public double cost(boolean forward, double defaultDegree) {
+        Side side = this.side(forward);
+        double degree = side.expanded > 0L ?
+                        (double) side.edges / side.expanded : defaultDegree;
+        return side.frontier.size() * Math.max(degree, 1D);
+    }
+
+    /**
+     * Record the number of edges of an expanded vertex in the frontier
+     */
+    public void expanded(boolean forward, long edges) {
+        Side side = this.side(forward);
+        side.expanded++;
+        side.edges += edges;
+    }
+
+    public boolean accessedBy(boolean forward, int node) {
+        return (this.flags[node] & this.side(forward).flag) != 0;
+    }
+
+    /**
+     * Add the node reached from the parent in the frontier to the next layer
+     * if it's not accessed yet, or add the parent to it if it's already in
+     * the next layer and all the paths are expected
+     */
+    public void addNode(boolean forward, int parent, int node, boolean all) {
+        Side side = this.side(forward);
+        byte flag = this.flags[node];
+        if ((flag & (SOURCE | TARGET)) == 0) {
+            this.flags[node] = (byte) (flag | side.flag);
+            this.depths[node] = side.depth + 1;
+            this.linkParent(node, parent);
+            side.next.add(node);
+        } else if (all && (flag & side.flag) != 0 &&
+                   this.depths[node] == side.depth + 1) {
+            this.linkParent(node, parent);
+        }
+    }
+
+    /**
+     * Add a meet of the parent in the frontier and the node accessed by the
+     * other side
+     */
+    public void addMeet(boolean forward, int parent, int node) {
+        assert this.accessedBy(!forward, node);
+        if (forward) {
+            this.meets.add(parent);
+            this.meets.add(node);
+        } else {
+            this.meets.add(node);
+            this.meets.add(parent);
+        }
+    }
+
+    public boolean meetFound() {
+        return !this.meets.isEmpty();
+    }
+
+    /**
+     * Move to the next layer of a side after its frontier is expanded
+     */
+    public void finishOneLayer(boolean forward) {
+        Side side = this.side(forward);
+        side.frontier = side.next;
+        side.next = new IntArrayList();
+        side.depth++;
+    }
+
+    /**
+     * @return whether the node is a super node, the checker is called once
+     *         for each node
+     */
+    public boolean superNode(int node, IntPredicate checker) {
+        byte flag = this.flags[node];
+        if ((flag & SUPER_CHECKED) == 0) {
+            flag |= SUPER_CHECKED;
+            if (checker.test(node)) {
+                flag |= SUPER_NODE;
+            }
+            this.flags[node] = flag;
+        }
+        return (flag & SUPER_NODE) != 0;
+    }
+
+    /**
+     * @return the paths of the meets found, only the first one if not all
+     */
+    public PathSet paths(boolean all) {
+        PathSet paths = new PathSet();
+        for (int i = 0; i < this.meets.size(); i += 2) {
+            List<List<Id>> sources = new ArrayList<>();
+            List<List<Id>> targets = new ArrayList<>();
+            this.collectPaths(this.meets.get(i), new ArrayList<>(),
+                              sources, all);
+            this.collectPaths(this.meets.get(i + 1), new ArrayList<>(),
+                              targets, all);
+            for (List<Id> sourcePath : sources) {
+                for (List<Id> targetPath : targets) {
+                    List<Id> ids = new ArrayList<>(sourcePath.size() +
+                                                   targetPath.size());
+                    for (int j = sourcePath.size() - 1; j >= 0; j--) {
+                        ids.add(sourcePath.get(j));
+                    }
+                    ids.addAll(targetPath);
+                    paths.add(new Path(ids));
+                }
+            }
+            if (!all) {
+                break;
+            }
+        }
+        return paths;
+    }
+
+    private void collectPaths(int node, List<Id> current,
+                              List<List<Id>> results, boolean all) {
+        current.add(this.id(node));
+        int link = this.parentHeads[node];
+        if (link == NONE) {
+            results.add(new ArrayList<>(current));
+        }
+        for (; link != NONE; link = this.parentNexts.get(link)) {
+            this.collectPaths(this.parentNodes.get(link), current,
+                              results, all);
+            if (!all) {
+                break;
+            }
+        }
+        current.remove(current.size() - 1);
+    }
+
+    private void linkParent(int node, int parent) {
+        int link = this.parentNodes.size();
+        this.parentNodes.add(parent);
+        this.parentNexts.add(this.parentHeads[node]);
+        this.parentHeads[node] = link;
+    }
+
+    private Side side(boolean forward) {
+        return forward ? this.source : this.target;
+    }
+
+    private class Side {
+
+        private final byte flag;
+        private IntArrayList frontier;
+        private IntArrayList next;
+        private int depth;
+        private long expanded;
+        private long edges;
+
+        public Side(byte flag, int root) {
+            this.flag = flag;
+            this.frontier = IntArrayList.newListWith(root);
+            this.next = new IntArrayList();
+            this.depth = 0;
+            this.expanded = 0L;
+            this.edges = 0L;
+            BidirectionalPathRecords.this.flags[root] = flag;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.traversal.algorithm.records;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntToDoubleFunction;
+
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectIntHashMap;
+
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.traversal.algorithm.HugeTraverser.Node;
+import org.apache.hugegraph.util.collection.IntDoubleHeap;
+
+/**
+ * The records of a Dijkstra (or A*) search from one root vertex, each
+ * accessed vertex is mapped to a dense index, and its distance, parent and
+ * state are kept in primitive arrays by the index. The vertices not settled
+ * yet are kept in an indexed heap ordered by the priority, which is the
+ * distance plus the estimated distance to the target for A*.
+ */
+public class WeightedPathRecords {
+
+    private static final int NONE = -1;
+    private static final int INIT_CAPACITY = 16;
+
+    private final ObjectIntHashMap<Id> indexes;
+    private final List<Id> ids;
+    private double[] distances;
+    private int[] parents;
+    private boolean[] settled;
+    // The estimated distances to the target, NaN if not estimated yet
+    private double[] estimates;
+    private Node[] nodes;
+    private final IntDoubleHeap heap;
+
+    public WeightedPathRecords(Id root) {
+        this.indexes = new ObjectIntHashMap<>();
+        this.ids = new ArrayList<>();
+        this.distances = new double[INIT_CAPACITY];
+        this.parents = new int[INIT_CAPACITY];
+        this.settled = new boolean[INIT_CAPACITY];
+        this.estimates = new double[INIT_CAPACITY];
+        this.nodes = new Node[INIT_CAPACITY];
+        this.heap = new IntDoubleHeap(INIT_CAPACITY);
+
+        int code = this.code(root);
+        this.distances[code] = 0D;
+        this.heap.offer(code, 0D);
+    }
+
+    public int code(Id vertex) {
+        int index = this.indexes.getIfAbsent(vertex, NONE);
+        if (index != NONE) {
+            return index;
+        }
+        index = this.ids.size();
+        this.ids.add(vertex);
+        this.indexes.put(vertex, index);
+        if (index == this.distances.length) {
+            int capacity = index << 1;
+            this.distances = Arrays.copyOf(this.distances, capacity);
+            this.parents = Arrays.copyOf(this.parents, capacity);
+            this.settled = Arrays.copyOf(this.settled, capacity);
+            this.estimates = Arrays.copyOf(this.estimates, capacity);
+            this.nodes = Arrays.copyOf(this.nodes, capacity);
+        }
+        this.distances[index] = Double.POSITIVE_INFINITY;
+        this.parents[index] = NONE;
+        this.estimates[index] = Double.NaN;
+        return index;
+    }
+
+    public Id id(int code) {
+        return this.ids.get(code);
+    }
+
+    public long accessed() {
+        return this.ids.size();
+    }
+
+    public double distance(int node) {
+        return this.distances[node];
+    }
+
+    /**
+     * @return the distance of the vertex, positive infinity if not reached
+     */
+    public double distance(Id vertex) {
+        int index = this.indexes.getIfAbsent(vertex, NONE);
+        return index == NONE ? Double.POSITIVE_INFINITY :
+                               this.distances[index];
+    }
+
+    public boolean settled(int node) {
+        return this.settled[node];
+    }
+
+    /**
+     * Reach the node from the settled parent, keep it if it's shorter than
+     * the known distance of the node
+     * @return true if the distance of the node is updated
+     */
+    public boolean relax(int parent, int node, double distance,
+                         double priority) {
+        assert this.settled[parent];
+        if (this.settled[node] || distance >= this.distances[node]) {
+            return false;
+        }
+        this.distances[node] = distance;
+        this.parents[node] = parent;
+        this.heap.offer(node, priority);
+        return true;
+    }
+
+    public boolean hasNext() {
+        return !this.heap.isEmpty();
+    }
+
+    /**
+     * @return the priority of the next node to settle, positive infinity
+     *         if there is no more node
+     */
+    public double nextPriority() {
+        return this.heap.peekPriority();
+    }
+
+    /**
+     * Settle the node with the minimum priority, its distance is final
+     */
+    public int next() {
+        int node = this.heap.poll();
+        this.settled[node] = true;
+        return node;
+    }
+
+    public boolean estimated(int node) {
+        return !Double.isNaN(this.estimates[node]);
+    }
+
+    /**
+     * @return the estimated distance to the target, the estimator is called
+     *         once for each node
+     */
+    public double estimate(int node, IntToDoubleFunction estimator) {
+        double estimate = this.estimates[node];
+        if (Double.isNaN(estimate)) {
+            estimate = estimator.applyAsDouble(node);
+            this.estimates[node] = estimate;
+        }
+        return estimate;
+    }
+
+    /**
+     * @return the path from the root to the node, the nodes of the path are
+     *         shared with the paths of other nodes
+     */
+    public Node node(int code) {
+        // Find the nearest ancestor already built, without recursion
+        int ancestor = code;
+        while (ancestor != NONE && this.nodes[ancestor] == null) {
+            ancestor = this.parents[ancestor];
+        }
+        Node parent = ancestor == NONE ? null : this.nodes[ancestor];
+        List<Integer> unbuilt = new ArrayList<>();
+        for (int i = code; i != ancestor; i = this.parents[i]) {
+            unbuilt.add(i);
+        }
+        for (int i = unbuilt.size() - 1; i >= 0; i--) {
+            int index = unbuilt.get(i);
+            parent = new Node(this.id(index), parent);
+            this.nodes[index] = parent;
+        }
+        return this.nodes[code];
+    }
+}
@@ -22,6 +22,8 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
+import org.apache.hugegraph.HugeGraph;
+import org.apache.hugegraph.StandardHugeGraph;
 import org.apache.hugegraph.backend.query.Aggregate;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
@@ -30,6 +32,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.CountGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.AggregateGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.AggregateLocalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.IdentityStep;
@@ -69,6 +72,9 @@ public final class HugeCountStepStrategy
 
         // Find HugeGraphStep before count()
         CountGlobalStep<?> originStep = steps.get(0);
+        if (replaceDegreeCountStep(traversal, originStep)) {
+            return;
+        }
         List<Step<?, ?>> originSteps = new ArrayList<>();
         HugeGraphStep<?, ? extends Element> graphStep = null;
         Step<?, ?> step = originStep;
@@ -108,6 +114,43 @@ public final class HugeCountStepStrategy
         traversal.addStep(0, countStep);
     }
 
+    /**
+     * Replace `outE().count()` like steps with HugeDegreeCountStep if the
+     * degree counters are maintained by backend store and the graph is not
+     * accessed with authentication
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static boolean replaceDegreeCountStep(
+                           Traversal.Admin<?, ?> traversal,
+                           CountGlobalStep<?> countStep) {
+        Step<?, ?> step = countStep.getPreviousStep();
+        if (!(step instanceof VertexStep) || !step.getLabels().isEmpty()) {
+            return false;
+        }
+        VertexStep<?> vertexStep = (VertexStep<?>) step;
+        if (!vertexStep.returnsEdge()) {
+            return false;
+        }
+        HugeGraph graph = TraversalUtil.tryGetGraph(vertexStep);
+        /*
+         * The degrees are counted without checking the permission of each
+         * edge, so keep filtering the edges if the graph is accessed through
+         * the auth proxy, which may restrict the readable edge labels
+         */
+        if (!(graph instanceof StandardHugeGraph) ||
+            !graph.backendStoreFeatures().supportsDegreeCounter()) {
+            return false;
+        }
+
+        Step degreeStep = new HugeDegreeCountStep<>(traversal,
+                                                    vertexStep.getDirection(),
+                                                    vertexStep.getEdgeLabels());
+        TraversalHelper.copyLabels(countStep, degreeStep, false);
+        TraversalHelper.replaceStep((Step) vertexStep, degreeStep, traversal);
+        traversal.removeStep(countStep);
+        return true;
+    }
+
     @Override
     public Set<Class<? extends ProviderOptimizationStrategy>> applyPrior() {
         return Collections.singleton(HugeGraphStepStrategy.class);
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.traversal.optimize;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BinaryOperator;
+
+import org.apache.hugegraph.HugeGraph;
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.query.Aggregate;
+import org.apache.hugegraph.backend.query.Query;
+import org.apache.hugegraph.backend.tx.GraphTransaction;
+import org.apache.hugegraph.type.define.Directions;
+import org.apache.tinkerpop.gremlin.process.traversal.Operator;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.util.function.ConstantSupplier;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+
+/**
+ * The step replaces `outE(labels).count()` like steps, which sums the
+ * degrees of the vertices got by the degree counters of backend store
+ * instead of scanning the adjacent edges of each vertex
+ */
+public final class HugeDegreeCountStep<S extends Vertex>
+             extends ReducingBarrierStep<S, Long> {
+
+    private static final long serialVersionUID = 2516422461932425398L;
+
+    private static final Set<TraverserRequirement> REQUIREMENTS =
+            Collections.singleton(TraverserRequirement.BULK);
+
+    private final Direction direction;
+    private final String[] edgeLabels;
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public HugeDegreeCountStep(final Traversal.Admin<?, ?> traversal,
+                               final Direction direction,
+                               final String... edgeLabels) {
+        super(traversal);
+        this.direction = direction;
+        this.edgeLabels = edgeLabels;
+        this.setSeedSupplier(new ConstantSupplier<>(0L));
+        this.setReducingBiOperator((BinaryOperator) Operator.sumLong);
+    }
+
+    @Override
+    public Long projectTraverser(final Traverser.Admin<S> traverser) {
+        return traverser.bulk() * this.degree(traverser.get());
+    }
+
+    @Override
+    public Set<TraverserRequirement> getRequirements() {
+        return REQUIREMENTS;
+    }
+
+    private long degree(Vertex vertex) {
+        HugeGraph graph = TraversalUtil.getGraph(this);
+        Id[] labels = graph.mapElName2Id(this.edgeLabels);
+        if (!GraphTransaction.degreeCountable(graph, labels)) {
+            // Like the replaced steps, the expired edges are filtered
+            return IteratorUtils.count(vertex.edges(this.direction,
+                                                    this.edgeLabels));
+        }
+        Query query = GraphTransaction.constructEdgesQuery(
+                      (Id) vertex.id(), Directions.convert(this.direction),
+                      labels);
+        query.aggregate(Aggregate.AggregateFunc.COUNT, null);
+        query.capacity(Query.NO_CAPACITY);
+        query.limit(Query.NO_LIMIT);
+        return graph.queryNumber(query).longValue();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof HugeDegreeCountStep)) {
+            return false;
+        }
+
+        if (!super.equals(obj)) {
+            return false;
+        }
+
+        HugeDegreeCountStep<?> other = (HugeDegreeCountStep<?>) obj;
+        return this.direction == other.direction &&
+               Arrays.equals(this.edgeLabels, other.edgeLabels);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), this.direction,
+                            Arrays.hashCode(this.edgeLabels));
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.direction,
+                                        Arrays.asList(this.edgeLabels));
+    }
+}
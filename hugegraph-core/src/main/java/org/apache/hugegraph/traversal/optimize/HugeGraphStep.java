@@ -24,10 +24,12 @@ import java.util.Iterator;
 import java.util.List;
 
 import org.apache.hugegraph.HugeGraph;
+import org.apache.hugegraph.backend.id.Id;
 import org.apache.hugegraph.backend.query.ConditionQuery;
 import org.apache.hugegraph.backend.query.Query;
 import org.apache.hugegraph.backend.query.QueryResults;
 import org.apache.hugegraph.type.HugeType;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.structure.Element;
@@ -48,6 +50,9 @@ public final class HugeGraphStep<S, E extends Element>
 
     // Store limit/order-by
     private final Query queryInfo = new Query(HugeType.UNKNOWN);
+    // Store the user property to order by, pushed down with the limit
+    private String orderKey = null;
+    private Order order = null;
 
     private Iterator<E> lastTimeResults = QueryResults.emptyIterator();
 
@@ -156,9 +161,29 @@ public final class HugeGraphStep<S, E extends Element>
         }
 
         query = this.injectQueryInfo(query);
+        if (this.orderKey != null) {
+            this.injectUserpropOrder(graph, query);
+        }
         return query;
     }
 
+    private void injectUserpropOrder(HugeGraph graph, Query query) {
+        if (query instanceof ConditionQuery && !query.paging() &&
+            graph.existsPropertyKey(this.orderKey)) {
+            Id key = graph.propertyKey(this.orderKey).id();
+            ((ConditionQuery) query).orderByUserprop(
+                                     key, TraversalUtil.convOrder(this.order));
+        } else {
+            // The limit is valid only if the results are queried in order
+            query.limit(Query.NO_LIMIT);
+        }
+    }
+
+    public void orderByUserprop(String key, Order order) {
+        this.orderKey = key;
+        this.order = order;
+    }
+
     @Override
     public String toString() {
         if (this.hasContainers.isEmpty()) {
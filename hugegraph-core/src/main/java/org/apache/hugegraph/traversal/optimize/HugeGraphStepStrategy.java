@@ -21,6 +21,8 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
+import org.apache.hugegraph.util.QueryProfiler;
+import org.apache.hugegraph.util.QueryProfiler.Stage;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy.ProviderOptimizationStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
@@ -44,8 +46,17 @@ public final class HugeGraphStepStrategy
     }
 
     @Override
-    @SuppressWarnings({ "rawtypes", "unchecked" })
     public void apply(Traversal.Admin<?, ?> traversal) {
+        Stage previous = QueryProfiler.enter(Stage.STRATEGY);
+        try {
+            this.optimize(traversal);
+        } finally {
+            QueryProfiler.exit(previous);
+        }
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private void optimize(Traversal.Admin<?, ?> traversal) {
         TraversalUtil.convAllHasSteps(traversal);
 
         // Extract conditions in GraphStep
@@ -63,6 +74,8 @@ public final class HugeGraphStepStrategy
             // TODO: support order-by optimize
             // TraversalUtil.extractOrder(newStep, traversal);
 
+            TraversalUtil.extractOrderByLimit(newStep, traversal);
+
             TraversalUtil.extractRange(newStep, traversal, false);
 
             TraversalUtil.extractCount(newStep, traversal);
@@ -20,6 +20,8 @@ package org.apache.hugegraph.traversal.optimize;
 import java.util.List;
 
 import org.apache.hugegraph.HugeGraph;
+import org.apache.hugegraph.util.QueryProfiler;
+import org.apache.hugegraph.util.QueryProfiler.Stage;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy.ProviderOptimizationStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
@@ -47,8 +49,17 @@ public final class HugeVertexStepStrategy
     }
 
     @Override
-    @SuppressWarnings({ "rawtypes", "unchecked" })
     public void apply(final Traversal.Admin<?, ?> traversal) {
+        Stage previous = QueryProfiler.enter(Stage.STRATEGY);
+        try {
+            this.optimize(traversal);
+        } finally {
+            QueryProfiler.exit(previous);
+        }
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private void optimize(final Traversal.Admin<?, ?> traversal) {
         TraversalUtil.convAllHasSteps(traversal);
 
         List<VertexStep> steps = TraversalHelper.getStepsOfClass(
@@ -19,6 +19,7 @@ package org.apache.hugegraph.traversal.optimize;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -52,6 +53,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.lambda.ValueTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.FilterStep;
@@ -82,6 +84,7 @@ import org.apache.tinkerpop.gremlin.structure.PropertyType;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.javatuples.Pair;
 
 import org.apache.hugegraph.exception.NotSupportException;
 import org.apache.hugegraph.iterator.FilterIterator;
@@ -218,6 +221,52 @@ public final class TraversalUtil {
                  step instanceof IdentityStep);
     }
 
+    /**
+     * Push down `order().by(key).limit(n)` into HugeGraphStep, the backend
+     * may walk the range index of the key in order and stop after n
+     * elements. The order step and range step are kept to sort and limit
+     * the pushed down results, which are all the results if the backend
+     * can't query in order.
+     */
+    public static void extractOrderByLimit(HugeGraphStep<?, ?> newStep,
+                                           Traversal.Admin<?, ?> traversal) {
+        Step<?, ?> step = skipIdentitySteps(newStep.getNextStep());
+        if (!(step instanceof OrderGlobalStep)) {
+            return;
+        }
+        OrderGlobalStep<?, ?> orderStep = (OrderGlobalStep<?, ?>) step;
+        if (orderStep.getComparators().size() != 1) {
+            return;
+        }
+        Pair<? extends Traversal.Admin<?, ?>, ? extends Comparator<?>> by =
+                orderStep.getComparators().get(0);
+        if (!(by.getValue0() instanceof ValueTraversal) ||
+            !(by.getValue1() == Order.asc || by.getValue1() == Order.desc)) {
+            return;
+        }
+
+        step = skipIdentitySteps(orderStep.getNextStep());
+        if (!(step instanceof RangeGlobalStep)) {
+            return;
+        }
+        RangeGlobalStep<?> range = (RangeGlobalStep<?>) step;
+        if (range.getHighRange() < 0L) {
+            return;
+        }
+
+        String key = ((ValueTraversal<?, ?>) by.getValue0()).getPropertyKey();
+        newStep.orderByUserprop(key, (Order) by.getValue1());
+        // Fetch the first `high` results, the offset is skipped by range step
+        newStep.setRange(0L, range.getHighRange());
+    }
+
+    private static Step<?, ?> skipIdentitySteps(Step<?, ?> step) {
+        while (step instanceof IdentityStep || step instanceof NoOpBarrierStep) {
+            step = step.getNextStep();
+        }
+        return step;
+    }
+
     public static void extractRange(Step<?, ?> newStep,
                                     Traversal.Admin<?, ?> traversal,
                                     boolean extractOnlyLimit) {
@@ -827,7 +876,17 @@ public final class TraversalUtil {
     }
 
     public static boolean testProperty(Property<?> prop, Object expected) {
-        Object actual = prop.value();
+        PropertyKey pkey = ((HugeProperty<?>) prop).propertyKey();
+        P<Object> predicate = parsePredicate(expected, pkey);
+        return predicate.test(prop.value());
+    }
+
+    /**
+     * Parse the expected value like "P.gt(18)" or a literal value to a
+     * predicate, the values of the predicate are converted to the data type
+     * of the property key, so the predicate can be reused for the same key
+     */
+    public static P<Object> parsePredicate(Object expected, PropertyKey pkey) {
         P<Object> predicate;
         if (expected instanceof String &&
             ((String) expected).startsWith(TraversalUtil.P_CALL)) {
@@ -835,8 +894,8 @@ public final class TraversalUtil {
         } else {
             predicate = ConditionP.eq(expected);
         }
-        updatePredicateValue(predicate, ((HugeProperty<?>) prop).propertyKey());
-        return predicate.test(actual);
+        updatePredicateValue(predicate, pkey);
+        return predicate;
     }
 
     public static Map<Id, Object> transProperties(HugeGraph graph,
@@ -64,16 +64,25 @@ public final class Consumers<V> {
 
     public Consumers(ExecutorService executor,
                      Consumer<V> consumer, Runnable done) {
+        this(executor, consumer, done, defaultWorkers(executor));
+    }
+
+    public Consumers(ExecutorService executor, Consumer<V> consumer,
+                     Runnable done, int workers) {
+        this(executor, consumer, done, workers, QUEUE_WORKER_SIZE * workers);
+    }
+
+    public Consumers(ExecutorService executor, Consumer<V> consumer,
+                     Runnable done, int workers, int queueSize) {
+        E.checkArgument(workers > 0,
+                        "The workers must be > 0, but got %s", workers);
+        E.checkArgument(queueSize > 0,
+                        "The queue size must be > 0, but got %s", queueSize);
         this.executor = executor;
         this.consumer = consumer;
         this.done = done;
-
-        int workers = THREADS;
-        if (this.executor instanceof ThreadPoolExecutor) {
-            workers = ((ThreadPoolExecutor) this.executor).getCorePoolSize();
-        }
         this.workers = workers;
-        this.queueSize = QUEUE_WORKER_SIZE * workers;
+        this.queueSize = queueSize;
         this.latch = new CountDownLatch(workers);
         this.queue = new ArrayBlockingQueue<>(this.queueSize);
     }
@@ -199,6 +208,13 @@ public final class Consumers<V> {
         return this.executor;
     }
 
+    private static int defaultWorkers(ExecutorService executor) {
+        if (executor instanceof ThreadPoolExecutor) {
+            return ((ThreadPoolExecutor) executor).getCorePoolSize();
+        }
+        return THREADS;
+    }
+
     public static void executeOncePerThread(ExecutorService executor,
                                             int totalThreads,
                                             Runnable callback)
@@ -248,6 +264,10 @@ public final class Consumers<V> {
         }
     }
 
+    public static ExecutorService newVirtualThreadPool(String prefix) {
+        return VirtualThreads.newThreadPerTaskExecutor(prefix + "-worker-");
+    }
+
     public static ExecutorPool newExecutorPool(String prefix, int workers) {
         return new ExecutorPool(prefix, workers);
     }
@@ -266,13 +286,23 @@ public final class Consumers<V> {
 
         private final String threadNamePrefix;
         private final int executorWorkers;
+        private final boolean virtual;
         private final AtomicInteger count;
 
         private final Queue<ExecutorService> executors;
 
         public ExecutorPool(String prefix, int workers) {
+            this(prefix, workers, false);
+        }
+
+        /**
+         * @param virtual whether to run the tasks on virtual threads, then
+         *                the workers are not bounded by the thread pool
+         */
+        public ExecutorPool(String prefix, int workers, boolean virtual) {
             this.threadNamePrefix = prefix;
             this.executorWorkers = workers;
+            this.virtual = virtual;
             this.count = new AtomicInteger();
             this.executors = new ArrayBlockingQueue<>(POOL_CAPACITY);
         }
@@ -282,7 +312,11 @@ public final class Consumers<V> {
             if (executor == null) {
                 int count = this.count.incrementAndGet();
                 String prefix = this.threadNamePrefix + "-" + count;
-                executor = newThreadPool(prefix, this.executorWorkers);
+                if (this.virtual) {
+                    executor = newVirtualThreadPool(prefix);
+                } else {
+                    executor = newThreadPool(prefix, this.executorWorkers);
+                }
             }
             return executor;
         }
@@ -21,6 +21,9 @@ public final class Events {
 
     public static final String CACHE = "cache";
 
+    public static final String EDGE_ADD = "edge.add";
+    public static final String EDGE_REMOVE = "edge.remove";
+
     public static final String STORE_OPEN = "store.open";
     public static final String STORE_CLOSE = "store.close";
     public static final String STORE_INIT = "store.init";
@@ -0,0 +1,270 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.apache.hugegraph.config.CoreOptions;
+import org.apache.hugegraph.task.TaskManager.ContextCallable;
+import org.slf4j.Logger;
+
+/**
+ * A work-stealing alternative of Consumers, the elements are handed off to
+ * a fork-join pool in batches instead of one by one through a blocking
+ * queue. A worker splits its batch and forks the halves to its local deque
+ * as long as there are idle workers to steal them, and a consumer executed
+ * by a worker can consume another iterator (like the next layer of a
+ * traversal) in the same pool, the worker helps to execute the nested
+ * tasks instead of blocking on them.
+ *
+ * The execution is cancelled cooperatively: once an element throws
+ * StopExecution or any other exception, the remaining ones are skipped.
+ */
+public final class ForkJoinConsumers<V> {
+
+    private static final Logger LOG = Log.logger(ForkJoinConsumers.class);
+
+    // Split a batch only if the worker has few tasks to be stolen
+    private static final int SURPLUS_TASKS = 3;
+
+    private final ForkJoinPool pool;
+    private final Consumer<V> consumer;
+    private final int batchSize;
+    private final int maxPendingBatches;
+    private final Object owner;
+    private final Runnable done;
+
+    private volatile boolean stopped = false;
+    private volatile Throwable exception = null;
+
+    public ForkJoinConsumers(ForkJoinPool pool, Consumer<V> consumer,
+                             int batchSize) {
+        this(pool, consumer, batchSize, null, null);
+    }
+
+    /**
+     * @param owner the owner of the done action
+     * @param done  the action of the owner called once by each worker
+     *              thread when it terminates, like closing the thread-local
+     *              transactions of a graph
+     */
+    public ForkJoinConsumers(ForkJoinPool pool, Consumer<V> consumer,
+                             int batchSize, Object owner, Runnable done) {
+        E.checkNotNull(pool, "pool");
+        E.checkArgument(batchSize > 0,
+                        "The batch size must be > 0, but got %s", batchSize);
+        E.checkArgument((owner == null) == (done == null),
+                        "The owner and done action must be set together");
+        this.pool = pool;
+        this.consumer = consumer;
+        this.batchSize = batchSize;
+        this.maxPendingBatches = 2 * pool.getParallelism();
+        this.owner = owner;
+        this.done = done;
+    }
+
+    /**
+     * Consume the elements of the iterator and wait for them to be done
+     * @return the number of elements read from the iterator
+     */
+    public long consume(Iterator<V> iterator) throws Throwable {
+        Queue<ForkJoinTask<?>> pending = new ArrayDeque<>();
+        long total = 0L;
+        try {
+            Object[] batch = new Object[this.batchSize];
+            int size = 0;
+            while (!this.stopped && iterator.hasNext()) {
+                batch[size++] = iterator.next();
+                total++;
+                if (size == batch.length) {
+                    this.submit(pending, batch, size);
+                    batch = new Object[this.batchSize];
+                    size = 0;
+                }
+            }
+            if (size > 0 && !this.stopped) {
+                this.submit(pending, batch, size);
+            }
+        } finally {
+            ForkJoinTask<?> task;
+            while ((task = pending.poll()) != null) {
+                task.quietlyJoin();
+            }
+        }
+
+        if (this.exception != null) {
+            throw this.exception;
+        }
+        return total;
+    }
+
+    public boolean stopped() {
+        return this.stopped;
+    }
+
+    private void submit(Queue<ForkJoinTask<?>> pending,
+                        Object[] batch, int size) {
+        // Wait for the oldest batch to bound the elements in memory
+        if (pending.size() >= this.maxPendingBatches) {
+            pending.poll().quietlyJoin();
+        }
+        BatchTask task = new BatchTask(batch, 0, size);
+        if (ForkJoinTask.getPool() == this.pool) {
+            // Nested consuming from a worker, push to its local deque
+            task.fork();
+        } else {
+            this.pool.execute(task);
+        }
+        pending.add(task);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void accept(Object[] elems, int start, int end) {
+        for (int i = start; i < end && !this.stopped; i++) {
+            try {
+                this.consumer.accept((V) elems[i]);
+            } catch (Throwable e) {
+                this.stopped = true;
+                if (e instanceof Consumers.StopExecution) {
+                    return;
+                }
+                // Only the first exception can be stored
+                if (this.exception == null) {
+                    this.exception = e;
+                    LOG.error("Error when running task", e);
+                }
+                return;
+            }
+        }
+    }
+
+    private void registerDone() {
+        if (this.done == null) {
+            return;
+        }
+        Thread thread = Thread.currentThread();
+        if (thread instanceof Worker) {
+            ((Worker) thread).dones.putIfAbsent(this.owner, this.done);
+        }
+    }
+
+    public static ForkJoinPool newPool(String prefix, int workers) {
+        if (workers > CoreOptions.CPUS * 2) {
+            workers = CoreOptions.CPUS * 2;
+        }
+        String name = prefix + "-stealing-worker-";
+        AtomicInteger count = new AtomicInteger();
+        return new ForkJoinPool(workers, pool -> {
+            Worker worker = new Worker(pool);
+            worker.setName(name + count.getAndIncrement());
+            return worker;
+        }, null, false);
+    }
+
+    private class BatchTask extends RecursiveAction {
+
+        private static final long serialVersionUID = -2419813525816374624L;
+
+        private final Object[] elems;
+        private final int start;
+        private final int end;
+        // Keep the context of the thread that creates the task
+        private final ContextCallable<Void> callable;
+
+        public BatchTask(Object[] elems, int start, int end) {
+            this.elems = elems;
+            this.start = start;
+            this.end = end;
+            this.callable = new ContextCallable<>(this::run);
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                this.callable.call();
+            } catch (Throwable e) {
+                ForkJoinConsumers.this.stopped = true;
+                if (ForkJoinConsumers.this.exception == null) {
+                    ForkJoinConsumers.this.exception = e;
+                }
+            }
+        }
+
+        private Void run() {
+            registerDone();
+            int end = this.end;
+            List<BatchTask> forked = null;
+            // Fork the right half while there are idle workers to steal it
+            while (end - this.start > 1 && !stopped() &&
+                   getSurplusQueuedTaskCount() <= SURPLUS_TASKS) {
+                int mid = (this.start + end) >>> 1;
+                BatchTask right = new BatchTask(this.elems, mid, end);
+                right.fork();
+                if (forked == null) {
+                    forked = new ArrayList<>();
+                }
+                forked.add(right);
+                end = mid;
+            }
+            accept(this.elems, this.start, end);
+            if (forked != null) {
+                // Join the latest forked first which is likely not stolen
+                for (int i = forked.size() - 1; i >= 0; i--) {
+                    forked.get(i).quietlyJoin();
+                }
+            }
+            return null;
+        }
+    }
+
+    private static class Worker extends ForkJoinWorkerThread {
+
+        // Only accessed by the worker thread itself
+        private final Map<Object, Runnable> dones;
+
+        public Worker(ForkJoinPool pool) {
+            super(pool);
+            this.dones = new HashMap<>();
+        }
+
+        @Override
+        protected void onTermination(Throwable exception) {
+            for (Runnable done : this.dones.values()) {
+                try {
+                    done.run();
+                } catch (Throwable e) {
+                    LOG.warn("Error while calling done()", e);
+                }
+            }
+            this.dones.clear();
+            super.onTermination(exception);
+        }
+    }
+}
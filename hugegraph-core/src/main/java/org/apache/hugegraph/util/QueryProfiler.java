@@ -0,0 +1,284 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+import org.apache.hugegraph.iterator.WrappedIterator;
+
+/**
+ * A sampling profiler to record the time spent in each stage of a request,
+ * like index lookup, backend scan and deserialization. The stages can be
+ * nested, the time of an inner stage is excluded from the outer one.
+ *
+ * The counters are kept in a thread-local trace reused by the requests of
+ * a thread, so no object is allocated when profiling, and the stages of a
+ * request not sampled only cost a thread-local lookup.
+ */
+public final class QueryProfiler {
+
+    public enum Stage {
+
+        OTHER("other"),
+
+        STRATEGY("strategy"),
+
+        INDEX("index"),
+
+        SCAN("scan"),
+
+        DESERIALIZE("deserialize"),
+
+        PERMISSION("permission"),
+
+        SERIALIZE("serialize");
+
+        private final String name;
+
+        Stage(String name) {
+            this.name = name;
+        }
+
+        public String string() {
+            return this.name;
+        }
+    }
+
+    private static final Stage[] STAGES = Stage.values();
+
+    private static final ThreadLocal<Trace> TRACES =
+                                            ThreadLocal.withInitial(Trace::new);
+
+    private static volatile double sampleRate = 0.0D;
+
+    public static void sampleRate(double rate) {
+        E.checkArgument(rate >= 0.0D && rate <= 1.0D,
+                        "The sample rate must be in [0, 1], but got %s", rate);
+        sampleRate = rate;
+    }
+
+    public static double sampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Begin to trace the request of current thread if it's sampled
+     * @param force trace the request even if it's not sampled
+     * @return true if the request is traced
+     */
+    public static boolean begin(boolean force) {
+        return begin(force, System::nanoTime);
+    }
+
+    /**
+     * Begin to trace the request of current thread if it's sampled
+     * @param force trace the request even if it's not sampled
+     * @param clock the time source in nanoseconds used by the trace
+     * @return true if the request is traced
+     */
+    public static boolean begin(boolean force, LongSupplier clock) {
+        E.checkNotNull(clock, "clock");
+        if (!force && !sampled()) {
+            return false;
+        }
+        TRACES.get().begin(clock);
+        return true;
+    }
+
+    /**
+     * End the trace of current thread
+     * @return the trace of current thread which will be reused by the next
+     *         request of the thread, or null if the request is not traced
+     */
+    public static Trace end() {
+        Trace trace = TRACES.get();
+        if (!trace.active) {
+            return null;
+        }
+        trace.end();
+        return trace;
+    }
+
+    public static boolean tracing() {
+        return TRACES.get().active;
+    }
+
+    /**
+     * Enter a stage, it must be paired with exit() in a finally block:
+     * <pre>
+     *  Stage previous = QueryProfiler.enter(Stage.SCAN);
+     *  try {
+     *      ...
+     *  } finally {
+     *      QueryProfiler.exit(previous);
+     *  }
+     * </pre>
+     * @return the previous stage, or null if the request is not traced
+     */
+    public static Stage enter(Stage stage) {
+        Trace trace = TRACES.get();
+        if (!trace.active) {
+            return null;
+        }
+        return trace.switchTo(stage);
+    }
+
+    public static void exit(Stage previous) {
+        if (previous == null) {
+            return;
+        }
+        Trace trace = TRACES.get();
+        if (trace.active) {
+            trace.switchTo(previous);
+        }
+    }
+
+    /**
+     * Wrap a lazy iterator to profile its iteration as the stage, the
+     * iterator is returned directly if the request is not traced
+     */
+    public static <T> Iterator<T> wrap(Stage stage, Iterator<T> iterator) {
+        if (!TRACES.get().active) {
+            return iterator;
+        }
+        return new ProfiledIterator<>(stage, iterator);
+    }
+
+    private static boolean sampled() {
+        double rate = sampleRate;
+        if (rate <= 0.0D) {
+            return false;
+        }
+        return rate >= 1.0D ||
+               ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    public static final class Trace {
+
+        private final long[] times;
+        private LongSupplier clock;
+        private boolean active;
+        private Stage current;
+        private long stageStart;
+        private long beginTime;
+        private long totalTime;
+
+        private Trace() {
+            this.times = new long[STAGES.length];
+            this.active = false;
+            this.current = Stage.OTHER;
+        }
+
+        private void begin(LongSupplier clock) {
+            for (int i = 0; i < this.times.length; i++) {
+                this.times[i] = 0L;
+            }
+            this.clock = clock;
+            this.active = true;
+            this.current = Stage.OTHER;
+            this.beginTime = clock.getAsLong();
+            this.stageStart = this.beginTime;
+            this.totalTime = 0L;
+        }
+
+        private void end() {
+            long now = this.clock.getAsLong();
+            this.times[this.current.ordinal()] += now - this.stageStart;
+            this.totalTime = now - this.beginTime;
+            this.active = false;
+            this.current = Stage.OTHER;
+        }
+
+        private Stage switchTo(Stage stage) {
+            Stage previous = this.current;
+            if (previous != stage) {
+                long now = this.clock.getAsLong();
+                this.times[previous.ordinal()] += now - this.stageStart;
+                this.stageStart = now;
+                this.current = stage;
+            }
+            return previous;
+        }
+
+        /**
+         * @return the time in nanoseconds spent in the stage
+         */
+        public long time(Stage stage) {
+            return this.times[stage.ordinal()];
+        }
+
+        /**
+         * @return the time in nanoseconds from begin to end
+         */
+        public long totalTime() {
+            return this.totalTime;
+        }
+
+        /**
+         * @return the time in milliseconds of each stage and the total time
+         */
+        public Map<String, Object> asMap() {
+            Map<String, Object> results = new LinkedHashMap<>();
+            for (Stage stage : STAGES) {
+                results.put(stage.string(), toMillis(this.time(stage)));
+            }
+            results.put("total", toMillis(this.totalTime));
+            return results;
+        }
+
+        private static double toMillis(long nanos) {
+            // Keep 3 decimal places
+            return Math.round(nanos / 1000.0D) / 1000.0D;
+        }
+    }
+
+    private static class ProfiledIterator<T> extends WrappedIterator<T> {
+
+        private final Stage stage;
+        private final Iterator<T> iterator;
+
+        public ProfiledIterator(Stage stage, Iterator<T> iterator) {
+            this.stage = stage;
+            this.iterator = iterator;
+        }
+
+        @Override
+        protected Iterator<T> originIterator() {
+            return this.iterator;
+        }
+
+        @Override
+        protected boolean fetch() {
+            assert this.current == none();
+            Stage previous = enter(this.stage);
+            try {
+                if (!this.iterator.hasNext()) {
+                    return false;
+                }
+                this.current = this.iterator.next();
+                return true;
+            } finally {
+                exit(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.slf4j.Logger;
+
+import org.apache.hugegraph.HugeException;
+
+/**
+ * The virtual threads of JDK 21+, which are accessed by reflection since
+ * the project is still compiled with an older JDK.
+ */
+public final class VirtualThreads {
+
+    private static final Logger LOG = Log.logger(VirtualThreads.class);
+
+    private static final Method OF_VIRTUAL;
+    private static final Method BUILDER_NAME;
+    private static final Method BUILDER_FACTORY;
+    private static final Method IS_VIRTUAL;
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR;
+
+    static {
+        Method ofVirtual = null;
+        Method builderName = null;
+        Method builderFactory = null;
+        Method isVirtual = null;
+        Method newExecutor = null;
+        try {
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            builderName = builder.getMethod("name", String.class, long.class);
+            builderFactory = builder.getMethod("factory");
+            isVirtual = Thread.class.getMethod("isVirtual");
+            newExecutor = Executors.class.getMethod("newThreadPerTaskExecutor",
+                                                    ThreadFactory.class);
+        } catch (ReflectiveOperationException e) {
+            LOG.debug("Virtual threads are not supported by JDK {}",
+                      System.getProperty("java.version"));
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        BUILDER_NAME = builderName;
+        BUILDER_FACTORY = builderFactory;
+        IS_VIRTUAL = isVirtual;
+        NEW_THREAD_PER_TASK_EXECUTOR = newExecutor;
+    }
+
+    public static boolean supported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * @return true if the current thread is a virtual thread
+     */
+    public static boolean current() {
+        if (!supported()) {
+            return false;
+        }
+        try {
+            return (Boolean) IS_VIRTUAL.invoke(Thread.currentThread());
+        } catch (ReflectiveOperationException e) {
+            throw new HugeException("Failed to check virtual thread", e);
+        }
+    }
+
+    /**
+     * Create a factory of virtual threads named with the prefix followed by
+     * a counter, like "prefix0", "prefix1"
+     */
+    public static ThreadFactory newThreadFactory(String prefix) {
+        E.checkState(supported(),
+                     "Virtual threads require JDK 21+, but got JDK %s",
+                     System.getProperty("java.version"));
+        try {
+            Object builder = OF_VIRTUAL.invoke(null);
+            builder = BUILDER_NAME.invoke(builder, prefix, 0L);
+            return (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new HugeException("Failed to create virtual thread factory",
+                                    e);
+        }
+    }
+
+    /**
+     * Create an executor starting a new virtual thread for each task
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String prefix) {
+        ThreadFactory factory = newThreadFactory(prefix);
+        try {
+            return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(
+                                     null, factory);
+        } catch (ReflectiveOperationException e) {
+            throw new HugeException("Failed to create virtual thread executor",
+                                    e);
+        }
+    }
+}
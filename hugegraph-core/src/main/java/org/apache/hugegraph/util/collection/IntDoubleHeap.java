@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.util.collection;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import org.apache.hugegraph.util.E;
+
+/**
+ * An indexed binary min-heap of non-negative int keys with double priorities,
+ * the keys are expected to be dense like the codes of ObjectIntMapping.
+ * The position of each key in the heap is tracked, so the priority of a key
+ * in the heap can be decreased in place instead of inserting a duplicate.
+ */
+public class IntDoubleHeap {
+
+    private static final int INIT_CAPACITY = 16;
+    private static final int NOT_IN_HEAP = -1;
+
+    // The keys ordered as a binary heap, and the priorities by heap position
+    private int[] keys;
+    private double[] priorities;
+    // The heap position of each key, NOT_IN_HEAP if absent
+    private int[] positions;
+    private int size;
+
+    public IntDoubleHeap() {
+        this(INIT_CAPACITY);
+    }
+
+    public IntDoubleHeap(int capacity) {
+        E.checkArgument(capacity > 0,
+                        "The capacity of heap must be > 0, but got %s",
+                        capacity);
+        this.keys = new int[capacity];
+        this.priorities = new double[capacity];
+        this.positions = new int[capacity];
+        Arrays.fill(this.positions, NOT_IN_HEAP);
+        this.size = 0;
+    }
+
+    /**
+     * Insert the key with the priority, or decrease the priority of the key
+     * if it's already in the heap
+     * @return true if the key is inserted or its priority is decreased
+     */
+    public boolean offer(int key, double priority) {
+        E.checkArgument(key >= 0, "The key of heap can't be negative");
+        if (key >= this.positions.length) {
+            int capacity = Math.max(this.positions.length << 1, key + 1);
+            int old = this.positions.length;
+            this.positions = Arrays.copyOf(this.positions, capacity);
+            Arrays.fill(this.positions, old, capacity, NOT_IN_HEAP);
+        }
+        int pos = this.positions[key];
+        if (pos != NOT_IN_HEAP) {
+            if (priority >= this.priorities[pos]) {
+                return false;
+            }
+            this.priorities[pos] = priority;
+            this.siftUp(pos);
+            return true;
+        }
+        if (this.size == this.keys.length) {
+            this.keys = Arrays.copyOf(this.keys, this.size << 1);
+            this.priorities = Arrays.copyOf(this.priorities, this.size << 1);
+        }
+        pos = this.size++;
+        this.keys[pos] = key;
+        this.priorities[pos] = priority;
+        this.positions[key] = pos;
+        this.siftUp(pos);
+        return true;
+    }
+
+    /**
+     * @return the key with the minimum priority and remove it
+     */
+    public int poll() {
+        if (this.size == 0) {
+            throw new NoSuchElementException("The heap is empty");
+        }
+        int key = this.keys[0];
+        this.positions[key] = NOT_IN_HEAP;
+        if (--this.size > 0) {
+            this.keys[0] = this.keys[this.size];
+            this.priorities[0] = this.priorities[this.size];
+            this.positions[this.keys[0]] = 0;
+            this.siftDown(0);
+        }
+        return key;
+    }
+
+    public int peek() {
+        if (this.size == 0) {
+            throw new NoSuchElementException("The heap is empty");
+        }
+        return this.keys[0];
+    }
+
+    /**
+     * @return the minimum priority, or positive infinity if empty
+     */
+    public double peekPriority() {
+        return this.size == 0 ? Double.POSITIVE_INFINITY : this.priorities[0];
+    }
+
+    public boolean contains(int key) {
+        return key >= 0 && key < this.positions.length &&
+               this.positions[key] != NOT_IN_HEAP;
+    }
+
+    public double priority(int key) {
+        E.checkArgument(this.contains(key), "The key %s is not in heap", key);
+        return this.priorities[this.positions[key]];
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public void clear() {
+        for (int i = 0; i < this.size; i++) {
+            this.positions[this.keys[i]] = NOT_IN_HEAP;
+        }
+        this.size = 0;
+    }
+
+    private void siftUp(int pos) {
+        int key = this.keys[pos];
+        double priority = this.priorities[pos];
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (this.priorities[parent] <= priority) {
+                break;
+            }
+            this.move(parent, pos);
+            pos = parent;
+        }
+        this.place(key, priority, pos);
+    }
+
+    private void siftDown(int pos) {
+        int key = this.keys[pos];
+        double priority = this.priorities[pos];
+        int half = this.size >>> 1;
+        while (pos < half) {
+            int child = (pos << 1) + 1;
+            int right = child + 1;
+            if (right < this.size &&
+                this.priorities[right] < this.priorities[child]) {
+                child = right;
+            }
+            if (priority <= this.priorities[child]) {
+                break;
+            }
+            this.move(child, pos);
+            pos = child;
+        }
+        this.place(key, priority, pos);
+    }
+
+    private void move(int from, int to) {
+        this.keys[to] = this.keys[from];
+        this.priorities[to] = this.priorities[from];
+        this.positions[this.keys[to]] = to;
+    }
+
+    private void place(int key, double priority, int pos) {
+        this.keys[pos] = key;
+        this.priorities[pos] = priority;
+        this.positions[key] = pos;
+    }
+}
@@ -0,0 +1,53 @@
+#!/bin/bash
+#
+# Licensed to the Apache Software Foundation (ASF) under one or more
+# contributor license agreements. See the NOTICE file distributed with this
+# work for additional information regarding copyright ownership. The ASF
+# licenses this file to You under the Apache License, Version 2.0 (the
+# "License"); you may not use this file except in compliance with the License.
+# You may obtain a copy of the License at
+#
+#     http://www.apache.org/licenses/LICENSE-2.0
+#
+# Unless required by applicable law or agreed to in writing, software
+# distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+# WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+# License for the specific language governing permissions and limitations
+# under the License.
+#
+abs_path() {
+    SOURCE="${BASH_SOURCE[0]}"
+    while [ -h "$SOURCE" ]; do
+        DIR="$( cd -P "$( dirname "$SOURCE" )" && pwd )"
+        SOURCE="$(readlink "$SOURCE")"
+        [[ $SOURCE != /* ]] && SOURCE="$DIR/$SOURCE"
+    done
+    echo "$( cd -P "$( dirname "$SOURCE" )" && pwd )"
+}
+
+BIN=`abs_path`
+TOP="$(cd $BIN/../ && pwd)"
+CONF=$TOP/conf
+LIB=$TOP/lib
+
+if [ -n "$JAVA_HOME" ]; then
+    JAVA="$JAVA_HOME"/bin/java
+else
+    JAVA=java
+fi
+
+if [ $# -lt 3 ]; then
+    echo "USAGE: $0 GRAPH_CONF SST_PATH INPUT..."
+    echo "  INPUT: vertex:FILE.json | vertex:LABEL:FILE.csv |"
+    echo "         edge:FILE.json | edge:LABEL:OUT_V_LABEL:IN_V_LABEL:FILE.csv"
+    exit 1
+fi
+
+cd $TOP
+
+echo "Bulk loading into HugeGraph Store($1)..."
+
+bulk_load_ext_jar_path=$LIB/hugegraph-dist-*.jar
+for i in $LIB/*.jar; do bulk_load_ext_jar_path=$bulk_load_ext_jar_path:$i;  export bulk_load_ext_jar_path; done
+exec $JAVA -cp $bulk_load_ext_jar_path \
+org.apache.hugegraph.cmd.SstBulkLoader "$@"
@@ -0,0 +1,412 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.cmd;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.apache.hugegraph.HugeFactory;
+import org.apache.hugegraph.HugeGraph;
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.store.rocksdb.RocksDBOptions;
+import org.apache.hugegraph.config.CoreOptions;
+import org.apache.hugegraph.config.HugeConfig;
+import org.apache.hugegraph.dist.RegisterUtil;
+import org.apache.hugegraph.schema.IndexLabel;
+import org.apache.hugegraph.schema.PropertyKey;
+import org.apache.hugegraph.schema.SchemaLabel;
+import org.apache.hugegraph.schema.VertexLabel;
+import org.apache.hugegraph.structure.HugeElement;
+import org.apache.hugegraph.structure.HugeVertex;
+import org.apache.hugegraph.type.HugeType;
+import org.apache.hugegraph.type.define.DataType;
+import org.apache.hugegraph.type.define.IdStrategy;
+import org.apache.hugegraph.util.E;
+import org.apache.hugegraph.util.JsonUtil;
+import org.apache.hugegraph.util.Log;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.slf4j.Logger;
+
+/**
+ * Load vertices and edges from CSV/JSON files into RocksDB in an offline
+ * pass: the elements are serialized with their index entries through the
+ * rocksdbsst backend, which sorts the records of each table and writes them
+ * into sst files, then the sst files are ingested into the RocksDB store
+ * of the graph when reopening it.
+ *
+ * The input of each file is specified by:
+ *  vertex:FILE.json                        each line like VertexAPI body
+ *  vertex:LABEL:FILE.csv                   header line with property names,
+ *                                          column `id` is the vertex id
+ *  edge:FILE.json                          each line like EdgeAPI body
+ *  edge:LABEL:OUT_V_LABEL:IN_V_LABEL:FILE.csv
+ *                                          header line with property names,
+ *                                          columns `outV` and `inV` are the
+ *                                          source and target vertex id
+ *
+ * NOTE: the rocksdbsst backend is write-only, reading from it returns
+ * nothing, so the loader can't check anything against the existing data:
+ *  - the labels with unique index are rejected, since the unique
+ *    constraint can't be checked
+ *  - the vertices and edges are not checked for existence, an element
+ *    with the same id as an existing one overwrites it when ingested, but
+ *    the index entries of its old property values are left
+ *  - the source and target vertices of edges are not checked to exist
+ */
+public class SstBulkLoader {
+
+    private static final Logger LOG = Log.logger(SstBulkLoader.class);
+
+    private static final String BACKEND = "rocksdbsst";
+    private static final String CSV_SEPARATOR = ",";
+    private static final String COLUMN_ID = "id";
+    private static final String COLUMN_OUT_V = "outV";
+    private static final String COLUMN_IN_V = "inV";
+
+    private static final int BATCH_SIZE = 500;
+
+    private final HugeGraph graph;
+    private final Set<Id> checkedLabels;
+    private long vertices;
+    private long edges;
+    private int uncommitted;
+
+    public SstBulkLoader(HugeGraph graph) {
+        E.checkArgument(BACKEND.equals(graph.backend()),
+                        "Expect backend '%s' to load, but got '%s'",
+                        BACKEND, graph.backend());
+        this.graph = graph;
+        this.checkedLabels = new HashSet<>();
+        this.vertices = 0L;
+        this.edges = 0L;
+        this.uncommitted = 0;
+    }
+
+    public void load(String input) throws IOException {
+        String[] parts = input.split(":");
+        E.checkArgument(parts.length >= 2, "Invalid input '%s'", input);
+        String file = parts[parts.length - 1];
+        boolean csv = file.endsWith(".csv");
+
+        LOG.info("Loading {}...", input);
+        try (BufferedReader reader = Files.newBufferedReader(
+                                     Paths.get(file), StandardCharsets.UTF_8)) {
+            if ("vertex".equals(parts[0]) && !csv) {
+                E.checkArgument(parts.length == 2, "Invalid input '%s'", input);
+                this.loadVerticesFromJson(reader);
+            } else if ("vertex".equals(parts[0])) {
+                E.checkArgument(parts.length == 3, "Invalid input '%s'", input);
+                this.loadVerticesFromCsv(reader, parts[1]);
+            } else if ("edge".equals(parts[0]) && !csv) {
+                E.checkArgument(parts.length == 2, "Invalid input '%s'", input);
+                this.loadEdgesFromJson(reader);
+            } else if ("edge".equals(parts[0])) {
+                E.checkArgument(parts.length == 5, "Invalid input '%s'", input);
+                this.loadEdgesFromCsv(reader, parts[1], parts[2], parts[3]);
+            } else {
+                throw new IllegalArgumentException(String.format(
+                          "Invalid input type '%s', expect vertex or edge",
+                          parts[0]));
+            }
+        }
+        this.commit();
+        LOG.info("Loaded {}, total {} vertices and {} edges",
+                 input, this.vertices, this.edges);
+    }
+
+    public void close() throws Exception {
+        // The sst files will be written when closing the store
+        this.graph.close();
+    }
+
+    public long vertices() {
+        return this.vertices;
+    }
+
+    public long edges() {
+        return this.edges;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void loadVerticesFromJson(BufferedReader reader)
+                                      throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            Map<String, Object> json = JsonUtil.fromJson(line, Map.class);
+            String label = (String) json.get("label");
+            Map<String, Object> properties = (Map<String, Object>)
+                                             json.get("properties");
+            this.addVertex(label, json.get("id"), properties);
+        }
+    }
+
+    private void loadVerticesFromCsv(BufferedReader reader, String label)
+                                     throws IOException {
+        String[] header = this.readCsvHeader(reader);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            Map<String, Object> properties = this.parseCsvLine(header, line);
+            if (properties == null) {
+                continue;
+            }
+            Object id = properties.remove(COLUMN_ID);
+            this.addVertex(label, id, properties);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void loadEdgesFromJson(BufferedReader reader) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            Map<String, Object> json = JsonUtil.fromJson(line, Map.class);
+            Map<String, Object> properties = (Map<String, Object>)
+                                             json.get("properties");
+            this.addEdge((String) json.get("label"),
+                         (String) json.get("outVLabel"), json.get("outV"),
+                         (String) json.get("inVLabel"), json.get("inV"),
+                         properties);
+        }
+    }
+
+    private void loadEdgesFromCsv(BufferedReader reader, String label,
+                                  String outVLabel, String inVLabel)
+                                  throws IOException {
+        String[] header = this.readCsvHeader(reader);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            Map<String, Object> properties = this.parseCsvLine(header, line);
+            if (properties == null) {
+                continue;
+            }
+            Object outV = properties.remove(COLUMN_OUT_V);
+            Object inV = properties.remove(COLUMN_IN_V);
+            this.addEdge(label, outVLabel, outV, inVLabel, inV, properties);
+        }
+    }
+
+    private String[] readCsvHeader(BufferedReader reader) throws IOException {
+        String header = reader.readLine();
+        E.checkArgument(header != null, "Expect a header line in csv file");
+        return header.split(CSV_SEPARATOR, -1);
+    }
+
+    private Map<String, Object> parseCsvLine(String[] header, String line) {
+        if (line.trim().isEmpty()) {
+            return null;
+        }
+        String[] values = line.split(CSV_SEPARATOR, -1);
+        E.checkArgument(values.length == header.length,
+                        "Expect %s columns but got %s: %s",
+                        header.length, values.length, line);
+        Map<String, Object> properties = new LinkedHashMap<>();
+        for (int i = 0; i < header.length; i++) {
+            String key = header[i];
+            String value = values[i];
+            if (value.isEmpty()) {
+                // Skip null value
+                continue;
+            }
+            if (COLUMN_ID.equals(key) || COLUMN_OUT_V.equals(key) ||
+                COLUMN_IN_V.equals(key)) {
+                properties.put(key, value);
+            } else {
+                properties.put(key, this.parseValue(key, value));
+            }
+        }
+        return properties;
+    }
+
+    private Object parseValue(String key, String value) {
+        DataType dataType = this.graph.propertyKey(key).dataType();
+        if (dataType.isText() || dataType.isDate() || dataType.isUUID() ||
+            dataType.isBlob()) {
+            // The string value would be converted by the property key
+            return value;
+        }
+        return JsonUtil.fromJson(value, Object.class);
+    }
+
+    private void addVertex(String label, Object id,
+                           Map<String, Object> properties) {
+        E.checkArgument(label != null, "The vertex label can't be null");
+        this.checkNoUniqueIndex(this.graph.vertexLabel(label));
+        List<Object> keyValues = new ArrayList<>();
+        keyValues.add(T.label);
+        keyValues.add(label);
+        if (id != null) {
+            VertexLabel vertexLabel = this.graph.vertexLabel(label);
+            keyValues.add(T.id);
+            keyValues.add(convertId(vertexLabel, id));
+        }
+        if (properties != null) {
+            for (Map.Entry<String, Object> e : properties.entrySet()) {
+                PropertyKey pkey = this.graph.propertyKey(e.getKey());
+                keyValues.add(e.getKey());
+                keyValues.add(pkey.validValueOrThrow(e.getValue()));
+            }
+        }
+        this.graph.addVertex(keyValues.toArray());
+        this.vertices++;
+        this.commitIfNeeded();
+    }
+
+    private void addEdge(String label, String outVLabel, Object outV,
+                         String inVLabel, Object inV,
+                         Map<String, Object> properties) {
+        E.checkArgument(label != null, "The edge label can't be null");
+        E.checkArgument(outV != null && inV != null,
+                        "The source/target vertex id of edge can't be null");
+        this.checkNoUniqueIndex(this.graph.edgeLabel(label));
+        HugeVertex source = this.newVertex(outVLabel, outV);
+        HugeVertex target = this.newVertex(inVLabel, inV);
+
+        List<Object> keyValues = new ArrayList<>();
+        if (properties != null) {
+            for (Map.Entry<String, Object> e : properties.entrySet()) {
+                PropertyKey pkey = this.graph.propertyKey(e.getKey());
+                keyValues.add(e.getKey());
+                keyValues.add(pkey.validValueOrThrow(e.getValue()));
+            }
+        }
+        source.addEdge(label, target, keyValues.toArray());
+        this.edges++;
+        this.commitIfNeeded();
+    }
+
+    private HugeVertex newVertex(String label, Object id) {
+        E.checkArgument(label != null, "The vertex label can't be null");
+        VertexLabel vertexLabel = this.graph.vertexLabel(label);
+        Id idValue = HugeElement.getIdValue(HugeType.VERTEX,
+                                            convertId(vertexLabel, id));
+        return new HugeVertex(this.graph, idValue, vertexLabel);
+    }
+
+    private void checkNoUniqueIndex(SchemaLabel label) {
+        if (!this.checkedLabels.add(label.id())) {
+            return;
+        }
+        for (Id id : label.indexLabels()) {
+            IndexLabel indexLabel = this.graph.indexLabel(id);
+            E.checkArgument(!indexLabel.indexType().isUnique(),
+                            "Can't bulk load '%s' with unique index '%s', " +
+                            "the unique constraint can't be checked " +
+                            "by the sst loader", label.name(),
+                            indexLabel.name());
+        }
+    }
+
+    private void commitIfNeeded() {
+        if (++this.uncommitted >= BATCH_SIZE) {
+            this.commit();
+        }
+    }
+
+    private void commit() {
+        this.graph.tx().commit();
+        this.uncommitted = 0;
+    }
+
+    private static Object convertId(VertexLabel vertexLabel, Object id) {
+        if (!(id instanceof String)) {
+            return id;
+        }
+        IdStrategy strategy = vertexLabel.idStrategy();
+        if (strategy == IdStrategy.CUSTOMIZE_NUMBER) {
+            return Long.parseLong((String) id);
+        } else if (strategy == IdStrategy.CUSTOMIZE_UUID) {
+            return UUID.fromString((String) id);
+        }
+        return id;
+    }
+
+    private static HugeGraph openGraph(HugeConfig conf, String backend,
+                                       String sstPath) {
+        HugeConfig config = new HugeConfig(conf);
+        if (backend != null) {
+            config.setProperty(CoreOptions.BACKEND.name(), backend);
+        }
+        config.setProperty(RocksDBOptions.SST_PATH.name(), sstPath);
+        return HugeFactory.open(config);
+    }
+
+    /**
+     * Load the inputs into sst files, then ingest them into the RocksDB
+     * store of the graph, the graph must be closed while loading
+     * @param conf      the config of the graph with rocksdb backend
+     * @param sstPath   the path to write sst files
+     * @param inputs    the input files to load
+     * @return          the loader with the counts of loaded elements
+     */
+    public static SstBulkLoader load(HugeConfig conf, String sstPath,
+                                     List<String> inputs) throws Exception {
+        // Serialize the elements and write them into sorted sst files
+        HugeGraph graph = openGraph(conf, BACKEND, sstPath);
+        SstBulkLoader loader = new SstBulkLoader(graph);
+        try {
+            for (String input : inputs) {
+                loader.load(input);
+            }
+        } finally {
+            loader.close();
+        }
+
+        // Ingest the sst files into the RocksDB store when opening it
+        LOG.info("Ingesting sst files from {}...", sstPath);
+        graph = openGraph(conf, null, sstPath);
+        graph.close();
+        LOG.info("Ingested {} vertices and {} edges",
+                 loader.vertices, loader.edges);
+        return loader;
+    }
+
+    public static void main(String[] args) throws Exception {
+        E.checkArgument(args.length >= 3,
+                        "SstBulkLoader need a graph config file, " +
+                        "a sst path and input files, like: " +
+                        "conf/graphs/hugegraph.properties /path/sst " +
+                        "vertex:person:person.csv " +
+                        "edge:knows:person:person:knows.csv");
+        String conf = args[0];
+        String sstPath = args[1];
+        List<String> inputs = Arrays.asList(args).subList(2, args.length);
+
+        RegisterUtil.registerBackends();
+
+        load(new HugeConfig(conf), sstPath, inputs);
+
+        // Stop daemon thread
+        HugeFactory.shutdown(30L, true);
+    }
+}
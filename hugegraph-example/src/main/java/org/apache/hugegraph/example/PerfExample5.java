@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.example;
+
+import java.util.Random;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.slf4j.Logger;
+
+import org.apache.hugegraph.HugeFactory;
+import org.apache.hugegraph.HugeGraph;
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.id.IdGenerator;
+import org.apache.hugegraph.config.CoreOptions;
+import org.apache.hugegraph.config.HugeConfig;
+import org.apache.hugegraph.schema.SchemaManager;
+import org.apache.hugegraph.traversal.algorithm.HugeTraverser;
+import org.apache.hugegraph.traversal.algorithm.KneighborTraverser;
+import org.apache.hugegraph.traversal.algorithm.KoutTraverser;
+import org.apache.hugegraph.traversal.algorithm.OltpTraverser;
+import org.apache.hugegraph.traversal.algorithm.steps.EdgeStep;
+import org.apache.hugegraph.type.define.Directions;
+import org.apache.hugegraph.util.Log;
+
+/**
+ * Perf test for: k-out and k-neighbor executed concurrently by the queue
+ * engine and the work-stealing engine
+ */
+public class PerfExample5 {
+
+    private static final Logger LOG = Log.logger(PerfExample5.class);
+
+    private static final String[] ENGINES = {"queue", "work_stealing"};
+
+    /**
+     * Main method
+     * @param args 4 arguments, the number of vertices, the out degree of
+     *             each vertex, the depth and the times of each traversal
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length != 4) {
+            LOG.info("Usage: vertices degree depth times");
+            return;
+        }
+        int vertices = Integer.parseInt(args[0]);
+        int degree = Integer.parseInt(args[1]);
+        int depth = Integer.parseInt(args[2]);
+        int times = Integer.parseInt(args[3]);
+
+        HugeGraph graph = ExampleUtil.loadGraph(true, false);
+        initSchema(graph.schema());
+        insertGraph(graph, vertices, degree);
+
+        HugeConfig config = (HugeConfig) graph.configuration();
+        config.setProperty(CoreOptions.OLTP_CONCURRENT_DEPTH.name(), 1);
+        Id source = IdGenerator.of(0L);
+        for (String engine : ENGINES) {
+            config.setProperty(CoreOptions.OLTP_CONCURRENT_ENGINE.name(),
+                               engine);
+            // Recreate the executors of oltp algorithm with the engine
+            OltpTraverser.destroy();
+            testKout(graph, engine, source, depth, times);
+            testKneighbor(graph, engine, source, depth, times);
+        }
+
+        graph.close();
+
+        // Stop daemon thread
+        HugeFactory.shutdown(30L);
+    }
+
+    private static void initSchema(SchemaManager schema) {
+        schema.vertexLabel("node")
+              .useCustomizeNumberId()
+              .ifNotExist()
+              .create();
+        schema.edgeLabel("link")
+              .sourceLabel("node").targetLabel("node")
+              .ifNotExist()
+              .create();
+    }
+
+    private static void insertGraph(HugeGraph graph, int vertices,
+                                    int degree) {
+        long start = System.currentTimeMillis();
+        Random random = new Random(vertices);
+        Vertex[] nodes = new Vertex[vertices];
+        for (int i = 0; i < vertices; i++) {
+            nodes[i] = graph.addVertex(T.label, "node", T.id, i);
+        }
+        graph.tx().commit();
+        for (int i = 0; i < vertices; i++) {
+            for (int j = 0; j < degree; j++) {
+                nodes[i].addEdge("link", nodes[random.nextInt(vertices)]);
+            }
+            if (i % 100 == 0) {
+                graph.tx().commit();
+            }
+        }
+        graph.tx().commit();
+        LOG.info(">>>> insert {} vertices with degree {}, cost: {}ms",
+                 vertices, degree, System.currentTimeMillis() - start);
+    }
+
+    private static void testKout(HugeGraph graph, String engine, Id source,
+                                 int depth, int times) {
+        KoutTraverser traverser = new KoutTraverser(graph);
+        EdgeStep step = new EdgeStep(graph, Directions.OUT);
+        long size = 0L;
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < times; i++) {
+            size = traverser.customizedKout(source, step, depth, true,
+                                            HugeTraverser.NO_LIMIT,
+                                            HugeTraverser.NO_LIMIT).size();
+        }
+        LOG.info(">>>> [{}] k-out depth {} found {} vertices, cost: {}ms",
+                 engine, depth, size,
+                 (System.currentTimeMillis() - start) / times);
+    }
+
+    private static void testKneighbor(HugeGraph graph, String engine,
+                                      Id source, int depth, int times) {
+        KneighborTraverser traverser = new KneighborTraverser(graph);
+        EdgeStep step = new EdgeStep(graph, Directions.OUT);
+        long size = 0L;
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < times; i++) {
+            size = traverser.customizedKneighbor(source, step, depth,
+                                                 HugeTraverser.NO_LIMIT)
+                            .size();
+        }
+        LOG.info(">>>> [{}] k-neighbor depth {} found {} vertices, " +
+                 "cost: {}ms", engine, depth, size,
+                 (System.currentTimeMillis() - start) / times);
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.example;
+
+import java.util.Random;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.slf4j.Logger;
+
+import org.apache.hugegraph.HugeFactory;
+import org.apache.hugegraph.HugeGraph;
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.id.IdGenerator;
+import org.apache.hugegraph.config.CoreOptions;
+import org.apache.hugegraph.config.HugeConfig;
+import org.apache.hugegraph.schema.SchemaManager;
+import org.apache.hugegraph.traversal.algorithm.HugeTraverser;
+import org.apache.hugegraph.traversal.algorithm.ShortestPathTraverser;
+import org.apache.hugegraph.type.define.Directions;
+import org.apache.hugegraph.util.Log;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Perf test for: shortest path and all shortest paths searched by the
+ * layered engine and the degree-aware engine on a graph with hub vertices
+ */
+public class PerfExample6 {
+
+    private static final Logger LOG = Log.logger(PerfExample6.class);
+
+    private static final String[] ENGINES = {"degree_aware", "layered"};
+
+    /**
+     * Main method
+     * @param args 4 arguments, the number of vertices, the out degree of
+     *             each vertex, the number of hub vertices linked to all the
+     *             other vertices, and the times of each search
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length != 4) {
+            LOG.info("Usage: vertices degree hubs times");
+            return;
+        }
+        int vertices = Integer.parseInt(args[0]);
+        int degree = Integer.parseInt(args[1]);
+        int hubs = Integer.parseInt(args[2]);
+        int times = Integer.parseInt(args[3]);
+
+        HugeGraph graph = ExampleUtil.loadGraph(true, false);
+        initSchema(graph.schema());
+        insertGraph(graph, vertices, degree, hubs);
+
+        HugeConfig config = (HugeConfig) graph.configuration();
+        for (String engine : ENGINES) {
+            config.setProperty(CoreOptions.OLTP_SHORTEST_PATH_ENGINE.name(),
+                               engine);
+            testShortestPath(graph, engine, vertices, hubs, times);
+        }
+
+        graph.close();
+
+        // Stop daemon thread
+        HugeFactory.shutdown(30L);
+    }
+
+    private static void initSchema(SchemaManager schema) {
+        schema.vertexLabel("node")
+              .useCustomizeNumberId()
+              .ifNotExist()
+              .create();
+        schema.edgeLabel("link")
+              .sourceLabel("node").targetLabel("node")
+              .ifNotExist()
+              .create();
+    }
+
+    private static void insertGraph(HugeGraph graph, int vertices,
+                                    int degree, int hubs) {
+        long start = System.currentTimeMillis();
+        Random random = new Random(vertices);
+        Vertex[] nodes = new Vertex[vertices];
+        for (int i = 0; i < vertices; i++) {
+            nodes[i] = graph.addVertex(T.label, "node", T.id, i);
+        }
+        graph.tx().commit();
+        for (int i = 0; i < vertices; i++) {
+            for (int j = 0; j < degree; j++) {
+                nodes[i].addEdge("link", nodes[random.nextInt(vertices)]);
+            }
+            // The first vertices are hubs pointed by all the others
+            if (i >= hubs) {
+                nodes[i].addEdge("link", nodes[i % hubs]);
+            }
+            if (i % 100 == 0) {
+                graph.tx().commit();
+            }
+        }
+        graph.tx().commit();
+        LOG.info(">>>> insert {} vertices with degree {} and {} hubs, " +
+                 "cost: {}ms", vertices, degree, hubs,
+                 System.currentTimeMillis() - start);
+    }
+
+    private static void testShortestPath(HugeGraph graph, String engine,
+                                         int vertices, int hubs,
+                                         int times) {
+        ShortestPathTraverser traverser = new ShortestPathTraverser(graph);
+        Random random = new Random(times);
+        long found = 0L;
+        long length = 0L;
+        long paths = 0L;
+        long cost = 0L;
+        long allCost = 0L;
+        for (int i = 0; i < times; i++) {
+            Id source = IdGenerator.of((long) hubs +
+                                       random.nextInt(vertices - hubs));
+            Id target = IdGenerator.of((long) hubs +
+                                       random.nextInt(vertices - hubs));
+            long start = System.currentTimeMillis();
+            HugeTraverser.Path path = traverser.shortestPath(
+                                      source, target, Directions.OUT,
+                                      ImmutableList.of(), 6,
+                                      HugeTraverser.NO_LIMIT, 0L,
+                                      HugeTraverser.NO_LIMIT);
+            cost += System.currentTimeMillis() - start;
+            if (!path.vertices().isEmpty()) {
+                found++;
+                length += path.vertices().size() - 1;
+            }
+
+            start = System.currentTimeMillis();
+            paths += traverser.allShortestPaths(source, target, Directions.OUT,
+                                                ImmutableList.of(), 6,
+                                                HugeTraverser.NO_LIMIT, 0L,
+                                                HugeTraverser.NO_LIMIT)
+                              .size();
+            allCost += System.currentTimeMillis() - start;
+        }
+        LOG.info(">>>> [{}] shortest path found {}/{} with total length {}, " +
+                 "cost: {}ms", engine, found, times, length, cost);
+        LOG.info(">>>> [{}] all shortest paths found {} paths, cost: {}ms",
+                 engine, paths, allCost);
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.example;
+
+import java.util.Random;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.slf4j.Logger;
+
+import org.apache.hugegraph.HugeFactory;
+import org.apache.hugegraph.HugeGraph;
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.id.IdGenerator;
+import org.apache.hugegraph.config.CoreOptions;
+import org.apache.hugegraph.config.HugeConfig;
+import org.apache.hugegraph.schema.SchemaManager;
+import org.apache.hugegraph.traversal.algorithm.HugeTraverser;
+import org.apache.hugegraph.traversal.algorithm.SingleSourceShortestPathTraverser;
+import org.apache.hugegraph.traversal.algorithm.SingleSourceShortestPathTraverser.NodeWithWeight;
+import org.apache.hugegraph.type.define.Directions;
+import org.apache.hugegraph.util.Log;
+
+/**
+ * Perf test for: weighted shortest path and single source shortest paths
+ * searched by the layered engine, Dijkstra, A* and bidirectional Dijkstra
+ */
+public class PerfExample7 {
+
+    private static final Logger LOG = Log.logger(PerfExample7.class);
+
+    private static final String[] ENGINES = {"layered", "dijkstra",
+                                             "bidirectional_dijkstra"};
+
+    /**
+     * Main method
+     * @param args 3 arguments, the number of vertices, the out degree of
+     *             each vertex and the times of each search
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length != 3) {
+            LOG.info("Usage: vertices degree times");
+            return;
+        }
+        int vertices = Integer.parseInt(args[0]);
+        int degree = Integer.parseInt(args[1]);
+        int times = Integer.parseInt(args[2]);
+
+        HugeGraph graph = ExampleUtil.loadGraph(true, false);
+        initSchema(graph.schema());
+        insertGraph(graph, vertices, degree);
+
+        HugeConfig config = (HugeConfig) graph.configuration();
+        for (String engine : ENGINES) {
+            config.setProperty(CoreOptions.OLTP_WEIGHTED_PATH_ENGINE.name(),
+                               engine);
+            testWeightedShortestPath(graph, engine, null, vertices, times);
+            testSingleSourceShortestPaths(graph, engine, vertices, times);
+        }
+        // Search by A* with the position as heuristic
+        config.setProperty(CoreOptions.OLTP_WEIGHTED_PATH_ENGINE.name(),
+                           "dijkstra");
+        testWeightedShortestPath(graph, "a-star", "position", vertices, times);
+
+        graph.close();
+
+        // Stop daemon thread
+        HugeFactory.shutdown(30L);
+    }
+
+    private static void initSchema(SchemaManager schema) {
+        schema.propertyKey("position").asDouble().ifNotExist().create();
+        schema.propertyKey("weight").asDouble().ifNotExist().create();
+        schema.vertexLabel("node")
+              .properties("position")
+              .useCustomizeNumberId()
+              .ifNotExist()
+              .create();
+        schema.edgeLabel("link")
+              .sourceLabel("node").targetLabel("node")
+              .properties("weight")
+              .ifNotExist()
+              .create();
+    }
+
+    private static void insertGraph(HugeGraph graph, int vertices,
+                                    int degree) {
+        long start = System.currentTimeMillis();
+        Random random = new Random(vertices);
+        Vertex[] nodes = new Vertex[vertices];
+        for (int i = 0; i < vertices; i++) {
+            nodes[i] = graph.addVertex(T.label, "node", T.id, i,
+                                       "position", (double) i);
+        }
+        graph.tx().commit();
+        for (int i = 0; i < vertices; i++) {
+            for (int j = 0; j < degree; j++) {
+                int target = random.nextInt(vertices);
+                // The weight is never less than the position difference
+                double weight = Math.abs(target - i) + random.nextDouble();
+                nodes[i].addEdge("link", nodes[target], "weight", weight);
+            }
+            if (i % 100 == 0) {
+                graph.tx().commit();
+            }
+        }
+        graph.tx().commit();
+        LOG.info(">>>> insert {} vertices with degree {}, cost: {}ms",
+                 vertices, degree, System.currentTimeMillis() - start);
+    }
+
+    private static void testWeightedShortestPath(HugeGraph graph,
+                                                 String engine,
+                                                 String heuristic,
+                                                 int vertices, int times) {
+        SingleSourceShortestPathTraverser traverser =
+                new SingleSourceShortestPathTraverser(graph);
+        Random random = new Random(times);
+        long found = 0L;
+        double weights = 0D;
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < times; i++) {
+            Id source = IdGenerator.of((long) random.nextInt(vertices));
+            Id target = IdGenerator.of((long) random.nextInt(vertices));
+            NodeWithWeight path = traverser.weightedShortestPath(
+                                  source, target, Directions.OUT, null,
+                                  "weight", heuristic,
+                                  HugeTraverser.NO_LIMIT, 0L,
+                                  HugeTraverser.NO_LIMIT);
+            if (path != null) {
+                found++;
+                weights += path.weight();
+            }
+        }
+        LOG.info(">>>> [{}] weighted shortest path found {}/{} with total " +
+                 "weight {}, cost: {}ms", engine, found, times,
+                 String.format("%.3f", weights),
+                 System.currentTimeMillis() - start);
+    }
+
+    private static void testSingleSourceShortestPaths(HugeGraph graph,
+                                                      String engine,
+                                                      int vertices,
+                                                      int times) {
+        SingleSourceShortestPathTraverser traverser =
+                new SingleSourceShortestPathTraverser(graph);
+        Random random = new Random(times);
+        long size = 0L;
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < times; i++) {
+            Id source = IdGenerator.of((long) random.nextInt(vertices));
+            size += traverser.singleSourceShortestPaths(
+                              source, Directions.OUT, null, "weight",
+                              HugeTraverser.NO_LIMIT, 0L,
+                              HugeTraverser.NO_LIMIT, HugeTraverser.NO_LIMIT)
+                             .size();
+        }
+        LOG.info(">>>> [{}] single source shortest paths found {} paths, " +
+                 "cost: {}ms", engine, size,
+                 System.currentTimeMillis() - start);
+    }
+}
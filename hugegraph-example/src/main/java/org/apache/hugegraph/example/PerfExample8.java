@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hugegraph.example;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+
+import org.apache.hugegraph.HugeFactory;
+import org.apache.hugegraph.backend.id.SnowflakeIdGenerator;
+import org.apache.hugegraph.util.Log;
+
+/**
+ * Perf test for: generate snowflake ids with multi threads, by the lock-free
+ * id worker and the id blocks of different sizes reserved by each thread
+ */
+public class PerfExample8 {
+
+    private static final Logger LOG = Log.logger(PerfExample8.class);
+
+    private static final int[] BLOCK_SIZES = {1, 16, 256, 4096};
+
+    /**
+     * Main method
+     * @param args 2 arguments, the number of threads and the number of ids
+     *             generated by each thread
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length != 2) {
+            LOG.info("Usage: threads times");
+            return;
+        }
+        int threads = Integer.parseInt(args[0]);
+        int times = Integer.parseInt(args[1]);
+
+        for (int blockSize : BLOCK_SIZES) {
+            testGenerate(threads, times, blockSize);
+        }
+
+        // Stop daemon thread
+        HugeFactory.shutdown(30L);
+    }
+
+    private static void testGenerate(int threads, int times, int blockSize)
+                                     throws InterruptedException {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(
+                                         0L, 0L, false, blockSize);
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            workers.add(new Thread(() -> {
+                for (int j = 0; j < times; j++) {
+                    generator.generate();
+                }
+            }));
+        }
+
+        long start = System.currentTimeMillis();
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long cost = Math.max(System.currentTimeMillis() - start, 1L);
+
+        long total = (long) threads * times;
+        LOG.info(">>>> [block size {}] generate {} ids with {} threads, " +
+                 "cost: {}ms, rate: {} ids/ms",
+                 blockSize, total, threads, cost, total / cost);
+    }
+}
@@ -48,6 +48,7 @@ public class HbaseMetrics implements BackendMetrics {
     @Override
     public Map<String, Object> metrics() {
         Map<String, Object> results = this.clusterInfo();
+        results.put("client", this.hbase.clientMetrics());
         if (results.containsKey(EXCEPTION)) {
             return results;
         }
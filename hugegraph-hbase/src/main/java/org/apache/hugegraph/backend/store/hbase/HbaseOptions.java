@@ -160,4 +160,31 @@ public class HbaseOptions extends OptionHolder {
                     nonNegativeInt(),
                     30
             );
+
+    public static final ConfigOption<Integer> HBASE_PARALLEL_THREADS =
+            new ConfigOption<>(
+                    "hbase.parallel_threads",
+                    "The number of threads to execute the batches of " +
+                    "multi-get and the region scans in parallel, " +
+                    "0 means executing them in the query thread.",
+                    rangeInt(0, 1024),
+                    0
+            );
+
+    public static final ConfigOption<Integer> HBASE_PARALLEL_MAX_INFLIGHT =
+            new ConfigOption<>(
+                    "hbase.parallel_max_inflight",
+                    "The max number of multi-get batches or region scans " +
+                    "in flight at a time for a query.",
+                    rangeInt(1, 1024),
+                    8
+            );
+
+    public static final ConfigOption<Integer> HBASE_MULTIGET_BATCH_SIZE =
+            new ConfigOption<>(
+                    "hbase.multiget_batch_size",
+                    "The max number of rows of a multi-get request.",
+                    positiveInt(),
+                    1000
+            );
 }
@@ -0,0 +1,231 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hugegraph.backend.store.hbase;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.metrics.ScanMetrics;
+
+import org.apache.hugegraph.util.Bytes;
+
+/**
+ * Scan the regions of a rowkey range in parallel. The rows are returned in
+ * key order by iterating the regions one by one, while at most maxInflight
+ * following regions are opened and prefetched in background.
+ */
+public class HbaseParallelScanner implements ResultScanner {
+
+    private final Iterator<Scan> scans;
+    private final ScannerOpener opener;
+    private final ExecutorService executor;
+    private final int maxInflight;
+    private final int prefetch;
+
+    private final Deque<Future<RegionScanner>> inflight;
+    private RegionScanner current;
+
+    public HbaseParallelScanner(List<Scan> scans, ScannerOpener opener,
+                                ExecutorService executor,
+                                int maxInflight, int prefetch) {
+        this.scans = scans.iterator();
+        this.opener = opener;
+        this.executor = executor;
+        this.maxInflight = maxInflight;
+        this.prefetch = prefetch;
+
+        this.inflight = new ArrayDeque<>(maxInflight);
+        this.current = null;
+        this.submit();
+    }
+
+    @Override
+    public Result next() throws IOException {
+        while (true) {
+            if (this.current != null) {
+                Result result = this.current.next();
+                if (result != null) {
+                    return result;
+                }
+                this.current.close();
+                this.current = null;
+            }
+
+            Future<RegionScanner> future = this.inflight.poll();
+            if (future == null) {
+                return null;
+            }
+            this.current = await(future);
+            this.submit();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.current != null) {
+            this.current.close();
+            this.current = null;
+        }
+        // The scanners being opened must be closed after opened
+        for (Future<RegionScanner> future : this.inflight) {
+            try {
+                await(future).close();
+            } catch (IOException | RuntimeException ignored) {
+                // Ignore the failed region scanner
+            }
+        }
+        this.inflight.clear();
+    }
+
+    @Override
+    public boolean renewLease() {
+        return this.current != null && this.current.scanner.renewLease();
+    }
+
+    @Override
+    public ScanMetrics getScanMetrics() {
+        return null;
+    }
+
+    private void submit() {
+        while (this.inflight.size() < this.maxInflight &&
+               this.scans.hasNext()) {
+            Scan scan = this.scans.next();
+            this.inflight.add(this.executor.submit(() -> {
+                return new RegionScanner(this.opener.open(scan),
+                                         this.prefetch);
+            }));
+        }
+    }
+
+    /**
+     * Split a scan into the scans of each region in the rowkey range of it
+     * @param scan the scan to split
+     * @param startKeys the start keys of the regions in key order
+     * @param endKeys the end keys of the regions in key order
+     * @return the scans of the regions, keep the filters of the origin scan
+     */
+    public static List<Scan> regionScans(Scan scan, byte[][] startKeys,
+                                         byte[][] endKeys)
+                                         throws IOException {
+        assert startKeys.length == endKeys.length;
+        byte[] start = scan.getStartRow();
+        byte[] stop = scan.getStopRow();
+
+        List<Scan> scans = new ArrayList<>();
+        for (int i = 0; i < startKeys.length; i++) {
+            // The empty key means the first or the last region
+            byte[] regionStart = startKeys[i];
+            byte[] regionEnd = endKeys[i];
+
+            boolean afterStart = start.length == 0 ||
+                                 Bytes.compare(regionStart, start) > 0;
+            byte[] lower = afterStart ? regionStart : start;
+            boolean inclusiveLower = afterStart || scan.includeStartRow();
+
+            boolean beforeStop = stop.length == 0 ||
+                                 (regionEnd.length != 0 &&
+                                  Bytes.compare(regionEnd, stop) <= 0);
+            byte[] upper = beforeStop ? regionEnd : stop;
+            boolean inclusiveUpper = !beforeStop && scan.includeStopRow();
+
+            // Skip the regions out of the range
+            if (upper.length != 0) {
+                int cmp = Bytes.compare(lower, upper);
+                if (cmp > 0 || cmp == 0 &&
+                               !(inclusiveLower && inclusiveUpper)) {
+                    continue;
+                }
+            }
+
+            scans.add(new Scan(scan).withStartRow(lower, inclusiveLower)
+                                    .withStopRow(upper, inclusiveUpper));
+        }
+        return scans;
+    }
+
+    public static <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            InterruptedIOException ie = new InterruptedIOException(
+                                        "Interrupted while waiting for " +
+                                        "HBase requests");
+            ie.initCause(e);
+            throw ie;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    @FunctionalInterface
+    public interface ScannerOpener {
+
+        ResultScanner open(Scan scan) throws IOException;
+    }
+
+    private static class RegionScanner {
+
+        private final ResultScanner scanner;
+        private final Result[] prefetched;
+        private int index;
+
+        public RegionScanner(ResultScanner scanner, int prefetch)
+                             throws IOException {
+            this.scanner = scanner;
+            try {
+                this.prefetched = scanner.next(prefetch);
+            } catch (IOException | RuntimeException e) {
+                scanner.close();
+                throw e;
+            }
+            this.index = 0;
+        }
+
+        public Result next() throws IOException {
+            if (this.index < this.prefetched.length) {
+                return this.prefetched[this.index++];
+            }
+            if (this.prefetched.length == 0) {
+                // No more rows if nothing prefetched
+                return null;
+            }
+            return this.scanner.next();
+        }
+
+        public void close() {
+            this.scanner.close();
+        }
+    }
+}
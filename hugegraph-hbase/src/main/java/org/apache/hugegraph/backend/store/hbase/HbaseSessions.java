@@ -19,16 +19,21 @@ package org.apache.hugegraph.backend.store.hbase;
 
 import java.io.IOException;
 import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
 import org.apache.hugegraph.util.Log;
 
 import org.apache.hadoop.conf.Configuration;
@@ -52,6 +57,7 @@ import org.apache.hadoop.hbase.client.ConnectionFactory;
 import org.apache.hadoop.hbase.client.Delete;
 import org.apache.hadoop.hbase.client.Get;
 import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.RegionLocator;
 import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.client.ResultScanner;
 import org.apache.hadoop.hbase.client.Row;
@@ -66,6 +72,7 @@ import org.apache.hadoop.hbase.filter.MultiRowRangeFilter;
 import org.apache.hadoop.hbase.filter.MultiRowRangeFilter.RowRange;
 import org.apache.hadoop.hbase.filter.PageFilter;
 import org.apache.hadoop.hbase.filter.PrefixFilter;
+import org.apache.hadoop.hbase.util.Pair;
 import org.apache.hadoop.hbase.util.VersionInfo;
 import org.apache.hadoop.security.UserGroupInformation;
 import org.slf4j.Logger;
@@ -79,8 +86,11 @@ import org.apache.hugegraph.config.HugeConfig;
 import org.apache.hugegraph.exception.NotSupportException;
 import org.apache.hugegraph.util.Bytes;
 import org.apache.hugegraph.util.E;
+import org.apache.hugegraph.util.ExecutorUtil;
+import org.apache.hugegraph.util.InsertionOrderUtil;
 import org.apache.hugegraph.util.StringEncoding;
 import org.apache.hugegraph.util.VersionUtil;
+import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.Futures;
 
 public class HbaseSessions extends BackendSessionPool {
@@ -91,12 +101,26 @@ public class HbaseSessions extends BackendSessionPool {
             "org.apache.hadoop.hbase.coprocessor.AggregateImplementation";
     private static final long SCANNER_CACHING = 1000L;
 
+    private static final String PARALLEL_WORKER = "hbase-parallel-worker-%d";
+
     private final String namespace;
     private Connection hbase;
+    private ExecutorService parallelExecutor;
+
+    private final LongAdder multiGets;
+    private final LongAdder multiGetBatches;
+    private final LongAdder parallelScans;
+    private final LongAdder regionScans;
 
     public HbaseSessions(HugeConfig config, String namespace, String store) {
         super(config, namespace + "/" + store);
         this.namespace = namespace;
+        this.parallelExecutor = null;
+
+        this.multiGets = new LongAdder();
+        this.multiGetBatches = new LongAdder();
+        this.parallelScans = new LongAdder();
+        this.regionScans = new LongAdder();
     }
 
     protected Connection hbase() {
@@ -154,6 +178,12 @@ public class HbaseSessions extends BackendSessionPool {
             UserGroupInformation.loginUserFromKeytab(principal, keyTab);
         }
         this.hbase = ConnectionFactory.createConnection(hConfig);
+
+        int threads = config.get(HbaseOptions.HBASE_PARALLEL_THREADS);
+        if (threads > 0 && this.parallelExecutor == null) {
+            this.parallelExecutor = ExecutorUtil.newFixedThreadPool(
+                                    threads, PARALLEL_WORKER);
+        }
     }
 
     @Override
@@ -174,6 +204,10 @@ public class HbaseSessions extends BackendSessionPool {
 
     @Override
     protected synchronized void doClose() {
+        if (this.parallelExecutor != null) {
+            this.parallelExecutor.shutdown();
+            this.parallelExecutor = null;
+        }
         if (this.hbase == null || this.hbase.isClosed()) {
             return;
         }
@@ -324,6 +358,63 @@ public class HbaseSessions extends BackendSessionPool {
         return total;
     }
 
+    public Map<String, Object> clientMetrics() {
+        Map<String, Object> metrics = InsertionOrderUtil.newMap();
+        metrics.put("multiget_requests", this.multiGets.sum());
+        metrics.put("multiget_batches", this.multiGetBatches.sum());
+        metrics.put("parallel_scans", this.parallelScans.sum());
+        metrics.put("parallel_region_scans", this.regionScans.sum());
+        return metrics;
+    }
+
+    private Result[] multiGet(String table, List<Get> gets)
+                              throws IOException {
+        HugeConfig config = this.config();
+        int batchSize = config.get(HbaseOptions.HBASE_MULTIGET_BATCH_SIZE);
+        List<List<Get>> batches = Lists.partition(gets, batchSize);
+        this.multiGets.increment();
+        this.multiGetBatches.add(batches.size());
+
+        ExecutorService executor = this.parallelExecutor;
+        if (executor == null || batches.size() <= 1) {
+            List<Result> results = new ArrayList<>(gets.size());
+            try (Table htable = this.table(table)) {
+                for (List<Get> batch : batches) {
+                    Collections.addAll(results, htable.get(batch));
+                }
+            }
+            return results.toArray(new Result[0]);
+        }
+
+        // Get the batches in parallel, and keep the results in order
+        int maxInflight = config.get(HbaseOptions.HBASE_PARALLEL_MAX_INFLIGHT);
+        Deque<Future<Result[]>> inflight = new ArrayDeque<>(maxInflight);
+        Result[] results = new Result[gets.size()];
+        int offset = 0;
+        for (List<Get> batch : batches) {
+            if (inflight.size() >= maxInflight) {
+                offset = fill(results, offset, inflight.poll());
+            }
+            inflight.add(executor.submit(() -> {
+                try (Table htable = this.table(table)) {
+                    return htable.get(batch);
+                }
+            }));
+        }
+        while (!inflight.isEmpty()) {
+            offset = fill(results, offset, inflight.poll());
+        }
+        assert offset == results.length;
+        return results;
+    }
+
+    private static int fill(Result[] results, int offset,
+                            Future<Result[]> future) throws IOException {
+        Result[] batch = HbaseParallelScanner.await(future);
+        System.arraycopy(batch, 0, results, offset, batch.length);
+        return offset + batch.length;
+    }
+
     /**
      * Session interface for HBase
      */
@@ -442,6 +533,22 @@ public class HbaseSessions extends BackendSessionPool {
             return this.scan(table, scan);
         }
 
+        /**
+         * Scan records by rowkey range from a table, the regions in the
+         * range may be scanned in parallel and returned in key order
+         */
+        default R scanInParallel(String table, byte[] startRow,
+                                 byte[] stopRow) {
+            Scan scan = new Scan();
+            if (startRow != null) {
+                scan.withStartRow(startRow);
+            }
+            if (stopRow != null) {
+                scan.withStopRow(stopRow);
+            }
+            return this.scan(table, scan);
+        }
+
         /**
          * Inner scan: send scan request to HBase and get iterator
          */
@@ -717,8 +824,8 @@ public class HbaseSessions extends BackendSessionPool {
                 gets.add(get);
             }
 
-            try (Table htable = table(table)) {
-                return new RowIterator(htable.get(gets));
+            try {
+                return new RowIterator(multiGet(table, gets));
             } catch (IOException e) {
                 throw new BackendException(e);
             }
@@ -757,6 +864,57 @@ public class HbaseSessions extends BackendSessionPool {
             return this.scan(table, scan);
         }
 
+        /**
+         * Scan records by rowkey range from a table, scan the regions in the
+         * range in parallel if the parallel threads are configured
+         */
+        @Override
+        public RowIterator scanInParallel(String table, byte[] startRow,
+                                          byte[] stopRow) {
+            assert !this.hasChanges();
+
+            Scan scan = new Scan();
+            if (startRow != null) {
+                scan.withStartRow(startRow);
+            }
+            if (stopRow != null) {
+                scan.withStopRow(stopRow);
+            }
+            ExecutorService executor = HbaseSessions.this.parallelExecutor;
+            if (executor == null) {
+                return this.scan(table, scan);
+            }
+
+            TableName tableName = TableName.valueOf(namespace(), table);
+            List<Scan> scans;
+            try (RegionLocator locator = this.hbase()
+                                             .getRegionLocator(tableName)) {
+                Pair<byte[][], byte[][]> keys = locator.getStartEndKeys();
+                scans = HbaseParallelScanner.regionScans(scan,
+                                                         keys.getFirst(),
+                                                         keys.getSecond());
+            } catch (IOException e) {
+                throw new BackendException(e);
+            }
+            if (scans.size() <= 1) {
+                return this.scan(table, scan);
+            }
+
+            HbaseSessions.this.parallelScans.increment();
+            HbaseSessions.this.regionScans.add(scans.size());
+            HugeConfig config = HbaseSessions.this.config();
+            int maxInflight = config.get(
+                              HbaseOptions.HBASE_PARALLEL_MAX_INFLIGHT);
+            HbaseParallelScanner.ScannerOpener opener = regionScan -> {
+                try (Table htable = table(table)) {
+                    return htable.getScanner(regionScan);
+                }
+            };
+            return new RowIterator(new HbaseParallelScanner(
+                                   scans, opener, executor, maxInflight,
+                                   (int) SCANNER_CACHING));
+        }
+
         /**
          * Inner scan: send scan request to HBase and get iterator
          */
@@ -210,9 +210,9 @@ public class HbaseTable extends BackendTable<HbaseSessions.Session, BackendEntry
         if (query.paging()) {
             PageState page = PageState.fromString(query.page());
             byte[] begin = page.position();
-            return session.scan(this.table(), begin, null);
+            return session.scanInParallel(this.table(), begin, null);
         } else {
-            return session.scan(this.table(), -1);
+            return session.scanInParallel(this.table(), null, null);
         }
     }
 
@@ -263,7 +263,7 @@ public class HbaseTable extends BackendTable<HbaseSessions.Session, BackendEntry
                             "Invalid page out of lower bound");
             start = position;
         }
-        return session.scan(this.table(), start, end);
+        return session.scanInParallel(this.table(), start, end);
     }
 
     protected BackendEntryIterator newEntryIterator(Query query,
@@ -21,6 +21,7 @@ import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.BiFunction;
 
@@ -39,6 +40,7 @@ public class MysqlEntryIterator extends BackendEntryIterator {
 
     private final ResultSetWrapper results;
     private final BiFunction<BackendEntry, BackendEntry, BackendEntry> merger;
+    private final List<HugeKeys> positionKeys;
 
     private BackendEntry next;
     private BackendEntry lastest;
@@ -46,9 +48,20 @@ public class MysqlEntryIterator extends BackendEntryIterator {
 
     public MysqlEntryIterator(ResultSetWrapper rs, Query query,
            BiFunction<BackendEntry, BackendEntry, BackendEntry> merger) {
+        this(rs, query, merger, null);
+    }
+
+    /**
+     * @param positionKeys the primary keys saved in the page position of
+     *                     the last row, or all the columns if null
+     */
+    public MysqlEntryIterator(ResultSetWrapper rs, Query query,
+           BiFunction<BackendEntry, BackendEntry, BackendEntry> merger,
+           List<HugeKeys> positionKeys) {
         super(query);
         this.results = rs;
         this.merger = merger;
+        this.positionKeys = positionKeys;
         this.next = null;
         this.lastest = null;
         this.exceedLimit = false;
@@ -104,7 +117,7 @@ public class MysqlEntryIterator extends BackendEntryIterator {
             position = PageState.EMPTY_BYTES;
         } else {
             MysqlBackendEntry entry = (MysqlBackendEntry) this.lastest;
-            position = new PagePosition(entry.columnsMap()).toBytes();
+            position = this.position(entry.columnsMap()).toBytes();
         }
         return new PageState(position, 0, (int) this.count());
     }
@@ -136,6 +149,18 @@ public class MysqlEntryIterator extends BackendEntryIterator {
         this.results.close();
     }
 
+    private PagePosition position(Map<HugeKeys, Object> columns) {
+        if (this.positionKeys == null) {
+            return new PagePosition(columns);
+        }
+        // Just keep the primary keys to seek the next page, not all columns
+        Map<HugeKeys, Object> keyColumns = new LinkedHashMap<>();
+        for (HugeKeys key : this.positionKeys) {
+            keyColumns.put(key, columns.get(key));
+        }
+        return new PagePosition(keyColumns);
+    }
+
     private MysqlBackendEntry row2Entry(ResultSet result) throws SQLException {
         HugeType type = this.query.resultType();
         MysqlBackendEntry entry = new MysqlBackendEntry(type);
@@ -114,4 +114,14 @@ public class MysqlOptions extends OptionHolder {
                     disallowEmpty(),
                     "InnoDB"
             );
+
+    public static final ConfigOption<Integer> JDBC_BATCH_INSERT_ROWS =
+            new ConfigOption<>(
+                    "jdbc.batch_insert_rows",
+                    "The max number of rows inserted by a multi-row insert " +
+                    "statement when committing, the rows are inserted by " +
+                    "single-row statements if set to 1.",
+                    rangeInt(1, 1000),
+                    1
+            );
 }
@@ -25,8 +25,12 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.IntStream;
 
 import org.apache.http.client.utils.URIBuilder;
@@ -293,12 +297,17 @@ public class MysqlSessions extends BackendSessionPool {
 
         private Connection conn;
         private Map<String, PreparedStatement> statements;
+        private Map<RowsTemplate, Map<List<Object>, List<?>>> rows;
         private int count;
+        private final int batchInsertRows;
 
         public Session() {
             this.conn = null;
             this.statements = new HashMap<>();
+            this.rows = new LinkedHashMap<>();
             this.count = 0;
+            this.batchInsertRows = this.config().get(
+                                   MysqlOptions.JDBC_BATCH_INSERT_ROWS);
         }
 
         public HugeConfig config() {
@@ -390,6 +399,7 @@ public class MysqlSessions extends BackendSessionPool {
 
         public void clear() {
             this.count = 0;
+            this.rows.clear();
             SQLException exception = null;
             for (PreparedStatement statement : this.statements.values()) {
                 try {
@@ -427,6 +437,7 @@ public class MysqlSessions extends BackendSessionPool {
         public Integer commit() {
             int updated = 0;
             try {
+                this.flushRows();
                 for (PreparedStatement statement : this.statements.values()) {
                     updated += IntStream.of(statement.executeBatch()).sum();
                 }
@@ -540,5 +551,132 @@ public class MysqlSessions extends BackendSessionPool {
             }
             return statement;
         }
+
+        public int batchInsertRows() {
+            return this.batchInsertRows;
+        }
+
+        /**
+         * Add a row to be inserted by multi-row statements when committing,
+         * the row replaces the added one with the same primary key
+         * @param template the template of the multi-row insert statement
+         * @param key the values of the primary key of the row
+         * @param params the values of the columns of the row
+         */
+        public void add(RowsTemplate template, List<Object> key,
+                        List<?> params) {
+            E.checkArgument(params.size() == template.columns(),
+                            "Expect %s params for template '%s', but got %s",
+                            template.columns(), template, params.size());
+            this.rows.computeIfAbsent(template, t -> new LinkedHashMap<>())
+                     .put(key, params);
+            this.count++;
+        }
+
+        private void flushRows() throws SQLException {
+            for (Map.Entry<RowsTemplate, Map<List<Object>, List<?>>> e :
+                 this.rows.entrySet()) {
+                RowsTemplate template = e.getKey();
+                List<List<?>> rows = new ArrayList<>(e.getValue().values());
+                int batch = Math.min(this.batchInsertRows,
+                                     template.maxRows());
+                int i = 0;
+                while (i < rows.size()) {
+                    /*
+                     * Insert the remaining rows less than a batch by the
+                     * statements of power-of-two rows rather than prepare a
+                     * statement for each number of rows
+                     */
+                    int size = Math.min(batch, rows.size() - i);
+                    if (size < batch) {
+                        size = Integer.highestOneBit(size);
+                    }
+                    this.addRows(template, rows.subList(i, i + size));
+                    i += size;
+                }
+            }
+            this.rows.clear();
+        }
+
+        private void addRows(RowsTemplate template, List<List<?>> rows)
+                             throws SQLException {
+            PreparedStatement statement = this.prepareStatement(
+                                          template.sql(rows.size()));
+            int i = 1;
+            for (List<?> row : rows) {
+                for (Object param : row) {
+                    statement.setObject(i++, param);
+                }
+            }
+            statement.addBatch();
+        }
+    }
+
+    /**
+     * The template of multi-row insert statement like
+     * `head (?, ?), (?, ?) tail`, the statement of each number of rows is
+     * cached since it's shared by the sessions of a table
+     */
+    public static class RowsTemplate {
+
+        /*
+         * The max number of placeholders of a statement is 65535 for MySQL
+         * and 32767 for PostgreSQL
+         */
+        private static final int MAX_PARAMS = 32767;
+
+        private final String head;
+        private final String tail;
+        private final int columns;
+        private final String row;
+        private final Map<Integer, String> sqls;
+
+        public RowsTemplate(String head, int columns, String tail) {
+            E.checkArgument(columns > 0 && columns <= MAX_PARAMS,
+                            "The columns of template must be in [1, %s], " +
+                            "but got %s", MAX_PARAMS, columns);
+            this.head = head;
+            this.tail = tail;
+            this.columns = columns;
+
+            StringBuilder row = new StringBuilder("(");
+            for (int i = 0; i < columns; i++) {
+                if (i > 0) {
+                    row.append(", ");
+                }
+                row.append("?");
+            }
+            this.row = row.append(")").toString();
+            this.sqls = new ConcurrentHashMap<>();
+        }
+
+        public int columns() {
+            return this.columns;
+        }
+
+        public int maxRows() {
+            return MAX_PARAMS / this.columns;
+        }
+
+        public String sql(int rows) {
+            E.checkArgument(rows > 0 && rows <= this.maxRows(),
+                            "The rows of statement must be in [1, %s], " +
+                            "but got %s", this.maxRows(), rows);
+            return this.sqls.computeIfAbsent(rows, n -> {
+                StringBuilder sql = new StringBuilder(this.head);
+                for (int i = 0; i < n; i++) {
+                    if (i > 0) {
+                        sql.append(", ");
+                    }
+                    sql.append(this.row);
+                }
+                return sql.append(this.tail).toString();
+            });
+        }
+
+        @Override
+        public String toString() {
+            return this.head + this.row + this.tail;
+        }
     }
 }
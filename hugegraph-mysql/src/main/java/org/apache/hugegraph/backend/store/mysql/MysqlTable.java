@@ -65,6 +65,8 @@ public abstract class MysqlTable
     private String deleteTemplate;
     private String updateIfPresentTemplate;
     private String updateIfAbsentTemplate;
+    private MysqlSessions.RowsTemplate insertRowsTemplate;
+    private MysqlSessions.RowsTemplate insertRowsTemplateTtl;
 
     private final MysqlShardSplitter shardSplitter;
 
@@ -75,6 +77,8 @@ public abstract class MysqlTable
         this.deleteTemplate = null;
         this.updateIfPresentTemplate = null;
         this.updateIfAbsentTemplate = null;
+        this.insertRowsTemplate = null;
+        this.insertRowsTemplateTtl = null;
 
         this.shardSplitter = new MysqlShardSplitter(this.table());
     }
@@ -214,6 +218,50 @@ public abstract class MysqlTable
         }
     }
 
+    protected final MysqlSessions.RowsTemplate buildUpdateRowsTemplate(
+                                               MysqlBackendEntry.Row entry) {
+        if (entry.ttl() != 0L) {
+            if (this.insertRowsTemplateTtl != null) {
+                return this.insertRowsTemplateTtl;
+            }
+
+            this.insertRowsTemplateTtl = this.buildUpdateForcedRowsTemplate(
+                                         entry);
+            return this.insertRowsTemplateTtl;
+        } else {
+            if (this.insertRowsTemplate != null) {
+                return this.insertRowsTemplate;
+            }
+
+            this.insertRowsTemplate = this.buildUpdateForcedRowsTemplate(
+                                      entry);
+            return this.insertRowsTemplate;
+        }
+    }
+
+    protected MysqlSessions.RowsTemplate buildUpdateForcedRowsTemplate(
+                                         MysqlBackendEntry.Row entry) {
+        StringBuilder insert = new StringBuilder();
+        insert.append("REPLACE INTO ").append(this.table());
+        this.buildInsertColumns(insert, entry);
+        return new MysqlSessions.RowsTemplate(insert.toString(),
+                                              entry.columns().size(), "");
+    }
+
+    protected void buildInsertColumns(StringBuilder insert,
+                                      MysqlBackendEntry.Row entry) {
+        insert.append(" (");
+        int i = 0;
+        int size = entry.columns().size();
+        for (HugeKeys key : entry.columns().keySet()) {
+            insert.append(formatKey(key));
+            if (++i != size) {
+                insert.append(", ");
+            }
+        }
+        insert.append(") VALUES ");
+    }
+
     protected String buildUpdateForcedTemplate(MysqlBackendEntry.Row entry) {
         StringBuilder insert = new StringBuilder();
         insert.append("REPLACE INTO ").append(this.table());
@@ -346,6 +394,17 @@ public abstract class MysqlTable
      */
     @Override
     public void insert(MysqlSessions.Session session, MysqlBackendEntry.Row entry) {
+        if (session.batchInsertRows() > 1) {
+            // Insert by multi-row statements when committing
+            MysqlSessions.RowsTemplate template =
+                                       this.buildUpdateRowsTemplate(entry);
+            List<Object> key = new ArrayList<>();
+            for (HugeKeys name : this.tableDefine().keys()) {
+                key.add(entry.column(name));
+            }
+            session.add(template, key, this.buildColumnsParams(entry));
+            return;
+        }
         String template = this.buildUpdateTemplate(entry);
         List<?> params = this.buildUpdateForcedParams(entry);
         this.insertOrUpdate(session, template, params);
@@ -784,7 +843,8 @@ public abstract class MysqlTable
 
     protected Iterator<BackendEntry> results2Entries(Query query,
                                                      ResultSetWrapper results) {
-        return new MysqlEntryIterator(results, query, this::mergeEntries);
+        return new MysqlEntryIterator(results, query, this::mergeEntries,
+                                      this.idColumnName());
     }
 
     protected BackendEntry mergeEntries(BackendEntry e1, BackendEntry e2) {
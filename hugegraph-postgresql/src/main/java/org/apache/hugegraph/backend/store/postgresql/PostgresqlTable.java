@@ -24,6 +24,7 @@ import org.apache.logging.log4j.util.Strings;
 
 import org.apache.hugegraph.backend.serializer.TableBackendEntry.Row;
 import org.apache.hugegraph.backend.store.mysql.MysqlBackendEntry;
+import org.apache.hugegraph.backend.store.mysql.MysqlSessions.RowsTemplate;
 import org.apache.hugegraph.backend.store.mysql.MysqlSessions.Session;
 import org.apache.hugegraph.backend.store.mysql.MysqlTable;
 import org.apache.hugegraph.backend.store.mysql.WhereBuilder;
@@ -57,6 +58,41 @@ public abstract class PostgresqlTable extends MysqlTable {
         return this.buildInsertKeys(entry, false);
     }
 
+    @Override
+    protected RowsTemplate buildUpdateForcedRowsTemplate(
+                           MysqlBackendEntry.Row entry) {
+        StringBuilder insert = new StringBuilder();
+        insert.append("INSERT INTO ").append(this.table());
+        this.buildInsertColumns(insert, entry);
+
+        /*
+         * Update with the values of the proposed row by `EXCLUDED`, the rows
+         * of a statement are distinct by primary keys, otherwise it can't
+         * update a row twice in a statement
+         */
+        StringBuilder conflict = new StringBuilder();
+        int i = 0;
+        int size = this.tableDefine().keys().size();
+        conflict.append(" ON CONFLICT (");
+        for (HugeKeys key : this.tableDefine().keys()) {
+            conflict.append(formatKey(key));
+            if (++i != size) {
+                conflict.append(", ");
+            }
+        }
+        conflict.append(") DO UPDATE SET ");
+        i = 0;
+        size = entry.columns().size();
+        for (HugeKeys key : entry.columns().keySet()) {
+            String column = formatKey(key);
+            conflict.append(column).append(" = EXCLUDED.").append(column);
+            if (++i != size) {
+                conflict.append(", ");
+            }
+        }
+        return new RowsTemplate(insert.toString(), size, conflict.toString());
+    }
+
     @Override
     protected List<?> buildUpdateForcedParams(MysqlBackendEntry.Row entry) {
         List<Object> params = new ArrayList<>();
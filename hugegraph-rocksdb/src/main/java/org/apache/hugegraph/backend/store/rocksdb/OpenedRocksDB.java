@@ -25,11 +25,16 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.commons.io.FileUtils;
 import org.rocksdb.Checkpoint;
 import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.MutableColumnFamilyOptions;
+import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.Slice;
 import org.rocksdb.SstFileManager;
 import org.slf4j.Logger;
 
@@ -45,12 +50,17 @@ public class OpenedRocksDB implements AutoCloseable {
     private final RocksDB rocksdb;
     private final Map<String, CFHandle> cfHandles;
     private final SstFileManager sstFileManager;
+    private final LongAdder writtenBytes;
+    // Whether the shared memory of RocksDBMemoryManager is referenced
+    private final boolean sharedMemory;
 
     public OpenedRocksDB(RocksDB rocksdb, Map<String, CFHandle> cfHandles,
-                         SstFileManager sstFileManager) {
+                         SstFileManager sstFileManager, boolean sharedMemory) {
         this.rocksdb = rocksdb;
         this.cfHandles = cfHandles;
         this.sstFileManager = sstFileManager;
+        this.writtenBytes = new LongAdder();
+        this.sharedMemory = sharedMemory;
     }
 
     protected final RocksDB rocksdb() {
@@ -92,12 +102,43 @@ public class OpenedRocksDB implements AutoCloseable {
         this.cfHandles.clear();
 
         this.rocksdb.close();
+        if (this.sharedMemory) {
+            // Release the shared memory after it's not used by the instance
+            RocksDBMemoryManager.release();
+        }
+    }
+
+    public boolean sharedMemory() {
+        return this.sharedMemory;
     }
 
     public long totalSize() {
         return this.sstFileManager.getTotalSize();
     }
 
+    public void recordWrite(long bytes) {
+        this.writtenBytes.add(bytes);
+    }
+
+    public long writtenBytes() {
+        return this.writtenBytes.sum();
+    }
+
+    public void writeBufferSize(long size) throws RocksDBException {
+        MutableColumnFamilyOptions options = MutableColumnFamilyOptions
+                                             .builder()
+                                             .setWriteBufferSize(size)
+                                             .build();
+        for (CFHandle cf : this.cfHandles.values()) {
+            cf.open();
+            try {
+                this.rocksdb.setOptions(cf.get(), options);
+            } finally {
+                cf.close();
+            }
+        }
+    }
+
     public void createCheckpoint(String targetPath) {
         Path parentName = Paths.get(targetPath).getParent().getFileName();
         assert parentName.toString().startsWith("snapshot") : targetPath;
@@ -149,6 +190,20 @@ public class OpenedRocksDB implements AutoCloseable {
             return this.iterPool.newIterator();
         }
 
+        public synchronized ReusedRocksIterator newIterator(ReadOptions options,
+                                                            Slice... bounds) {
+            assert this.handle.isOwningHandle();
+            assert this.refs.get() >= 1;
+            return this.iterPool.newIterator(options, bounds);
+        }
+
+        public synchronized ReusedRocksIterator newIterator(ReadOptions options,
+                                                            Runnable release) {
+            assert this.handle.isOwningHandle();
+            assert this.refs.get() >= 1;
+            return this.iterPool.newIterator(options, release);
+        }
+
         public synchronized void open() {
             this.refs.incrementAndGet();
         }
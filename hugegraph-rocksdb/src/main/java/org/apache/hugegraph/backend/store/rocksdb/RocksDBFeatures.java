@@ -21,6 +21,18 @@ import org.apache.hugegraph.backend.store.BackendFeatures;
 
 public class RocksDBFeatures implements BackendFeatures {
 
+    private final boolean expireInBackground;
+    private final boolean degreeCounter;
+
+    public RocksDBFeatures() {
+        this(false, false);
+    }
+
+    public RocksDBFeatures(boolean expireInBackground, boolean degreeCounter) {
+        this.expireInBackground = expireInBackground;
+        this.degreeCounter = degreeCounter;
+    }
+
     @Override
     public boolean supportsSharedStorage() {
         return false;
@@ -73,6 +85,11 @@ public class RocksDBFeatures implements BackendFeatures {
         return true;
     }
 
+    @Override
+    public boolean supportsScanRangeIndexInOrder() {
+        return true;
+    }
+
     @Override
     public boolean supportsQueryWithContains() {
         // TODO: Need to traversal all items
@@ -139,8 +156,20 @@ public class RocksDBFeatures implements BackendFeatures {
         return false;
     }
 
+    @Override
+    public boolean supportsExpireInBackground() {
+        // The expired rows are swept by the store if enabled
+        return this.expireInBackground;
+    }
+
     @Override
     public boolean supportsOlapProperties() {
         return true;
     }
+
+    @Override
+    public boolean supportsDegreeCounter() {
+        // The degree counters are maintained by the store if enabled
+        return this.degreeCounter;
+    }
 }
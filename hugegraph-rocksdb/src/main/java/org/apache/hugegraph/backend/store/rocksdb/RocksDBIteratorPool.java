@@ -21,9 +21,11 @@ import java.util.Queue;
 import java.util.concurrent.ArrayBlockingQueue;
 
 import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
+import org.rocksdb.Slice;
 import org.slf4j.Logger;
 
 import org.apache.hugegraph.backend.BackendException;
@@ -58,7 +60,26 @@ public final class RocksDBIteratorPool implements AutoCloseable {
     }
 
     public ReusedRocksIterator newIterator() {
-        return new ReusedRocksIterator();
+        return new ReusedRocksIterator(null, null);
+    }
+
+    /**
+     * Create an iterator with specified read options, the options and the
+     * bound slices will be closed when the iterator is closed
+     */
+    public ReusedRocksIterator newIterator(ReadOptions options,
+                                           Slice... bounds) {
+        return new ReusedRocksIterator(options, null, bounds);
+    }
+
+    /**
+     * Create an iterator with specified read options owned by the caller,
+     * the `release` is called instead of closing the options when the
+     * iterator is closed, so that the options can be reused
+     */
+    public ReusedRocksIterator newIterator(ReadOptions options,
+                                           Runnable release) {
+        return new ReusedRocksIterator(options, release);
     }
 
     @Override
@@ -140,6 +161,12 @@ public final class RocksDBIteratorPool implements AutoCloseable {
         return iter;
     }
 
+    private RocksIterator createIterator(ReadOptions options) {
+        RocksIterator iter = this.rocksdb.newIterator(this.cfh, options);
+        LOG.debug("Create iterator with read options: {}", iter);
+        return iter;
+    }
+
     private void closeIterator(RocksIterator iter) {
         LOG.debug("Really close iterator {}", iter);
         if (iter.isOwningHandle()) {
@@ -151,11 +178,21 @@ public final class RocksDBIteratorPool implements AutoCloseable {
 
         private static final boolean EREUSING_ENABLED = false;
         private final RocksIterator iterator;
+        private final ReadOptions options;
+        private final Runnable release;
+        private final Slice[] bounds;
         private boolean closed;
 
-        public ReusedRocksIterator() {
+        public ReusedRocksIterator(ReadOptions options, Runnable release,
+                                   Slice... bounds) {
             this.closed = false;
-            if (EREUSING_ENABLED) {
+            this.options = options;
+            this.release = release;
+            this.bounds = bounds;
+            if (options != null) {
+                // Can't reuse the iterator with specified read options
+                this.iterator = createIterator(options);
+            } else if (EREUSING_ENABLED) {
                 this.iterator = allocIterator();
             } else {
                 this.iterator = createIterator();
@@ -173,7 +210,20 @@ public final class RocksDBIteratorPool implements AutoCloseable {
             }
             this.closed = true;
 
-            if (EREUSING_ENABLED) {
+            if (this.release != null) {
+                closeIterator(this.iterator);
+                // The options owned by the caller can be reused now
+                this.release.run();
+            } else if (this.options != null) {
+                closeIterator(this.iterator);
+                // The options must be alive until the iterator is closed
+                this.options.close();
+                for (Slice bound : this.bounds) {
+                    if (bound != null) {
+                        bound.close();
+                    }
+                }
+            } else if (EREUSING_ENABLED) {
                 releaseIterator(this.iterator);
             } else {
                 closeIterator(this.iterator);
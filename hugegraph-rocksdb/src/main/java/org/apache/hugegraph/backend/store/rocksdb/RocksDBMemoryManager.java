@@ -0,0 +1,313 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.backend.store.rocksdb;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.rocksdb.Cache;
+import org.rocksdb.LRUCache;
+import org.rocksdb.WriteBufferManager;
+import org.slf4j.Logger;
+
+import org.apache.hugegraph.config.HugeConfig;
+import org.apache.hugegraph.util.Bytes;
+import org.apache.hugegraph.util.E;
+import org.apache.hugegraph.util.ExecutorUtil;
+import org.apache.hugegraph.util.InsertionOrderUtil;
+import org.apache.hugegraph.util.Log;
+
+/**
+ * The process-wide memory manager of RocksDB instances, all the graphs
+ * share one block cache and the write buffers are charged to the cache by
+ * a WriteBufferManager, so the total memory is bounded by the capacity of
+ * the shared block cache no matter how many graphs are opened.
+ *
+ * The blocks of hot graphs naturally stay longer in the shared LRU cache,
+ * and the write buffer size of each RocksDB instance is adjusted from
+ * time to time, in proportion to the memory weight of its graph and its
+ * recent write activity.
+ */
+public final class RocksDBMemoryManager {
+
+    private static final Logger LOG = Log.logger(RocksDBMemoryManager.class);
+
+    private static final String REBALANCER = "rocksdb-memory-rebalancer";
+    private static final long MIN_WRITE_BUFFER_SIZE = 4L * Bytes.MB;
+    // The smoothing factor of write activity
+    private static final double ACTIVITY_ALPHA = 0.5D;
+
+    private static volatile Cache blockCache = null;
+    private static volatile WriteBufferManager writeBufferManager = null;
+    private static long blockCacheCapacity = 0L;
+    private static long writeBufferSize = 0L;
+    // The number of RocksDB instances opened with the shared memory
+    private static int references = 0;
+
+    private static final Map<OpenedRocksDB, Budget> budgets =
+                         new ConcurrentHashMap<>();
+    private static ScheduledExecutorService rebalancer = null;
+
+    private RocksDBMemoryManager() {
+        // pass
+    }
+
+    /**
+     * Take a reference of the shared memory for a RocksDB instance being
+     * opened, it will be created by the first caller, and must be released
+     * by {@link #release()} after the instance is closed or failed to open
+     * @return true if the shared memory is referenced, or false if it's not
+     *         enabled by the config
+     */
+    public static synchronized boolean acquire(HugeConfig config) {
+        if (!sharedByConfig(config)) {
+            return false;
+        }
+        init(config);
+        references++;
+        return true;
+    }
+
+    /**
+     * Release a reference of the shared memory, the memory is closed after
+     * all the RocksDB instances are closed, and the next opened graph will
+     * decide the capacity again
+     */
+    public static synchronized void release() {
+        E.checkState(references > 0,
+                     "The shared memory of RocksDB is not referenced");
+        if (--references > 0) {
+            return;
+        }
+        blockCache.close();
+        blockCache = null;
+        if (writeBufferManager != null) {
+            writeBufferManager.close();
+            writeBufferManager = null;
+        }
+        blockCacheCapacity = 0L;
+        writeBufferSize = 0L;
+        LOG.info("Release RocksDB shared block cache");
+    }
+
+    /**
+     * Get the shared block cache, which must be referenced by the caller
+     * @return the shared block cache, or null if it's not enabled
+     */
+    public static Cache blockCache(HugeConfig config) {
+        if (!sharedByConfig(config)) {
+            return null;
+        }
+        Cache cache = blockCache;
+        E.checkState(cache != null,
+                     "The shared block cache of RocksDB is not referenced");
+        return cache;
+    }
+
+    /**
+     * Get the shared write buffer manager charged to the shared cache,
+     * which must be referenced by the caller
+     * @return the shared write buffer manager, or null if it's not enabled
+     */
+    public static WriteBufferManager writeBufferManager(HugeConfig config) {
+        if (blockCache(config) == null) {
+            return null;
+        }
+        return writeBufferManager;
+    }
+
+    public static boolean enabled() {
+        return blockCache != null;
+    }
+
+    private static boolean sharedByConfig(HugeConfig config) {
+        return config.get(RocksDBOptions.SHARED_BLOCK_CACHE_CAPACITY) > 0L;
+    }
+
+    private static synchronized void init(HugeConfig config) {
+        if (blockCache != null) {
+            return;
+        }
+        long capacity = config.get(RocksDBOptions.SHARED_BLOCK_CACHE_CAPACITY);
+        long bufferSize = config.get(RocksDBOptions.SHARED_WRITE_BUFFER_SIZE);
+        Cache cache = new LRUCache(capacity);
+        if (bufferSize > 0L) {
+            // The memory of memtables will be reserved from the block cache
+            writeBufferManager = new WriteBufferManager(bufferSize, cache);
+        }
+        blockCacheCapacity = capacity;
+        writeBufferSize = bufferSize;
+        // Publish the cache at last since it's the flag of initialized
+        blockCache = cache;
+        LOG.info("Init RocksDB shared block cache with capacity {} " +
+                 "and shared write buffer size {}", capacity, bufferSize);
+    }
+
+    public static synchronized void register(String name,
+                                             OpenedRocksDB rocksdb,
+                                             HugeConfig config) {
+        if (!rocksdb.sharedMemory()) {
+            return;
+        }
+        budgets.put(rocksdb, new Budget(name, config));
+        if (writeBufferSize <= 0L) {
+            return;
+        }
+        int interval = config.get(RocksDBOptions.MEMORY_REBALANCE_INTERVAL);
+        if (interval > 0) {
+            startRebalancer(interval);
+        }
+        rebalance();
+    }
+
+    public static synchronized void unregister(OpenedRocksDB rocksdb) {
+        if (budgets.remove(rocksdb) == null) {
+            return;
+        }
+        if (budgets.isEmpty()) {
+            stopRebalancer();
+        } else {
+            rebalance();
+        }
+    }
+
+    private static synchronized void startRebalancer(int interval) {
+        if (rebalancer != null) {
+            return;
+        }
+        rebalancer = ExecutorUtil.newScheduledThreadPool(REBALANCER);
+        rebalancer.scheduleWithFixedDelay(RocksDBMemoryManager::rebalance,
+                                          interval, interval,
+                                          TimeUnit.SECONDS);
+    }
+
+    private static synchronized void stopRebalancer() {
+        if (rebalancer == null || !budgets.isEmpty()) {
+            return;
+        }
+        rebalancer.shutdown();
+        rebalancer = null;
+    }
+
+    /**
+     * Split the shared write buffers to each RocksDB instance, the share of
+     * an instance is in proportion to: weight * (1 + N * activity ratio),
+     * so an idle graph keeps the base share of its weight, and an active
+     * graph can get up to (N + 1) times of the base share.
+     */
+    public static synchronized void rebalance() {
+        if (budgets.isEmpty() || writeBufferSize <= 0L) {
+            return;
+        }
+        double totalActivity = 0D;
+        for (Map.Entry<OpenedRocksDB, Budget> e : budgets.entrySet()) {
+            totalActivity += e.getValue().updateActivity(e.getKey());
+        }
+        int size = budgets.size();
+        double totalScore = 0D;
+        for (Budget budget : budgets.values()) {
+            double ratio = totalActivity > 0D ?
+                           budget.activity / totalActivity : 0D;
+            budget.score = budget.weight * (1D + size * ratio);
+            totalScore += budget.score;
+        }
+        for (Map.Entry<OpenedRocksDB, Budget> e : budgets.entrySet()) {
+            Budget budget = e.getValue();
+            long bytes = (long) (writeBufferSize * budget.score / totalScore);
+            budget.apply(e.getKey(), bytes);
+        }
+    }
+
+    public static Map<String, Object> metrics() {
+        Map<String, Object> metrics = InsertionOrderUtil.newMap();
+        Cache cache = blockCache;
+        if (cache == null) {
+            return metrics;
+        }
+        metrics.put("shared_block_cache_capacity",
+                    blockCacheCapacity / Bytes.MB);
+        metrics.put("shared_block_cache_usage", cache.getUsage() / Bytes.MB);
+        metrics.put("shared_block_cache_pinned_usage",
+                    cache.getPinnedUsage() / Bytes.MB);
+        metrics.put("shared_write_buffer_size", writeBufferSize / Bytes.MB);
+        return metrics;
+    }
+
+    public static long writeBufferBudget(OpenedRocksDB rocksdb) {
+        Budget budget = budgets.get(rocksdb);
+        return budget == null ? 0L : budget.budget;
+    }
+
+    private static final class Budget {
+
+        private final String name;
+        private final double weight;
+        private final long maxWriteBufferSize;
+        private final int maxWriteBufferNumber;
+
+        private long lastWrittenBytes;
+        private double activity;
+        private double score;
+        private long budget;
+        private long writeBufferSize;
+
+        public Budget(String name, HugeConfig config) {
+            this.name = name;
+            this.weight = config.get(RocksDBOptions.MEMORY_WEIGHT);
+            this.maxWriteBufferSize = config.get(RocksDBOptions.MEMTABLE_SIZE);
+            this.maxWriteBufferNumber = config.get(RocksDBOptions.MAX_MEMTABLES);
+            this.lastWrittenBytes = 0L;
+            this.activity = 0D;
+            this.score = 0D;
+            this.budget = 0L;
+            this.writeBufferSize = this.maxWriteBufferSize;
+        }
+
+        public double updateActivity(OpenedRocksDB rocksdb) {
+            long written = rocksdb.writtenBytes();
+            long delta = written - this.lastWrittenBytes;
+            this.lastWrittenBytes = written;
+            this.activity = ACTIVITY_ALPHA * delta +
+                            (1D - ACTIVITY_ALPHA) * this.activity;
+            return this.activity;
+        }
+
+        public void apply(OpenedRocksDB rocksdb, long budget) {
+            this.budget = budget;
+            int tables = Math.max(rocksdb.cfs().size(), 1);
+            long size = budget / tables / this.maxWriteBufferNumber;
+            size = Math.max(size, Math.min(MIN_WRITE_BUFFER_SIZE,
+                                           this.maxWriteBufferSize));
+            size = Math.min(size, this.maxWriteBufferSize);
+            if (size == this.writeBufferSize) {
+                return;
+            }
+            try {
+                rocksdb.writeBufferSize(size);
+                LOG.debug("Adjust write buffer size of '{}' from {} to {}",
+                          this.name, this.writeBufferSize, size);
+                this.writeBufferSize = size;
+            } catch (Exception e) {
+                LOG.warn("Failed to adjust write buffer size of '{}'",
+                         this.name, e);
+            }
+        }
+    }
+}
@@ -88,16 +88,26 @@ public class RocksDBMetrics implements BackendMetrics {
     private static final String SUPER_VERSION = PREFIX +
                                 "current-super-version-number";
 
+    private static final String WRITE_BUFFER_BUDGET = "write_buffer_budget";
+
     public static final String KEY_DISK_USAGE = DISK_USAGE;
     public static final String KEY_NUM_KEYS = NUM_KEYS;
 
     private final List<RocksDBSessions> dbs;
     private final RocksDBSessions.Session session;
+    private final RocksDBTtlSweeper ttlSweeper;
 
     public RocksDBMetrics(List<RocksDBSessions> dbs,
                           RocksDBSessions.Session session) {
+        this(dbs, session, null);
+    }
+
+    public RocksDBMetrics(List<RocksDBSessions> dbs,
+                          RocksDBSessions.Session session,
+                          RocksDBTtlSweeper ttlSweeper) {
         this.dbs = dbs;
         this.session = session;
+        this.ttlSweeper = ttlSweeper;
     }
 
     @Override
@@ -131,9 +141,16 @@ public class RocksDBMetrics implements BackendMetrics {
                     UnitUtil.bytesToReadableString(diskUsage));
 
         // memory
-        this.appendMetricsMemory(metrics, BLOCK_CACHE);
-        this.appendMetricsMemory(metrics, BLOCK_CACHE_PINNED);
-        this.appendMetricsMemory(metrics, BLOCK_CACHE_CAPACITY);
+        if (RocksDBMemoryManager.enabled()) {
+            // All tables report the same block cache shared by all graphs
+            metrics.putAll(RocksDBMemoryManager.metrics());
+            metrics.put(WRITE_BUFFER_BUDGET,
+                        this.writeBufferBudget() / Bytes.MB);
+        } else {
+            this.appendMetricsMemory(metrics, BLOCK_CACHE);
+            this.appendMetricsMemory(metrics, BLOCK_CACHE_PINNED);
+            this.appendMetricsMemory(metrics, BLOCK_CACHE_CAPACITY);
+        }
         this.appendMetricsMemory(metrics, INDEX_FILTER);
         this.appendMetricsMemory(metrics, ALL_MEM_TABLE);
         this.appendMetricsMemory(metrics, CUR_MEM_TABLE);
@@ -160,6 +177,11 @@ public class RocksDBMetrics implements BackendMetrics {
         this.appendMetricsNumber(metrics, NUM_LIVE_VERSIONS);
         this.appendMetricsNumber(metrics, SUPER_VERSION);
 
+        // expired rows swept by the store
+        if (this.ttlSweeper != null) {
+            metrics.putAll(this.ttlSweeper.metrics());
+        }
+
         return metrics;
     }
 
@@ -181,13 +203,27 @@ public class RocksDBMetrics implements BackendMetrics {
 
     private double getMemUsed() {
         // https://github.com/facebook/rocksdb/wiki/Memory-usage-in-RocksDB
-        double blockCache = this.sum(this.session, BLOCK_CACHE);
         double indexFilter = this.sum(this.session, INDEX_FILTER);
         double memtable = this.sum(this.session, ALL_MEM_TABLE);
+        if (RocksDBMemoryManager.enabled()) {
+            // The shared block cache is not owned by the graph
+            return indexFilter + memtable;
+        }
+        double blockCache = this.sum(this.session, BLOCK_CACHE);
         double blockCachePinned = this.sum(this.session, BLOCK_CACHE_PINNED);
         return blockCache + indexFilter + memtable + blockCachePinned;
     }
 
+    private long writeBufferBudget() {
+        long total = 0L;
+        for (RocksDBSessions db : this.dbs) {
+            if (db instanceof RocksDBStdSessions) {
+                total += ((RocksDBStdSessions) db).writeBufferBudget();
+            }
+        }
+        return total;
+    }
+
     private double getDiskUsage() {
         return this.sum(DISK_USAGE);
     }
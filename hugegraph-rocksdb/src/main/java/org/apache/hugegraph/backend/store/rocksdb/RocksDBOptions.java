@@ -88,11 +88,94 @@ public class RocksDBOptions extends OptionHolder {
     public static final ConfigOption<String> SST_PATH =
             new ConfigOption<>(
                     "rocksdb.sst_path",
-                    "The path for ingesting SST file into RocksDB.",
+                    "The path for ingesting SST file into RocksDB, " +
+                    "the SST files in sub directory named store name " +
+                    "are preferred, it's also the path for writing SST " +
+                    "files of each store if the backend is rocksdbsst.",
                     null,
                     ""
             );
 
+    public static final ConfigOption<Long> SST_SORT_BUFFER_SIZE =
+            new ConfigOption<>(
+                    "rocksdb.sst_sort_buffer_size",
+                    "The memory size in bytes to buffer records of a table " +
+                    "before spilling them to a sorted run file when " +
+                    "writing SST file.",
+                    rangeInt(Bytes.MB, Long.MAX_VALUE),
+                    64 * Bytes.MB
+            );
+
+    public static final ConfigOption<Long> SST_FILE_SIZE =
+            new ConfigOption<>(
+                    "rocksdb.sst_file_size",
+                    "The max size in bytes of records in an SST file, " +
+                    "a new file will be created if exceeded.",
+                    rangeInt(Bytes.MB, Long.MAX_VALUE),
+                    256 * Bytes.MB
+            );
+
+    public static final ConfigOption<Integer> SST_WRITE_THREADS =
+            new ConfigOption<>(
+                    "rocksdb.sst_write_threads",
+                    "The number of threads to sort and write SST files of " +
+                    "tables in parallel.",
+                    rangeInt(1, Integer.MAX_VALUE),
+                    4
+            );
+
+    public static final ConfigOption<Integer> ASYNC_QUERY_THREADS =
+            new ConfigOption<>(
+                    "rocksdb.async_query_threads",
+                    "The number of I/O threads to execute the asynchronous " +
+                    "queries, like the concurrent adjacency lookups of " +
+                    "oltp algorithms, 0 means to query synchronously.",
+                    rangeInt(0, Integer.MAX_VALUE),
+                    8
+            );
+
+    public static final ConfigOption<Integer> ASYNC_QUERY_PREFETCH =
+            new ConfigOption<>(
+                    "rocksdb.async_query_prefetch",
+                    "The max number of entries fetched by the I/O thread " +
+                    "for an asynchronous query, the rest entries of the " +
+                    "query with more entries are streamed by the caller " +
+                    "thread instead of buffering them all.",
+                    rangeInt(1, Integer.MAX_VALUE),
+                    256
+            );
+
+    public static final ConfigOption<Integer> TTL_SWEEP_INTERVAL =
+            new ConfigOption<>(
+                    "rocksdb.ttl_sweep_interval",
+                    "The interval in seconds to sweep the expired vertices, " +
+                    "edges and indexes of the labels with ttl from RocksDB " +
+                    "in bulk, instead of deleting them by the ephemeral " +
+                    "tasks when they are read, 0 means disabled.",
+                    rangeInt(0, Integer.MAX_VALUE),
+                    0
+            );
+
+    public static final ConfigOption<Integer> TTL_SWEEP_BATCH_SIZE =
+            new ConfigOption<>(
+                    "rocksdb.ttl_sweep_batch_size",
+                    "The max number of expired rows deleted in a write " +
+                    "batch by the ttl sweeper.",
+                    rangeInt(1, Integer.MAX_VALUE),
+                    500
+            );
+
+    public static final ConfigOption<Boolean> DEGREE_COUNTER_ENABLE =
+            new ConfigOption<>(
+                    "rocksdb.degree_counter_enable",
+                    "Whether to maintain the count of adjacent edges of each " +
+                    "vertex per direction and edge label with the edges, " +
+                    "which are rebuilt from the edges once enabled, and are " +
+                    "used to count the degree without scanning the edges.",
+                    disallowEmpty(),
+                    false
+            );
+
     // TODO: support ConfigOption<InfoLogLevel>
     public static final ConfigOption<String> LOG_LEVEL =
             new ConfigOption<>(
@@ -608,6 +691,49 @@ public class RocksDBOptions extends OptionHolder {
                     8L * Bytes.MB
             );
 
+    public static final ConfigOption<Long> SHARED_BLOCK_CACHE_CAPACITY =
+            new ConfigOption<>(
+                    "rocksdb.shared_block_cache_capacity",
+                    "The capacity in bytes of the block cache shared by all " +
+                    "the graphs in the process, the block_cache_capacity " +
+                    "will be ignored if it's set. 0 means each table uses " +
+                    "its own block cache. NOTE: the first opened graph " +
+                    "decides the capacity.",
+                    rangeInt(0L, Long.MAX_VALUE),
+                    0L
+            );
+
+    public static final ConfigOption<Long> SHARED_WRITE_BUFFER_SIZE =
+            new ConfigOption<>(
+                    "rocksdb.shared_write_buffer_size",
+                    "Total size in bytes of write buffers of all the graphs " +
+                    "in the process, which is charged to the shared block " +
+                    "cache, it only works when shared_block_cache_capacity " +
+                    "is set. 0 means no limit.",
+                    rangeInt(0L, Long.MAX_VALUE),
+                    0L
+            );
+
+    public static final ConfigOption<Double> MEMORY_WEIGHT =
+            new ConfigOption<>(
+                    "rocksdb.memory_weight",
+                    "The weight of the graph when sharing the write buffers " +
+                    "with other graphs, the write buffer budget of a graph " +
+                    "is in proportion to the weight and its write activity.",
+                    rangeDouble(0.01, 100.0),
+                    1.0
+            );
+
+    public static final ConfigOption<Integer> MEMORY_REBALANCE_INTERVAL =
+            new ConfigOption<>(
+                    "rocksdb.memory_rebalance_interval",
+                    "The interval in seconds to adjust the write buffer size " +
+                    "of each graph by the shared write buffers, " +
+                    "0 means never adjust.",
+                    rangeInt(0, Integer.MAX_VALUE),
+                    60
+            );
+
     public static final ConfigOption<Boolean> CACHE_FILTER_AND_INDEX =
             new ConfigOption<>(
                     "rocksdb.cache_index_and_filter_blocks",
@@ -692,8 +818,34 @@ public class RocksDBOptions extends OptionHolder {
                     "rocksdb.prefix_extractor_n_bytes",
                     "The prefix-extractor uses the first N bytes of a key as its prefix, " +
                     "it will use the full key when a key is shorter than the N. " +
+                    "The prefix scans not shorter than N bytes will use prefix " +
+                    "bloom filters, the shorter ones fall back to total order " +
+                    "seek, so N should not exceed the encoded length of owner " +
+                    "vertex id (e.g. 2~9 bytes for number id, 17 bytes for " +
+                    "uuid id, and 1 + length for string id). " +
                     "0 means unset prefix-extractor.",
                     rangeInt(0, Integer.MAX_VALUE),
                     0
             );
+
+    public static final ConfigOption<Long> BULK_SCAN_READAHEAD_SIZE =
+            new ConfigOption<>(
+                    "rocksdb.bulk_scan_readahead_size",
+                    "The readahead size in bytes of bulk scans like full " +
+                    "table scans and shard scans of OLAP and algorithm jobs, " +
+                    "0 means using the auto-readahead of RocksDB.",
+                    rangeInt(0L, Long.MAX_VALUE),
+                    2L * Bytes.MB
+            );
+
+    public static final ConfigOption<Boolean> BULK_SCAN_FILL_CACHE =
+            new ConfigOption<>(
+                    "rocksdb.bulk_scan_fill_cache",
+                    "Whether to put the blocks read by bulk scans like full " +
+                    "table scans and shard scans of OLAP and algorithm jobs " +
+                    "into the block cache, disable it to keep the cache for " +
+                    "online queries.",
+                    disallowEmpty(),
+                    false
+            );
 }
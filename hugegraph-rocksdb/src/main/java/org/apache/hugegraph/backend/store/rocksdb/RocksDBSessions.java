@@ -17,6 +17,7 @@
 
 package org.apache.hugegraph.backend.store.rocksdb;
 
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Set;
 
@@ -30,8 +31,15 @@ import org.apache.hugegraph.config.HugeConfig;
 
 public abstract class RocksDBSessions extends BackendSessionPool {
 
+    private final String store;
+
     public RocksDBSessions(HugeConfig config, String database, String store) {
         super(config, database + "/" + store);
+        this.store = store;
+    }
+
+    public String store() {
+        return this.store;
     }
 
     public abstract Set<String> openedTables();
@@ -62,6 +70,9 @@ public abstract class RocksDBSessions extends BackendSessionPool {
 
     public abstract void forceCloseRocksDB();
 
+    public abstract List<String> ingestExternalFile(String table, Path path)
+                                                    throws RocksDBException;
+
     @Override
     public abstract Session session();
 
@@ -77,6 +88,10 @@ public abstract class RocksDBSessions extends BackendSessionPool {
         public static final int SCAN_GTE_BEGIN = 0x0c;
         public static final int SCAN_LT_END = 0x10;
         public static final int SCAN_LTE_END = 0x30;
+        // The hint of bulk scans, like full table scans and shard scans
+        public static final int SCAN_BULK = 0x100;
+        // Scan from the end key to the begin key in descending order
+        public static final int SCAN_REVERSE = 0x200;
 
         public abstract String dataPath();
 
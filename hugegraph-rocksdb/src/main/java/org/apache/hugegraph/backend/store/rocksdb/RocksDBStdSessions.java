@@ -18,6 +18,7 @@
 package org.apache.hugegraph.backend.store.rocksdb;
 
 import java.io.File;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
@@ -26,7 +27,9 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -34,6 +37,7 @@ import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.rocksdb.BlockBasedTableConfig;
 import org.rocksdb.BloomFilter;
+import org.rocksdb.Cache;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.ColumnFamilyOptions;
@@ -41,6 +45,7 @@ import org.rocksdb.ColumnFamilyOptionsInterface;
 import org.rocksdb.CompressionType;
 import org.rocksdb.DBOptions;
 import org.rocksdb.DBOptionsInterface;
+import org.rocksdb.DirectSlice;
 import org.rocksdb.Env;
 import org.rocksdb.IndexType;
 import org.rocksdb.InfoLogLevel;
@@ -48,12 +53,15 @@ import org.rocksdb.LRUCache;
 import org.rocksdb.MutableColumnFamilyOptionsInterface;
 import org.rocksdb.MutableDBOptionsInterface;
 import org.rocksdb.Options;
+import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
+import org.rocksdb.Slice;
 import org.rocksdb.SstFileManager;
 import org.rocksdb.TableFormatConfig;
 import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteBufferManager;
 import org.rocksdb.WriteOptions;
 import org.slf4j.Logger;
 
@@ -78,6 +86,9 @@ public class RocksDBStdSessions extends RocksDBSessions {
     private final HugeConfig config;
     private final String dataPath;
     private final String walPath;
+    private final int prefixLength;
+    private final long bulkScanReadahead;
+    private final boolean bulkScanFillCache;
 
     private volatile OpenedRocksDB rocksdb;
     private final AtomicInteger refCount;
@@ -89,9 +100,16 @@ public class RocksDBStdSessions extends RocksDBSessions {
         this.config = config;
         this.dataPath = dataPath;
         this.walPath = walPath;
+        this.prefixLength = config.get(RocksDBOptions.PREFIX_EXTRACTOR_CAPPED);
+        this.bulkScanReadahead = config.get(
+                                 RocksDBOptions.BULK_SCAN_READAHEAD_SIZE);
+        this.bulkScanFillCache = config.get(
+                                 RocksDBOptions.BULK_SCAN_FILL_CACHE);
         this.rocksdb = RocksDBStdSessions.openRocksDB(config, dataPath,
                                                       walPath);
         this.refCount = new AtomicInteger(1);
+
+        RocksDBMemoryManager.register(this.toString(), this.rocksdb, config);
     }
 
     public RocksDBStdSessions(HugeConfig config, String database, String store,
@@ -101,10 +119,17 @@ public class RocksDBStdSessions extends RocksDBSessions {
         this.config = config;
         this.dataPath = dataPath;
         this.walPath = walPath;
+        this.prefixLength = config.get(RocksDBOptions.PREFIX_EXTRACTOR_CAPPED);
+        this.bulkScanReadahead = config.get(
+                                 RocksDBOptions.BULK_SCAN_READAHEAD_SIZE);
+        this.bulkScanFillCache = config.get(
+                                 RocksDBOptions.BULK_SCAN_FILL_CACHE);
         this.rocksdb = RocksDBStdSessions.openRocksDB(config, cfNames,
                                                       dataPath, walPath);
         this.refCount = new AtomicInteger(1);
 
+        RocksDBMemoryManager.register(this.toString(), this.rocksdb, config);
+
         this.ingestExternalFile();
     }
 
@@ -114,6 +139,9 @@ public class RocksDBStdSessions extends RocksDBSessions {
         this.config = config;
         this.dataPath = origin.dataPath;
         this.walPath = origin.walPath;
+        this.prefixLength = origin.prefixLength;
+        this.bulkScanReadahead = origin.bulkScanReadahead;
+        this.bulkScanFillCache = origin.bulkScanFillCache;
         this.rocksdb = origin.rocksdb;
         this.refCount = origin.refCount;
         this.refCount.incrementAndGet();
@@ -208,17 +236,31 @@ public class RocksDBStdSessions extends RocksDBSessions {
     @Override
     public void reloadRocksDB() throws RocksDBException {
         if (this.rocksdb.isOwningHandle()) {
+            RocksDBMemoryManager.unregister(this.rocksdb);
             this.rocksdb.close();
         }
         this.rocksdb = RocksDBStdSessions.openRocksDB(this.config,
                                                       ImmutableList.of(),
                                                       this.dataPath,
                                                       this.walPath);
+        RocksDBMemoryManager.register(this.toString(), this.rocksdb,
+                                      this.config);
     }
 
     @Override
     public void forceCloseRocksDB() {
-        this.rocksdb().close();
+        RocksDBMemoryManager.unregister(this.rocksdb);
+        this.checkValid();
+        this.rocksdb.close();
+    }
+
+    @Override
+    public List<String> ingestExternalFile(String table, Path path)
+                                           throws RocksDBException {
+        RocksDBIngester ingester = new RocksDBIngester(this.rocksdb());
+        try (OpenedRocksDB.CFHandle cfh = this.cf(table)) {
+            return ingester.ingest(path, cfh.get());
+        }
     }
 
     @Override
@@ -240,6 +282,10 @@ public class RocksDBStdSessions extends RocksDBSessions {
         }
     }
 
+    public long writeBufferBudget() {
+        return RocksDBMemoryManager.writeBufferBudget(this.rocksdb);
+    }
+
     @Override
     public void compactRange() {
         try {
@@ -340,6 +386,7 @@ public class RocksDBStdSessions extends RocksDBSessions {
             return;
         }
         assert this.refCount.get() == 0;
+        RocksDBMemoryManager.unregister(this.rocksdb);
         this.rocksdb.close();
     }
 
@@ -367,6 +414,14 @@ public class RocksDBStdSessions extends RocksDBSessions {
         if (directory == null || directory.isEmpty()) {
             return;
         }
+        /*
+         * Prefer the sub directory named store name, since tables with the
+         * same name may exist in multiple stores (like system and graph)
+         */
+        Path storePath = Paths.get(directory, this.store());
+        if (storePath.toFile().isDirectory()) {
+            directory = storePath.toString();
+        }
         RocksDBIngester ingester = new RocksDBIngester(this.rocksdb());
         // Ingest all *.sst files in each directory named cf name
         for (String cf : this.rocksdb.cfs()) {
@@ -382,6 +437,39 @@ public class RocksDBStdSessions extends RocksDBSessions {
     private static OpenedRocksDB openRocksDB(HugeConfig config,
                                              String dataPath, String walPath)
                                              throws RocksDBException {
+        // Reference the shared memory before it's set to the options
+        boolean sharedMemory = RocksDBMemoryManager.acquire(config);
+        try {
+            return openRocksDB(config, dataPath, walPath, sharedMemory);
+        } catch (Throwable e) {
+            if (sharedMemory) {
+                RocksDBMemoryManager.release();
+            }
+            throw e;
+        }
+    }
+
+    private static OpenedRocksDB openRocksDB(HugeConfig config,
+                                             List<String> cfNames,
+                                             String dataPath, String walPath)
+                                             throws RocksDBException {
+        // Reference the shared memory before it's set to the options
+        boolean sharedMemory = RocksDBMemoryManager.acquire(config);
+        try {
+            return openRocksDB(config, cfNames, dataPath, walPath,
+                               sharedMemory);
+        } catch (Throwable e) {
+            if (sharedMemory) {
+                RocksDBMemoryManager.release();
+            }
+            throw e;
+        }
+    }
+
+    private static OpenedRocksDB openRocksDB(HugeConfig config,
+                                             String dataPath, String walPath,
+                                             boolean sharedMemory)
+                                             throws RocksDBException {
         // Init options
         Options options = new Options();
         RocksDBStdSessions.initOptions(config, options, options,
@@ -395,12 +483,13 @@ public class RocksDBStdSessions extends RocksDBSessions {
          */
         RocksDB rocksdb = RocksDB.open(options, dataPath);
         Map<String, OpenedRocksDB.CFHandle> cfs = new ConcurrentHashMap<>();
-        return new OpenedRocksDB(rocksdb, cfs, sstFileManager);
+        return new OpenedRocksDB(rocksdb, cfs, sstFileManager, sharedMemory);
     }
 
     private static OpenedRocksDB openRocksDB(HugeConfig config,
                                              List<String> cfNames,
-                                             String dataPath, String walPath)
+                                             String dataPath, String walPath,
+                                             boolean sharedMemory)
                                              throws RocksDBException {
         // Old CFs should always be opened
         Set<String> mergedCFs = RocksDBStdSessions.mergeOldCFs(dataPath,
@@ -437,7 +526,8 @@ public class RocksDBStdSessions extends RocksDBSessions {
         for (int i = 0; i < cfs.size(); i++) {
             cfHandles.put(cfs.get(i), new OpenedRocksDB.CFHandle(rocksdb, cfhs.get(i)));
         }
-        return new OpenedRocksDB(rocksdb, cfHandles, sstFileManager);
+        return new OpenedRocksDB(rocksdb, cfHandles, sstFileManager,
+                                 sharedMemory);
     }
 
     private static Set<String> mergeOldCFs(String path, List<String> cfNames)
@@ -525,6 +615,13 @@ public class RocksDBStdSessions extends RocksDBSessions {
             if (cacheCapacity > 0) {
                 db.setRowCache(new LRUCache(cacheCapacity));
             }
+
+            // Write buffers of all graphs are charged to the shared cache
+            WriteBufferManager writeBufferManager =
+                               RocksDBMemoryManager.writeBufferManager(conf);
+            if (writeBufferManager != null) {
+                db.setWriteBufferManager(writeBufferManager);
+            }
         }
 
         if (mdb != null) {
@@ -703,7 +800,10 @@ public class RocksDBStdSessions extends RocksDBSessions {
 
         // https://github.com/facebook/rocksdb/wiki/Block-Cache
         long cacheCapacity = conf.get(RocksDBOptions.BLOCK_CACHE_CAPACITY);
-        if (cacheCapacity <= 0L) {
+        Cache sharedCache = RocksDBMemoryManager.blockCache(conf);
+        if (sharedCache != null) {
+            tableConfig.setBlockCache(sharedCache);
+        } else if (cacheCapacity <= 0L) {
             // Bypassing bug https://github.com/facebook/rocksdb/pull/5465
             tableConfig.setNoBlockCache(true);
         } else {
@@ -754,12 +854,17 @@ public class RocksDBStdSessions extends RocksDBSessions {
      */
     private final class StdSession extends RocksDBSessions.Session {
 
+        private static final int SCAN_OPTIONS_CAPACITY = 8;
+
         private WriteBatch batch;
         private final WriteOptions writeOptions;
+        // The options of prefix scans released by the closed iterators
+        private final Queue<PrefixScanOptions> scanOptions;
 
         public StdSession(HugeConfig conf) {
             this.batch = new WriteBatch();
             this.writeOptions = new WriteOptions();
+            this.scanOptions = new ArrayBlockingQueue<>(SCAN_OPTIONS_CAPACITY);
             /*
              * When work under raft mode. if store crashed, the state-machine
              * can restore by snapshot + raft log, doesn't need wal and sync
@@ -780,6 +885,10 @@ public class RocksDBStdSessions extends RocksDBSessions {
         public void close() {
             assert this.closeable();
             this.opened = false;
+            for (PrefixScanOptions options;
+                 (options = this.scanOptions.poll()) != null;) {
+                options.close();
+            }
         }
 
         @Override
@@ -868,6 +977,8 @@ public class RocksDBStdSessions extends RocksDBSessions {
                 //this.batch.rollbackToSavePoint();
                 throw new BackendException(e);
             }
+            RocksDBStdSessions.this.rocksdb.recordWrite(
+                               this.batch.getDataSize());
 
             // Clear batch if write() successfully (retained if failed)
             this.batch.clear();
@@ -1022,7 +1133,8 @@ public class RocksDBStdSessions extends RocksDBSessions {
             assert !this.hasChanges();
             try (OpenedRocksDB.CFHandle cf = cf(table)) {
                 ReusedRocksIterator iter = cf.newIterator();
-                return new ScanIterator(table, iter, null, null, SCAN_ANY);
+                return new ScanIterator(table, iter, null, null, SCAN_ANY,
+                                        false);
             }
         }
 
@@ -1034,18 +1146,42 @@ public class RocksDBStdSessions extends RocksDBSessions {
             assert !this.hasChanges();
             /*
              * NOTE: Options.prefix_extractor is a prerequisite for
-             * optimized prefix seek, if Options.prefix_extractor if enabled,
-             * can setPrefixSameAsStart(true) or setAutoPrefixMode(true):
-             *  ReadOptions options = new ReadOptions();
-             *  options.setPrefixSameAsStart(true);
-             * or
-             *  options.setAutoPrefixMode(true);
-             *  options.setIterateUpperBound(prefix + 1);
+             * optimized prefix seek, the CappedPrefixExtractor uses the
+             * first N bytes, so all the keys prefixed with `prefix` share
+             * the same extracted prefix only if `prefix` is not shorter
+             * than N, then we can setPrefixSameAsStart(true) to make use of
+             * the prefix bloom filters, otherwise must setTotalOrderSeek(true)
+             * to avoid missing keys. The iterator is always bounded by the
+             * next key of `prefix` to stop reading the blocks beyond it.
+             * The read options and the bound are reused by the prefix scans
+             * of the session after the iterator is closed.
              */
             try (OpenedRocksDB.CFHandle cf = cf(table)) {
-                ReusedRocksIterator iter = cf.newIterator();
+                PrefixScanOptions options = this.acquireScanOptions();
+                byte[] upperBound = nextPrefix(prefix);
+                ReadOptions readOptions = options.reset(
+                                          RocksDBStdSessions.this.prefixLength,
+                                          prefix, upperBound);
+                ReusedRocksIterator iter = cf.newIterator(readOptions, () -> {
+                    this.releaseScanOptions(options);
+                });
                 return new ScanIterator(table, iter, prefix, null,
-                                        SCAN_PREFIX_BEGIN);
+                                        SCAN_PREFIX_BEGIN, upperBound != null);
+            }
+        }
+
+        private PrefixScanOptions acquireScanOptions() {
+            PrefixScanOptions options = this.scanOptions.poll();
+            if (options == null) {
+                options = new PrefixScanOptions();
+            }
+            return options;
+        }
+
+        private void releaseScanOptions(PrefixScanOptions options) {
+            // The iterator may be closed after the session is closed
+            if (this.closed() || !this.scanOptions.offer(options)) {
+                options.close();
             }
         }
 
@@ -1058,19 +1194,148 @@ public class RocksDBStdSessions extends RocksDBSessions {
             assert !this.hasChanges();
             /*
              * NOTE: if Options.prefix_extractor if enabled, need to
-             * setTotalOrderSeek(true) or setAutoPrefixMode(true) to make
-             * page-seek or shard-scan return right results:
-             *  ReadOptions options = new ReadOptions();
-             *  options.setTotalOrderSeek(true);
-             * or
-             *  options.setAutoPrefixMode(true);
-             *  options.setIterateUpperBound(keyTo);
+             * setTotalOrderSeek(true) to make page-seek or shard-scan
+             * return right results, and the iterator is bounded natively
+             * by `keyFrom` and `keyTo` if the scan type has the limits.
              */
+            byte[] lowerBound = null;
+            if (keyFrom != null && keyFrom.length > 0 &&
+                matchScanType(SCAN_GT_BEGIN, scanType)) {
+                lowerBound = keyFrom;
+            }
+            byte[] upperBound = null;
+            if (keyTo != null) {
+                if (matchScanType(SCAN_PREFIX_END, scanType) ||
+                    matchScanType(SCAN_LTE_END, scanType)) {
+                    upperBound = nextPrefix(keyTo);
+                } else if (matchScanType(SCAN_LT_END, scanType)) {
+                    upperBound = keyTo;
+                }
+            }
+            boolean bulk = matchScanType(SCAN_BULK, scanType);
+            if (matchScanType(SCAN_REVERSE, scanType)) {
+                E.checkArgument(lowerBound != null && upperBound != null,
+                                "Reverse scan must specify both the " +
+                                "begin key and the end key");
+            }
             try (OpenedRocksDB.CFHandle cf = cf(table)) {
-                ReusedRocksIterator iter = cf.newIterator();
-                return new ScanIterator(table, iter, keyFrom, keyTo, scanType);
+                ReusedRocksIterator iter;
+                if (lowerBound == null && upperBound == null && !bulk &&
+                    RocksDBStdSessions.this.prefixLength <= 0) {
+                    iter = cf.newIterator();
+                } else {
+                    ReadOptions options = new ReadOptions();
+                    options.setTotalOrderSeek(true);
+                    if (bulk) {
+                        /*
+                         * Read ahead for the sequential reads, and don't
+                         * evict the hot blocks of online queries from cache
+                         */
+                        RocksDBStdSessions sessions = RocksDBStdSessions.this;
+                        if (sessions.bulkScanReadahead > 0L) {
+                            options.setReadaheadSize(
+                                    sessions.bulkScanReadahead);
+                        }
+                        options.setFillCache(sessions.bulkScanFillCache);
+                    }
+                    iter = newIterator(cf, options, lowerBound, upperBound);
+                }
+                return new ScanIterator(table, iter, keyFrom, keyTo, scanType,
+                                        upperBound != null);
+            }
+        }
+
+        private ReusedRocksIterator newIterator(OpenedRocksDB.CFHandle cf,
+                                                ReadOptions options,
+                                                byte[] lowerBound,
+                                                byte[] upperBound) {
+            Slice lower = null;
+            if (lowerBound != null) {
+                lower = new Slice(lowerBound);
+                options.setIterateLowerBound(lower);
+            }
+            Slice upper = null;
+            if (upperBound != null) {
+                upper = new Slice(upperBound);
+                options.setIterateUpperBound(upper);
+            }
+            return cf.newIterator(options, lower, upper);
+        }
+    }
+
+    /**
+     * The read options of prefix scans which are reused by a session, the
+     * upper bound is a direct slice over a reused buffer, so no native
+     * object is created for each prefix scan
+     */
+    private static final class PrefixScanOptions {
+
+        private static final int INIT_BOUND_CAPACITY = 64;
+
+        private final ReadOptions options;
+        private ByteBuffer buffer;
+        private DirectSlice upperBound;
+
+        public PrefixScanOptions() {
+            this.options = new ReadOptions();
+            this.buffer = null;
+            this.upperBound = null;
+        }
+
+        public ReadOptions reset(int prefixLength, byte[] prefix,
+                                 byte[] upperBound) {
+            if (prefixLength > 0) {
+                boolean sameAsStart = prefix.length >= prefixLength;
+                this.options.setPrefixSameAsStart(sameAsStart);
+                this.options.setTotalOrderSeek(!sameAsStart);
+            }
+            if (upperBound == null) {
+                this.options.setIterateUpperBound(null);
+                return this.options;
+            }
+            if (this.buffer == null ||
+                this.buffer.capacity() < upperBound.length) {
+                this.closeBound();
+                int capacity = Math.max(upperBound.length,
+                                        INIT_BOUND_CAPACITY);
+                this.buffer = ByteBuffer.allocateDirect(capacity);
+                this.upperBound = new DirectSlice(this.buffer, capacity);
+            }
+            this.buffer.clear();
+            this.buffer.put(upperBound);
+            this.upperBound.setLength(upperBound.length);
+            this.options.setIterateUpperBound(this.upperBound);
+            return this.options;
+        }
+
+        public void close() {
+            this.options.close();
+            this.closeBound();
+        }
+
+        private void closeBound() {
+            if (this.upperBound != null) {
+                this.upperBound.close();
+                this.upperBound = null;
+                this.buffer = null;
+            }
+        }
+    }
+
+    /**
+     * Get the smallest key that is greater than all the keys prefixed with
+     * `prefix`, it's used as the exclusive upper bound of a prefix scan
+     * @return the next prefix, or null if all bytes of `prefix` are 0xff
+     */
+    protected static byte[] nextPrefix(byte[] prefix) {
+        for (int i = prefix.length - 1; i >= 0; i--) {
+            if (prefix[i] != (byte) 0xff) {
+                byte[] next = Arrays.copyOf(prefix, i + 1);
+                next[i]++;
+                return next;
             }
         }
+        return null;
     }
 
     /**
@@ -1085,12 +1350,17 @@ public class RocksDBStdSessions extends RocksDBSessions {
         private final byte[] keyBegin;
         private final byte[] keyEnd;
         private final int scanType;
+        // Whether the end of scan is checked by the iterate_upper_bound
+        private final boolean bounded;
+        // Whether scan from the end in descending order
+        private final boolean reverse;
 
         private byte[] position;
         private boolean matched;
 
         public ScanIterator(String table, ReusedRocksIterator reusedIter,
-                            byte[] keyBegin, byte[] keyEnd, int scanType) {
+                            byte[] keyBegin, byte[] keyEnd, int scanType,
+                            boolean bounded) {
             E.checkNotNull(reusedIter, "reusedIter");
             this.table = table;
 
@@ -1099,6 +1369,8 @@ public class RocksDBStdSessions extends RocksDBSessions {
             this.keyBegin = keyBegin;
             this.keyEnd = keyEnd;
             this.scanType = scanType;
+            this.bounded = bounded;
+            this.reverse = this.match(Session.SCAN_REVERSE);
 
             this.position = keyBegin;
             this.matched = false;
@@ -1202,6 +1474,11 @@ public class RocksDBStdSessions extends RocksDBSessions {
         }
 
         private void seek() {
+            if (this.reverse) {
+                // Seek to the last key before the iterate_upper_bound
+                this.iter.seekToLast();
+                return;
+            }
             if (this.keyBegin == null || this.keyBegin.length <= 0) {
                 // Seek to the first if no `keyBegin`
                 this.iter.seekToFirst();
@@ -1225,13 +1502,20 @@ public class RocksDBStdSessions extends RocksDBSessions {
         }
 
         private boolean filter(byte[] key) {
-            if (this.match(Session.SCAN_PREFIX_BEGIN)) {
+            if (this.reverse) {
+                /*
+                 * Both the begin and end are checked by the iterate bounds,
+                 * except the `keyBegin` itself if set SCAN_GT_BEGIN
+                 */
+                return this.match(Session.SCAN_GTE_BEGIN) ||
+                       !Bytes.equals(key, this.keyBegin);
+            } else if (this.match(Session.SCAN_PREFIX_BEGIN)) {
                 /*
                  * Prefix with `keyBegin`?
-                 * TODO: use custom prefix_extractor instead
-                 *       or use ReadOptions.prefix_same_as_start
+                 * NOTE: all the keys before the upper bound (the next prefix)
+                 * are prefixed with `keyBegin` since we seek to `keyBegin`
                  */
-                return Bytes.prefixWith(key, this.keyBegin);
+                return this.bounded || Bytes.prefixWith(key, this.keyBegin);
             } else if (this.match(Session.SCAN_PREFIX_END)) {
                 /*
                  * Prefix with `keyEnd`?
@@ -1246,6 +1530,10 @@ public class RocksDBStdSessions extends RocksDBSessions {
                  * NOTE: don't use BytewiseComparator due to signed byte
                  */
                 assert this.keyEnd != null;
+                if (this.bounded) {
+                    // The upper bound has been checked by RocksDB
+                    return true;
+                }
                 if (this.match(Session.SCAN_LTE_END)) {
                     // Just compare the prefix, can be there are excess tail
                     key = Arrays.copyOfRange(key, 0, this.keyEnd.length);
@@ -1272,17 +1560,25 @@ public class RocksDBStdSessions extends RocksDBSessions {
 
             BackendColumn col = BackendColumn.of(this.iter.key(),
                                                  this.iter.value());
-            this.iter.next();
+            this.moveNext();
             this.matched = false;
 
             return col;
         }
 
+        private void moveNext() {
+            if (this.reverse) {
+                this.iter.prev();
+            } else {
+                this.iter.next();
+            }
+        }
+
         @Override
         public long count() {
             long count = 0L;
             while (this.hasNext()) {
-                this.iter.next();
+                this.moveNext();
                 this.matched = false;
                 count++;
                 BackendEntryIterator.checkInterrupted();
@@ -18,6 +18,7 @@
 package org.apache.hugegraph.backend.store.rocksdb;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -32,10 +33,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
@@ -44,6 +47,7 @@ import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.apache.commons.io.FileUtils;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.rocksdb.RocksDBException;
 import org.slf4j.Logger;
 
@@ -55,15 +59,22 @@ import org.apache.hugegraph.backend.serializer.MergeIterator;
 import org.apache.hugegraph.backend.store.AbstractBackendStore;
 import org.apache.hugegraph.backend.store.BackendAction;
 import org.apache.hugegraph.backend.store.BackendEntry;
+import org.apache.hugegraph.backend.store.BackendEntry.BackendColumn;
+import org.apache.hugegraph.backend.store.BackendEntry.BackendColumnIterator;
 import org.apache.hugegraph.backend.store.BackendFeatures;
 import org.apache.hugegraph.backend.store.BackendMutation;
 import org.apache.hugegraph.backend.store.BackendSessionPool;
 import org.apache.hugegraph.backend.store.BackendStoreProvider;
 import org.apache.hugegraph.backend.store.BackendTable;
+import org.apache.hugegraph.backend.store.rocksdbsst.RocksDBSstSessions;
+import org.apache.hugegraph.concurrent.KeyLock;
 import org.apache.hugegraph.config.CoreOptions;
 import org.apache.hugegraph.config.HugeConfig;
 import org.apache.hugegraph.exception.ConnectionException;
+import org.apache.hugegraph.iterator.ExtendableIterator;
 import org.apache.hugegraph.type.HugeType;
+import org.apache.hugegraph.type.define.Action;
+import org.apache.hugegraph.type.define.Directions;
 import org.apache.hugegraph.util.Consumers;
 import org.apache.hugegraph.util.E;
 import org.apache.hugegraph.util.ExecutorUtil;
@@ -100,8 +111,28 @@ public abstract class RocksDBStore extends AbstractBackendStore<RocksDBSessions.
      * disk number of one machine
      */
     private static final int OPEN_POOL_THREADS = 8;
+    private static final String ASYNC_QUERY = "rocksdb-async-query-%s-%%d";
+    private static final String TTL_SWEEPER = "rocksdb-ttl-sweeper-%s";
     private boolean isGraphStore;
 
+    // The I/O threads of asynchronous query, created at the first query
+    private int queryThreads;
+    private int queryPrefetch;
+    private volatile ExecutorService queryPool;
+
+    // The sweeper of expired rows, only for the graph store if enabled
+    private volatile RocksDBTtlSweeper ttlSweeper;
+    private ScheduledExecutorService ttlSweepPool;
+
+    // The degree counters of vertices, only for the graph store if enabled
+    private volatile RocksDBTables.DegreeCounter degreeCounter;
+    // The locks of the degree counters updated by the uncommitted batches
+    private final KeyLock degreeLocks;
+    // The degree counter locks held by the batch of a thread until committed
+    private final ThreadLocal<List<Lock>> heldDegreeLocks;
+
+    private volatile BackendFeatures features = FEATURES;
+
     public RocksDBStore(final BackendStoreProvider provider,
                         final String database, final String store) {
         this.tables = new HashMap<>();
@@ -114,6 +145,8 @@ public abstract class RocksDBStore extends AbstractBackendStore<RocksDBSessions.
         this.tableDiskMapping = new HashMap<>();
         this.dbs = new ConcurrentHashMap<>();
         this.storeLock = new ReentrantReadWriteLock();
+        this.degreeLocks = new KeyLock();
+        this.heldDegreeLocks = ThreadLocal.withInitial(ArrayList::new);
 
         this.registerMetaHandlers();
     }
@@ -127,7 +160,8 @@ public abstract class RocksDBStore extends AbstractBackendStore<RocksDBSessions.
         };
 
         this.registerMetaHandler("metrics", (session, meta, args) -> {
-            RocksDBMetrics metrics = new RocksDBMetrics(dbsGet.get(), session);
+            RocksDBMetrics metrics = new RocksDBMetrics(dbsGet.get(), session,
+                                                        this.ttlSweeper);
             return metrics.metrics();
         });
 
@@ -135,6 +169,21 @@ public abstract class RocksDBStore extends AbstractBackendStore<RocksDBSessions.
             RocksDBMetrics metrics = new RocksDBMetrics(dbsGet.get(), session);
             return metrics.compact();
         });
+
+        this.registerMetaHandler("ttl_sweep", (session, meta, args) -> {
+            RocksDBTtlSweeper sweeper = this.ttlSweeper;
+            ScheduledExecutorService pool = this.ttlSweepPool;
+            E.checkState(sweeper != null && pool != null,
+                         "The ttl sweeper of store '%s' is not enabled",
+                         this.store);
+            // Sweep in the sweeper thread to not commit the caller's session
+            try {
+                pool.submit(this::sweepExpired).get();
+            } catch (Exception e) {
+                throw new BackendException("Failed to sweep expired rows", e);
+            }
+            return sweeper.metrics();
+        });
     }
 
     protected void registerTableManager(HugeType type, RocksDBTable table) {
@@ -201,7 +250,15 @@ public abstract class RocksDBStore extends AbstractBackendStore<RocksDBSessions.
 
     @Override
     public BackendFeatures features() {
-        return FEATURES;
+        return this.features;
+    }
+
+    private void updateFeatures() {
+        boolean ttlSweep = this.ttlSweeper != null;
+        boolean degreeCounter = this.degreeCounter != null;
+        this.features = ttlSweep || degreeCounter ?
+                        new RocksDBFeatures(ttlSweep, degreeCounter) :
+                        FEATURES;
     }
 
     @Override
@@ -212,10 +269,14 @@ public abstract class RocksDBStore extends AbstractBackendStore<RocksDBSessions.
         String graphStore = config.get(CoreOptions.STORE_GRAPH);
         this.isGraphStore = this.store.equals(graphStore);
         this.dataPath = config.get(RocksDBOptions.DATA_PATH);
+        this.queryThreads = config.get(RocksDBOptions.ASYNC_QUERY_THREADS);
+        this.queryPrefetch = config.get(RocksDBOptions.ASYNC_QUERY_PREFETCH);
 
         if (this.sessions != null && !this.sessions.closed()) {
             LOG.debug("Store {} has been opened before", this.store);
             this.useSessions();
+            this.openTtlSweeper(config);
+            this.openDegreeCounter(config);
             return;
         }
 
@@ -250,6 +311,9 @@ public abstract class RocksDBStore extends AbstractBackendStore<RocksDBSessions.
         } finally {
             this.shutdownOpenPool(openPool);
         }
+
+        this.openTtlSweeper(config);
+        this.openDegreeCounter(config);
     }
 
     private void waitOpenFinished(List<Future<?>> futures) {
@@ -419,6 +483,8 @@ public abstract class RocksDBStore extends AbstractBackendStore<RocksDBSessions.
         LOG.debug("Store close: {}", this.store);
 
         this.checkOpened();
+        this.shutdownQueryPool();
+        this.shutdownTtlSweeper();
         this.closeSessions();
     }
 
@@ -430,6 +496,13 @@ public abstract class RocksDBStore extends AbstractBackendStore<RocksDBSessions.
 
     @Override
     public void mutate(BackendMutation mutation) {
+        /*
+         * Lock the degree counters before the store lock, since they are
+         * held until the batch is committed, which acquires the store lock
+         * again and may wait for a queued writer of the store
+         */
+        Map<HugeType, Map<ByteBuffer, Boolean>> edges = this.lockDegrees(
+                                                        mutation);
         Lock readLock = this.storeLock.readLock();
         readLock.lock();
         try {
@@ -439,6 +512,8 @@ public abstract class RocksDBStore extends AbstractBackendStore<RocksDBSessions.
                 LOG.debug("Store {} mutation: {}", this.store, mutation);
             }
 
+            this.updateDegrees(edges);
+
             for (HugeType type : mutation.types()) {
                 RocksDBSessions.Session session = this.session(type);
                 for (Iterator<BackendAction> it = mutation.mutation(type);
@@ -446,11 +521,122 @@ public abstract class RocksDBStore extends AbstractBackendStore<RocksDBSessions.
                     this.mutate(session, it.next());
                 }
             }
+        } catch (Throwable e) {
+            // The batch won't be committed, don't block the other batches
+            this.releaseDegreeLocks();
+            throw e;
         } finally {
             readLock.unlock();
         }
     }
 
+    /**
+     * Lock the degree counters of the edges inserted or deleted by the
+     * mutation, which are unlocked after the batch is committed or rolled
+     * back, so that the check and the update of a counter are atomic with
+     * the other batches
+     * @return the keys of the edges with true for inserted and false for
+     *         deleted
+     */
+    private Map<HugeType, Map<ByteBuffer, Boolean>> lockDegrees(
+                                                    BackendMutation mutation) {
+        if (this.degreeCounter == null) {
+            return Collections.emptyMap();
+        }
+        Map<HugeType, Map<ByteBuffer, Boolean>> edges = new HashMap<>();
+        Set<ByteBuffer> counters = new HashSet<>();
+        for (HugeType type : mutation.types()) {
+            if (type != HugeType.EDGE_OUT && type != HugeType.EDGE_IN) {
+                continue;
+            }
+            Map<ByteBuffer, Boolean> keys = new HashMap<>();
+            for (Iterator<BackendAction> it = mutation.mutation(type);
+                 it.hasNext();) {
+                BackendAction item = it.next();
+                BackendEntry entry = item.entry();
+                if (entry.olap() || (item.action() != Action.INSERT &&
+                                     item.action() != Action.DELETE)) {
+                    continue;
+                }
+                boolean inserted = item.action() == Action.INSERT;
+                if (entry.columns().isEmpty()) {
+                    keys.put(ByteBuffer.wrap(entry.id().asBytes()), inserted);
+                } else {
+                    for (BackendColumn col : entry.columns()) {
+                        keys.put(ByteBuffer.wrap(col.name), inserted);
+                    }
+                }
+            }
+            if (keys.isEmpty()) {
+                continue;
+            }
+            for (ByteBuffer key : keys.keySet()) {
+                counters.add(ByteBuffer.wrap(
+                             RocksDBTables.DegreeCounter.counterKey(
+                             key.array())));
+            }
+            edges.put(type, keys);
+        }
+        if (!edges.isEmpty()) {
+            // The locks are reentrant for the mutations of a batch
+            this.heldDegreeLocks.get().addAll(
+                 this.degreeLocks.lockAll(counters.toArray()));
+        }
+        return edges;
+    }
+
+    /**
+     * Update the degree counters in the batch with the edges locked, which
+     * are checked before written since an edge may be overwritten by insert
+     * or be deleted though not exists
+     */
+    private void updateDegrees(Map<HugeType, Map<ByteBuffer, Boolean>> edges) {
+        RocksDBTables.DegreeCounter counter = this.degreeCounter;
+        if (counter == null || edges.isEmpty()) {
+            return;
+        }
+        // Check all the edges first, a session with changes can't be read
+        Set<ByteBuffer> exists = new HashSet<>();
+        for (Entry<HugeType, Map<ByteBuffer, Boolean>> e : edges.entrySet()) {
+            exists.addAll(this.existsEdges(e.getKey(), e.getValue().keySet()));
+        }
+        RocksDBSessions.Session session = this.sessions.session();
+        for (Map<ByteBuffer, Boolean> keys : edges.values()) {
+            for (Entry<ByteBuffer, Boolean> key : keys.entrySet()) {
+                boolean inserted = key.getValue();
+                if (inserted != exists.contains(key.getKey())) {
+                    counter.increase(session, key.getKey().array(),
+                                     inserted ? 1L : -1L);
+                }
+            }
+        }
+    }
+
+    private void releaseDegreeLocks() {
+        List<Lock> locks = this.heldDegreeLocks.get();
+        if (!locks.isEmpty()) {
+            this.degreeLocks.unlockAll(locks);
+        }
+        this.heldDegreeLocks.remove();
+    }
+
+    private Set<ByteBuffer> existsEdges(HugeType type,
+                                        Collection<ByteBuffer> edges) {
+        List<byte[]> keys = new ArrayList<>(edges.size());
+        for (ByteBuffer edge : edges) {
+            keys.add(edge.array());
+        }
+        Set<ByteBuffer> exists = new HashSet<>();
+        RocksDBSessions.Session session = this.session(type);
+        try (BackendColumnIterator iter = session.get(this.table(type).table(),
+                                                      keys)) {
+            while (iter.hasNext()) {
+                exists.add(ByteBuffer.wrap(iter.next().name));
+            }
+        }
+        return exists;
+    }
+
     private void mutate(RocksDBSessions.Session session, BackendAction item) {
         BackendEntry entry = item.entry();
 
@@ -491,6 +677,13 @@ public abstract class RocksDBStore extends AbstractBackendStore<RocksDBSessions.
                 throw new AssertionError(String.format(
                           "Unsupported mutate action: %s", item.action()));
         }
+
+        RocksDBTtlSweeper sweeper = this.ttlSweeper;
+        if (sweeper != null && RocksDBTtlSweeper.isExpirable(entry) &&
+            (item.action() == Action.INSERT ||
+             item.action() == Action.APPEND)) {
+            sweeper.mark(this.sessions.session(), entry);
+        }
     }
 
     @Override
@@ -530,6 +723,211 @@ public abstract class RocksDBStore extends AbstractBackendStore<RocksDBSessions.
         }
     }
 
+    @Override
+    public CompletableFuture<Iterator<BackendEntry>> queryAsync(Query query) {
+        ExecutorService pool = this.queryPool();
+        if (pool == null) {
+            return super.queryAsync(query);
+        }
+        int prefetch = this.queryPrefetch;
+        return CompletableFuture.supplyAsync(() -> {
+            /*
+             * Fetch up to `prefetch` entries in the I/O thread, and hand the
+             * opened iterator over to the caller thread for a query with
+             * more entries, which streams the rest of the entries and stops
+             * early if the caller stops consuming.
+             */
+            Iterator<BackendEntry> entries = this.query(query);
+            boolean handedOver = false;
+            try {
+                List<BackendEntry> results = new ArrayList<>();
+                while (entries.hasNext()) {
+                    if (results.size() >= prefetch) {
+                        handedOver = true;
+                        return new ExtendableIterator<>(results.iterator(),
+                                                        entries);
+                    }
+                    results.add(entries.next());
+                }
+                return results.iterator();
+            } finally {
+                if (!handedOver) {
+                    CloseableIterator.closeIterator(entries);
+                }
+            }
+        }, pool);
+    }
+
+    private ExecutorService queryPool() {
+        if (this.queryThreads == 0) {
+            return null;
+        }
+        if (this.queryPool == null) {
+            synchronized (this) {
+                if (this.queryPool == null) {
+                    String name = String.format(ASYNC_QUERY, this.store);
+                    this.queryPool = ExecutorUtil.newFixedThreadPool(
+                                     this.queryThreads, name);
+                }
+            }
+        }
+        return this.queryPool;
+    }
+
+    private synchronized void openTtlSweeper(HugeConfig config) {
+        int interval = config.get(RocksDBOptions.TTL_SWEEP_INTERVAL);
+        if (!this.isGraphStore || interval <= 0 || this.ttlSweeper != null) {
+            return;
+        }
+        int batchSize = config.get(RocksDBOptions.TTL_SWEEP_BATCH_SIZE);
+        RocksDBTtlSweeper sweeper = new RocksDBTtlSweeper(
+                                    new RocksDBTables.TtlMarker(this.database),
+                                    this::table, this::session, batchSize);
+        // The marker table isn't created with the store if enabled later
+        this.createTable(this.sessions, sweeper.table());
+        this.ttlSweeper = sweeper;
+        this.updateFeatures();
+
+        String name = String.format(TTL_SWEEPER, this.store);
+        this.ttlSweepPool = ExecutorUtil.newScheduledThreadPool(name);
+        this.ttlSweepPool.scheduleWithFixedDelay(this::sweepExpired,
+                                                 interval, interval,
+                                                 TimeUnit.SECONDS);
+    }
+
+    private void sweepExpired() {
+        RocksDBTtlSweeper sweeper = this.ttlSweeper;
+        long now = System.currentTimeMillis();
+        byte[] last = null;
+        /*
+         * Check and delete the rows of a batch exclusively, the writers
+         * commit with the read lock, so that a row rewritten after checked
+         * can't be deleted. The lock is released between batches to not
+         * block the writers too long, at most ttl_sweep_batch_size rows
+         * are read and deleted while holding it.
+         */
+        do {
+            Lock writeLock = this.storeLock.writeLock();
+            writeLock.lock();
+            try {
+                if (sweeper == null || sweeper != this.ttlSweeper ||
+                    !this.sessions.existsTable(sweeper.table())) {
+                    return;
+                }
+                last = sweeper.sweep(this.sessions.session(), last, now);
+            } catch (Throwable e) {
+                LOG.warn("Failed to sweep expired rows of store '{}'",
+                         this.store, e);
+                return;
+            } finally {
+                writeLock.unlock();
+            }
+        } while (last != null);
+    }
+
+    private synchronized void shutdownTtlSweeper() {
+        ScheduledExecutorService pool = this.ttlSweepPool;
+        if (pool == null) {
+            return;
+        }
+        this.ttlSweepPool = null;
+        this.ttlSweeper = null;
+        this.updateFeatures();
+        // Close the sessions opened by the sweeper thread
+        try {
+            Consumers.executeOncePerThread(pool, 1, this::closeSessions);
+        } catch (InterruptedException e) {
+            throw new BackendException("Failed to close session opened by " +
+                                       "ttl sweeper");
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private synchronized void openDegreeCounter(HugeConfig config) {
+        if (!this.isGraphStore || this.sessions instanceof RocksDBSstSessions) {
+            // The sst files can't be read to check the existence of edges
+            return;
+        }
+        RocksDBTables.DegreeCounter counter = new RocksDBTables.DegreeCounter(
+                                              this.database);
+        boolean exists = this.sessions.existsTable(counter.table());
+        if (!config.get(RocksDBOptions.DEGREE_COUNTER_ENABLE)) {
+            if (exists) {
+                // Drop the stale counters to rebuild them if enabled again
+                this.dropTable(this.sessions, counter.table());
+            }
+            this.degreeCounter = null;
+            this.updateFeatures();
+            return;
+        }
+        if (this.degreeCounter != null) {
+            return;
+        }
+        if (!exists) {
+            this.createTable(this.sessions, counter.table());
+            this.rebuildDegreeCounter(counter);
+        }
+        this.degreeCounter = counter;
+        this.updateFeatures();
+    }
+
+    private void rebuildDegreeCounter(RocksDBTables.DegreeCounter counter) {
+        long counters = 0L;
+        for (HugeType type : new HugeType[]{HugeType.EDGE_OUT,
+                                            HugeType.EDGE_IN}) {
+            String table = this.table(type).table();
+            if (!this.db(type).existsTable(table)) {
+                // The store is not initialized yet
+                continue;
+            }
+            try (BackendColumnIterator edges = this.session(type)
+                                                   .scan(table)) {
+                counters += counter.rebuild(this.sessions.session(), edges);
+            }
+        }
+        LOG.info("Rebuilt {} degree counters of store '{}'",
+                 counters, this.store);
+    }
+
+    @Override
+    public long getDegree(Id vertex, Directions direction, Id label) {
+        Lock readLock = this.storeLock.readLock();
+        readLock.lock();
+        try {
+            this.checkOpened();
+            RocksDBTables.DegreeCounter counter = this.degreeCounter;
+            E.checkState(counter != null,
+                         "The degree counter of store '%s' is not enabled",
+                         this.store);
+            return counter.degree(this.sessions.session(), vertex,
+                                  direction, label);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private synchronized void shutdownQueryPool() {
+        ExecutorService pool = this.queryPool;
+        if (pool == null) {
+            return;
+        }
+        this.queryPool = null;
+        /*
+         * Close the sessions opened by the I/O threads, otherwise the
+         * rocksdb instance would fail to close like the db-open threads
+         */
+        try {
+            Consumers.executeOncePerThread(pool, this.queryThreads,
+                                           this::closeSessions);
+        } catch (InterruptedException e) {
+            throw new BackendException("Failed to close session opened by " +
+                                       "async-query pool");
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     @Override
     public Number queryNumber(Query query) {
         Lock readLock = this.storeLock.readLock();
@@ -555,6 +953,12 @@ public abstract class RocksDBStore extends AbstractBackendStore<RocksDBSessions.
             // Create tables with main disk
             this.createTable(this.sessions,
                              this.tableNames().toArray(new String[0]));
+            if (this.ttlSweeper != null) {
+                this.createTable(this.sessions, this.ttlSweeper.table());
+            }
+            if (this.degreeCounter != null) {
+                this.createTable(this.sessions, this.degreeCounter.table());
+            }
 
             // Create table with optimized disk
             Map<String, RocksDBSessions> tableDBMap = this.tableDBMapping();
@@ -593,6 +997,12 @@ public abstract class RocksDBStore extends AbstractBackendStore<RocksDBSessions.
             // Drop tables with main disk
             this.dropTable(this.sessions,
                            this.tableNames().toArray(new String[0]));
+            if (this.ttlSweeper != null) {
+                this.dropTable(this.sessions, this.ttlSweeper.table());
+            }
+            if (this.degreeCounter != null) {
+                this.dropTable(this.sessions, this.degreeCounter.table());
+            }
 
             // Drop tables with optimized disk
             Map<String, RocksDBSessions> tableDBMap = this.tableDBMapping();
@@ -687,6 +1097,7 @@ public abstract class RocksDBStore extends AbstractBackendStore<RocksDBSessions.
                 }
             }
         } finally {
+            this.releaseDegreeLocks();
             readLock.unlock();
         }
     }
@@ -702,6 +1113,7 @@ public abstract class RocksDBStore extends AbstractBackendStore<RocksDBSessions.
                 session.rollback();
             }
         } finally {
+            this.releaseDegreeLocks();
             readLock.unlock();
         }
     }
@@ -1000,6 +1412,9 @@ public abstract class RocksDBStore extends AbstractBackendStore<RocksDBSessions.
 
     public static class RocksDBGraphStore extends RocksDBStore {
 
+        private final Map<String, RocksDBSstSessions> sstSessions =
+                      new ConcurrentHashMap<>();
+
         public RocksDBGraphStore(BackendStoreProvider provider,
                                  String database, String store) {
             super(provider, database, store);
@@ -1043,6 +1458,119 @@ public abstract class RocksDBStore extends AbstractBackendStore<RocksDBSessions.
                                  new RocksDBTables.OlapRangeFloatIndex(store));
             registerTableManager(this.olapTableName(HugeType.RANGE_DOUBLE_INDEX),
                                  new RocksDBTables.OlapRangeDoubleIndex(store));
+
+            this.registerSstMetaHandlers();
+        }
+
+        private void registerSstMetaHandlers() {
+            /*
+             * Write index entries into sst files named by the caller, and
+             * ingest the files to the store when all are written, it's used
+             * to rebuild index of a label in bulk
+             */
+            this.registerMetaHandler("sst_write", (session, meta, args) -> {
+                E.checkArgument(args.length == 2,
+                                "The args count of %s must be 2", meta);
+                this.writeSst((String) args[0], (BackendMutation) args[1]);
+                return null;
+            });
+            this.registerMetaHandler("sst_ingest", (session, meta, args) -> {
+                E.checkArgument(args.length == 1,
+                                "The args count of %s must be 1", meta);
+                return this.ingestSst((String) args[0]);
+            });
+            this.registerMetaHandler("sst_discard", (session, meta, args) -> {
+                E.checkArgument(args.length == 1,
+                                "The args count of %s must be 1", meta);
+                this.discardSst((String) args[0]);
+                return null;
+            });
+        }
+
+        private void writeSst(String name, BackendMutation mutation) {
+            RocksDBSstSessions sst = this.sstSessions.computeIfAbsent(name,
+                                     k -> new RocksDBSstSessions(
+                                          super.sessions.config(),
+                                          this.database(), this.store(),
+                                          this.sstPath(k).toString()));
+            RocksDBSessions.Session session = sst.session();
+            for (HugeType type : mutation.types()) {
+                E.checkArgument(type.isIndex(),
+                                "Can't write %s into sst files", type);
+                RocksDBTable table = this.table(type);
+                synchronized (sst) {
+                    if (!sst.existsTable(table.table())) {
+                        try {
+                            sst.createTable(table.table());
+                        } catch (RocksDBException e) {
+                            throw new BackendException(e);
+                        }
+                    }
+                }
+                for (Iterator<BackendAction> it = mutation.mutation(type);
+                     it.hasNext();) {
+                    BackendAction item = it.next();
+                    E.checkArgument(item.action() == Action.INSERT ||
+                                    item.action() == Action.APPEND,
+                                    "Can't write %s action into sst files",
+                                    item.action());
+                    table.insert(session, item.entry());
+                }
+            }
+            // The sorters of tables are shared by the writing threads
+            synchronized (sst) {
+                session.commit();
+            }
+        }
+
+        private List<String> ingestSst(String name) {
+            RocksDBSstSessions sst = this.sstSessions.remove(name);
+            if (sst == null) {
+                return ImmutableList.of();
+            }
+            Path path = this.sstPath(name);
+            List<String> files = new ArrayList<>();
+            try {
+                sst.finish();
+                for (Entry<HugeType, RocksDBTable> e : super.tables.entrySet()) {
+                    String table = e.getValue().table();
+                    Path tablePath = path.resolve(table);
+                    if (e.getKey().isIndex() && Files.isDirectory(tablePath)) {
+                        files.addAll(this.db(e.getKey())
+                                         .ingestExternalFile(table, tablePath));
+                    }
+                }
+            } catch (RocksDBException e) {
+                throw new BackendException("Failed to ingest sst files '%s'",
+                                           e, path);
+            } finally {
+                FileUtils.deleteQuietly(path.toFile());
+            }
+            return files;
+        }
+
+        private void discardSst(String name) {
+            RocksDBSstSessions sst = this.sstSessions.remove(name);
+            if (sst != null) {
+                // Wait for the writing threads and reject the later writes
+                synchronized (sst) {
+                    sst.discard();
+                }
+            }
+            FileUtils.deleteQuietly(this.sstPath(name).toFile());
+        }
+
+        private Path sstPath(String name) {
+            return Paths.get(super.sessions.session().dataPath(), name);
+        }
+
+        @Override
+        public void close() {
+            // Discard the sst files not ingested, like the interrupted jobs
+            for (String name : new ArrayList<>(this.sstSessions.keySet())) {
+                this.discardSst(name);
+            }
+            super.close();
         }
 
         @Override
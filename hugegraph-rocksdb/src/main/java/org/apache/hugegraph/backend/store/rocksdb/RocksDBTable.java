@@ -48,6 +48,7 @@ import org.apache.hugegraph.backend.store.Shard;
 import org.apache.hugegraph.exception.NotSupportException;
 import org.apache.hugegraph.iterator.FlatMapperIterator;
 import org.apache.hugegraph.type.HugeType;
+import org.apache.hugegraph.type.define.HugeKeys;
 import org.apache.hugegraph.util.Bytes;
 import org.apache.hugegraph.util.E;
 import org.apache.hugegraph.util.Log;
@@ -185,6 +186,11 @@ public class RocksDBTable extends BackendTable<RocksDBSessions.Session, BackendE
             PageState page = PageState.fromString(query.page());
             byte[] begin = page.position();
             return session.scan(this.table(), begin, null, RocksDBSessions.Session.SCAN_ANY);
+        } else if (query.bulkScan()) {
+            // Scan the whole table, like the traversal of algorithm jobs
+            return session.scan(this.table(), null, null,
+                                RocksDBSessions.Session.SCAN_ANY |
+                                RocksDBSessions.Session.SCAN_BULK);
         } else {
             return session.scan(this.table());
         }
@@ -247,6 +253,10 @@ public class RocksDBTable extends BackendTable<RocksDBSessions.Session, BackendE
             type |= query.inclusiveEnd() ?
                     RocksDBSessions.Session.SCAN_LTE_END : RocksDBSessions.Session.SCAN_LT_END;
         }
+        if (query.orders().get(HugeKeys.FIELD_VALUES) == Query.Order.DESC) {
+            // Like range index query with `order by field_values desc`
+            type |= RocksDBSessions.Session.SCAN_REVERSE;
+        }
         return session.scan(this.table(), start, end, type);
     }
 
@@ -276,7 +286,8 @@ public class RocksDBTable extends BackendTable<RocksDBSessions.Session, BackendE
         if (start == null) {
             start = ShardSplitter.START_BYTES;
         }
-        int type = RocksDBSessions.Session.SCAN_GTE_BEGIN;
+        int type = RocksDBSessions.Session.SCAN_GTE_BEGIN |
+                   RocksDBSessions.Session.SCAN_BULK;
         if (end != null) {
             type |= RocksDBSessions.Session.SCAN_LT_END;
         }
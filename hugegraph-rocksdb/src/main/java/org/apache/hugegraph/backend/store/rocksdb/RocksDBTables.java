@@ -19,20 +19,27 @@ package org.apache.hugegraph.backend.store.rocksdb;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 
+import org.apache.hugegraph.backend.id.EdgeId;
 import org.apache.hugegraph.backend.id.Id;
 import org.apache.hugegraph.backend.query.Condition;
 import org.apache.hugegraph.backend.query.Condition.Relation;
 import org.apache.hugegraph.backend.query.ConditionQuery;
 import org.apache.hugegraph.backend.serializer.BinarySerializer;
+import org.apache.hugegraph.backend.serializer.BytesBuffer;
 import org.apache.hugegraph.backend.store.BackendEntry;
+import org.apache.hugegraph.backend.store.BackendEntry.BackendColumn;
 import org.apache.hugegraph.backend.store.BackendEntry.BackendColumnIterator;
 import org.apache.hugegraph.type.HugeType;
+import org.apache.hugegraph.type.define.Directions;
 import org.apache.hugegraph.type.define.HugeKeys;
 import org.apache.hugegraph.util.E;
 import org.apache.hugegraph.util.StringEncoding;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
 
 public class RocksDBTables {
 
@@ -90,13 +97,13 @@ public class RocksDBTables {
             session.increase(this.table(), key, toBytes(increment));
         }
 
-        private static byte[] toBytes(long value) {
+        static byte[] toBytes(long value) {
             return ByteBuffer.allocate(Long.BYTES)
                              .order(ByteOrder.nativeOrder())
                              .putLong(value).array();
         }
 
-        private static long toLong(byte[] bytes) {
+        static long toLong(byte[] bytes) {
             assert bytes.length == Long.BYTES;
             return ByteBuffer.wrap(bytes)
                              .order(ByteOrder.nativeOrder())
@@ -104,6 +111,147 @@ public class RocksDBTables {
         }
     }
 
+    /**
+     * The markers of the rows with ttl, the key of a marker is the expired
+     * time of the row followed by the type and key of the row, so that the
+     * markers are ordered by the expired time. The value is the hash of the
+     * row value, to check whether the row is overwritten after marked.
+     */
+    public static class TtlMarker extends RocksDBTable {
+
+        public static final String TABLE = "ttl_marker";
+
+        private static final HashFunction HASH = Hashing.murmur3_128();
+
+        public TtlMarker(String database) {
+            super(database, TABLE);
+        }
+
+        public void mark(RocksDBSessions.Session session, HugeType type,
+                         long expiredTime, BackendColumn column) {
+            byte[] key = ByteBuffer.allocate(Long.BYTES + 1 +
+                                             column.name.length)
+                                   .putLong(expiredTime)
+                                   .put(type.code())
+                                   .put(column.name).array();
+            session.put(this.table(), key, hash(column.value));
+        }
+
+        public static byte[] keyBefore(long expiredTime) {
+            return ByteBuffer.allocate(Long.BYTES).putLong(expiredTime)
+                             .array();
+        }
+
+        public static HugeType type(byte[] key) {
+            return HugeType.fromCode(key[Long.BYTES]);
+        }
+
+        public static byte[] rowKey(byte[] key) {
+            return Arrays.copyOfRange(key, Long.BYTES + 1, key.length);
+        }
+
+        public static boolean matchRow(byte[] marker, byte[] value) {
+            return Arrays.equals(marker, hash(value));
+        }
+
+        private static byte[] hash(byte[] value) {
+            return HASH.hashBytes(value).asBytes();
+        }
+    }
+
+    /**
+     * The count of adjacent edges of each vertex, the key of a counter is
+     * the prefix of the edge keys: owner vertex + direction + edge label,
+     * and the value is increased by the merge operator with the edges.
+     */
+    public static class DegreeCounter extends RocksDBTable {
+
+        public static final String TABLE = "degree_counter";
+
+        private static final int BATCH_SIZE = 500;
+
+        public DegreeCounter(String database) {
+            super(database, TABLE);
+        }
+
+        public void increase(RocksDBSessions.Session session, byte[] edgeKey,
+                             long delta) {
+            session.merge(this.table(), counterKey(edgeKey),
+                          Counters.toBytes(delta));
+        }
+
+        public long degree(RocksDBSessions.Session session, Id vertex,
+                           Directions direction, Id label) {
+            if (direction == Directions.BOTH) {
+                return this.degree(session, vertex, Directions.OUT, label) +
+                       this.degree(session, vertex, Directions.IN, label);
+            }
+            BytesBuffer buffer = BytesBuffer.allocate(BytesBuffer.BUF_EDGE_ID);
+            buffer.writeId(vertex);
+            buffer.write(EdgeId.directionToCode(direction));
+            if (label != null) {
+                buffer.writeId(label);
+                byte[] value = session.get(this.table(), buffer.bytes());
+                return value == null ? 0L : Counters.toLong(value);
+            }
+            // Sum the counters of all the edge labels
+            long degree = 0L;
+            try (BackendColumnIterator iter = session.scan(this.table(),
+                                                           buffer.bytes())) {
+                while (iter.hasNext()) {
+                    degree += Counters.toLong(iter.next().value);
+                }
+            }
+            return degree;
+        }
+
+        /**
+         * Count the edges scanned from an edge table, the edges of a
+         * counter are adjacent in the table
+         * @return the number of counters written
+         */
+        public long rebuild(RocksDBSessions.Session session,
+                            BackendColumnIterator edges) {
+            long counters = 0L;
+            byte[] current = null;
+            long degree = 0L;
+            while (edges.hasNext()) {
+                byte[] key = counterKey(edges.next().name);
+                if (current != null && Arrays.equals(current, key)) {
+                    degree++;
+                    continue;
+                }
+                if (current != null) {
+                    this.write(session, current, degree, ++counters);
+                }
+                current = key;
+                degree = 1L;
+            }
+            if (current != null) {
+                this.write(session, current, degree, ++counters);
+            }
+            session.commit();
+            return counters;
+        }
+
+        private void write(RocksDBSessions.Session session, byte[] key,
+                           long degree, long counters) {
+            session.put(this.table(), key, Counters.toBytes(degree));
+            if (counters % BATCH_SIZE == 0L) {
+                session.commit();
+            }
+        }
+
+        public static byte[] counterKey(byte[] edgeKey) {
+            // Skip owner vertex + direction + edge label of the edge key
+            BytesBuffer buffer = BytesBuffer.wrap(edgeKey);
+            buffer.readId();
+            buffer.read();
+            buffer.readId();
+            return Arrays.copyOf(edgeKey, buffer.position());
+        }
+    }
+
     public static class SchemaTable extends RocksDBTable {
 
         public SchemaTable(String database, String table) {
@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.backend.store.rocksdb;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.apache.hugegraph.backend.store.BackendEntry;
+import org.apache.hugegraph.backend.store.BackendEntry.BackendColumn;
+import org.apache.hugegraph.backend.store.BackendEntry.BackendColumnIterator;
+import org.apache.hugegraph.type.HugeType;
+import org.apache.hugegraph.util.InsertionOrderUtil;
+
+/**
+ * Delete the expired vertices, edges and indexes of the labels with ttl in
+ * bulk. RocksJava can't host a compaction filter implemented in java, so a
+ * marker ordered by the expired time is written for each row with ttl, and
+ * the sweeper scans the markers expired before now and deletes the rows.
+ * NOTE: like the backends with native ttl, the edges without ttl of an
+ * expired vertex are not deleted.
+ */
+public class RocksDBTtlSweeper {
+
+    public static final String EXPIRED_VERTICES = "expired_vertices";
+    public static final String EXPIRED_EDGES = "expired_edges";
+    public static final String EXPIRED_INDEXES = "expired_indexes";
+    public static final String STALE_MARKERS = "expired_stale_markers";
+    public static final String LAST_SWEEP_TIME = "expired_last_sweep_time";
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final RocksDBTables.TtlMarker markers;
+    private final Function<HugeType, RocksDBTable> tables;
+    private final Function<HugeType, RocksDBSessions.Session> sessions;
+    private final int batchSize;
+
+    private final LongAdder vertices;
+    private final LongAdder edges;
+    private final LongAdder indexes;
+    private final LongAdder staleMarkers;
+    private volatile long lastSweepTime;
+
+    public RocksDBTtlSweeper(RocksDBTables.TtlMarker markers,
+                             Function<HugeType, RocksDBTable> tables,
+                             Function<HugeType, RocksDBSessions.Session>
+                             sessions,
+                             int batchSize) {
+        this.markers = markers;
+        this.tables = tables;
+        this.sessions = sessions;
+        this.batchSize = batchSize;
+
+        this.vertices = new LongAdder();
+        this.edges = new LongAdder();
+        this.indexes = new LongAdder();
+        this.staleMarkers = new LongAdder();
+        this.lastSweepTime = 0L;
+    }
+
+    public String table() {
+        return this.markers.table();
+    }
+
+    public void mark(RocksDBSessions.Session session, BackendEntry entry) {
+        /*
+         * The ttl of an entry is the remaining time when it's serialized,
+         * the time of marker is not earlier than the expired time of it
+         */
+        long expiredTime = System.currentTimeMillis() + entry.ttl();
+        for (BackendColumn column : entry.columns()) {
+            this.markers.mark(session, entry.type(), expiredTime, column);
+        }
+    }
+
+    /**
+     * Sweep a batch of the markers expired before the time, the caller
+     * must exclude the commits of writers while sweeping, otherwise a row
+     * rewritten between checked and deleted would be deleted
+     * @param session the session of the marker table
+     * @param from sweep the markers after it, or from the first if null
+     * @param now the time to check whether the markers are expired
+     * @return the key of the last swept marker, or null if no more
+     */
+    public byte[] sweep(RocksDBSessions.Session session, byte[] from,
+                        long now) {
+        String table = this.markers.table();
+        byte[] begin = from == null ? EMPTY : from;
+        byte[] end = RocksDBTables.TtlMarker.keyBefore(now);
+        int scanType = RocksDBSessions.Session.SCAN_GT_BEGIN |
+                       RocksDBSessions.Session.SCAN_LT_END;
+
+        List<BackendColumn> markers = new ArrayList<>();
+        try (BackendColumnIterator iter = session.scan(table, begin, end,
+                                                       scanType)) {
+            while (markers.size() < this.batchSize && iter.hasNext()) {
+                markers.add(iter.next());
+            }
+        }
+        if (markers.isEmpty()) {
+            this.lastSweepTime = now;
+            return null;
+        }
+
+        // Check all the rows first, it can't read with uncommitted changes
+        List<HugeType> expired = new ArrayList<>(markers.size());
+        for (BackendColumn marker : markers) {
+            expired.add(this.expired(marker) ? type(marker) : null);
+        }
+
+        // The rows on other disks are deleted by the sessions of the disks
+        Set<RocksDBSessions.Session> sessions = Collections.newSetFromMap(
+                                                new IdentityHashMap<>());
+        try {
+            for (int i = 0; i < markers.size(); i++) {
+                byte[] marker = markers.get(i).name;
+                HugeType type = expired.get(i);
+                if (type != null) {
+                    RocksDBSessions.Session rows = this.sessions.apply(type);
+                    rows.delete(this.tables.apply(type).table(),
+                                RocksDBTables.TtlMarker.rowKey(marker));
+                    sessions.add(rows);
+                }
+                session.delete(table, marker);
+            }
+
+            // Commit the deletions of rows before markers
+            sessions.remove(session);
+            for (RocksDBSessions.Session rows : sessions) {
+                rows.commit();
+            }
+            session.commit();
+        } catch (Throwable e) {
+            for (RocksDBSessions.Session rows : sessions) {
+                rows.rollback();
+            }
+            session.rollback();
+            throw e;
+        }
+
+        for (HugeType type : expired) {
+            this.increase(type);
+        }
+        return markers.get(markers.size() - 1).name;
+    }
+
+    public Map<String, Object> metrics() {
+        Map<String, Object> metrics = InsertionOrderUtil.newMap();
+        metrics.put(EXPIRED_VERTICES, this.vertices.sum());
+        metrics.put(EXPIRED_EDGES, this.edges.sum());
+        metrics.put(EXPIRED_INDEXES, this.indexes.sum());
+        metrics.put(STALE_MARKERS, this.staleMarkers.sum());
+        metrics.put(LAST_SWEEP_TIME, this.lastSweepTime);
+        return metrics;
+    }
+
+    private boolean expired(BackendColumn marker) {
+        HugeType type = type(marker);
+        byte[] key = RocksDBTables.TtlMarker.rowKey(marker.name);
+        String table = this.tables.apply(type).table();
+        byte[] value = this.sessions.apply(type).get(table, key);
+        // The row is deleted or overwritten after marked if not matched
+        return value != null &&
+               RocksDBTables.TtlMarker.matchRow(marker.value, value);
+    }
+
+    private void increase(HugeType type) {
+        if (type == null) {
+            this.staleMarkers.increment();
+        } else if (type.isVertex()) {
+            this.vertices.increment();
+        } else if (type.isEdge()) {
+            this.edges.increment();
+        } else {
+            assert type.isIndex() : type;
+            this.indexes.increment();
+        }
+    }
+
+    private static HugeType type(BackendColumn marker) {
+        return RocksDBTables.TtlMarker.type(marker.name);
+    }
+
+    public static boolean isExpirable(BackendEntry entry) {
+        HugeType type = entry.type();
+        return entry.ttl() != 0L && !entry.olap() &&
+               (type == HugeType.VERTEX || type.isEdge() || type.isIndex());
+    }
+}
@@ -28,27 +28,30 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.tuple.Pair;
-import org.rocksdb.EnvOptions;
-import org.rocksdb.Options;
 import org.rocksdb.RocksDBException;
-import org.rocksdb.SstFileWriter;
 
 import org.apache.hugegraph.backend.BackendException;
 import org.apache.hugegraph.backend.store.BackendEntry.BackendColumnIterator;
-import org.apache.hugegraph.backend.store.rocksdb.RocksDBIngester;
+import org.apache.hugegraph.backend.store.rocksdb.RocksDBOptions;
 import org.apache.hugegraph.backend.store.rocksdb.RocksDBSessions;
-import org.apache.hugegraph.backend.store.rocksdb.RocksDBStdSessions;
 import org.apache.hugegraph.config.HugeConfig;
 import org.apache.hugegraph.exception.NotSupportException;
 import org.apache.hugegraph.util.E;
+import org.apache.hugegraph.util.ExecutorUtil;
 
 public class RocksDBSstSessions extends RocksDBSessions {
 
+    private static final String SST_WRITER = "sst-writer-%d";
+
     private final String dataPath;
-    private final Map<String, SstFileWriter> tables;
+    private final Map<String, RocksDBSstSorter> tables;
+    private volatile boolean discarded;
 
     public RocksDBSstSessions(HugeConfig config, String database, String store,
                               String dataPath) {
@@ -104,25 +107,22 @@ public class RocksDBSstSessions extends RocksDBSessions {
     }
 
     private void createTable(String table) throws RocksDBException {
-        String number = String.format("%04d", 1);
-        Path sstFile = Paths.get(this.dataPath, table,
-                                 number + RocksDBIngester.SST);
+        E.checkState(!this.discarded,
+                     "The sst files '%s' have been discarded", this.dataPath);
+        Path tablePath = Paths.get(this.dataPath, table);
         try {
-            FileUtils.forceMkdir(sstFile.getParent().toFile());
+            FileUtils.forceMkdir(tablePath.toFile());
         } catch (IOException e) {
             throw new BackendException("Can't make directory for sst: '%s'",
-                                       e, sstFile.toString());
+                                       e, tablePath.toString());
         }
 
-        EnvOptions env = new EnvOptions();
-        Options options = new Options();
-        RocksDBStdSessions.initOptions(this.config(), options, options,
-                                       options, options);
-        // NOTE: unset merge op due to SIGSEGV when cf.setMergeOperatorName()
-        options.setMergeOperatorName("not-exist-merge-op");
-        SstFileWriter sst = new SstFileWriter(env, options);
-        sst.open(sstFile.toString());
-        this.tables.put(table, sst);
+        HugeConfig config = this.config();
+        RocksDBSstSorter sorter = new RocksDBSstSorter(
+                                  config, table, tablePath,
+                                  config.get(RocksDBOptions.SST_SORT_BUFFER_SIZE),
+                                  config.get(RocksDBOptions.SST_FILE_SIZE));
+        this.tables.put(table, sorter);
     }
 
     @Override
@@ -134,9 +134,7 @@ public class RocksDBSstSessions extends RocksDBSessions {
     }
 
     public void dropTable(String table) throws RocksDBException {
-        SstFileWriter sst = this.tables.remove(table);
-        assert sst == null || !sst.isOwningHandle() :
-               "Please close table before drop to ensure call sst.finish()";
+        this.tables.remove(table);
     }
 
     @Override
@@ -191,12 +189,17 @@ public class RocksDBSstSessions extends RocksDBSessions {
         throw new UnsupportedOperationException("forceCloseRocksDB");
     }
 
-    private SstFileWriter table(String table) {
-        SstFileWriter sst = this.tables.get(table);
-        if (sst == null) {
+    @Override
+    public List<String> ingestExternalFile(String table, Path path) {
+        throw new UnsupportedOperationException("ingestExternalFile");
+    }
+
+    private RocksDBSstSorter table(String table) {
+        RocksDBSstSorter sorter = this.tables.get(table);
+        if (sorter == null) {
             throw new BackendException("Table '%s' is not opened", table);
         }
-        return sst;
+        return sorter;
     }
 
     @Override
@@ -211,19 +214,44 @@ public class RocksDBSstSessions extends RocksDBSessions {
 
     @Override
     protected synchronized void doClose() {
-        final String NO_ENTRIES = "Can't create sst file with no entries";
-
-        for (SstFileWriter sst : this.tables.values()) {
-            E.checkState(sst.isOwningHandle(), "SstFileWriter closed");
-            try {
-                sst.finish();
-            } catch (RocksDBException e) {
-                if (e.getMessage().equals(NO_ENTRIES)) {
-                    continue;
-                }
-                throw new BackendException("Failed to close SstFileWriter", e);
+        this.finish();
+    }
+
+    /**
+     * Drop the records of each table without writing sst files, the tables
+     * can't be created or written anymore after discarded
+     */
+    public synchronized void discard() {
+        this.discarded = true;
+        this.tables.clear();
+    }
+
+    /**
+     * Sort and write the records of each table into sst files, the tables
+     * are dropped after finished
+     */
+    public synchronized void finish() {
+        if (this.tables.isEmpty()) {
+            return;
+        }
+
+        // Sort and write sst files of each table in parallel
+        int threads = Math.min(this.tables.size(),
+                               this.config().get(RocksDBOptions.SST_WRITE_THREADS));
+        ExecutorService pool = ExecutorUtil.newFixedThreadPool(threads,
+                                                               SST_WRITER);
+        List<Future<List<String>>> futures = new ArrayList<>();
+        try {
+            for (RocksDBSstSorter sorter : this.tables.values()) {
+                futures.add(pool.submit(sorter::finish));
+            }
+            for (Future<List<String>> future : futures) {
+                future.get();
             }
-            sst.close();
+        } catch (InterruptedException | ExecutionException e) {
+            throw new BackendException("Failed to write sst files", e);
+        } finally {
+            pool.shutdown();
         }
         this.tables.clear();
     }
@@ -268,22 +296,17 @@ public class RocksDBSstSessions extends RocksDBSessions {
                 return 0;
             }
 
-            try {
-                for (Entry<String, Changes> table : this.batch.entrySet()) {
-                    if (table.getValue().isEmpty() ||
-                        table.getKey().endsWith("i")) {
-                        // Skip empty value table or index table
-                        continue;
-                    }
-
-                    // TODO: limit individual SST file size
-                    SstFileWriter sst = table(table.getKey());
-                    for (Pair<byte[], byte[]> change : table.getValue()) {
-                        sst.put(change.getKey(), change.getValue());
-                    }
+            for (Entry<String, Changes> table : this.batch.entrySet()) {
+                if (table.getValue().isEmpty()) {
+                    // Skip empty value table
+                    continue;
+                }
+
+                // The records will be sorted before written to sst files
+                RocksDBSstSorter sorter = table(table.getKey());
+                for (Pair<byte[], byte[]> change : table.getValue()) {
+                    sorter.add(change.getKey(), change.getValue());
                 }
-            } catch (RocksDBException e) {
-                throw new BackendException("Failed to commit", e);
             }
 
             // Clear batch if write() successfully (retained if failed)
@@ -0,0 +1,392 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.backend.store.rocksdbsst;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.rocksdb.EnvOptions;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.SstFileWriter;
+import org.slf4j.Logger;
+
+import org.apache.hugegraph.backend.BackendException;
+import org.apache.hugegraph.backend.store.rocksdb.RocksDBIngester;
+import org.apache.hugegraph.backend.store.rocksdb.RocksDBOptions;
+import org.apache.hugegraph.backend.store.rocksdb.RocksDBStdSessions;
+import org.apache.hugegraph.config.HugeConfig;
+import org.apache.hugegraph.util.Bytes;
+import org.apache.hugegraph.util.E;
+import org.apache.hugegraph.util.Log;
+
+/**
+ * External merge sorter of the KV records of one table, SstFileWriter
+ * requires the keys to be added in ascending order, so records are buffered
+ * in memory and spilled to sorted run files when the buffer is full, then
+ * all the runs are merged into one or more sst files when finishing.
+ * If a key is written more than once, the last written value wins.
+ */
+public class RocksDBSstSorter {
+
+    private static final Logger LOG = Log.logger(RocksDBSstSorter.class);
+
+    private static final String RUN_DIR = "runs";
+    private static final String RUN_SUFFIX = ".run";
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+
+    private static final Comparator<Pair<byte[], byte[]>> KEY_COMPARATOR =
+            (r1, r2) -> Bytes.compare(r1.getKey(), r2.getKey());
+
+    private final HugeConfig config;
+    private final String table;
+    private final Path tablePath;
+    private final long bufferCapacity;
+    private final long sstFileSize;
+
+    private List<Pair<byte[], byte[]>> buffer;
+    private long bufferSize;
+    private final List<Path> runs;
+    private long count;
+
+    public RocksDBSstSorter(HugeConfig config, String table, Path tablePath,
+                            long bufferCapacity, long sstFileSize) {
+        this.config = config;
+        this.table = table;
+        this.tablePath = tablePath;
+        this.bufferCapacity = bufferCapacity;
+        this.sstFileSize = sstFileSize;
+
+        this.buffer = new ArrayList<>();
+        this.bufferSize = 0L;
+        this.runs = new ArrayList<>();
+        this.count = 0L;
+    }
+
+    public String table() {
+        return this.table;
+    }
+
+    public synchronized long count() {
+        return this.count;
+    }
+
+    public synchronized void add(byte[] key, byte[] value) {
+        this.buffer.add(Pair.of(key, value));
+        this.bufferSize += key.length + value.length;
+        this.count++;
+        if (this.bufferSize >= this.bufferCapacity) {
+            this.spill();
+        }
+    }
+
+    /**
+     * Merge all the records into sst files
+     * @return the generated sst files in key order
+     */
+    public synchronized List<String> finish() {
+        List<String> ssts = new ArrayList<>();
+        if (this.count == 0L) {
+            // SstFileWriter can't create sst file with no entries
+            return ssts;
+        }
+        List<RunReader> readers = new ArrayList<>(this.runs.size() + 1);
+        try {
+            // The older runs have the lower sequence
+            int seq = 0;
+            for (Path run : this.runs) {
+                readers.add(new FileRunReader(seq++, run));
+            }
+            readers.add(new MemoryRunReader(seq, this.sortBuffer()));
+
+            SstWriter writer = new SstWriter(ssts);
+            try {
+                this.merge(readers, writer);
+            } finally {
+                writer.close();
+            }
+        } catch (IOException | RocksDBException e) {
+            throw new BackendException("Failed to write sst files of '%s'",
+                                       e, this.table);
+        } finally {
+            for (RunReader reader : readers) {
+                reader.close();
+            }
+            this.buffer = new ArrayList<>();
+            this.bufferSize = 0L;
+            this.runs.clear();
+            FileUtils.deleteQuietly(this.tablePath.resolve(RUN_DIR).toFile());
+        }
+        LOG.info("Write {} records of table '{}' into sst files: {}",
+                 this.count, this.table, ssts);
+        return ssts;
+    }
+
+    private void merge(List<RunReader> readers, SstWriter writer)
+                       throws IOException, RocksDBException {
+        // Order by key, and the newer record first if keys are equal
+        PriorityQueue<RunReader> heap = new PriorityQueue<>((r1, r2) -> {
+            int cmp = Bytes.compare(r1.key(), r2.key());
+            return cmp != 0 ? cmp : Integer.compare(r2.seq, r1.seq);
+        });
+        for (RunReader reader : readers) {
+            if (reader.next()) {
+                heap.add(reader);
+            }
+        }
+
+        byte[] lastKey = null;
+        while (!heap.isEmpty()) {
+            RunReader reader = heap.poll();
+            byte[] key = reader.key();
+            // Skip the older records with the same key
+            if (lastKey == null || !Bytes.equals(lastKey, key)) {
+                writer.put(key, reader.value());
+                lastKey = key;
+            }
+            if (reader.next()) {
+                heap.add(reader);
+            }
+        }
+    }
+
+    private List<Pair<byte[], byte[]>> sortBuffer() {
+        // NOTE: it's a stable sort, the later record is behind the earlier
+        this.buffer.sort(KEY_COMPARATOR);
+        List<Pair<byte[], byte[]>> records = new ArrayList<>(
+                                             this.buffer.size());
+        for (int i = 0, n = this.buffer.size(); i < n; i++) {
+            Pair<byte[], byte[]> record = this.buffer.get(i);
+            // Only keep the last one of records with the same key
+            if (i + 1 < n && Bytes.equals(record.getKey(),
+                                          this.buffer.get(i + 1).getKey())) {
+                continue;
+            }
+            records.add(record);
+        }
+        return records;
+    }
+
+    private void spill() {
+        Path run = this.tablePath.resolve(RUN_DIR).resolve(String.format(
+                   "%06d%s", this.runs.size(), RUN_SUFFIX));
+        List<Pair<byte[], byte[]>> records = this.sortBuffer();
+        try {
+            Files.createDirectories(run.getParent());
+            try (DataOutputStream output = new DataOutputStream(
+                                           new BufferedOutputStream(
+                                           Files.newOutputStream(run),
+                                           IO_BUFFER_SIZE))) {
+                for (Pair<byte[], byte[]> record : records) {
+                    writeBytes(output, record.getKey());
+                    writeBytes(output, record.getValue());
+                }
+            }
+        } catch (IOException e) {
+            throw new BackendException("Failed to spill sorted run '%s'",
+                                       e, run);
+        }
+        LOG.debug("Spill {} records of table '{}' to {}",
+                  records.size(), this.table, run);
+        this.runs.add(run);
+        this.buffer = new ArrayList<>();
+        this.bufferSize = 0L;
+    }
+
+    private static void writeBytes(DataOutputStream output, byte[] bytes)
+                                   throws IOException {
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private abstract static class RunReader {
+
+        protected final int seq;
+        protected byte[] key;
+        protected byte[] value;
+
+        public RunReader(int seq) {
+            this.seq = seq;
+        }
+
+        public byte[] key() {
+            return this.key;
+        }
+
+        public byte[] value() {
+            return this.value;
+        }
+
+        public abstract boolean next() throws IOException;
+
+        public void close() {
+            // pass
+        }
+    }
+
+    private static class MemoryRunReader extends RunReader {
+
+        private final Iterator<Pair<byte[], byte[]>> records;
+
+        public MemoryRunReader(int seq, List<Pair<byte[], byte[]>> records) {
+            super(seq);
+            this.records = records.iterator();
+        }
+
+        @Override
+        public boolean next() {
+            if (!this.records.hasNext()) {
+                return false;
+            }
+            Pair<byte[], byte[]> record = this.records.next();
+            this.key = record.getKey();
+            this.value = record.getValue();
+            return true;
+        }
+    }
+
+    private static class FileRunReader extends RunReader {
+
+        private final DataInputStream input;
+
+        public FileRunReader(int seq, Path run) throws IOException {
+            super(seq);
+            this.input = new DataInputStream(new BufferedInputStream(
+                                             Files.newInputStream(run),
+                                             IO_BUFFER_SIZE));
+        }
+
+        @Override
+        public boolean next() throws IOException {
+            int keyLength;
+            try {
+                keyLength = this.input.readInt();
+            } catch (EOFException e) {
+                return false;
+            }
+            this.key = new byte[keyLength];
+            this.input.readFully(this.key);
+            this.value = new byte[this.input.readInt()];
+            this.input.readFully(this.value);
+            return true;
+        }
+
+        @Override
+        public void close() {
+            try {
+                this.input.close();
+            } catch (IOException e) {
+                LOG.warn("Failed to close sorted run", e);
+            }
+        }
+    }
+
+    private class SstWriter {
+
+        private final List<String> ssts;
+        private final EnvOptions env;
+        private final Options options;
+        private SstFileWriter writer;
+        private long writtenSize;
+
+        public SstWriter(List<String> ssts) {
+            this.ssts = ssts;
+            this.env = new EnvOptions();
+            this.options = sstOptions(RocksDBSstSorter.this.config);
+            this.writer = null;
+            this.writtenSize = 0L;
+        }
+
+        public void put(byte[] key, byte[] value) throws RocksDBException {
+            if (this.writer == null) {
+                this.writer = this.open();
+            }
+            this.writer.put(key, value);
+            this.writtenSize += key.length + value.length;
+            if (this.writtenSize >= RocksDBSstSorter.this.sstFileSize) {
+                this.finishFile();
+            }
+        }
+
+        public void close() throws RocksDBException {
+            try {
+                this.finishFile();
+            } finally {
+                this.options.close();
+                this.env.close();
+            }
+        }
+
+        private void finishFile() throws RocksDBException {
+            if (this.writer == null) {
+                return;
+            }
+            try {
+                this.writer.finish();
+            } finally {
+                this.writer.close();
+                this.writer = null;
+                this.writtenSize = 0L;
+            }
+        }
+
+        private SstFileWriter open() throws RocksDBException {
+            String number = String.format("%04d", this.ssts.size() + 1);
+            File sst = RocksDBSstSorter.this.tablePath.resolve(
+                       number + RocksDBIngester.SST).toFile();
+            E.checkState(!sst.exists(), "The sst file '%s' already exists",
+                         sst);
+
+            SstFileWriter writer = new SstFileWriter(this.env, this.options);
+            writer.open(sst.getPath());
+            this.ssts.add(sst.getPath());
+            return writer;
+        }
+    }
+
+    private static Options sstOptions(HugeConfig config) {
+        /*
+         * The sst files are written without a RocksDB instance, don't init
+         * the process-wide shared block cache and write buffers, which are
+         * only released after the registered RocksDB instances are closed
+         */
+        HugeConfig sstConfig = new HugeConfig(config);
+        sstConfig.setProperty(
+                  RocksDBOptions.SHARED_BLOCK_CACHE_CAPACITY.name(), 0L);
+        Options options = new Options();
+        RocksDBStdSessions.initOptions(sstConfig, null, null,
+                                       options, options);
+        // NOTE: unset merge op due to SIGSEGV when cf.setMergeOperatorName()
+        options.setMergeOperatorName("not-exist-merge-op");
+        return options;
+    }
+}
@@ -17,12 +17,14 @@
 
 package org.apache.hugegraph.backend.store.rocksdbsst;
 
+import java.nio.file.Paths;
 import java.util.List;
 
 import org.rocksdb.RocksDBException;
 
 import org.apache.hugegraph.backend.id.Id;
 import org.apache.hugegraph.backend.store.BackendStoreProvider;
+import org.apache.hugegraph.backend.store.rocksdb.RocksDBOptions;
 import org.apache.hugegraph.backend.store.rocksdb.RocksDBSessions;
 import org.apache.hugegraph.backend.store.rocksdb.RocksDBStore;
 import org.apache.hugegraph.backend.store.rocksdb.RocksDBTables;
@@ -41,6 +43,11 @@ public abstract class RocksDBSstStore extends RocksDBStore {
                                               String dataPath, String walPath,
                                               List<String> tableNames)
                                               throws RocksDBException {
+        // Write sst files to the path where they will be ingested from
+        String sstPath = config.get(RocksDBOptions.SST_PATH);
+        if (sstPath != null && !sstPath.isEmpty()) {
+            dataPath = Paths.get(sstPath, this.store()).toString();
+        }
         if (tableNames == null) {
             return new RocksDBSstSessions(config, this.database(),
                                           this.store(), dataPath);
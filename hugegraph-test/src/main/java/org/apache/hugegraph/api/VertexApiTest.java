@@ -18,11 +18,17 @@
 package org.apache.hugegraph.api;
 
 import java.io.IOException;
+import java.util.Map;
 
 import jakarta.ws.rs.core.Response;
 import org.junit.Before;
 import org.junit.Test;
 
+import org.apache.hugegraph.api.filter.ProfileFilter;
+import org.apache.hugegraph.testutil.Assert;
+import org.apache.hugegraph.util.JsonUtil;
+import com.google.common.collect.ImmutableMap;
+
 public class VertexApiTest extends BaseApiTest {
 
     private static String path = "/graphs/hugegraph/graph/vertices/";
@@ -80,6 +86,41 @@ public class VertexApiTest extends BaseApiTest {
         assertResponseStatus(200, r);
     }
 
+    @Test
+    public void testListWithProfile() throws IOException {
+        String vertex = "{" +
+                "\"label\":\"person\"," +
+                "\"properties\":{" +
+                "\"name\":\"James\"," +
+                "\"city\":\"Beijing\"," +
+                "\"age\":19}" +
+                "}";
+        Response r = client().post(path, vertex);
+        String id = parseId(assertResponseStatus(201, r));
+
+        r = client().get(path, ImmutableMap.of("profile", true));
+        String content = assertResponseStatus(200, r);
+        assertJsonContains(content, "vertices");
+        Map<String, Object> profile = assertJsonContains(content, "profile");
+        assertMapContains(profile, "scan");
+        assertMapContains(profile, "total");
+        Assert.assertNull(r.getHeaderString(ProfileFilter.HEADER_PROFILE));
+
+        r = client().get(path, ImmutableMap.of("profile", false));
+        content = assertResponseStatus(200, r);
+        Map<?, ?> json = JsonUtil.fromJson(content, Map.class);
+        Assert.assertFalse(json.containsKey("profile"));
+        Assert.assertNull(r.getHeaderString(ProfileFilter.HEADER_PROFILE));
+
+        // Return the profile by header if the response has no json object
+        r = client().delete(path + String.format("\"%s\"", id),
+                            ImmutableMap.of("profile", true));
+        assertResponseStatus(204, r);
+        String header = r.getHeaderString(ProfileFilter.HEADER_PROFILE);
+        Assert.assertNotNull(header);
+        assertJsonContains(header, "total");
+    }
+
     @Test
     public void testDelete() throws IOException {
         String vertex = "{" +
@@ -37,6 +37,7 @@ import org.junit.runners.Suite;
     AuthTest.class,
     MultiGraphsTest.class,
     RamTableTest.class,
+    OlapColumnCoreTest.class,
     RoleElectionStateMachineTest.class
 })
 public class CoreTestSuite {
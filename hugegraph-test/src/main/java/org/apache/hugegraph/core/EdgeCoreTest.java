@@ -3023,6 +3023,42 @@ public class EdgeCoreTest extends BaseCoreTest {
         Assert.assertEquals(edges2, edges);
     }
 
+    @Test
+    public void testQueryEdgesOfVertexAsync() {
+        HugeGraph graph = graph();
+        init18Edges();
+
+        Id james = (Id) vertex("author", "id", 1).id();
+        Id authored = graph.edgeLabel("authored").id();
+
+        Query query = GraphTransaction.constructEdgesQuery(
+                      james, Directions.BOTH, new Id[]{});
+        List<Edge> edges = ImmutableList.copyOf(
+                           graph.edgesAsync(query).join());
+        Assert.assertEquals(6, edges.size());
+        Assert.assertEquals(ImmutableSet.copyOf(graph.edges(query)),
+                            ImmutableSet.copyOf(edges));
+
+        query = GraphTransaction.constructEdgesQuery(
+                james, Directions.OUT, new Id[]{authored});
+        edges = ImmutableList.copyOf(graph.edgesAsync(query).join());
+        Assert.assertEquals(3, edges.size());
+
+        query = GraphTransaction.constructEdgesQuery(
+                james, Directions.OUT, new Id[]{authored});
+        query.limit(2L);
+        edges = ImmutableList.copyOf(graph.edgesAsync(query).join());
+        Assert.assertEquals(2, edges.size());
+
+        // Query synchronously if there are uncommitted records
+        Vertex java4 = graph.addVertex(T.label, "book", "name", "java-4");
+        graph.vertex(james).addEdge("authored", java4);
+        query = GraphTransaction.constructEdgesQuery(
+                james, Directions.OUT, new Id[]{authored});
+        edges = ImmutableList.copyOf(graph.edgesAsync(query).join());
+        Assert.assertEquals(4, edges.size());
+    }
+
     @Test
     public void testQueryEdgesOfVertexWithCustomizeId() {
         HugeGraph graph = graph();
@@ -19,6 +19,8 @@ package org.apache.hugegraph.core;
 
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.structure.Edge;
@@ -29,6 +31,9 @@ import org.junit.Test;
 
 import org.apache.hugegraph.HugeException;
 import org.apache.hugegraph.HugeGraph;
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.config.CoreOptions;
+import org.apache.hugegraph.config.HugeConfig;
 import org.apache.hugegraph.exception.ExistedException;
 import org.apache.hugegraph.exception.NoIndexException;
 import org.apache.hugegraph.exception.NotFoundException;
@@ -37,6 +42,7 @@ import org.apache.hugegraph.schema.IndexLabel;
 import org.apache.hugegraph.schema.SchemaManager;
 import org.apache.hugegraph.schema.Userdata;
 import org.apache.hugegraph.schema.VertexLabel;
+import org.apache.hugegraph.task.HugeTask;
 import org.apache.hugegraph.testutil.Assert;
 import org.apache.hugegraph.type.HugeType;
 import org.apache.hugegraph.type.define.IndexType;
@@ -1510,6 +1516,99 @@ public class IndexLabelCoreTest extends SchemaCoreTest {
         Assert.assertNotNull(edge);
     }
 
+    @Test
+    public void testRebuildIndexLabelOfVertexByShards() throws Exception {
+        super.initPropertyKeys();
+        SchemaManager schema = graph().schema();
+        schema.vertexLabel("person").properties("name", "age", "city")
+              .primaryKeys("name").create();
+        schema.vertexLabel("book").properties("name")
+              .primaryKeys("name").create();
+        for (int i = 0; i < 100; i++) {
+            graph().addVertex(T.label, "person", "name", "p" + i,
+                              "city", "c" + (i % 10), "age", i);
+            graph().addVertex(T.label, "book", "name", "b" + i);
+        }
+        graph().tx().commit();
+
+        schema.indexLabel("personByCity").onV("person").secondary()
+              .by("city").create();
+
+        HugeTask<Object> result = this.rebuildByShards(() -> {
+            return schema.indexLabel("personByCity").rebuild();
+        });
+        Assert.assertContains("\"elements\":100", result.result());
+        Assert.assertEquals(100, result.progress());
+
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(10L, graph().traversal().V()
+                                            .hasLabel("person")
+                                            .has("city", "c" + i)
+                                            .count().next());
+        }
+    }
+
+    @Test
+    public void testRebuildIndexLabelOfEdgeByShards() throws Exception {
+        super.initPropertyKeys();
+        SchemaManager schema = graph().schema();
+        schema.vertexLabel("author").properties("id", "name")
+              .primaryKeys("id").create();
+        schema.vertexLabel("book").properties("name")
+              .primaryKeys("name").create();
+        schema.edgeLabel("authored").singleTime()
+              .link("author", "book")
+              .properties("contribution")
+              .create();
+        schema.edgeLabel("look").multiTimes()
+              .link("author", "book")
+              .properties("time")
+              .sortKeys("time")
+              .create();
+
+        Vertex james = graph().addVertex(T.label, "author", "id", 1,
+                                         "name", "James Gosling");
+        for (int i = 0; i < 50; i++) {
+            Vertex book = graph().addVertex(T.label, "book", "name", "b" + i);
+            james.addEdge("authored", book, "contribution", "c" + (i % 5));
+            james.addEdge("look", book, "time", "2023-01-01");
+        }
+        graph().tx().commit();
+
+        schema.indexLabel("authoredByContri").onE("authored")
+              .secondary().by("contribution").create();
+
+        HugeTask<Object> result = this.rebuildByShards(() -> {
+            return schema.edgeLabel("authored").rebuildIndex();
+        });
+        Assert.assertContains("\"elements\":50", result.result());
+
+        for (int i = 0; i < 5; i++) {
+            Assert.assertEquals(10L, graph().traversal().E()
+                                            .hasLabel("authored")
+                                            .has("contribution", "c" + i)
+                                            .count().next());
+        }
+    }
+
+    private HugeTask<Object> rebuildByShards(Supplier<Id> rebuild)
+                                             throws TimeoutException {
+        HugeConfig config = (HugeConfig) graph().configuration();
+        String threads = CoreOptions.TASK_REBUILD_INDEX_THREADS.name();
+        String sst = CoreOptions.TASK_REBUILD_INDEX_SST.name();
+        config.setProperty(threads, 4);
+        // Write into sst files and ingest if the backend supports
+        config.setProperty(sst, "rocksdb".equals(graph().backend()));
+        try {
+            // The options are read by the task, reset after it's completed
+            Id task = rebuild.get();
+            return graph().taskScheduler().waitUntilTaskCompleted(task, 10L);
+        } finally {
+            config.setProperty(threads, 1);
+            config.setProperty(sst, false);
+        }
+    }
+
     @Test
     public void testRebuildIndexOfVertexWithoutLabelIndex() {
         Assume.assumeFalse("Support query by label",
@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.core;
+
+import java.io.File;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.hugegraph.HugeGraph;
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.store.ram.OlapColumns;
+import org.apache.hugegraph.backend.store.ram.RamTable;
+import org.apache.hugegraph.testutil.Assert;
+import org.apache.hugegraph.testutil.Whitebox;
+import org.apache.hugegraph.type.define.GraphReadMode;
+import org.apache.hugegraph.type.define.WriteType;
+import com.google.common.collect.ImmutableSet;
+
+public class OlapColumnCoreTest extends BaseCoreTest {
+
+    private Object olapColumns;
+
+    @Override
+    @Before
+    public void setup() {
+        super.setup();
+
+        HugeGraph graph = this.graph();
+
+        Assume.assumeTrue("Not support olap properties",
+                          graph.backendStoreFeatures()
+                               .supportsOlapProperties());
+        // Like query.olap_column_enable=true
+        this.olapColumns = Whitebox.getInternalState(graph, "olapColumns");
+        if (this.olapColumns == null) {
+            Whitebox.setInternalState(graph, "olapColumns",
+                                      new OlapColumns(graph, 64));
+        }
+
+        graph.schema().vertexLabel("node").useCustomizeNumberId().create();
+        // The olap key without index can only be queried by the column
+        graph.schema().propertyKey("rank").asDouble().valueSingle()
+             .writeType(WriteType.OLAP_COMMON).create();
+        for (int i = 1; i <= 100; i++) {
+            graph.addVertex(T.label, "node", T.id, i);
+        }
+        graph.tx().commit();
+        for (int i = 1; i <= 100; i++) {
+            graph.addVertex(T.id, i, "rank", i / 100D);
+        }
+        graph.tx().commit();
+
+        graph.readMode(GraphReadMode.ALL);
+    }
+
+    @Override
+    @After
+    public void teardown() throws Exception {
+        HugeGraph graph = this.graph();
+        graph.readMode(GraphReadMode.OLTP_ONLY);
+
+        super.teardown();
+
+        File export = Paths.get(RamTable.EXPORT_PATH,
+                                graph.name() + "-olap").toFile();
+        if (export.exists()) {
+            FileUtils.forceDelete(export);
+        }
+
+        Whitebox.setInternalState(graph, "olapColumns", this.olapColumns);
+    }
+
+    @Test
+    public void testQueryAfterReload() {
+        HugeGraph graph = this.graph();
+        Assert.assertNull(this.column());
+
+        Whitebox.invoke(graph.getClass(), "reloadOlapColumns", graph);
+        Assert.assertNotNull(this.column());
+
+        Assert.assertEquals(range(91, 100), this.ids(P.gt(0.9D)));
+        Assert.assertEquals(range(90, 100), this.ids(P.gte(0.9D)));
+        Assert.assertEquals(range(1, 9), this.ids(P.lt(0.1D)));
+        Assert.assertEquals(range(11, 19), this.ids(P.gt(0.1D), P.lt(0.2D)));
+        Assert.assertEquals(ImmutableSet.of(50), this.ids(P.eq(0.5D)));
+        Assert.assertEquals(ImmutableSet.of(), this.ids(P.gt(1D)));
+
+        // The vertices are fetched from the backend with the properties
+        List<Vertex> vertices = graph.traversal().V()
+                                     .has("rank", P.gt(0.99D)).toList();
+        Assert.assertEquals(1, vertices.size());
+        Assert.assertEquals("node", vertices.get(0).label());
+        Assert.assertEquals(1D, vertices.get(0).value("rank"));
+
+        // Reload from the exported files
+        Whitebox.invoke(graph.getClass(), "reloadOlapColumns", graph, true);
+        Assert.assertEquals(range(91, 100), this.ids(P.gt(0.9D)));
+        Assert.assertEquals(range(11, 19), this.ids(P.gt(0.1D), P.lt(0.2D)));
+    }
+
+    @Test
+    public void testQueryAfterCommitUpdates() {
+        HugeGraph graph = this.graph();
+        Whitebox.invoke(graph.getClass(), "reloadOlapColumns", graph);
+
+        graph.addVertex(T.id, 1, "rank", 0.95D);
+        graph.addVertex(T.id, 95, "rank", 0.05D);
+        Set<Integer> expected = range(91, 100);
+        expected.add(1);
+        expected.remove(95);
+        // The uncommitted vertices are joined by the transaction
+        Assert.assertEquals(expected, this.ids(P.gt(0.9D)));
+        graph.tx().commit();
+
+        // The column is updated on commit
+        Assert.assertEquals(expected, this.ids(P.gt(0.9D)));
+        Assert.assertEquals(ImmutableSet.of(1), this.ids(P.eq(0.95D)));
+        Assert.assertEquals(ImmutableSet.of(5, 95), this.ids(P.eq(0.05D)));
+
+        // The vertex added after reload
+        graph.addVertex(T.label, "node", T.id, 101);
+        graph.tx().commit();
+        graph.addVertex(T.id, 101, "rank", 2D);
+        graph.tx().commit();
+        Assert.assertEquals(ImmutableSet.of(101), this.ids(P.gt(1D)));
+    }
+
+    @Test
+    public void testQueryAfterRemovePropertyKey() {
+        HugeGraph graph = this.graph();
+        Whitebox.invoke(graph.getClass(), "reloadOlapColumns", graph);
+        Id rank = graph.propertyKey("rank").id();
+        OlapColumns columns = Whitebox.getInternalState(graph, "olapColumns");
+        Assert.assertNotNull(columns.column(rank));
+
+        graph.schema().propertyKey("rank").remove();
+        Assert.assertNull(columns.column(rank));
+
+        // The recreated key isn't answered by the column of the removed one
+        graph.schema().propertyKey("rank").asDouble().valueSingle()
+             .writeType(WriteType.OLAP_RANGE).create();
+        graph.addVertex(T.id, 1, "rank", 0.95D);
+        graph.tx().commit();
+        Assert.assertNull(columns.column(graph.propertyKey("rank").id()));
+        Assert.assertEquals(ImmutableSet.of(1), this.ids(P.gt(0.9D)));
+
+        // Loaded with the values of the recreated key
+        Whitebox.invoke(graph.getClass(), "reloadOlapColumns", graph);
+        Assert.assertNotNull(columns.column(graph.propertyKey("rank").id()));
+        Assert.assertEquals(ImmutableSet.of(1), this.ids(P.gt(0.9D)));
+    }
+
+    private Object column() {
+        HugeGraph graph = this.graph();
+        OlapColumns columns = Whitebox.getInternalState(graph, "olapColumns");
+        return columns.column(graph.propertyKey("rank").id());
+    }
+
+    @SafeVarargs
+    private final Set<Integer> ids(P<Double>... predicates) {
+        GraphTraversal<Vertex, Vertex> traversal = this.graph().traversal()
+                                                       .V();
+        for (P<Double> predicate : predicates) {
+            traversal = traversal.has("rank", predicate);
+        }
+        Set<Integer> ids = new HashSet<>();
+        traversal.id().forEachRemaining(id -> {
+            ids.add(((Number) id).intValue());
+        });
+        return ids;
+    }
+
+    private static Set<Integer> range(int from, int to) {
+        Set<Integer> results = new HashSet<>();
+        for (int i = from; i <= to; i++) {
+            results.add(i);
+        }
+        return results;
+    }
+}
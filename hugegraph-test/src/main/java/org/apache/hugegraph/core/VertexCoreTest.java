@@ -25,6 +25,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Random;
 import java.util.Set;
@@ -68,6 +69,7 @@ import org.apache.hugegraph.type.define.WriteType;
 import org.apache.hugegraph.util.Blob;
 import org.apache.hugegraph.util.CollectionUtil;
 import org.apache.hugegraph.util.LongEncoding;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
@@ -1267,6 +1269,42 @@ public class VertexCoreTest extends BaseCoreTest {
         Assert.assertFalse(vertices.hasNext());
     }
 
+    @Test
+    public void testAddVertexWithTtlAndSweepExpired() {
+        Assume.assumeTrue("Not support expiring in background",
+                          storeFeatures().supportsExpireInBackground());
+        HugeGraph graph = graph();
+        graph.schema().indexLabel("fanByCity").onV("fan").by("city")
+             .secondary().ifNotExist().create();
+
+        Map<String, Object> before = graph.metadata(null, "ttl_sweep");
+        graph.addVertex(T.label, "fan", "name", "Baby",
+                        "age", 3, "city", "Beijing");
+        graph.addVertex(T.label, "fan", "name", "Baby2",
+                        "age", 4, "city", "Beijing");
+        this.commitTx();
+
+        Query query = new Query(HugeType.VERTEX);
+        query.showExpired(true);
+        Assert.assertEquals(2, IteratorUtils.count(graph.vertices(query)));
+
+        try {
+            Thread.sleep(3100L);
+        } catch (InterruptedException e) {
+            // Ignore
+        }
+
+        // The expired vertices and indexes are deleted from the store
+        Map<String, Object> after = graph.metadata(null, "ttl_sweep");
+        Assert.assertEquals(2L, (long) after.get("expired_vertices") -
+                                (long) before.get("expired_vertices"));
+        Assert.assertEquals(2L, (long) after.get("expired_indexes") -
+                                (long) before.get("expired_indexes"));
+        Assert.assertEquals(0, IteratorUtils.count(graph.vertices(query)));
+        Assert.assertFalse(graph.traversal().V().has("city", "Beijing")
+                                .hasNext());
+    }
+
     @Test
     public void testAddVertexWithRangeIndexAndTtl() {
         graph().schema().indexLabel("fanByAge").onV("fan").by("age")
@@ -2675,6 +2713,37 @@ public class VertexCoreTest extends BaseCoreTest {
         graph.readMode(GraphReadMode.OLTP_ONLY);
     }
 
+    @Test
+    public void testAddOlapPropertiesInLargeBatch() {
+        Assume.assumeTrue("Not support olap properties",
+                          storeFeatures().supportsOlapProperties());
+
+        HugeGraph graph = graph();
+        SchemaManager schema = graph.schema();
+        schema.propertyKey("pagerank")
+              .asDouble().valueSingle()
+              .writeType(WriteType.OLAP_RANGE)
+              .ifNotExist().create();
+        schema.vertexLabel("node").useCustomizeNumberId().create();
+
+        // More than index.update_batch_threshold, all are olap vertices
+        int size = 200;
+        for (int i = 0; i < size; i++) {
+            graph.addVertex(T.label, "node", T.id, i);
+        }
+        this.commitTx();
+        for (int i = 0; i < size; i++) {
+            graph.addVertex(T.id, i, "pagerank", i / 10D);
+        }
+        this.commitTx();
+
+        graph.readMode(GraphReadMode.ALL);
+        Assert.assertEquals(10L, graph.traversal().V()
+                                      .has("pagerank", P.gte(19D))
+                                      .count().next());
+        graph.readMode(GraphReadMode.OLTP_ONLY);
+    }
+
     @Test
     public void testQueryOlapWithUpdates() {
         Assume.assumeTrue("Not support olap properties",
@@ -3483,6 +3552,64 @@ public class VertexCoreTest extends BaseCoreTest {
         });
     }
 
+    @Test
+    public void testQueryByIntPropOrderByWithLimit() {
+        Assume.assumeTrue("Not support range condition query",
+                          storeFeatures().supportsQueryWithRangeCondition());
+        HugeGraph graph = graph();
+        initPersonIndex(false);
+        init5Persons();
+        graph.addVertex(T.label, "person", "name", "Sean",
+                        "city", "Beijing", "age", -10,
+                        "birth", Utils.date("2029-01-01"));
+        this.commitTx();
+
+        List<Object> names = graph.traversal().V().hasLabel("person")
+                                  .order().by("age", Order.asc).limit(3)
+                                  .values("name").toList();
+        Assert.assertEquals(ImmutableList.of("Sean", "Baby", "James"), names);
+
+        names = graph.traversal().V().hasLabel("person")
+                     .order().by("age", Order.desc).limit(1)
+                     .values("name").toList();
+        Assert.assertEquals(ImmutableList.of("Hebe"), names);
+
+        names = graph.traversal().V().hasLabel("person")
+                     .order().by("age", Order.desc).range(1, 3)
+                     .values("name").toList();
+        Assert.assertEquals(2, names.size());
+        Assert.assertTrue(names.containsAll(ImmutableList.of("Tom Cat",
+                                                             "Lisa")));
+
+        // With range condition on the order key
+        names = graph.traversal().V().hasLabel("person")
+                     .has("age", P.gt(3))
+                     .order().by("age", Order.asc).limit(1)
+                     .values("name").toList();
+        Assert.assertEquals(ImmutableList.of("James"), names);
+
+        names = graph.traversal().V().hasLabel("person")
+                     .has("age", P.between(3, 20))
+                     .order().by("age", Order.desc).limit(2)
+                     .values("name").toList();
+        Assert.assertEquals(ImmutableList.of("James", "Baby"), names);
+
+        // Order by date property
+        names = graph.traversal().V().hasLabel("person")
+                     .order().by("birth", Order.desc).limit(2)
+                     .values("name").toList();
+        Assert.assertEquals(ImmutableList.of("Sean", "Hebe"), names);
+
+        // Query with uncommitted vertices
+        graph.addVertex(T.label, "person", "name", "Ann",
+                        "city", "Beijing", "age", -20,
+                        "birth", Utils.date("2000-01-01"));
+        names = graph.traversal().V().hasLabel("person")
+                     .order().by("age", Order.asc).limit(2)
+                     .values("name").toList();
+        Assert.assertEquals(ImmutableList.of("Ann", "Sean"), names);
+    }
+
     @Test
     public void testQueryByIntPropWithNegativeNumber() {
         HugeGraph graph = graph();
@@ -18,15 +18,22 @@
 package org.apache.hugegraph.unit;
 
 import org.apache.hugegraph.unit.cassandra.CassandraTest;
+import org.apache.hugegraph.unit.hbase.HbaseParallelScannerTest;
 import org.apache.hugegraph.unit.id.EdgeIdTest;
 import org.apache.hugegraph.unit.id.IdTest;
 import org.apache.hugegraph.unit.id.IdUtilTest;
+import org.apache.hugegraph.unit.id.SnowflakeIdGeneratorTest;
 import org.apache.hugegraph.unit.id.SplicingIdGeneratorTest;
+import org.apache.hugegraph.unit.mysql.MysqlSessionsTest;
 import org.apache.hugegraph.unit.mysql.MysqlUtilTest;
 import org.apache.hugegraph.unit.mysql.WhereBuilderTest;
+import org.apache.hugegraph.unit.rocksdb.AsyncAdjacencyLookupTest;
 import org.apache.hugegraph.unit.rocksdb.RocksDBCountersTest;
+import org.apache.hugegraph.unit.rocksdb.RocksDBDegreeCounterTest;
 import org.apache.hugegraph.unit.rocksdb.RocksDBSessionTest;
 import org.apache.hugegraph.unit.rocksdb.RocksDBSessionsTest;
+import org.apache.hugegraph.unit.rocksdb.RocksDBTtlSweeperTest;
+import org.apache.hugegraph.unit.rocksdb.SstBulkLoaderTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
@@ -36,24 +43,35 @@ import org.apache.hugegraph.unit.cache.CacheManagerTest;
 import org.apache.hugegraph.unit.cache.CacheTest;
 import org.apache.hugegraph.unit.cache.CachedGraphTransactionTest;
 import org.apache.hugegraph.unit.cache.CachedSchemaTransactionTest;
+import org.apache.hugegraph.unit.cache.OlapColumnTest;
+import org.apache.hugegraph.unit.cache.SuperNodeIndexTest;
 import org.apache.hugegraph.unit.cache.RamTableTest;
+import org.apache.hugegraph.unit.cache.TraverserAPICacheTest;
+import org.apache.hugegraph.unit.cache.TraverserResultCacheTest;
 import org.apache.hugegraph.unit.core.AnalyzerTest;
 import org.apache.hugegraph.unit.core.BackendMutationTest;
 import org.apache.hugegraph.unit.core.BackendStoreInfoTest;
+import org.apache.hugegraph.unit.core.BidirectionalPathRecordsTest;
 import org.apache.hugegraph.unit.core.ConditionQueryFlattenTest;
 import org.apache.hugegraph.unit.core.ConditionTest;
 import org.apache.hugegraph.unit.core.DataTypeTest;
+import org.apache.hugegraph.unit.core.DegreeCounterTest;
 import org.apache.hugegraph.unit.core.DirectionsTest;
 import org.apache.hugegraph.unit.core.ExceptionTest;
+import org.apache.hugegraph.unit.core.IncrementalAlgorithmTest;
 import org.apache.hugegraph.unit.core.LocksTableTest;
 import org.apache.hugegraph.unit.core.PageStateTest;
+import org.apache.hugegraph.unit.core.ParallelIndexUpdateTest;
 import org.apache.hugegraph.unit.core.QueryTest;
 import org.apache.hugegraph.unit.core.RangeTest;
 import org.apache.hugegraph.unit.core.RolePermissionTest;
 import org.apache.hugegraph.unit.core.RowLockTest;
 import org.apache.hugegraph.unit.core.SecurityManagerTest;
 import org.apache.hugegraph.unit.core.SerialEnumTest;
+import org.apache.hugegraph.unit.core.ShortestPathEngineTest;
+import org.apache.hugegraph.unit.core.StatisticsTest;
 import org.apache.hugegraph.unit.core.TraversalUtilTest;
+import org.apache.hugegraph.unit.core.WeightedPathEngineTest;
 import org.apache.hugegraph.unit.serializer.BinaryBackendEntryTest;
 import org.apache.hugegraph.unit.serializer.BinaryScatterSerializerTest;
 import org.apache.hugegraph.unit.serializer.BinarySerializerTest;
@@ -63,12 +81,16 @@ import org.apache.hugegraph.unit.serializer.StoreSerializerTest;
 import org.apache.hugegraph.unit.serializer.TableBackendEntryTest;
 import org.apache.hugegraph.unit.serializer.TextBackendEntryTest;
 import org.apache.hugegraph.unit.util.CompressUtilTest;
+import org.apache.hugegraph.unit.util.ForkJoinConsumersTest;
 import org.apache.hugegraph.unit.util.JsonUtilTest;
+import org.apache.hugegraph.unit.util.QueryProfilerTest;
 import org.apache.hugegraph.unit.util.StringEncodingTest;
 import org.apache.hugegraph.unit.util.VersionTest;
+import org.apache.hugegraph.unit.util.VirtualThreadsTest;
 import org.apache.hugegraph.unit.util.collection.CollectionFactoryTest;
 import org.apache.hugegraph.unit.util.collection.IdSetTest;
 import org.apache.hugegraph.unit.util.collection.Int2IntsMapTest;
+import org.apache.hugegraph.unit.util.collection.IntDoubleHeapTest;
 import org.apache.hugegraph.unit.util.collection.IntMapTest;
 import org.apache.hugegraph.unit.util.collection.IntSetTest;
 import org.apache.hugegraph.unit.util.collection.ObjectIntMappingTest;
@@ -83,6 +105,9 @@ import org.apache.hugegraph.unit.util.collection.ObjectIntMappingTest;
     CachedGraphTransactionTest.class,
     CacheManagerTest.class,
     RamTableTest.class,
+    OlapColumnTest.class,
+    SuperNodeIndexTest.class,
+    TraverserResultCacheTest.class,
 
     /* types */
     DataTypeTest.class,
@@ -94,6 +119,7 @@ import org.apache.hugegraph.unit.util.collection.ObjectIntMappingTest;
     EdgeIdTest.class,
     IdUtilTest.class,
     SplicingIdGeneratorTest.class,
+    SnowflakeIdGeneratorTest.class,
 
     /* core */
     LocksTableTest.class,
@@ -104,6 +130,15 @@ import org.apache.hugegraph.unit.util.collection.ObjectIntMappingTest;
     ConditionQueryFlattenTest.class,
     QueryTest.class,
     RangeTest.class,
+    // Open graphs before the factory is shut down by SecurityManagerTest
+    IncrementalAlgorithmTest.class,
+    ParallelIndexUpdateTest.class,
+    DegreeCounterTest.class,
+    SstBulkLoaderTest.class,
+    AsyncAdjacencyLookupTest.class,
+    ShortestPathEngineTest.class,
+    WeightedPathEngineTest.class,
+    TraverserAPICacheTest.class,
     SecurityManagerTest.class,
     RolePermissionTest.class,
     ExceptionTest.class,
@@ -111,6 +146,8 @@ import org.apache.hugegraph.unit.util.collection.ObjectIntMappingTest;
     TraversalUtilTest.class,
     PageStateTest.class,
     SystemSchemaStoreTest.class,
+    StatisticsTest.class,
+    BidirectionalPathRecordsTest.class,
 
     /* serializer */
     BytesBufferTest.class,
@@ -125,20 +162,29 @@ import org.apache.hugegraph.unit.util.collection.ObjectIntMappingTest;
     /* cassandra */
     CassandraTest.class,
 
+    /* hbase */
+    HbaseParallelScannerTest.class,
+
     /* mysql */
     MysqlUtilTest.class,
+    MysqlSessionsTest.class,
     WhereBuilderTest.class,
 
     /* rocksdb */
     RocksDBSessionsTest.class,
     RocksDBSessionTest.class,
     RocksDBCountersTest.class,
+    RocksDBTtlSweeperTest.class,
+    RocksDBDegreeCounterTest.class,
 
     /* utils */
     VersionTest.class,
     JsonUtilTest.class,
     StringEncodingTest.class,
     CompressUtilTest.class,
+    QueryProfilerTest.class,
+    VirtualThreadsTest.class,
+    ForkJoinConsumersTest.class,
     RateLimiterTest.FixedTimerWindowRateLimiterTest.class,
     RateLimiterTest.FixedWatchWindowRateLimiterTest.class,
 
@@ -148,7 +194,8 @@ import org.apache.hugegraph.unit.util.collection.ObjectIntMappingTest;
     Int2IntsMapTest.class,
     IdSetTest.class,
     IntMapTest.class,
-    IntSetTest.class
+    IntSetTest.class,
+    IntDoubleHeapTest.class
 })
 public class UnitTestSuite {
 }
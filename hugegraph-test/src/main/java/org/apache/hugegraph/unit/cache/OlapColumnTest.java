@@ -0,0 +1,234 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.unit.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.PrimitiveIterator;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.hugegraph.HugeException;
+import org.apache.hugegraph.backend.store.ram.OlapColumn;
+import org.apache.hugegraph.testutil.Assert;
+import org.apache.hugegraph.type.define.DataType;
+import org.apache.hugegraph.unit.BaseUnitTest;
+
+public class OlapColumnTest extends BaseUnitTest {
+
+    private File dir;
+
+    @Before
+    public void setup() throws IOException {
+        this.dir = Files.createTempDirectory("olap-column").toFile();
+    }
+
+    @After
+    public void teardown() throws IOException {
+        FileUtils.deleteDirectory(this.dir);
+    }
+
+    @Test
+    public void testType() {
+        Assert.assertEquals(OlapColumn.Type.INT,
+                            OlapColumn.Type.of(DataType.BYTE));
+        Assert.assertEquals(OlapColumn.Type.INT,
+                            OlapColumn.Type.of(DataType.INT));
+        Assert.assertEquals(OlapColumn.Type.LONG,
+                            OlapColumn.Type.of(DataType.LONG));
+        Assert.assertEquals(OlapColumn.Type.LONG,
+                            OlapColumn.Type.of(DataType.DATE));
+        Assert.assertEquals(OlapColumn.Type.DOUBLE,
+                            OlapColumn.Type.of(DataType.FLOAT));
+        Assert.assertEquals(OlapColumn.Type.DOUBLE,
+                            OlapColumn.Type.of(DataType.DOUBLE));
+        Assert.assertNull(OlapColumn.Type.of(DataType.TEXT));
+        Assert.assertNull(OlapColumn.Type.of(DataType.BOOLEAN));
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            new OlapColumn(OlapColumn.Type.INT, 100);
+        });
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            new OlapColumn(null, 64);
+        });
+    }
+
+    @Test
+    public void testSetAndGet() {
+        OlapColumn column = new OlapColumn(OlapColumn.Type.INT, 64);
+        column.set(1L, 10);
+        column.set(65L, 20);
+        column.set(-1L, 30);
+        Assert.assertEquals(3L, column.size());
+        Assert.assertEquals(3, column.chunks());
+
+        Assert.assertEquals(10, column.get(1L));
+        Assert.assertEquals(20, column.get(65L));
+        Assert.assertEquals(30, column.get(-1L));
+        Assert.assertNull(column.get(2L));
+        Assert.assertNull(column.get(1000L));
+
+        column.set(1L, 11);
+        Assert.assertEquals(11, column.get(1L));
+        Assert.assertEquals(3L, column.size());
+
+        column.set(1L, null);
+        Assert.assertNull(column.get(1L));
+        Assert.assertEquals(2L, column.size());
+
+        OlapColumn dates = new OlapColumn(OlapColumn.Type.LONG, 64);
+        dates.set(1L, new Date(1000L));
+        Assert.assertEquals(1000L, dates.get(1L));
+    }
+
+    @Test
+    public void testScanInt() {
+        OlapColumn column = new OlapColumn(OlapColumn.Type.INT, 64);
+        for (int i = 0; i < 300; i++) {
+            column.set(i, i % 10);
+        }
+
+        Assert.assertEquals(30, scan(column, 3, true, 3, true).size());
+        Assert.assertEquals(60, scan(column, 3, true, 5, false).size());
+        Assert.assertEquals(30, scan(column, 3, false, 5, false).size());
+        Assert.assertEquals(60, scan(column, 7, false, null, true).size());
+        Assert.assertEquals(30, scan(column, null, true, 0, true).size());
+        Assert.assertEquals(300, scan(column, null, true, null, true).size());
+        Assert.assertEquals(0, scan(column, 5, false, 5, true).size());
+        Assert.assertEquals(0, scan(column, 10, true, null, true).size());
+
+        // The bounds of other number types
+        Assert.assertEquals(60, scan(column, 2.5, true, 4.5, true).size());
+        Assert.assertEquals(30, scan(column, 8L, true, 8.9, true).size());
+
+        // The vertices are returned in order
+        List<Long> vertices = scan(column, 9, true, 9, true);
+        Assert.assertEquals(9L, (long) vertices.get(0));
+        Assert.assertEquals(19L, (long) vertices.get(1));
+        Assert.assertEquals(299L, (long) vertices.get(29));
+    }
+
+    @Test
+    public void testScanLong() {
+        OlapColumn column = new OlapColumn(OlapColumn.Type.LONG, 128);
+        for (long i = -200L; i < 200L; i++) {
+            column.set(i, i * 1000000000L);
+        }
+
+        List<Long> vertices = scan(column, -2000000000L, true,
+                                   2000000000L, false);
+        Assert.assertEquals(4, vertices.size());
+        Assert.assertEquals(-2L, (long) vertices.get(0));
+        Assert.assertEquals(1L, (long) vertices.get(3));
+
+        Assert.assertEquals(200, scan(column, 0L, true, null, true).size());
+        Assert.assertEquals(200, scan(column, null, true, 0L, false).size());
+        Assert.assertEquals(0, scan(column, Long.MAX_VALUE, false,
+                                    null, true).size());
+        Assert.assertEquals(1, scan(column, new Date(0L), true,
+                                    new Date(0L), true).size());
+    }
+
+    @Test
+    public void testScanDouble() {
+        OlapColumn column = new OlapColumn(OlapColumn.Type.DOUBLE, 64);
+        for (int i = 0; i < 100; i++) {
+            column.set(i, i / 10.0);
+        }
+
+        Assert.assertEquals(11, scan(column, 1.0, true, 2.0, true).size());
+        Assert.assertEquals(9, scan(column, 1.0, false, 2.0, false).size());
+        Assert.assertEquals(10, scan(column, 1, true, 2, false).size());
+        Assert.assertEquals(1, scan(column, 0.5f, true, 0.5f, true).size());
+        Assert.assertEquals(0, scan(column, 9.9, false, null, true).size());
+    }
+
+    @Test
+    public void testScanSkipChunks() {
+        OlapColumn column = new OlapColumn(OlapColumn.Type.INT, 64);
+        for (int i = 0; i < 64 * 4; i++) {
+            // Each chunk has the values of its own range
+            column.set(i, i / 64 * 100 + i % 64);
+        }
+
+        List<Long> vertices = scan(column, 200, true, 263, true);
+        Assert.assertEquals(64, vertices.size());
+        Assert.assertEquals(128L, (long) vertices.get(0));
+        Assert.assertEquals(191L, (long) vertices.get(63));
+
+        Assert.assertEquals(0, scan(column, 64, true, 99, true).size());
+    }
+
+    @Test
+    public void testExportAndLoadFromFile() throws IOException {
+        OlapColumn column = new OlapColumn(OlapColumn.Type.DOUBLE, 64);
+        for (int i = 0; i < 1000; i += 3) {
+            column.set(i, i * 0.5);
+        }
+        column.exportToFile(this.dir);
+
+        OlapColumn loaded = OlapColumn.loadFromFile(this.dir);
+        Assert.assertEquals(OlapColumn.Type.DOUBLE, loaded.type());
+        Assert.assertEquals(64, loaded.chunkSize());
+        Assert.assertEquals(column.chunks(), loaded.chunks());
+        Assert.assertEquals(column.size(), loaded.size());
+
+        Assert.assertEquals(scan(column, 100, true, 200.5, false),
+                            scan(loaded, 100, true, 200.5, false));
+        Assert.assertEquals(1.5, loaded.get(3L));
+        Assert.assertNull(loaded.get(4L));
+
+        // Update the loaded column and export it again to the same dir
+        loaded.set(4L, 2.0);
+        loaded.exportToFile(this.dir);
+        OlapColumn reloaded = OlapColumn.loadFromFile(this.dir);
+        Assert.assertEquals(column.size() + 1L, reloaded.size());
+        Assert.assertEquals(2.0, reloaded.get(4L));
+        Assert.assertEquals(499.5, reloaded.get(999L));
+    }
+
+    @Test
+    public void testLoadFromInvalidFile() throws IOException {
+        File dir = new File(this.dir, "not-exist");
+        Assert.assertThrows(HugeException.class, () -> {
+            OlapColumn.loadFromFile(dir);
+        }, e -> {
+            Assert.assertContains("does not exist or is not readable",
+                                  e.getMessage());
+        });
+    }
+
+    private static List<Long> scan(OlapColumn column,
+                                   Object min, boolean minInclusive,
+                                   Object max, boolean maxInclusive) {
+        List<Long> vertices = new ArrayList<>();
+        PrimitiveIterator.OfLong iter = column.scan(min, minInclusive,
+                                                    max, maxInclusive);
+        while (iter.hasNext()) {
+            vertices.add(iter.nextLong());
+        }
+        return vertices;
+    }
+}
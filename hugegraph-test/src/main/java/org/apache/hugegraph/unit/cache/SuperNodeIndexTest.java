@@ -0,0 +1,268 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.unit.cache;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.id.IdGenerator;
+import org.apache.hugegraph.backend.page.PageInfo;
+import org.apache.hugegraph.backend.query.Query;
+import org.apache.hugegraph.backend.store.ram.SuperNodeIndex;
+import org.apache.hugegraph.backend.tx.GraphTransaction;
+import org.apache.hugegraph.iterator.Metadatable;
+import org.apache.hugegraph.structure.HugeEdge;
+import org.apache.hugegraph.testutil.Assert;
+import org.apache.hugegraph.type.define.Directions;
+import org.apache.hugegraph.unit.BaseUnitTest;
+import org.apache.hugegraph.unit.FakeObjects;
+import com.google.common.collect.ImmutableList;
+
+public class SuperNodeIndexTest extends BaseUnitTest {
+
+    private static final int THRESHOLD = 100;
+    private static final int BLOCK_SIZE = 20;
+
+    private static final Id OWNER = IdGenerator.of(1);
+    private static final Id LABEL = IdGenerator.of(1);
+
+    private static List<HugeEdge> allEdges;
+
+    private SuperNodeIndex index;
+    private List<HugeEdge> edges;
+    private long fetched;
+
+    @BeforeClass
+    public static void initEdges() {
+        // Creating the fake edges is slow, share them among the tests
+        FakeObjects fakeObjects = new FakeObjects();
+        allEdges = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            allEdges.add(fakeObjects.newEdge(1, 1000 + i));
+        }
+    }
+
+    @Before
+    public void setup() {
+        this.index = new SuperNodeIndex(null, THRESHOLD, BLOCK_SIZE, 10);
+        this.edges = allEdges;
+        this.fetched = 0L;
+    }
+
+    @Test
+    public void testInvalidThreshold() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            new SuperNodeIndex(null, 10, 20, 10);
+        }, e -> {
+            Assert.assertContains("must be >= block size", e.getMessage());
+        });
+    }
+
+    @Test
+    public void testSeekOffset() {
+        Query query = this.offsetQuery(150L);
+        Assert.assertTrue(this.index.matched(query));
+        // No blocks recorded, scan from the start
+        Assert.assertEquals(this.edges.get(150), this.first(query));
+        Assert.assertEquals(0L, query.actualOffset());
+
+        // The blocks are recorded by the previous scan
+        query = this.offsetQuery(130L);
+        Assert.assertEquals(this.edges.get(130), this.first(query));
+        Assert.assertEquals(120L, query.actualOffset());
+
+        // Scan to the end to record all the blocks
+        query = this.offsetQuery(290L);
+        Assert.assertEquals(this.edges.get(290), this.first(query));
+        Assert.assertEquals(280L, query.actualOffset());
+        Assert.assertEquals(300L, this.degree());
+        Assert.assertEquals(1, this.index.size());
+
+        this.fetched = 0L;
+        query = this.offsetQuery(299L);
+        Assert.assertEquals(this.edges.get(299), this.first(query));
+        Assert.assertEquals(20L, this.fetched);
+
+        // Not seek for a small offset or paging
+        Assert.assertFalse(this.index.matched(this.offsetQuery(10L)));
+        query = this.offsetQuery(150L);
+        query.page(PageInfo.PAGE_NONE);
+        Assert.assertFalse(this.index.matched(query));
+    }
+
+    @Test
+    public void testBuildAndSample() {
+        Assert.assertEquals(-1L, this.degree());
+        Query query = this.sampleQuery(10L);
+        Assert.assertFalse(this.index.matched(query));
+
+        SuperNodeIndex.Range range = new SuperNodeIndex.Range(
+                                     OWNER, Directions.OUT, LABEL);
+        Assert.assertEquals(300L, this.index.build(range, this.fetcher()));
+        Assert.assertEquals(300L, this.degree());
+        Assert.assertEquals(300L, this.fetched);
+
+        Assert.assertTrue(this.index.matched(query));
+        for (int times = 0; times < 10; times++) {
+            this.fetched = 0L;
+            List<HugeEdge> sampled = this.list(this.index.query(
+                                               query, this.fetcher()));
+            Assert.assertEquals(10, sampled.size());
+            Assert.assertEquals(10, new HashSet<>(sampled).size());
+            Assert.assertTrue(this.edges.containsAll(sampled));
+            // Read at most a block of edges for each sampled edge
+            Assert.assertLte(10L * BLOCK_SIZE, this.fetched);
+        }
+
+        // Read the whole range if most of the edges are sampled
+        Assert.assertFalse(this.index.matched(this.sampleQuery(150L)));
+        query = this.sampleQuery(10L);
+        query.sampling(false);
+        Assert.assertFalse(this.index.matched(query));
+    }
+
+    @Test
+    public void testSmallRange() {
+        this.edges = allEdges.subList(0, 50);
+        SuperNodeIndex.Range range = new SuperNodeIndex.Range(
+                                     OWNER, Directions.OUT, LABEL);
+        Assert.assertEquals(50L, this.index.build(range, this.fetcher()));
+        Assert.assertEquals(-1L, this.degree());
+        Assert.assertEquals(0, this.index.size());
+        Assert.assertFalse(this.index.matched(this.offsetQuery(30L)));
+
+        // The changed range may grow to a super node
+        this.index.changed(ImmutableList.of(this.edges.get(0)));
+        Assert.assertTrue(this.index.matched(this.offsetQuery(30L)));
+    }
+
+    @Test
+    public void testChanged() {
+        SuperNodeIndex.Range range = new SuperNodeIndex.Range(
+                                     OWNER, Directions.OUT, LABEL);
+        this.index.build(range, this.fetcher());
+        Assert.assertTrue(this.index.matched(this.sampleQuery(10L)));
+
+        // The offsets of blocks are not exact after changed
+        this.index.changed(ImmutableList.of(this.edges.get(0)));
+        Assert.assertTrue(this.index.matched(this.sampleQuery(10L)));
+        Query query = this.offsetQuery(150L);
+        Assert.assertEquals(this.edges.get(150), this.first(query));
+        Assert.assertEquals(0L, query.actualOffset());
+
+        // Too many changes to sample
+        this.index.build(range, this.fetcher());
+        for (int i = 0; i <= BLOCK_SIZE; i++) {
+            this.index.changed(ImmutableList.of(this.edges.get(i)));
+        }
+        Assert.assertEquals(0, this.index.size());
+        Assert.assertFalse(this.index.matched(this.sampleQuery(10L)));
+
+        this.index.build(range, this.fetcher());
+        Assert.assertEquals(1, this.index.size());
+        this.index.clear();
+        Assert.assertEquals(0, this.index.size());
+    }
+
+    private long degree() {
+        return this.index.degree(OWNER, Directions.OUT, LABEL);
+    }
+
+    private Query offsetQuery(long offset) {
+        Query query = GraphTransaction.constructEdgesQuery(OWNER,
+                                                           Directions.OUT,
+                                                           LABEL);
+        query.offset(offset);
+        return query;
+    }
+
+    private Query sampleQuery(long limit) {
+        Query query = GraphTransaction.constructEdgesQuery(OWNER,
+                                                           Directions.OUT,
+                                                           LABEL);
+        query.limit(limit);
+        query.sampling(true);
+        return query;
+    }
+
+    private HugeEdge first(Query query) {
+        Iterator<HugeEdge> iter = this.index.query(query, this.fetcher());
+        // Skip the rest of offset like the transaction
+        for (long i = query.actualOffset(); i < query.offset(); i++) {
+            iter.next();
+        }
+        HugeEdge edge = iter.next();
+        // Drain the iterator to record the following blocks
+        this.list(iter);
+        return edge;
+    }
+
+    private List<HugeEdge> list(Iterator<HugeEdge> iter) {
+        List<HugeEdge> list = new ArrayList<>();
+        iter.forEachRemaining(list::add);
+        return list;
+    }
+
+    private Function<Query, Iterator<HugeEdge>> fetcher() {
+        return query -> {
+            String page = query.page();
+            int start = page.isEmpty() ? 0 : Integer.parseInt(page);
+            int end = (int) Math.min(this.edges.size(), start + query.limit());
+            this.fetched += end - start;
+            return new PageIterator(this.edges.subList(start, end).iterator(),
+                                    end < this.edges.size() ?
+                                    String.valueOf(end) : null);
+        };
+    }
+
+    private static class PageIterator implements Iterator<HugeEdge>,
+                                                 Metadatable {
+
+        private final Iterator<HugeEdge> edges;
+        private final String page;
+
+        public PageIterator(Iterator<HugeEdge> edges, String page) {
+            this.edges = edges;
+            this.page = page;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.edges.hasNext();
+        }
+
+        @Override
+        public HugeEdge next() {
+            return this.edges.next();
+        }
+
+        @Override
+        public Object metadata(String meta, Object... args) {
+            Assert.assertEquals(PageInfo.PAGE, meta);
+            return this.page;
+        }
+    }
+}
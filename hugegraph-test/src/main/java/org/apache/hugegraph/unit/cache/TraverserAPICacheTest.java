@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.unit.cache;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.hugegraph.HugeFactory;
+import org.apache.hugegraph.HugeGraph;
+import org.apache.hugegraph.HugeGraphParams;
+import org.apache.hugegraph.api.traversers.TraverserAPI;
+import org.apache.hugegraph.auth.HugeAuthenticator.User;
+import org.apache.hugegraph.auth.HugeGraphAuthProxy;
+import org.apache.hugegraph.auth.HugePermission;
+import org.apache.hugegraph.auth.RolePermission;
+import org.apache.hugegraph.task.TaskManager;
+import org.apache.hugegraph.testutil.Assert;
+import org.apache.hugegraph.testutil.Whitebox;
+import org.apache.hugegraph.traversal.algorithm.TraverserResultCache;
+import org.apache.hugegraph.unit.BaseUnitTest;
+import org.apache.hugegraph.unit.FakeObjects;
+import com.google.common.collect.ImmutableList;
+
+public class TraverserAPICacheTest extends BaseUnitTest {
+
+    private HugeGraph graph;
+    private TraverserResultCache cache;
+    private AtomicInteger computed;
+
+    @Before
+    public void setup() {
+        this.graph = HugeFactory.open(FakeObjects.newConfig());
+        HugeGraphParams params = Whitebox.getInternalState(this.graph,
+                                                           "params");
+        this.cache = TraverserResultCache.open(this.graph.name(),
+                                               params.graphEventHub(),
+                                               100L, 60L, 100L);
+        this.computed = new AtomicInteger();
+    }
+
+    @After
+    public void teardown() throws Exception {
+        Whitebox.invokeStatic(TaskManager.class, "resetContext");
+        TraverserResultCache.close(this.graph.name());
+        this.graph.close();
+    }
+
+    @Test
+    public void testCachedResultByUsers() {
+        HugeGraph proxy = new HugeGraphAuthProxy(this.graph);
+        RolePermission reader = RolePermission.role(this.graph.name(),
+                                                    HugePermission.READ);
+        User admin1 = new User("admin1", RolePermission.admin());
+        User admin2 = new User("admin2", RolePermission.admin());
+        User reader1 = new User("admin1", reader);
+
+        Assert.assertEquals("admin1", this.kout(proxy, admin1));
+        Assert.assertEquals("admin2", this.kout(proxy, admin2));
+        // The same user with another role
+        Assert.assertEquals("admin1", this.kout(proxy, reader1));
+        Assert.assertEquals(3, this.computed.get());
+
+        Assert.assertEquals("admin1", this.kout(proxy, admin1));
+        Assert.assertEquals("admin2", this.kout(proxy, admin2));
+        Assert.assertEquals("admin1", this.kout(proxy, reader1));
+        Assert.assertEquals(3, this.computed.get());
+        Assert.assertEquals(3L, this.cache.size());
+    }
+
+    @Test
+    public void testCachedResultWithoutAuth() {
+        // Shared by all the requests if authentication is not enabled
+        User admin2 = new User("admin2", RolePermission.admin());
+        Assert.assertEquals("admin", this.kout(this.graph, User.ADMIN));
+        Assert.assertEquals("admin", this.kout(this.graph, admin2));
+        Assert.assertEquals(1, this.computed.get());
+    }
+
+    private String kout(HugeGraph graph, User user) {
+        Whitebox.invokeStatic(TaskManager.class, new Class<?>[]{String.class},
+                              "setContext", user.toJson());
+        Supplier<String> computer = () -> {
+            this.computed.incrementAndGet();
+            // The result depends on the permissions of the user
+            return user.username();
+        };
+        ToLongFunction<String> sizer = result -> 1L;
+        return Whitebox.invokeStatic(TraverserAPI.class,
+                                     new Class<?>[]{HugeGraph.class,
+                                                    String.class, List.class,
+                                                    Collection.class,
+                                                    Supplier.class,
+                                                    ToLongFunction.class},
+                                     "cachedResult", graph, "kout",
+                                     ImmutableList.of(1, "knows"), null,
+                                     computer, sizer);
+    }
+}
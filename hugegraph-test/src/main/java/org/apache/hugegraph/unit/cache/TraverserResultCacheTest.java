@@ -0,0 +1,251 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.unit.cache;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.hugegraph.HugeFactory;
+import org.apache.hugegraph.HugeGraph;
+import org.apache.hugegraph.HugeGraphParams;
+import org.apache.hugegraph.backend.cache.CachedGraphTransaction;
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.id.IdGenerator;
+import org.apache.hugegraph.schema.VertexLabel;
+import org.apache.hugegraph.structure.HugeVertex;
+import org.apache.hugegraph.testutil.Assert;
+import org.apache.hugegraph.testutil.Whitebox;
+import org.apache.hugegraph.traversal.algorithm.TraverserResultCache;
+import org.apache.hugegraph.type.HugeType;
+import org.apache.hugegraph.type.define.IdStrategy;
+import org.apache.hugegraph.unit.BaseUnitTest;
+import org.apache.hugegraph.unit.FakeObjects;
+import org.apache.hugegraph.util.Events;
+import com.google.common.collect.ImmutableList;
+
+public class TraverserResultCacheTest extends BaseUnitTest {
+
+    private static final Id KNOWS = IdGenerator.of(1L);
+    private static final Id CREATED = IdGenerator.of(2L);
+
+    private HugeGraph graph;
+    private HugeGraphParams params;
+    private TraverserResultCache cache;
+    private AtomicInteger computed;
+
+    @Before
+    public void setup() {
+        this.graph = HugeFactory.open(FakeObjects.newConfig());
+        this.params = Whitebox.getInternalState(this.graph, "params");
+        this.cache = TraverserResultCache.open(this.graph.name(),
+                                               this.params.graphEventHub(),
+                                               100L, 60L, 3L);
+        this.computed = new AtomicInteger();
+    }
+
+    @After
+    public void teardown() throws Exception {
+        TraverserResultCache.close(this.graph.name());
+        this.graph.clearBackend();
+        this.graph.close();
+    }
+
+    @Test
+    public void testGetOrCompute() {
+        Assert.assertSame(this.cache, TraverserResultCache.of(this.graph));
+
+        Assert.assertEquals(ImmutableList.of(1), this.kout(1, KNOWS));
+        Assert.assertEquals(ImmutableList.of(1), this.kout(1, KNOWS));
+        Assert.assertEquals(ImmutableList.of(2), this.kout(2, KNOWS));
+        Assert.assertEquals(2, this.computed.get());
+        Assert.assertEquals(2L, this.cache.size());
+
+        Assert.assertEquals(1L, this.cache.hits("kout"));
+        Assert.assertEquals(2L, this.cache.miss("kout"));
+        Assert.assertEquals(1D / 3D, this.cache.hitRate("kout"), 0.0001D);
+        Assert.assertEquals(0L, this.cache.hits("kneighbor"));
+        Assert.assertEquals(0D, this.cache.hitRate("kneighbor"), 0D);
+        Assert.assertEquals(ImmutableList.of("kout"),
+                            ImmutableList.copyOf(this.cache.apis()));
+    }
+
+    @Test
+    public void testInvalidateByLabel() {
+        this.kout(1, KNOWS);
+        this.kout(2, CREATED);
+        this.kout(3, null);
+        Assert.assertEquals(3, this.computed.get());
+
+        // Only the results of the label and all labels are stale
+        this.cache.invalidate(KNOWS);
+        this.kout(1, KNOWS);
+        this.kout(2, CREATED);
+        this.kout(3, null);
+        Assert.assertEquals(5, this.computed.get());
+
+        this.cache.invalidate(CREATED);
+        this.kout(1, KNOWS);
+        this.kout(2, CREATED);
+        Assert.assertEquals(6, this.computed.get());
+
+        this.cache.clear();
+        Assert.assertEquals(0L, this.cache.size());
+        this.kout(1, KNOWS);
+        Assert.assertEquals(7, this.computed.get());
+    }
+
+    @Test
+    public void testGetOrComputeByUsers() {
+        Assert.assertEquals(ImmutableList.of(1, 1), this.kout("a", 1, KNOWS));
+        Assert.assertEquals(ImmutableList.of(1, 2), this.kout("bb", 1, KNOWS));
+        Assert.assertEquals(ImmutableList.of(1), this.kout(1, KNOWS));
+        Assert.assertEquals(3, this.computed.get());
+
+        // Each user hits the result of its own
+        Assert.assertEquals(ImmutableList.of(1, 1), this.kout("a", 1, KNOWS));
+        Assert.assertEquals(ImmutableList.of(1, 2), this.kout("bb", 1, KNOWS));
+        Assert.assertEquals(ImmutableList.of(1), this.kout(1, KNOWS));
+        Assert.assertEquals(3, this.computed.get());
+        Assert.assertEquals(3L, this.cache.hits("kout"));
+
+        // The results of all users are stale if the label is written
+        this.cache.invalidate(KNOWS);
+        this.kout("a", 1, KNOWS);
+        this.kout("bb", 1, KNOWS);
+        Assert.assertEquals(5, this.computed.get());
+    }
+
+    @Test
+    public void testResultLargerThanMaxSize() {
+        Supplier<List<Integer>> computer = () -> {
+            this.computed.incrementAndGet();
+            return ImmutableList.of(1, 2, 3, 4);
+        };
+        List<Object> request = ImmutableList.of("large");
+        this.cache.getOrCompute("kout", null, request,
+                                ImmutableList.of(KNOWS), computer, List::size);
+        this.cache.getOrCompute("kout", null, request,
+                                ImmutableList.of(KNOWS), computer, List::size);
+        Assert.assertEquals(2, this.computed.get());
+        Assert.assertEquals(0L, this.cache.size());
+    }
+
+    @Test
+    public void testEventInvalidAndClear() throws Exception {
+        this.kout(1, KNOWS);
+        this.kout(2, CREATED);
+
+        // Invalidated by other nodes
+        this.params.graphEventHub().notify(Events.CACHE, "invalid",
+                                           HugeType.EDGE_LABEL,
+                                           new Id[]{KNOWS}).get();
+        this.kout(1, KNOWS);
+        this.kout(2, CREATED);
+        Assert.assertEquals(3, this.computed.get());
+
+        // Ignore the events of other types
+        this.params.graphEventHub().notify(Events.CACHE, "invalid",
+                                           HugeType.VERTEX, CREATED).get();
+        this.params.graphEventHub().notify(Events.CACHE, "clear",
+                                           HugeType.EDGE).get();
+        this.kout(2, CREATED);
+        Assert.assertEquals(3, this.computed.get());
+
+        this.params.graphEventHub().notify(Events.CACHE, "clear", null).get();
+        this.kout(1, KNOWS);
+        this.kout(2, CREATED);
+        Assert.assertEquals(5, this.computed.get());
+    }
+
+    @Test
+    public void testInvalidateByCommitEdges() {
+        this.graph.schema().vertexLabel("person")
+                  .idStrategy(IdStrategy.CUSTOMIZE_NUMBER)
+                  .create();
+        this.graph.schema().edgeLabel("knows")
+                  .sourceLabel("person").targetLabel("person")
+                  .create();
+        this.graph.schema().edgeLabel("likes")
+                  .sourceLabel("person").targetLabel("person")
+                  .create();
+        Id knows = this.graph.edgeLabel("knows").id();
+        Id likes = this.graph.edgeLabel("likes").id();
+        VertexLabel person = this.graph.vertexLabel("person");
+
+        CachedGraphTransaction tx = new CachedGraphTransaction(
+                                    this.params, this.params.loadGraphStore());
+        try {
+            HugeVertex v1 = new HugeVertex(this.graph, IdGenerator.of(1),
+                                           person);
+            HugeVertex v2 = new HugeVertex(this.graph, IdGenerator.of(2),
+                                           person);
+            tx.addVertex(v1);
+            tx.addVertex(v2);
+            tx.commit();
+
+            this.kout(1, knows);
+            this.kout(2, likes);
+            Assert.assertEquals(2, this.computed.get());
+
+            // Adding vertices doesn't affect the results
+            tx.addVertex(new HugeVertex(this.graph, IdGenerator.of(3),
+                                        person));
+            tx.commit();
+            this.kout(1, knows);
+            this.kout(2, likes);
+            Assert.assertEquals(2, this.computed.get());
+
+            tx.addEdge(v1.addEdge("knows", v2));
+            tx.commit();
+            this.kout(1, knows);
+            this.kout(2, likes);
+            Assert.assertEquals(3, this.computed.get());
+
+            // The edges of removed vertices may be of any label
+            tx.removeVertex(v2);
+            tx.commit();
+            this.kout(1, knows);
+            this.kout(2, likes);
+            Assert.assertEquals(5, this.computed.get());
+        } finally {
+            tx.close();
+        }
+    }
+
+    private List<Integer> kout(int source, Id label) {
+        return this.kout(null, source, label);
+    }
+
+    private List<Integer> kout(String user, int source, Id label) {
+        List<Object> request = ImmutableList.of(source,
+                                                String.valueOf(label));
+        List<Id> labels = label == null ? ImmutableList.of() :
+                          ImmutableList.of(label);
+        return this.cache.getOrCompute("kout", user, request, labels, () -> {
+            this.computed.incrementAndGet();
+            // The result depends on the permissions of the user
+            return user == null ? ImmutableList.of(source) :
+                   ImmutableList.of(source, user.length());
+        }, List::size);
+    }
+}
@@ -17,7 +17,12 @@
 
 package org.apache.hugegraph.unit.cassandra;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.hugegraph.config.OptionSpace;
 import org.apache.commons.configuration2.Configuration;
@@ -25,12 +30,20 @@ import org.apache.commons.configuration2.PropertiesConfiguration;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.Mockito;
 
 import org.apache.hugegraph.backend.store.cassandra.CassandraOptions;
+import org.apache.hugegraph.backend.store.cassandra.CassandraSessionPool;
 import org.apache.hugegraph.backend.store.cassandra.CassandraStore;
 import org.apache.hugegraph.config.HugeConfig;
 import org.apache.hugegraph.testutil.Assert;
 import org.apache.hugegraph.testutil.Whitebox;
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.SimpleStatement;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.exceptions.WriteTimeoutException;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 
@@ -192,4 +205,132 @@ public class CassandraTest {
             Whitebox.invokeStatic(CassandraStore.class, "parseReplica", config);
         });
     }
+
+    @Test
+    public void testCommitWithLoggedBatch() {
+        com.datastax.driver.core.Session driver = Mockito.mock(
+                com.datastax.driver.core.Session.class);
+        CassandraSessionPool.Session session = newSession(driver, "logged");
+        Assert.assertFalse(session.unloggedBatch());
+
+        session.add(new SimpleStatement("s1"), "t1", key(1));
+        session.add(new SimpleStatement("s2"), "t1", key(2));
+        session.add(new SimpleStatement("s3"));
+        session.commit();
+
+        Mockito.verify(driver).execute(Mockito.any(BatchStatement.class));
+        Mockito.verify(driver, Mockito.never())
+               .executeAsync(Mockito.any(Statement.class));
+        Assert.assertFalse(session.hasChanges());
+    }
+
+    @Test
+    public void testCommitWithUnloggedBatchGroupedByPartition() {
+        com.datastax.driver.core.Session driver = Mockito.mock(
+                com.datastax.driver.core.Session.class);
+        List<Statement> executed = new ArrayList<>();
+        AtomicInteger inflight = new AtomicInteger();
+        AtomicInteger maxInflight = new AtomicInteger();
+        Mockito.when(driver.executeAsync(Mockito.any(Statement.class)))
+               .thenAnswer(invocation -> {
+                   executed.add(invocation.getArgument(0));
+                   maxInflight.accumulateAndGet(inflight.incrementAndGet(),
+                                                Math::max);
+                   return future(() -> {
+                       inflight.decrementAndGet();
+                       return Mockito.mock(ResultSet.class);
+                   });
+               });
+        CassandraSessionPool.Session session = newSession(driver, "unlogged");
+        Assert.assertTrue(session.unloggedBatch());
+
+        Statement single = new SimpleStatement("s0");
+        session.add(new SimpleStatement("s1"), "t1", key(1));
+        session.add(new SimpleStatement("s2"), "t1", key(2));
+        session.add(new SimpleStatement("s3"), "t1", key(1));
+        session.add(single);
+        session.add(new SimpleStatement("s4"), "t2", key(1));
+        session.add(new SimpleStatement("s5"), "t1", key(1));
+        Assert.assertEquals(6, session.statements().size());
+        session.commit();
+
+        // The batch size is 2 and 2 batches are executed at most at a time
+        Assert.assertEquals(5, executed.size());
+        Assert.assertEquals(2, maxInflight.get());
+        Assert.assertEquals(0, inflight.get());
+        assertBatch(executed.get(0), key(1), "s1", "s3");
+        assertBatch(executed.get(1), key(1), "s5");
+        assertBatch(executed.get(2), key(2), "s2");
+        Assert.assertSame(single, executed.get(3));
+        assertBatch(executed.get(4), key(1), "s4");
+        Assert.assertFalse(session.hasChanges());
+
+        executed.clear();
+        session.commit();
+        Assert.assertEquals(0, executed.size());
+    }
+
+    @Test
+    public void testCommitWithUnloggedBatchFailed() {
+        com.datastax.driver.core.Session driver = Mockito.mock(
+                com.datastax.driver.core.Session.class);
+        Mockito.when(driver.executeAsync(Mockito.any(Statement.class)))
+               .thenAnswer(invocation -> future(() -> {
+                   throw Mockito.mock(WriteTimeoutException.class);
+               }));
+        CassandraSessionPool.Session session = newSession(driver, "unlogged");
+
+        session.add(new SimpleStatement("s1"), "t1", key(1));
+        session.add(new SimpleStatement("s2"), "t1", key(2));
+        Assert.assertThrows(WriteTimeoutException.class, () -> {
+            session.commit();
+        });
+        // Retained if failed
+        Assert.assertTrue(session.hasChanges());
+
+        session.rollback();
+        Assert.assertFalse(session.hasChanges());
+    }
+
+    private static CassandraSessionPool.Session newSession(
+                   com.datastax.driver.core.Session driver, String mode) {
+        Configuration conf = new PropertiesConfiguration();
+        conf.setProperty(CassandraOptions.CASSANDRA_BATCH_MODE.name(), mode);
+        conf.setProperty(CassandraOptions.CASSANDRA_BATCH_SIZE.name(), 2);
+        conf.setProperty(CassandraOptions.CASSANDRA_MAX_INFLIGHT.name(), 2);
+        HugeConfig config = new HugeConfig(conf);
+
+        CassandraSessionPool pool = new CassandraSessionPool(config, "ks",
+                                                             "store");
+        CassandraSessionPool.Session session = pool.new Session();
+        Whitebox.setInternalState(session, "session", driver);
+        return session;
+    }
+
+    private static ResultSetFuture future(
+                   Callable<ResultSet> result)
+                   throws Exception {
+        ResultSetFuture future = Mockito.mock(ResultSetFuture.class);
+        Mockito.when(future.getUninterruptibly())
+               .thenAnswer(invocation -> result.call());
+        return future;
+    }
+
+    private static void assertBatch(Statement statement, ByteBuffer key,
+                                    String... statements) {
+        Assert.assertTrue(statement instanceof BatchStatement);
+        BatchStatement batch = (BatchStatement) statement;
+        Assert.assertEquals(BatchStatement.Type.UNLOGGED,
+                            Whitebox.getInternalState(batch, "batchType"));
+        Assert.assertEquals(key, batch.getRoutingKey(null, null));
+        List<String> queries = new ArrayList<>();
+        for (Statement s : batch.getStatements()) {
+            queries.add(((SimpleStatement) s).getQueryString());
+        }
+        Assert.assertEquals(ImmutableList.copyOf(statements), queries);
+    }
+
+    private static ByteBuffer key(int key) {
+        return ByteBuffer.wrap(new byte[]{(byte) key});
+    }
 }
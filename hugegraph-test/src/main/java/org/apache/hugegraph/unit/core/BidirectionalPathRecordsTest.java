@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.unit.core;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.id.IdGenerator;
+import org.apache.hugegraph.testutil.Assert;
+import org.apache.hugegraph.traversal.algorithm.HugeTraverser;
+import org.apache.hugegraph.traversal.algorithm.HugeTraverser.Path;
+import org.apache.hugegraph.traversal.algorithm.HugeTraverser.PathSet;
+import org.apache.hugegraph.traversal.algorithm.records.BidirectionalPathRecords;
+import org.apache.hugegraph.type.define.CollectionType;
+import org.apache.hugegraph.util.collection.CollectionFactory;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+public class BidirectionalPathRecordsTest {
+
+    private static final Id S = IdGenerator.of("s");
+    private static final Id A = IdGenerator.of("a");
+    private static final Id B = IdGenerator.of("b");
+    private static final Id C = IdGenerator.of("c");
+    private static final Id T = IdGenerator.of("t");
+
+    @BeforeClass
+    public static void init() throws ReflectiveOperationException {
+        // PathSet needs the collection factory inited by traversers
+        Field field = HugeTraverser.class.getDeclaredField(
+                                           "collectionFactory");
+        field.setAccessible(true);
+        if (field.get(null) == null) {
+            field.set(null, new CollectionFactory(CollectionType.EC));
+        }
+    }
+
+    @Test
+    public void testMeetFromBothSides() {
+        // s -> a -> t, s -> b -> t
+        BidirectionalPathRecords records = new BidirectionalPathRecords(S, T);
+        int s = records.code(S);
+        records.addNode(true, s, records.code(A), true);
+        records.addNode(true, s, records.code(B), true);
+        records.expanded(true, 2L);
+        records.finishOneLayer(true);
+        Assert.assertEquals(2, records.frontier(true).size());
+        Assert.assertFalse(records.meetFound());
+
+        int t = records.code(T);
+        int a = records.code(A);
+        int b = records.code(B);
+        Assert.assertTrue(records.accessedBy(true, a));
+        Assert.assertFalse(records.accessedBy(false, a));
+        records.addMeet(false, t, a);
+        records.addMeet(false, t, b);
+        Assert.assertTrue(records.meetFound());
+
+        PathSet paths = records.paths(true);
+        Assert.assertEquals(ImmutableSet.of(path(S, A, T), path(S, B, T)),
+                            ImmutableSet.copyOf(paths));
+        Assert.assertEquals(1, records.paths(false).size());
+        Assert.assertEquals(4L, records.accessed());
+    }
+
+    @Test
+    public void testAllPathsWithMultiParents() {
+        // s -> a -> c -> t, s -> b -> c -> t
+        BidirectionalPathRecords records = new BidirectionalPathRecords(S, T);
+        int s = records.code(S);
+        int a = records.code(A);
+        int b = records.code(B);
+        int c = records.code(C);
+        records.addNode(true, s, a, true);
+        records.addNode(true, s, b, true);
+        records.finishOneLayer(true);
+        records.addNode(true, a, c, true);
+        records.addNode(true, b, c, true);
+        // The vertex of a previous layer is not linked again
+        records.addNode(true, a, b, true);
+        records.finishOneLayer(true);
+        Assert.assertEquals(1, records.frontier(true).size());
+
+        records.addMeet(true, c, records.code(T));
+        Assert.assertEquals(ImmutableSet.of(path(S, A, C, T),
+                                            path(S, B, C, T)),
+                            ImmutableSet.copyOf(records.paths(true)));
+
+        // Only link the first parent if not all
+        records = new BidirectionalPathRecords(S, T);
+        s = records.code(S);
+        a = records.code(A);
+        b = records.code(B);
+        c = records.code(C);
+        records.addNode(true, s, a, false);
+        records.addNode(true, s, b, false);
+        records.finishOneLayer(true);
+        records.addNode(true, a, c, false);
+        records.addNode(true, b, c, false);
+        records.finishOneLayer(true);
+        records.addMeet(true, c, records.code(T));
+        Assert.assertEquals(ImmutableSet.of(path(S, A, C, T)),
+                            ImmutableSet.copyOf(records.paths(true)));
+    }
+
+    @Test
+    public void testCost() {
+        BidirectionalPathRecords records = new BidirectionalPathRecords(S, T);
+        // Use the default degree before expanded
+        Assert.assertEquals(10D, records.cost(true, 10D), 0D);
+        Assert.assertEquals(1D, records.cost(false, 0.5D), 0D);
+
+        int s = records.code(S);
+        records.addNode(true, s, records.code(A), false);
+        records.addNode(true, s, records.code(B), false);
+        records.addNode(true, s, records.code(C), false);
+        records.expanded(true, 3L);
+        records.finishOneLayer(true);
+        // 3 vertices in frontier with observed degree 3
+        Assert.assertEquals(9D, records.cost(true, 10D), 0D);
+
+        records.finishOneLayer(false);
+        Assert.assertEquals(0D, records.cost(false, 10D), 0D);
+    }
+
+    @Test
+    public void testSuperNode() {
+        BidirectionalPathRecords records = new BidirectionalPathRecords(S, T);
+        int a = records.code(A);
+        int b = records.code(B);
+        AtomicInteger checked = new AtomicInteger();
+        Assert.assertTrue(records.superNode(a, code -> {
+            checked.incrementAndGet();
+            return true;
+        }));
+        Assert.assertTrue(records.superNode(a, code -> {
+            checked.incrementAndGet();
+            return false;
+        }));
+        Assert.assertFalse(records.superNode(b, code -> {
+            checked.incrementAndGet();
+            return false;
+        }));
+        Assert.assertEquals(2, checked.get());
+    }
+
+    @Test
+    public void testSameSourceAndTarget() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            new BidirectionalPathRecords(S, S);
+        });
+    }
+
+    private static Path path(Id... ids) {
+        return new Path(ImmutableList.copyOf(ids));
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.unit.core;
+
+import java.util.List;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.hugegraph.HugeFactory;
+import org.apache.hugegraph.HugeGraph;
+import org.apache.hugegraph.auth.HugeAuthenticator.User;
+import org.apache.hugegraph.auth.HugeGraphAuthProxy;
+import org.apache.hugegraph.auth.HugePermission;
+import org.apache.hugegraph.auth.HugeResource;
+import org.apache.hugegraph.auth.RolePermission;
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.id.IdGenerator;
+import org.apache.hugegraph.backend.query.Aggregate;
+import org.apache.hugegraph.backend.query.Query;
+import org.apache.hugegraph.backend.tx.GraphTransaction;
+import org.apache.hugegraph.schema.SchemaManager;
+import org.apache.hugegraph.task.TaskManager;
+import org.apache.hugegraph.testutil.Assert;
+import org.apache.hugegraph.testutil.Whitebox;
+import org.apache.hugegraph.traversal.optimize.HugeDegreeCountStep;
+import org.apache.hugegraph.type.define.Directions;
+import org.apache.hugegraph.unit.BaseUnitTest;
+import org.apache.hugegraph.unit.FakeObjects;
+
+public class DegreeCounterTest extends BaseUnitTest {
+
+    private HugeGraph graph;
+
+    @Before
+    public void setup() {
+        this.graph = HugeFactory.open(FakeObjects.newConfig());
+        this.graph.clearBackend();
+        this.graph.initBackend();
+
+        SchemaManager schema = this.graph.schema();
+        schema.propertyKey("weight").asInt().create();
+        schema.vertexLabel("node").useCustomizeNumberId().create();
+        schema.edgeLabel("link").sourceLabel("node").targetLabel("node")
+              .properties("weight").nullableKeys("weight").create();
+        schema.edgeLabel("knows").sourceLabel("node").targetLabel("node")
+              .create();
+        for (int i = 1; i <= 5; i++) {
+            this.graph.addVertex(T.id, i, T.label, "node");
+        }
+        this.addEdge(1, "link", 2);
+        this.addEdge(1, "link", 3);
+        this.addEdge(1, "knows", 4);
+        this.addEdge(2, "link", 1);
+        this.addEdge(5, "knows", 1);
+        this.graph.tx().commit();
+    }
+
+    @After
+    public void teardown() throws Exception {
+        this.graph.close();
+    }
+
+    @Test
+    public void testQueryDegree() {
+        Assert.assertTrue(this.graph.backendStoreFeatures()
+                                    .supportsDegreeCounter());
+        Assert.assertEquals(3L, this.degree(1, Directions.OUT));
+        Assert.assertEquals(2L, this.degree(1, Directions.IN));
+        Assert.assertEquals(5L, this.degree(1, Directions.BOTH));
+        Assert.assertEquals(2L, this.degree(1, Directions.OUT, "link"));
+        Assert.assertEquals(3L, this.degree(1, Directions.BOTH, "link"));
+        Assert.assertEquals(2L, this.degree(1, Directions.BOTH, "knows"));
+        Assert.assertEquals(5L, this.degree(1, Directions.BOTH,
+                                            "link", "knows"));
+        Assert.assertEquals(0L, this.degree(3, Directions.OUT));
+        Assert.assertEquals(1L, this.degree(3, Directions.IN));
+    }
+
+    @Test
+    public void testCountByDegreeStep() {
+        GraphTraversalSource g = this.graph.traversal();
+        Assert.assertEquals(3L, this.count(g.V(1).outE()));
+        Assert.assertEquals(3L, this.count(g.V(1).bothE("link")));
+        Assert.assertEquals(2L, this.count(g.V(1).inE("link", "knows")));
+        // Sum the degrees of the vertices
+        Assert.assertEquals(4L, this.count(g.V(1, 2).outE()));
+        Assert.assertEquals(10L, this.count(g.V().bothE()));
+
+        // Not replaced if the edges are filtered
+        Traversal.Admin<?, ?> traversal = g.V(1).outE().has("weight", 1)
+                                           .count().asAdmin();
+        traversal.applyStrategies();
+        Assert.assertFalse(this.replaced(traversal));
+    }
+
+    @Test
+    public void testCountWithAuth() {
+        HugeGraph proxy = new HugeGraphAuthProxy(this.graph);
+        // The user can read all the edges and execute gremlin
+        RolePermission role = RolePermission.role(this.graph.name(),
+                                                  HugePermission.READ);
+        Whitebox.invoke(RolePermission.class,
+                        new Class<?>[]{String.class, HugePermission.class,
+                                       List.class},
+                        "add", role, this.graph.name(),
+                        HugePermission.EXECUTE, HugeResource.ALL_RES);
+        User user = new User("user1", role);
+        Whitebox.invokeStatic(TaskManager.class, new Class<?>[]{String.class},
+                              "setContext", user.toJson());
+        try {
+            // The edges are filtered by the permissions instead of counted
+            Traversal.Admin<?, ?> traversal = proxy.traversal().V(1).outE()
+                                                   .count().asAdmin();
+            traversal.applyStrategies();
+            Assert.assertFalse(this.replaced(traversal));
+            Assert.assertEquals(3L, traversal.next());
+        } finally {
+            Whitebox.invokeStatic(TaskManager.class, "resetContext");
+        }
+    }
+
+    @Test
+    public void testUpdateEdges() {
+        // Overwrite the existing edge with properties
+        this.addEdge(1, "link", 2).property("weight", 1);
+        this.graph.tx().commit();
+        Assert.assertEquals(3L, this.degree(1, Directions.OUT));
+        Assert.assertEquals(1L, this.degree(2, Directions.IN));
+
+        this.addEdge(3, "link", 1);
+        this.graph.tx().commit();
+        Assert.assertEquals(1L, this.degree(3, Directions.OUT));
+        Assert.assertEquals(3L, this.degree(1, Directions.IN));
+
+        this.graph.vertex(1).edges(Direction.OUT, "link")
+                  .forEachRemaining(Edge::remove);
+        this.graph.tx().commit();
+        Assert.assertEquals(1L, this.degree(1, Directions.OUT));
+        Assert.assertEquals(0L, this.degree(2, Directions.IN));
+        Assert.assertEquals(1L, this.degree(3, Directions.BOTH));
+
+        // The edges are removed with the vertex
+        this.graph.vertex(1).remove();
+        this.graph.tx().commit();
+        Assert.assertEquals(0L, this.degree(1, Directions.BOTH));
+        Assert.assertEquals(0L, this.degree(2, Directions.OUT));
+        Assert.assertEquals(0L, this.degree(3, Directions.OUT));
+        Assert.assertEquals(0L, this.degree(5, Directions.OUT));
+    }
+
+    @Test
+    public void testCountWithUncommittedEdges() {
+        this.addEdge(1, "knows", 5);
+        this.graph.vertex(1).edges(Direction.OUT, "link")
+                  .forEachRemaining(Edge::remove);
+        // Count the edges merged with the uncommitted records
+        Assert.assertEquals(2L, this.degree(1, Directions.OUT));
+        Assert.assertEquals(2L, this.count(this.graph.traversal().V(1)
+                                               .outE()));
+        this.graph.tx().rollback();
+        Assert.assertEquals(3L, this.degree(1, Directions.OUT));
+    }
+
+    @Test
+    public void testCountEdgesWithTtl() {
+        this.graph.schema().edgeLabel("expired")
+                  .sourceLabel("node").targetLabel("node")
+                  .ttl(1000L).create();
+        this.addEdge(1, "expired", 2);
+        this.graph.tx().commit();
+
+        Id expired = this.graph.edgeLabel("expired").id();
+        Id link = this.graph.edgeLabel("link").id();
+        Assert.assertFalse(GraphTransaction.degreeCountable(this.graph));
+        Assert.assertFalse(GraphTransaction.degreeCountable(this.graph,
+                                                            expired));
+        Assert.assertTrue(GraphTransaction.degreeCountable(this.graph, link));
+        // Count by scanning the edges which are not expired
+        Assert.assertEquals(4L, this.degree(1, Directions.OUT));
+        Assert.assertEquals(4L, this.count(this.graph.traversal().V(1)
+                                               .outE()));
+    }
+
+    private Edge addEdge(int source, String label, int target) {
+        Vertex v1 = this.graph.vertex(source);
+        Vertex v2 = this.graph.vertex(target);
+        return v1.addEdge(label, v2);
+    }
+
+    private long degree(int vertex, Directions direction, String... labels) {
+        Id[] labelIds = new Id[labels.length];
+        for (int i = 0; i < labels.length; i++) {
+            labelIds[i] = this.graph.edgeLabel(labels[i]).id();
+        }
+        Query query = GraphTransaction.constructEdgesQuery(
+                      IdGenerator.of(vertex), direction, labelIds);
+        query.aggregate(Aggregate.AggregateFunc.COUNT, null);
+        query.capacity(Query.NO_CAPACITY);
+        query.limit(Query.NO_LIMIT);
+        return this.graph.queryNumber(query).longValue();
+    }
+
+    private long count(GraphTraversal<?, ?> edges) {
+        Traversal.Admin<?, ?> traversal = edges.count().asAdmin();
+        traversal.applyStrategies();
+        Assert.assertTrue(this.replaced(traversal));
+        return (Long) traversal.next();
+    }
+
+    private boolean replaced(Traversal.Admin<?, ?> traversal) {
+        return traversal.getSteps().stream()
+                        .anyMatch(step -> step instanceof HugeDegreeCountStep);
+    }
+}
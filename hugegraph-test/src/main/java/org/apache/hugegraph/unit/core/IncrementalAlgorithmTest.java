@@ -0,0 +1,321 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.unit.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.hugegraph.HugeException;
+import org.apache.hugegraph.HugeFactory;
+import org.apache.hugegraph.HugeGraph;
+import org.apache.hugegraph.backend.id.IdGenerator;
+import org.apache.hugegraph.job.AlgorithmJob;
+import org.apache.hugegraph.job.JobBuilder;
+import org.apache.hugegraph.job.UserJob;
+import org.apache.hugegraph.job.algorithm.AbstractAlgorithm;
+import org.apache.hugegraph.job.algorithm.Algorithm;
+import org.apache.hugegraph.job.algorithm.EdgeChangeFeed;
+import org.apache.hugegraph.job.algorithm.IncrementalAlgoTraverser;
+import org.apache.hugegraph.job.algorithm.comm.IncrementalWeakConnectedComponent;
+import org.apache.hugegraph.job.algorithm.rank.IncrementalPageRankAlgorithm;
+import org.apache.hugegraph.schema.SchemaManager;
+import org.apache.hugegraph.task.HugeTask;
+import org.apache.hugegraph.task.TaskScheduler;
+import org.apache.hugegraph.task.TaskStatus;
+import org.apache.hugegraph.testutil.Assert;
+import org.apache.hugegraph.type.define.NodeRole;
+import org.apache.hugegraph.unit.BaseUnitTest;
+import org.apache.hugegraph.unit.FakeObjects;
+import org.apache.hugegraph.util.JsonUtil;
+import com.google.common.collect.ImmutableMap;
+
+public class IncrementalAlgorithmTest extends BaseUnitTest {
+
+    private static final long TIMEOUT = 20000L;
+
+    private HugeGraph graph;
+
+    @Before
+    public void setup() {
+        this.graph = HugeFactory.open(FakeObjects.newConfig());
+        this.graph.clearBackend();
+        this.graph.initBackend();
+        this.graph.serverStarted(IdGenerator.of("server1"), NodeRole.MASTER);
+
+        SchemaManager schema = this.graph.schema();
+        schema.vertexLabel("node").useCustomizeNumberId().create();
+        schema.edgeLabel("link").sourceLabel("node").targetLabel("node")
+              .create();
+        for (int i = 1; i <= 5; i++) {
+            this.graph.addVertex(T.id, i, T.label, "node");
+        }
+        this.addEdge(1, 2);
+        this.addEdge(3, 4);
+        this.graph.tx().commit();
+    }
+
+    @After
+    public void teardown() throws Exception {
+        this.graph.close();
+    }
+
+    @Test
+    public void testEdgeChangeFeed() throws InterruptedException {
+        try (EdgeChangeFeed feed = new EdgeChangeFeed(this.graph, 2)) {
+            this.addEdge(2, 3);
+            this.graph.tx().commit();
+
+            List<EdgeChangeFeed.Change> changes = feed.poll(1, TIMEOUT);
+            Assert.assertEquals(1, changes.size());
+            Assert.assertTrue(changes.get(0).added());
+            Assert.assertEquals(IdGenerator.of(2), changes.get(0).source());
+            Assert.assertEquals(IdGenerator.of(3), changes.get(0).target());
+
+            this.graph.vertex(2).edges(Direction.OUT)
+                      .forEachRemaining(Edge::remove);
+            this.graph.tx().commit();
+            changes = feed.poll(1, TIMEOUT);
+            Assert.assertEquals(1, changes.size());
+            Assert.assertFalse(changes.get(0).added());
+            Assert.assertEquals(IdGenerator.of(2), changes.get(0).source());
+            Assert.assertFalse(feed.checkOverflowed());
+
+            // Overflow the capacity
+            this.addEdge(1, 3);
+            this.addEdge(1, 4);
+            this.addEdge(1, 5);
+            this.graph.tx().commit();
+            waitUntil(feed::checkOverflowed);
+            Assert.assertEquals(0, feed.pending());
+        }
+    }
+
+    @Test
+    public void testIncrementalWeakConnectedComponent() {
+        HugeTask<?> task = this.schedule(
+                           new IncrementalWeakConnectedComponent(),
+                           ImmutableMap.of("max_delay", 50));
+        try {
+            waitUntil(() -> this.sameComponent(1, 2) &&
+                            this.sameComponent(3, 4) &&
+                            this.component(5) != null);
+            Assert.assertFalse(this.sameComponent(1, 3));
+            Assert.assertFalse(this.sameComponent(1, 5));
+
+            this.addEdge(2, 3);
+            this.graph.tx().commit();
+            waitUntil(() -> this.sameComponent(1, 4));
+            Assert.assertFalse(this.sameComponent(1, 5));
+
+            this.addEdge(5, 1);
+            this.graph.tx().commit();
+            waitUntil(() -> this.sameComponent(5, 3));
+        } finally {
+            this.cancel(task);
+        }
+    }
+
+    @Test
+    public void testIncrementalPageRank() {
+        double alpha = 0.15;
+        HugeTask<?> task = this.schedule(new IncrementalPageRankAlgorithm(),
+                                         ImmutableMap.of("max_delay", 50,
+                                                         "alpha", alpha,
+                                                         "precision", 0.0001,
+                                                         "times", 100));
+        try {
+            Map<Integer, int[]> edges = new HashMap<>();
+            edges.put(1, new int[]{2});
+            edges.put(3, new int[]{4});
+            waitUntil(() -> this.ranked(pageRank(edges, alpha), 0.001));
+
+            this.addEdge(2, 3);
+            this.addEdge(1, 5);
+            this.graph.tx().commit();
+            edges.put(1, new int[]{2, 5});
+            edges.put(2, new int[]{3});
+            waitUntil(() -> this.ranked(pageRank(edges, alpha), 0.001));
+
+            this.graph.vertex(1).remove();
+            this.graph.tx().commit();
+            edges.remove(1);
+            Map<Integer, Double> expected = pageRank(edges, alpha);
+            // The removed vertex is kept as a dangling vertex without edges
+            expected.remove(1);
+            waitUntil(() -> this.ranked(expected, 0.001));
+        } finally {
+            this.cancel(task);
+        }
+    }
+
+    @Test
+    public void testMaxRunningIncrementalTasks() throws TimeoutException {
+        List<HugeTask<?>> tasks = new ArrayList<>();
+        try {
+            for (int i = 0; i < IncrementalAlgoTraverser.MAX_RUNNING_TASKS;
+                 i++) {
+                tasks.add(this.schedule(new IncrementalWeakConnectedComponent(),
+                                        ImmutableMap.of("max_delay", 50)));
+            }
+            waitUntil(() -> IncrementalAlgoTraverser.runningTasks() ==
+                            IncrementalAlgoTraverser.MAX_RUNNING_TASKS);
+
+            // Fail instead of occupying one more task worker
+            HugeTask<?> task = this.schedule(new IncrementalPageRankAlgorithm(),
+                                             ImmutableMap.of("max_delay", 50));
+            task = this.graph.taskScheduler().waitUntilTaskCompleted(
+                                              task.id(), 10);
+            Assert.assertEquals(TaskStatus.FAILED, task.status());
+            Assert.assertContains("At most 2 incremental algorithm tasks " +
+                                  "can run at the same time",
+                                  task.result().toString());
+        } finally {
+            for (HugeTask<?> task : tasks) {
+                this.cancel(task);
+            }
+        }
+        Assert.assertEquals(0, IncrementalAlgoTraverser.runningTasks());
+    }
+
+    private void addEdge(int source, int target) {
+        Vertex v1 = this.graph.vertex(source);
+        Vertex v2 = this.graph.vertex(target);
+        v1.addEdge("link", v2);
+    }
+
+    private HugeTask<?> schedule(Algorithm algorithm,
+                                 Map<String, Object> parameters) {
+        algorithm.checkParameters(parameters);
+        Map<String, Object> input = new HashMap<>();
+        input.put("algorithm", algorithm.getClass().getName());
+        input.put("parameters", parameters);
+        JobBuilder<Object> builder = JobBuilder.of(this.graph);
+        builder.name("algorithm:" + algorithm.name())
+               .input(JsonUtil.toJson(input))
+               .job(new IncrementalJob());
+        return builder.schedule();
+    }
+
+    private void cancel(HugeTask<?> task) {
+        TaskScheduler scheduler = this.graph.taskScheduler();
+        // Cancel the running task instead of the scheduling one
+        scheduler.cancel(scheduler.task(task.id()));
+        try {
+            scheduler.waitUntilTaskCompleted(task.id(), 10);
+        } catch (TimeoutException e) {
+            throw new HugeException("Wait for task timeout: %s", e, task);
+        }
+    }
+
+    private Object component(int id) {
+        Vertex vertex = this.graph.vertex(id);
+        return vertex.property(AbstractAlgorithm.C_LABEL).orElse(null);
+    }
+
+    private boolean sameComponent(int id1, int id2) {
+        Object c1 = this.component(id1);
+        return c1 != null && c1.equals(this.component(id2));
+    }
+
+    private boolean ranked(Map<Integer, Double> expected, double delta) {
+        for (Map.Entry<Integer, Double> e : expected.entrySet()) {
+            Vertex vertex = this.graph.vertex(e.getKey());
+            Object rank = vertex.property(AbstractAlgorithm.R_RANK)
+                                .orElse(null);
+            if (!(rank instanceof Double) ||
+                Math.abs((Double) rank - e.getValue()) > delta) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Map<Integer, Double> pageRank(Map<Integer, int[]> edges,
+                                                 double alpha) {
+        int vertices = 5;
+        Map<Integer, Double> ranks = new HashMap<>();
+        for (int i = 1; i <= vertices; i++) {
+            ranks.put(i, 0.0);
+        }
+        for (int times = 0; times < 1000; times++) {
+            Map<Integer, Double> next = new HashMap<>();
+            for (int i = 1; i <= vertices; i++) {
+                next.put(i, alpha / vertices);
+            }
+            for (Map.Entry<Integer, int[]> e : edges.entrySet()) {
+                int[] targets = e.getValue();
+                for (int target : targets) {
+                    double value = (1 - alpha) * ranks.get(e.getKey()) /
+                                   targets.length;
+                    next.put(target, next.get(target) + value);
+                }
+            }
+            ranks = next;
+        }
+        return ranks;
+    }
+
+    private static void waitUntil(Supplier<Boolean> condition) {
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        while (!condition.get()) {
+            Assert.assertTrue("Wait timeout",
+                              System.currentTimeMillis() < deadline);
+            try {
+                Thread.sleep(50L);
+            } catch (InterruptedException e) {
+                throw new HugeException("Interrupted", e);
+            }
+        }
+    }
+
+    public static class IncrementalJob extends UserJob<Object> {
+
+        @Override
+        public String type() {
+            return AlgorithmJob.TASK_TYPE;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object execute() throws Exception {
+            /*
+             * Run the algorithm directly instead of by AlgorithmJob, the
+             * AlgorithmPool can't be loaded with assertions enabled since
+             * the V2 centrality algorithms override the names of V1
+             */
+            Map<String, Object> input = JsonUtil.fromJson(this.task().input(),
+                                                          Map.class);
+            Class<?> clazz = Class.forName((String) input.get("algorithm"));
+            Algorithm algorithm = (Algorithm) clazz.newInstance();
+            return algorithm.call(this, (Map<String, Object>)
+                                        input.get("parameters"));
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.unit.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Test;
+
+import org.apache.hugegraph.HugeFactory;
+import org.apache.hugegraph.HugeGraph;
+import org.apache.hugegraph.backend.id.IdGenerator;
+import org.apache.hugegraph.config.CoreOptions;
+import org.apache.hugegraph.config.HugeConfig;
+import org.apache.hugegraph.schema.SchemaManager;
+import org.apache.hugegraph.testutil.Assert;
+import org.apache.hugegraph.traversal.optimize.Text;
+import org.apache.hugegraph.type.define.NodeRole;
+import org.apache.hugegraph.unit.BaseUnitTest;
+import org.apache.hugegraph.unit.FakeObjects;
+
+public class ParallelIndexUpdateTest extends BaseUnitTest {
+
+    private static final int BATCH = 100;
+
+    @Test
+    public void testParallelIndexesSameAsSerial() throws Exception {
+        List<Object> serial = this.withGraph(1, this::indexResults);
+        List<Object> parallel = this.withGraph(4, this::indexResults);
+        Assert.assertEquals(serial, parallel);
+
+        // name, age, city and weight of the edges
+        Assert.assertEquals(1, ((List<?>) parallel.get(0)).size());
+        Assert.assertEquals(49, ((List<?>) parallel.get(1)).size());
+        Assert.assertEquals(50, ((List<?>) parallel.get(2)).size());
+        Assert.assertEquals(BATCH - 1, ((List<?>) parallel.get(3)).size());
+    }
+
+    @Test
+    public void testParallelUniqueConflict() throws Exception {
+        List<String> serial = this.withGraph(1, this::uniqueConflict);
+        List<String> parallel = this.withGraph(4, this::uniqueConflict);
+        Assert.assertEquals(3, parallel.size());
+        // The same batch check whether the indexes are built in parallel
+        Assert.assertEquals(serial, parallel);
+        for (String message : parallel) {
+            Assert.assertContains("Unique constraint", message);
+        }
+    }
+
+    private <R> R withGraph(int threads, Function<HugeGraph, R> func)
+                            throws Exception {
+        HugeConfig config = FakeObjects.newConfig();
+        config.addProperty(CoreOptions.INDEX_UPDATE_THREADS.name(), threads);
+        config.addProperty(CoreOptions.INDEX_UPDATE_BATCH_THRESHOLD.name(),
+                           BATCH / 2);
+        HugeGraph graph = HugeFactory.open(config);
+        try {
+            graph.clearBackend();
+            graph.initBackend();
+            graph.serverStarted(IdGenerator.of("server1"), NodeRole.MASTER);
+            this.initSchema(graph);
+            return func.apply(graph);
+        } finally {
+            graph.close();
+        }
+    }
+
+    private void initSchema(HugeGraph graph) {
+        SchemaManager schema = graph.schema();
+        schema.propertyKey("name").asText().create();
+        schema.propertyKey("age").asInt().create();
+        schema.propertyKey("city").asText().create();
+        schema.propertyKey("email").asText().create();
+        schema.propertyKey("weight").asDouble().create();
+        schema.vertexLabel("person").useCustomizeNumberId()
+              .properties("name", "age", "city", "email")
+              .nullableKeys("city", "email").create();
+        schema.indexLabel("personByName").onV("person").by("name")
+              .secondary().create();
+        schema.indexLabel("personByAge").onV("person").by("age")
+              .range().create();
+        schema.indexLabel("personByCity").onV("person").by("city")
+              .search().create();
+        schema.indexLabel("personByEmail").onV("person").by("email")
+              .unique().create();
+        schema.edgeLabel("knows").sourceLabel("person").targetLabel("person")
+              .properties("weight").create();
+        schema.indexLabel("knowsByWeight").onE("knows").by("weight")
+              .range().create();
+    }
+
+    private List<Object> indexResults(HugeGraph graph) {
+        Vertex last = null;
+        for (int i = 0; i < BATCH; i++) {
+            Vertex vertex;
+            if (i % 2 == 0) {
+                vertex = graph.addVertex(T.label, "person", T.id, i,
+                                         "name", "p" + i, "age", i,
+                                         "city", "Beijing Haidian",
+                                         "email", i + "@hugegraph.org");
+            } else {
+                // The nullable search index field is absent
+                vertex = graph.addVertex(T.label, "person", T.id, i,
+                                         "name", "p" + i, "age", i,
+                                         "email", i + "@hugegraph.org");
+            }
+            if (last != null) {
+                last.addEdge("knows", vertex, "weight", i * 0.5);
+            }
+            last = vertex;
+        }
+        graph.tx().commit();
+
+        GraphTraversalSource g = graph.traversal();
+        List<Object> results = new ArrayList<>();
+        results.add(g.V().has("name", "p7").id().toList());
+        results.add(g.V().has("age", P.gt(50)).id().order().toList());
+        results.add(g.V().has("city", Text.contains("Haidian"))
+                     .id().order().toList());
+        List<String> edges = new ArrayList<>();
+        g.E().has("weight", P.gt(0.0)).id()
+         .forEachRemaining(id -> edges.add(id.toString()));
+        edges.sort(String::compareTo);
+        results.add(edges);
+        return results;
+    }
+
+    private List<String> uniqueConflict(HugeGraph graph) {
+        graph.addVertex(T.label, "person", T.id, 0, "name", "p0", "age", 0,
+                        "email", "0@hugegraph.org");
+        graph.tx().commit();
+
+        // Conflict with the store
+        for (int i = 1; i <= BATCH; i++) {
+            graph.addVertex(T.label, "person", T.id, i, "name", "p" + i,
+                            "age", i, "email", (i % BATCH) + "@hugegraph.org");
+        }
+        List<String> messages = new ArrayList<>();
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            graph.tx().commit();
+        }, e -> messages.add(e.getMessage()));
+        graph.tx().rollback();
+
+        // Conflict inside the batch
+        for (int i = 1; i <= BATCH; i++) {
+            graph.addVertex(T.label, "person", T.id, i, "name", "p" + i,
+                            "age", i, "email", (i % 10) + "@x.org");
+        }
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            graph.tx().commit();
+        }, e -> messages.add(e.getMessage()));
+        graph.tx().rollback();
+
+        // Conflict inside a batch smaller than the parallel threshold
+        graph.addVertex(T.label, "person", T.id, 1, "name", "p1", "age", 1,
+                        "email", "1@x.org");
+        graph.addVertex(T.label, "person", T.id, 2, "name", "p2", "age", 2,
+                        "email", "1@x.org");
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            graph.tx().commit();
+        }, e -> messages.add(e.getMessage()));
+        graph.tx().rollback();
+
+        Assert.assertEquals(1L, graph.traversal().V().count().next());
+        return messages;
+    }
+}
@@ -45,6 +45,22 @@ public class QueryTest {
                             query.orders());
     }
 
+    @Test
+    public void testBulkScan() {
+        Query query = new Query(HugeType.VERTEX);
+        query.limit(Query.NO_LIMIT);
+        // The queries without limit are not bulk scans by default
+        Assert.assertFalse(query.bulkScan());
+
+        query.bulkScan(true);
+        Assert.assertTrue(query.bulkScan());
+        Assert.assertTrue(query.copy().bulkScan());
+
+        ConditionQuery cq = new ConditionQuery(HugeType.EDGE);
+        cq.copyBasic(query);
+        Assert.assertTrue(cq.bulkScan());
+    }
+
     @Test
     public void testToString() {
         Query query = new Query(HugeType.VERTEX);
@@ -20,6 +20,7 @@ package org.apache.hugegraph.unit.core;
 import org.junit.Test;
 
 import org.apache.hugegraph.HugeException;
+import org.apache.hugegraph.auth.ElementPermissionPlan;
 import org.apache.hugegraph.auth.HugePermission;
 import org.apache.hugegraph.auth.HugeProject;
 import org.apache.hugegraph.auth.HugeResource;
@@ -30,12 +31,19 @@ import org.apache.hugegraph.auth.ResourceObject;
 import org.apache.hugegraph.auth.ResourceType;
 import org.apache.hugegraph.auth.RolePermission;
 import org.apache.hugegraph.backend.id.IdGenerator;
+import org.apache.hugegraph.backend.query.Condition;
+import org.apache.hugegraph.backend.query.ConditionQuery;
+import org.apache.hugegraph.backend.query.Query;
 import org.apache.hugegraph.schema.VertexLabel;
 import org.apache.hugegraph.structure.HugeEdge;
+import org.apache.hugegraph.structure.HugeVertex;
 import org.apache.hugegraph.testutil.Assert;
 import org.apache.hugegraph.testutil.Whitebox;
+import org.apache.hugegraph.type.HugeType;
+import org.apache.hugegraph.type.define.HugeKeys;
 import org.apache.hugegraph.type.define.IdStrategy;
 import org.apache.hugegraph.unit.FakeObjects;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 
 public class RolePermissionTest {
@@ -519,6 +527,71 @@ public class RolePermissionTest {
         Assert.assertTrue(er.filter(r3));
     }
 
+    @Test
+    public void testElementPermissionPlan() {
+        FakeObjects fo = new FakeObjects();
+        HugeEdge edge = fo.newEdge(1, 2);
+        HugeVertex v1 = edge.sourceVertex();
+        HugeVertex v2 = edge.targetVertex();
+        VertexLabel software = fo.newVertexLabel(IdGenerator.of(2),
+                                                 "software",
+                                                 IdStrategy.CUSTOMIZE_NUMBER);
+
+        ElementPermissionPlan plan = new ElementPermissionPlan(
+                                     fo.graph(), null, HugeResource.ALL_RES);
+        Assert.assertTrue(plan.test(v1));
+        Assert.assertTrue(plan.test(v2));
+        Assert.assertTrue(plan.test(edge));
+
+        plan = new ElementPermissionPlan(fo.graph(), null, ImmutableList.of());
+        Assert.assertFalse(plan.test(v1));
+        Assert.assertFalse(plan.test(edge));
+
+        plan = new ElementPermissionPlan(fo.graph(), null, ImmutableList.of(
+               new HugeResource(ResourceType.VERTEX, "person",
+                                ImmutableMap.of("age", "P.gt(18)")),
+               new HugeResource(ResourceType.VERTEX, "person",
+                                ImmutableMap.of("city", "Beijing")),
+               new HugeResource(ResourceType.EDGE, "kno.*",
+                                ImmutableMap.of("weight", "P.lt(0.8)"))));
+        Assert.assertTrue(plan.test(v1));
+        Assert.assertTrue(plan.test(v2));
+        Assert.assertTrue(plan.test(edge));
+        // Test again with the cached rules
+        Assert.assertTrue(plan.test(v1));
+        Assert.assertTrue(plan.test(edge));
+
+        plan = new ElementPermissionPlan(fo.graph(), null, ImmutableList.of(
+               new HugeResource(ResourceType.VERTEX, "person",
+                                ImmutableMap.of("age", "P.gt(18)")),
+               new HugeResource(ResourceType.EDGE, "knows",
+                                ImmutableMap.of("weight", "P.gt(0.8)"))));
+        Assert.assertFalse(plan.test(v1));
+        Assert.assertTrue(plan.test(v2));
+        Assert.assertFalse(plan.test(edge));
+
+        // Restrict the labels of query
+        ConditionQuery query = new ConditionQuery(HugeType.VERTEX);
+        query.eq(HugeKeys.LABEL, software.id());
+        Assert.assertNull(plan.restrict(query));
+
+        query = new ConditionQuery(HugeType.VERTEX);
+        query.query(Condition.in(HugeKeys.LABEL,
+                                 ImmutableList.of(v1.schemaLabel().id(),
+                                                  software.id())));
+        ConditionQuery restricted = (ConditionQuery) plan.restrict(query);
+        Assert.assertNotSame(query, restricted);
+        Assert.assertEquals(v1.schemaLabel().id(),
+                            restricted.condition(HugeKeys.LABEL));
+
+        query = new ConditionQuery(HugeType.VERTEX);
+        query.eq(HugeKeys.LABEL, v1.schemaLabel().id());
+        Assert.assertSame(query, plan.restrict(query));
+
+        Query scan = new Query(HugeType.EDGE);
+        Assert.assertSame(scan, plan.restrict(scan));
+    }
+
     @Test
     public void testHugeResourceFilterUser() {
         HugeResource all = HugeResource.ALL;
@@ -0,0 +1,255 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.unit.core;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Test;
+
+import org.apache.hugegraph.HugeException;
+import org.apache.hugegraph.HugeFactory;
+import org.apache.hugegraph.HugeGraph;
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.id.IdGenerator;
+import org.apache.hugegraph.config.CoreOptions;
+import org.apache.hugegraph.config.HugeConfig;
+import org.apache.hugegraph.testutil.Assert;
+import org.apache.hugegraph.traversal.algorithm.HugeTraverser;
+import org.apache.hugegraph.traversal.algorithm.HugeTraverser.Path;
+import org.apache.hugegraph.traversal.algorithm.ShortestPathTraverser;
+import org.apache.hugegraph.type.define.Directions;
+import org.apache.hugegraph.unit.BaseUnitTest;
+import org.apache.hugegraph.unit.FakeObjects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+public class ShortestPathEngineTest extends BaseUnitTest {
+
+    private static final long NO_LIMIT = HugeTraverser.NO_LIMIT;
+    private static final List<String> LINK = ImmutableList.of("link");
+
+    @Test
+    public void testShortestPath() {
+        Function<ShortestPathTraverser, List<Object>> func = traverser -> {
+            List<Object> results = new ArrayList<>();
+            results.add(traverser.shortestPath(id(1), id(7), Directions.OUT,
+                                               LINK, 5, NO_LIMIT, 0L,
+                                               NO_LIMIT).vertices());
+            results.add(traverser.shortestPath(id(7), id(1), Directions.IN,
+                                               LINK, 5, NO_LIMIT, 0L,
+                                               NO_LIMIT).vertices());
+            // Reach the max depth
+            results.add(traverser.shortestPath(id(1), id(8), Directions.OUT,
+                                               LINK, 2, NO_LIMIT, 0L,
+                                               NO_LIMIT).vertices());
+            // Not reachable in the direction
+            results.add(traverser.shortestPath(id(7), id(1), Directions.OUT,
+                                               LINK, 5, NO_LIMIT, 0L,
+                                               NO_LIMIT).vertices());
+            return results;
+        };
+
+        List<Object> layered = this.withGraph("layered", func);
+        List<Object> degreeAware = this.withGraph("degree_aware", func);
+        Assert.assertEquals(layered, degreeAware);
+
+        Assert.assertEquals(ids(1, 5, 7), degreeAware.get(0));
+        Assert.assertEquals(ids(7, 5, 1), degreeAware.get(1));
+        Assert.assertEquals(ImmutableList.of(), degreeAware.get(2));
+        Assert.assertEquals(ImmutableList.of(), degreeAware.get(3));
+    }
+
+    @Test
+    public void testAllShortestPaths() {
+        Function<ShortestPathTraverser, List<Object>> func = traverser -> {
+            List<Object> results = new ArrayList<>();
+            results.add(paths(traverser.allShortestPaths(
+                              id(1), id(7), Directions.OUT, LINK, 5,
+                              NO_LIMIT, 0L, NO_LIMIT)));
+            results.add(paths(traverser.allShortestPaths(
+                              id(2), id(3), Directions.BOTH, LINK, 5,
+                              NO_LIMIT, 0L, NO_LIMIT)));
+            results.add(paths(traverser.allShortestPaths(
+                              id(1), id(8), Directions.OUT, LINK, 5,
+                              NO_LIMIT, 0L, NO_LIMIT)));
+            return results;
+        };
+
+        List<Object> layered = this.withGraph("layered", func);
+        List<Object> degreeAware = this.withGraph("degree_aware", func);
+        Assert.assertEquals(layered, degreeAware);
+
+        Assert.assertEquals(ImmutableSet.of(ids(1, 5, 7)),
+                            degreeAware.get(0));
+        Assert.assertEquals(ImmutableSet.of(ids(2, 1, 3), ids(2, 4, 3)),
+                            degreeAware.get(1));
+        Assert.assertEquals(ImmutableSet.of(ids(1, 5, 7, 8)),
+                            degreeAware.get(2));
+    }
+
+    @Test
+    public void testShortestPathWithSkipDegree() {
+        Function<ShortestPathTraverser, List<Object>> func = traverser -> {
+            List<Object> results = new ArrayList<>();
+            // The vertex 5 is skipped as a super node in both directions
+            results.add(paths(traverser.allShortestPaths(
+                              id(1), id(7), Directions.OUT, LINK, 5,
+                              10L, 10L, NO_LIMIT)));
+            results.add(paths(traverser.allShortestPaths(
+                              id(1), id(7), Directions.BOTH, LINK, 5,
+                              10L, 10L, NO_LIMIT)));
+            results.add(traverser.shortestPath(id(1), id(7), Directions.OUT,
+                                               LINK, 5, 10L, 10L, NO_LIMIT)
+                                 .vertices().size());
+            // Not skipped if the skipped degree is large enough
+            results.add(paths(traverser.allShortestPaths(
+                              id(1), id(7), Directions.OUT, LINK, 5,
+                              10L, 30L, NO_LIMIT)));
+            return results;
+        };
+
+        List<Object> layered = this.withGraph("layered", func);
+        List<Object> degreeAware = this.withGraph("degree_aware", func);
+        Assert.assertEquals(layered, degreeAware);
+
+        Set<List<Id>> paths = ImmutableSet.of(ids(1, 2, 4, 7),
+                                              ids(1, 3, 4, 7));
+        Assert.assertEquals(paths, degreeAware.get(0));
+        Assert.assertEquals(paths, degreeAware.get(1));
+        Assert.assertEquals(4, degreeAware.get(2));
+        Assert.assertEquals(ImmutableSet.of(ids(1, 5, 7)),
+                            degreeAware.get(3));
+    }
+
+    @Test
+    public void testShortestPathWithCapacity() {
+        Function<ShortestPathTraverser, List<Object>> func = traverser -> {
+            List<Object> results = new ArrayList<>();
+            // Found before reaching the capacity
+            results.add(traverser.shortestPath(id(9), id(10), Directions.OUT,
+                                               LINK, 5, 20L, 0L, 30L)
+                                 .vertices().size());
+            results.add(traverser.allShortestPaths(id(9), id(10),
+                                                   Directions.OUT, LINK, 5,
+                                                   20L, 0L, 30L).size());
+            // Exceed the capacity while expanding the fan of 20 vertices
+            Assert.assertThrows(HugeException.class, () -> {
+                traverser.shortestPath(id(9), id(10), Directions.OUT, LINK, 5,
+                                       20L, 0L, 21L);
+            }, e -> {
+                results.add(e.getMessage());
+            });
+            Assert.assertThrows(HugeException.class, () -> {
+                traverser.allShortestPaths(id(9), id(10), Directions.OUT,
+                                           LINK, 5, 20L, 0L, 21L);
+            }, e -> {
+                results.add(e.getMessage());
+            });
+            return results;
+        };
+
+        List<Object> layered = this.withGraph("layered", func);
+        List<Object> degreeAware = this.withGraph("degree_aware", func);
+        Assert.assertEquals(layered, degreeAware);
+
+        Assert.assertEquals(4, degreeAware.get(0));
+        Assert.assertEquals(20, degreeAware.get(1));
+        Assert.assertContains("Exceed capacity '21'",
+                              (String) degreeAware.get(2));
+        Assert.assertContains("Exceed capacity '21'",
+                              (String) degreeAware.get(3));
+    }
+
+    private <R> R withGraph(String engine,
+                            Function<ShortestPathTraverser, R> func) {
+        HugeConfig config = FakeObjects.newConfig();
+        config.addProperty(CoreOptions.OLTP_SHORTEST_PATH_ENGINE.name(),
+                           engine);
+        HugeGraph graph = HugeFactory.open(config);
+        try {
+            graph.clearBackend();
+            graph.initBackend();
+            this.initGraph(graph);
+            return func.apply(new ShortestPathTraverser(graph));
+        } finally {
+            try {
+                graph.close();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    private void initGraph(HugeGraph graph) {
+        graph.schema().vertexLabel("node").useCustomizeNumberId().create();
+        graph.schema().edgeLabel("link").sourceLabel("node")
+             .targetLabel("node").create();
+
+        /*
+         * 1 -> 2 -> 4 -> 7 -> 8
+         * 1 -> 3 -> 4
+         * 1 -> 5 -> 7, and the super node 5 has 20 out and 20 in leaves
+         * 9 -> 20 vertices of a fan -> 11 -> 10
+         */
+        Vertex[] vertices = new Vertex[12];
+        for (int i = 1; i < vertices.length; i++) {
+            vertices[i] = graph.addVertex(T.id, i, T.label, "node");
+        }
+        int[][] edges = {{1, 2}, {1, 3}, {2, 4}, {3, 4}, {4, 7}, {7, 8},
+                         {1, 5}, {5, 7}, {11, 10}};
+        for (int[] edge : edges) {
+            vertices[edge[0]].addEdge("link", vertices[edge[1]]);
+        }
+        for (int i = 100; i < 120; i++) {
+            Vertex out = graph.addVertex(T.id, i, T.label, "node");
+            vertices[5].addEdge("link", out);
+            Vertex in = graph.addVertex(T.id, i + 100, T.label, "node");
+            in.addEdge("link", vertices[5]);
+            Vertex fan = graph.addVertex(T.id, i + 200, T.label, "node");
+            vertices[9].addEdge("link", fan);
+            fan.addEdge("link", vertices[11]);
+        }
+        graph.tx().commit();
+    }
+
+    private static Set<List<Id>> paths(Set<Path> paths) {
+        Set<List<Id>> results = new HashSet<>();
+        for (Path path : paths) {
+            results.add(path.vertices());
+        }
+        return results;
+    }
+
+    private static Id id(int id) {
+        return IdGenerator.of(id);
+    }
+
+    private static List<Id> ids(int... ids) {
+        List<Id> results = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            results.add(IdGenerator.of(id));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,340 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.unit.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.id.IdGenerator;
+import org.apache.hugegraph.backend.query.Condition;
+import org.apache.hugegraph.backend.query.ConditionQuery;
+import org.apache.hugegraph.schema.IndexLabel;
+import org.apache.hugegraph.schema.PropertyKey;
+import org.apache.hugegraph.schema.VertexLabel;
+import org.apache.hugegraph.statistics.EquiDepthHistogram;
+import org.apache.hugegraph.statistics.GraphStatistics;
+import org.apache.hugegraph.statistics.HyperLogLog;
+import org.apache.hugegraph.statistics.LabelStatistics;
+import org.apache.hugegraph.structure.HugeVertex;
+import org.apache.hugegraph.testutil.Assert;
+import org.apache.hugegraph.type.HugeType;
+import org.apache.hugegraph.type.define.Cardinality;
+import org.apache.hugegraph.type.define.DataType;
+import org.apache.hugegraph.type.define.IdStrategy;
+import org.apache.hugegraph.type.define.IndexType;
+import org.apache.hugegraph.unit.FakeObjects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+public class StatisticsTest {
+
+    @Test
+    public void testHyperLogLogCardinality() {
+        HyperLogLog hll = new HyperLogLog();
+        Assert.assertEquals(0L, hll.cardinality());
+
+        for (int i = 0; i < 100; i++) {
+            hll.add(i);
+            // Duplicate values are counted once
+            hll.add(i);
+        }
+        assertApproximate(100L, hll.cardinality(), 0.05D);
+
+        for (int i = 0; i < 100000; i++) {
+            hll.add("value-" + i);
+        }
+        assertApproximate(100100L, hll.cardinality(), 0.05D);
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            new HyperLogLog(3);
+        }, e -> {
+            Assert.assertContains("The precision of HyperLogLog must be " +
+                                  "in [4, 16]", e.getMessage());
+        });
+    }
+
+    @Test
+    public void testHyperLogLogMerge() {
+        HyperLogLog hll1 = new HyperLogLog();
+        HyperLogLog hll2 = new HyperLogLog();
+        for (int i = 0; i < 6000; i++) {
+            hll1.add(i);
+        }
+        for (int i = 4000; i < 10000; i++) {
+            hll2.add(i);
+        }
+        hll1.merge(hll2);
+        assertApproximate(10000L, hll1.cardinality(), 0.05D);
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            hll1.merge(new HyperLogLog(10));
+        });
+    }
+
+    @Test
+    public void testHistogramSelectivity() {
+        double[] samples = new double[1000];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = i;
+        }
+        EquiDepthHistogram histogram = EquiDepthHistogram.build(samples, 10);
+        Assert.assertEquals(10, histogram.buckets());
+        Assert.assertEquals(0D, histogram.min(), 0D);
+        Assert.assertEquals(999D, histogram.max(), 0D);
+
+        Assert.assertEquals(1D, histogram.selectivity(null, null), 0D);
+        Assert.assertEquals(0.5D, histogram.selectivity(500D, null), 0.01D);
+        Assert.assertEquals(0.1D, histogram.selectivity(null, 100D), 0.01D);
+        Assert.assertEquals(0.2D, histogram.selectivity(300D, 500D), 0.01D);
+        Assert.assertEquals(0D, histogram.selectivity(2000D, null), 0D);
+        Assert.assertEquals(0D, histogram.selectivity(null, -1D), 0D);
+        Assert.assertEquals(0D, histogram.selectivity(600D, 500D), 0D);
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            EquiDepthHistogram.build(new double[0], 10);
+        });
+    }
+
+    @Test
+    public void testHistogramSelectivityWithSkewedValues() {
+        // 90% of the values are 1, and the others are in [100, 200)
+        double[] samples = new double[1000];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = i < 900 ? 1D : 100D + i - 900;
+        }
+        EquiDepthHistogram histogram = EquiDepthHistogram.build(samples, 20);
+
+        Assert.assertEquals(0.9D, histogram.selectivity(1D, 1D), 0.06D);
+        Assert.assertEquals(0.1D, histogram.selectivity(2D, null), 0.05D);
+        Assert.assertEquals(0.05D, histogram.selectivity(150D, null), 0.03D);
+    }
+
+    @Test
+    public void testEstimateIndexQuery() {
+        FakeObjects fakeObject = new FakeObjects();
+        PropertyKey city = fakeObject.newPropertyKey(IdGenerator.of(1),
+                                                     "city");
+        PropertyKey age = fakeObject.newPropertyKey(IdGenerator.of(2), "age",
+                                                    DataType.INT);
+        VertexLabel person = fakeObject.newVertexLabel(
+                             IdGenerator.of(1), "person",
+                             IdStrategy.CUSTOMIZE_NUMBER,
+                             city.id(), age.id());
+        IndexLabel cityIndex = fakeObject.newIndexLabel(
+                               IdGenerator.of(1), "personByCity",
+                               HugeType.VERTEX_LABEL, person.id(),
+                               IndexType.SECONDARY, city.id());
+        IndexLabel ageIndex = fakeObject.newIndexLabel(
+                              IdGenerator.of(2), "personByAge",
+                              HugeType.VERTEX_LABEL, person.id(),
+                              IndexType.RANGE_INT, age.id());
+
+        // 10 cities and ages in [0, 100)
+        LabelStatistics stats = new LabelStatistics(person.id(), 1024);
+        for (int i = 0; i < 10000; i++) {
+            HugeVertex vertex = new HugeVertex(fakeObject.graph(),
+                                               IdGenerator.of(i), person);
+            vertex.addProperty(city, "city-" + (i % 10));
+            vertex.addProperty(age, i % 100);
+            stats.add(vertex);
+        }
+        stats.finish();
+        Assert.assertEquals(10000L, stats.count());
+        Assert.assertEquals(10L, stats.distinctValues(city.id()));
+        assertApproximate(100L, stats.distinctValues(age.id()), 0.05D);
+        Assert.assertEquals(-1L, stats.distinctValues(IdGenerator.of(3)));
+
+        GraphStatistics graphStats = new GraphStatistics();
+        Assert.assertFalse(graphStats.collected());
+        Map<Id, LabelStatistics> vertexLabels = ImmutableMap.of(person.id(),
+                                                                stats);
+        graphStats.update(vertexLabels, ImmutableMap.of());
+        Assert.assertTrue(graphStats.collected());
+        Assert.assertEquals(10000L, graphStats.count(HugeType.VERTEX,
+                                                     person.id()));
+
+        ConditionQuery query = new ConditionQuery(HugeType.VERTEX);
+        query.query(Condition.eq(city.id(), "city-1"));
+        Assert.assertEquals(1000L, graphStats.estimate(cityIndex, query));
+
+        query = new ConditionQuery(HugeType.VERTEX);
+        query.query(Condition.gte(age.id(), 90));
+        assertApproximate(1000L, graphStats.estimate(ageIndex, query), 0.2D);
+
+        query = new ConditionQuery(HugeType.VERTEX);
+        query.query(Condition.lt(age.id(), 50));
+        assertApproximate(5000L, graphStats.estimate(ageIndex, query), 0.1D);
+
+        // Unknown label
+        IndexLabel unknownIndex = fakeObject.newIndexLabel(
+                                  IdGenerator.of(3), "softwareByCity",
+                                  HugeType.VERTEX_LABEL, IdGenerator.of(2),
+                                  IndexType.SECONDARY, city.id());
+        Assert.assertEquals(-1L, graphStats.estimate(unknownIndex, query));
+    }
+
+    @Test
+    public void testCountSetPropertyOncePerElement() {
+        FakeObjects fakeObject = new FakeObjects();
+        PropertyKey tags = fakeObject.newPropertyKey(IdGenerator.of(1),
+                                                     "tags", DataType.TEXT,
+                                                     Cardinality.SET);
+        VertexLabel person = fakeObject.newVertexLabel(
+                             IdGenerator.of(1), "person",
+                             IdStrategy.CUSTOMIZE_NUMBER, tags.id());
+
+        LabelStatistics stats = new LabelStatistics(person.id(), 1024);
+        for (int i = 0; i < 100; i++) {
+            HugeVertex vertex = new HugeVertex(fakeObject.graph(),
+                                               IdGenerator.of(i), person);
+            vertex.addProperty(tags, ImmutableSet.of("tag-" + (i % 10),
+                                                     "tag-" + (i % 10 + 10),
+                                                     "tag-" + (i % 10 + 20)));
+            stats.add(vertex);
+        }
+        stats.finish();
+        Assert.assertEquals(100L, stats.count());
+        Assert.assertEquals(100L, stats.propertyCount(tags.id()));
+        Assert.assertEquals(30L, stats.distinctValues(tags.id()));
+    }
+
+    @Test
+    public void testUpdateIncrementally() {
+        FakeObjects fakeObject = new FakeObjects();
+        PropertyKey city = fakeObject.newPropertyKey(IdGenerator.of(1),
+                                                     "city");
+        VertexLabel person = fakeObject.newVertexLabel(
+                             IdGenerator.of(1), "person",
+                             IdStrategy.CUSTOMIZE_NUMBER, city.id());
+        VertexLabel software = fakeObject.newVertexLabel(
+                               IdGenerator.of(2), "software",
+                               IdStrategy.CUSTOMIZE_NUMBER, city.id());
+
+        List<HugeVertex> vertices = new ArrayList<>();
+        LabelStatistics stats = new LabelStatistics(person.id(), 1024);
+        for (int i = 0; i < 100; i++) {
+            HugeVertex vertex = new HugeVertex(fakeObject.graph(),
+                                               IdGenerator.of(i), person);
+            vertex.addProperty(city, "city-" + (i % 10));
+            stats.add(vertex);
+            vertices.add(vertex);
+        }
+        stats.finish();
+
+        GraphStatistics graphStats = new GraphStatistics();
+        // Ignore the changes before collected
+        graphStats.update(vertices, ImmutableList.of(), ImmutableList.of(),
+                          ImmutableList.of(), ImmutableList.of(), 0);
+        Assert.assertEquals(-1L, graphStats.count(HugeType.VERTEX,
+                                                  person.id()));
+        Assert.assertEquals(0L, graphStats.changes());
+
+        graphStats.update(ImmutableMap.of(person.id(), stats),
+                          ImmutableMap.of());
+        Assert.assertEquals(100L, graphStats.count(HugeType.VERTEX,
+                                                   person.id()));
+
+        List<HugeVertex> added = new ArrayList<>();
+        for (int i = 100; i < 120; i++) {
+            HugeVertex vertex = new HugeVertex(fakeObject.graph(),
+                                               IdGenerator.of(i), person);
+            vertex.addProperty(city, "city-" + i);
+            added.add(vertex);
+        }
+        HugeVertex other = new HugeVertex(fakeObject.graph(),
+                                          IdGenerator.of(1), software);
+        added.add(other);
+        graphStats.update(added, vertices.subList(0, 50), ImmutableList.of(),
+                          ImmutableList.of(), ImmutableList.of(), 3);
+        Assert.assertEquals(74L, graphStats.changes());
+        Assert.assertEquals(70L, graphStats.count(HugeType.VERTEX,
+                                                  person.id()));
+        Assert.assertEquals(1L, graphStats.count(HugeType.VERTEX,
+                                                 software.id()));
+        LabelStatistics personStats = graphStats.vertexLabel(person.id());
+        Assert.assertEquals(70L, personStats.propertyCount(city.id()));
+        // The removed distinct values are left
+        assertApproximate(30L, personStats.distinctValues(city.id()), 0.05D);
+
+        // Reset the changes after collected again
+        graphStats.update(ImmutableMap.of(), ImmutableMap.of());
+        Assert.assertEquals(0L, graphStats.changes());
+        Assert.assertEquals(-1L, graphStats.count(HugeType.VERTEX,
+                                                  person.id()));
+        Assert.assertEquals(-1L, graphStats.count(HugeType.VERTEX,
+                                                  software.id()));
+    }
+
+    @Test
+    public void testUpdateWithOverwrittenElements() {
+        FakeObjects fakeObject = new FakeObjects();
+        PropertyKey city = fakeObject.newPropertyKey(IdGenerator.of(1),
+                                                     "city");
+        PropertyKey age = fakeObject.newPropertyKey(IdGenerator.of(2),
+                                                    "age", DataType.INT);
+        VertexLabel person = fakeObject.newVertexLabel(
+                             IdGenerator.of(1), "person",
+                             IdStrategy.CUSTOMIZE_NUMBER, city.id(), age.id());
+
+        List<HugeVertex> vertices = new ArrayList<>();
+        LabelStatistics stats = new LabelStatistics(person.id(), 1024);
+        for (int i = 0; i < 100; i++) {
+            HugeVertex vertex = new HugeVertex(fakeObject.graph(),
+                                               IdGenerator.of(i), person);
+            vertex.addProperty(city, "city-" + (i % 10));
+            vertex.addProperty(age, i);
+            stats.add(vertex);
+            vertices.add(vertex);
+        }
+        stats.finish();
+
+        GraphStatistics graphStats = new GraphStatistics();
+        graphStats.update(ImmutableMap.of(person.id(), stats),
+                          ImmutableMap.of());
+
+        // Upsert 10 existing vertices without age, and insert 5 new ones
+        List<HugeVertex> added = new ArrayList<>();
+        for (int i = 90; i < 105; i++) {
+            HugeVertex vertex = new HugeVertex(fakeObject.graph(),
+                                               IdGenerator.of(i), person);
+            vertex.addProperty(city, "city-" + (i % 10));
+            added.add(vertex);
+        }
+        graphStats.update(added, ImmutableList.of(), ImmutableList.of(),
+                          ImmutableList.of(),
+                          ImmutableList.copyOf(vertices.subList(90, 100)), 0);
+        Assert.assertEquals(15L, graphStats.changes());
+        Assert.assertEquals(105L, graphStats.count(HugeType.VERTEX,
+                                                   person.id()));
+        LabelStatistics personStats = graphStats.vertexLabel(person.id());
+        Assert.assertEquals(105L, personStats.propertyCount(city.id()));
+        Assert.assertEquals(90L, personStats.propertyCount(age.id()));
+    }
+
+    private static void assertApproximate(long expected, long actual,
+                                          double error) {
+        Assert.assertTrue(String.format("Expect %s but got %s",
+                                        expected, actual),
+                          Math.abs(actual - expected) <= expected * error);
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.unit.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Test;
+
+import org.apache.hugegraph.HugeFactory;
+import org.apache.hugegraph.HugeGraph;
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.id.IdGenerator;
+import org.apache.hugegraph.config.CoreOptions;
+import org.apache.hugegraph.config.HugeConfig;
+import org.apache.hugegraph.schema.SchemaManager;
+import org.apache.hugegraph.testutil.Assert;
+import org.apache.hugegraph.traversal.algorithm.HugeTraverser;
+import org.apache.hugegraph.traversal.algorithm.SingleSourceShortestPathTraverser;
+import org.apache.hugegraph.traversal.algorithm.SingleSourceShortestPathTraverser.NodeWithWeight;
+import org.apache.hugegraph.traversal.algorithm.SingleSourceShortestPathTraverser.WeightedPaths;
+import org.apache.hugegraph.type.define.Directions;
+import org.apache.hugegraph.unit.BaseUnitTest;
+import org.apache.hugegraph.unit.FakeObjects;
+import com.google.common.collect.ImmutableList;
+
+public class WeightedPathEngineTest extends BaseUnitTest {
+
+    private static final long NO_LIMIT = HugeTraverser.NO_LIMIT;
+    private static final int VERTICES = 9;
+
+    @Test
+    public void testWeightedShortestPath() {
+        List<Object> layered = this.withGraph("layered",
+                                              this.shortestPaths(null));
+        Assert.assertEquals(layered, this.withGraph("dijkstra",
+                                                    this.shortestPaths(null)));
+        Assert.assertEquals(layered, this.withGraph("bidirectional_dijkstra",
+                                                    this.shortestPaths(null)));
+        // Search by A* with the heuristic property
+        Assert.assertEquals(layered, this.withGraph("dijkstra",
+                                                    this.shortestPaths("x")));
+        Assert.assertEquals(layered, this.withGraph("bidirectional_dijkstra",
+                                                    this.shortestPaths("x")));
+
+        // The paths from 1 to 2..9 in OUT direction
+        Assert.assertEquals(path(4.35, 1, 2, 6, 4, 7), layered.get(5));
+        Assert.assertEquals(path(5.35, 1, 2, 6, 4, 7, 9), layered.get(7));
+        // Not reachable
+        Assert.assertNull(layered.get(6));
+        // The paths from 1 to 2..9 in BOTH direction
+        Assert.assertEquals(path(4.5, 1, 2, 3, 8), layered.get(14));
+        Assert.assertEquals(path(5.35, 1, 2, 6, 4, 7, 9), layered.get(15));
+    }
+
+    @Test
+    public void testSingleSourceShortestPaths() {
+        Function<SingleSourceShortestPathTraverser, List<Object>> func =
+                                                                traverser -> {
+            List<Object> results = new ArrayList<>();
+            for (Directions dir : ImmutableList.of(Directions.OUT,
+                                                   Directions.BOTH)) {
+                results.add(paths(traverser.singleSourceShortestPaths(
+                                  id(1), dir, null, "weight", NO_LIMIT, 0L,
+                                  NO_LIMIT, NO_LIMIT)));
+                results.add(paths(traverser.singleSourceShortestPaths(
+                                  id(1), dir, null, "weight", NO_LIMIT, 0L,
+                                  NO_LIMIT, 3L)));
+            }
+            return results;
+        };
+
+        List<Object> layered = this.withGraph("layered", func);
+        Assert.assertEquals(layered, this.withGraph("dijkstra", func));
+        Assert.assertEquals(layered, this.withGraph("bidirectional_dijkstra",
+                                                    func));
+        Assert.assertEquals(7, ((Map<?, ?>) layered.get(0)).size());
+        Assert.assertEquals(3, ((Map<?, ?>) layered.get(1)).size());
+        Assert.assertEquals(8, ((Map<?, ?>) layered.get(2)).size());
+    }
+
+    @Test
+    public void testUnknownPropertyKey() {
+        this.withGraph("dijkstra", traverser -> {
+            Assert.assertThrows(IllegalArgumentException.class, () -> {
+                traverser.weightedShortestPath(id(1), id(7), Directions.OUT,
+                                               null, "wieght", NO_LIMIT, 0L,
+                                               NO_LIMIT);
+            }, e -> {
+                Assert.assertContains("The property key 'wieght' doesn't " +
+                                      "exist", e.getMessage());
+            });
+            Assert.assertThrows(IllegalArgumentException.class, () -> {
+                traverser.singleSourceShortestPaths(id(1), Directions.OUT,
+                                                    null, "wieght", NO_LIMIT,
+                                                    0L, NO_LIMIT, NO_LIMIT);
+            }, e -> {
+                Assert.assertContains("The property key 'wieght' doesn't " +
+                                      "exist", e.getMessage());
+            });
+            Assert.assertThrows(IllegalArgumentException.class, () -> {
+                traverser.weightedShortestPath(id(1), id(7), Directions.OUT,
+                                               null, "weight", "y", NO_LIMIT,
+                                               0L, NO_LIMIT);
+            }, e -> {
+                Assert.assertContains("The property key 'y' doesn't exist",
+                                      e.getMessage());
+            });
+            return null;
+        });
+    }
+
+    private Function<SingleSourceShortestPathTraverser, List<Object>>
+            shortestPaths(String heuristic) {
+        return traverser -> {
+            List<Object> results = new ArrayList<>();
+            for (Directions dir : ImmutableList.of(Directions.OUT,
+                                                   Directions.BOTH)) {
+                for (int target = 2; target <= VERTICES; target++) {
+                    results.add(path(traverser.weightedShortestPath(
+                                     id(1), id(target), dir, null, "weight",
+                                     heuristic, NO_LIMIT, 0L, NO_LIMIT)));
+                }
+            }
+            return results;
+        };
+    }
+
+    private <R> R withGraph(String engine,
+                            Function<SingleSourceShortestPathTraverser, R> func) {
+        HugeConfig config = FakeObjects.newConfig();
+        config.addProperty(CoreOptions.OLTP_WEIGHTED_PATH_ENGINE.name(),
+                           engine);
+        HugeGraph graph = HugeFactory.open(config);
+        try {
+            graph.clearBackend();
+            graph.initBackend();
+            this.initGraph(graph);
+            return func.apply(new SingleSourceShortestPathTraverser(graph));
+        } finally {
+            try {
+                graph.close();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    private void initGraph(HugeGraph graph) {
+        SchemaManager schema = graph.schema();
+        schema.propertyKey("x").asDouble().create();
+        schema.propertyKey("weight").asDouble().create();
+        schema.vertexLabel("city").useCustomizeNumberId().properties("x")
+              .nullableKeys("x").create();
+        schema.edgeLabel("road").sourceLabel("city").targetLabel("city")
+              .properties("weight").nullableKeys("weight").create();
+
+        /*
+         * The x of a vertex never differs from the x of another one more
+         * than the weight of the path between them, the vertex 8 is not
+         * reachable from 1 and the vertex 9 has no x
+         */
+        double[] xs = {0, 0, 1, 2, 3, 1, 2, 4, 4};
+        Vertex[] vertices = new Vertex[VERTICES + 1];
+        for (int i = 1; i < VERTICES; i++) {
+            vertices[i] = graph.addVertex(T.id, i, T.label, "city",
+                                          "x", xs[i]);
+        }
+        vertices[VERTICES] = graph.addVertex(T.id, VERTICES, T.label, "city");
+
+        Object[][] edges = {{1, 2, 1.0}, {2, 3, 1.5}, {3, 4, 1.0},
+                            {4, 7, 1.0}, {1, 5, 1.2}, {5, 6, 1.1},
+                            {6, 4, 1.3}, {6, 7, 2.5}, {1, 3, 3.0},
+                            {2, 6, 1.05}, {8, 3, 2.0}};
+        for (Object[] edge : edges) {
+            vertices[(int) edge[0]].addEdge("road", vertices[(int) edge[1]],
+                                            "weight", edge[2]);
+        }
+        // The weight of the edges without weight is 1.0
+        vertices[7].addEdge("road", vertices[9]);
+        vertices[8].addEdge("road", vertices[9]);
+        graph.tx().commit();
+    }
+
+    private static Map<Id, List<Object>> paths(WeightedPaths paths) {
+        Map<Id, List<Object>> results = new HashMap<>();
+        for (Map.Entry<Id, NodeWithWeight> entry : paths.entrySet()) {
+            results.put(entry.getKey(), path(entry.getValue()));
+        }
+        return results;
+    }
+
+    private static List<Object> path(NodeWithWeight path) {
+        if (path == null) {
+            return null;
+        }
+        // Round the weight since the engines sum the weights in any order
+        return ImmutableList.of(Math.round(path.weight() * 1000D) / 1000D,
+                                path.node().path());
+    }
+
+    private static List<Object> path(double weight, int... ids) {
+        List<Id> path = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            path.add(IdGenerator.of(id));
+        }
+        return ImmutableList.of(weight, path);
+    }
+
+    private static Id id(int id) {
+        return IdGenerator.of(id);
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hugegraph.unit.hbase;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.metrics.ScanMetrics;
+import org.apache.hadoop.hbase.filter.PageFilter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import org.apache.hugegraph.backend.store.hbase.HbaseParallelScanner;
+import org.apache.hugegraph.testutil.Assert;
+import org.apache.hugegraph.util.Bytes;
+
+public class HbaseParallelScannerTest {
+
+    private static final byte[] EMPTY = HConstants.EMPTY_BYTE_ARRAY;
+
+    private static final byte[][] START_KEYS = {EMPTY, b("c"), b("f")};
+    private static final byte[][] END_KEYS = {b("c"), b("f"), EMPTY};
+
+    private ExecutorService executor;
+
+    @Before
+    public void setup() {
+        this.executor = Executors.newFixedThreadPool(2);
+    }
+
+    @After
+    public void teardown() {
+        this.executor.shutdown();
+    }
+
+    @Test
+    public void testRegionScans() throws IOException {
+        Scan scan = new Scan().setFilter(new PageFilter(10L));
+        List<Scan> scans = HbaseParallelScanner.regionScans(scan, START_KEYS,
+                                                            END_KEYS);
+        Assert.assertEquals(3, scans.size());
+        assertScan(scans.get(0), EMPTY, true, b("c"), false);
+        assertScan(scans.get(1), b("c"), true, b("f"), false);
+        assertScan(scans.get(2), b("f"), true, EMPTY, false);
+        for (Scan regionScan : scans) {
+            Assert.assertTrue(regionScan.getFilter() instanceof PageFilter);
+        }
+
+        scan = new Scan().withStartRow(b("d")).withStopRow(b("e"));
+        scans = HbaseParallelScanner.regionScans(scan, START_KEYS, END_KEYS);
+        Assert.assertEquals(1, scans.size());
+        assertScan(scans.get(0), b("d"), true, b("e"), false);
+
+        scan = new Scan().withStartRow(b("a"), false)
+                         .withStopRow(b("f"), true);
+        scans = HbaseParallelScanner.regionScans(scan, START_KEYS, END_KEYS);
+        Assert.assertEquals(3, scans.size());
+        assertScan(scans.get(0), b("a"), false, b("c"), false);
+        assertScan(scans.get(1), b("c"), true, b("f"), false);
+        assertScan(scans.get(2), b("f"), true, b("f"), true);
+
+        scan = new Scan().withStartRow(b("c")).withStopRow(b("f"));
+        scans = HbaseParallelScanner.regionScans(scan, START_KEYS, END_KEYS);
+        Assert.assertEquals(1, scans.size());
+        assertScan(scans.get(0), b("c"), true, b("f"), false);
+
+        scan = new Scan().withStartRow(b("g"));
+        scans = HbaseParallelScanner.regionScans(scan, START_KEYS, END_KEYS);
+        Assert.assertEquals(1, scans.size());
+        assertScan(scans.get(0), b("g"), true, EMPTY, false);
+    }
+
+    @Test
+    public void testScanInKeyOrder() throws IOException {
+        Map<String, FakeScanner> scanners = new ConcurrentHashMap<>();
+        HbaseParallelScanner.ScannerOpener opener = scan -> {
+            String start = new String(scan.getStartRow());
+            FakeScanner scanner = new FakeScanner(rows(start, 5));
+            scanners.put(start, scanner);
+            return scanner;
+        };
+
+        List<Scan> scans = HbaseParallelScanner.regionScans(new Scan(),
+                                                            START_KEYS,
+                                                            END_KEYS);
+        List<String> rows = new ArrayList<>();
+        try (ResultScanner scanner = new HbaseParallelScanner(
+                                     scans, opener, this.executor, 2, 2)) {
+            for (Result result : scanner) {
+                rows.add(new String(result.getRow()));
+            }
+        }
+
+        List<String> expected = new ArrayList<>();
+        for (String region : new String[]{"", "c", "f"}) {
+            for (int i = 0; i < 5; i++) {
+                expected.add(region + i);
+            }
+        }
+        Assert.assertEquals(expected, rows);
+        Assert.assertEquals(3, scanners.size());
+        for (FakeScanner scanner : scanners.values()) {
+            Assert.assertTrue(scanner.closed);
+        }
+    }
+
+    @Test
+    public void testScanWithBoundedInflight() throws IOException {
+        Map<String, FakeScanner> scanners = new ConcurrentHashMap<>();
+        HbaseParallelScanner.ScannerOpener opener = scan -> {
+            String start = new String(scan.getStartRow());
+            FakeScanner scanner = new FakeScanner(rows(start, 3));
+            scanners.put(start, scanner);
+            return scanner;
+        };
+
+        List<Scan> scans = HbaseParallelScanner.regionScans(new Scan(),
+                                                            START_KEYS,
+                                                            END_KEYS);
+        HbaseParallelScanner scanner = new HbaseParallelScanner(
+                                       scans, opener, this.executor, 1, 2);
+        Assert.assertEquals("0", new String(scanner.next().getRow()));
+        // The next region is opened after the current one is taken
+        Assert.assertTrue(scanners.containsKey(""));
+        Assert.assertFalse(scanners.containsKey("f"));
+
+        // Close the current and the opened regions
+        scanner.close();
+        Assert.assertEquals(2, scanners.size());
+        for (FakeScanner fake : scanners.values()) {
+            Assert.assertTrue(fake.closed);
+        }
+    }
+
+    @Test
+    public void testScanWithRegionFailed() throws IOException {
+        HbaseParallelScanner.ScannerOpener opener = scan -> {
+            String start = new String(scan.getStartRow());
+            if (start.equals("c")) {
+                throw new IOException("Region c is offline");
+            }
+            return new FakeScanner(rows(start, 1));
+        };
+
+        List<Scan> scans = HbaseParallelScanner.regionScans(new Scan(),
+                                                            START_KEYS,
+                                                            END_KEYS);
+        try (HbaseParallelScanner scanner = new HbaseParallelScanner(
+                                            scans, opener, this.executor,
+                                            2, 2)) {
+            Assert.assertEquals("0", new String(scanner.next().getRow()));
+            Assert.assertThrows(IOException.class, scanner::next, e -> {
+                Assert.assertEquals("Region c is offline", e.getMessage());
+            });
+        }
+    }
+
+    private static void assertScan(Scan scan, byte[] start,
+                                   boolean inclusiveStart, byte[] stop,
+                                   boolean inclusiveStop) {
+        Assert.assertTrue(Bytes.equals(start, scan.getStartRow()));
+        Assert.assertEquals(inclusiveStart, scan.includeStartRow());
+        Assert.assertTrue(Bytes.equals(stop, scan.getStopRow()));
+        Assert.assertEquals(inclusiveStop, scan.includeStopRow());
+    }
+
+    private static List<Result> rows(String prefix, int count) {
+        List<Result> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Result result = Mockito.mock(Result.class);
+            Mockito.when(result.getRow()).thenReturn(b(prefix + i));
+            rows.add(result);
+        }
+        return rows;
+    }
+
+    private static byte[] b(String bytes) {
+        return bytes.getBytes();
+    }
+
+    private static class FakeScanner implements ResultScanner {
+
+        private final Iterator<Result> results;
+        private volatile boolean closed;
+
+        public FakeScanner(List<Result> results) {
+            this.results = results.iterator();
+            this.closed = false;
+        }
+
+        @Override
+        public Result next() {
+            Assert.assertFalse(this.closed);
+            return this.results.hasNext() ? this.results.next() : null;
+        }
+
+        @Override
+        public void close() {
+            this.closed = true;
+        }
+
+        @Override
+        public boolean renewLease() {
+            return true;
+        }
+
+        @Override
+        public ScanMetrics getScanMetrics() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hugegraph.unit.id;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.Test;
+
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.id.SnowflakeIdGenerator;
+import org.apache.hugegraph.backend.id.SnowflakeIdGenerator.IdWorker;
+import org.apache.hugegraph.testutil.Assert;
+import org.apache.hugegraph.unit.BaseUnitTest;
+
+public class SnowflakeIdGeneratorTest extends BaseUnitTest {
+
+    @Test
+    public void testNextId() {
+        IdWorker worker = new IdWorker(3L, 5L);
+        long last = worker.nextId();
+        for (int i = 0; i < 10000; i++) {
+            long id = worker.nextId();
+            Assert.assertTrue(id > last);
+            // The datacenter id and worker id are kept in the id
+            Assert.assertEquals((5L << 17) | (3L << 12), id & 0x3ff000L);
+            last = id;
+        }
+    }
+
+    @Test
+    public void testNextIds() {
+        IdWorker worker = new IdWorker(0L, 0L);
+        long last = worker.nextId();
+        for (int i = 0; i < 100; i++) {
+            long first = worker.nextIds(1000);
+            Assert.assertTrue(first > last);
+            // The ids of a block are in the same millisecond
+            Assert.assertTrue((first & 0xfffL) + 999L <= 0xfffL);
+            last = first + 999L;
+        }
+        Assert.assertTrue(worker.nextId() > last);
+
+        long first = worker.nextIds(IdWorker.MAX_BLOCK_SIZE);
+        Assert.assertEquals(0L, first & 0xfffL);
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            worker.nextIds(0);
+        });
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            worker.nextIds(IdWorker.MAX_BLOCK_SIZE + 1);
+        });
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            new IdWorker(32L, 0L);
+        });
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            new IdWorker(0L, -1L);
+        });
+    }
+
+    @Test
+    public void testGenerateWithThreads() {
+        for (int blockSize : new int[]{1, 7, 4096}) {
+            SnowflakeIdGenerator generator = new SnowflakeIdGenerator(
+                                             1L, 1L, false, blockSize);
+            Set<Id> ids = ConcurrentHashMap.newKeySet();
+            runWithThreads(4, () -> {
+                for (int i = 0; i < 5000; i++) {
+                    Assert.assertTrue(ids.add(generator.generate()));
+                }
+            });
+            Assert.assertEquals(20000, ids.size());
+        }
+    }
+
+    @Test
+    public void testGenerateWithIdBlock() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(
+                                         0L, 0L, false, 16);
+        long first = generator.generate().asLong();
+        for (int i = 1; i < 16; i++) {
+            Assert.assertEquals(first + i, generator.generate().asLong());
+        }
+
+        generator = new SnowflakeIdGenerator(0L, 0L, true, 16);
+        Id id = generator.generate();
+        Assert.assertTrue(id.string());
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            new SnowflakeIdGenerator(0L, 0L, false, 0);
+        });
+    }
+}
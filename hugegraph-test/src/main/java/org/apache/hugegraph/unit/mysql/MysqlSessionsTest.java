@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.unit.mysql;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.PropertiesConfiguration;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import org.apache.hugegraph.backend.id.IdGenerator;
+import org.apache.hugegraph.backend.serializer.TableBackendEntry;
+import org.apache.hugegraph.backend.store.mysql.MysqlOptions;
+import org.apache.hugegraph.backend.store.mysql.MysqlSessions;
+import org.apache.hugegraph.backend.store.mysql.MysqlTable;
+import org.apache.hugegraph.backend.store.mysql.MysqlTables;
+import org.apache.hugegraph.backend.store.postgresql.PostgresqlTables;
+import org.apache.hugegraph.config.HugeConfig;
+import org.apache.hugegraph.config.OptionSpace;
+import org.apache.hugegraph.testutil.Assert;
+import org.apache.hugegraph.testutil.Whitebox;
+import org.apache.hugegraph.type.HugeType;
+import org.apache.hugegraph.type.define.HugeKeys;
+import org.apache.hugegraph.unit.BaseUnitTest;
+
+public class MysqlSessionsTest extends BaseUnitTest {
+
+    private Map<String, PreparedStatement> statements;
+
+    @Before
+    public void setup() {
+        OptionSpace.register("mysql",
+                             "org.apache.hugegraph.backend.store.mysql.MysqlOptions");
+        this.statements = new LinkedHashMap<>();
+    }
+
+    @Test
+    public void testInsertRowsInBatch() throws SQLException {
+        MysqlSessions.Session session = this.newSession(4);
+        MysqlTable table = new MysqlTables.Vertex("g");
+
+        for (int i = 0; i < 7; i++) {
+            table.insert(session, row("v" + i, "p" + i));
+        }
+        // Replace the row added before with the same id
+        table.insert(session, row("v1", "p1-new"));
+        Assert.assertTrue(session.hasChanges());
+        Assert.assertTrue(this.statements.isEmpty());
+
+        session.commit();
+        Assert.assertFalse(session.hasChanges());
+
+        // The 7 rows are inserted by the statements of 4, 2 and 1 rows
+        Assert.assertEquals(3, this.statements.size());
+        PreparedStatement[] statements = new PreparedStatement[5];
+        for (Map.Entry<String, PreparedStatement> e :
+             this.statements.entrySet()) {
+            String sql = e.getKey();
+            Assert.assertTrue(sql, sql.startsWith("REPLACE INTO g_v ("));
+            int rows = sql.split("\\(\\?").length - 1;
+            Assert.assertTrue(sql, rows == 4 || rows == 2 || rows == 1);
+            statements[rows] = e.getValue();
+            Mockito.verify(e.getValue()).addBatch();
+        }
+
+        Mockito.verify(statements[4]).setObject(Mockito.anyInt(),
+                                                Mockito.eq("v1"));
+        Mockito.verify(statements[4]).setObject(Mockito.anyInt(),
+                                                Mockito.eq("p1-new"));
+        Mockito.verify(statements[4], Mockito.never())
+               .setObject(Mockito.anyInt(), Mockito.eq("p1"));
+        Mockito.verify(statements[2]).setObject(Mockito.anyInt(),
+                                                Mockito.eq("v4"));
+        Mockito.verify(statements[2]).setObject(Mockito.anyInt(),
+                                                Mockito.eq("v5"));
+        Mockito.verify(statements[1]).setObject(Mockito.anyInt(),
+                                                Mockito.eq("v6"));
+    }
+
+    @Test
+    public void testInsertRowsOneByOne() throws SQLException {
+        MysqlSessions.Session session = this.newSession(1);
+        MysqlTable table = new MysqlTables.Vertex("g");
+
+        table.insert(session, row("v1", "p1"));
+        table.insert(session, row("v2", "p2"));
+        Assert.assertEquals(1, this.statements.size());
+
+        String sql = this.statements.keySet().iterator().next();
+        Assert.assertTrue(sql, sql.startsWith("REPLACE INTO g_v ("));
+        Assert.assertTrue(sql, sql.endsWith(" VALUES (?, ?, ?)"));
+        Mockito.verify(this.statements.get(sql), Mockito.times(2)).addBatch();
+
+        session.commit();
+        Assert.assertEquals(1, this.statements.size());
+    }
+
+    @Test
+    public void testInsertRowsInBatchForPostgresql() throws SQLException {
+        MysqlSessions.Session session = this.newSession(10);
+        MysqlTable table = new PostgresqlTables.Vertex("g");
+
+        table.insert(session, row("v1", "p1"));
+        table.insert(session, row("v2", "p2"));
+        session.commit();
+
+        Assert.assertEquals(1, this.statements.size());
+        String sql = this.statements.keySet().iterator().next();
+        Assert.assertTrue(sql, sql.startsWith("INSERT INTO g_v ("));
+        Assert.assertTrue(sql, sql.contains(
+                          " VALUES (?, ?, ?), (?, ?, ?) ON CONFLICT (ID) " +
+                          "DO UPDATE SET "));
+        Assert.assertTrue(sql, sql.contains("ID = EXCLUDED.ID"));
+        Assert.assertTrue(sql, sql.contains(
+                          "PROPERTIES = EXCLUDED.PROPERTIES"));
+        Mockito.verify(this.statements.get(sql)).addBatch();
+    }
+
+    @Test
+    public void testRollbackRows() throws SQLException {
+        MysqlSessions.Session session = this.newSession(3);
+        MysqlTable table = new MysqlTables.Vertex("g");
+
+        table.insert(session, row("v1", "p1"));
+        Assert.assertTrue(session.hasChanges());
+
+        session.rollback();
+        Assert.assertFalse(session.hasChanges());
+
+        session.commit();
+        Assert.assertTrue(this.statements.isEmpty());
+    }
+
+    @Test
+    public void testRowsTemplate() {
+        MysqlSessions.RowsTemplate template = new MysqlSessions.RowsTemplate(
+                                              "INSERT INTO t (a, b) VALUES ",
+                                              2, " ON CONFLICT (a) DO NOTHING");
+        Assert.assertEquals(2, template.columns());
+        Assert.assertEquals(16383, template.maxRows());
+        Assert.assertEquals("INSERT INTO t (a, b) VALUES (?, ?) " +
+                            "ON CONFLICT (a) DO NOTHING", template.sql(1));
+        Assert.assertEquals("INSERT INTO t (a, b) VALUES (?, ?), (?, ?) " +
+                            "ON CONFLICT (a) DO NOTHING", template.sql(2));
+        Assert.assertSame(template.sql(2), template.sql(2));
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            template.sql(0);
+        });
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            template.sql(16384);
+        });
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            new MysqlSessions.RowsTemplate("INSERT INTO t () VALUES ", 0, "");
+        });
+    }
+
+    private MysqlSessions.Session newSession(int batchRows)
+                                             throws SQLException {
+        Configuration conf = new PropertiesConfiguration();
+        conf.setProperty(MysqlOptions.JDBC_BATCH_INSERT_ROWS.name(),
+                         batchRows);
+        HugeConfig config = new HugeConfig(conf);
+        MysqlSessions sessions = new MysqlSessions(config, "g", "m");
+
+        Connection conn = Mockito.mock(Connection.class);
+        Mockito.when(conn.prepareStatement(Mockito.anyString()))
+               .thenAnswer(invocation -> {
+                   String sql = invocation.getArgument(0);
+                   PreparedStatement statement = Mockito.mock(
+                                                 PreparedStatement.class);
+                   Mockito.when(statement.executeBatch())
+                          .thenReturn(new int[]{1});
+                   this.statements.put(sql, statement);
+                   return statement;
+               });
+
+        MysqlSessions.Session session = sessions.new Session();
+        Whitebox.setInternalState(session, "conn", conn);
+        return session;
+    }
+
+    private static TableBackendEntry.Row row(String id, String properties) {
+        TableBackendEntry.Row row = new TableBackendEntry.Row(
+                                    HugeType.VERTEX, IdGenerator.of(id));
+        row.column(HugeKeys.ID, id);
+        row.column(HugeKeys.LABEL, 1L);
+        row.column(HugeKeys.PROPERTIES, properties);
+        return row;
+    }
+}
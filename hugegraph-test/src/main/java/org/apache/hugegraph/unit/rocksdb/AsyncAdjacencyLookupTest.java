@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.unit.rocksdb;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import org.apache.hugegraph.HugeFactory;
+import org.apache.hugegraph.HugeGraph;
+import org.apache.hugegraph.backend.BackendException;
+import org.apache.hugegraph.backend.cache.Cache;
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.id.IdGenerator;
+import org.apache.hugegraph.backend.store.rocksdb.RocksDBOptions;
+import org.apache.hugegraph.config.CoreOptions;
+import org.apache.hugegraph.config.HugeConfig;
+import org.apache.hugegraph.dist.RegisterUtil;
+import org.apache.hugegraph.testutil.Assert;
+import org.apache.hugegraph.testutil.Whitebox;
+import org.apache.hugegraph.traversal.algorithm.HugeTraverser;
+import org.apache.hugegraph.traversal.algorithm.KneighborTraverser;
+import org.apache.hugegraph.traversal.algorithm.KoutTraverser;
+import org.apache.hugegraph.type.define.Directions;
+import org.apache.hugegraph.unit.BaseUnitTest;
+import org.apache.hugegraph.unit.FakeObjects;
+
+public class AsyncAdjacencyLookupTest extends BaseUnitTest {
+
+    private static final String TMP_DIR = System.getProperty("java.io.tmpdir");
+    private static final String DATA_PATH = TMP_DIR + "/async-lookup";
+
+    // The hub has more edges than the entries prefetched by I/O threads
+    private static final int PREFETCH = 4;
+    private static final int HUB_EDGES = 20;
+
+    @BeforeClass
+    public static void init() {
+        try {
+            RegisterUtil.registerRocksDB();
+        } catch (BackendException e) {
+            // Ignore if registered by other tests
+            Assert.assertContains("Exists BackendStoreProvider",
+                                  e.getMessage());
+        }
+    }
+
+    @After
+    public void teardown() {
+        FileUtils.deleteQuietly(new File(DATA_PATH));
+    }
+
+    @Test
+    public void testKneighborSameAsSyncLookups() {
+        Function<HugeGraph, List<Object>> kneighbor = graph -> {
+            KneighborTraverser traverser = new KneighborTraverser(graph);
+            List<Object> results = new ArrayList<>();
+            Id source = IdGenerator.of(0);
+            for (int depth = 1; depth <= 3; depth++) {
+                results.add(traverser.kneighbor(source, Directions.OUT,
+                                                null, depth,
+                                                HugeTraverser.NO_LIMIT,
+                                                HugeTraverser.NO_LIMIT));
+            }
+            // Limit the degree of each vertex
+            results.add(traverser.kneighbor(source, Directions.BOTH, "link",
+                                            2, 3L, HugeTraverser.NO_LIMIT));
+            // Stop early if reach the limit
+            results.add(traverser.kneighbor(source, Directions.OUT, null,
+                                            3, HugeTraverser.NO_LIMIT,
+                                            10L).size());
+            return results;
+        };
+
+        List<Object> sync = this.withGraph(1, kneighbor);
+        List<Object> async = this.withGraph(4, kneighbor);
+        Assert.assertEquals(sync, async);
+
+        // 3 hubs and 50 distinct leaves since the hubs 1 and 2 overlap
+        Assert.assertEquals(3, ((Set<?>) async.get(0)).size());
+        Assert.assertEquals(53, ((Set<?>) async.get(1)).size());
+        Assert.assertEquals(10, async.get(4));
+    }
+
+    @Test
+    public void testKoutSameAsSyncLookups() {
+        Function<HugeGraph, List<Object>> kout = graph -> {
+            KoutTraverser traverser = new KoutTraverser(graph);
+            List<Object> results = new ArrayList<>();
+            Id source = IdGenerator.of(0);
+            for (int depth = 1; depth <= 3; depth++) {
+                results.add(traverser.kout(source, Directions.OUT, null,
+                                           depth, true,
+                                           HugeTraverser.NO_LIMIT,
+                                           HugeTraverser.NO_LIMIT,
+                                           HugeTraverser.NO_LIMIT));
+            }
+            results.add(traverser.kout(source, Directions.BOTH, "link", 2,
+                                       false, 3L, HugeTraverser.NO_LIMIT,
+                                       HugeTraverser.NO_LIMIT));
+            return results;
+        };
+
+        List<Object> sync = this.withGraph(1, kout);
+        List<Object> async = this.withGraph(4, kout);
+        Assert.assertEquals(sync, async);
+        Assert.assertEquals(50, ((Set<?>) async.get(1)).size());
+    }
+
+    @Test
+    public void testAsyncLookupsFillEdgesCache() {
+        Function<HugeGraph, List<Object>> kout = graph -> {
+            Cache<Id, Object> cache = edgesCache(graph);
+            cache.clear();
+            KoutTraverser traverser = new KoutTraverser(graph);
+            List<Object> results = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                // The second traversal gets the edges from the cache
+                results.add(traverser.kout(IdGenerator.of(0), Directions.OUT,
+                                           null, 2, true,
+                                           HugeTraverser.NO_LIMIT,
+                                           HugeTraverser.NO_LIMIT,
+                                           HugeTraverser.NO_LIMIT));
+                results.add(cache.size());
+            }
+            return results;
+        };
+
+        List<Object> sync = this.withGraph(1, kout);
+        List<Object> async = this.withGraph(4, kout);
+        Assert.assertEquals(sync, async);
+        // The edges of the root and the hubs, the hubs are more than prefetch
+        Assert.assertEquals(4L, async.get(1));
+        Assert.assertEquals(50, ((Set<?>) async.get(2)).size());
+        Assert.assertEquals(4L, async.get(3));
+    }
+
+    private static Cache<Id, Object> edgesCache(HugeGraph graph) {
+        Object tx = Whitebox.invoke(graph.getClass(), "graphTransaction",
+                                    graph);
+        return Whitebox.getInternalState(tx, "edgesCache");
+    }
+
+    private <R> R withGraph(int lookups, Function<HugeGraph, R> func) {
+        HugeConfig config = FakeObjects.newConfig();
+        config.setProperty(CoreOptions.BACKEND.name(), "rocksdb");
+        config.setProperty(CoreOptions.SERIALIZER.name(), "binary");
+        config.setProperty(CoreOptions.STORE.name(), "async_lookup");
+        config.setProperty(CoreOptions.OLTP_ASYNC_LOOKUPS.name(), lookups);
+        config.setProperty(RocksDBOptions.DATA_PATH.name(), DATA_PATH);
+        config.setProperty(RocksDBOptions.WAL_PATH.name(), DATA_PATH);
+        config.setProperty(RocksDBOptions.ASYNC_QUERY_THREADS.name(), 2);
+        config.setProperty(RocksDBOptions.ASYNC_QUERY_PREFETCH.name(),
+                           PREFETCH);
+        HugeGraph graph = HugeFactory.open(config);
+        try {
+            graph.clearBackend();
+            graph.initBackend();
+            this.initGraph(graph);
+            return func.apply(graph);
+        } finally {
+            try {
+                graph.close();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    private void initGraph(HugeGraph graph) {
+        graph.schema().vertexLabel("node").useCustomizeNumberId().create();
+        graph.schema().edgeLabel("link").sourceLabel("node")
+             .targetLabel("node").create();
+        graph.schema().edgeLabel("knows").sourceLabel("node")
+             .targetLabel("node").create();
+
+        /*
+         * 0 -> 1, 2, 3 -> 20 leaves of each hub, the leaves of 1 and 2 are
+         * overlapped, and each leaf links back to 0 by knows
+         */
+        Vertex root = graph.addVertex(T.id, 0, T.label, "node");
+        List<Vertex> hubs = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            Vertex hub = graph.addVertex(T.id, i, T.label, "node");
+            root.addEdge("link", hub);
+            hubs.add(hub);
+        }
+        for (int i = 0; i < 3 * HUB_EDGES; i++) {
+            graph.addVertex(T.id, 100 + i, T.label, "node");
+        }
+        for (int h = 0; h < hubs.size(); h++) {
+            Vertex hub = hubs.get(h);
+            int start = h == 1 ? 100 + HUB_EDGES / 2 : 100 + h * HUB_EDGES;
+            for (int i = start; i < start + HUB_EDGES; i++) {
+                Vertex leaf = graph.vertex(i);
+                hub.addEdge("link", leaf);
+                leaf.addEdge("knows", root);
+            }
+        }
+        graph.tx().commit();
+    }
+}
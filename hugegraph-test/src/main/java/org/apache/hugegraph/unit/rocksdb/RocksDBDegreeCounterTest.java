@@ -0,0 +1,252 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.unit.rocksdb;
+
+import java.io.File;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.rocksdb.RocksDBException;
+
+import org.apache.hugegraph.HugeFactory;
+import org.apache.hugegraph.HugeGraph;
+import org.apache.hugegraph.HugeGraphParams;
+import org.apache.hugegraph.backend.BackendException;
+import org.apache.hugegraph.backend.id.EdgeId;
+import org.apache.hugegraph.backend.id.Id;
+import org.apache.hugegraph.backend.id.IdGenerator;
+import org.apache.hugegraph.backend.query.Aggregate;
+import org.apache.hugegraph.backend.query.Query;
+import org.apache.hugegraph.backend.serializer.BytesBuffer;
+import org.apache.hugegraph.backend.store.BackendEntry.BackendColumnIterator;
+import org.apache.hugegraph.backend.store.BackendMutation;
+import org.apache.hugegraph.backend.store.BackendStore;
+import org.apache.hugegraph.backend.store.rocksdb.RocksDBOptions;
+import org.apache.hugegraph.backend.store.rocksdb.RocksDBSessions.Session;
+import org.apache.hugegraph.backend.store.rocksdb.RocksDBTables;
+import org.apache.hugegraph.backend.tx.GraphTransaction;
+import org.apache.hugegraph.config.CoreOptions;
+import org.apache.hugegraph.config.HugeConfig;
+import org.apache.hugegraph.dist.RegisterUtil;
+import org.apache.hugegraph.testutil.Assert;
+import org.apache.hugegraph.testutil.Whitebox;
+import org.apache.hugegraph.type.define.Directions;
+import org.apache.hugegraph.unit.FakeObjects;
+import org.apache.hugegraph.util.Events;
+
+public class RocksDBDegreeCounterTest extends BaseRocksDBUnitTest {
+
+    private static final String DATABASE = "test-db";
+    private static final String TMP_DIR = System.getProperty("java.io.tmpdir");
+    private static final String DATA_PATH = TMP_DIR + "/degree-counter";
+
+    private static final Id V1 = IdGenerator.of(1);
+    private static final Id V2 = IdGenerator.of("v2");
+    private static final Id KNOWS = IdGenerator.of(1);
+    private static final Id CREATED = IdGenerator.of(2);
+
+    private RocksDBTables.Edge edgesOut;
+    private RocksDBTables.Edge edgesIn;
+    private RocksDBTables.DegreeCounter counter;
+
+    @BeforeClass
+    public static void init() {
+        try {
+            RegisterUtil.registerRocksDB();
+        } catch (BackendException e) {
+            // Ignore if registered by other tests
+            Assert.assertContains("Exists BackendStoreProvider",
+                                  e.getMessage());
+        }
+    }
+
+    @Override
+    @Before
+    public void setup() throws RocksDBException {
+        super.setup();
+        this.edgesOut = RocksDBTables.Edge.out(DATABASE);
+        this.edgesIn = RocksDBTables.Edge.in(DATABASE);
+        this.counter = new RocksDBTables.DegreeCounter(DATABASE);
+        this.rocks.createTable(this.edgesOut.table(), this.edgesIn.table(),
+                               this.counter.table());
+    }
+
+    @Test
+    public void testIncreaseDegree() {
+        Session session = this.rocks.session();
+        this.counter.increase(session, edge(V1, Directions.OUT, KNOWS, 10), 1L);
+        this.counter.increase(session, edge(V1, Directions.OUT, KNOWS, 11), 1L);
+        this.counter.increase(session, edge(V1, Directions.OUT, CREATED, 12),
+                              1L);
+        this.counter.increase(session, edge(V1, Directions.IN, KNOWS, 13), 1L);
+        this.counter.increase(session, edge(V2, Directions.OUT, KNOWS, 10), 1L);
+        session.commit();
+
+        Assert.assertEquals(2L, this.degree(V1, Directions.OUT, KNOWS));
+        Assert.assertEquals(1L, this.degree(V1, Directions.OUT, CREATED));
+        Assert.assertEquals(3L, this.degree(V1, Directions.OUT, null));
+        Assert.assertEquals(1L, this.degree(V1, Directions.IN, null));
+        Assert.assertEquals(4L, this.degree(V1, Directions.BOTH, null));
+        Assert.assertEquals(3L, this.degree(V1, Directions.BOTH, KNOWS));
+        Assert.assertEquals(1L, this.degree(V2, Directions.OUT, null));
+        Assert.assertEquals(0L, this.degree(V2, Directions.IN, null));
+
+        // Decrease the counter by merging a negative delta
+        this.counter.increase(session, edge(V1, Directions.OUT, KNOWS, 10),
+                              -1L);
+        session.commit();
+        Assert.assertEquals(1L, this.degree(V1, Directions.OUT, KNOWS));
+        Assert.assertEquals(2L, this.degree(V1, Directions.OUT, null));
+    }
+
+    @Test
+    public void testRebuild() {
+        Session session = this.rocks.session();
+        for (int i = 0; i < 1200; i++) {
+            session.put(this.edgesOut.table(),
+                        edge(V1, Directions.OUT, KNOWS, i), new byte[0]);
+        }
+        session.put(this.edgesOut.table(),
+                    edge(V1, Directions.OUT, CREATED, 1), new byte[0]);
+        session.put(this.edgesOut.table(),
+                    edge(V2, Directions.OUT, KNOWS, 1), new byte[0]);
+        session.put(this.edgesIn.table(),
+                    edge(V1, Directions.IN, KNOWS, 2), new byte[0]);
+        session.commit();
+
+        long counters;
+        try (BackendColumnIterator edges = session.scan(
+                                           this.edgesOut.table())) {
+            counters = this.counter.rebuild(session, edges);
+        }
+        Assert.assertEquals(3L, counters);
+        try (BackendColumnIterator edges = session.scan(
+                                           this.edgesIn.table())) {
+            counters = this.counter.rebuild(session, edges);
+        }
+        Assert.assertEquals(1L, counters);
+
+        Assert.assertEquals(1200L, this.degree(V1, Directions.OUT, KNOWS));
+        Assert.assertEquals(1201L, this.degree(V1, Directions.OUT, null));
+        Assert.assertEquals(1L, this.degree(V1, Directions.IN, null));
+        Assert.assertEquals(1L, this.degree(V2, Directions.OUT, KNOWS));
+        Assert.assertEquals(0L, this.degree(V2, Directions.OUT, CREATED));
+    }
+
+    @Test
+    public void testUpdateSameEdgeConcurrently() throws Exception {
+        HugeConfig config = FakeObjects.newConfig();
+        config.setProperty(CoreOptions.BACKEND.name(), "rocksdb");
+        config.setProperty(CoreOptions.SERIALIZER.name(), "binary");
+        config.setProperty(CoreOptions.STORE.name(), "degree_counter");
+        config.setProperty(RocksDBOptions.DATA_PATH.name(), DATA_PATH);
+        config.setProperty(RocksDBOptions.WAL_PATH.name(), DATA_PATH);
+        config.setProperty(RocksDBOptions.DEGREE_COUNTER_ENABLE.name(), true);
+        HugeGraph graph = HugeFactory.open(config);
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        try {
+            graph.clearBackend();
+            graph.initBackend();
+            graph.schema().vertexLabel("node").useCustomizeNumberId()
+                 .create();
+            graph.schema().edgeLabel("link").sourceLabel("node")
+                 .targetLabel("node").create();
+            graph.addVertex(T.id, 1, T.label, "node");
+            graph.addVertex(T.id, 2, T.label, "node");
+            graph.tx().commit();
+
+            graph.vertex(1).addEdge("link", graph.vertex(2));
+            this.commitTwice(graph, writer);
+            Assert.assertEquals(1L, degree(graph, 1, Directions.OUT));
+            Assert.assertEquals(1L, degree(graph, 2, Directions.IN));
+            Assert.assertEquals(1, graph.traversal().V(1).outE().toList()
+                                        .size());
+
+            graph.vertex(1).edges(Direction.OUT).next().remove();
+            this.commitTwice(graph, writer);
+            Assert.assertEquals(0L, degree(graph, 1, Directions.OUT));
+            Assert.assertEquals(0L, degree(graph, 2, Directions.IN));
+            Assert.assertEquals(0, graph.traversal().V(1).outE().toList()
+                                        .size());
+        } finally {
+            writer.shutdown();
+            graph.close();
+            FileUtils.deleteQuietly(new File(DATA_PATH));
+        }
+    }
+
+    private void commitTwice(HugeGraph graph, ExecutorService writer)
+                             throws Exception {
+        // Commit the updates of the graph tx by two batches at the same time
+        Object tx = Whitebox.invoke(graph.getClass(), "graphTransaction",
+                                    graph);
+        BackendMutation mutation = Whitebox.invoke(GraphTransaction.class,
+                                                   "prepareCommit", tx);
+        graph.tx().rollback();
+
+        HugeGraphParams params = Whitebox.getInternalState(graph, "params");
+        BackendStore store = params.loadGraphStore();
+        store.beginTx();
+        store.mutate(mutation);
+        Future<?> future = writer.submit(() -> {
+            store.beginTx();
+            store.mutate(mutation);
+            store.commitTx();
+        });
+        // The other batch waits for the counters until this one committed
+        Assert.assertThrows(TimeoutException.class, () -> {
+            future.get(100L, TimeUnit.MILLISECONDS);
+        });
+        store.commitTx();
+        future.get();
+        // The edges committed by the store are not updated into the cache
+        params.graphEventHub().notify(Events.CACHE, "clear", null).get();
+    }
+
+    private static long degree(HugeGraph graph, int vertex,
+                               Directions direction) {
+        Query query = GraphTransaction.constructEdgesQuery(
+                      IdGenerator.of(vertex), direction);
+        query.aggregate(Aggregate.AggregateFunc.COUNT, null);
+        query.capacity(Query.NO_CAPACITY);
+        query.limit(Query.NO_LIMIT);
+        return graph.queryNumber(query).longValue();
+    }
+
+    private long degree(Id vertex, Directions direction, Id label) {
+        return this.counter.degree(this.rocks.session(), vertex,
+                                   direction, label);
+    }
+
+    private static byte[] edge(Id owner, Directions direction, Id label,
+                               int other) {
+        EdgeId id = new EdgeId(owner, direction, label, "",
+                               IdGenerator.of(other));
+        return BytesBuffer.allocate(BytesBuffer.BUF_EDGE_ID)
+                          .writeEdgeId(id).bytes();
+    }
+}
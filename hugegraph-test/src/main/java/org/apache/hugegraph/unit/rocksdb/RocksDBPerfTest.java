@@ -27,9 +27,12 @@ import java.util.Random;
 import org.junit.Test;
 import org.rocksdb.RocksDBException;
 
+import org.apache.hugegraph.backend.id.IdGenerator;
+import org.apache.hugegraph.backend.serializer.BytesBuffer;
 import org.apache.hugegraph.backend.store.BackendEntry.BackendColumn;
 import org.apache.hugegraph.backend.store.BackendEntry.BackendColumnIterator;
 import org.apache.hugegraph.backend.store.rocksdb.RocksDBSessions.Session;
+import org.apache.hugegraph.type.HugeType;
 
 public class RocksDBPerfTest extends BaseRocksDBUnitTest {
 
@@ -248,4 +251,96 @@ public class RocksDBPerfTest extends BaseRocksDBUnitTest {
             }
         }
     }
+
+    @Test
+    public void testDegreeLookup() throws RocksDBException {
+        this.degreeLookup(true);
+    }
+
+    @Test
+    public void testDegreeLookupWithoutBound() throws RocksDBException {
+        // The old path: an unbounded iterator checking the prefix of keys
+        this.degreeLookup(false);
+    }
+
+    @Test
+    public void testDegreeLookupOfNonExistVertex() throws RocksDBException {
+        this.degreeLookupOfNonExistVertex(true);
+    }
+
+    @Test
+    public void testDegreeLookupOfNonExistVertexWithoutBound()
+                throws RocksDBException {
+        this.degreeLookupOfNonExistVertex(false);
+    }
+
+    private void degreeLookup(boolean bounded) {
+        int vertices = 10000;
+        this.putAdjacency(vertices);
+
+        Session session = this.rocks.session();
+        int queryTimes = 100; // 100w
+        for (int j = 0; j < queryTimes; j++) {
+            for (int i = 0; i < vertices; i++) {
+                Iterator<BackendColumn> iter = scanPrefix(session,
+                                                          ownerPrefix(i),
+                                                          bounded);
+                int degree = 0;
+                while (iter.hasNext()) {
+                    iter.next();
+                    degree++;
+                }
+                assert degree == i % 10 + 1;
+            }
+        }
+    }
+
+    private void degreeLookupOfNonExistVertex(boolean bounded) {
+        int vertices = 10000;
+        this.putAdjacency(vertices);
+
+        Session session = this.rocks.session();
+        int queryTimes = 100; // 100w
+        for (int j = 0; j < queryTimes; j++) {
+            for (int i = vertices; i < vertices * 2; i++) {
+                Iterator<BackendColumn> iter = scanPrefix(session,
+                                                          ownerPrefix(i),
+                                                          bounded);
+                assert !iter.hasNext();
+            }
+        }
+    }
+
+    private static BackendColumnIterator scanPrefix(Session session,
+                                                    byte[] prefix,
+                                                    boolean bounded) {
+        if (bounded) {
+            return session.scan(TABLE, prefix);
+        }
+        // Without upper bound and read options like the old prefix scan
+        return session.scan(TABLE, prefix, null, Session.SCAN_PREFIX_BEGIN);
+    }
+
+    private void putAdjacency(int vertices) {
+        Session session = this.rocks.session();
+        byte[] empty = new byte[0];
+        for (int i = 0; i < vertices; i++) {
+            // The owner vertex i has (i % 10 + 1) out edges
+            for (int j = 0; j <= i % 10; j++) {
+                BytesBuffer buffer = BytesBuffer.allocate(32);
+                buffer.write(ownerPrefix(i));
+                buffer.write(HugeType.EDGE_OUT.code());
+                buffer.writeId(IdGenerator.of(1));
+                buffer.writeId(IdGenerator.of(i * 10L + j));
+                session.put(TABLE, buffer.bytes(), empty);
+            }
+        }
+        session.commit();
+        session.compactRange(TABLE);
+    }
+
+    private static byte[] ownerPrefix(long vertex) {
+        return BytesBuffer.allocate(16)
+                          .writeId(IdGenerator.of(vertex)).bytes();
+    }
 }
@@ -366,6 +366,85 @@ public class RocksDBSessionTest extends BaseRocksDBUnitTest {
         Assert.assertArrayEquals(value21, session.get(TABLE, key21));
     }
 
+    @Test
+    public void testScanByRangeWithBulkHint() throws RocksDBException {
+        Session session = this.rocks.session();
+        for (int i = 0; i < 100; i++) {
+            session.put(TABLE, new byte[]{1, (byte) i}, getBytes("v" + i));
+            session.put(TABLE, new byte[]{2, (byte) i}, getBytes("v" + i));
+        }
+        session.put(TABLE, new byte[]{1, -1}, getBytes("v-1"));
+        this.commit();
+        session.compactRange(TABLE);
+
+        Iterator<BackendColumn> iter;
+        iter = session.scan(TABLE, null, null,
+                            Session.SCAN_ANY | Session.SCAN_BULK);
+        Assert.assertEquals(201, count(iter));
+
+        iter = session.scan(TABLE, new byte[]{1, 10}, new byte[]{2},
+                            Session.SCAN_GTE_BEGIN | Session.SCAN_LT_END |
+                            Session.SCAN_BULK);
+        Assert.assertEquals(91, count(iter));
+
+        iter = session.scan(TABLE, new byte[]{1, 10}, new byte[]{2, 10},
+                            Session.SCAN_GT_BEGIN | Session.SCAN_LTE_END |
+                            Session.SCAN_BULK);
+        Assert.assertEquals(101, count(iter));
+
+        iter = session.scan(TABLE, new byte[]{1, 98}, new byte[]{1},
+                            Session.SCAN_GTE_BEGIN | Session.SCAN_PREFIX_END |
+                            Session.SCAN_BULK);
+        Assert.assertEquals(3, count(iter));
+    }
+
+    @Test
+    public void testScanByRangeInReverseOrder() throws RocksDBException {
+        Session session = this.rocks.session();
+        for (int i = 0; i < 10; i++) {
+            session.put(TABLE, new byte[]{1, (byte) i}, getBytes("v" + i));
+            session.put(TABLE, new byte[]{2, (byte) i}, getBytes("v" + i));
+        }
+        this.commit();
+
+        Iterator<BackendColumn> iter;
+        iter = session.scan(TABLE, new byte[]{1, 3}, new byte[]{1, 6},
+                            Session.SCAN_GTE_BEGIN | Session.SCAN_LT_END |
+                            Session.SCAN_REVERSE);
+        for (int i = 5; i >= 3; i--) {
+            Assert.assertTrue(iter.hasNext());
+            Assert.assertArrayEquals(new byte[]{1, (byte) i},
+                                     iter.next().name);
+        }
+        Assert.assertFalse(iter.hasNext());
+
+        iter = session.scan(TABLE, new byte[]{1, 3}, new byte[]{2, 1},
+                            Session.SCAN_GT_BEGIN | Session.SCAN_LTE_END |
+                            Session.SCAN_REVERSE);
+        Assert.assertArrayEquals(new byte[]{2, 1}, iter.next().name);
+        Assert.assertArrayEquals(new byte[]{2, 0}, iter.next().name);
+        Assert.assertArrayEquals(new byte[]{1, 9}, iter.next().name);
+        // The remaining keys [1,8] ~ [1,4], excluding the begin key [1,3]
+        Assert.assertEquals(5, count(iter));
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            session.scan(TABLE, null, new byte[]{2},
+                         Session.SCAN_LT_END | Session.SCAN_REVERSE);
+        }, e -> {
+            Assert.assertContains("Reverse scan must specify both",
+                                  e.getMessage());
+        });
+    }
+
+    private static int count(Iterator<BackendColumn> iter) {
+        int count = 0;
+        while (iter.hasNext()) {
+            iter.next();
+            count++;
+        }
+        return count;
+    }
+
     @Test
     public void testUpdate() throws RocksDBException {
         put("person:1gname", "James");
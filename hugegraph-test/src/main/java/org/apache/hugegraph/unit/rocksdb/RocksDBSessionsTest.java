@@ -19,19 +19,31 @@ package org.apache.hugegraph.unit.rocksdb;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
 
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.junit.Test;
 import org.rocksdb.RocksDBException;
 
+import org.apache.hugegraph.backend.BackendException;
+import org.apache.hugegraph.backend.id.IdGenerator;
+import org.apache.hugegraph.backend.serializer.BytesBuffer;
+import org.apache.hugegraph.backend.store.BackendEntry.BackendColumnIterator;
+import org.apache.hugegraph.backend.store.BackendMetrics;
+import org.apache.hugegraph.backend.store.rocksdb.RocksDBMemoryManager;
 import org.apache.hugegraph.backend.store.rocksdb.RocksDBMetrics;
 import org.apache.hugegraph.backend.store.rocksdb.RocksDBOptions;
 import org.apache.hugegraph.backend.store.rocksdb.RocksDBSessions;
+import org.apache.hugegraph.backend.store.rocksdb.RocksDBSessions.Session;
 import org.apache.hugegraph.backend.store.rocksdb.RocksDBStdSessions;
 import org.apache.hugegraph.backend.store.rocksdbsst.RocksDBSstSessions;
 import org.apache.hugegraph.config.HugeConfig;
 import org.apache.hugegraph.testutil.Assert;
+import org.apache.hugegraph.type.HugeType;
 import org.apache.hugegraph.unit.FakeObjects;
+import org.apache.hugegraph.util.Bytes;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 
@@ -218,4 +230,292 @@ public class RocksDBSessionsTest extends BaseRocksDBUnitTest {
         value = getString(rocks.session().get(TABLE2, getBytes("book:1999")));
         Assert.assertEquals("Java1999", value);
     }
+
+    @Test
+    public void testIngestUnorderedSstWithSpill() throws RocksDBException {
+        HugeConfig config = FakeObjects.newConfig();
+        String sstPath = DB_PATH + "/sst-unordered";
+        config.addProperty(RocksDBOptions.SST_PATH.name(), sstPath);
+        // Spill sorted runs to disk every 1MB
+        config.addProperty(RocksDBOptions.SST_SORT_BUFFER_SIZE.name(),
+                           Bytes.MB);
+        RocksDBSstSessions sstSessions = new RocksDBSstSessions(config,
+                                                                "sst", "store",
+                                                                sstPath);
+        final String TABLE = "test-table-unordered";
+        sstSessions.createTable(TABLE);
+
+        // Write keys in descending order across several commits
+        String padding = StringUtils.repeat('x', 100);
+        for (int i = 19999; i >= 0; i--) {
+            String k = String.format("%05d", i);
+            sstSessions.session().put(TABLE, getBytes("person:" + k),
+                                      getBytes("James" + i + padding));
+            if (i % 1000 == 0) {
+                sstSessions.session().commit();
+            }
+        }
+        // Overwrite some keys, the last written value wins
+        for (int i = 0; i < 20000; i += 2) {
+            String k = String.format("%05d", i);
+            sstSessions.session().put(TABLE, getBytes("person:" + k),
+                                      getBytes("Tom" + i));
+        }
+        sstSessions.session().commit();
+        sstSessions.close();
+        sstSessions.dropTable(TABLE);
+
+        RocksDBSessions rocks = new RocksDBStdSessions(config, "db-unordered",
+                                                       "store", sstPath,
+                                                       sstPath);
+        try {
+            rocks.createTable(TABLE);
+            Assert.assertEquals(ImmutableList.of("20000"),
+                                rocks.property(RocksDBMetrics.KEY_NUM_KEYS));
+            String value = getString(rocks.session().get(
+                                     TABLE, getBytes("person:00000")));
+            Assert.assertEquals("Tom0", value);
+            value = getString(rocks.session().get(
+                              TABLE, getBytes("person:00001")));
+            Assert.assertEquals("James1" + padding, value);
+            value = getString(rocks.session().get(
+                              TABLE, getBytes("person:19998")));
+            Assert.assertEquals("Tom19998", value);
+            value = getString(rocks.session().get(
+                              TABLE, getBytes("person:19999")));
+            Assert.assertEquals("James19999" + padding, value);
+        } finally {
+            rocks.close();
+        }
+    }
+
+    @Test
+    public void testDiscardSst() throws RocksDBException {
+        HugeConfig config = FakeObjects.newConfig();
+        String sstPath = DB_PATH + "/sst-discard";
+        RocksDBSstSessions sstSessions = new RocksDBSstSessions(config,
+                                                                "sst", "store",
+                                                                sstPath);
+        final String TABLE = "test-table-discard";
+        sstSessions.createTable(TABLE);
+        sstSessions.session().put(TABLE, getBytes("person:1"),
+                                  getBytes("James"));
+        sstSessions.session().commit();
+
+        sstSessions.discard();
+        Assert.assertFalse(sstSessions.existsTable(TABLE));
+        // Close without writing the discarded records into sst files
+        sstSessions.close();
+        Assert.assertEquals(0, new File(sstPath, TABLE).list().length);
+
+        // Can't write after discarded
+        sstSessions.session().put(TABLE, getBytes("person:2"),
+                                  getBytes("Tom"));
+        Assert.assertThrows(BackendException.class, () -> {
+            sstSessions.session().commit();
+        }, e -> {
+            Assert.assertContains("is not opened", e.getMessage());
+        });
+        Assert.assertThrows(IllegalStateException.class, () -> {
+            sstSessions.createTable(TABLE);
+        }, e -> {
+            Assert.assertContains("have been discarded", e.getMessage());
+        });
+    }
+
+    @Test
+    public void testScanWithPrefixExtractor() throws RocksDBException {
+        HugeConfig config = FakeObjects.newConfig();
+        config.addProperty(RocksDBOptions.PREFIX_EXTRACTOR_CAPPED.name(), 3);
+
+        String path = DB_PATH + "/prefix-extractor";
+        RocksDBStdSessions rocks = new RocksDBStdSessions(config, "db",
+                                                          "store", path, path);
+        try {
+            final String TABLE = "test-table-edge";
+            rocks.createTable(TABLE);
+            Session session = rocks.session();
+
+            // The owner vertex ids have different lengths
+            long[] owners = {1L, 2L, 1000L, 100000L, 10000000000L};
+            for (long owner : owners) {
+                for (int i = 0; i < 10; i++) {
+                    BytesBuffer buffer = BytesBuffer.allocate(32);
+                    buffer.writeId(IdGenerator.of(owner));
+                    buffer.write(HugeType.EDGE_OUT.code());
+                    buffer.writeId(IdGenerator.of(i % 2 + 1));
+                    buffer.writeId(IdGenerator.of(i));
+                    session.put(TABLE, buffer.bytes(), getBytes("v" + i));
+                }
+            }
+            byte[] full = new byte[]{(byte) 0xff, (byte) 0xff};
+            session.put(TABLE, full, getBytes("ff"));
+            session.commit();
+            // Flush into sst files to make use of the prefix bloom filters
+            session.compactRange(TABLE);
+
+            for (long owner : owners) {
+                byte[] prefix = BytesBuffer.allocate(16)
+                                           .writeId(IdGenerator.of(owner))
+                                           .bytes();
+                Assert.assertEquals(10, count(session.scan(TABLE, prefix)));
+
+                byte[] adjacency = BytesBuffer.allocate(16)
+                                              .writeId(IdGenerator.of(owner))
+                                              .write(HugeType.EDGE_OUT.code())
+                                              .writeId(IdGenerator.of(1))
+                                              .bytes();
+                Assert.assertEquals(5, count(session.scan(TABLE, adjacency)));
+            }
+            Assert.assertEquals(1, count(session.scan(TABLE, full)));
+            Assert.assertEquals(0, count(session.scan(TABLE,
+                                                      new byte[]{0x7f})));
+
+            byte[] from = BytesBuffer.allocate(16)
+                                     .writeId(IdGenerator.of(2L)).bytes();
+            byte[] to = BytesBuffer.allocate(16)
+                                   .writeId(IdGenerator.of(100000L)).bytes();
+            Assert.assertEquals(20, count(session.scan(TABLE, from, to)));
+            Assert.assertEquals(30, count(session.scan(
+                                    TABLE, from, to,
+                                    Session.SCAN_GTE_BEGIN |
+                                    Session.SCAN_LTE_END)));
+        } finally {
+            rocks.close();
+        }
+    }
+
+    @Test
+    public void testScanByPrefixReusingOptions() throws RocksDBException {
+        final String TABLE = "test-table-prefix";
+        this.rocks.createTable(TABLE);
+        Session session = this.rocks.session();
+
+        byte[] longPrefix = new byte[100];
+        Arrays.fill(longPrefix, (byte) 0x01);
+        for (int i = 0; i < 10; i++) {
+            session.put(TABLE, getBytes("a:" + i), getBytes("a" + i));
+            session.put(TABLE, getBytes("b:" + i), getBytes("b" + i));
+            session.put(TABLE, Bytes.concat(longPrefix, new byte[]{(byte) i}),
+                        getBytes("l" + i));
+        }
+        session.put(TABLE, new byte[]{(byte) 0xff, (byte) 0xff},
+                    getBytes("ff"));
+        session.commit();
+
+        // The options of an opened iterator are not reused by other scans
+        BackendColumnIterator iterA = session.scan(TABLE, getBytes("a:"));
+        BackendColumnIterator iterB = session.scan(TABLE, getBytes("b:"));
+        int count = 0;
+        while (iterA.hasNext() && iterB.hasNext()) {
+            Assert.assertEquals("a" + count, getString(iterA.next().value));
+            Assert.assertEquals("b" + count, getString(iterB.next().value));
+            count++;
+        }
+        Assert.assertEquals(10, count);
+        Assert.assertFalse(iterA.hasNext());
+        Assert.assertFalse(iterB.hasNext());
+
+        // Reuse the released options with a longer bound and without bound
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals(10, count(session.scan(TABLE, getBytes("a:"))));
+            Assert.assertEquals(10, count(session.scan(TABLE, longPrefix)));
+            Assert.assertEquals(1, count(session.scan(TABLE,
+                                                      new byte[]{-1})));
+            Assert.assertEquals(1, count(session.scan(TABLE, getBytes("b:1"))));
+        }
+    }
+
+    private static int count(BackendColumnIterator iter) {
+        int count = 0;
+        while (iter.hasNext()) {
+            iter.next();
+            count++;
+        }
+        return count;
+    }
+
+    @Test
+    public void testSharedMemoryRebalance() throws RocksDBException {
+        HugeConfig config = FakeObjects.newConfig();
+        config.addProperty(RocksDBOptions.SHARED_BLOCK_CACHE_CAPACITY.name(),
+                           64L * Bytes.MB);
+        config.addProperty(RocksDBOptions.SHARED_WRITE_BUFFER_SIZE.name(),
+                           32L * Bytes.MB);
+        config.addProperty(RocksDBOptions.MEMORY_REBALANCE_INTERVAL.name(), 0);
+
+        String path1 = DB_PATH + "/shared-db1";
+        String path2 = DB_PATH + "/shared-db2";
+        RocksDBStdSessions db1 = new RocksDBStdSessions(config, "db1", "store",
+                                                        path1, path1);
+        RocksDBStdSessions db2 = new RocksDBStdSessions(config, "db2", "store",
+                                                        path2, path2);
+        try {
+            Assert.assertTrue(RocksDBMemoryManager.enabled());
+            // The idle graphs share the write buffers equally
+            Assert.assertEquals(16L * Bytes.MB, db1.writeBufferBudget());
+            Assert.assertEquals(16L * Bytes.MB, db2.writeBufferBudget());
+
+            final String TABLE = "test-table-shared";
+            db1.createTable(TABLE);
+            for (int i = 0; i < 10000; i++) {
+                db1.session().put(TABLE, getBytes("person:" + i),
+                                  getBytes("James" + i));
+            }
+            db1.session().commit();
+
+            // The active graph gets more write buffers
+            RocksDBMemoryManager.rebalance();
+            Assert.assertEquals(24L * Bytes.MB, db1.writeBufferBudget());
+            Assert.assertEquals(8L * Bytes.MB, db2.writeBufferBudget());
+
+            Map<String, Object> metrics = new RocksDBMetrics(
+                                          ImmutableList.of(db1),
+                                          db1.session()).metrics();
+            @SuppressWarnings("unchecked")
+            Map<String, Object> local = (Map<String, Object>)
+                                        ((Map<String, Object>) metrics.get(
+                                        BackendMetrics.SERVERS)).get(
+                                        BackendMetrics.SERVER_LOCAL);
+            Assert.assertEquals(64L, local.get("shared_block_cache_capacity"));
+            Assert.assertEquals(32L, local.get("shared_write_buffer_size"));
+            Assert.assertEquals(24L, local.get("write_buffer_budget"));
+        } finally {
+            db1.session();
+            db1.close();
+            db2.session();
+            db2.close();
+        }
+        Assert.assertEquals(0L, db1.writeBufferBudget());
+        Assert.assertFalse(RocksDBMemoryManager.enabled());
+    }
+
+    @Test
+    public void testSharedMemoryReleasedIfOpenFailed()
+                                                throws RocksDBException {
+        HugeConfig config = FakeObjects.newConfig();
+        String path = DB_PATH + "/shared-db-locked";
+        // The db is locked by an instance without the shared memory
+        RocksDBStdSessions db = new RocksDBStdSessions(config, "db", "store",
+                                                       path, path);
+        try {
+            Assert.assertFalse(RocksDBMemoryManager.enabled());
+
+            HugeConfig sharedConfig = FakeObjects.newConfig();
+            sharedConfig.addProperty(
+                         RocksDBOptions.SHARED_BLOCK_CACHE_CAPACITY.name(),
+                         64L * Bytes.MB);
+            Assert.assertThrows(RocksDBException.class, () -> {
+                new RocksDBStdSessions(sharedConfig, "db", "store",
+                                       path, path);
+            }, e -> {
+                Assert.assertContains("lock", e.getMessage());
+            });
+            // The shared memory referenced by the failed open is released
+            Assert.assertFalse(RocksDBMemoryManager.enabled());
+        } finally {
+            db.session();
+            db.close();
+        }
+    }
 }
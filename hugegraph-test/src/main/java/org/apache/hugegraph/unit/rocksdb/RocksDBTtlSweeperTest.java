@@ -0,0 +1,265 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.unit.rocksdb;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.rocksdb.RocksDBException;
+
+import org.apache.hugegraph.backend.id.IdGenerator;
+import org.apache.hugegraph.backend.serializer.BinaryBackendEntry;
+import org.apache.hugegraph.backend.serializer.BytesBuffer;
+import org.apache.hugegraph.backend.store.BackendEntry.BackendColumnIterator;
+import org.apache.hugegraph.backend.store.rocksdb.RocksDBSessions.Session;
+import org.apache.hugegraph.backend.store.rocksdb.RocksDBTable;
+import org.apache.hugegraph.backend.store.rocksdb.RocksDBTables;
+import org.apache.hugegraph.backend.store.rocksdb.RocksDBTtlSweeper;
+import org.apache.hugegraph.testutil.Assert;
+import org.apache.hugegraph.type.HugeType;
+import com.google.common.collect.ImmutableMap;
+
+public class RocksDBTtlSweeperTest extends BaseRocksDBUnitTest {
+
+    private static final String DATABASE = "test-db";
+
+    private Map<HugeType, RocksDBTable> tables;
+    private RocksDBTables.TtlMarker markers;
+
+    @Override
+    @Before
+    public void setup() throws RocksDBException {
+        super.setup();
+        this.tables = ImmutableMap.of(
+                      HugeType.VERTEX, new RocksDBTables.Vertex(DATABASE),
+                      HugeType.SECONDARY_INDEX,
+                      new RocksDBTables.SecondaryIndex(DATABASE));
+        this.markers = new RocksDBTables.TtlMarker(DATABASE);
+        for (RocksDBTable table : this.tables.values()) {
+            this.rocks.createTable(table.table());
+        }
+        this.rocks.createTable(this.markers.table());
+    }
+
+    @Test
+    public void testSweepExpired() {
+        RocksDBTtlSweeper sweeper = this.newSweeper(100);
+        long now = System.currentTimeMillis();
+
+        this.insert(sweeper, HugeType.VERTEX, "v1", "name=marko", 1000L);
+        this.insert(sweeper, HugeType.VERTEX, "v2", "name=josh", 100000L);
+        this.insert(sweeper, HugeType.VERTEX, "v3", "name=lop", 0L);
+        this.insert(sweeper, HugeType.SECONDARY_INDEX, "marko:v1", "", 1000L);
+        this.commit();
+        Assert.assertEquals(3L, this.count(this.markers.table()));
+
+        // Nothing expired
+        Assert.assertNull(sweeper.sweep(this.rocks.session(), null, now));
+        Assert.assertEquals(3L, this.count(HugeType.VERTEX));
+
+        Assert.assertNotNull(sweeper.sweep(this.rocks.session(), null,
+                                           now + 5000L));
+        Assert.assertNull(this.get(HugeType.VERTEX, "v1"));
+        Assert.assertEquals("name=josh", this.get(HugeType.VERTEX, "v2"));
+        Assert.assertEquals("name=lop", this.get(HugeType.VERTEX, "v3"));
+        Assert.assertEquals(0L, this.count(HugeType.SECONDARY_INDEX));
+        Assert.assertEquals(1L, this.count(this.markers.table()));
+
+        Map<String, Object> metrics = sweeper.metrics();
+        Assert.assertEquals(1L, metrics.get(RocksDBTtlSweeper.EXPIRED_VERTICES));
+        Assert.assertEquals(0L, metrics.get(RocksDBTtlSweeper.EXPIRED_EDGES));
+        Assert.assertEquals(1L, metrics.get(RocksDBTtlSweeper.EXPIRED_INDEXES));
+        Assert.assertEquals(0L, metrics.get(RocksDBTtlSweeper.STALE_MARKERS));
+        Assert.assertEquals(now, metrics.get(RocksDBTtlSweeper.LAST_SWEEP_TIME));
+    }
+
+    @Test
+    public void testSweepWithStaleMarkers() {
+        RocksDBTtlSweeper sweeper = this.newSweeper(100);
+        long now = System.currentTimeMillis();
+
+        this.insert(sweeper, HugeType.VERTEX, "v1", "name=marko", 1000L);
+        this.insert(sweeper, HugeType.VERTEX, "v2", "name=josh", 1000L);
+        this.commit();
+
+        // Overwrite v1 without ttl and delete v2 after marked
+        this.insert(sweeper, HugeType.VERTEX, "v1", "name=marko2", 0L);
+        this.rocks.session().delete(this.table(HugeType.VERTEX),
+                                    key(HugeType.VERTEX, "v2"));
+        this.commit();
+
+        Assert.assertNotNull(sweeper.sweep(this.rocks.session(), null,
+                                           now + 5000L));
+        Assert.assertEquals("name=marko2", this.get(HugeType.VERTEX, "v1"));
+        Assert.assertEquals(0L, this.count(this.markers.table()));
+
+        Map<String, Object> metrics = sweeper.metrics();
+        Assert.assertEquals(0L, metrics.get(RocksDBTtlSweeper.EXPIRED_VERTICES));
+        Assert.assertEquals(2L, metrics.get(RocksDBTtlSweeper.STALE_MARKERS));
+    }
+
+    @Test
+    public void testSweepInBatches() {
+        RocksDBTtlSweeper sweeper = this.newSweeper(2);
+        long now = System.currentTimeMillis();
+
+        for (int i = 0; i < 5; i++) {
+            this.insert(sweeper, HugeType.VERTEX, "v" + i, "age=" + i,
+                        1000L + i);
+        }
+        this.commit();
+
+        int batches = 0;
+        byte[] last = null;
+        do {
+            last = sweeper.sweep(this.rocks.session(), last, now + 5000L);
+            if (last != null) {
+                batches++;
+                Assert.assertEquals(5L - Math.min(5, batches * 2),
+                                    this.count(HugeType.VERTEX));
+            }
+        } while (last != null);
+
+        Assert.assertEquals(3, batches);
+        Assert.assertEquals(0L, this.count(this.markers.table()));
+        Assert.assertEquals(5L, sweeper.metrics().get(
+                                RocksDBTtlSweeper.EXPIRED_VERTICES));
+    }
+
+    @Test
+    public void testSweepWhileRewritingRow() throws Exception {
+        RocksDBTtlSweeper marker = this.newSweeper(100);
+        long now = System.currentTimeMillis();
+
+        this.insert(marker, HugeType.VERTEX, "v1", "name=marko", 1000L);
+        this.commit();
+
+        // Like the store, writers commit with the read lock
+        ReadWriteLock lock = new ReentrantReadWriteLock();
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        AtomicInteger lookups = new AtomicInteger();
+        List<Future<?>> rewritten = new ArrayList<>();
+        // Rewrite v1 after it's checked and before it's deleted
+        Function<HugeType, RocksDBTable> tables = type -> {
+            if (lookups.incrementAndGet() == 2) {
+                rewritten.add(writer.submit(() -> {
+                    lock.readLock().lock();
+                    try {
+                        this.insert(marker, HugeType.VERTEX, "v1",
+                                    "name=marko2", 100000L);
+                        this.commit();
+                    } finally {
+                        lock.readLock().unlock();
+                        this.rocks.close();
+                    }
+                }));
+                // The writer can't commit until the batch is swept
+                Assert.assertThrows(TimeoutException.class, () -> {
+                    rewritten.get(0).get(100L, TimeUnit.MILLISECONDS);
+                });
+            }
+            return this.tables.get(type);
+        };
+        RocksDBTtlSweeper sweeper = new RocksDBTtlSweeper(
+                                    this.markers, tables,
+                                    type -> this.rocks.session(), 100);
+
+        lock.writeLock().lock();
+        try {
+            Assert.assertNotNull(sweeper.sweep(this.rocks.session(), null,
+                                               now + 5000L));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        rewritten.get(0).get();
+        writer.shutdown();
+
+        // The row rewritten with a new ttl and its marker are kept
+        Assert.assertEquals("name=marko2", this.get(HugeType.VERTEX, "v1"));
+        Assert.assertEquals(1L, this.count(this.markers.table()));
+        Assert.assertEquals(1L, sweeper.metrics().get(
+                                RocksDBTtlSweeper.EXPIRED_VERTICES));
+        Assert.assertNull(sweeper.sweep(this.rocks.session(), null,
+                                        now + 5000L));
+    }
+
+    private RocksDBTtlSweeper newSweeper(int batchSize) {
+        return new RocksDBTtlSweeper(this.markers, this.tables::get,
+                                     type -> this.rocks.session(), batchSize);
+    }
+
+    private void insert(RocksDBTtlSweeper sweeper, HugeType type,
+                        String key, String value, long ttl) {
+        BinaryBackendEntry entry = new BinaryBackendEntry(type,
+                                                          key(type, key));
+        entry.column(key(type, key), getBytes(value));
+        entry.ttl(ttl);
+
+        Session session = this.rocks.session();
+        this.tables.get(type).insert(session, entry);
+        if (RocksDBTtlSweeper.isExpirable(entry)) {
+            sweeper.mark(session, entry);
+        }
+    }
+
+    private String get(HugeType type, String key) {
+        return getString(this.rocks.session().get(this.table(type),
+                                                  key(type, key)));
+    }
+
+    private long count(HugeType type) {
+        return this.count(this.table(type));
+    }
+
+    private long count(String table) {
+        long count = 0L;
+        try (BackendColumnIterator iter = this.rocks.session().scan(table)) {
+            while (iter.hasNext()) {
+                iter.next();
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private String table(HugeType type) {
+        return this.tables.get(type).table();
+    }
+
+    private static byte[] key(HugeType type, String key) {
+        BytesBuffer buffer = BytesBuffer.allocate(0);
+        if (type.isIndex()) {
+            buffer.writeIndexId(IdGenerator.of(key), type);
+        } else {
+            buffer.writeId(IdGenerator.of(key));
+        }
+        return buffer.bytes();
+    }
+}
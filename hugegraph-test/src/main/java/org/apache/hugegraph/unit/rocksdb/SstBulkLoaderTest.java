@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.unit.rocksdb;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import org.apache.hugegraph.HugeFactory;
+import org.apache.hugegraph.HugeGraph;
+import org.apache.hugegraph.backend.BackendException;
+import org.apache.hugegraph.backend.id.IdGenerator;
+import org.apache.hugegraph.backend.store.rocksdb.RocksDBOptions;
+import org.apache.hugegraph.cmd.SstBulkLoader;
+import org.apache.hugegraph.config.CoreOptions;
+import org.apache.hugegraph.config.HugeConfig;
+import org.apache.hugegraph.dist.RegisterUtil;
+import org.apache.hugegraph.schema.SchemaManager;
+import org.apache.hugegraph.testutil.Assert;
+import org.apache.hugegraph.type.define.NodeRole;
+import org.apache.hugegraph.unit.BaseUnitTest;
+import org.apache.hugegraph.unit.FakeObjects;
+import com.google.common.collect.ImmutableList;
+
+public class SstBulkLoaderTest extends BaseUnitTest {
+
+    private static final String TMP_DIR = System.getProperty("java.io.tmpdir");
+    private static final String ROOT = TMP_DIR + "/sst-bulk-loader";
+    private static final String DATA_PATH = ROOT + "/data";
+    private static final String SST_PATH = ROOT + "/sst";
+
+    private HugeConfig config;
+
+    @BeforeClass
+    public static void init() {
+        try {
+            RegisterUtil.registerRocksDB();
+        } catch (BackendException e) {
+            // Ignore if registered by other tests
+            Assert.assertContains("Exists BackendStoreProvider",
+                                  e.getMessage());
+        }
+    }
+
+    @Before
+    public void setup() {
+        FileUtils.deleteQuietly(new File(ROOT));
+        this.config = FakeObjects.newConfig();
+        this.config.setProperty(CoreOptions.BACKEND.name(), "rocksdb");
+        this.config.setProperty(CoreOptions.SERIALIZER.name(), "binary");
+        this.config.setProperty(CoreOptions.STORE.name(), "sst_loader");
+        this.config.setProperty(RocksDBOptions.DATA_PATH.name(), DATA_PATH);
+        this.config.setProperty(RocksDBOptions.WAL_PATH.name(), DATA_PATH);
+
+        this.withGraph(graph -> {
+            graph.clearBackend();
+            graph.initBackend();
+            graph.serverStarted(IdGenerator.of("server1"), NodeRole.MASTER);
+
+            SchemaManager schema = graph.schema();
+            schema.propertyKey("name").asText().create();
+            schema.propertyKey("age").asInt().create();
+            schema.propertyKey("weight").asDouble().create();
+            schema.vertexLabel("person").useCustomizeNumberId()
+                  .properties("name", "age").nullableKeys("age").create();
+            schema.indexLabel("personByName").onV("person").by("name")
+                  .secondary().create();
+            schema.indexLabel("personByAge").onV("person").by("age")
+                  .range().create();
+            schema.edgeLabel("knows").sourceLabel("person")
+                  .targetLabel("person").properties("weight").create();
+            schema.vertexLabel("user").useCustomizeStringId()
+                  .properties("name").create();
+            schema.indexLabel("userByName").onV("user").by("name")
+                  .unique().create();
+        });
+    }
+
+    @After
+    public void teardown() {
+        FileUtils.deleteQuietly(new File(ROOT));
+    }
+
+    @Test
+    public void testLoad() throws Exception {
+        String persons = this.write("person.csv",
+                                    "id,name,age\n" +
+                                    "1,marko,29\n" +
+                                    "2,vadas,27\n" +
+                                    "3,josh,\n");
+        String knows = this.write("knows.json",
+                                  "{\"label\":\"knows\"," +
+                                  "\"outVLabel\":\"person\",\"outV\":1," +
+                                  "\"inVLabel\":\"person\",\"inV\":2," +
+                                  "\"properties\":{\"weight\":0.5}}\n" +
+                                  "{\"label\":\"knows\"," +
+                                  "\"outVLabel\":\"person\",\"outV\":1," +
+                                  "\"inVLabel\":\"person\",\"inV\":3," +
+                                  "\"properties\":{\"weight\":1.0}}\n");
+
+        SstBulkLoader loader = SstBulkLoader.load(
+                               this.config, SST_PATH,
+                               ImmutableList.of("vertex:person:" + persons,
+                                                "edge:" + knows));
+        Assert.assertEquals(3L, loader.vertices());
+        Assert.assertEquals(2L, loader.edges());
+
+        this.withGraph(graph -> {
+            GraphTraversalSource g = graph.traversal();
+            Assert.assertEquals(3L, g.V().count().next());
+            Assert.assertEquals(2L, g.E().count().next());
+            Assert.assertEquals(ImmutableList.of("marko"),
+                                g.V().has("name", "marko").values("name")
+                                 .toList());
+            Assert.assertEquals(2L, g.V().has("age").count().next());
+            Assert.assertEquals(ImmutableList.of("josh"),
+                                g.V(1L).outE("knows").has("weight", 1.0)
+                                 .inV().values("name").toList());
+        });
+    }
+
+    @Test
+    public void testLoadWithUniqueIndex() throws Exception {
+        String users = this.write("user.csv", "id,name\nu1,marko\n");
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            SstBulkLoader.load(this.config, SST_PATH,
+                               ImmutableList.of("vertex:user:" + users));
+        }, e -> {
+            Assert.assertContains("with unique index 'userByName'",
+                                  e.getMessage());
+        });
+
+        this.withGraph(graph -> {
+            Assert.assertEquals(0L, graph.traversal().V().count().next());
+        });
+    }
+
+    private String write(String name, String content) throws IOException {
+        File file = new File(ROOT, name);
+        FileUtils.write(file, content, StandardCharsets.UTF_8);
+        return file.getPath();
+    }
+
+    private void withGraph(Consumer<HugeGraph> consumer) {
+        HugeGraph graph = HugeFactory.open(this.config);
+        try {
+            consumer.accept(graph);
+        } finally {
+            try {
+                graph.close();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.unit.util;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.hugegraph.HugeException;
+import org.apache.hugegraph.testutil.Assert;
+import org.apache.hugegraph.util.Consumers;
+import org.apache.hugegraph.util.ForkJoinConsumers;
+
+public class ForkJoinConsumersTest {
+
+    private ForkJoinPool pool;
+
+    @Before
+    public void setup() {
+        this.pool = ForkJoinConsumers.newPool("test", 4);
+    }
+
+    @After
+    public void teardown() throws InterruptedException {
+        this.pool.shutdown();
+        Assert.assertTrue(this.pool.awaitTermination(10L, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testConsume() throws Throwable {
+        AtomicLong sum = new AtomicLong();
+        ForkJoinConsumers<Integer> consumers = new ForkJoinConsumers<>(
+                                               this.pool, i -> {
+            sum.addAndGet(i);
+        }, 7);
+        long count = consumers.consume(range(1, 1000));
+        Assert.assertEquals(1000L, count);
+        Assert.assertEquals(500500L, sum.get());
+        Assert.assertFalse(consumers.stopped());
+
+        Assert.assertEquals(0L, consumers.consume(range(1, 0)));
+    }
+
+    @Test
+    public void testConsumeNested() throws Throwable {
+        AtomicLong sum = new AtomicLong();
+        ForkJoinConsumers<Integer> inner = new ForkJoinConsumers<>(
+                                           this.pool, i -> {
+            sum.addAndGet(i);
+        }, 3);
+        ForkJoinConsumers<Integer> outer = new ForkJoinConsumers<>(
+                                           this.pool, i -> {
+            try {
+                inner.consume(range(1, i));
+            } catch (Throwable e) {
+                throw Consumers.wrapException(e);
+            }
+        }, 2);
+        Assert.assertEquals(100L, outer.consume(range(1, 100)));
+        // Sum of i * (i + 1) / 2 for i in [1, 100]
+        Assert.assertEquals(171700L, sum.get());
+    }
+
+    @Test
+    public void testConsumeWithStopExecution() throws Throwable {
+        AtomicInteger count = new AtomicInteger();
+        ForkJoinConsumers<Integer> consumers = new ForkJoinConsumers<>(
+                                               this.pool, i -> {
+            if (count.incrementAndGet() >= 10) {
+                throw new Consumers.StopExecution("reach limit %s", 10);
+            }
+        }, 4);
+        long provided = consumers.consume(range(1, 100000));
+        Assert.assertTrue(consumers.stopped());
+        Assert.assertGte(10, count.get());
+        Assert.assertTrue(provided < 100000L);
+    }
+
+    @Test
+    public void testConsumeWithException() {
+        ForkJoinConsumers<Integer> consumers = new ForkJoinConsumers<>(
+                                               this.pool, i -> {
+            if (i == 50) {
+                throw new HugeException("Reach capacity %s", i);
+            }
+        }, 8);
+        Assert.assertThrows(HugeException.class, () -> {
+            consumers.consume(range(1, 100));
+        }, e -> {
+            Assert.assertEquals("Reach capacity 50", e.getMessage());
+        });
+        Assert.assertTrue(consumers.stopped());
+    }
+
+    @Test
+    public void testDoneWhenWorkerTerminated() throws Throwable {
+        AtomicInteger done = new AtomicInteger();
+        Object owner = new Object();
+        ForkJoinConsumers<Integer> consumers = new ForkJoinConsumers<>(
+                                               this.pool, i -> {}, 1,
+                                               owner, done::incrementAndGet);
+        consumers.consume(range(1, 100));
+        consumers.consume(range(1, 100));
+        int workers = this.pool.getPoolSize();
+        Assert.assertGte(1, workers);
+
+        this.pool.shutdown();
+        Assert.assertTrue(this.pool.awaitTermination(10L, TimeUnit.SECONDS));
+        // Called once by each worker even if it consumed many times
+        Assert.assertGte(1, done.get());
+        Assert.assertTrue(done.get() <= workers);
+    }
+
+    @Test
+    public void testNewPool() throws Exception {
+        String name = this.pool.submit(() -> {
+            return Thread.currentThread().getName();
+        }).get();
+        Assert.assertTrue(name, name.startsWith("test-stealing-worker-"));
+    }
+
+    private static Iterator<Integer> range(int from, int to) {
+        List<Integer> list = IntStream.rangeClosed(from, to).boxed()
+                                      .collect(Collectors.toList());
+        return list.iterator();
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.unit.util;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.apache.hugegraph.testutil.Assert;
+import org.apache.hugegraph.util.QueryProfiler;
+import org.apache.hugegraph.util.QueryProfiler.Stage;
+import org.apache.hugegraph.util.QueryProfiler.Trace;
+import com.google.common.collect.ImmutableList;
+
+public class QueryProfilerTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    @After
+    public void teardown() {
+        QueryProfiler.end();
+        QueryProfiler.sampleRate(0.0D);
+    }
+
+    private boolean begin(boolean force) {
+        return QueryProfiler.begin(force, this.nanos::get);
+    }
+
+    @Test
+    public void testSampleRate() {
+        QueryProfiler.sampleRate(0.0D);
+        Assert.assertFalse(this.begin(false));
+        Assert.assertFalse(QueryProfiler.tracing());
+        Assert.assertNull(QueryProfiler.end());
+        Assert.assertNull(QueryProfiler.enter(Stage.SCAN));
+
+        QueryProfiler.sampleRate(1.0D);
+        Assert.assertTrue(this.begin(false));
+        Assert.assertTrue(QueryProfiler.tracing());
+        Assert.assertNotNull(QueryProfiler.end());
+        Assert.assertFalse(QueryProfiler.tracing());
+
+        QueryProfiler.sampleRate(0.0D);
+        Assert.assertTrue(this.begin(true));
+        Assert.assertNotNull(QueryProfiler.end());
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            QueryProfiler.sampleRate(1.1D);
+        }, e -> {
+            Assert.assertContains("The sample rate must be in [0, 1]",
+                                  e.getMessage());
+        });
+    }
+
+    @Test
+    public void testNestedStages() {
+        Assert.assertTrue(this.begin(true));
+        this.nanos.addAndGet(1_000L);
+
+        Stage outer = QueryProfiler.enter(Stage.INDEX);
+        Assert.assertEquals(Stage.OTHER, outer);
+        this.nanos.addAndGet(5_000L);
+        Stage inner = QueryProfiler.enter(Stage.SCAN);
+        Assert.assertEquals(Stage.INDEX, inner);
+        this.nanos.addAndGet(20_000L);
+        QueryProfiler.exit(inner);
+        this.nanos.addAndGet(3_000L);
+        QueryProfiler.exit(outer);
+        this.nanos.addAndGet(2_000L);
+
+        Trace trace = QueryProfiler.end();
+        // The time of the inner stage is excluded from the outer one
+        Assert.assertEquals(3_000L, trace.time(Stage.OTHER));
+        Assert.assertEquals(8_000L, trace.time(Stage.INDEX));
+        Assert.assertEquals(20_000L, trace.time(Stage.SCAN));
+        Assert.assertEquals(0L, trace.time(Stage.DESERIALIZE));
+        Assert.assertEquals(31_000L, trace.totalTime());
+
+        long sum = 0L;
+        for (Stage stage : Stage.values()) {
+            sum += trace.time(stage);
+        }
+        Assert.assertEquals(trace.totalTime(), sum);
+    }
+
+    @Test
+    public void testWrapIterator() {
+        Iterator<Integer> origin = ImmutableList.of(1, 2, 3).iterator();
+        Assert.assertSame(origin, QueryProfiler.wrap(Stage.SCAN, origin));
+
+        Iterator<Integer> slow = new Iterator<Integer>() {
+            private int count = 0;
+
+            @Override
+            public boolean hasNext() {
+                return this.count < 2;
+            }
+
+            @Override
+            public Integer next() {
+                nanos.addAndGet(5_000_000L);
+                return ++this.count;
+            }
+        };
+
+        Assert.assertTrue(this.begin(true));
+        Iterator<Integer> iter = QueryProfiler.wrap(Stage.SCAN, slow);
+        Assert.assertNotSame(slow, iter);
+        Assert.assertEquals(1, (int) iter.next());
+        Assert.assertEquals(2, (int) iter.next());
+        Assert.assertFalse(iter.hasNext());
+        this.nanos.addAndGet(1_000_000L);
+
+        Trace trace = QueryProfiler.end();
+        Assert.assertEquals(10_000_000L, trace.time(Stage.SCAN));
+        Assert.assertEquals(1_000_000L, trace.time(Stage.OTHER));
+
+        Map<String, Object> map = trace.asMap();
+        Assert.assertEquals(Stage.values().length + 1, map.size());
+        Assert.assertTrue(map.containsKey("scan"));
+        Assert.assertTrue(map.containsKey("total"));
+        Assert.assertEquals(10.0D, map.get("scan"));
+        Assert.assertEquals(11.0D, map.get("total"));
+    }
+}
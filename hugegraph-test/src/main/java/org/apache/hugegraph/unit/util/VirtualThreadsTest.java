@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.unit.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import org.apache.hugegraph.testutil.Assert;
+import org.apache.hugegraph.util.Consumers;
+import org.apache.hugegraph.util.VirtualThreads;
+
+public class VirtualThreadsTest {
+
+    @Test
+    public void testNewThreadPerTaskExecutor() throws Exception {
+        Assert.assertFalse(VirtualThreads.current());
+        if (!VirtualThreads.supported()) {
+            Assert.assertThrows(IllegalStateException.class, () -> {
+                VirtualThreads.newThreadPerTaskExecutor("test-");
+            }, e -> {
+                Assert.assertContains("Virtual threads require JDK 21+",
+                                      e.getMessage());
+            });
+            return;
+        }
+
+        ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor(
+                                   "test-");
+        try {
+            String name = executor.submit(() -> {
+                Assert.assertTrue(VirtualThreads.current());
+                return Thread.currentThread().getName();
+            }).get();
+            Assert.assertEquals("test-0", name);
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertTrue(executor.awaitTermination(10L, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testConsumersWithVirtualWorkers() throws Throwable {
+        if (!VirtualThreads.supported()) {
+            return;
+        }
+
+        int workers = 64;
+        AtomicInteger sum = new AtomicInteger();
+        AtomicInteger done = new AtomicInteger();
+        Consumers.ExecutorPool pool = new Consumers.ExecutorPool("test",
+                                                                 workers,
+                                                                 true);
+        ExecutorService executor = pool.getExecutor();
+        Consumers<Integer> consumers = new Consumers<>(executor, sum::addAndGet,
+                                                       done::incrementAndGet,
+                                                       workers);
+        consumers.start("test");
+        for (int i = 1; i <= 1000; i++) {
+            consumers.provide(i);
+        }
+        consumers.await();
+        pool.returnExecutor(executor);
+        pool.destroy();
+
+        Assert.assertEquals(500500, sum.get());
+        Assert.assertEquals(workers, done.get());
+    }
+}
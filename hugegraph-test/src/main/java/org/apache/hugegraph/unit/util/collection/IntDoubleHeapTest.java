@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.unit.util.collection;
+
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import org.junit.Test;
+
+import org.apache.hugegraph.testutil.Assert;
+import org.apache.hugegraph.util.collection.IntDoubleHeap;
+
+public class IntDoubleHeapTest {
+
+    @Test
+    public void testOfferAndPoll() {
+        IntDoubleHeap heap = new IntDoubleHeap(2);
+        Assert.assertTrue(heap.isEmpty());
+        Assert.assertEquals(Double.POSITIVE_INFINITY, heap.peekPriority(),
+                            0D);
+
+        Assert.assertTrue(heap.offer(3, 3.0D));
+        Assert.assertTrue(heap.offer(1, 1.5D));
+        Assert.assertTrue(heap.offer(20, 0.5D));
+        Assert.assertTrue(heap.offer(7, 2.0D));
+        Assert.assertEquals(4, heap.size());
+        Assert.assertTrue(heap.contains(20));
+        Assert.assertFalse(heap.contains(2));
+        Assert.assertFalse(heap.contains(100));
+        Assert.assertEquals(2.0D, heap.priority(7), 0D);
+
+        Assert.assertEquals(20, heap.peek());
+        Assert.assertEquals(0.5D, heap.peekPriority(), 0D);
+        Assert.assertEquals(20, heap.poll());
+        Assert.assertFalse(heap.contains(20));
+        Assert.assertEquals(1, heap.poll());
+        Assert.assertEquals(7, heap.poll());
+        Assert.assertEquals(3, heap.poll());
+        Assert.assertTrue(heap.isEmpty());
+
+        Assert.assertThrows(NoSuchElementException.class, heap::poll);
+        Assert.assertThrows(NoSuchElementException.class, heap::peek);
+    }
+
+    @Test
+    public void testDecreasePriority() {
+        IntDoubleHeap heap = new IntDoubleHeap();
+        heap.offer(1, 5.0D);
+        heap.offer(2, 4.0D);
+        heap.offer(3, 3.0D);
+
+        // Only decrease the priority, and never add a duplicate key
+        Assert.assertFalse(heap.offer(1, 6.0D));
+        Assert.assertTrue(heap.offer(1, 1.0D));
+        Assert.assertEquals(3, heap.size());
+        Assert.assertEquals(1.0D, heap.priority(1), 0D);
+
+        Assert.assertEquals(1, heap.poll());
+        Assert.assertEquals(3, heap.poll());
+        Assert.assertEquals(2, heap.poll());
+
+        // Offer again after polled
+        Assert.assertTrue(heap.offer(1, 6.0D));
+        Assert.assertEquals(1, heap.size());
+
+        heap.clear();
+        Assert.assertTrue(heap.isEmpty());
+        Assert.assertFalse(heap.contains(1));
+    }
+
+    @Test
+    public void testOrderWithRandomPriorities() {
+        IntDoubleHeap heap = new IntDoubleHeap();
+        PriorityQueue<Double> expected = new PriorityQueue<>();
+        double[] priorities = new double[1000];
+        Random random = new Random(1000);
+        for (int i = 0; i < priorities.length; i++) {
+            priorities[i] = random.nextDouble();
+            heap.offer(i, priorities[i]);
+        }
+        // Decrease some of them
+        for (int i = 0; i < priorities.length; i += 3) {
+            priorities[i] /= 2;
+            heap.offer(i, priorities[i]);
+        }
+        for (double priority : priorities) {
+            expected.add(priority);
+        }
+
+        while (!heap.isEmpty()) {
+            double priority = heap.peekPriority();
+            Assert.assertEquals(expected.poll(), priority, 0D);
+            Assert.assertEquals(priority, priorities[heap.poll()], 0D);
+        }
+        Assert.assertTrue(expected.isEmpty());
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            new IntDoubleHeap(0);
+        });
+        IntDoubleHeap heap = new IntDoubleHeap();
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            heap.offer(-1, 1.0D);
+        });
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            heap.priority(1);
+        });
+    }
+}